@@ -52,6 +52,11 @@ public class XyChart implements ChartInterface{
      * Utility string methods
      */
     private static final StringUtilityMethods stringUtilityMethods = new StringUtilityMethods();
+
+    /**
+     * Number of displayed (downsampled) data points per pixel of image width
+     */
+    private static final int NUMBER_OF_DISPLAYED_POINTS_PER_PIXEL = 2;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private variables">
@@ -170,6 +175,17 @@ public class XyChart implements ChartInterface{
      * The main chart data
      */
     private XYSeries mainChartData;
+
+    /**
+     * The displayed (downsampled) main chart data
+     */
+    private XYSeries displayedChartData;
+
+    /**
+     * Image width for displayedChartData (-1 if displayedChartData is not
+     * valid)
+     */
+    private int displayedChartDataWidth = -1;
     
     /**
      * The data of the current trend line
@@ -332,6 +348,7 @@ public class XyChart implements ChartInterface{
         }
         // </editor-fold>
         try {
+            this.setDisplayedChartData(aWidth);
             return this.chart.createBufferedImage(aWidth, aHeight);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
@@ -888,6 +905,29 @@ public class XyChart implements ChartInterface{
         }
     }
     
+    /**
+     * Sets the main chart data of the plot to the data downsampled for the 
+     * specified image width (the downsampled data are cached until the next 
+     * data update)
+     * 
+     * @param aWidth Image width
+     */
+    private void setDisplayedChartData(int aWidth) {
+        int tmpNumberOfPoints = NUMBER_OF_DISPLAYED_POINTS_PER_PIXEL * aWidth;
+        if (this.displayedChartDataWidth != aWidth) {
+            if (this.mainChartData.getItemCount() <= tmpNumberOfPoints) {
+                this.displayedChartData = this.mainChartData;
+            } else {
+                this.displayedChartData = this.xyChartDataManipulator.getDownsampledXySeries(this.numberToAverage, tmpNumberOfPoints);
+                if (this.displayedChartData == null) {
+                    this.displayedChartData = this.mainChartData;
+                }
+            }
+            this.displayedChartDataWidth = aWidth;
+        }
+        this.plot.setDataset(this.mainChartDataIndex, new XYSeriesCollection(this.displayedChartData));
+    }
+
     /**
      * Update the chart data, trend data, last point data and their respective 
      * arrays if necessary and the range of the axes
@@ -896,6 +936,7 @@ public class XyChart implements ChartInterface{
         try {
             this.mainChartData = this.xyChartDataManipulator.getUpdatedXySeries(this.numberToAverage);
             this.plot.setDataset(this.mainChartDataIndex, new XYSeriesCollection(this.mainChartData));
+            this.displayedChartDataWidth = -1;
             this.updateAxesRange();
             if (this.hasAccumulativeChartDataArray) {
                 this.createAccumulativeChartDataArray();
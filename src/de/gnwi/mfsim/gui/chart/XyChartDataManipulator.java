@@ -20,7 +20,8 @@
 package de.gnwi.mfsim.gui.chart;
 
 import de.gnwi.mfsim.model.util.ModelUtils;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import org.jfree.data.xy.XYSeries;
 
 /**
@@ -40,6 +41,11 @@ public class XyChartDataManipulator {
      * Name for data series
      */
     private static final String DATA_SERIES_NAME = "XyData";
+
+    /**
+     * Initial capacity of original data arrays
+     */
+    private static final int INITIAL_CAPACITY = 1024;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
@@ -47,7 +53,7 @@ public class XyChartDataManipulator {
      * Updated data (zoomValues and numberOfDiscardedInitialPoints are taken in 
      * to consideration)
      */
-    private LinkedList<double[]> updatedXyPairsList;
+    private ArrayList<double[]> updatedXyPairsList;
     
     /**
      * True: The zoom values have been set, false: They have not
@@ -55,7 +61,7 @@ public class XyChartDataManipulator {
     private boolean isZoom;
     
     /**
-     * Array with the data of the LinkedList updatedXyPairsList
+     * Array with the data of the list updatedXyPairsList
      */
     private double[][] updatedXyPairsArray;
     
@@ -70,9 +76,39 @@ public class XyChartDataManipulator {
     private double[] zoomValues;
     
     /**
-     * Original data
+     * x-values of original data
+     */
+    private double[] originalXValues;
+
+    /**
+     * y-values of original data
+     */
+    private double[] originalYValues;
+
+    /**
+     * Number of points of original data
      */
-    private final LinkedList<Double[]> originalXyPairs;
+    private int numberOfOriginalPoints;
+
+    /**
+     * Downsampler for original data (null if not yet created)
+     */
+    private XyChartDownsampler originalDataDownsampler;
+
+    /**
+     * Downsampler for averaged updated data (null if not yet created)
+     */
+    private XyChartDownsampler averagedDataDownsampler;
+
+    /**
+     * Averaged updated data {x-values, y-values} of averagedDataDownsampler
+     */
+    private double[][] averagedData;
+
+    /**
+     * Number of y-values to average for averagedDataDownsampler
+     */
+    private int averagedDataNumberToAverage;
     
     /**
      * Number of points to be initially discarded for the updated data
@@ -90,7 +126,9 @@ public class XyChartDataManipulator {
      * Constructor
      */
     public XyChartDataManipulator() {
-        this.originalXyPairs = new LinkedList<>();
+        this.originalXValues = new double[INITIAL_CAPACITY];
+        this.originalYValues = new double[INITIAL_CAPACITY];
+        this.numberOfOriginalPoints = 0;
         this.isZoom = false;
         this.numberOfDiscardedInitialPoints = 0;
         this.zoomValues = new double[] {-Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE};
@@ -313,27 +351,9 @@ public class XyChartDataManipulator {
                         tmpXySeries.add(tmpXyPair[0], tmpXyPair[1]);
                     }
                 } else {
-                    double tmpX = 0.0;
-                    double tmpSum = 0.0;
-                    double tmpNumberToAverage = (double) aNumberToAverage;
-                    int tmpCounter = 1;
-                    for (double[] tmpXyPair : this.updatedXyPairsArray) {
-                        if (tmpCounter == 1) {
-                            tmpX = tmpXyPair[0];
-                            tmpSum = tmpXyPair[1];
-                            tmpCounter++;
-                        } else if (tmpCounter == aNumberToAverage) {
-                            tmpSum += tmpXyPair[1];
-                            tmpXySeries.add(tmpX, tmpSum / tmpNumberToAverage);
-                            tmpCounter = 1;
-                        } else {
-                            tmpSum += tmpXyPair[1];
-                            tmpCounter++;
-                        }
-                    }
-                    // Average the last points that were not considered until now
-                    if (tmpCounter > 1) {
-                        tmpXySeries.add(tmpX, tmpSum / (tmpCounter - 1));
+                    double[][] tmpAveragedData = this.getAveragedData(aNumberToAverage);
+                    for (int i = 0; i < tmpAveragedData[0].length; i++) {
+                        tmpXySeries.add(tmpAveragedData[0][i], tmpAveragedData[1][i]);
                     }
                 }
             }
@@ -343,6 +363,52 @@ public class XyChartDataManipulator {
             return null;
         }
     }
+
+    /**
+     * Returns the updated data as a XYSeries with averaged y-values that is
+     * downsampled to (about) the specified number of points with the
+     * Largest-Triangle-Three-Buckets algorithm. NOTE: The first, last, minimum
+     * and maximum y-value point are always preserved (so the number of points
+     * may slightly exceed aNumberOfPoints).
+     * 
+     * @param aNumberToAverage Number of y-values to average
+     * @param aNumberOfPoints Number of points of downsampled data (values
+     * less than 3 are set to 3)
+     * @return The downsampled updated data as a XYSeries with averaged y-values
+     */
+    public synchronized XYSeries getDownsampledXySeries(int aNumberToAverage, int aNumberOfPoints) {
+        try {
+            int tmpNumberOfPoints = Math.max(3, aNumberOfPoints);
+            if (this.updatedXyPairsArray == null || this.updatedXyPairsArray.length <= tmpNumberOfPoints) {
+                return this.getUpdatedXySeries(aNumberToAverage);
+            }
+            XYSeries tmpXySeries = new XYSeries(DATA_SERIES_NAME);
+            if (aNumberToAverage <= 1) {
+                // Re-bucket from cached pyramid of original data with respect to discarded initial points and zoom
+                if (this.originalDataDownsampler == null) {
+                    this.originalDataDownsampler = new XyChartDownsampler(this.originalXValues, this.originalYValues, this.numberOfOriginalPoints);
+                }
+                int[] tmpIndices = this.originalDataDownsampler.getIndices(this.numberOfDiscardedInitialPoints, this.zoomValues, tmpNumberOfPoints);
+                for (int tmpIndex : tmpIndices) {
+                    tmpXySeries.add(this.originalXValues[tmpIndex], this.originalYValues[tmpIndex], false);
+                }
+            } else {
+                if (this.averagedDataDownsampler == null || this.averagedDataNumberToAverage != aNumberToAverage) {
+                    this.averagedData = this.getAveragedData(aNumberToAverage);
+                    this.averagedDataDownsampler = new XyChartDownsampler(this.averagedData[0], this.averagedData[1], this.averagedData[0].length);
+                    this.averagedDataNumberToAverage = aNumberToAverage;
+                }
+                int[] tmpIndices = this.averagedDataDownsampler.getIndices(tmpNumberOfPoints);
+                for (int tmpIndex : tmpIndices) {
+                    tmpXySeries.add(this.averagedData[0][tmpIndex], this.averagedData[1][tmpIndex], false);
+                }
+            }
+            return tmpXySeries;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return null;
+        }
+    }
     // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- Other">
     /**
@@ -352,8 +418,15 @@ public class XyChartDataManipulator {
      * @param aX A x value to add
      * @param aY A y value to add
      */
-    public void add(double aX, double aY) {
-        this.originalXyPairs.add(new Double[] {aX, aY});
+    public synchronized void add(double aX, double aY) {
+        if (this.numberOfOriginalPoints == this.originalXValues.length) {
+            this.originalXValues = Arrays.copyOf(this.originalXValues, 2 * this.numberOfOriginalPoints);
+            this.originalYValues = Arrays.copyOf(this.originalYValues, 2 * this.numberOfOriginalPoints);
+        }
+        this.originalXValues[this.numberOfOriginalPoints] = aX;
+        this.originalYValues[this.numberOfOriginalPoints] = aY;
+        this.numberOfOriginalPoints++;
+        this.originalDataDownsampler = null;
     }
     
     /**
@@ -377,7 +450,7 @@ public class XyChartDataManipulator {
      */
     public void setNumberOfDiscardedInitialPoints(int aNumberOfInitialDiscardedPoints) {
         // Not all points can be discarded and points cannot be discarded if there are valid zoom values
-        if (this.originalXyPairs.size() <= aNumberOfInitialDiscardedPoints || this.isZoom) {
+        if (this.numberOfOriginalPoints <= aNumberOfInitialDiscardedPoints || this.isZoom) {
             return;
         }
         this.numberOfDiscardedInitialPoints = aNumberOfInitialDiscardedPoints;
@@ -413,15 +486,17 @@ public class XyChartDataManipulator {
      * Updates updatedXyPairs and updatedDataBoundaries if allowed
      */
     public synchronized void update() {
-        this.updatedXyPairsList = new LinkedList<>();
+        this.updatedXyPairsList = new ArrayList<>(Math.max(0, this.numberOfOriginalPoints - this.numberOfDiscardedInitialPoints));
+        this.averagedDataDownsampler = null;
+        this.averagedData = null;
         double tmpX, tmpY;
         if (!this.isZoom) {
             this.updatedDataBoundaries = new double[] {Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE};
         }
         this.numberOfPointsInUpdatedData = 0;
-        for(int i = this.numberOfDiscardedInitialPoints; i < this.originalXyPairs.size(); i++) {
-            tmpX = this.originalXyPairs.get(i)[0];
-            tmpY = this.originalXyPairs.get(i)[1];
+        for(int i = this.numberOfDiscardedInitialPoints; i < this.numberOfOriginalPoints; i++) {
+            tmpX = this.originalXValues[i];
+            tmpY = this.originalYValues[i];
             if (tmpX >= zoomValues[0] && tmpX <= zoomValues[1] && tmpY >= zoomValues[2] && tmpY <= zoomValues[3]) {
                 this.updatedXyPairsList.add(new double[] {tmpX, tmpY});
                 if (!this.isZoom) {
@@ -442,10 +517,7 @@ public class XyChartDataManipulator {
      */
     public synchronized void updateXyPairsArray() {
         try {
-            this.updatedXyPairsArray = new double[this.updatedXyPairsList.size()][];
-            for (int i = 0; i < this.updatedXyPairsArray.length; i++) {
-                this.updatedXyPairsArray[i] = this.updatedXyPairsList.get(i);
-            }
+            this.updatedXyPairsArray = this.updatedXyPairsList.toArray(new double[this.updatedXyPairsList.size()][]);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
         }
@@ -453,4 +525,46 @@ public class XyChartDataManipulator {
     // </editor-fold>
     // </editor-fold>
     
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns the updated data with averaged y-values
+     * 
+     * @param aNumberToAverage Number of y-values to average (greater 1)
+     * @return The updated data with averaged y-values {x-values, y-values}
+     */
+    private double[][] getAveragedData(int aNumberToAverage) {
+        int tmpMaximumNumberOfPoints = (this.updatedXyPairsArray.length + aNumberToAverage - 1) / aNumberToAverage;
+        double[] tmpXValues = new double[tmpMaximumNumberOfPoints];
+        double[] tmpYValues = new double[tmpMaximumNumberOfPoints];
+        int tmpNumberOfPoints = 0;
+        double tmpX = 0.0;
+        double tmpSum = 0.0;
+        double tmpNumberToAverage = (double) aNumberToAverage;
+        int tmpCounter = 1;
+        for (double[] tmpXyPair : this.updatedXyPairsArray) {
+            if (tmpCounter == 1) {
+                tmpX = tmpXyPair[0];
+                tmpSum = tmpXyPair[1];
+                tmpCounter++;
+            } else if (tmpCounter == aNumberToAverage) {
+                tmpSum += tmpXyPair[1];
+                tmpXValues[tmpNumberOfPoints] = tmpX;
+                tmpYValues[tmpNumberOfPoints] = tmpSum / tmpNumberToAverage;
+                tmpNumberOfPoints++;
+                tmpCounter = 1;
+            } else {
+                tmpSum += tmpXyPair[1];
+                tmpCounter++;
+            }
+        }
+        // Average the last points that were not considered until now
+        if (tmpCounter > 1) {
+            tmpXValues[tmpNumberOfPoints] = tmpX;
+            tmpYValues[tmpNumberOfPoints] = tmpSum / (tmpCounter - 1);
+            tmpNumberOfPoints++;
+        }
+        return new double[][] {Arrays.copyOf(tmpXValues, tmpNumberOfPoints), Arrays.copyOf(tmpYValues, tmpNumberOfPoints)};
+    }
+    // </editor-fold>
+
 }
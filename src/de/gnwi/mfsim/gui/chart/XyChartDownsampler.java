@@ -0,0 +1,341 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.gui.chart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Downsampler for xy-data based on Largest-Triangle-Three-Buckets (LTTB):
+ * A pyramid of successively halved LTTB levels is cached so that a
+ * requested number of points for a (zoomed) part of the data is re-bucketed
+ * from the coarsest sufficient level. NOTE: The first, last, minimum and
+ * maximum y-value point of the requested data are always part of the result
+ * and the result is deterministic.
+ */
+public class XyChartDownsampler {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Minimum number of points of a cached pyramid level
+     */
+    private static final int MINIMUM_LEVEL_SIZE = 1024;
+
+    /**
+     * Minimum ratio of number of points of pyramid level to requested number
+     * of points
+     */
+    private static final int OVERSAMPLING_FACTOR = 4;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * x-values
+     */
+    private final double[] xValues;
+
+    /**
+     * y-values
+     */
+    private final double[] yValues;
+
+    /**
+     * Number of points
+     */
+    private final int numberOfPoints;
+
+    /**
+     * Cached pyramid levels with point indices: Level i (i &gt; 0) has about
+     * numberOfPoints/2^i points (index 0 is a placeholder for all points)
+     */
+    private final ArrayList<int[]> levels;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor. NOTE: Arrays are NOT copied.
+     *
+     * @param anXValues x-values
+     * @param aYValues y-values
+     * @param aNumberOfPoints Number of (leading) points of arrays to be used
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public XyChartDownsampler(double[] anXValues, double[] aYValues, int aNumberOfPoints) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (anXValues == null) {
+            throw new IllegalArgumentException("anXValues is null.");
+        }
+        if (aYValues == null) {
+            throw new IllegalArgumentException("aYValues is null.");
+        }
+        if (aNumberOfPoints < 0 || aNumberOfPoints > anXValues.length || aNumberOfPoints > aYValues.length) {
+            throw new IllegalArgumentException("aNumberOfPoints is illegal.");
+        }
+        // </editor-fold>
+        this.xValues = anXValues;
+        this.yValues = aYValues;
+        this.numberOfPoints = aNumberOfPoints;
+        this.levels = new ArrayList<>();
+        // Placeholder for level 0 with all points
+        this.levels.add(null);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns the sorted indices of the downsampled points of all points
+     *
+     * @param aNumberOfPoints Requested number of points (greater/equal 3)
+     * @return Sorted indices of downsampled points (the number of indices may 
+     * exceed aNumberOfPoints by at most 4 due to the always included first, 
+     * last, minimum and maximum point)
+     */
+    public int[] getIndices(int aNumberOfPoints) {
+        return this.getIndices(0, null, aNumberOfPoints);
+    }
+
+    /**
+     * Returns the sorted indices of the downsampled points with index
+     * greater/equal aFirstIndex that are inside the zoom values
+     *
+     * @param aFirstIndex First index of points to be considered
+     * @param aZoomValues Zoom values {xMin, xMax, yMin, yMax} (may be null,
+     * then all points are considered)
+     * @param aNumberOfPoints Requested number of points (greater/equal 3)
+     * @return Sorted indices of downsampled points (the number of indices may 
+     * exceed aNumberOfPoints by at most 4 due to the always included first, 
+     * last, minimum and maximum point)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public synchronized int[] getIndices(int aFirstIndex, double[] aZoomValues, int aNumberOfPoints) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aNumberOfPoints < 3) {
+            throw new IllegalArgumentException("aNumberOfPoints is less than 3.");
+        }
+        if (aZoomValues != null && aZoomValues.length != 4) {
+            throw new IllegalArgumentException("aZoomValues is illegal.");
+        }
+        // </editor-fold>
+        int tmpFirstIndex = Math.max(0, aFirstIndex);
+        // Extrema of considered points at full resolution
+        int tmpNumberOfConsideredPoints = 0;
+        int tmpFirstPointIndex = -1;
+        int tmpLastPointIndex = -1;
+        int tmpMinimumIndex = -1;
+        int tmpMaximumIndex = -1;
+        for (int i = tmpFirstIndex; i < this.numberOfPoints; i++) {
+            if (this.isConsidered(i, aZoomValues)) {
+                if (tmpFirstPointIndex < 0) {
+                    tmpFirstPointIndex = i;
+                    tmpMinimumIndex = i;
+                    tmpMaximumIndex = i;
+                }
+                tmpLastPointIndex = i;
+                if (this.yValues[i] < this.yValues[tmpMinimumIndex]) {
+                    tmpMinimumIndex = i;
+                }
+                if (this.yValues[i] > this.yValues[tmpMaximumIndex]) {
+                    tmpMaximumIndex = i;
+                }
+                tmpNumberOfConsideredPoints++;
+            }
+        }
+        if (tmpNumberOfConsideredPoints <= aNumberOfPoints) {
+            return this.getConsideredIndices(0, tmpFirstIndex, aZoomValues);
+        }
+        // Coarsest level with sufficient number of considered points
+        int tmpLevel = 0;
+        while (true) {
+            int tmpNextLevelSize = this.getLevelSize(tmpLevel + 1);
+            if (tmpNextLevelSize < 0 
+                || (long) tmpNumberOfConsideredPoints * (long) tmpNextLevelSize < (long) OVERSAMPLING_FACTOR * (long) aNumberOfPoints * (long) this.numberOfPoints) {
+                break;
+            }
+            tmpLevel++;
+        }
+        int[] tmpCandidates = this.getConsideredIndices(tmpLevel, tmpFirstIndex, aZoomValues);
+        while (tmpCandidates.length < OVERSAMPLING_FACTOR * aNumberOfPoints && tmpLevel > 0) {
+            tmpLevel--;
+            tmpCandidates = this.getConsideredIndices(tmpLevel, tmpFirstIndex, aZoomValues);
+        }
+        int[] tmpIndices = XyChartDownsampler.getLttbIndices(this.xValues, this.yValues, tmpCandidates, aNumberOfPoints);
+        return XyChartDownsampler.getMergedIndices(tmpIndices, new int[] {tmpFirstPointIndex, tmpLastPointIndex, tmpMinimumIndex, tmpMaximumIndex});
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Returns indices of points selected by Largest-Triangle-Three-Buckets
+     * (LTTB) algorithm
+     *
+     * @param anXValues x-values
+     * @param aYValues y-values
+     * @param aCandidates Sorted indices of candidate points
+     * @param aNumberOfPoints Number of points to be selected (greater/equal 3)
+     * @return Sorted indices of selected points (aCandidates if number of
+     * candidates is less/equal aNumberOfPoints)
+     */
+    public static int[] getLttbIndices(double[] anXValues, double[] aYValues, int[] aCandidates, int aNumberOfPoints) {
+        if (aCandidates.length <= aNumberOfPoints || aNumberOfPoints < 3) {
+            return aCandidates;
+        }
+        int[] tmpIndices = new int[aNumberOfPoints];
+        // Size of buckets between first and last point
+        double tmpBucketSize = (double) (aCandidates.length - 2) / (double) (aNumberOfPoints - 2);
+        int tmpSelected = aCandidates[0];
+        tmpIndices[0] = tmpSelected;
+        for (int i = 0; i < aNumberOfPoints - 2; i++) {
+            // Average point of next bucket (last point for last bucket)
+            int tmpNextStart = (int) Math.floor((i + 1) * tmpBucketSize) + 1;
+            int tmpNextEnd = Math.min((int) Math.floor((i + 2) * tmpBucketSize) + 1, aCandidates.length);
+            if (i == aNumberOfPoints - 3) {
+                tmpNextStart = aCandidates.length - 1;
+                tmpNextEnd = aCandidates.length;
+            }
+            double tmpAverageX = 0.0;
+            double tmpAverageY = 0.0;
+            for (int k = tmpNextStart; k < tmpNextEnd; k++) {
+                tmpAverageX += anXValues[aCandidates[k]];
+                tmpAverageY += aYValues[aCandidates[k]];
+            }
+            tmpAverageX /= (double) (tmpNextEnd - tmpNextStart);
+            tmpAverageY /= (double) (tmpNextEnd - tmpNextStart);
+            // Point of current bucket with largest triangle area
+            int tmpStart = (int) Math.floor(i * tmpBucketSize) + 1;
+            int tmpEnd = (int) Math.floor((i + 1) * tmpBucketSize) + 1;
+            double tmpSelectedX = anXValues[tmpSelected];
+            double tmpSelectedY = aYValues[tmpSelected];
+            double tmpMaximumArea = -1.0;
+            int tmpMaximumAreaIndex = aCandidates[tmpStart];
+            for (int k = tmpStart; k < tmpEnd; k++) {
+                int tmpIndex = aCandidates[k];
+                // Twice the triangle area (sufficient for comparison)
+                double tmpArea = Math.abs(
+                    (tmpSelectedX - tmpAverageX) * (aYValues[tmpIndex] - tmpSelectedY) 
+                    - (tmpSelectedX - anXValues[tmpIndex]) * (tmpAverageY - tmpSelectedY)
+                );
+                if (tmpArea > tmpMaximumArea) {
+                    tmpMaximumArea = tmpArea;
+                    tmpMaximumAreaIndex = tmpIndex;
+                }
+            }
+            tmpSelected = tmpMaximumAreaIndex;
+            tmpIndices[i + 1] = tmpSelected;
+        }
+        tmpIndices[aNumberOfPoints - 1] = aCandidates[aCandidates.length - 1];
+        return tmpIndices;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns if point is inside zoom values
+     *
+     * @param anIndex Index of point
+     * @param aZoomValues Zoom values {xMin, xMax, yMin, yMax} (may be null)
+     * @return True: Point is inside zoom values, false: Otherwise
+     */
+    private boolean isConsidered(int anIndex, double[] aZoomValues) {
+        if (aZoomValues == null) {
+            return true;
+        }
+        double tmpX = this.xValues[anIndex];
+        double tmpY = this.yValues[anIndex];
+        return tmpX >= aZoomValues[0] && tmpX <= aZoomValues[1] && tmpY >= aZoomValues[2] && tmpY <= aZoomValues[3];
+    }
+
+    /**
+     * Returns sorted indices of points of pyramid level with index
+     * greater/equal aFirstIndex that are inside the zoom values
+     *
+     * @param aLevel Pyramid level
+     * @param aFirstIndex First index
+     * @param aZoomValues Zoom values (may be null)
+     * @return Sorted indices of considered points of pyramid level
+     */
+    private int[] getConsideredIndices(int aLevel, int aFirstIndex, double[] aZoomValues) {
+        int[] tmpLevel = this.levels.get(aLevel);
+        int tmpLevelSize = tmpLevel == null ? this.numberOfPoints : tmpLevel.length;
+        int[] tmpIndices = new int[tmpLevelSize];
+        int tmpCounter = 0;
+        for (int i = 0; i < tmpLevelSize; i++) {
+            int tmpIndex = tmpLevel == null ? i : tmpLevel[i];
+            if (tmpIndex >= aFirstIndex && this.isConsidered(tmpIndex, aZoomValues)) {
+                tmpIndices[tmpCounter++] = tmpIndex;
+            }
+        }
+        return Arrays.copyOf(tmpIndices, tmpCounter);
+    }
+
+    /**
+     * Returns number of points of pyramid level (the level is created if 
+     * necessary)
+     *
+     * @param aLevel Pyramid level (greater 0)
+     * @return Number of points of pyramid level or -1 if level would be 
+     * smaller than minimum level size
+     */
+    private int getLevelSize(int aLevel) {
+        while (this.levels.size() <= aLevel) {
+            int tmpPreviousLevelIndex = this.levels.size() - 1;
+            int[] tmpPreviousLevel = this.levels.get(tmpPreviousLevelIndex);
+            int tmpPreviousLevelSize = tmpPreviousLevel == null ? this.numberOfPoints : tmpPreviousLevel.length;
+            if (tmpPreviousLevelSize / 2 < MINIMUM_LEVEL_SIZE) {
+                return -1;
+            }
+            if (tmpPreviousLevel == null) {
+                tmpPreviousLevel = this.getConsideredIndices(0, 0, null);
+            }
+            this.levels.add(XyChartDownsampler.getLttbIndices(this.xValues, this.yValues, tmpPreviousLevel, tmpPreviousLevelSize / 2));
+        }
+        return this.levels.get(aLevel).length;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Merges additional indices into sorted indices
+     *
+     * @param aSortedIndices Sorted indices
+     * @param anAdditionalIndices Additional indices (negative indices are
+     * ignored)
+     * @return Sorted indices without duplicates
+     */
+    private static int[] getMergedIndices(int[] aSortedIndices, int[] anAdditionalIndices) {
+        int[] tmpIndices = aSortedIndices;
+        for (int tmpAdditionalIndex : anAdditionalIndices) {
+            if (tmpAdditionalIndex < 0) {
+                continue;
+            }
+            int tmpPosition = Arrays.binarySearch(tmpIndices, tmpAdditionalIndex);
+            if (tmpPosition < 0) {
+                int tmpInsertionPosition = -tmpPosition - 1;
+                int[] tmpNewIndices = new int[tmpIndices.length + 1];
+                System.arraycopy(tmpIndices, 0, tmpNewIndices, 0, tmpInsertionPosition);
+                tmpNewIndices[tmpInsertionPosition] = tmpAdditionalIndex;
+                System.arraycopy(tmpIndices, tmpInsertionPosition, tmpNewIndices, tmpInsertionPosition + 1, tmpIndices.length - tmpInsertionPosition);
+                tmpIndices = tmpNewIndices;
+            }
+        }
+        return tmpIndices;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,215 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.gui.chart.test;
+
+import de.gnwi.mfsim.gui.chart.XyChartDataManipulator;
+import de.gnwi.mfsim.gui.chart.XyChartDownsampler;
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+import org.jfree.data.xy.XYSeries;
+
+/**
+ * Test class for class XyChartDownsampler
+ */
+public class TestXyChartDownsampler extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Number of points of progress curve
+     */
+    private static final int NUMBER_OF_POINTS = 1000000;
+
+    /**
+     * Number of downsampled points
+     */
+    private static final int NUMBER_OF_DOWNSAMPLED_POINTS = 2000;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of preservation of extrema for full and zoomed data
+     */
+    public void testExtrema() {
+        double[][] tmpData = this.getProgressCurve(1L);
+        XyChartDownsampler tmpDownsampler = new XyChartDownsampler(tmpData[0], tmpData[1], NUMBER_OF_POINTS);
+        // Full data
+        int[] tmpIndices = tmpDownsampler.getIndices(NUMBER_OF_DOWNSAMPLED_POINTS);
+        assertTrue("Test1", tmpIndices.length >= NUMBER_OF_DOWNSAMPLED_POINTS && tmpIndices.length <= NUMBER_OF_DOWNSAMPLED_POINTS + 4);
+        assertEquals("Test2", 0, tmpIndices[0]);
+        assertEquals("Test3", NUMBER_OF_POINTS - 1, tmpIndices[tmpIndices.length - 1]);
+        this.checkSorted("Test4", tmpIndices);
+        this.checkExtrema("Test5", tmpData, tmpIndices, 0, null);
+        // Discarded initial points and zoomed data
+        int tmpFirstIndex = 1000;
+        double[] tmpZoomValues = new double[] {200000.0, 700000.0, -Double.MAX_VALUE, Double.MAX_VALUE};
+        for (int i = 0; i < 2; i++) {
+            int[] tmpZoomIndices = tmpDownsampler.getIndices(tmpFirstIndex, tmpZoomValues, NUMBER_OF_DOWNSAMPLED_POINTS);
+            assertTrue("Test6", tmpZoomIndices.length >= NUMBER_OF_DOWNSAMPLED_POINTS && tmpZoomIndices.length <= NUMBER_OF_DOWNSAMPLED_POINTS + 4);
+            this.checkSorted("Test7", tmpZoomIndices);
+            for (int tmpIndex : tmpZoomIndices) {
+                assertTrue("Test8", tmpIndex >= tmpFirstIndex);
+                assertTrue("Test9", tmpData[0][tmpIndex] >= tmpZoomValues[0] && tmpData[0][tmpIndex] <= tmpZoomValues[1]);
+            }
+            this.checkExtrema("Test10", tmpData, tmpZoomIndices, tmpFirstIndex, tmpZoomValues);
+            // Narrow zoom with y-range and fewer points than requested
+            tmpZoomValues = new double[] {500000.0, 500500.0, 0.0, 2.0};
+            int[] tmpNarrowIndices = tmpDownsampler.getIndices(tmpFirstIndex, tmpZoomValues, NUMBER_OF_DOWNSAMPLED_POINTS);
+            int tmpCounter = 0;
+            for (int k = tmpFirstIndex; k < NUMBER_OF_POINTS; k++) {
+                if (tmpData[0][k] >= tmpZoomValues[0] && tmpData[0][k] <= tmpZoomValues[1] && tmpData[1][k] >= tmpZoomValues[2] && tmpData[1][k] <= tmpZoomValues[3]) {
+                    assertEquals("Test11", k, tmpNarrowIndices[tmpCounter++]);
+                }
+            }
+            assertEquals("Test12", tmpCounter, tmpNarrowIndices.length);
+            tmpZoomValues = new double[] {200000.0, 700000.0, -Double.MAX_VALUE, Double.MAX_VALUE};
+        }
+        // Single spike is preserved
+        tmpData[1][123457] = 1000.0;
+        tmpData[1][765433] = -1000.0;
+        int[] tmpSpikeIndices = new XyChartDownsampler(tmpData[0], tmpData[1], NUMBER_OF_POINTS).getIndices(NUMBER_OF_DOWNSAMPLED_POINTS);
+        assertTrue("Test13", Arrays.binarySearch(tmpSpikeIndices, 123457) >= 0);
+        assertTrue("Test14", Arrays.binarySearch(tmpSpikeIndices, 765433) >= 0);
+    }
+
+    /**
+     * Test of determinism
+     */
+    public void testDeterminism() {
+        double[][] tmpData = this.getProgressCurve(2L);
+        int[] tmpIndices1 = new XyChartDownsampler(tmpData[0], tmpData[1], NUMBER_OF_POINTS).getIndices(NUMBER_OF_DOWNSAMPLED_POINTS);
+        double[][] tmpDataCopy = this.getProgressCurve(2L);
+        XyChartDownsampler tmpDownsampler = new XyChartDownsampler(tmpDataCopy[0], tmpDataCopy[1], NUMBER_OF_POINTS);
+        // Pyramid levels are created in different order
+        tmpDownsampler.getIndices(100);
+        int[] tmpIndices2 = tmpDownsampler.getIndices(NUMBER_OF_DOWNSAMPLED_POINTS);
+        int[] tmpIndices3 = tmpDownsampler.getIndices(NUMBER_OF_DOWNSAMPLED_POINTS);
+        assertTrue("Test1", Arrays.equals(tmpIndices1, tmpIndices2));
+        assertTrue("Test2", Arrays.equals(tmpIndices1, tmpIndices3));
+        // Plain LTTB
+        int[] tmpCandidates = new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        double[] tmpX = new double[] {0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0};
+        double[] tmpY = new double[] {0.0, 0.0, 5.0, 0.0, 0.0, 0.0, 0.0, -5.0, 0.0, 0.0};
+        assertTrue("Test3", Arrays.equals(new int[] {0, 2, 7, 9}, XyChartDownsampler.getLttbIndices(tmpX, tmpY, tmpCandidates, 4)));
+        assertTrue("Test4", Arrays.equals(tmpCandidates, XyChartDownsampler.getLttbIndices(tmpX, tmpY, tmpCandidates, 10)));
+    }
+
+    /**
+     * Test of downsampled series of XyChartDataManipulator
+     */
+    public void testDataManipulator() {
+        double[][] tmpData = this.getProgressCurve(3L);
+        XyChartDataManipulator tmpManipulator = new XyChartDataManipulator();
+        for (int i = 0; i < NUMBER_OF_POINTS; i++) {
+            tmpManipulator.add(tmpData[0][i], tmpData[1][i]);
+        }
+        tmpManipulator.reset();
+        assertEquals("Test1", NUMBER_OF_POINTS, tmpManipulator.getNumberOfPointsInUpdatedData());
+        XYSeries tmpSeries = tmpManipulator.getDownsampledXySeries(1, NUMBER_OF_DOWNSAMPLED_POINTS);
+        assertTrue("Test2", tmpSeries.getItemCount() >= NUMBER_OF_DOWNSAMPLED_POINTS && tmpSeries.getItemCount() <= NUMBER_OF_DOWNSAMPLED_POINTS + 4);
+        assertEquals("Test3", this.getExtremumY(tmpSeries, false), tmpManipulator.getUpdatedDataBoundaires()[2], 0.0);
+        assertEquals("Test4", this.getExtremumY(tmpSeries, true), tmpManipulator.getUpdatedDataBoundaires()[3], 0.0);
+        // Averaged data
+        XYSeries tmpAveragedSeries = tmpManipulator.getUpdatedXySeries(10);
+        XYSeries tmpDownsampledAveragedSeries = tmpManipulator.getDownsampledXySeries(10, NUMBER_OF_DOWNSAMPLED_POINTS);
+        assertTrue("Test5", tmpDownsampledAveragedSeries.getItemCount() <= NUMBER_OF_DOWNSAMPLED_POINTS + 4);
+        assertEquals("Test6", this.getExtremumY(tmpAveragedSeries, false), this.getExtremumY(tmpDownsampledAveragedSeries, false), 0.0);
+        assertEquals("Test7", this.getExtremumY(tmpAveragedSeries, true), this.getExtremumY(tmpDownsampledAveragedSeries, true), 0.0);
+        // Small data are not downsampled
+        assertEquals("Test8", tmpAveragedSeries.getItemCount(), tmpManipulator.getDownsampledXySeries(10, NUMBER_OF_POINTS).getItemCount());
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns noisy progress curve {x-values, y-values}
+     *
+     * @param aSeed Seed for random number generator
+     * @return Noisy progress curve {x-values, y-values}
+     */
+    private double[][] getProgressCurve(long aSeed) {
+        Random tmpRandom = new Random(aSeed);
+        double[] tmpX = new double[NUMBER_OF_POINTS];
+        double[] tmpY = new double[NUMBER_OF_POINTS];
+        for (int i = 0; i < NUMBER_OF_POINTS; i++) {
+            tmpX[i] = (double) i;
+            tmpY[i] = 10.0 * Math.exp(-(double) i / 50000.0) + 0.5 * tmpRandom.nextGaussian();
+        }
+        return new double[][] {tmpX, tmpY};
+    }
+
+    /**
+     * Returns minimum or maximum y-value of series
+     *
+     * @param aSeries Series
+     * @param anIsMaximum True: Maximum, false: Minimum
+     * @return Minimum or maximum y-value of series
+     */
+    private double getExtremumY(XYSeries aSeries, boolean anIsMaximum) {
+        double tmpExtremum = anIsMaximum ? -Double.MAX_VALUE : Double.MAX_VALUE;
+        for (int i = 0; i < aSeries.getItemCount(); i++) {
+            double tmpY = aSeries.getY(i).doubleValue();
+            tmpExtremum = anIsMaximum ? Math.max(tmpExtremum, tmpY) : Math.min(tmpExtremum, tmpY);
+        }
+        return tmpExtremum;
+    }
+
+    /**
+     * Checks if indices are strictly ascending
+     *
+     * @param aMessage Assertion message
+     * @param anIndices Indices
+     */
+    private void checkSorted(String aMessage, int[] anIndices) {
+        for (int i = 1; i < anIndices.length; i++) {
+            assertTrue(aMessage, anIndices[i] > anIndices[i - 1]);
+        }
+    }
+
+    /**
+     * Checks if minimum and maximum y-value of considered points are included
+     *
+     * @param aMessage Assertion message
+     * @param aData Data {x-values, y-values}
+     * @param anIndices Indices
+     * @param aFirstIndex First index of considered points
+     * @param aZoomValues Zoom values (may be null)
+     */
+    private void checkExtrema(String aMessage, double[][] aData, int[] anIndices, int aFirstIndex, double[] aZoomValues) {
+        double tmpMinimum = Double.MAX_VALUE;
+        double tmpMaximum = -Double.MAX_VALUE;
+        for (int i = aFirstIndex; i < aData[0].length; i++) {
+            if (aZoomValues == null || (aData[0][i] >= aZoomValues[0] && aData[0][i] <= aZoomValues[1])) {
+                tmpMinimum = Math.min(tmpMinimum, aData[1][i]);
+                tmpMaximum = Math.max(tmpMaximum, aData[1][i]);
+            }
+        }
+        double tmpDownsampledMinimum = Double.MAX_VALUE;
+        double tmpDownsampledMaximum = -Double.MAX_VALUE;
+        for (int tmpIndex : anIndices) {
+            tmpDownsampledMinimum = Math.min(tmpDownsampledMinimum, aData[1][tmpIndex]);
+            tmpDownsampledMaximum = Math.max(tmpDownsampledMaximum, aData[1][tmpIndex]);
+        }
+        assertEquals(aMessage, tmpMinimum, tmpDownsampledMinimum, 0.0);
+        assertEquals(aMessage, tmpMaximum, tmpDownsampledMaximum, 0.0);
+    }
+    // </editor-fold>
+
+}
@@ -39,6 +39,7 @@ import de.gnwi.mfsim.model.graphics.GraphicsUtils;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.changeNotification.ChangeInformation;
 import de.gnwi.mfsim.model.changeNotification.ChangeNotifier;
 import de.gnwi.mfsim.model.changeNotification.ChangeTypeEnum;
@@ -660,8 +661,10 @@ public class CustomPanelMoveStepSlicerController extends ChangeNotifier implemen
             this.simulationBoxViewToIsCompleteMap = new ConcurrentHashMap<SimulationBoxViewEnum, Boolean>(6);
             // Important: Set this.currentBoxView
             this.slicerIdentification = new ConcurrentHashMap<String, String>(this.moveStepInfoArray.length);
+            // Capture render settings snapshot once for all slicers of this render job
+            RenderSettings tmpRenderSettings = Preferences.getInstance().getRenderSettings();
             String tmpBoxViewDestinationPath = null;
-            if (Preferences.getInstance().getImageStorageMode() == ImageStorageEnum.HARDDISK_COMPRESSED) {
+            if (tmpRenderSettings.getImageStorageMode() == ImageStorageEnum.HARDDISK_COMPRESSED) {
                 File tmpPath = new File(tmpDestinationPath, this.currentBoxView.name());
                 this.fileUtilityMethods.createDirectory(tmpPath);
                 tmpBoxViewDestinationPath = tmpPath.getPath();
@@ -674,7 +677,8 @@ public class CustomPanelMoveStepSlicerController extends ChangeNotifier implemen
                         tmpBoxViewDestinationPath,
                         this.imageFileType,
                         this.stepSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getWidth(),
-                        this.stepSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight());
+                        this.stepSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight(),
+                        tmpRenderSettings);
                 // Add this as property change listener to simulation box slicer
                 tmpSimulationBoxViewSingleMoveStepSlice.addPropertyChangeListener(this);
                 // Add to map
@@ -32,6 +32,7 @@ import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
 import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.spices.PointInSpace;
 import de.gnwi.mfsim.model.changeNotification.ChangeNotifier;
 import de.gnwi.mfsim.gui.message.GuiMessage;
@@ -725,6 +726,8 @@ public class CustomPanelSingleSlicerController extends ChangeNotifier implements
             // Set slicer image panel ratio of height to width (may have changed due to changed box size info)
             this.setSlicerImagePanelRatioOfHeightToWidth();
             // Do NOT clone this.graphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList()
+            // Capture render settings snapshot once for all slicers of this render job
+            RenderSettings tmpRenderSettings = Preferences.getInstance().getRenderSettings();
             this.simulationBoxViewSlicer = 
                 new SimulationBoxViewSlicer(
                     this.currentBoxView, 
@@ -733,7 +736,8 @@ public class CustomPanelSingleSlicerController extends ChangeNotifier implements
                     this.graphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList(), 
                     this.imageFileType, 
                     this.singleSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getWidth(),
-                    this.singleSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight()
+                    this.singleSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight(),
+                    tmpRenderSettings
                 );
             if (!this.simulationBoxViewSlicer.createSlices()) {
                 // <editor-fold defaultstate="collapsed" desc="Message CommandExecutionFailed">
@@ -44,6 +44,7 @@ import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.gui.util.SpinAxisEnum;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.spices.PointInSpace;
 import de.gnwi.mfsim.model.changeNotification.ChangeNotifier;
 import de.gnwi.mfsim.model.valueItem.ValueItem;
@@ -56,8 +57,9 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.LinkedList;
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
@@ -1653,6 +1655,8 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
             this.currentBoxView = Preferences.getInstance().getBoxViewDisplay();
             this.setSimulationBoxViewImage();
             // Do NOT clone this.graphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList()
+            // Capture render settings snapshot once for all slicers of this render job
+            RenderSettings tmpRenderSettings = Preferences.getInstance().getRenderSettings();
             this.simulationBoxViewSlicer = 
                 new SimulationBoxViewSlicer(
                     this.currentBoxView, 
@@ -1661,7 +1665,8 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
                     this.graphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList(), 
                     this.imageFileType, 
                     this.slicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getWidth(),
-                    this.slicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight()
+                    this.slicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight(),
+                    tmpRenderSettings
                 );
             if (!this.simulationBoxViewSlicer.createSlices()) {
                 // <editor-fold defaultstate="collapsed" desc="Message CommandExecutionFailed">
@@ -3520,7 +3525,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
      * Start dialog for spinning around x axis
      */
     private void startSpinAroundXDialog() {
-        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+        ExecutorService tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
         DialogSpinStepSlicerShow.show(tmpExecutorService,
             GuiMessage.get("DialogSpinStepSlicerAroundX.title"), 
             this.graphicalParticlePositionInfo, 
@@ -3528,7 +3533,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
             this.enlargedBoxSizeInfo
         );
         try {
-            tmpExecutorService.shutdown();
+            tmpExecutorService.shutdownNow();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
         }
@@ -3538,7 +3543,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
      * Start dialog for spinning around y axis
      */
     private void startSpinAroundYDialog() {
-        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+        ExecutorService tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
         DialogSpinStepSlicerShow.show(tmpExecutorService,
             GuiMessage.get("DialogSpinStepSlicerAroundY.title"), 
             this.graphicalParticlePositionInfo, 
@@ -3546,7 +3551,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
             this.enlargedBoxSizeInfo
         );
         try {
-            tmpExecutorService.shutdown();
+            tmpExecutorService.shutdownNow();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
         }
@@ -3556,7 +3561,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
      * Start dialog for spinning around z axis
      */
     private void startSpinAroundZDialog() {
-        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+        ExecutorService tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
         DialogSpinStepSlicerShow.show(tmpExecutorService,
             GuiMessage.get("DialogSpinStepSlicerAroundZ.title"), 
             this.graphicalParticlePositionInfo, 
@@ -3564,7 +3569,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
             this.enlargedBoxSizeInfo
         );
         try {
-            tmpExecutorService.shutdown();
+            tmpExecutorService.shutdownNow();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
         }
@@ -3585,7 +3590,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
         // IMPORTANT: Set this.boxMoveChangeInfo.getTargetExclusionBoxSizeInfo(), otherwise Wait will not have the same zoom state
         this.boxMoveChangeInfo.setTargetExclusionBoxSizeInfo(this.graphicalParticlePositionInfo.getExclusionBoxSizeInfo());
         this.numberOfBoxMoveSteps = Preferences.getInstance().getNumberOfBoxWaitSteps();
-        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+        ExecutorService tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
         DialogMoveStepSlicerShow.show(tmpExecutorService,
             GuiMessage.get("DialogMoveStepSlicer.title"),
             this.graphicalParticlePositionInfo,
@@ -3594,7 +3599,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
             this.boxMoveChangeInfo
         );
         try {
-            tmpExecutorService.shutdown();
+            tmpExecutorService.shutdownNow();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
         }
@@ -3613,7 +3618,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
 
         }
         // </editor-fold>
-        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+        ExecutorService tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
         DialogMoveStepSlicerShow.show(tmpExecutorService,
             GuiMessage.get("DialogMoveStepSlicer.title"),
             this.graphicalParticlePositionInfo,
@@ -3622,7 +3627,7 @@ public class CustomPanelSlicerController extends ChangeNotifier implements IImag
             this.boxMoveChangeInfo
         );
         try {
-            tmpExecutorService.shutdown();
+            tmpExecutorService.shutdownNow();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
         }
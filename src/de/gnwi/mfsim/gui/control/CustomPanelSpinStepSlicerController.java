@@ -38,6 +38,7 @@ import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
 import de.gnwi.mfsim.gui.util.SpinAxisEnum;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.changeNotification.ChangeInformation;
 import de.gnwi.mfsim.model.changeNotification.ChangeNotifier;
 import de.gnwi.mfsim.model.changeNotification.ChangeTypeEnum;
@@ -655,8 +656,10 @@ public class CustomPanelSpinStepSlicerController extends ChangeNotifier implemen
             this.simulationBoxViewToIsCompleteMap = new ConcurrentHashMap<SimulationBoxViewEnum, Boolean>(6);
             // Important: Set this.currentBoxView
             this.slicerIdentification = new ConcurrentHashMap<String, String>(this.spinStepInfoArray.length);
+            // Capture render settings snapshot once for all slicers of this render job
+            RenderSettings tmpRenderSettings = Preferences.getInstance().getRenderSettings();
             String tmpBoxViewDestinationPath = null;
-            if (Preferences.getInstance().getImageStorageMode() == ImageStorageEnum.HARDDISK_COMPRESSED) {
+            if (tmpRenderSettings.getImageStorageMode() == ImageStorageEnum.HARDDISK_COMPRESSED) {
                 File tmpPath = new File(tmpDestinationPath, this.currentBoxView.name());
                 this.fileUtilityMethods.createDirectory(tmpPath);
                 tmpBoxViewDestinationPath = tmpPath.getPath();
@@ -669,7 +672,8 @@ public class CustomPanelSpinStepSlicerController extends ChangeNotifier implemen
                         tmpBoxViewDestinationPath,
                         this.imageFileType,
                         this.stepSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getWidth(),
-                        this.stepSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight());
+                        this.stepSlicerPanel.getSimulationBoxPanel().getSlicerImagePanel().getHeight(),
+                        tmpRenderSettings);
                 // Add this as property change listener to simulation box slicer
                 tmpSimulationBoxViewSingleSpinStepSlice.addPropertyChangeListener(this);
                 // Add to map
@@ -56,8 +56,9 @@ import javax.swing.event.TreeSelectionListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.TreePath;
 import de.gnwi.mfsim.model.util.ModelUtils;
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
 /**
@@ -523,14 +524,14 @@ public class CustomPanelValueItemShowController {
                         tmpTimeStepInfoArray[i].setParticleShiftZ((double) Preferences.getInstance().getParticleShiftZ() + tmpParticleShiftZincrement * (double) i);
                     }
                     // </editor-fold>
-                    tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+                    tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
                     DialogSimulationMovieSlicerShow.show(tmpExecutorService,
                         GuiMessage.get("DialogSimulationMovieSlicerShow.title"), 
                         tmpTimeStepInfoArray, 
                         tmpJobInputValueItemContainer
                     );
                     try {
-                        tmpExecutorService.shutdown();
+                        tmpExecutorService.shutdownNow();
                     } catch (Exception anException) {
                         ModelUtils.appendToLogfile(true, anException);
                     }
@@ -618,7 +619,7 @@ public class CustomPanelValueItemShowController {
                     VolumeFrequency.VolumeAxis tmpVolumeAxis = (VolumeFrequency.VolumeAxis) tmpObjectArray[3];
                     JobResult.ParticleType tmpParticleType = (JobResult.ParticleType) tmpObjectArray[4];
                     String tmpParticleTypeDescriptionString = (String) tmpObjectArray[5];
-                    tmpExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSlicers());
+                    tmpExecutorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, Preferences.getInstance().getNumberOfParallelSlicers());
                     DialogDistributionMovieShow.show(
                         tmpExecutorService,
                         Preferences.getInstance().getSimulationMovieSlicerConfiguration().hasExclusionBoxSizeInfo() 
@@ -630,7 +631,7 @@ public class CustomPanelValueItemShowController {
                         tmpParticleTypeDescriptionString
                     );
                     try {
-                        tmpExecutorService.shutdown();
+                        tmpExecutorService.shutdownNow();
                     } catch (Exception anException) {
                         ModelUtils.appendToLogfile(true, anException);
                     }
@@ -40,8 +40,9 @@ import de.gnwi.mfsim.gui.message.GuiMessage;
 import de.gnwi.mfsim.gui.util.GuiUtils;
 import de.gnwi.mfsim.model.util.MouseCursorManagement;
 import de.gnwi.mfsim.model.util.ProgressTaskInterface;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import java.util.concurrent.Future;
 import de.gnwi.mfsim.gui.preference.GuiDefinitions;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
@@ -58,6 +59,11 @@ public class DialogProgress extends CustomDialogApplyCancelSize {
     private SpringLayout mainPanelSpringLayout;
 
     private JPanel mainPanel;
+
+    /**
+     * Future of progress task (null if progress task is not yet submitted)
+     */
+    private Future<Boolean> progressTaskFuture;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private static class variables">
@@ -70,11 +76,6 @@ public class DialogProgress extends CustomDialogApplyCancelSize {
      * True: Progress process failed internally, false: Otherwise. NOTE: Static variable is necessary for treatment of dialog results since result is disposed.
      */
     private static boolean resulthasFailedInternally;
-    
-    /**
-     * Executor service for progress tasks
-     */
-    private static ExecutorService progressExecutorService;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Serial version UID">
@@ -125,6 +126,21 @@ public class DialogProgress extends CustomDialogApplyCancelSize {
     }
     // </editor-fold>
     //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Stops progress task and cancels its future (a progress task that has
+     * not yet been started is discarded)
+     *
+     * @param aProgressTask Progress task
+     */
+    private void stopProgressTask(ProgressTaskInterface aProgressTask) {
+        aProgressTask.stop();
+        if (this.progressTaskFuture != null) {
+            this.progressTaskFuture.cancel(false);
+        }
+    }
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="Public static hasCanceled() method">
     /**
      * Returns if dialog was cancelled
@@ -164,7 +180,7 @@ public class DialogProgress extends CustomDialogApplyCancelSize {
                 public void windowClosing(final WindowEvent e) {
                     try {
                         // <editor-fold defaultstate="collapsed" desc="Stop progress">
-                        tmpProgressTask.stop();
+                        tmpProgressDialog.stopProgressTask(tmpProgressTask);
 
                         // </editor-fold>
                         // <editor-fold defaultstate="collapsed" desc="Set result before dispose()">
@@ -189,7 +205,7 @@ public class DialogProgress extends CustomDialogApplyCancelSize {
                 public void actionPerformed(ActionEvent e) {
                     try {
                         // <editor-fold defaultstate="collapsed" desc="Stop progress">
-                        tmpProgressTask.stop();
+                        tmpProgressDialog.stopProgressTask(tmpProgressTask);
 
                         // </editor-fold>
                         // <editor-fold defaultstate="collapsed" desc="Set result before dispose()">
@@ -266,10 +282,7 @@ public class DialogProgress extends CustomDialogApplyCancelSize {
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="- Start task">
-            if (DialogProgress.progressExecutorService == null) {
-                DialogProgress.progressExecutorService = Executors.newSingleThreadExecutor();
-            }
-            DialogProgress.progressExecutorService.submit(tmpProgressTask);
+            tmpProgressDialog.progressTaskFuture = ManagedExecutor.getInstance().submit(WorkClassEnum.PROGRESS, tmpProgressTask);
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="- Show centered dialog">
             GuiUtils.centerDialogOnScreen(tmpProgressDialog);
@@ -29,8 +29,11 @@ import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.MouseCursorManagement;
 import de.gnwi.mfsim.model.util.FileUtilityMethods;
 import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
 import de.gnwi.mfsim.model.job.JobManager;
+import de.gnwi.mfsim.model.job.JobInputManager;
 import de.gnwi.mfsim.model.job.JobResultExecutionTask;
+import de.gnwi.mfsim.model.job.JobScheduler;
 import de.gnwi.mfsim.model.particleStructure.SpicesPool;
 import de.gnwi.mfsim.model.graphics.compartment.CompartmentContainer;
 import de.gnwi.mfsim.gui.dialog.DialogProgress;
@@ -53,11 +56,13 @@ import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import de.gnwi.mfsim.gui.preference.GuiDefinitions;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
@@ -83,27 +88,27 @@ public class MainFrameController implements PropertyChangeListener {
      * JobResult execution list model (DefaultListModel) for jobExecutionList
      * (JList)
      */
-    private FastListModel jobExecutionListModel;
+    private FastListModel<JobResult> jobExecutionListModel;
 
     /**
      * JobInput list model (DefaultListModel) for job design
      */
-    private FastListModel jobDesignInputListModel;
+    private FastListModel<JobInput> jobDesignInputListModel;
 
     /**
      * JobInput list model (DefaultListModel) for job execution
      */
-    private FastListModel jobExecutionInputListModel;
+    private FastListModel<JobInput> jobExecutionInputListModel;
 
     /**
      * JobResult list model (DefaultListModel) for jobRestartList (JList)
      */
-    private FastListModel jobRestartListModel;
+    private FastListModel<JobResult> jobRestartListModel;
 
     /**
      * JobResult list model (DefaultListModel) for jobResultList (JList)
      */
-    private FastListModel jobResultListModel;
+    private FastListModel<JobResult> jobResultListModel;
 
     /**
      * Form this controller is made for
@@ -124,11 +129,6 @@ public class MainFrameController implements PropertyChangeListener {
      * Executor service for job archiving tasks
      */
     private ExecutorService jobArchiveExecutorService;
-    
-    /**
-     * Executor service for job result execution tasks
-     */
-    private ExecutorService jobResultExecutorService;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -142,7 +142,9 @@ public class MainFrameController implements PropertyChangeListener {
             this.mainFrame = aMainFrame;
             MouseCursorManagement.getInstance().pushMouseCursorComponent(this.mainFrame);
             this.jobArchiveExecutorService = null;
-            this.jobResultExecutorService = null;
+            // Live updates of job input and job result path
+            JobManager.getInstance().getJobInputManager().addPropertyChangeListener(this);
+            JobManager.getInstance().getJobResultManager().addPropertyChangeListener(this);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             // <editor-fold defaultstate="collapsed" desc="Message CommandExecutionFailed">
@@ -161,7 +163,28 @@ public class MainFrameController implements PropertyChangeListener {
      * @param anEvent PropertyChangeEvent
      */
     @Override
-    public void propertyChange(PropertyChangeEvent anEvent) {
+    public void propertyChange(final PropertyChangeEvent anEvent) {
+        // <editor-fold defaultstate="collapsed" desc="Property change due to live update of job input or job result path">
+        if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE)) {
+            // NOTE: Live updates are fired by watch threads, so list models are filled on event dispatch thread
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (anEvent.getSource() instanceof JobInputManager) {
+                            MainFrameController.this.fillJobInputRelatedListModels();
+                        } else {
+                            MainFrameController.this.fillJobResultRelatedListModels();
+                        }
+                        MainFrameController.this.updateMenuDisplay();
+                    } catch (Exception anException) {
+                        ModelUtils.appendToLogfile(true, anException);
+                    }
+                }
+            });
+            return;
+        }
+        // </editor-fold>
         try {
             // <editor-fold defaultstate="collapsed" desc="Property change due to progress of jobResultExecutionTask or jobArchiveTask">
             if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_PROGRESS)) {
@@ -180,10 +203,8 @@ public class MainFrameController implements PropertyChangeListener {
                         this.removeFinishedJobs();
                         // Fill jobResultListModel/jobRestartListModel since jobs results may have changed
                         this.fillJobResultRelatedListModels();
-                        // Start remaining job execution tasks ...
+                        // Start remaining job execution tasks
                         this.startRemainingJobExecutionTasks();
-                        // ... or shutdown this.jobResultExecutorService if no job is working
-                        this.shutdownJobResultExecutorService();
                         // Set display
                         this.updateJobExecutionDisplay();
                         this.updateMenuDisplay();
@@ -337,32 +358,32 @@ public class MainFrameController implements PropertyChangeListener {
             // <editor-fold defaultstate="collapsed" desc="Initialize models and related lists">
             // <editor-fold defaultstate="collapsed" desc="- Initialize job input list models and lists">
             if (this.jobDesignInputListModel == null) {
-                this.jobDesignInputListModel = new FastListModel();
+                this.jobDesignInputListModel = new FastListModel<>();
             }
             this.mainFrame.getJobInputsSelectionPanel().getList().setModel(this.jobDesignInputListModel);
             if (this.jobExecutionInputListModel == null) {
-                this.jobExecutionInputListModel = new FastListModel();
+                this.jobExecutionInputListModel = new FastListModel<>();
             }
             this.mainFrame.getSelectExecutionJobInputSelectionPanel().getList().setModel(this.jobExecutionInputListModel);
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="- Initialize jobResultListModel and list">
             if (this.jobResultListModel == null) {
-                this.jobResultListModel = new FastListModel();
+                this.jobResultListModel = new FastListModel<>();
             }
             this.mainFrame.getSelectJobResultPanel().getList().setModel(this.jobResultListModel);
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="- Initialize jobRestartListModel and list">
             if (this.jobRestartListModel == null) {
-                this.jobRestartListModel = new FastListModel();
+                this.jobRestartListModel = new FastListModel<>();
             }
             this.mainFrame.getSelectJobForRestartSelectionPanel().getList().setModel(this.jobRestartListModel);
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="- Initialize jobExecutionListModel and list">
             if (this.jobExecutionListModel == null) {
-                this.jobExecutionListModel = new FastListModel();
+                this.jobExecutionListModel = new FastListModel<>();
             }
             this.mainFrame.getJobExecutionList().setModel(this.jobExecutionListModel);
 
@@ -397,6 +418,10 @@ public class MainFrameController implements PropertyChangeListener {
             this.fillJobInputRelatedListModels();
             this.fillJobResultRelatedListModels();
 
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Restore job execution queue of job scheduler">
+            this.restoreJobExecutionQueue();
+
             // </editor-fold>
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
@@ -574,12 +599,16 @@ public class MainFrameController implements PropertyChangeListener {
             // <editor-fold defaultstate="collapsed" desc="Close application logic">
             JobManager.getInstance().closeEngineLayer();
             // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Write metrics">
+            MetricsRegistry.getInstance().writeMetricsFile();
+            // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Check log events">
             // false: NO log event
             ModelUtils.appendToLogfile(false, ModelDefinitions.MFSIM_SESSION_END);
             if (Preferences.getInstance().isLogEvent()) {
                 MouseCursorManagement.getInstance().setDefaultCursor();
                 if (GuiUtils.getYesNoDecision(GuiMessage.get("ViewLogInformation.Title"), GuiMessage.get("ViewLogInformation.Message"))) {
+                    ModelUtils.flushLogfile();
                     GuiUtils.startViewer(Preferences.getInstance().getLogfilePathname());
                 }
             }
@@ -588,9 +617,6 @@ public class MainFrameController implements PropertyChangeListener {
             if (this.jobArchiveExecutorService != null) {
                 this.jobArchiveExecutorService.shutdown();
             }
-            if (this.jobResultExecutorService != null) {
-                this.jobResultExecutorService.shutdown();
-            }
             // </editor-fold>
             MouseCursorManagement.getInstance().setDefaultCursor();
             // <editor-fold defaultstate="collapsed" desc="Exit">
@@ -922,6 +948,7 @@ public class MainFrameController implements PropertyChangeListener {
      * Browse MFsim log file
      */
     public void browseMFsimLogfile() {
+        ModelUtils.flushLogfile();
         GuiUtils.startViewer(Preferences.getInstance().getLogfilePathname());        
     }
 
@@ -1922,6 +1949,8 @@ public class MainFrameController implements PropertyChangeListener {
 
             // </editor-fold>
             this.jobExecutionListModel.clear();
+            // Queue entries restored from last session are discarded as well
+            JobManager.getInstance().getJobScheduler().clearRestoredQueueEntries();
             this.updateJobExecutionQueueDisplay();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
@@ -2007,6 +2036,8 @@ public class MainFrameController implements PropertyChangeListener {
             // NOTE: Clear-operation may take seconds up to minutes, so it is performed with separated thread
             new FileDeletionTask((new File(Preferences.getInstance().getTempPath())).listFiles()).start();
             if (this.jobExecutionListModel.getSize() > 0) {
+                // Restored queue entries are now part of the jobs to be started
+                JobManager.getInstance().getJobScheduler().clearRestoredQueueEntries();
                 this.jobResultExecutionTaskList = new ConcurrentLinkedQueue<JobResultExecutionTask>();
                 for (int i = 0; i < this.jobExecutionListModel.getSize(); i++) {
                     JobResult tmpJobResultToBeExecuted = (JobResult) this.jobExecutionListModel.get(i);
@@ -2084,6 +2115,10 @@ public class MainFrameController implements PropertyChangeListener {
 
                 // </editor-fold>
                 this.jobExecutionListModel.remove(tmpSelectedPosition);
+                // Possible queue entry restored from last session must not reappear after restart
+                if (tmpJobResult.hasValidJobInputPath()) {
+                    JobManager.getInstance().getJobScheduler().removeRestoredQueueEntry(tmpJobResult.getJobInput().getJobInputPath());
+                }
                 if (tmpSelectedPosition == this.jobExecutionListModel.getSize()) {
                     this.mainFrame.getJobExecutionList().setSelectedIndex(tmpSelectedPosition - 1);
                 } else {
@@ -2117,9 +2152,10 @@ public class MainFrameController implements PropertyChangeListener {
                 int tmpSelectedPosition = this.mainFrame.getJobExecutionList().getSelectedIndex();
                 if (tmpSelectedPosition >= 0 && tmpSelectedPosition < this.jobExecutionListModel.size()) {
                     tmpSelectedJobResult = (JobResult) this.jobExecutionListModel.get(tmpSelectedPosition);
-                    // IMPORTANT: Lock job result path during view!
-                    String tmpJobResultPath = tmpSelectedJobResult.getJobResultPath();
+                    // IMPORTANT: Lock job result path during view! Job result 
+                    // path is read AFTER locking since it may be moved before.
                     tmpSelectedJobResult.lockResultPath();
+                    String tmpJobResultPath = tmpSelectedJobResult.getJobResultPath();
                     if (tmpSelectedJobResult.getJobInput() != null) {
                         // A job is in execution queue AND started
                         // Write simulation step properties for progress view
@@ -3195,40 +3231,59 @@ public class MainFrameController implements PropertyChangeListener {
     // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- Job execution task related methods">
     /**
-     * Starts remaining job execution tasks
+     * Starts remaining job execution tasks: Non-submitted tasks are passed to
+     * the job scheduler which admits them according to the core budget.
+     * NOTE: The scheduler delays the start of successive tasks (there may
+     * occur subtle errors if several job execution tasks start at the "same
+     * time") without blocking the calling thread.
      */
     private void startRemainingJobExecutionTasks() {
+        JobScheduler tmpJobScheduler = JobManager.getInstance().getJobScheduler();
+        tmpJobScheduler.setMaximumNumberOfParallelJobs(Preferences.getInstance().getNumberOfParallelSimulations());
+        tmpJobScheduler.setStartDelayInMilliseconds(Preferences.getInstance().getDelayForJobStartInMilliseconds());
         for (JobResultExecutionTask tmpJobResultExecutionTask : this.jobResultExecutionTaskList) {
-            int tmpNumberOfSubmittedJobResultExecutionTasks = this.getNumberOfSubmittedJobResultExecutionTasks();
-            if (!tmpJobResultExecutionTask.isSubmittedToExecutorService() 
-                && tmpNumberOfSubmittedJobResultExecutionTasks < Preferences.getInstance().getNumberOfParallelSimulations()
-            ) {
-                if (this.jobResultExecutorService == null) {
-                    this.jobResultExecutorService = Executors.newFixedThreadPool(Preferences.getInstance().getNumberOfParallelSimulations());
-                }
-                tmpJobResultExecutionTask.setSubmittedToExecutorService();
-                this.jobResultExecutorService.submit(tmpJobResultExecutionTask);
-                // IMPORTANT: Delay start of next job execution task
-                // NOTE: There may occur subtle errors if several job execution tasks start at the "same time"
-                if (Preferences.getInstance().getDelayForJobStartInMilliseconds() > 0L) {
-                    try {
-                        Thread.sleep(Preferences.getInstance().getDelayForJobStartInMilliseconds());
-                    } catch (Exception anException) {
-                        ModelUtils.appendToLogfile(true, anException);
-                        continue;
-                    }
+            if (!tmpJobResultExecutionTask.isSubmittedToExecutorService() && !tmpJobScheduler.isPending(tmpJobResultExecutionTask)) {
+                tmpJobScheduler.submit(tmpJobResultExecutionTask, 0);
+            }
+        }
+    }
+
+    /**
+     * Restores jobs of the persisted job queue of the job scheduler (i.e.
+     * jobs that were pending at the end of the last session) to
+     * jobExecutionListModel. NOTE: Restored jobs are NOT started.
+     */
+    private void restoreJobExecutionQueue() {
+        List<String[]> tmpRestoredQueueEntries = JobManager.getInstance().getJobScheduler().getRestoredQueueEntries();
+        if (tmpRestoredQueueEntries.isEmpty()) {
+            return;
+        }
+        for (String[] tmpRestoredQueueEntry : tmpRestoredQueueEntries) {
+            // Entry: Priority, job input path, description
+            if (tmpRestoredQueueEntry.length == 3 && (new File(tmpRestoredQueueEntry[1])).isDirectory()) {
+                try {
+                    this.jobExecutionListModel.addElement(new JobResult(tmpRestoredQueueEntry[2], tmpRestoredQueueEntry[1]));
+                } catch (Exception anException) {
+                    ModelUtils.appendToLogfile(true, anException);
                 }
             }
         }
+        if (this.jobExecutionListModel.getSize() > 0) {
+            this.mainFrame.getJobExecutionList().setSelectedIndex(0);
+        }
+        this.updateJobExecutionDisplay();
+        this.updateMenuDisplay();
     }
 
     /**
-     * Stops all working submitted jobs and shutdown this.jobResultExecutorService
+     * Stops all working submitted jobs (pending jobs of the job scheduler are
+     * removed in advance)
      */
     private void stopAllSubmittedWorkingJobs() {
         try {
             MouseCursorManagement.getInstance().setWaitCursor();
             if (this.jobResultExecutionTaskList != null && this.jobResultExecutionTaskList.size() > 0) {
+                JobManager.getInstance().getJobScheduler().removeAllPending();
                 for (JobResultExecutionTask tmpJobResultExecutionTask : this.jobResultExecutionTaskList) {
                     if (tmpJobResultExecutionTask.isSubmittedToExecutorService() 
                         && !tmpJobResultExecutionTask.isFinished()
@@ -3249,8 +3304,6 @@ public class MainFrameController implements PropertyChangeListener {
                 }
                 // Remove finished jobs
                 this.removeFinishedJobs();
-                // Shutdown this.jobResultExecutorService
-                this.shutdownJobResultExecutorService();
             }
         } finally {
             MouseCursorManagement.getInstance().setDefaultCursor();
@@ -3276,23 +3329,6 @@ public class MainFrameController implements PropertyChangeListener {
         return tmpCounter;
     }
 
-    /**
-     * Returns number of submitted job result execution tasks
-     *
-     * @return Number of submitted job result execution tasks
-     */
-    private int getNumberOfSubmittedJobResultExecutionTasks() {
-        int tmpCounter = 0;
-        if (this.jobResultExecutionTaskList != null && this.jobResultExecutionTaskList.size() > 0) {
-            for (JobResultExecutionTask tmpJobResultExecutionTask : this.jobResultExecutionTaskList) {
-                if (tmpJobResultExecutionTask.isSubmittedToExecutorService()) {
-                    tmpCounter++;
-                }
-            }
-        }
-        return tmpCounter;
-    }
-
     /**
      * Returns if submitted job result execution tasks is working
      *
@@ -3311,23 +3347,6 @@ public class MainFrameController implements PropertyChangeListener {
         return false;
     }
 
-    /**
-     * Shutdown for this.jobResultExecutorService if no job is working
-     */
-    private void shutdownJobResultExecutorService() {
-        if (!this.isSubmittedJobResultExecutionTaskWorking()) {
-            try {
-                if (this.jobResultExecutorService != null) {
-                    this.jobResultExecutorService.shutdown();
-                }
-            } catch (Exception anException) {
-                ModelUtils.appendToLogfile(true, anException);
-            } finally {
-                this.jobResultExecutorService = null;
-            }
-        }
-    }
-    
     /**
      * Returns number of non-stopped working job result execution tasks
      *
@@ -3458,9 +3477,11 @@ public class MainFrameController implements PropertyChangeListener {
         int tmpSelectedPosition = this.mainFrame.getJobExecutionList().getSelectedIndex();
         if (tmpSelectedPosition >= 0) {
             JobResult tmpJobResult = (JobResult) this.jobExecutionListModel.get(tmpSelectedPosition);
+            JobScheduler tmpJobScheduler = JobManager.getInstance().getJobScheduler();
             for (JobResultExecutionTask tmpJobResultExecutionTask : this.jobResultExecutionTaskList) {
+                // NOTE: A task that is not pending in the job scheduler is either not yet submitted or already started
                 if (tmpJobResultExecutionTask.getJobResult().getJobResultId().equals(tmpJobResult.getJobResultId()) && 
-                    !tmpJobResultExecutionTask.isSubmittedToExecutorService()
+                    (tmpJobScheduler.remove(tmpJobResultExecutionTask) || !tmpJobResultExecutionTask.isSubmittedToExecutorService())
                 ) {
                     this.jobResultExecutionTaskList.remove(tmpJobResultExecutionTask);
                     // <editor-fold defaultstate="collapsed" desc="Delete possible additional steps for restart">
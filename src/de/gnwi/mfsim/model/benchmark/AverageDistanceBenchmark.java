@@ -0,0 +1,115 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
+import de.gnwi.mfsim.model.job.DistanceCalculationUtils;
+import de.gnwi.spices.PointInSpace;
+
+/**
+ * Benchmark for average particle-particle distance with periodic boundary
+ * conditions. NOTE: Calculation has quadratic complexity.
+ */
+public class AverageDistanceBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Distance calculation utils
+     */
+    private DistanceCalculationUtils distanceCalculationUtils;
+
+    /**
+     * Particle positions
+     */
+    private PointInSpace[] particlePositions;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "AverageDistance";
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return 20000;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        BoxSizeInfo tmpBoxSizeInfo = aSyntheticFrame.getGraphicalParticlePositionInfo().getInitialBoxSizeInfo();
+        this.distanceCalculationUtils = 
+            new DistanceCalculationUtils(
+                tmpBoxSizeInfo.getXLength(), 
+                tmpBoxSizeInfo.getYLength(), 
+                tmpBoxSizeInfo.getZLength(),
+                true,
+                true,
+                true
+            );
+        this.particlePositions = aSyntheticFrame.getGraphicalParticlePositionInfo().getInitialGraphicalParticlePositions();
+    }
+
+    /**
+     * Calculates average particle-particle distance
+     *
+     * @return Average particle-particle distance
+     */
+    @Override
+    public Object run() {
+        return this.distanceCalculationUtils.getEqualParticlePairAverageDistance(this.particlePositions);
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.distanceCalculationUtils = null;
+        this.particlePositions = null;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,73 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+/**
+ * Interface for benchmarks of model hot paths
+ */
+public interface BenchmarkInterface {
+
+    /**
+     * Name of benchmark (unique among all benchmarks)
+     *
+     * @return Name of benchmark
+     */
+    String getName();
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame,
+     * false: Otherwise (benchmark is run only once)
+     *
+     * @return True: Benchmark depends on number of particles of synthetic
+     * frame, false: Otherwise
+     */
+    boolean isParticleNumberDependent();
+
+    /**
+     * Maximum number of particles of synthetic frame for which benchmark is
+     * run (e.g. for methods with quadratic complexity)
+     *
+     * @return Maximum number of particles
+     */
+    int getMaximumNumberOfParticles();
+
+    /**
+     * Prepares benchmark for synthetic frame (NOT measured)
+     *
+     * @param aSyntheticFrame Synthetic frame
+     * @throws Exception Thrown if benchmark can not be prepared
+     */
+    void setUp(SyntheticFrame aSyntheticFrame) throws Exception;
+
+    /**
+     * Runs single benchmark operation (measured)
+     *
+     * @return Result of operation (consumed by benchmark runner to prevent
+     * dead code elimination)
+     * @throws Exception Thrown if operation fails
+     */
+    Object run() throws Exception;
+
+    /**
+     * Releases resources of benchmark (NOT measured)
+     */
+    void tearDown();
+
+}
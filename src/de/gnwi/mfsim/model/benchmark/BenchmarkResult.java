@@ -0,0 +1,210 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import java.util.Locale;
+
+/**
+ * Result of benchmark for a number of particles. A result can be written to
+ * and read from a single tab-separated line of a baseline file.
+ */
+public class BenchmarkResult {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Separator of line fields
+     */
+    private static final String SEPARATOR = "\t";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Name of benchmark
+     */
+    private final String name;
+
+    /**
+     * Number of particles of synthetic frame (0 for benchmarks that do not
+     * depend on number of particles)
+     */
+    private final int numberOfParticles;
+
+    /**
+     * Median of run times in milliseconds
+     */
+    private final double medianMilliseconds;
+
+    /**
+     * Minimum of run times in milliseconds
+     */
+    private final double minimumMilliseconds;
+
+    /**
+     * Number of measured iterations
+     */
+    private final int numberOfIterations;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Constructor
+     *
+     * @param aName Name of benchmark
+     * @param aNumberOfParticles Number of particles of synthetic frame (0 for
+     * benchmarks that do not depend on number of particles)
+     * @param aMedianMilliseconds Median of run times in milliseconds
+     * @param aMinimumMilliseconds Minimum of run times in milliseconds
+     * @param aNumberOfIterations Number of measured iterations
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public BenchmarkResult(
+        String aName, 
+        int aNumberOfParticles, 
+        double aMedianMilliseconds, 
+        double aMinimumMilliseconds, 
+        int aNumberOfIterations
+    ) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aName == null || aName.isEmpty() || aName.contains(SEPARATOR)) {
+            throw new IllegalArgumentException("aName is illegal.");
+        }
+        if (aNumberOfParticles < 0) {
+            throw new IllegalArgumentException("aNumberOfParticles is less than 0.");
+        }
+        if (aMedianMilliseconds < 0.0 || aMinimumMilliseconds < 0.0) {
+            throw new IllegalArgumentException("Run time is less than 0.");
+        }
+        if (aNumberOfIterations < 1) {
+            throw new IllegalArgumentException("aNumberOfIterations is less than 1.");
+        }
+        // </editor-fold>
+        this.name = aName;
+        this.numberOfParticles = aNumberOfParticles;
+        this.medianMilliseconds = aMedianMilliseconds;
+        this.minimumMilliseconds = aMinimumMilliseconds;
+        this.numberOfIterations = aNumberOfIterations;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param aLine Line (see getLine())
+     * @throws IllegalArgumentException Thrown if line is illegal
+     */
+    public BenchmarkResult(String aLine) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aLine == null || aLine.isEmpty()) {
+            throw new IllegalArgumentException("aLine is null/empty.");
+        }
+        String[] tmpFields = aLine.trim().split(SEPARATOR);
+        if (tmpFields.length != 5) {
+            throw new IllegalArgumentException("aLine has illegal number of fields.");
+        }
+        // </editor-fold>
+        try {
+            this.name = tmpFields[0];
+            this.numberOfParticles = Integer.parseInt(tmpFields[1]);
+            this.medianMilliseconds = Double.parseDouble(tmpFields[2]);
+            this.minimumMilliseconds = Double.parseDouble(tmpFields[3]);
+            this.numberOfIterations = Integer.parseInt(tmpFields[4]);
+        } catch (NumberFormatException anException) {
+            throw new IllegalArgumentException("aLine has illegal number format.");
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns tab-separated line with name, number of particles, median run
+     * time, minimum run time and number of iterations
+     *
+     * @return Tab-separated line
+     */
+    public String getLine() {
+        return String.format(
+            Locale.ENGLISH,
+            "%s" + SEPARATOR + "%d" + SEPARATOR + "%.3f" + SEPARATOR + "%.3f" + SEPARATOR + "%d",
+            this.name,
+            this.numberOfParticles,
+            this.medianMilliseconds,
+            this.minimumMilliseconds,
+            this.numberOfIterations
+        );
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Key of result (name of benchmark and number of particles)
+     *
+     * @return Key of result
+     */
+    public String getKey() {
+        return this.name + "/" + String.valueOf(this.numberOfParticles);
+    }
+
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Number of particles of synthetic frame
+     *
+     * @return Number of particles of synthetic frame (0 for benchmarks that
+     * do not depend on number of particles)
+     */
+    public int getNumberOfParticles() {
+        return this.numberOfParticles;
+    }
+
+    /**
+     * Median of run times in milliseconds
+     *
+     * @return Median of run times in milliseconds
+     */
+    public double getMedianMilliseconds() {
+        return this.medianMilliseconds;
+    }
+
+    /**
+     * Minimum of run times in milliseconds
+     *
+     * @return Minimum of run times in milliseconds
+     */
+    public double getMinimumMilliseconds() {
+        return this.minimumMilliseconds;
+    }
+
+    /**
+     * Number of measured iterations
+     *
+     * @return Number of measured iterations
+     */
+    public int getNumberOfIterations() {
+        return this.numberOfIterations;
+    }
+    // </editor-fold>
+
+}
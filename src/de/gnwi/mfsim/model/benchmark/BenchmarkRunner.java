@@ -0,0 +1,515 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.job.JdpdValueItemDefinition;
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.GraphicsModeEnum;
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runner for benchmarks of model hot paths: Benchmarks are run on synthetic
+ * frames with specified numbers of particles. Each benchmark is warmed up
+ * and then measured for a number of iterations. Results may be written to a
+ * baseline file and compared with a previously written baseline file where
+ * a median run time that exceeds the baseline median by more than a
+ * tolerance factor is reported as a regression.
+ * <p>
+ * Usage: BenchmarkRunner [-particles N1,N2,...] [-warmup N] [-iterations N]
+ * [-filter TEXT] [-baseline FILE] [-tolerance FACTOR] [-writeBaseline FILE]
+ * <p>
+ * NOTE: Baseline run times depend on hardware. Comparisons are only
+ * meaningful for baselines written on the same machine.
+ */
+public class BenchmarkRunner {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Seed for synthetic frames
+     */
+    private static final long SEED = 1234567L;
+
+    /**
+     * Comment line prefix of baseline file
+     */
+    private static final String COMMENT_LINE_PREFIX = "#";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Number of warmup iterations
+     */
+    private final int numberOfWarmupIterations;
+
+    /**
+     * Number of measured iterations
+     */
+    private final int numberOfIterations;
+
+    /**
+     * Output stream for progress (may be null)
+     */
+    private final PrintStream outputStream;
+
+    /**
+     * File utility methods
+     */
+    private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Sink for benchmark results to prevent dead code elimination
+     */
+    private volatile int sink;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aNumberOfWarmupIterations Number of warmup iterations
+     * @param aNumberOfIterations Number of measured iterations
+     * @param anOutputStream Output stream for progress (may be null)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public BenchmarkRunner(int aNumberOfWarmupIterations, int aNumberOfIterations, PrintStream anOutputStream) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aNumberOfWarmupIterations < 0) {
+            throw new IllegalArgumentException("aNumberOfWarmupIterations is less than 0.");
+        }
+        if (aNumberOfIterations < 1) {
+            throw new IllegalArgumentException("aNumberOfIterations is less than 1.");
+        }
+        // </editor-fold>
+        this.numberOfWarmupIterations = aNumberOfWarmupIterations;
+        this.numberOfIterations = aNumberOfIterations;
+        this.outputStream = anOutputStream;
+        this.sink = 0;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static main method">
+    /**
+     * Main method of benchmark runner. Exit value: 0 = No regression, 1 =
+     * Regression detected, 2 = Illegal arguments or error.
+     *
+     * @param args Arguments (see class description)
+     */
+    public static void main(String[] args) {
+        int[] tmpNumbersOfParticles = new int[] {10000, 100000};
+        int tmpNumberOfWarmupIterations = 3;
+        int tmpNumberOfIterations = 10;
+        String tmpFilter = null;
+        String tmpBaselineFilePathname = null;
+        String tmpWriteBaselineFilePathname = null;
+        double tmpTolerance = 1.25;
+        // <editor-fold defaultstate="collapsed" desc="Parse arguments">
+        boolean tmpIsValid = true;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-particles":
+                        String[] tmpTokens = args[++i].split(",");
+                        tmpNumbersOfParticles = new int[tmpTokens.length];
+                        for (int k = 0; k < tmpTokens.length; k++) {
+                            tmpNumbersOfParticles[k] = Integer.parseInt(tmpTokens[k].trim());
+                        }
+                        break;
+                    case "-warmup":
+                        tmpNumberOfWarmupIterations = Integer.parseInt(args[++i]);
+                        break;
+                    case "-iterations":
+                        tmpNumberOfIterations = Integer.parseInt(args[++i]);
+                        break;
+                    case "-filter":
+                        tmpFilter = args[++i];
+                        break;
+                    case "-baseline":
+                        tmpBaselineFilePathname = args[++i];
+                        break;
+                    case "-tolerance":
+                        tmpTolerance = Double.parseDouble(args[++i]);
+                        break;
+                    case "-writeBaseline":
+                        tmpWriteBaselineFilePathname = args[++i];
+                        break;
+                    default:
+                        tmpIsValid = false;
+                        break;
+                }
+            }
+        } catch (Exception anException) {
+            tmpIsValid = false;
+        }
+        if (!tmpIsValid || tmpNumberOfWarmupIterations < 0 || tmpNumberOfIterations < 1 || tmpTolerance < 1.0) {
+            System.err.println("Usage: BenchmarkRunner [-particles N1,N2,...] [-warmup N] [-iterations N] [-filter TEXT] [-baseline FILE] [-tolerance FACTOR] [-writeBaseline FILE]");
+            System.exit(2);
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Initialize Preferences and particle related data">
+        try {
+            Preferences.getInstance();
+            StandardParticleInteractionData.getInstance();
+            JdpdValueItemDefinition.getInstance();
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            ModelUtils.flushLogfile();
+            System.err.println("Initialization of MFsim failed: " + anException.getMessage());
+            System.exit(2);
+        }
+        // </editor-fold>
+        BenchmarkRunner tmpBenchmarkRunner = new BenchmarkRunner(tmpNumberOfWarmupIterations, tmpNumberOfIterations, System.out);
+        List<BenchmarkResult> tmpResults = tmpBenchmarkRunner.run(tmpBenchmarkRunner.getDefaultBenchmarks(tmpFilter), tmpNumbersOfParticles);
+        if (tmpResults == null) {
+            ModelUtils.flushLogfile();
+            System.err.println("Benchmarks failed (see log file).");
+            System.exit(2);
+        }
+        int tmpExitValue = 0;
+        if (tmpWriteBaselineFilePathname != null && !tmpBenchmarkRunner.writeBaseline(tmpResults, tmpWriteBaselineFilePathname)) {
+            System.err.println("Baseline file could not be written: " + tmpWriteBaselineFilePathname);
+            tmpExitValue = 2;
+        }
+        if (tmpBaselineFilePathname != null) {
+            HashMap<String, BenchmarkResult> tmpBaseline = tmpBenchmarkRunner.readBaseline(tmpBaselineFilePathname);
+            if (tmpBaseline == null) {
+                System.err.println("Baseline file could not be read: " + tmpBaselineFilePathname);
+                tmpExitValue = 2;
+            } else {
+                List<String> tmpRegressions = tmpBenchmarkRunner.getRegressions(tmpResults, tmpBaseline, tmpTolerance);
+                for (String tmpRegression : tmpRegressions) {
+                    System.out.println("REGRESSION " + tmpRegression);
+                }
+                if (!tmpRegressions.isEmpty() && tmpExitValue == 0) {
+                    tmpExitValue = 1;
+                }
+            }
+        }
+        ModelUtils.flushLogfile();
+        System.exit(tmpExitValue);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns default benchmarks. NOTE: Slicer rendering benchmarks are only
+     * included if a display is available (particle graphics of all graphics
+     * factories depend on the screen device).
+     *
+     * @param aFilter Filter: Only benchmarks with name containing filter are
+     * returned (may be null/empty then all benchmarks are returned)
+     * @return Default benchmarks
+     */
+    public List<BenchmarkInterface> getDefaultBenchmarks(String aFilter) {
+        LinkedList<BenchmarkInterface> tmpBenchmarks = new LinkedList<>();
+        tmpBenchmarks.add(new StepFileParsingBenchmark());
+        tmpBenchmarks.add(new RdfHistogramBenchmark());
+        tmpBenchmarks.add(new AverageDistanceBenchmark());
+        tmpBenchmarks.add(new RotatePointsBenchmark());
+        tmpBenchmarks.add(new VolumeFrequencyBenchmark());
+        tmpBenchmarks.add(new SpicesGraphicsBenchmark());
+        tmpBenchmarks.add(new ValueItemContainerXmlBenchmark());
+        tmpBenchmarks.add(new ProteinGeometryBenchmark(false));
+        tmpBenchmarks.add(new ProteinGeometryBenchmark(true));
+        for (ParticleInteractionBenchmark.Lookup tmpLookup : ParticleInteractionBenchmark.Lookup.values()) {
+            tmpBenchmarks.add(new ParticleInteractionBenchmark(tmpLookup));
+        }
+        for (int tmpNumberOfThreads : this.getNumbersOfImageEncodingThreads()) {
+            tmpBenchmarks.add(new ImageEncodingBenchmark(ImageFileType.PNG, false, tmpNumberOfThreads));
+            tmpBenchmarks.add(new ImageEncodingBenchmark(ImageFileType.PNG, true, tmpNumberOfThreads));
+            tmpBenchmarks.add(new ImageEncodingBenchmark(ImageFileType.JPG, false, tmpNumberOfThreads));
+        }
+        if (!GraphicsEnvironment.isHeadless()) {
+            for (GraphicsModeEnum tmpGraphicsMode : GraphicsModeEnum.values()) {
+                tmpBenchmarks.add(new SlicerRenderingBenchmark(tmpGraphicsMode));
+            }
+        }
+        if (aFilter != null && !aFilter.isEmpty()) {
+            LinkedList<BenchmarkInterface> tmpFilteredBenchmarks = new LinkedList<>();
+            for (BenchmarkInterface tmpBenchmark : tmpBenchmarks) {
+                if (tmpBenchmark.getName().contains(aFilter)) {
+                    tmpFilteredBenchmarks.add(tmpBenchmark);
+                }
+            }
+            return tmpFilteredBenchmarks;
+        }
+        return tmpBenchmarks;
+    }
+
+    /**
+     * Runs benchmarks on synthetic frames. Benchmarks that do not depend on
+     * number of particles are run only once (with the first synthetic frame).
+     * A failed benchmark is logged and reported but does not stop the other
+     * benchmarks.
+     *
+     * @param aBenchmarks Benchmarks
+     * @param aNumbersOfParticles Numbers of particles of synthetic frames
+     * @return Benchmark results or null if benchmarks failed
+     */
+    public List<BenchmarkResult> run(List<BenchmarkInterface> aBenchmarks, int[] aNumbersOfParticles) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aBenchmarks == null || aBenchmarks.isEmpty()) {
+            return null;
+        }
+        if (aNumbersOfParticles == null || aNumbersOfParticles.length == 0) {
+            return null;
+        }
+        // </editor-fold>
+        String tmpDirectoryPath = this.fileUtilityMethods.getUniqueTemporaryDirectoryPath();
+        try {
+            LinkedList<BenchmarkResult> tmpResults = new LinkedList<>();
+            SyntheticDataGenerator tmpSyntheticDataGenerator = new SyntheticDataGenerator(SEED);
+            boolean tmpIsFirstFrame = true;
+            for (int tmpNumberOfParticles : aNumbersOfParticles) {
+                // <editor-fold defaultstate="collapsed" desc="Determine benchmarks for number of particles">
+                LinkedList<BenchmarkInterface> tmpBenchmarks = new LinkedList<>();
+                for (BenchmarkInterface tmpBenchmark : aBenchmarks) {
+                    if (tmpBenchmark.isParticleNumberDependent()) {
+                        if (tmpNumberOfParticles <= tmpBenchmark.getMaximumNumberOfParticles()) {
+                            tmpBenchmarks.add(tmpBenchmark);
+                        } else {
+                            this.print(String.format(Locale.ENGLISH, "%-36s %10d   skipped (maximum number of particles is %d)", tmpBenchmark.getName(), tmpNumberOfParticles, tmpBenchmark.getMaximumNumberOfParticles()));
+                        }
+                    } else if (tmpIsFirstFrame) {
+                        tmpBenchmarks.add(tmpBenchmark);
+                    }
+                }
+                tmpIsFirstFrame = false;
+                if (tmpBenchmarks.isEmpty()) {
+                    continue;
+                }
+                // </editor-fold>
+                String tmpFrameDirectoryPath = tmpDirectoryPath + File.separatorChar + String.valueOf(tmpNumberOfParticles);
+                if (!(new File(tmpFrameDirectoryPath)).mkdirs()) {
+                    return null;
+                }
+                SyntheticFrame tmpSyntheticFrame = tmpSyntheticDataGenerator.createSyntheticFrame(tmpNumberOfParticles, tmpFrameDirectoryPath);
+                for (BenchmarkInterface tmpBenchmark : tmpBenchmarks) {
+                    try {
+                        BenchmarkResult tmpResult = this.run(tmpBenchmark, tmpSyntheticFrame);
+                        this.print(String.format(Locale.ENGLISH, "%-36s %10d   median %12.3f ms   min %12.3f ms", tmpResult.getName(), tmpResult.getNumberOfParticles(), tmpResult.getMedianMilliseconds(), tmpResult.getMinimumMilliseconds()));
+                        tmpResults.add(tmpResult);
+                    } catch (Exception anException) {
+                        ModelUtils.appendToLogfile(true, anException);
+                        this.print(String.format(Locale.ENGLISH, "%-36s %10d   failed (see log file)", tmpBenchmark.getName(), tmpNumberOfParticles));
+                    }
+                }
+            }
+            return tmpResults;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return null;
+        } finally {
+            this.fileUtilityMethods.deleteDirectory(tmpDirectoryPath);
+        }
+    }
+
+    /**
+     * Runs single benchmark on synthetic frame
+     *
+     * @param aBenchmark Benchmark
+     * @param aSyntheticFrame Synthetic frame
+     * @return Benchmark result
+     * @throws Exception Thrown if benchmark fails
+     */
+    public BenchmarkResult run(BenchmarkInterface aBenchmark, SyntheticFrame aSyntheticFrame) throws Exception {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aBenchmark == null) {
+            throw new IllegalArgumentException("aBenchmark is null.");
+        }
+        if (aSyntheticFrame == null) {
+            throw new IllegalArgumentException("aSyntheticFrame is null.");
+        }
+        // </editor-fold>
+        try {
+            aBenchmark.setUp(aSyntheticFrame);
+            for (int i = 0; i < this.numberOfWarmupIterations; i++) {
+                this.consume(aBenchmark.run());
+            }
+            double[] tmpRunTimes = new double[this.numberOfIterations];
+            for (int i = 0; i < this.numberOfIterations; i++) {
+                long tmpStartTime = System.nanoTime();
+                Object tmpResult = aBenchmark.run();
+                tmpRunTimes[i] = (double) (System.nanoTime() - tmpStartTime) / 1.0E6;
+                this.consume(tmpResult);
+            }
+            Arrays.sort(tmpRunTimes);
+            double tmpMedian;
+            if (tmpRunTimes.length % 2 == 0) {
+                tmpMedian = 0.5 * (tmpRunTimes[tmpRunTimes.length / 2 - 1] + tmpRunTimes[tmpRunTimes.length / 2]);
+            } else {
+                tmpMedian = tmpRunTimes[tmpRunTimes.length / 2];
+            }
+            int tmpNumberOfParticles = 0;
+            if (aBenchmark.isParticleNumberDependent()) {
+                tmpNumberOfParticles = aSyntheticFrame.getNumberOfParticles();
+            }
+            return new BenchmarkResult(aBenchmark.getName(), tmpNumberOfParticles, tmpMedian, tmpRunTimes[0], this.numberOfIterations);
+        } finally {
+            aBenchmark.tearDown();
+        }
+    }
+
+    /**
+     * Returns regressions of results in comparison to baseline: A regression
+     * is a result with a median run time that is greater than tolerance
+     * factor times the median run time of the corresponding baseline result.
+     * Results without corresponding baseline result are ignored.
+     *
+     * @param aResults Benchmark results
+     * @param aBaseline Baseline: Key of result to result map
+     * @param aTolerance Tolerance factor (greater/equal 1)
+     * @return Descriptions of regressions (may be empty but not null)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public List<String> getRegressions(List<BenchmarkResult> aResults, HashMap<String, BenchmarkResult> aBaseline, double aTolerance) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aResults == null) {
+            throw new IllegalArgumentException("aResults is null.");
+        }
+        if (aBaseline == null) {
+            throw new IllegalArgumentException("aBaseline is null.");
+        }
+        if (aTolerance < 1.0) {
+            throw new IllegalArgumentException("aTolerance is less than 1.");
+        }
+        // </editor-fold>
+        LinkedList<String> tmpRegressions = new LinkedList<>();
+        for (BenchmarkResult tmpResult : aResults) {
+            BenchmarkResult tmpBaselineResult = aBaseline.get(tmpResult.getKey());
+            if (tmpBaselineResult != null && tmpResult.getMedianMilliseconds() > aTolerance * tmpBaselineResult.getMedianMilliseconds()) {
+                tmpRegressions.add(
+                    String.format(
+                        Locale.ENGLISH, 
+                        "%s: median %.3f ms, baseline %.3f ms (factor %.2f)", 
+                        tmpResult.getKey(), 
+                        tmpResult.getMedianMilliseconds(), 
+                        tmpBaselineResult.getMedianMilliseconds(),
+                        tmpResult.getMedianMilliseconds() / Math.max(tmpBaselineResult.getMedianMilliseconds(), 1.0E-6)
+                    )
+                );
+            }
+        }
+        return tmpRegressions;
+    }
+
+    /**
+     * Reads baseline file
+     *
+     * @param aFilePathname Full pathname of baseline file
+     * @return Baseline: Key of result to result map or null if baseline file
+     * could not be read
+     */
+    public HashMap<String, BenchmarkResult> readBaseline(String aFilePathname) {
+        LinkedList<String> tmpLines = this.fileUtilityMethods.readStringListFromFile(aFilePathname, COMMENT_LINE_PREFIX);
+        if (tmpLines == null) {
+            return null;
+        }
+        try {
+            HashMap<String, BenchmarkResult> tmpBaseline = new HashMap<>(tmpLines.size());
+            for (String tmpLine : tmpLines) {
+                if (!tmpLine.trim().isEmpty()) {
+                    BenchmarkResult tmpResult = new BenchmarkResult(tmpLine);
+                    tmpBaseline.put(tmpResult.getKey(), tmpResult);
+                }
+            }
+            return tmpBaseline;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return null;
+        }
+    }
+
+    /**
+     * Writes baseline file
+     *
+     * @param aResults Benchmark results
+     * @param aFilePathname Full pathname of baseline file
+     * @return True: Baseline file was written, false: Otherwise
+     */
+    public boolean writeBaseline(List<BenchmarkResult> aResults, String aFilePathname) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aResults == null || aFilePathname == null || aFilePathname.isEmpty()) {
+            return false;
+        }
+        // </editor-fold>
+        String[] tmpLines = new String[aResults.size() + 1];
+        tmpLines[0] = COMMENT_LINE_PREFIX + " Name\tNumberOfParticles\tMedianMilliseconds\tMinimumMilliseconds\tNumberOfIterations";
+        int tmpIndex = 1;
+        for (BenchmarkResult tmpResult : aResults) {
+            tmpLines[tmpIndex++] = tmpResult.getLine();
+        }
+        return this.fileUtilityMethods.writeStringArrayToFile(tmpLines, aFilePathname);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Consumes result of benchmark operation
+     *
+     * @param aResult Result of benchmark operation
+     */
+    private void consume(Object aResult) {
+        if (aResult != null) {
+            this.sink += System.identityHashCode(aResult);
+        }
+    }
+
+    /**
+     * Prints line to output stream
+     *
+     * @param aLine Line
+     */
+    private void print(String aLine) {
+        if (this.outputStream != null) {
+            this.outputStream.println(aLine);
+        }
+    }
+
+    /**
+     * Returns numbers of threads for image encoding benchmarks: 1, 2, 4, ...
+     * up to the number of available processors (which is always included)
+     *
+     * @return Numbers of threads for image encoding benchmarks
+     */
+    private List<Integer> getNumbersOfImageEncodingThreads() {
+        int tmpNumberOfProcessors = Runtime.getRuntime().availableProcessors();
+        LinkedList<Integer> tmpNumbersOfThreads = new LinkedList<>();
+        for (int i = 1; i < tmpNumberOfProcessors; i *= 2) {
+            tmpNumbersOfThreads.add(i);
+        }
+        tmpNumbersOfThreads.add(tmpNumberOfProcessors);
+        return tmpNumbersOfThreads;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,284 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.GraphicsUtils;
+import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.preference.Preferences;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.MultipleGradientPaint;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmark for parallel encoding of slice images: A fixed number of slice
+ * images is written to files with GraphicsUtils on a fixed thread pool of
+ * specified size (as done by the parallel slicers). Benchmarks with
+ * different numbers of threads show the scaling of image encoding.
+ */
+public class ImageEncodingBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Number of slice images written per run
+     */
+    private static final int NUMBER_OF_IMAGES = 1000;
+
+    /**
+     * Number of distinct slice images
+     */
+    private static final int NUMBER_OF_DISTINCT_IMAGES = 10;
+
+    /**
+     * Width and height of slice images in pixel
+     */
+    private static final int IMAGE_SIZE_IN_PIXEL = 400;
+
+    /**
+     * Number of particle discs per slice image
+     */
+    private static final int NUMBER_OF_DISCS = 2000;
+
+    /**
+     * Seed for slice images
+     */
+    private static final long SEED = 1234567L;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Image file type
+     */
+    private final ImageFileType imageFileType;
+
+    /**
+     * True: Fast PNG writer is used, false: Standard ImageIO PNG writer is
+     * used
+     */
+    private final boolean isFastPngWriter;
+
+    /**
+     * Number of threads
+     */
+    private final int numberOfThreads;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Distinct slice images
+     */
+    private BufferedImage[] images;
+
+    /**
+     * Destination directory of images
+     */
+    private File destinationDirectory;
+
+    /**
+     * Fast PNG writer flag of Preferences before set up
+     */
+    private boolean formerIsFastPngWriter;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param anImageFileType Image file type
+     * @param anIsFastPngWriter True: Fast PNG writer is used, false: Standard
+     * ImageIO PNG writer is used
+     * @param aNumberOfThreads Number of threads
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public ImageEncodingBenchmark(ImageFileType anImageFileType, boolean anIsFastPngWriter, int aNumberOfThreads) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (anImageFileType == null) {
+            throw new IllegalArgumentException("anImageFileType is null.");
+        }
+        if (anIsFastPngWriter && anImageFileType != ImageFileType.PNG) {
+            throw new IllegalArgumentException("Fast PNG writer requires PNG image file type.");
+        }
+        if (aNumberOfThreads < 1) {
+            throw new IllegalArgumentException("aNumberOfThreads is less than 1.");
+        }
+        // </editor-fold>
+        this.imageFileType = anImageFileType;
+        this.isFastPngWriter = anIsFastPngWriter;
+        this.numberOfThreads = aNumberOfThreads;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        if (this.isFastPngWriter) {
+            return "ImageEncoding_FAST_" + this.imageFileType.name() + "_T" + String.valueOf(this.numberOfThreads);
+        } else {
+            return "ImageEncoding_" + this.imageFileType.name() + "_T" + String.valueOf(this.numberOfThreads);
+        }
+    }
+
+    /**
+     * False: Benchmark does not depend on number of particles of synthetic
+     * frame
+     *
+     * @return False
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return false;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark: Creates distinct slice images and destination
+     * directory
+     *
+     * @param aSyntheticFrame Synthetic frame
+     * @throws Exception Thrown if destination directory can not be created
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) throws Exception {
+        this.destinationDirectory = new File((new File(aSyntheticFrame.getParticlePositionsFilePathname())).getParent(), "ImageEncoding");
+        if (!this.destinationDirectory.isDirectory() && !this.destinationDirectory.mkdirs()) {
+            throw new Exception("Destination directory could not be created.");
+        }
+        Random tmpRandom = new Random(SEED);
+        this.images = new BufferedImage[NUMBER_OF_DISTINCT_IMAGES];
+        for (int i = 0; i < NUMBER_OF_DISTINCT_IMAGES; i++) {
+            this.images[i] = ImageEncodingBenchmark.getSliceImage(tmpRandom);
+        }
+        this.formerIsFastPngWriter = Preferences.getInstance().isFastPngWriter();
+        Preferences.getInstance().setFastPngWriter(this.isFastPngWriter);
+    }
+
+    /**
+     * Writes slice images in parallel
+     *
+     * @return Number of written slice images
+     * @throws Exception Thrown if a slice image can not be written
+     */
+    @Override
+    public Object run() throws Exception {
+        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(this.numberOfThreads);
+        try {
+            List<Future<Boolean>> tmpFutures = new ArrayList<>(NUMBER_OF_IMAGES);
+            for (int i = 0; i < NUMBER_OF_IMAGES; i++) {
+                final BufferedImage tmpImage = this.images[i % NUMBER_OF_DISTINCT_IMAGES];
+                final File tmpFile = new File(this.destinationDirectory, "Slice" + String.valueOf(i) + "." + this.imageFileType.toFileTypeEnding());
+                tmpFutures.add(tmpExecutorService.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        return GraphicsUtils.writeImageToFileWithoutChecks(tmpImage, ImageEncodingBenchmark.this.imageFileType, tmpFile);
+                    }
+                }));
+            }
+            int tmpNumberOfImages = 0;
+            for (Future<Boolean> tmpFuture : tmpFutures) {
+                if (!tmpFuture.get()) {
+                    throw new Exception("Slice image could not be written.");
+                }
+                tmpNumberOfImages++;
+            }
+            return tmpNumberOfImages;
+        } finally {
+            tmpExecutorService.shutdown();
+        }
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        Preferences.getInstance().setFastPngWriter(this.formerIsFastPngWriter);
+        if (this.destinationDirectory != null && this.destinationDirectory.isDirectory()) {
+            for (File tmpFile : this.destinationDirectory.listFiles()) {
+                tmpFile.delete();
+            }
+            this.destinationDirectory.delete();
+        }
+        this.destinationDirectory = null;
+        this.images = null;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Returns synthetic slice image with shaded particle discs
+     *
+     * @param aRandom Random number generator
+     * @return Synthetic slice image
+     */
+    private static BufferedImage getSliceImage(Random aRandom) {
+        BufferedImage tmpImage = new BufferedImage(IMAGE_SIZE_IN_PIXEL, IMAGE_SIZE_IN_PIXEL, BufferedImage.TYPE_INT_RGB);
+        Graphics2D tmpGraphics2D = tmpImage.createGraphics();
+        tmpGraphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        tmpGraphics2D.setColor(Color.WHITE);
+        tmpGraphics2D.fillRect(0, 0, IMAGE_SIZE_IN_PIXEL, IMAGE_SIZE_IN_PIXEL);
+        for (int i = 0; i < NUMBER_OF_DISCS; i++) {
+            int tmpDiameter = 6 + aRandom.nextInt(10);
+            int tmpX = aRandom.nextInt(IMAGE_SIZE_IN_PIXEL);
+            int tmpY = aRandom.nextInt(IMAGE_SIZE_IN_PIXEL);
+            Color tmpColor = new Color(aRandom.nextInt(256), aRandom.nextInt(256), aRandom.nextInt(256));
+            // Shaded particle disc (similar to radial gradient paint of slicer)
+            tmpGraphics2D.setPaint(
+                new RadialGradientPaint(
+                    new Point2D.Float(tmpX + 0.5f * tmpDiameter, tmpY + 0.5f * tmpDiameter), 
+                    0.5f * tmpDiameter, 
+                    new Point2D.Float(tmpX + 0.3f * tmpDiameter, tmpY + 0.3f * tmpDiameter), 
+                    new float[] {0.0f, 1.0f}, 
+                    new Color[] {Color.WHITE, tmpColor}, 
+                    MultipleGradientPaint.CycleMethod.NO_CYCLE
+                )
+            );
+            tmpGraphics2D.fillOval(tmpX, tmpY, tmpDiameter, tmpDiameter);
+        }
+        tmpGraphics2D.dispose();
+        return tmpImage;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,195 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.particle.ParticleInteractionTable;
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+
+/**
+ * Benchmark for lookup of interactions a(ij) of all particle pairs at all
+ * temperatures (as for job input generation and validation)
+ */
+public class ParticleInteractionBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Public enum Lookup">
+    /**
+     * Lookup of interactions
+     */
+    public enum Lookup {
+
+        /**
+         * String-keyed lookup without particle interaction table
+         */
+        STRING_KEY,
+        /**
+         * Lookup with particle and temperature strings based on particle
+         * interaction table
+         */
+        TABLE,
+        /**
+         * Lookup with particle ids and temperature indices of particle
+         * interaction table
+         */
+        PARTICLE_ID
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Lookup of interactions
+     */
+    private final Lookup lookup;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Particles
+     */
+    private String[] particles;
+
+    /**
+     * Temperatures
+     */
+    private String[] temperatures;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aLookup Lookup of interactions
+     */
+    public ParticleInteractionBenchmark(Lookup aLookup) {
+        this.lookup = aLookup;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        if (this.lookup == Lookup.TABLE) {
+            return "ParticleInteraction";
+        } else {
+            return "ParticleInteraction_" + this.lookup.name();
+        }
+    }
+
+    /**
+     * False: Benchmark does not depend on number of particles of synthetic
+     * frame
+     *
+     * @return False
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return false;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark
+     *
+     * @param aSyntheticFrame Synthetic frame (not used)
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        this.particles = StandardParticleInteractionData.getInstance().getAllParticlesSortedAscending();
+        this.temperatures = StandardParticleInteractionData.getInstance().getTemperatures();
+    }
+
+    /**
+     * Sums interactions a(ij) of all particle pairs at all temperatures
+     *
+     * @return Sum of interactions a(ij)
+     */
+    @Override
+    public Object run() {
+        StandardParticleInteractionData tmpData = StandardParticleInteractionData.getInstance();
+        double tmpSum = 0.0;
+        switch (this.lookup) {
+            case STRING_KEY:
+                for (String tmpTemperature : this.temperatures) {
+                    for (int i = 0; i < this.particles.length; i++) {
+                        for (int j = i; j < this.particles.length; j++) {
+                            String tmpInteraction = tmpData.getInteractionWithStringKey(this.particles[i], this.particles[j], tmpTemperature);
+                            if (tmpInteraction != null) {
+                                tmpSum += Double.valueOf(tmpInteraction);
+                            }
+                        }
+                    }
+                }
+                break;
+            case TABLE:
+                for (String tmpTemperature : this.temperatures) {
+                    for (int i = 0; i < this.particles.length; i++) {
+                        for (int j = i; j < this.particles.length; j++) {
+                            String tmpInteraction = tmpData.getInteraction(this.particles[i], this.particles[j], tmpTemperature);
+                            if (tmpInteraction != null) {
+                                tmpSum += Double.valueOf(tmpInteraction);
+                            }
+                        }
+                    }
+                }
+                break;
+            case PARTICLE_ID:
+                ParticleInteractionTable tmpTable = tmpData.getParticleInteractionTable();
+                for (String tmpTemperature : this.temperatures) {
+                    int tmpTemperatureIndex = tmpTable.getTemperatureIndex(tmpTemperature);
+                    for (int i = 0; i < this.particles.length; i++) {
+                        int tmpParticleId1 = tmpTable.getParticleId(this.particles[i]);
+                        for (int j = i; j < this.particles.length; j++) {
+                            double tmpInteraction = tmpTable.getInteraction(tmpParticleId1, tmpTable.getParticleId(this.particles[j]), tmpTemperatureIndex);
+                            if (!Double.isNaN(tmpInteraction)) {
+                                tmpSum += tmpInteraction;
+                            }
+                        }
+                    }
+                }
+                break;
+        }
+        return tmpSum;
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.particles = null;
+        this.temperatures = null;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,140 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.peptide.utils.ProteinGeometry;
+import de.gnwi.spices.PointInSpace;
+
+/**
+ * Benchmark for maximum distance and radius of gyration of protein atom
+ * coordinates (particle positions of synthetic frame are used as atom
+ * coordinates). NOTE: Brute-force calculation has quadratic complexity.
+ */
+public class ProteinGeometryBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * True: Brute-force maximum distance calculation, false: Pruned maximum
+     * distance calculation
+     */
+    private final boolean isBruteForce;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Interleaved atom coordinates
+     */
+    private double[] coordinates;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param anIsBruteForce True: Brute-force maximum distance calculation,
+     * false: Pruned maximum distance calculation
+     */
+    public ProteinGeometryBenchmark(boolean anIsBruteForce) {
+        this.isBruteForce = anIsBruteForce;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        if (this.isBruteForce) {
+            return "ProteinGeometry_BRUTE_FORCE";
+        } else {
+            return "ProteinGeometry";
+        }
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        if (this.isBruteForce) {
+            return 20000;
+        } else {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        PointInSpace[] tmpParticlePositions = aSyntheticFrame.getGraphicalParticlePositionInfo().getInitialGraphicalParticlePositions();
+        this.coordinates = new double[3 * tmpParticlePositions.length];
+        int tmpIndex = 0;
+        for (PointInSpace tmpParticlePosition : tmpParticlePositions) {
+            this.coordinates[tmpIndex++] = tmpParticlePosition.getX();
+            this.coordinates[tmpIndex++] = tmpParticlePosition.getY();
+            this.coordinates[tmpIndex++] = tmpParticlePosition.getZ();
+        }
+    }
+
+    /**
+     * Calculates maximum distance and radius of gyration
+     *
+     * @return Array with maximum distance and radius of gyration
+     */
+    @Override
+    public Object run() {
+        double tmpMaximumDistance;
+        if (this.isBruteForce) {
+            tmpMaximumDistance = ProteinGeometry.getMaximumDistanceBruteForce(this.coordinates);
+        } else {
+            tmpMaximumDistance = ProteinGeometry.getMaximumDistance(this.coordinates);
+        }
+        return new double[] {tmpMaximumDistance, ProteinGeometry.getRadiusOfGyration(this.coordinates)};
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.coordinates = null;
+    }
+    // </editor-fold>
+
+}
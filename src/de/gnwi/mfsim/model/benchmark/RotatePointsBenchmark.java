@@ -0,0 +1,118 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
+import de.gnwi.spices.PointInSpace;
+
+/**
+ * Benchmark for rotation of particle positions around box mid point
+ */
+public class RotatePointsBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Graphics utility methods
+     */
+    private final GraphicsUtilityMethods graphicsUtilityMethods = new GraphicsUtilityMethods();
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Cloned particle positions (rotated by benchmark)
+     */
+    private GraphicalParticlePosition[] particlePositions;
+
+    /**
+     * Box mid point
+     */
+    private PointInSpace boxMidPoint;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "RotatePoints";
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        // NOTE: Particle positions are cloned since they are changed by rotation
+        GraphicalParticlePosition[] tmpParticlePositions = aSyntheticFrame.getGraphicalParticlePositionInfo().getInitialGraphicalParticlePositions();
+        this.particlePositions = new GraphicalParticlePosition[tmpParticlePositions.length];
+        for (int i = 0; i < tmpParticlePositions.length; i++) {
+            this.particlePositions[i] = tmpParticlePositions[i].getClone();
+        }
+        this.boxMidPoint = aSyntheticFrame.getGraphicalParticlePositionInfo().getInitialBoxSizeInfo().getBoxMidPoint();
+    }
+
+    /**
+     * Rotates particle positions
+     *
+     * @return Rotated particle positions
+     */
+    @Override
+    public Object run() {
+        this.graphicsUtilityMethods.rotatePoints(this.particlePositions, 10.0, 20.0, 30.0, this.boxMidPoint);
+        return this.particlePositions;
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.particlePositions = null;
+        this.boxMidPoint = null;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,191 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
+import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
+import de.gnwi.mfsim.model.graphics.slice.SimulationBoxViewSlicer;
+import de.gnwi.mfsim.model.util.GraphicsModeEnum;
+import de.gnwi.mfsim.model.util.ImageStorageEnum;
+import de.gnwi.mfsim.model.util.ParticleColorDisplayEnum;
+import java.awt.Color;
+import java.io.File;
+
+/**
+ * Benchmark for slice image creation of simulation box view slicer with
+ * graphics factory of specified graphics mode
+ */
+public class SlicerRenderingBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Width and height of slice images in pixel
+     */
+    private static final int IMAGE_SIZE_IN_PIXEL = 800;
+
+    /**
+     * Number of slices per view
+     */
+    private static final int NUMBER_OF_SLICES_PER_VIEW = 100;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Graphics mode
+     */
+    private final GraphicsModeEnum graphicsMode;
+
+    /**
+     * Render settings
+     */
+    private final RenderSettings renderSettings;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Graphical particle position info
+     */
+    private GraphicalParticlePositionInfo graphicalParticlePositionInfo;
+
+    /**
+     * Destination directory of slicer
+     */
+    private String destinationDirectory;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aGraphicsMode Graphics mode
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public SlicerRenderingBenchmark(GraphicsModeEnum aGraphicsMode) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aGraphicsMode == null) {
+            throw new IllegalArgumentException("aGraphicsMode is null.");
+        }
+        // </editor-fold>
+        this.graphicsMode = aGraphicsMode;
+        this.renderSettings = 
+            new RenderSettings(
+                NUMBER_OF_SLICES_PER_VIEW,
+                0,
+                false,
+                0.8,
+                0,
+                0,
+                0,
+                Color.WHITE,
+                Color.BLACK,
+                aGraphicsMode,
+                ImageStorageEnum.MEMORY_UNCOMPRESSED,
+                ParticleColorDisplayEnum.MOLECULE_COLOR_MODE,
+                0.2f,
+                0.3f,
+                0.3f,
+                1.0f
+            );
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "SlicerRendering_" + this.graphicsMode.name();
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        this.graphicalParticlePositionInfo = aSyntheticFrame.getGraphicalParticlePositionInfo();
+        this.graphicalParticlePositionInfo.getGraphicalParticleInfo().setCurrentColorAndScaledRadiusOfParticles();
+        this.graphicalParticlePositionInfo.setCurrentGraphicalParticlePositions(false);
+        this.destinationDirectory = (new File(aSyntheticFrame.getParticlePositionsFilePathname())).getParent();
+    }
+
+    /**
+     * Creates slice images of simulation box view
+     *
+     * @return Slicer
+     * @throws Exception Thrown if slices can not be created
+     */
+    @Override
+    public Object run() throws Exception {
+        SimulationBoxViewSlicer tmpSlicer = 
+            new SimulationBoxViewSlicer(
+                SimulationBoxViewEnum.XZ_FRONT, 
+                this.destinationDirectory, 
+                this.graphicalParticlePositionInfo.getCurrentBoxSizeInfo(), 
+                this.graphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList(), 
+                ImageFileType.BMP, 
+                IMAGE_SIZE_IN_PIXEL, 
+                IMAGE_SIZE_IN_PIXEL, 
+                this.renderSettings
+            );
+        if (!tmpSlicer.createSlices()) {
+            throw new Exception("Slices could not be created.");
+        }
+        tmpSlicer.releaseMemory();
+        return tmpSlicer;
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.graphicalParticlePositionInfo = null;
+        this.destinationDirectory = null;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,157 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.SpicesGraphics;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticleWrapper;
+import de.gnwi.mfsim.model.graphics.particle.IGraphicalParticle;
+import java.awt.Color;
+import java.util.HashMap;
+
+/**
+ * Benchmark for particle coordinate generation of linear SPICES molecules
+ * between first and last particle positions: A molecule with 10 particles is
+ * generated for every tenth particle of the synthetic frame.
+ */
+public class SpicesGraphicsBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Particles of SPICES
+     */
+    private static final String[] PARTICLES = new String[] {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * SPICES graphics
+     */
+    private SpicesGraphics spicesGraphics;
+
+    /**
+     * Particle to graphical particle map
+     */
+    private HashMap<String, IGraphicalParticle> particleToGraphicalParticleMap;
+
+    /**
+     * First particle coordinates
+     */
+    private GraphicalParticlePosition[] firstParticleCoordinates;
+
+    /**
+     * Last particle coordinates
+     */
+    private GraphicalParticlePosition[] lastParticleCoordinates;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "SpicesGraphics";
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        StringBuilder tmpBuffer = new StringBuilder();
+        this.particleToGraphicalParticleMap = new HashMap<>(PARTICLES.length);
+        for (String tmpParticle : PARTICLES) {
+            if (tmpBuffer.length() > 0) {
+                tmpBuffer.append("-");
+            }
+            tmpBuffer.append(tmpParticle);
+            this.particleToGraphicalParticleMap.put(tmpParticle, new GraphicalParticleWrapper(tmpParticle, "Particle" + tmpParticle, Color.gray, 0.5));
+        }
+        this.spicesGraphics = new SpicesGraphics(tmpBuffer.toString());
+        GraphicalParticlePosition[] tmpParticlePositions = aSyntheticFrame.getGraphicalParticlePositionInfo().getInitialGraphicalParticlePositions();
+        int tmpNumberOfMolecules = Math.max(1, tmpParticlePositions.length / PARTICLES.length);
+        this.firstParticleCoordinates = new GraphicalParticlePosition[tmpNumberOfMolecules];
+        this.lastParticleCoordinates = new GraphicalParticlePosition[tmpNumberOfMolecules];
+        for (int i = 0; i < tmpNumberOfMolecules; i++) {
+            GraphicalParticlePosition tmpFirst = tmpParticlePositions[(i * PARTICLES.length) % tmpParticlePositions.length];
+            this.firstParticleCoordinates[i] = new GraphicalParticlePosition(tmpFirst.getX(), tmpFirst.getY(), tmpFirst.getZ());
+            this.lastParticleCoordinates[i] = new GraphicalParticlePosition(tmpFirst.getX() + 10.0, tmpFirst.getY() + 10.0, tmpFirst.getZ() + 10.0);
+        }
+    }
+
+    /**
+     * Generates particle coordinates of all molecules
+     *
+     * @return Particle coordinates
+     * @throws Exception Thrown if coordinates can not be generated
+     */
+    @Override
+    public Object run() throws Exception {
+        Object tmpResult = 
+            this.spicesGraphics.getParticleCoordinates(
+                this.particleToGraphicalParticleMap, 
+                this.firstParticleCoordinates, 
+                this.lastParticleCoordinates, 
+                1.0
+            );
+        if (tmpResult == null) {
+            throw new Exception("Particle coordinates could not be generated.");
+        }
+        return tmpResult;
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.spicesGraphics = null;
+        this.particleToGraphicalParticleMap = null;
+        this.firstParticleCoordinates = null;
+        this.lastParticleCoordinates = null;
+    }
+    // </editor-fold>
+
+}
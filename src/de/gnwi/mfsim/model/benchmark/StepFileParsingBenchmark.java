@@ -0,0 +1,115 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.job.JobUtilityMethods;
+
+/**
+ * Benchmark for parsing of particle positions (step) files into graphical
+ * particle positions
+ */
+public class StepFileParsingBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Job utility methods
+     */
+    private final JobUtilityMethods jobUtilityMethods = new JobUtilityMethods();
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Synthetic frame
+     */
+    private SyntheticFrame syntheticFrame;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "StepFileParsing";
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        this.syntheticFrame = aSyntheticFrame;
+    }
+
+    /**
+     * Parses particle positions file of synthetic frame
+     *
+     * @return Graphical particle position info
+     * @throws Exception Thrown if file can not be parsed
+     */
+    @Override
+    public Object run() throws Exception {
+        Object tmpResult = 
+            this.jobUtilityMethods.readGraphicalParticlePositionsWithRepetitions(
+                this.syntheticFrame.getParticlePositionsFilePathname(), 
+                this.syntheticFrame.getJobInputValueItemContainer(), 
+                1, 
+                0L
+            );
+        if (tmpResult == null) {
+            throw new Exception("Particle positions file could not be parsed.");
+        }
+        return tmpResult;
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.syntheticFrame = null;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,200 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.jdpd.particlePosition.ParticlePosition;
+import de.gnwi.jdpd.samples.FileOutput;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
+import de.gnwi.mfsim.model.job.JdpdValueItemDefinition;
+import de.gnwi.mfsim.model.job.JobUtilityMethods;
+import de.gnwi.mfsim.model.valueItem.ValueItem;
+import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
+import java.io.File;
+import java.util.Random;
+
+/**
+ * Generator for synthetic simulation frames: Water particles (default Job
+ * Input) at DPD density 3 are uniformly distributed in a cubic simulation
+ * box. Particle positions are written with the Jdpd step file writer, i.e.
+ * in the same format as the particle positions files of Job Results.
+ * NOTE: Frames are reproducible since a fixed seed is used.
+ */
+public class SyntheticDataGenerator {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * DPD particle density
+     */
+    private static final double DPD_DENSITY = 3.0;
+
+    /**
+     * Molecule name of default Job Input
+     */
+    private static final String MOLECULE_NAME = "Water";
+
+    /**
+     * Particle of default Job Input
+     */
+    private static final String PARTICLE = "H2O";
+
+    /**
+     * Name of directory for particle positions files
+     */
+    private static final String STEPS_DIRECTORY_NAME = "Steps";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Seed for random number generator
+     */
+    private final long seed;
+
+    /**
+     * Job utility methods
+     */
+    private final JobUtilityMethods jobUtilityMethods = new JobUtilityMethods();
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aSeed Seed for random number generator
+     */
+    public SyntheticDataGenerator(long aSeed) {
+        this.seed = aSeed;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Creates synthetic frame
+     *
+     * @param aNumberOfParticles Number of particles
+     * @param aDirectoryPath Path of existing directory for particle positions
+     * file
+     * @return Synthetic frame
+     * @throws Exception Thrown if synthetic frame can not be created
+     */
+    public SyntheticFrame createSyntheticFrame(int aNumberOfParticles, String aDirectoryPath) throws Exception {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aNumberOfParticles < 1) {
+            throw new IllegalArgumentException("aNumberOfParticles is less than 1.");
+        }
+        if (aDirectoryPath == null || aDirectoryPath.isEmpty() || !(new File(aDirectoryPath)).isDirectory()) {
+            throw new IllegalArgumentException("aDirectoryPath is not an existing directory.");
+        }
+        // </editor-fold>
+        double tmpBoxLength = this.getBoxLength(aNumberOfParticles);
+        ValueItemContainer tmpJobInputValueItemContainer = this.getJobInputValueItemContainer(tmpBoxLength);
+        String tmpParticlePositionsFilePathname = this.writeParticlePositionsFile(aNumberOfParticles, tmpBoxLength, aDirectoryPath);
+        GraphicalParticlePositionInfo tmpGraphicalParticlePositionInfo = 
+            this.jobUtilityMethods.readGraphicalParticlePositionsWithRepetitions(
+                tmpParticlePositionsFilePathname, 
+                tmpJobInputValueItemContainer, 
+                1, 
+                0L
+            );
+        if (tmpGraphicalParticlePositionInfo == null) {
+            throw new Exception("Particle positions file could not be read.");
+        }
+        return new SyntheticFrame(aNumberOfParticles, tmpJobInputValueItemContainer, tmpParticlePositionsFilePathname, tmpGraphicalParticlePositionInfo);
+    }
+
+    /**
+     * Returns length of cubic simulation box for number of particles at DPD
+     * density
+     *
+     * @param aNumberOfParticles Number of particles
+     * @return Length of cubic simulation box in DPD units
+     */
+    public double getBoxLength(int aNumberOfParticles) {
+        // Rounded to 2 decimals since box size values have 2 decimals
+        return Math.ceil(Math.cbrt((double) aNumberOfParticles / DPD_DENSITY) * 100.0) / 100.0;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns default Job Input value item container with cubic simulation box
+     *
+     * @param aBoxLength Length of cubic simulation box
+     * @return Default Job Input value item container with cubic simulation box
+     * @throws Exception Thrown if box size can not be set
+     */
+    private ValueItemContainer getJobInputValueItemContainer(double aBoxLength) throws Exception {
+        ValueItemContainer tmpJobInputValueItemContainer = JdpdValueItemDefinition.getInstance().getClonedJobInputValueItemContainer();
+        ValueItem tmpBoxSizeValueItem = tmpJobInputValueItemContainer.getValueItem("BoxSize");
+        for (int i = 0; i < 3; i++) {
+            if (!tmpBoxSizeValueItem.setValue(String.valueOf(aBoxLength), 0, i)) {
+                throw new Exception("Box size could not be set.");
+            }
+        }
+        return tmpJobInputValueItemContainer;
+    }
+
+    /**
+     * Writes particle positions file with uniformly distributed particles
+     *
+     * @param aNumberOfParticles Number of particles
+     * @param aBoxLength Length of cubic simulation box
+     * @param aDirectoryPath Path of existing directory
+     * @return Full pathname of particle positions file
+     * @throws Exception Thrown if file can not be written
+     */
+    private String writeParticlePositionsFile(int aNumberOfParticles, double aBoxLength, String aDirectoryPath) throws Exception {
+        String tmpStepsDirectoryPath = aDirectoryPath + File.separatorChar + STEPS_DIRECTORY_NAME;
+        File tmpStepsDirectory = new File(tmpStepsDirectoryPath);
+        if (!tmpStepsDirectory.isDirectory() && !tmpStepsDirectory.mkdirs()) {
+            throw new Exception("Steps directory could not be created.");
+        }
+        Random tmpRandom = new Random(this.seed);
+        ParticlePosition[] tmpParticlePositions = new ParticlePosition[aNumberOfParticles];
+        for (int i = 0; i < aNumberOfParticles; i++) {
+            tmpParticlePositions[i] = new ParticlePosition();
+            // Each water particle is a molecule of its own
+            tmpParticlePositions[i].setPosition(
+                PARTICLE, 
+                MOLECULE_NAME, 
+                tmpRandom.nextDouble() * aBoxLength, 
+                tmpRandom.nextDouble() * aBoxLength, 
+                tmpRandom.nextDouble() * aBoxLength, 
+                i, 
+                i + 1
+            );
+        }
+        // Parameter -1: NO restriction of number of after-decimal-separator digits
+        FileOutput tmpFileOutput = new FileOutput(aDirectoryPath, aDirectoryPath, null, null, tmpStepsDirectoryPath, null, 1, -1);
+        tmpFileOutput.setSimulationStepInformation(
+            1, 
+            1.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 
+            null, null, null, null, null, null, 
+            tmpParticlePositions
+        );
+        tmpFileOutput.finish();
+        File[] tmpFiles = tmpStepsDirectory.listFiles();
+        if (tmpFiles == null || tmpFiles.length != 1) {
+            throw new Exception("Particle positions file was not written.");
+        }
+        return tmpFiles[0].getAbsolutePath();
+    }
+    // </editor-fold>
+
+}
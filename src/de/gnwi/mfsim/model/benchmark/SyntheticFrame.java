@@ -0,0 +1,133 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
+import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
+
+/**
+ * Synthetic simulation frame for benchmarks: Job Input value item container,
+ * particle positions file in Jdpd step format and its parsed graphical
+ * particle positions.
+ * NOTE: Benchmarks must NOT change the graphical particle positions of a
+ * synthetic frame (they are shared by all benchmarks).
+ */
+public class SyntheticFrame {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Number of particles
+     */
+    private final int numberOfParticles;
+
+    /**
+     * Value item container of Job Input
+     */
+    private final ValueItemContainer jobInputValueItemContainer;
+
+    /**
+     * Full pathname of particle positions file
+     */
+    private final String particlePositionsFilePathname;
+
+    /**
+     * Graphical particle position info of particle positions file
+     */
+    private final GraphicalParticlePositionInfo graphicalParticlePositionInfo;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aNumberOfParticles Number of particles
+     * @param aJobInputValueItemContainer Value item container of Job Input
+     * @param aParticlePositionsFilePathname Full pathname of particle
+     * positions file
+     * @param aGraphicalParticlePositionInfo Graphical particle position info
+     * of particle positions file
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public SyntheticFrame(
+        int aNumberOfParticles,
+        ValueItemContainer aJobInputValueItemContainer,
+        String aParticlePositionsFilePathname,
+        GraphicalParticlePositionInfo aGraphicalParticlePositionInfo
+    ) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aNumberOfParticles < 1) {
+            throw new IllegalArgumentException("aNumberOfParticles is less than 1.");
+        }
+        if (aJobInputValueItemContainer == null) {
+            throw new IllegalArgumentException("aJobInputValueItemContainer is null.");
+        }
+        if (aParticlePositionsFilePathname == null || aParticlePositionsFilePathname.isEmpty()) {
+            throw new IllegalArgumentException("aParticlePositionsFilePathname is null/empty.");
+        }
+        if (aGraphicalParticlePositionInfo == null) {
+            throw new IllegalArgumentException("aGraphicalParticlePositionInfo is null.");
+        }
+        // </editor-fold>
+        this.numberOfParticles = aNumberOfParticles;
+        this.jobInputValueItemContainer = aJobInputValueItemContainer;
+        this.particlePositionsFilePathname = aParticlePositionsFilePathname;
+        this.graphicalParticlePositionInfo = aGraphicalParticlePositionInfo;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Number of particles
+     *
+     * @return Number of particles
+     */
+    public int getNumberOfParticles() {
+        return this.numberOfParticles;
+    }
+
+    /**
+     * Value item container of Job Input
+     *
+     * @return Value item container of Job Input
+     */
+    public ValueItemContainer getJobInputValueItemContainer() {
+        return this.jobInputValueItemContainer;
+    }
+
+    /**
+     * Full pathname of particle positions file
+     *
+     * @return Full pathname of particle positions file
+     */
+    public String getParticlePositionsFilePathname() {
+        return this.particlePositionsFilePathname;
+    }
+
+    /**
+     * Graphical particle position info of particle positions file
+     *
+     * @return Graphical particle position info of particle positions file
+     */
+    public GraphicalParticlePositionInfo getGraphicalParticlePositionInfo() {
+        return this.graphicalParticlePositionInfo;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,103 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
+
+/**
+ * Benchmark for XML round-trip (serialization and deserialization) of Job
+ * Input value item container
+ */
+public class ValueItemContainerXmlBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Value item container of Job Input
+     */
+    private ValueItemContainer jobInputValueItemContainer;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "ValueItemContainerXml";
+    }
+
+    /**
+     * False: Benchmark does not depend on number of particles of synthetic
+     * frame
+     *
+     * @return False
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return false;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        this.jobInputValueItemContainer = aSyntheticFrame.getJobInputValueItemContainer();
+    }
+
+    /**
+     * Serializes value item container to XML and deserializes it again
+     *
+     * @return Deserialized value item container
+     * @throws Exception Thrown if XML round-trip fails
+     */
+    @Override
+    public Object run() throws Exception {
+        String tmpXmlString = this.jobInputValueItemContainer.getAsXmlString();
+        if (tmpXmlString == null) {
+            throw new Exception("XML string could not be created.");
+        }
+        return new ValueItemContainer(tmpXmlString, null);
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.jobInputValueItemContainer = null;
+    }
+    // </editor-fold>
+
+}
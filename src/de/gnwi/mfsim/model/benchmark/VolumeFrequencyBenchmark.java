@@ -0,0 +1,114 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark;
+
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionInfo;
+import de.gnwi.mfsim.model.util.VolumeFrequency;
+
+/**
+ * Benchmark for volume frequency counting of particle positions
+ */
+public class VolumeFrequencyBenchmark implements BenchmarkInterface {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Number of volume slices
+     */
+    private static final int NUMBER_OF_VOLUME_SLICES = 100;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Graphical particle position info
+     */
+    private GraphicalParticlePositionInfo graphicalParticlePositionInfo;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Name of benchmark
+     *
+     * @return Name of benchmark
+     */
+    @Override
+    public String getName() {
+        return "VolumeFrequency";
+    }
+
+    /**
+     * True: Benchmark depends on number of particles of synthetic frame
+     *
+     * @return True
+     */
+    @Override
+    public boolean isParticleNumberDependent() {
+        return true;
+    }
+
+    /**
+     * Maximum number of particles of synthetic frame
+     *
+     * @return Maximum number of particles
+     */
+    @Override
+    public int getMaximumNumberOfParticles() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Prepares benchmark for synthetic frame
+     *
+     * @param aSyntheticFrame Synthetic frame
+     */
+    @Override
+    public void setUp(SyntheticFrame aSyntheticFrame) {
+        this.graphicalParticlePositionInfo = aSyntheticFrame.getGraphicalParticlePositionInfo();
+    }
+
+    /**
+     * Counts volume frequencies of all particle positions
+     *
+     * @return Volume frequency
+     */
+    @Override
+    public Object run() {
+        VolumeFrequency tmpVolumeFrequency = 
+            new VolumeFrequency(
+                this.graphicalParticlePositionInfo.getInitialBoxSizeInfo(), 
+                NUMBER_OF_VOLUME_SLICES, 
+                this.graphicalParticlePositionInfo.getLengthConversionFactor()
+            );
+        for (GraphicalParticlePosition tmpGraphicalParticlePosition : this.graphicalParticlePositionInfo.getInitialGraphicalParticlePositions()) {
+            tmpVolumeFrequency.incrementCounters(tmpGraphicalParticlePosition);
+        }
+        return tmpVolumeFrequency;
+    }
+
+    /**
+     * Releases resources of benchmark
+     */
+    @Override
+    public void tearDown() {
+        this.graphicalParticlePositionInfo = null;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,90 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.benchmark.test;
+
+import de.gnwi.mfsim.model.benchmark.BenchmarkResult;
+import de.gnwi.mfsim.model.benchmark.BenchmarkRunner;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Test class for classes BenchmarkRunner and BenchmarkResult
+ */
+public class TestBenchmarkRunner extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of baseline file round-trip
+     */
+    public void testBaselineRoundTrip() {
+        BenchmarkResult tmpResult = new BenchmarkResult("StepFileParsing", 10000, 12.3456, 10.5, 10);
+        BenchmarkResult tmpParsedResult = new BenchmarkResult(tmpResult.getLine());
+        assertEquals("Test1", "StepFileParsing/10000", tmpParsedResult.getKey());
+        assertEquals("Test2", 12.346, tmpParsedResult.getMedianMilliseconds(), 1.0E-9);
+        assertEquals("Test3", 10.5, tmpParsedResult.getMinimumMilliseconds(), 1.0E-9);
+        assertEquals("Test4", 10, tmpParsedResult.getNumberOfIterations());
+        try {
+            new BenchmarkResult("StepFileParsing\t10000\tx\t10.5\t10");
+            fail("Test5");
+        } catch (IllegalArgumentException anException) {
+            // Expected
+        }
+        BenchmarkRunner tmpBenchmarkRunner = new BenchmarkRunner(0, 1, null);
+        LinkedList<BenchmarkResult> tmpResults = new LinkedList<>();
+        tmpResults.add(tmpResult);
+        tmpResults.add(new BenchmarkResult("ValueItemContainerXml", 0, 50.0, 40.0, 10));
+        String tmpFilePathname = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+        try {
+            assertTrue("Test6", tmpBenchmarkRunner.writeBaseline(tmpResults, tmpFilePathname));
+            HashMap<String, BenchmarkResult> tmpBaseline = tmpBenchmarkRunner.readBaseline(tmpFilePathname);
+            assertEquals("Test7", 2, tmpBaseline.size());
+            assertEquals("Test8", 50.0, tmpBaseline.get("ValueItemContainerXml/0").getMedianMilliseconds(), 1.0E-9);
+        } finally {
+            (new File(tmpFilePathname)).delete();
+        }
+    }
+
+    /**
+     * Test of regression detection
+     */
+    public void testRegressions() {
+        BenchmarkRunner tmpBenchmarkRunner = new BenchmarkRunner(0, 1, null);
+        HashMap<String, BenchmarkResult> tmpBaseline = new HashMap<>();
+        BenchmarkResult tmpBaselineResult = new BenchmarkResult("RotatePoints", 10000, 10.0, 9.0, 10);
+        tmpBaseline.put(tmpBaselineResult.getKey(), tmpBaselineResult);
+        LinkedList<BenchmarkResult> tmpResults = new LinkedList<>();
+        // Within tolerance
+        tmpResults.add(new BenchmarkResult("RotatePoints", 10000, 12.0, 11.0, 10));
+        // No baseline result
+        tmpResults.add(new BenchmarkResult("RotatePoints", 100000, 1000.0, 900.0, 10));
+        assertTrue("Test1", tmpBenchmarkRunner.getRegressions(tmpResults, tmpBaseline, 1.25).isEmpty());
+        tmpResults.clear();
+        tmpResults.add(new BenchmarkResult("RotatePoints", 10000, 13.0, 12.0, 10));
+        List<String> tmpRegressions = tmpBenchmarkRunner.getRegressions(tmpResults, tmpBaseline, 1.25);
+        assertEquals("Test2", 1, tmpRegressions.size());
+        assertTrue("Test3", tmpRegressions.get(0).startsWith("RotatePoints/10000"));
+    }
+    // </editor-fold>
+
+}
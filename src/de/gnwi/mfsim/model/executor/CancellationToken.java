@@ -0,0 +1,101 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.executor;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Token for cooperative cancellation: Long-running tasks poll the token
+ * (see isCancelled() or throwIfCancelled()) and return as soon as it is
+ * cancelled. A token with a parent token is also cancelled if the parent
+ * token is cancelled (e.g. all tasks of a session are cancelled with the
+ * token of the session).
+ * <p>
+ * The token of the task that is currently executed by a managed executor
+ * thread is available with ManagedExecutor.getCurrentCancellationToken().
+ */
+public class CancellationToken {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Parent token (may be null)
+     */
+    private final CancellationToken parentCancellationToken;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * True: Token is cancelled, false: Otherwise
+     */
+    private volatile boolean isCancelled;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Constructor
+     */
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param aParentCancellationToken Parent token (may be null)
+     */
+    public CancellationToken(CancellationToken aParentCancellationToken) {
+        this.parentCancellationToken = aParentCancellationToken;
+        this.isCancelled = false;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Cancels token. NOTE: A cancelled token can not be reset.
+     */
+    public void cancel() {
+        this.isCancelled = true;
+    }
+
+    /**
+     * True: Token (or its parent token) is cancelled, false: Otherwise
+     *
+     * @return True: Token (or its parent token) is cancelled, false:
+     * Otherwise
+     */
+    public boolean isCancelled() {
+        return this.isCancelled || this.parentCancellationToken != null && this.parentCancellationToken.isCancelled();
+    }
+
+    /**
+     * Throws CancellationException if token (or its parent token) is
+     * cancelled
+     *
+     * @throws CancellationException Thrown if token (or its parent token) is
+     * cancelled
+     */
+    public void throwIfCancelled() throws CancellationException {
+        if (this.isCancelled()) {
+            throw new CancellationException("Task is cancelled.");
+        }
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,331 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.executor;
+
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
+import java.util.EnumMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application-wide managed executor: Every work class (see WorkClassEnum)
+ * has one shared thread pool with daemon threads whose size is limited by
+ * the core budget of the work class (the interactive work class creates
+ * threads beyond its budget on demand). Idle threads are released after a
+ * keep-alive time.
+ * <p>
+ * User actions that need an ExecutorService of their own create a session
+ * (see createSession()) instead of a new thread pool: A session limits the
+ * number of its concurrently running tasks, shares the threads of its work
+ * class and releases them promptly on shutdownNow() by cancelling the
+ * cancellation token of all its tasks.
+ * <p>
+ * Queue latency (timer) and queue depth on submission (histogram) of every
+ * work class are recorded with the metrics registry.
+ */
+public class ManagedExecutor {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Global managed executor
+     */
+    private static final ManagedExecutor globalManagedExecutor = new ManagedExecutor(Runtime.getRuntime().availableProcessors(), MetricsRegistry.getInstance());
+
+    /**
+     * Keep-alive time of idle threads in seconds
+     */
+    private static final long KEEP_ALIVE_TIME_IN_SECONDS = 30L;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Number of available processors
+     */
+    private final int numberOfProcessors;
+
+    /**
+     * Metrics registry
+     */
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * Work class to thread pool map
+     */
+    private final EnumMap<WorkClassEnum, ThreadPoolExecutor> threadPoolMap;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aNumberOfProcessors Number of available processors (greater
+     * zero)
+     * @param aMetricsRegistry Metrics registry
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public ManagedExecutor(int aNumberOfProcessors, MetricsRegistry aMetricsRegistry) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aNumberOfProcessors < 1) {
+            throw new IllegalArgumentException("aNumberOfProcessors is less than 1.");
+        }
+        if (aMetricsRegistry == null) {
+            throw new IllegalArgumentException("aMetricsRegistry is null.");
+        }
+        // </editor-fold>
+        this.numberOfProcessors = aNumberOfProcessors;
+        this.metricsRegistry = aMetricsRegistry;
+        this.threadPoolMap = new EnumMap<>(WorkClassEnum.class);
+        for (WorkClassEnum tmpWorkClass : WorkClassEnum.values()) {
+            this.threadPoolMap.put(tmpWorkClass, this.createThreadPool(tmpWorkClass));
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Global managed executor
+     *
+     * @return Global managed executor
+     */
+    public static ManagedExecutor getInstance() {
+        return ManagedExecutor.globalManagedExecutor;
+    }
+
+    /**
+     * Cancellation token of the task that is currently executed by the
+     * current thread
+     *
+     * @return Cancellation token of current task or a new (never cancelled)
+     * token if current thread does not execute a managed task
+     */
+    public static CancellationToken getCurrentCancellationToken() {
+        CancellationToken tmpCancellationToken = ManagedTask.getCurrentCancellationToken();
+        if (tmpCancellationToken == null) {
+            return new CancellationToken();
+        } else {
+            return tmpCancellationToken;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Submits task
+     *
+     * @param <T> Result type
+     * @param aWorkClass Work class
+     * @param aCallable Task
+     * @return Future of task (Future.cancel() cancels the cancellation token
+     * of the task)
+     * @throws IllegalArgumentException Thrown if an argument is null
+     * @throws RejectedExecutionException Thrown if executor is shut down
+     */
+    public <T> Future<T> submit(WorkClassEnum aWorkClass, Callable<T> aCallable) throws IllegalArgumentException, RejectedExecutionException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aWorkClass == null) {
+            throw new IllegalArgumentException("aWorkClass is null.");
+        }
+        if (aCallable == null) {
+            throw new IllegalArgumentException("aCallable is null.");
+        }
+        // </editor-fold>
+        ManagedTask<T> tmpTask = new ManagedTask<>(aCallable, aWorkClass, new CancellationToken(), null, this.metricsRegistry);
+        this.execute(tmpTask);
+        return tmpTask;
+    }
+
+    /**
+     * Submits task
+     *
+     * @param aWorkClass Work class
+     * @param aRunnable Task
+     * @return Future of task (Future.cancel() cancels the cancellation token
+     * of the task)
+     * @throws IllegalArgumentException Thrown if an argument is null
+     * @throws RejectedExecutionException Thrown if executor is shut down
+     */
+    public Future<?> submit(WorkClassEnum aWorkClass, Runnable aRunnable) throws IllegalArgumentException, RejectedExecutionException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aRunnable == null) {
+            throw new IllegalArgumentException("aRunnable is null.");
+        }
+        // </editor-fold>
+        return this.submit(aWorkClass, Executors.callable(aRunnable));
+    }
+
+    /**
+     * Creates session, i.e. an ExecutorService for a single user action that
+     * shares the threads of the work class
+     *
+     * @param aWorkClass Work class
+     * @param aMaximumParallelism Maximum number of concurrently running
+     * tasks of session (greater zero, further tasks wait in the session)
+     * @return New session
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public ManagedExecutorSession createSession(WorkClassEnum aWorkClass, int aMaximumParallelism) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aWorkClass == null) {
+            throw new IllegalArgumentException("aWorkClass is null.");
+        }
+        if (aMaximumParallelism < 1) {
+            throw new IllegalArgumentException("aMaximumParallelism is less than 1.");
+        }
+        // </editor-fold>
+        return new ManagedExecutorSession(this, aWorkClass, aMaximumParallelism, this.metricsRegistry);
+    }
+
+    /**
+     * Core budget of work class
+     *
+     * @param aWorkClass Work class
+     * @return Core budget of work class
+     * @throws IllegalArgumentException Thrown if argument is null
+     */
+    public int getCoreBudget(WorkClassEnum aWorkClass) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aWorkClass == null) {
+            throw new IllegalArgumentException("aWorkClass is null.");
+        }
+        // </editor-fold>
+        return aWorkClass.getCoreBudget(this.numberOfProcessors);
+    }
+
+    /**
+     * Number of tasks that wait in the queue of the thread pool of work class
+     *
+     * @param aWorkClass Work class
+     * @return Number of tasks that wait in the queue of the thread pool of
+     * work class
+     * @throws IllegalArgumentException Thrown if argument is null
+     */
+    public int getQueueDepth(WorkClassEnum aWorkClass) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aWorkClass == null) {
+            throw new IllegalArgumentException("aWorkClass is null.");
+        }
+        // </editor-fold>
+        return this.threadPoolMap.get(aWorkClass).getQueue().size();
+    }
+
+    /**
+     * Number of threads of work class that currently execute a task
+     *
+     * @param aWorkClass Work class
+     * @return Number of threads of work class that currently execute a task
+     * @throws IllegalArgumentException Thrown if argument is null
+     */
+    public int getNumberOfActiveThreads(WorkClassEnum aWorkClass) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aWorkClass == null) {
+            throw new IllegalArgumentException("aWorkClass is null.");
+        }
+        // </editor-fold>
+        return this.threadPoolMap.get(aWorkClass).getActiveCount();
+    }
+
+    /**
+     * Shuts down all thread pools: Running tasks are interrupted, waiting
+     * tasks are discarded. NOTE: Not intended for the global managed
+     * executor.
+     */
+    public void shutdownNow() {
+        for (ThreadPoolExecutor tmpThreadPool : this.threadPoolMap.values()) {
+            tmpThreadPool.shutdownNow();
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Package-private methods">
+    /**
+     * Executes task with thread pool of its work class
+     *
+     * @param aTask Task
+     * @throws RejectedExecutionException Thrown if executor is shut down
+     */
+    void execute(ManagedTask<?> aTask) throws RejectedExecutionException {
+        ThreadPoolExecutor tmpThreadPool = this.threadPoolMap.get(aTask.getWorkClass());
+        this.metricsRegistry.observe(aTask.getWorkClass().getQueueDepthMetricsName(), tmpThreadPool.getQueue().size());
+        tmpThreadPool.execute(aTask);
+    }
+
+    /**
+     * Removes cancelled tasks from the queue of the thread pool of work class
+     *
+     * @param aWorkClass Work class
+     */
+    void purge(WorkClassEnum aWorkClass) {
+        this.threadPoolMap.get(aWorkClass).purge();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Creates thread pool of work class
+     *
+     * @param aWorkClass Work class
+     * @return Thread pool of work class
+     */
+    private ThreadPoolExecutor createThreadPool(final WorkClassEnum aWorkClass) {
+        int tmpCoreBudget = aWorkClass.getCoreBudget(this.numberOfProcessors);
+        final AtomicInteger tmpThreadCounter = new AtomicInteger(0);
+        ThreadFactory tmpThreadFactory = new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable aRunnable) {
+                Thread tmpThread = new Thread(aRunnable, "MFsim-" + aWorkClass.getName() + "-" + String.valueOf(tmpThreadCounter.incrementAndGet()));
+                tmpThread.setDaemon(true);
+                tmpThread.setPriority(aWorkClass.getThreadPriority());
+                return tmpThread;
+            }
+        };
+        ThreadPoolExecutor tmpThreadPool;
+        if (aWorkClass.isElastic()) {
+            tmpThreadPool = new ThreadPoolExecutor(
+                tmpCoreBudget, 
+                Integer.MAX_VALUE, 
+                KEEP_ALIVE_TIME_IN_SECONDS, 
+                TimeUnit.SECONDS, 
+                new SynchronousQueue<Runnable>(), 
+                tmpThreadFactory
+            );
+        } else {
+            tmpThreadPool = new ThreadPoolExecutor(
+                tmpCoreBudget, 
+                tmpCoreBudget, 
+                KEEP_ALIVE_TIME_IN_SECONDS, 
+                TimeUnit.SECONDS, 
+                new LinkedBlockingQueue<Runnable>(), 
+                tmpThreadFactory
+            );
+        }
+        tmpThreadPool.allowCoreThreadTimeOut(true);
+        return tmpThreadPool;
+    }
+    // </editor-fold>
+
+}
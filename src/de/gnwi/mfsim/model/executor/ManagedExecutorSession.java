@@ -0,0 +1,345 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.executor;
+
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session of managed executor: ExecutorService of a single user action that
+ * shares the threads of its work class. At most the maximum parallelism of
+ * the session is dispatched to the thread pool of the work class, further
+ * tasks wait in the session.
+ * <p>
+ * shutdown() lets all submitted tasks complete. shutdownNow() cancels the
+ * cancellation token of the session (and thus of all its tasks), interrupts
+ * running tasks and cancels all waiting tasks so that the threads of the
+ * work class are released promptly. NOTE: The session is terminated as soon
+ * as all its tasks are completed or cancelled and no thread executes a task
+ * of the session any longer, i.e. a running task that is cancelled occupies
+ * its slot of the maximum parallelism until it actually returns.
+ */
+public class ManagedExecutorSession extends AbstractExecutorService {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Managed executor
+     */
+    private final ManagedExecutor managedExecutor;
+
+    /**
+     * Work class
+     */
+    private final WorkClassEnum workClass;
+
+    /**
+     * Maximum number of concurrently dispatched tasks
+     */
+    private final int maximumParallelism;
+
+    /**
+     * Cancellation token of session (parent token of all tasks)
+     */
+    private final CancellationToken cancellationToken;
+
+    /**
+     * Metrics registry
+     */
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * Tasks that wait in session
+     */
+    private final ArrayDeque<ManagedTask<?>> waitingTaskQueue;
+
+    /**
+     * Tasks that are dispatched to thread pool of work class
+     */
+    private final HashSet<ManagedTask<?>> dispatchedTaskSet;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * True: Session is shut down, false: Otherwise
+     */
+    private boolean isShutdown;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor (see ManagedExecutor.createSession())
+     *
+     * @param aManagedExecutor Managed executor
+     * @param aWorkClass Work class
+     * @param aMaximumParallelism Maximum number of concurrently dispatched
+     * tasks
+     * @param aMetricsRegistry Metrics registry
+     */
+    ManagedExecutorSession(ManagedExecutor aManagedExecutor, WorkClassEnum aWorkClass, int aMaximumParallelism, MetricsRegistry aMetricsRegistry) {
+        this.managedExecutor = aManagedExecutor;
+        this.workClass = aWorkClass;
+        this.maximumParallelism = aMaximumParallelism;
+        this.metricsRegistry = aMetricsRegistry;
+        this.cancellationToken = new CancellationToken();
+        this.waitingTaskQueue = new ArrayDeque<>();
+        this.dispatchedTaskSet = new HashSet<>();
+        this.isShutdown = false;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public overridden methods">
+    /**
+     * Executes command
+     *
+     * @param aCommand Command
+     * @throws IllegalArgumentException Thrown if command is null
+     * @throws RejectedExecutionException Thrown if session is shut down
+     */
+    @Override
+    public void execute(Runnable aCommand) throws IllegalArgumentException, RejectedExecutionException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aCommand == null) {
+            throw new IllegalArgumentException("aCommand is null.");
+        }
+        // </editor-fold>
+        ManagedTask<?> tmpTask;
+        if (aCommand instanceof ManagedTask && ((ManagedTask<?>) aCommand).getSession() == this) {
+            tmpTask = (ManagedTask<?>) aCommand;
+        } else {
+            tmpTask = this.createTask(Executors.callable(aCommand));
+        }
+        boolean tmpIsDispatched = false;
+        synchronized (this) {
+            if (this.isShutdown) {
+                throw new RejectedExecutionException("Session is shut down.");
+            }
+            if (this.dispatchedTaskSet.size() < this.maximumParallelism) {
+                this.dispatchedTaskSet.add(tmpTask);
+                tmpIsDispatched = true;
+            } else {
+                this.waitingTaskQueue.add(tmpTask);
+            }
+        }
+        if (tmpIsDispatched) {
+            this.dispatch(tmpTask);
+        }
+    }
+
+    /**
+     * Shuts down session: Submitted tasks are completed, new tasks are
+     * rejected
+     */
+    @Override
+    public void shutdown() {
+        synchronized (this) {
+            this.isShutdown = true;
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * Shuts down session: The cancellation token of the session is
+     * cancelled, running tasks are interrupted and waiting tasks are
+     * cancelled
+     *
+     * @return Tasks that were never started (cancelled)
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.cancellationToken.cancel();
+        ArrayList<Runnable> tmpWaitingTasks;
+        ArrayList<ManagedTask<?>> tmpDispatchedTasks;
+        synchronized (this) {
+            this.isShutdown = true;
+            tmpWaitingTasks = new ArrayList<Runnable>(this.waitingTaskQueue);
+            this.waitingTaskQueue.clear();
+            tmpDispatchedTasks = new ArrayList<>(this.dispatchedTaskSet);
+        }
+        for (Runnable tmpWaitingTask : tmpWaitingTasks) {
+            ((ManagedTask<?>) tmpWaitingTask).cancel(false);
+        }
+        for (ManagedTask<?> tmpDispatchedTask : tmpDispatchedTasks) {
+            tmpDispatchedTask.cancel(true);
+        }
+        this.managedExecutor.purge(this.workClass);
+        synchronized (this) {
+            this.notifyAll();
+        }
+        return tmpWaitingTasks;
+    }
+
+    /**
+     * True: Session is shut down, false: Otherwise
+     *
+     * @return True: Session is shut down, false: Otherwise
+     */
+    @Override
+    public synchronized boolean isShutdown() {
+        return this.isShutdown;
+    }
+
+    /**
+     * True: Session is shut down and all tasks are completed or cancelled,
+     * false: Otherwise
+     *
+     * @return True: Session is shut down and all tasks are completed or
+     * cancelled, false: Otherwise
+     */
+    @Override
+    public synchronized boolean isTerminated() {
+        return this.isShutdown && this.waitingTaskQueue.isEmpty() && this.dispatchedTaskSet.isEmpty();
+    }
+
+    /**
+     * Blocks until session is terminated or timeout occurs
+     *
+     * @param aTimeout Timeout
+     * @param aUnit Unit of timeout
+     * @return True: Session is terminated, false: Timeout
+     * @throws InterruptedException Thrown if current thread is interrupted
+     */
+    @Override
+    public synchronized boolean awaitTermination(long aTimeout, TimeUnit aUnit) throws InterruptedException {
+        long tmpRemainingNanoseconds = aUnit.toNanos(aTimeout);
+        long tmpDeadline = System.nanoTime() + tmpRemainingNanoseconds;
+        while (!this.isTerminated()) {
+            if (tmpRemainingNanoseconds <= 0L) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, tmpRemainingNanoseconds);
+            tmpRemainingNanoseconds = tmpDeadline - System.nanoTime();
+        }
+        return true;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Cancellation token of session
+     *
+     * @return Cancellation token of session
+     */
+    public CancellationToken getCancellationToken() {
+        return this.cancellationToken;
+    }
+
+    /**
+     * Work class
+     *
+     * @return Work class
+     */
+    public WorkClassEnum getWorkClass() {
+        return this.workClass;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Protected overridden methods">
+    /**
+     * Creates managed task for runnable
+     *
+     * @param <T> Result type
+     * @param aRunnable Runnable
+     * @param aValue Result value
+     * @return Managed task
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable aRunnable, T aValue) {
+        return this.createTask(Executors.callable(aRunnable, aValue));
+    }
+
+    /**
+     * Creates managed task for callable
+     *
+     * @param <T> Result type
+     * @param aCallable Callable
+     * @return Managed task
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> aCallable) {
+        return this.createTask(aCallable);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Package-private methods">
+    /**
+     * Called by task of session when it releases its slot (a started task
+     * when its thread leaves the task, a never started task when it is
+     * cancelled): Dispatches next waiting task
+     *
+     * @param aTask Task
+     */
+    void taskDone(ManagedTask<?> aTask) {
+        ManagedTask<?> tmpNextTask = null;
+        synchronized (this) {
+            if (this.dispatchedTaskSet.remove(aTask)) {
+                tmpNextTask = this.waitingTaskQueue.poll();
+                if (tmpNextTask != null) {
+                    this.dispatchedTaskSet.add(tmpNextTask);
+                }
+            } else {
+                this.waitingTaskQueue.remove(aTask);
+            }
+            this.notifyAll();
+        }
+        if (tmpNextTask != null) {
+            this.dispatch(tmpNextTask);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Creates managed task of session
+     *
+     * @param <T> Result type
+     * @param aCallable Callable
+     * @return Managed task of session
+     */
+    private <T> ManagedTask<T> createTask(Callable<T> aCallable) {
+        return new ManagedTask<>(aCallable, this.workClass, new CancellationToken(this.cancellationToken), this, this.metricsRegistry);
+    }
+
+    /**
+     * Dispatches task to thread pool of work class
+     *
+     * @param aTask Task
+     * @throws RejectedExecutionException Thrown if managed executor is shut
+     * down
+     */
+    private void dispatch(ManagedTask<?> aTask) throws RejectedExecutionException {
+        try {
+            this.managedExecutor.execute(aTask);
+        } catch (RejectedExecutionException anException) {
+            aTask.cancel(false);
+            throw anException;
+        }
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,203 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.executor;
+
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Task of managed executor with cancellation token and queue latency
+ * measurement
+ *
+ * @param <V> Result type
+ */
+class ManagedTask<V> extends FutureTask<V> {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Cancellation token of task that is currently executed by thread
+     */
+    private static final ThreadLocal<CancellationToken> currentCancellationToken = new ThreadLocal<>();
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Work class
+     */
+    private final WorkClassEnum workClass;
+
+    /**
+     * Cancellation token
+     */
+    private final CancellationToken cancellationToken;
+
+    /**
+     * Session (may be null)
+     */
+    private final ManagedExecutorSession session;
+
+    /**
+     * Metrics registry
+     */
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * Start time of queue latency timer (time between submission and start
+     * of task)
+     */
+    private final long queueLatencyStartTime;
+
+    /**
+     * True: Task is started by a thread or released without start (slot of
+     * session is released exactly once), false: Otherwise
+     */
+    private final AtomicBoolean isClaimed;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aCallable Callable
+     * @param aWorkClass Work class
+     * @param aCancellationToken Cancellation token
+     * @param aSession Session (may be null)
+     * @param aMetricsRegistry Metrics registry
+     */
+    ManagedTask(Callable<V> aCallable, WorkClassEnum aWorkClass, CancellationToken aCancellationToken, ManagedExecutorSession aSession, MetricsRegistry aMetricsRegistry) {
+        super(aCallable);
+        this.workClass = aWorkClass;
+        this.cancellationToken = aCancellationToken;
+        this.session = aSession;
+        this.metricsRegistry = aMetricsRegistry;
+        this.queueLatencyStartTime = aMetricsRegistry.startTimer();
+        this.isClaimed = new AtomicBoolean(false);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public overridden methods">
+    /**
+     * Runs task with its cancellation token as current cancellation token of
+     * thread. A task whose token is already cancelled is not started.
+     * NOTE: The slot of the session is released when run() returns, i.e.
+     * a task that is cancelled while it is running keeps its slot until its
+     * thread actually leaves the task.
+     */
+    @Override
+    public void run() {
+        if (!this.isClaimed.compareAndSet(false, true)) {
+            // Task was cancelled before start and its slot is released
+            return;
+        }
+        try {
+            if (this.isDone()) {
+                return;
+            }
+            if (this.cancellationToken.isCancelled()) {
+                this.cancel(false);
+                return;
+            }
+            this.metricsRegistry.stopTimer(this.workClass.getQueueLatencyMetricsName(), this.queueLatencyStartTime);
+            ManagedTask.currentCancellationToken.set(this.cancellationToken);
+            try {
+                super.run();
+            } finally {
+                ManagedTask.currentCancellationToken.remove();
+            }
+        } finally {
+            this.releaseSession();
+        }
+    }
+
+    /**
+     * Cancels task: The cancellation token of the task is cancelled in
+     * addition
+     *
+     * @param aMayInterruptIfRunning True: Thread that executes task is
+     * interrupted, false: Otherwise
+     * @return False if task could not be cancelled, true otherwise
+     */
+    @Override
+    public boolean cancel(boolean aMayInterruptIfRunning) {
+        this.cancellationToken.cancel();
+        return super.cancel(aMayInterruptIfRunning);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Protected overridden methods">
+    /**
+     * Notifies session that task is done if the task was never started (a
+     * started task notifies the session at the end of run())
+     */
+    @Override
+    protected void done() {
+        if (this.isClaimed.compareAndSet(false, true)) {
+            this.releaseSession();
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Package-private properties (get)">
+    /**
+     * Work class
+     *
+     * @return Work class
+     */
+    WorkClassEnum getWorkClass() {
+        return this.workClass;
+    }
+
+    /**
+     * Session
+     *
+     * @return Session (may be null)
+     */
+    ManagedExecutorSession getSession() {
+        return this.session;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Package-private static methods">
+    /**
+     * Cancellation token of task that is currently executed by current
+     * thread
+     *
+     * @return Cancellation token or null if current thread does not execute
+     * a managed task
+     */
+    static CancellationToken getCurrentCancellationToken() {
+        return ManagedTask.currentCancellationToken.get();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Notifies session (if any) that task releases its slot
+     */
+    private void releaseSession() {
+        if (this.session != null) {
+            this.session.taskDone(this);
+        }
+    }
+    // </editor-fold>
+
+}
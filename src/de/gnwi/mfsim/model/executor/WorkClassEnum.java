@@ -0,0 +1,205 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.executor;
+
+import de.gnwi.mfsim.model.metrics.MetricsName;
+
+/**
+ * Work classes of managed executor: Every work class has its own shared
+ * thread pool with a core budget (maximum number of concurrently running
+ * tasks) and a thread priority.
+ */
+public enum WorkClassEnum {
+
+    /**
+     * Interactive work (viewer data managers): Responsiveness first, threads
+     * beyond the core budget are created on demand so that interactive tasks
+     * never wait in a queue. NOTE: This work class may exceed its core budget
+     * and runs at elevated priority since it is reserved for tasks that drive
+     * an open viewer and mostly wait for user navigation: There is one task
+     * per open viewer, so the number of threads is bounded by the number of
+     * open viewers. Heavy work must be submitted to a bounded work class
+     * (e.g. PROGRESS).
+     */
+    INTERACTIVE("interactive", Thread.NORM_PRIORITY + 1, true, MetricsName.EXECUTOR_INTERACTIVE_QUEUE_LATENCY, MetricsName.EXECUTOR_INTERACTIVE_QUEUE_DEPTH),
+    /**
+     * Long-running tasks of the GUI that are monitored by a progress dialog
+     * (e.g. calculation of graphical particle positions or archiving):
+     * Bounded at normal priority, subtasks are submitted to other work
+     * classes
+     */
+    PROGRESS("progress", Thread.NORM_PRIORITY, false, MetricsName.EXECUTOR_PROGRESS_QUEUE_LATENCY, MetricsName.EXECUTOR_PROGRESS_QUEUE_DEPTH),
+    /**
+     * Rendering of images (e.g. slicer and distribution movies)
+     */
+    RENDER("render", Thread.NORM_PRIORITY, false, MetricsName.EXECUTOR_RENDER_QUEUE_LATENCY, MetricsName.EXECUTOR_RENDER_QUEUE_DEPTH),
+    /**
+     * Post-processing of simulation results
+     */
+    POST_PROCESSING("post_processing", Thread.NORM_PRIORITY - 1, false, MetricsName.EXECUTOR_POST_PROCESSING_QUEUE_LATENCY, MetricsName.EXECUTOR_POST_PROCESSING_QUEUE_DEPTH),
+    /**
+     * File input/output
+     */
+    IO("io", Thread.NORM_PRIORITY, false, MetricsName.EXECUTOR_IO_QUEUE_LATENCY, MetricsName.EXECUTOR_IO_QUEUE_DEPTH);
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Core budget of interactive work class
+     */
+    private static final int INTERACTIVE_CORE_BUDGET = 2;
+
+    /**
+     * Core budget of progress work class
+     */
+    private static final int PROGRESS_CORE_BUDGET = 2;
+
+    /**
+     * Core budget of I/O work class
+     */
+    private static final int IO_CORE_BUDGET = 2;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Name (part of thread names)
+     */
+    private final String name;
+
+    /**
+     * Thread priority
+     */
+    private final int threadPriority;
+
+    /**
+     * True: Threads beyond core budget are created on demand (no queue),
+     * false: Tasks beyond core budget are queued
+     */
+    private final boolean isElastic;
+
+    /**
+     * Name of timer for queue latency (time between submission and start of
+     * a task)
+     */
+    private final String queueLatencyMetricsName;
+
+    /**
+     * Name of histogram for queue depth (observed on submission of a task)
+     */
+    private final String queueDepthMetricsName;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aName Name
+     * @param aThreadPriority Thread priority
+     * @param anIsElastic True: Threads beyond core budget are created on
+     * demand, false: Tasks beyond core budget are queued
+     * @param aQueueLatencyMetricsName Name of timer for queue latency
+     * @param aQueueDepthMetricsName Name of histogram for queue depth
+     */
+    WorkClassEnum(String aName, int aThreadPriority, boolean anIsElastic, String aQueueLatencyMetricsName, String aQueueDepthMetricsName) {
+        this.name = aName;
+        this.threadPriority = aThreadPriority;
+        this.isElastic = anIsElastic;
+        this.queueLatencyMetricsName = aQueueLatencyMetricsName;
+        this.queueDepthMetricsName = aQueueDepthMetricsName;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Core budget, i.e. number of threads that are kept for concurrently
+     * running tasks
+     *
+     * @param aNumberOfProcessors Number of available processors (greater
+     * zero)
+     * @return Core budget (greater zero)
+     */
+    public int getCoreBudget(int aNumberOfProcessors) {
+        int tmpNumberOfProcessors = Math.max(1, aNumberOfProcessors);
+        switch (this) {
+            case INTERACTIVE:
+                return INTERACTIVE_CORE_BUDGET;
+            case PROGRESS:
+                return PROGRESS_CORE_BUDGET;
+            case RENDER:
+                return tmpNumberOfProcessors;
+            case POST_PROCESSING:
+                return Math.max(1, tmpNumberOfProcessors / 2);
+            case IO:
+                return IO_CORE_BUDGET;
+            default:
+                return 1;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Name (part of thread names)
+     *
+     * @return Name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Thread priority
+     *
+     * @return Thread priority
+     */
+    public int getThreadPriority() {
+        return this.threadPriority;
+    }
+
+    /**
+     * True: Threads beyond core budget are created on demand (no queue),
+     * false: Tasks beyond core budget are queued
+     *
+     * @return True: Threads beyond core budget are created on demand,
+     * false: Tasks beyond core budget are queued
+     */
+    public boolean isElastic() {
+        return this.isElastic;
+    }
+
+    /**
+     * Name of timer for queue latency
+     *
+     * @return Name of timer for queue latency
+     */
+    public String getQueueLatencyMetricsName() {
+        return this.queueLatencyMetricsName;
+    }
+
+    /**
+     * Name of histogram for queue depth
+     *
+     * @return Name of histogram for queue depth
+     */
+    public String getQueueDepthMetricsName() {
+        return this.queueDepthMetricsName;
+    }
+    // </editor-fold>
+
+}
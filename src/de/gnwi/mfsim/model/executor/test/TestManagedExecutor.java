@@ -0,0 +1,375 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.executor.test;
+
+import de.gnwi.mfsim.model.executor.CancellationToken;
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.ManagedExecutorSession;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import de.gnwi.mfsim.model.metrics.MetricsName;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class ManagedExecutor
+ */
+public class TestManagedExecutor extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Maximum time in milliseconds for release of threads after cancellation
+     */
+    private static final long RELEASE_TIME_LIMIT = 2000L;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Managed executor for tests
+     */
+    private ManagedExecutor managedExecutor;
+
+    /**
+     * Metrics registry for tests
+     */
+    private MetricsRegistry metricsRegistry;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Protected overridden methods">
+    /**
+     * Set up
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.metricsRegistry = new MetricsRegistry(true);
+        this.managedExecutor = new ManagedExecutor(4, this.metricsRegistry);
+    }
+
+    /**
+     * Tear down
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    @Override
+    protected void tearDown() throws Exception {
+        this.managedExecutor.shutdownNow();
+        super.tearDown();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test that cancelled tasks of a session release their threads promptly
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testSessionCancellationReleasesThreads() throws Exception {
+        assertEquals("Test1", 4, this.managedExecutor.getCoreBudget(WorkClassEnum.RENDER));
+        ManagedExecutorSession tmpSession = this.managedExecutor.createSession(WorkClassEnum.RENDER, 4);
+        CountDownLatch tmpStartLatch = new CountDownLatch(4);
+        ArrayList<Future<?>> tmpFutures = new ArrayList<>();
+        // Two cooperative tasks that poll their cancellation token and two
+        // blocking tasks that are interrupted
+        tmpFutures.add(tmpSession.submit(this.getCooperativeTask(tmpStartLatch)));
+        tmpFutures.add(tmpSession.submit(this.getCooperativeTask(tmpStartLatch)));
+        tmpFutures.add(tmpSession.submit(this.getBlockingTask(tmpStartLatch)));
+        tmpFutures.add(tmpSession.submit(this.getBlockingTask(tmpStartLatch)));
+        assertTrue("Test2", tmpStartLatch.await(10L, TimeUnit.SECONDS));
+        assertEquals("Test3", 4, this.managedExecutor.getNumberOfActiveThreads(WorkClassEnum.RENDER));
+        // Further tasks wait in session (maximum parallelism is reached)
+        for (int i = 0; i < 3; i++) {
+            tmpFutures.add(tmpSession.submit(this.getCooperativeTask(null)));
+        }
+        assertEquals("Test4", 0, this.managedExecutor.getQueueDepth(WorkClassEnum.RENDER));
+        long tmpStartTime = System.currentTimeMillis();
+        List<Runnable> tmpNeverStartedTasks = tmpSession.shutdownNow();
+        assertEquals("Test5", 3, tmpNeverStartedTasks.size());
+        assertTrue("Test6", tmpSession.getCancellationToken().isCancelled());
+        assertTrue("Test7", tmpSession.awaitTermination(RELEASE_TIME_LIMIT, TimeUnit.MILLISECONDS));
+        assertTrue("Test8", this.awaitNumberOfActiveThreads(WorkClassEnum.RENDER, 0, RELEASE_TIME_LIMIT));
+        assertTrue("Test9", System.currentTimeMillis() - tmpStartTime < RELEASE_TIME_LIMIT);
+        for (Future<?> tmpFuture : tmpFutures) {
+            assertTrue("Test10", tmpFuture.isCancelled());
+        }
+        try {
+            tmpSession.submit(this.getCooperativeTask(null));
+            fail("Test11");
+        } catch (RejectedExecutionException anException) {
+            // Expected
+        }
+        // Released threads are available for new tasks
+        Future<Boolean> tmpFuture = this.managedExecutor.submit(WorkClassEnum.RENDER, this.getCooperativeTask(null));
+        tmpFuture.cancel(false);
+        try {
+            tmpFuture.get(RELEASE_TIME_LIMIT, TimeUnit.MILLISECONDS);
+            fail("Test12");
+        } catch (CancellationException anException) {
+            // Expected
+        }
+        assertTrue("Test13", this.awaitNumberOfActiveThreads(WorkClassEnum.RENDER, 0, RELEASE_TIME_LIMIT));
+    }
+
+    /**
+     * Test of maximum parallelism of session, queue depth and metrics
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testParallelismAndQueueDepth() throws Exception {
+        assertEquals("Test1", 2, this.managedExecutor.getCoreBudget(WorkClassEnum.IO));
+        // Session with maximum parallelism 1 executes tasks one after another
+        ManagedExecutorSession tmpSession = this.managedExecutor.createSession(WorkClassEnum.IO, 1);
+        final int[] tmpConcurrency = new int[2];
+        ArrayList<Future<?>> tmpFutures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tmpFutures.add(tmpSession.submit(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (tmpConcurrency) {
+                        tmpConcurrency[0]++;
+                        tmpConcurrency[1] = Math.max(tmpConcurrency[1], tmpConcurrency[0]);
+                    }
+                    try {
+                        Thread.sleep(5L);
+                    } catch (InterruptedException anException) {
+                        // Nothing to do
+                    }
+                    synchronized (tmpConcurrency) {
+                        tmpConcurrency[0]--;
+                    }
+                }
+            }));
+        }
+        tmpSession.shutdown();
+        assertTrue("Test2", tmpSession.awaitTermination(10L, TimeUnit.SECONDS));
+        for (Future<?> tmpFuture : tmpFutures) {
+            assertTrue("Test3", tmpFuture.isDone() && !tmpFuture.isCancelled());
+        }
+        assertEquals("Test4", 1, tmpConcurrency[1]);
+        // Tasks beyond core budget of work class wait in queue
+        CountDownLatch tmpStartLatch = new CountDownLatch(2);
+        Future<Boolean> tmpFirstFuture = this.managedExecutor.submit(WorkClassEnum.IO, this.getBlockingTask(tmpStartLatch));
+        Future<Boolean> tmpSecondFuture = this.managedExecutor.submit(WorkClassEnum.IO, this.getBlockingTask(tmpStartLatch));
+        assertTrue("Test5", tmpStartLatch.await(10L, TimeUnit.SECONDS));
+        ArrayList<Future<Boolean>> tmpWaitingFutures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tmpWaitingFutures.add(this.managedExecutor.submit(WorkClassEnum.IO, this.getCooperativeTask(null)));
+        }
+        assertEquals("Test6", 3, this.managedExecutor.getQueueDepth(WorkClassEnum.IO));
+        for (Future<Boolean> tmpWaitingFuture : tmpWaitingFutures) {
+            tmpWaitingFuture.cancel(false);
+        }
+        tmpFirstFuture.cancel(true);
+        tmpSecondFuture.cancel(true);
+        assertTrue("Test7", this.awaitNumberOfActiveThreads(WorkClassEnum.IO, 0, RELEASE_TIME_LIMIT));
+        // Interactive tasks never wait in a queue
+        CountDownLatch tmpInteractiveStartLatch = new CountDownLatch(5);
+        ArrayList<Future<Boolean>> tmpInteractiveFutures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tmpInteractiveFutures.add(this.managedExecutor.submit(WorkClassEnum.INTERACTIVE, this.getCooperativeTask(tmpInteractiveStartLatch)));
+        }
+        assertTrue("Test8", tmpInteractiveStartLatch.await(10L, TimeUnit.SECONDS));
+        for (Future<Boolean> tmpInteractiveFuture : tmpInteractiveFutures) {
+            tmpInteractiveFuture.cancel(false);
+        }
+        assertTrue("Test9", this.awaitNumberOfActiveThreads(WorkClassEnum.INTERACTIVE, 0, RELEASE_TIME_LIMIT));
+        // Metrics
+        String tmpPrometheusText = this.metricsRegistry.getPrometheusText();
+        assertTrue("Test10", tmpPrometheusText.contains(MetricsName.EXECUTOR_IO_QUEUE_LATENCY));
+        assertTrue("Test11", tmpPrometheusText.contains(MetricsName.EXECUTOR_IO_QUEUE_DEPTH));
+        assertTrue("Test12", tmpPrometheusText.contains(MetricsName.EXECUTOR_INTERACTIVE_QUEUE_LATENCY));
+        // Progress tasks are bounded and run at normal priority
+        assertEquals("Test13", 2, this.managedExecutor.getCoreBudget(WorkClassEnum.PROGRESS));
+        assertFalse("Test14", WorkClassEnum.PROGRESS.isElastic());
+        assertEquals("Test15", Thread.NORM_PRIORITY, WorkClassEnum.PROGRESS.getThreadPriority());
+    }
+
+    /**
+     * Test that a running task that is cancelled keeps its slot of the
+     * maximum parallelism of the session until it actually returns
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testCancelledRunningTaskKeepsSlot() throws Exception {
+        ManagedExecutorSession tmpSession = this.managedExecutor.createSession(WorkClassEnum.RENDER, 2);
+        int[] tmpConcurrency = new int[3];
+        CountDownLatch tmpStartLatch = new CountDownLatch(2);
+        CountDownLatch tmpReleaseLatch = new CountDownLatch(1);
+        Future<Boolean> tmpFirstFuture = tmpSession.submit(this.getNonInterruptibleTask(tmpStartLatch, tmpReleaseLatch, tmpConcurrency));
+        Future<Boolean> tmpSecondFuture = tmpSession.submit(this.getNonInterruptibleTask(tmpStartLatch, tmpReleaseLatch, tmpConcurrency));
+        assertTrue("Test1", tmpStartLatch.await(10L, TimeUnit.SECONDS));
+        ArrayList<Future<Boolean>> tmpWaitingFutures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tmpWaitingFutures.add(tmpSession.submit(this.getNonInterruptibleTask(null, tmpReleaseLatch, tmpConcurrency)));
+        }
+        // Cancelled task ignores interrupt and is still running: No waiting
+        // task may be started
+        assertTrue("Test2", tmpFirstFuture.cancel(true));
+        Thread.sleep(200L);
+        synchronized (tmpConcurrency) {
+            assertEquals("Test3", 2, tmpConcurrency[0]);
+            assertEquals("Test4", 2, tmpConcurrency[2]);
+        }
+        assertFalse("Test5", tmpSession.awaitTermination(0L, TimeUnit.MILLISECONDS));
+        tmpReleaseLatch.countDown();
+        tmpSession.shutdown();
+        assertTrue("Test6", tmpSession.awaitTermination(10L, TimeUnit.SECONDS));
+        assertTrue("Test7", tmpSecondFuture.get());
+        for (Future<Boolean> tmpWaitingFuture : tmpWaitingFutures) {
+            assertTrue("Test8", tmpWaitingFuture.get());
+        }
+        synchronized (tmpConcurrency) {
+            assertEquals("Test9", 0, tmpConcurrency[0]);
+            assertEquals("Test10", 2, tmpConcurrency[1]);
+            assertEquals("Test11", 5, tmpConcurrency[2]);
+        }
+    }
+
+    /**
+     * Test of class CancellationToken
+     */
+    public void testCancellationToken() {
+        CancellationToken tmpParentToken = new CancellationToken();
+        CancellationToken tmpToken = new CancellationToken(tmpParentToken);
+        assertFalse("Test1", tmpToken.isCancelled());
+        tmpToken.throwIfCancelled();
+        tmpParentToken.cancel();
+        assertTrue("Test2", tmpToken.isCancelled());
+        try {
+            tmpToken.throwIfCancelled();
+            fail("Test3");
+        } catch (CancellationException anException) {
+            // Expected
+        }
+        // Thread without managed task
+        assertFalse("Test4", ManagedExecutor.getCurrentCancellationToken().isCancelled());
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns task that polls its cancellation token until it is cancelled
+     *
+     * @param aStartLatch Latch that is counted down on start (may be null)
+     * @return Task
+     */
+    private Callable<Boolean> getCooperativeTask(final CountDownLatch aStartLatch) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                if (aStartLatch != null) {
+                    aStartLatch.countDown();
+                }
+                CancellationToken tmpCancellationToken = ManagedExecutor.getCurrentCancellationToken();
+                while (!tmpCancellationToken.isCancelled()) {
+                    Thread.yield();
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns task that blocks until it is interrupted
+     *
+     * @param aStartLatch Latch that is counted down on start
+     * @return Task
+     */
+    private Callable<Boolean> getBlockingTask(final CountDownLatch aStartLatch) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                aStartLatch.countDown();
+                Thread.sleep(600000L);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns task that ignores interrupts and blocks until it is released
+     *
+     * @param aStartLatch Latch that is counted down on start (may be null)
+     * @param aReleaseLatch Latch that releases task
+     * @param aConcurrency Concurrency counters: Index 0 = number of running
+     * tasks, index 1 = maximum number of running tasks, index 2 = number of
+     * started tasks
+     * @return Task
+     */
+    private Callable<Boolean> getNonInterruptibleTask(final CountDownLatch aStartLatch, final CountDownLatch aReleaseLatch, final int[] aConcurrency) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                synchronized (aConcurrency) {
+                    aConcurrency[0]++;
+                    aConcurrency[1] = Math.max(aConcurrency[1], aConcurrency[0]);
+                    aConcurrency[2]++;
+                }
+                if (aStartLatch != null) {
+                    aStartLatch.countDown();
+                }
+                boolean tmpIsReleased = false;
+                while (!tmpIsReleased) {
+                    try {
+                        aReleaseLatch.await();
+                        tmpIsReleased = true;
+                    } catch (InterruptedException anException) {
+                        // Interrupt is ignored
+                    }
+                }
+                synchronized (aConcurrency) {
+                    aConcurrency[0]--;
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Waits until number of active threads of work class is reached
+     *
+     * @param aWorkClass Work class
+     * @param aNumberOfActiveThreads Number of active threads
+     * @param aTimeout Timeout in milliseconds
+     * @return True: Number of active threads is reached, false: Timeout
+     * @throws InterruptedException Thrown if current thread is interrupted
+     */
+    private boolean awaitNumberOfActiveThreads(WorkClassEnum aWorkClass, int aNumberOfActiveThreads, long aTimeout) throws InterruptedException {
+        long tmpDeadline = System.currentTimeMillis() + aTimeout;
+        while (this.managedExecutor.getNumberOfActiveThreads(aWorkClass) != aNumberOfActiveThreads) {
+            if (System.currentTimeMillis() > tmpDeadline) {
+                return false;
+            }
+            Thread.sleep(5L);
+        }
+        return true;
+    }
+    // </editor-fold>
+
+}
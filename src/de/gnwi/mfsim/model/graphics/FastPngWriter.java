@@ -0,0 +1,677 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.graphics;
+
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Built-in PNG writer with configurable deflate level and multi-threaded
+ * IDAT compression.
+ * <p>
+ * Images are written as 8 bit truecolor PNG (with alpha channel if the
+ * image has one). Rows are filtered with the adaptive minimum sum of
+ * absolute differences heuristic (evaluated on sampled pixels). The filtered image data are split into
+ * row ranges which are filtered and deflated independently (raw deflate,
+ * each chunk primed with the last 32 kByte of the previous chunk as
+ * dictionary and terminated with a sync flush) and then written in order as
+ * consecutive IDAT chunks of a single zlib stream. The Adler-32 values of
+ * the chunks are combined.
+ * <p>
+ * NOTE: Instances are immutable and thread-safe. Chunk tasks are run on a
+ * shared pool of daemon threads, the calling thread processes the first
+ * chunk itself.
+ */
+public class FastPngWriter {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Minimum size of filtered image data of a chunk that is deflated
+     * independently (128 kByte)
+     */
+    private static final int MINIMUM_CHUNK_SIZE = 131072;
+
+    /**
+     * Size of deflate dictionary (32 kByte)
+     */
+    private static final int DICTIONARY_SIZE = 32768;
+
+    /**
+     * Modulus of Adler-32
+     */
+    private static final long ADLER_BASE = 65521L;
+
+    /**
+     * PNG signature
+     */
+    private static final byte[] PNG_SIGNATURE = new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * Chunk type IHDR
+     */
+    private static final byte[] CHUNK_TYPE_IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Chunk type IDAT
+     */
+    private static final byte[] CHUNK_TYPE_IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Chunk type IEND
+     */
+    private static final byte[] CHUNK_TYPE_IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Pixel stride for selection of filter type of a row: Only every n-th
+     * pixel is evaluated (selection on all pixels costs about as much as
+     * fast deflation without a noticeable gain in compression)
+     */
+    private static final int FILTER_SELECTION_PIXEL_STRIDE = 4;
+
+    /**
+     * Color type truecolor
+     */
+    private static final int COLOR_TYPE_TRUECOLOR = 2;
+
+    /**
+     * Color type truecolor with alpha
+     */
+    private static final int COLOR_TYPE_TRUECOLOR_ALPHA = 6;
+
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class ChunkResult">
+    /**
+     * Result of a deflate chunk task
+     */
+    private static class ChunkResult {
+
+        /**
+         * Raw deflate data
+         */
+        byte[] data;
+
+        /**
+         * Adler-32 of uncompressed (filtered) data of chunk
+         */
+        long adler;
+
+        /**
+         * Length of uncompressed (filtered) data of chunk
+         */
+        int length;
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Deflate level (0 = no compression to 9 = best compression)
+     */
+    private final int deflateLevel;
+
+    /**
+     * Maximum number of threads for filtering and compression of a single
+     * image
+     */
+    private final int numberOfThreads;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aDeflateLevel Deflate level (0 = no compression to 9 = best
+     * compression)
+     * @param aNumberOfThreads Maximum number of threads for filtering and
+     * compression of a single image
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public FastPngWriter(int aDeflateLevel, int aNumberOfThreads) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aDeflateLevel < Deflater.NO_COMPRESSION || aDeflateLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("aDeflateLevel is illegal.");
+        }
+        if (aNumberOfThreads < 1) {
+            throw new IllegalArgumentException("aNumberOfThreads is less than 1.");
+        }
+        // </editor-fold>
+        this.deflateLevel = aDeflateLevel;
+        this.numberOfThreads = aNumberOfThreads;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Writes image as PNG to file (an existing file is overwritten)
+     *
+     * @param anImage Image
+     * @param aFile File
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     * @throws IOException Thrown if image can not be written
+     */
+    public void write(BufferedImage anImage, File aFile) throws IllegalArgumentException, IOException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aFile == null) {
+            throw new IllegalArgumentException("aFile is null.");
+        }
+        // </editor-fold>
+        try (BufferedOutputStream tmpOutputStream = new BufferedOutputStream(new FileOutputStream(aFile), ModelDefinitions.BUFFER_SIZE)) {
+            this.write(anImage, tmpOutputStream);
+        }
+    }
+
+    /**
+     * Writes image as PNG to output stream (output stream is NOT closed)
+     *
+     * @param anImage Image
+     * @param anOutputStream Output stream
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     * @throws IOException Thrown if image can not be written
+     */
+    public void write(BufferedImage anImage, OutputStream anOutputStream) throws IllegalArgumentException, IOException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (anImage == null) {
+            throw new IllegalArgumentException("anImage is null.");
+        }
+        if (anOutputStream == null) {
+            throw new IllegalArgumentException("anOutputStream is null.");
+        }
+        // </editor-fold>
+        final BufferedImage tmpImage = anImage;
+        final boolean tmpHasAlpha = anImage.getColorModel().hasAlpha();
+        final int tmpWidth = anImage.getWidth();
+        final int tmpHeight = anImage.getHeight();
+        final int tmpRowLength = 1 + tmpWidth * (tmpHasAlpha ? 4 : 3);
+        final byte[] tmpFilteredData = new byte[tmpRowLength * tmpHeight];
+        // <editor-fold defaultstate="collapsed" desc="Row ranges of chunks">
+        int tmpNumberOfChunks = (int) Math.min((long) this.numberOfThreads, Math.max(1L, (long) tmpFilteredData.length / MINIMUM_CHUNK_SIZE));
+        tmpNumberOfChunks = Math.min(tmpNumberOfChunks, tmpHeight);
+        final int[] tmpFirstRows = new int[tmpNumberOfChunks + 1];
+        for (int i = 0; i <= tmpNumberOfChunks; i++) {
+            tmpFirstRows[i] = (int) ((long) i * (long) tmpHeight / (long) tmpNumberOfChunks);
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Filter rows">
+        // NOTE: Filtering must be completed for all chunks before deflation since a chunk uses the end of the previous chunk as dictionary
+        List<Callable<Boolean>> tmpFilterTasks = new ArrayList<>(tmpNumberOfChunks);
+        for (int i = 0; i < tmpNumberOfChunks; i++) {
+            final int tmpFirstRow = tmpFirstRows[i];
+            final int tmpLastRowExclusive = tmpFirstRows[i + 1];
+            tmpFilterTasks.add(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    FastPngWriter.this.filterRows(tmpImage, tmpHasAlpha, tmpFirstRow, tmpLastRowExclusive, tmpFilteredData);
+                    return true;
+                }
+            });
+        }
+        FastPngWriter.invokeTasks(tmpFilterTasks);
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Deflate chunks">
+        List<Callable<ChunkResult>> tmpDeflateTasks = new ArrayList<>(tmpNumberOfChunks);
+        for (int i = 0; i < tmpNumberOfChunks; i++) {
+            final int tmpOffset = tmpFirstRows[i] * tmpRowLength;
+            final int tmpLength = (tmpFirstRows[i + 1] - tmpFirstRows[i]) * tmpRowLength;
+            final boolean tmpIsLastChunk = i == tmpNumberOfChunks - 1;
+            tmpDeflateTasks.add(new Callable<ChunkResult>() {
+                @Override
+                public ChunkResult call() throws Exception {
+                    return FastPngWriter.this.deflateChunk(tmpFilteredData, tmpOffset, tmpLength, tmpIsLastChunk);
+                }
+            });
+        }
+        List<ChunkResult> tmpChunkResults = FastPngWriter.invokeTasks(tmpDeflateTasks);
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Write PNG">
+        DataOutputStream tmpDataOutputStream = new DataOutputStream(anOutputStream);
+        tmpDataOutputStream.write(PNG_SIGNATURE);
+        // IHDR: Bit depth 8, deflate compression, adaptive filtering, no interlace
+        ByteArrayOutputStream tmpHeaderBytes = new ByteArrayOutputStream(13);
+        DataOutputStream tmpHeaderOutputStream = new DataOutputStream(tmpHeaderBytes);
+        tmpHeaderOutputStream.writeInt(tmpWidth);
+        tmpHeaderOutputStream.writeInt(tmpHeight);
+        tmpHeaderOutputStream.writeByte(8);
+        tmpHeaderOutputStream.writeByte(tmpHasAlpha ? COLOR_TYPE_TRUECOLOR_ALPHA : COLOR_TYPE_TRUECOLOR);
+        tmpHeaderOutputStream.writeByte(0);
+        tmpHeaderOutputStream.writeByte(0);
+        tmpHeaderOutputStream.writeByte(0);
+        FastPngWriter.writeChunk(tmpDataOutputStream, CHUNK_TYPE_IHDR, tmpHeaderBytes.toByteArray());
+        // IDAT: zlib header, raw deflate data of chunks, Adler-32 of all filtered data
+        FastPngWriter.writeChunk(tmpDataOutputStream, CHUNK_TYPE_IDAT, this.getZlibHeader());
+        long tmpAdler = 1L;
+        for (ChunkResult tmpChunkResult : tmpChunkResults) {
+            FastPngWriter.writeChunk(tmpDataOutputStream, CHUNK_TYPE_IDAT, tmpChunkResult.data);
+            tmpAdler = FastPngWriter.combineAdler(tmpAdler, tmpChunkResult.adler, tmpChunkResult.length);
+        }
+        FastPngWriter.writeChunk(
+            tmpDataOutputStream, 
+            CHUNK_TYPE_IDAT, 
+            new byte[] {(byte) (tmpAdler >>> 24), (byte) (tmpAdler >>> 16), (byte) (tmpAdler >>> 8), (byte) tmpAdler}
+        );
+        FastPngWriter.writeChunk(tmpDataOutputStream, CHUNK_TYPE_IEND, new byte[0]);
+        tmpDataOutputStream.flush();
+        // </editor-fold>
+    }
+
+    /**
+     * Returns image as PNG encoded byte array
+     *
+     * @param anImage Image
+     * @return PNG encoded byte array
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     * @throws IOException Thrown if image can not be encoded
+     */
+    public byte[] toByteArray(BufferedImage anImage) throws IllegalArgumentException, IOException {
+        ByteArrayOutputStream tmpOutputStream = new ByteArrayOutputStream(ModelDefinitions.BUFFER_SIZE);
+        this.write(anImage, tmpOutputStream);
+        return tmpOutputStream.toByteArray();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Deflate level
+     *
+     * @return Deflate level (0 = no compression to 9 = best compression)
+     */
+    public int getDeflateLevel() {
+        return this.deflateLevel;
+    }
+
+    /**
+     * Maximum number of threads for filtering and compression of a single
+     * image
+     *
+     * @return Maximum number of threads
+     */
+    public int getNumberOfThreads() {
+        return this.numberOfThreads;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Filters rows of image
+     *
+     * @param anImage Image
+     * @param aHasAlpha True: Alpha channel is written, false: Otherwise
+     * @param aFirstRow First row
+     * @param aLastRowExclusive Last row (exclusive)
+     * @param aFilteredData Filtered data of all rows (filter type byte
+     * followed by filtered row bytes)
+     */
+    private void filterRows(BufferedImage anImage, boolean aHasAlpha, int aFirstRow, int aLastRowExclusive, byte[] aFilteredData) {
+        int tmpWidth = anImage.getWidth();
+        int tmpBytesPerPixel = aHasAlpha ? 4 : 3;
+        int tmpRowLength = tmpWidth * tmpBytesPerPixel;
+        int[] tmpPixels = new int[tmpWidth];
+        // NOTE: Previous row of first image row consists of zeros
+        byte[] tmpPreviousRow = new byte[tmpRowLength];
+        byte[] tmpCurrentRow = new byte[tmpRowLength];
+        if (aFirstRow > 0) {
+            FastPngWriter.getRowBytes(anImage, aHasAlpha, aFirstRow - 1, tmpPixels, tmpPreviousRow);
+        }
+        for (int tmpRow = aFirstRow; tmpRow < aLastRowExclusive; tmpRow++) {
+            FastPngWriter.getRowBytes(anImage, aHasAlpha, tmpRow, tmpPixels, tmpCurrentRow);
+            int tmpFilterType = FastPngWriter.getFilterType(tmpCurrentRow, tmpPreviousRow, tmpBytesPerPixel);
+            int tmpOffset = tmpRow * (tmpRowLength + 1);
+            aFilteredData[tmpOffset] = (byte) tmpFilterType;
+            FastPngWriter.filterRow(tmpFilterType, tmpCurrentRow, tmpPreviousRow, tmpBytesPerPixel, aFilteredData, tmpOffset + 1);
+            byte[] tmpBuffer = tmpPreviousRow;
+            tmpPreviousRow = tmpCurrentRow;
+            tmpCurrentRow = tmpBuffer;
+        }
+    }
+
+    /**
+     * Deflates single chunk of filtered data
+     *
+     * @param aFilteredData Filtered data of all rows
+     * @param anOffset Offset of chunk
+     * @param aLength Length of chunk
+     * @param anIsLastChunk True: Chunk is last chunk, false: Otherwise
+     * @return Chunk result with compressed data
+     */
+    private ChunkResult deflateChunk(byte[] aFilteredData, int anOffset, int aLength, boolean anIsLastChunk) {
+        ChunkResult tmpResult = new ChunkResult();
+        Adler32 tmpAdler = new Adler32();
+        tmpAdler.update(aFilteredData, anOffset, aLength);
+        tmpResult.adler = tmpAdler.getValue();
+        tmpResult.length = aLength;
+        int tmpDictionaryLength = Math.min(DICTIONARY_SIZE, anOffset);
+        // NOTE: Raw deflate (nowrap) since chunks are parts of a single zlib stream
+        Deflater tmpDeflater = new Deflater(this.deflateLevel, true);
+        try {
+            if (tmpDictionaryLength > 0) {
+                tmpDeflater.setDictionary(aFilteredData, anOffset - tmpDictionaryLength, tmpDictionaryLength);
+            }
+            tmpDeflater.setInput(aFilteredData, anOffset, aLength);
+            ByteArrayOutputStream tmpOutput = new ByteArrayOutputStream(aLength / 4 + 64);
+            byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
+            if (!anIsLastChunk) {
+                // Sync flush: Byte aligned end of non-final block so that next chunk can be appended
+                int tmpCount;
+                while ((tmpCount = tmpDeflater.deflate(tmpBuffer, 0, tmpBuffer.length, Deflater.SYNC_FLUSH)) > 0) {
+                    tmpOutput.write(tmpBuffer, 0, tmpCount);
+                    if (tmpCount < tmpBuffer.length) {
+                        break;
+                    }
+                }
+            } else {
+                tmpDeflater.finish();
+                while (!tmpDeflater.finished()) {
+                    int tmpCount = tmpDeflater.deflate(tmpBuffer);
+                    tmpOutput.write(tmpBuffer, 0, tmpCount);
+                }
+            }
+            tmpResult.data = tmpOutput.toByteArray();
+        } finally {
+            tmpDeflater.end();
+        }
+        return tmpResult;
+    }
+
+    /**
+     * Returns zlib header for deflate level
+     *
+     * @return Zlib header (2 bytes)
+     */
+    private byte[] getZlibHeader() {
+        // CMF: Deflate with 32 kByte window, FLG: Compression level hint with check bits (no preset dictionary)
+        if (this.deflateLevel <= Deflater.BEST_SPEED) {
+            return new byte[] {(byte) 0x78, (byte) 0x01};
+        } else if (this.deflateLevel < 6) {
+            return new byte[] {(byte) 0x78, (byte) 0x5E};
+        } else if (this.deflateLevel == 6) {
+            return new byte[] {(byte) 0x78, (byte) 0x9C};
+        } else {
+            return new byte[] {(byte) 0x78, (byte) 0xDA};
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Invokes tasks: The first task is run by the calling thread, all other
+     * tasks are submitted to the render work class of the managed executor.
+     * NOTE: Tasks that are not yet started when the calling thread is done
+     * with its own task are run by the calling thread as well, so that
+     * callers that are render threads themselves can not deadlock.
+     *
+     * @param aTasks Tasks
+     * @return Results of tasks in order of tasks
+     * @throws IOException Thrown if a task fails
+     */
+    private static <T> List<T> invokeTasks(List<Callable<T>> aTasks) throws IOException {
+        ArrayList<T> tmpResults = new ArrayList<>(aTasks.size());
+        ArrayList<FutureTask<T>> tmpFutureTasks = new ArrayList<>(aTasks.size());
+        try {
+            for (int i = 1; i < aTasks.size(); i++) {
+                FutureTask<T> tmpFutureTask = new FutureTask<>(aTasks.get(i));
+                tmpFutureTasks.add(tmpFutureTask);
+                ManagedExecutor.getInstance().submit(WorkClassEnum.RENDER, tmpFutureTask);
+            }
+            tmpResults.add(aTasks.get(0).call());
+            for (FutureTask<T> tmpFutureTask : tmpFutureTasks) {
+                // NOTE: run() does nothing if task is already started
+                tmpFutureTask.run();
+                tmpResults.add(tmpFutureTask.get());
+            }
+            return tmpResults;
+        } catch (ExecutionException anException) {
+            throw new IOException(anException.getCause());
+        } catch (Exception anException) {
+            for (FutureTask<T> tmpFutureTask : tmpFutureTasks) {
+                tmpFutureTask.cancel(true);
+            }
+            throw new IOException(anException);
+        }
+    }
+
+    /**
+     * Returns raw bytes (RGB or RGBA) of row of image
+     *
+     * @param anImage Image
+     * @param aHasAlpha True: Alpha channel is included, false: Otherwise
+     * @param aRow Row
+     * @param aPixels Buffer for ARGB pixels of row (width of image)
+     * @param aRowBytes Raw bytes of row (returned)
+     */
+    private static void getRowBytes(BufferedImage anImage, boolean aHasAlpha, int aRow, int[] aPixels, byte[] aRowBytes) {
+        int tmpType = anImage.getType();
+        if (tmpType == BufferedImage.TYPE_INT_RGB || tmpType == BufferedImage.TYPE_INT_ARGB) {
+            // NOTE: Pixels of these image types are already (A)RGB integers, so the (slow) color model conversion of getRGB() is skipped
+            anImage.getRaster().getDataElements(0, aRow, aPixels.length, 1, aPixels);
+        } else {
+            anImage.getRGB(0, aRow, aPixels.length, 1, aPixels, 0, aPixels.length);
+        }
+        int tmpIndex = 0;
+        if (aHasAlpha) {
+            for (int tmpPixel : aPixels) {
+                aRowBytes[tmpIndex++] = (byte) (tmpPixel >>> 16);
+                aRowBytes[tmpIndex++] = (byte) (tmpPixel >>> 8);
+                aRowBytes[tmpIndex++] = (byte) tmpPixel;
+                aRowBytes[tmpIndex++] = (byte) (tmpPixel >>> 24);
+            }
+        } else {
+            for (int tmpPixel : aPixels) {
+                aRowBytes[tmpIndex++] = (byte) (tmpPixel >>> 16);
+                aRowBytes[tmpIndex++] = (byte) (tmpPixel >>> 8);
+                aRowBytes[tmpIndex++] = (byte) tmpPixel;
+            }
+        }
+    }
+
+    /**
+     * Returns the PNG filter type with minimum sum of absolute (signed)
+     * values of the filtered row (sampled, see FILTER_SELECTION_PIXEL_STRIDE)
+     *
+     * @param aCurrentRow Raw bytes of current row
+     * @param aPreviousRow Raw bytes of previous row
+     * @param aBytesPerPixel Bytes per pixel
+     * @return Selected filter type
+     */
+    private static int getFilterType(byte[] aCurrentRow, byte[] aPreviousRow, int aBytesPerPixel) {
+        long tmpSumNone = 0L;
+        long tmpSumSub = 0L;
+        long tmpSumUp = 0L;
+        long tmpSumAverage = 0L;
+        long tmpSumPaeth = 0L;
+        // First pixel: Left and upper left bytes are 0
+        for (int i = 0; i < aBytesPerPixel; i++) {
+            int tmpX = aCurrentRow[i] & 0xFF;
+            int tmpB = aPreviousRow[i] & 0xFF;
+            tmpSumNone += Math.abs((int) (byte) tmpX);
+            tmpSumSub += Math.abs((int) (byte) tmpX);
+            tmpSumUp += Math.abs((int) (byte) (tmpX - tmpB));
+            tmpSumAverage += Math.abs((int) (byte) (tmpX - (tmpB >>> 1)));
+            tmpSumPaeth += Math.abs((int) (byte) (tmpX - tmpB));
+        }
+        // Remaining pixels: Sampled with pixel stride
+        int tmpByteStride = FILTER_SELECTION_PIXEL_STRIDE * aBytesPerPixel;
+        for (int tmpPixelStart = tmpByteStride; tmpPixelStart < aCurrentRow.length; tmpPixelStart += tmpByteStride) {
+            for (int i = tmpPixelStart; i < tmpPixelStart + aBytesPerPixel; i++) {
+                int tmpX = aCurrentRow[i] & 0xFF;
+                int tmpA = aCurrentRow[i - aBytesPerPixel] & 0xFF;
+                int tmpB = aPreviousRow[i] & 0xFF;
+                int tmpC = aPreviousRow[i - aBytesPerPixel] & 0xFF;
+                tmpSumNone += Math.abs((int) (byte) tmpX);
+                tmpSumSub += Math.abs((int) (byte) (tmpX - tmpA));
+                tmpSumUp += Math.abs((int) (byte) (tmpX - tmpB));
+                tmpSumAverage += Math.abs((int) (byte) (tmpX - ((tmpA + tmpB) >>> 1)));
+                tmpSumPaeth += Math.abs((int) (byte) (tmpX - FastPngWriter.getPaethPredictor(tmpA, tmpB, tmpC)));
+            }
+        }
+        int tmpFilterType = 0;
+        long tmpMinimumSum = tmpSumNone;
+        if (tmpSumSub < tmpMinimumSum) {
+            tmpFilterType = 1;
+            tmpMinimumSum = tmpSumSub;
+        }
+        if (tmpSumUp < tmpMinimumSum) {
+            tmpFilterType = 2;
+            tmpMinimumSum = tmpSumUp;
+        }
+        if (tmpSumAverage < tmpMinimumSum) {
+            tmpFilterType = 3;
+            tmpMinimumSum = tmpSumAverage;
+        }
+        if (tmpSumPaeth < tmpMinimumSum) {
+            tmpFilterType = 4;
+        }
+        return tmpFilterType;
+    }
+
+    /**
+     * Filters row with PNG filter type
+     *
+     * @param aFilterType Filter type (0 = None, 1 = Sub, 2 = Up, 3 = Average,
+     * 4 = Paeth)
+     * @param aCurrentRow Raw bytes of current row
+     * @param aPreviousRow Raw bytes of previous row
+     * @param aBytesPerPixel Bytes per pixel
+     * @param aFilteredData Filtered data (returned)
+     * @param anOffset Offset of filtered row in filtered data
+     */
+    private static void filterRow(int aFilterType, byte[] aCurrentRow, byte[] aPreviousRow, int aBytesPerPixel, byte[] aFilteredData, int anOffset) {
+        // NOTE: First pixel is filtered separately (left and upper left bytes are 0) so that inner loops are free of bound conditions
+        switch (aFilterType) {
+            case 0:
+                System.arraycopy(aCurrentRow, 0, aFilteredData, anOffset, aCurrentRow.length);
+                break;
+            case 1:
+                System.arraycopy(aCurrentRow, 0, aFilteredData, anOffset, aBytesPerPixel);
+                for (int i = aBytesPerPixel; i < aCurrentRow.length; i++) {
+                    aFilteredData[anOffset + i] = (byte) (aCurrentRow[i] - aCurrentRow[i - aBytesPerPixel]);
+                }
+                break;
+            case 2:
+                for (int i = 0; i < aCurrentRow.length; i++) {
+                    aFilteredData[anOffset + i] = (byte) (aCurrentRow[i] - aPreviousRow[i]);
+                }
+                break;
+            case 3:
+                for (int i = 0; i < aBytesPerPixel; i++) {
+                    aFilteredData[anOffset + i] = (byte) ((aCurrentRow[i] & 0xFF) - ((aPreviousRow[i] & 0xFF) >>> 1));
+                }
+                for (int i = aBytesPerPixel; i < aCurrentRow.length; i++) {
+                    aFilteredData[anOffset + i] = (byte) ((aCurrentRow[i] & 0xFF) - (((aCurrentRow[i - aBytesPerPixel] & 0xFF) + (aPreviousRow[i] & 0xFF)) >>> 1));
+                }
+                break;
+            default:
+                for (int i = 0; i < aBytesPerPixel; i++) {
+                    aFilteredData[anOffset + i] = (byte) (aCurrentRow[i] - aPreviousRow[i]);
+                }
+                for (int i = aBytesPerPixel; i < aCurrentRow.length; i++) {
+                    aFilteredData[anOffset + i] = (byte) (
+                        (aCurrentRow[i] & 0xFF) - 
+                        FastPngWriter.getPaethPredictor(aCurrentRow[i - aBytesPerPixel] & 0xFF, aPreviousRow[i] & 0xFF, aPreviousRow[i - aBytesPerPixel] & 0xFF)
+                    );
+                }
+                break;
+        }
+    }
+
+    /**
+     * Paeth predictor
+     *
+     * @param aLeft Left byte value
+     * @param anAbove Above byte value
+     * @param anUpperLeft Upper left byte value
+     * @return Paeth predictor
+     */
+    private static int getPaethPredictor(int aLeft, int anAbove, int anUpperLeft) {
+        // NOTE: Distances of p = left + above - upper left are calculated directly, selection without nested branches (unpredictable for image data)
+        int tmpPa = Math.abs(anAbove - anUpperLeft);
+        int tmpPb = Math.abs(aLeft - anUpperLeft);
+        int tmpPc = Math.abs(aLeft + anAbove - anUpperLeft - anUpperLeft);
+        int tmpAboveOrUpperLeft = tmpPb <= tmpPc ? anAbove : anUpperLeft;
+        return tmpPa <= Math.min(tmpPb, tmpPc) ? aLeft : tmpAboveOrUpperLeft;
+    }
+
+    /**
+     * Writes PNG chunk
+     *
+     * @param anOutputStream Output stream
+     * @param aType Chunk type
+     * @param aData Chunk data
+     * @throws IOException Thrown if chunk can not be written
+     */
+    private static void writeChunk(DataOutputStream anOutputStream, byte[] aType, byte[] aData) throws IOException {
+        CRC32 tmpCrc = new CRC32();
+        tmpCrc.update(aType);
+        tmpCrc.update(aData);
+        anOutputStream.writeInt(aData.length);
+        anOutputStream.write(aType);
+        anOutputStream.write(aData);
+        anOutputStream.writeInt((int) tmpCrc.getValue());
+    }
+
+    /**
+     * Combines Adler-32 of two consecutive byte sequences (see zlib
+     * adler32_combine())
+     *
+     * @param anAdler1 Adler-32 of first byte sequence
+     * @param anAdler2 Adler-32 of second byte sequence
+     * @param aLength2 Length of second byte sequence
+     * @return Adler-32 of concatenated byte sequences
+     */
+    private static long combineAdler(long anAdler1, long anAdler2, long aLength2) {
+        long tmpRemainder = aLength2 % ADLER_BASE;
+        long tmpSum1 = anAdler1 & 0xFFFFL;
+        long tmpSum2 = (tmpRemainder * tmpSum1) % ADLER_BASE;
+        tmpSum1 += (anAdler2 & 0xFFFFL) + ADLER_BASE - 1L;
+        tmpSum2 += ((anAdler1 >>> 16) & 0xFFFFL) + ((anAdler2 >>> 16) & 0xFFFFL) + ADLER_BASE - tmpRemainder;
+        if (tmpSum1 >= ADLER_BASE) {
+            tmpSum1 -= ADLER_BASE;
+        }
+        if (tmpSum1 >= ADLER_BASE) {
+            tmpSum1 -= ADLER_BASE;
+        }
+        if (tmpSum2 >= (ADLER_BASE << 1)) {
+            tmpSum2 -= (ADLER_BASE << 1);
+        }
+        if (tmpSum2 >= ADLER_BASE) {
+            tmpSum2 -= ADLER_BASE;
+        }
+        return tmpSum1 | (tmpSum2 << 16);
+    }
+    // </editor-fold>
+
+}
@@ -31,12 +31,17 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.Iterator;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import de.gnwi.spices.IPointInSpace;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
@@ -53,6 +58,23 @@ public final class GraphicsUtils {
      */
     private static final StringUtilityMethods stringUtilityMethods = new StringUtilityMethods();
 
+    /**
+     * Image writers of calling thread (ImageIO image writer instances are NOT
+     * thread safe)
+     */
+    private static final ThreadLocal<EnumMap<ImageFileType, ImageWriter>> threadImageWriterMap = new ThreadLocal<EnumMap<ImageFileType, ImageWriter>>() {
+        @Override
+        protected EnumMap<ImageFileType, ImageWriter> initialValue() {
+            return new EnumMap<>(ImageFileType.class);
+        }
+    };
+
+    /**
+     * JPEG image reader of calling thread (ImageIO image reader instances are
+     * NOT thread safe)
+     */
+    private static final ThreadLocal<ImageReader> threadJpegImageReader = new ThreadLocal<>();
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Simulation box slicer related methods">
@@ -101,13 +123,13 @@ public final class GraphicsUtils {
     //
     // <editor-fold defaultstate="collapsed" desc="- readImageFromFile">
     /**
-     * Returns image with specified pathname. NOTE: ImageIO class is NOT thread
-     * safe! (thus synchronized)
+     * Returns image with specified pathname. NOTE: Thread-safe since ImageIO
+     * creates a new image reader for each call.
      *
      * @param aFilePathname The pathname of the image file
      * @return Image with specified pathname or null if image is not available
      */
-    public static synchronized BufferedImage readImageFromFile(String aFilePathname) throws IllegalArgumentException {
+    public static BufferedImage readImageFromFile(String aFilePathname) throws IllegalArgumentException {
 
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aFilePathname == null || aFilePathname.isEmpty()) {
@@ -132,7 +154,8 @@ public final class GraphicsUtils {
     //
     // <editor-fold defaultstate="collapsed" desc="- writeImageToFile">
     /**
-     * Writes an image to file. NOTE: ImageIO class is NOT thread safe! (thus synchronized)
+     * Writes an image to file. NOTE: Thread-safe since image writers are
+     * confined to the calling thread.
      *
      * @param aDestinationDirectory Destination directory
      * @param aFilename File name (without directory information)
@@ -140,7 +163,7 @@ public final class GraphicsUtils {
      * @param anImageFileType Image file type
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeImageToFile(String aDestinationDirectory, String aFilename, BufferedImage anImage, ImageFileType anImageFileType) {
+    public static boolean writeImageToFile(String aDestinationDirectory, String aFilename, BufferedImage anImage, ImageFileType anImageFileType) {
 
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aDestinationDirectory == null || aDestinationDirectory.isEmpty() || !(new File(aDestinationDirectory)).isDirectory()) {
@@ -161,11 +184,7 @@ public final class GraphicsUtils {
                     return false;
                 }
             }
-            if (anImageFileType == ImageFileType.JPG) {
-                return GraphicsUtils.writeJpegImageToFile(anImage, tmpFile);
-            } else {
-                return ImageIO.write(anImage, anImageFileType.toFileTypeEnding(), tmpFile);
-            }
+            return GraphicsUtils.writeImage(anImage, anImageFileType, tmpFile);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -173,14 +192,15 @@ public final class GraphicsUtils {
     }
 
     /**
-     * Writes an image to file. NOTE: ImageIO class is NOT thread safe! (thus synchronized)
+     * Writes an image to file. NOTE: Thread-safe since image writers are
+     * confined to the calling thread.
      *
      * @param anImage Image
      * @param anImageFileType Image file type
      * @param aFile File
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeImageToFile(BufferedImage anImage, ImageFileType anImageFileType, File aFile) {
+    public static boolean writeImageToFile(BufferedImage anImage, ImageFileType anImageFileType, File aFile) {
 
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aFile == null) {
@@ -197,11 +217,7 @@ public final class GraphicsUtils {
                     return false;
                 }
             }
-            if (anImageFileType == ImageFileType.JPG) {
-                return GraphicsUtils.writeJpegImageToFile(anImage, aFile);
-            } else {
-                return ImageIO.write(anImage, anImageFileType.toFileTypeEnding(), aFile);
-            }
+            return GraphicsUtils.writeImage(anImage, anImageFileType, aFile);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -209,22 +225,17 @@ public final class GraphicsUtils {
     }
 
     /**
-     * Writes an image to file without checks and possible file delete. NOTE:
-     * ImageIO class is NOT thread safe! (thus synchronized)
+     * Writes an image to file without checks. NOTE: Thread-safe since image
+     * writers are confined to the calling thread.
      *
-     * @param aFile File
      * @param anImage Image
      * @param anImageFileType Image file type
      * @param aFile File
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeImageToFileWithoutChecks(BufferedImage anImage, ImageFileType anImageFileType, File aFile) {
+    public static boolean writeImageToFileWithoutChecks(BufferedImage anImage, ImageFileType anImageFileType, File aFile) {
         try {
-            if (anImageFileType == ImageFileType.JPG) {
-                return GraphicsUtils.writeJpegImageToFileWithoutChecks(anImage, aFile);
-            } else {
-                return ImageIO.write(anImage, anImageFileType.toFileTypeEnding(), aFile);
-            }
+            return GraphicsUtils.writeImage(anImage, anImageFileType, aFile);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -234,7 +245,8 @@ public final class GraphicsUtils {
     /**
      * Writes a sortable indexed image to file, i.e. anIndex = 3 and
      * aMaximumIndex = 100 the pathname is Path/Image003.ending 
-     * NOTE: ImageIO is NOT thread safe! (thus synchronized)
+     * NOTE: Thread-safe since image writers are confined to the calling
+     * thread.
      *
      * @param anImage Image
      * @param anImageFileType Image file type
@@ -243,7 +255,7 @@ public final class GraphicsUtils {
      * @param aMaximumIndex Maximum index for images
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeSortableIndexedImageToFile(BufferedImage anImage, ImageFileType anImageFileType, String aDestinationDirectory, int anIndex, int aMaximumIndex) {
+    public static boolean writeSortableIndexedImageToFile(BufferedImage anImage, ImageFileType anImageFileType, String aDestinationDirectory, int anIndex, int aMaximumIndex) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (anImage == null) {
             return false;
@@ -259,11 +271,7 @@ public final class GraphicsUtils {
         try {
             String tmpFilePathName = aDestinationDirectory + File.separatorChar + ModelDefinitions.PREFIX_OF_IMAGE_FILENAME
                     + GraphicsUtils.stringUtilityMethods.createSortablePositiveIntegerRepresentation(anIndex, aMaximumIndex) + "." + anImageFileType.toFileTypeEnding();
-            if (anImageFileType == ImageFileType.JPG) {
-                return GraphicsUtils.writeJpegImageToFile(anImage, new File(tmpFilePathName));
-            } else {
-                return ImageIO.write(anImage, anImageFileType.toFileTypeEnding(), new File(tmpFilePathName));
-            }
+            return GraphicsUtils.writeImage(anImage, anImageFileType, new File(tmpFilePathName));
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -271,8 +279,8 @@ public final class GraphicsUtils {
     }
 
     /**
-     * Writes image to final zeros number file (see code). NOTE: ImageIO is NOT
-     * thread safe! (thus synchronized)
+     * Writes image to final zeros number file (see code). NOTE: Thread-safe
+     * since image writers are confined to the calling thread.
      *
      * @param anImage Image
      * @param anImageFileType Image file type
@@ -280,7 +288,7 @@ public final class GraphicsUtils {
      * @param aNumber Number for initial zeros number string
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeImageToInitialZerosNumberFile(BufferedImage anImage, ImageFileType anImageFileType, String aDestinationDirectory, int aNumber) {
+    public static boolean writeImageToInitialZerosNumberFile(BufferedImage anImage, ImageFileType anImageFileType, String aDestinationDirectory, int aNumber) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (anImage == null) {
             return false;
@@ -296,11 +304,7 @@ public final class GraphicsUtils {
         try {
             String tmpInitialZerosNumberString = GraphicsUtils.stringUtilityMethods.getNumberStringWithInitialZeros(aNumber, ModelDefinitions.NUMBER_OF_DIGITS_FOR_ZEROS_NUMBER_STRING);
             String tmpFilePathName = aDestinationDirectory + File.separatorChar + tmpInitialZerosNumberString + "." + anImageFileType.toFileTypeEnding();
-            if (anImageFileType == ImageFileType.JPG) {
-                return GraphicsUtils.writeJpegImageToFile(anImage, new File(tmpFilePathName));
-            } else {
-                return ImageIO.write(anImage, anImageFileType.toFileTypeEnding(), new File(tmpFilePathName));
-            }
+            return GraphicsUtils.writeImage(anImage, anImageFileType, new File(tmpFilePathName));
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -308,14 +312,14 @@ public final class GraphicsUtils {
     }
 
     /**
-     * Writes JPEG image with defined quality to file. NOTE: ImageIO is NOT
-     * thread safe! (thus synchronized)
+     * Writes JPEG image with defined quality to file. NOTE: Thread-safe since
+     * image writers are confined to the calling thread.
      *
      * @param anImage Image
      * @param aFile File object
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeJpegImageToFile(BufferedImage anImage, File aFile) {
+    public static boolean writeJpegImageToFile(BufferedImage anImage, File aFile) {
 
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (anImage == null) {
@@ -336,56 +340,20 @@ public final class GraphicsUtils {
             ModelUtils.appendToLogfile(true, anException);
             return false;
         }
-        try {
-            Iterator<ImageWriter> tmpIterator = ImageIO.getImageWritersByFormatName("jpg");
-            if (tmpIterator.hasNext()) {
-                ImageWriter tmpImageWriter = tmpIterator.next();
-                ImageOutputStream tmpIoStream = ImageIO.createImageOutputStream(aFile);
-                tmpImageWriter.setOutput(tmpIoStream);
-                ImageWriteParam tmpParameters = tmpImageWriter.getDefaultWriteParam();
-                tmpParameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                tmpParameters.setCompressionQuality(Preferences.getInstance().getJpegImageQuality());
-                tmpImageWriter.write(null, new IIOImage(anImage, null, null), tmpParameters);
-                tmpIoStream.flush();
-                tmpImageWriter.dispose();
-                tmpIoStream.close();
-                return true;
-            } else {
-                return false;
-            }
-        } catch (Exception anException) {
-            ModelUtils.appendToLogfile(true, anException);
-            return false;
-        }
+        return GraphicsUtils.writeJpegImageToFileWithoutChecks(anImage, aFile);
     }
 
     /**
      * Writes JPEG image with defined quality to file without checks. NOTE:
-     * ImageIO is NOT thread safe! (thus synchronized)
+     * Thread-safe since image writers are confined to the calling thread.
      *
      * @param anImage Image
      * @param aFile File object
      * @return True: Operation was successful, false: Otherwise
      */
-    public static synchronized boolean writeJpegImageToFileWithoutChecks(BufferedImage anImage, File aFile) {
+    public static boolean writeJpegImageToFileWithoutChecks(BufferedImage anImage, File aFile) {
         try {
-            Iterator<ImageWriter> tmpIterator = ImageIO.getImageWritersByFormatName("jpg");
-            if (tmpIterator.hasNext()) {
-                ImageWriter tmpImageWriter = tmpIterator.next();
-                ImageOutputStream tmpIoStream = ImageIO.createImageOutputStream(aFile);
-                tmpImageWriter.setOutput(tmpIoStream);
-                ImageWriteParam tmpParameters = tmpImageWriter.getDefaultWriteParam();
-                tmpParameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                // Set quality of JPEG image (0.0F = low to 1.0F = high)
-                tmpParameters.setCompressionQuality(Preferences.getInstance().getJpegImageQuality());
-                tmpImageWriter.write(null, new IIOImage(anImage, null, null), tmpParameters);
-                tmpIoStream.flush();
-                tmpImageWriter.dispose();
-                tmpIoStream.close();
-                return true;
-            } else {
-                return false;
-            }
+            return GraphicsUtils.writeImage(anImage, ImageFileType.JPG, aFile);
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -396,14 +364,14 @@ public final class GraphicsUtils {
     //
     // <editor-fold defaultstate="collapsed" desc="- Image to byte array conversion">
     /**
-     * Compresses buffered image to JPEG encoded byte array. NOTE: This method
-     * MUST be static synchronized otherwise images may be corrupt.
+     * Compresses buffered image to JPEG encoded byte array. NOTE: Thread-safe
+     * since image writers are confined to the calling thread.
      *
      * @param aBufferedImage Buffered image
      * @return Byte array that JPEG encodes a buffered image or null if byte
      * array could not be created
      */
-    public static synchronized byte[] convertBufferedImageToJpegEncodedByteArray(BufferedImage aBufferedImage) {
+    public static byte[] convertBufferedImageToJpegEncodedByteArray(BufferedImage aBufferedImage) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aBufferedImage == null) {
             return null;
@@ -411,24 +379,16 @@ public final class GraphicsUtils {
 
         // </editor-fold>
         try {
-            Iterator<ImageWriter> tmpIterator = ImageIO.getImageWritersByFormatName("jpg");
-            if (tmpIterator.hasNext()) {
-                ImageWriter tmpImageWriter = tmpIterator.next();
-                ByteArrayOutputStream tmpByteArrayOutputStream = new ByteArrayOutputStream();
-                ImageOutputStream tmpIoStream = ImageIO.createImageOutputStream(tmpByteArrayOutputStream);
-                tmpImageWriter.setOutput(tmpIoStream);
-                ImageWriteParam tmpParameters = tmpImageWriter.getDefaultWriteParam();
-                tmpParameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                // Set quality of JPEG image (0.0F = low to 1.0F = high)
-                tmpParameters.setCompressionQuality(Preferences.getInstance().getJpegImageQuality());
-                tmpImageWriter.write(null, new IIOImage(aBufferedImage, null, null), tmpParameters);
-                tmpIoStream.flush();
-                tmpImageWriter.dispose();
-                tmpIoStream.close();
-                return tmpByteArrayOutputStream.toByteArray();
-            } else {
+            ImageWriter tmpImageWriter = GraphicsUtils.getImageWriter(ImageFileType.JPG);
+            if (tmpImageWriter == null) {
                 return null;
             }
+            ByteArrayOutputStream tmpByteArrayOutputStream = new ByteArrayOutputStream(ModelDefinitions.BUFFER_SIZE);
+            // NOTE: Memory cache avoids temporary cache files of ImageIO
+            try (ImageOutputStream tmpIoStream = new MemoryCacheImageOutputStream(tmpByteArrayOutputStream)) {
+                GraphicsUtils.writeImage(tmpImageWriter, aBufferedImage, ImageFileType.JPG, tmpIoStream);
+            }
+            return tmpByteArrayOutputStream.toByteArray();
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return null;
@@ -438,26 +398,137 @@ public final class GraphicsUtils {
     /**
      * Decompresses JPEG encoded byte array (from method
      * convertBufferedImageToJpegEncodedByteArray()) to buffered image. NOTE:
-     * This method MUST be static synchronized otherwise images may be corrupt.
+     * Thread-safe since image readers are confined to the calling thread.
      *
      * @param aJpegEncodedByteArray JPEG encoded byte array (from method
      * convertBufferedImageToJpegEncodedByteArray())
      * @return Buffered image or null if buffered image could not be created
      */
-    public static synchronized BufferedImage convertJpegEncodedByteArrayToBufferedImage(byte[] aJpegEncodedByteArray) {
+    public static BufferedImage convertJpegEncodedByteArrayToBufferedImage(byte[] aJpegEncodedByteArray) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aJpegEncodedByteArray == null) {
             return null;
         }
 
         // </editor-fold>
-        try {
-            ByteArrayInputStream tmpByteArrayInputStream = new ByteArrayInputStream(aJpegEncodedByteArray);
-            return ImageIO.read(tmpByteArrayInputStream);
+        ImageReader tmpImageReader = GraphicsUtils.threadJpegImageReader.get();
+        if (tmpImageReader == null) {
+            Iterator<ImageReader> tmpIterator = ImageIO.getImageReadersByFormatName(ImageFileType.JPG.toFileTypeEnding());
+            if (!tmpIterator.hasNext()) {
+                return null;
+            }
+            tmpImageReader = tmpIterator.next();
+            GraphicsUtils.threadJpegImageReader.set(tmpImageReader);
+        }
+        boolean tmpIsSuccessful = false;
+        try (ImageInputStream tmpIoStream = new MemoryCacheImageInputStream(new ByteArrayInputStream(aJpegEncodedByteArray))) {
+            tmpImageReader.setInput(tmpIoStream, true, true);
+            BufferedImage tmpImage = tmpImageReader.read(0);
+            tmpIsSuccessful = true;
+            return tmpImage;
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return null;
+        } finally {
+            if (tmpIsSuccessful) {
+                tmpImageReader.reset();
+            } else {
+                // NOTE: State of image reader is undefined after failure
+                tmpImageReader.dispose();
+                GraphicsUtils.threadJpegImageReader.remove();
+            }
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Private image I/O methods">
+    /**
+     * Writes image to file with image writer of calling thread or with fast
+     * PNG writer (see Preferences)
+     *
+     * @param anImage Image
+     * @param anImageFileType Image file type
+     * @param aFile File
+     * @return True: Operation was successful, false: No image writer is
+     * available for image
+     * @throws IOException Thrown if image can not be written
+     */
+    private static boolean writeImage(BufferedImage anImage, ImageFileType anImageFileType, File aFile) throws IOException {
+        Preferences tmpPreferences = Preferences.getInstance();
+        if (anImageFileType == ImageFileType.PNG && tmpPreferences.isFastPngWriter()) {
+            (new FastPngWriter(tmpPreferences.getPngDeflateLevel(), tmpPreferences.getNumberOfParallelCalculators())).write(anImage, aFile);
+            return true;
+        }
+        ImageWriter tmpImageWriter = GraphicsUtils.getImageWriter(anImageFileType);
+        if (tmpImageWriter == null || !tmpImageWriter.getOriginatingProvider().canEncodeImage(anImage)) {
+            return false;
+        }
+        // NOTE: Image output stream of file does NOT truncate an existing file (see ImageIO.write())
+        aFile.delete();
+        try (ImageOutputStream tmpIoStream = ImageIO.createImageOutputStream(aFile)) {
+            if (tmpIoStream == null) {
+                return false;
+            }
+            GraphicsUtils.writeImage(tmpImageWriter, anImage, anImageFileType, tmpIoStream);
+        }
+        return true;
+    }
+
+    /**
+     * Writes image to image output stream with image writer of calling
+     * thread (image output stream is NOT closed)
+     *
+     * @param anImageWriter Image writer of calling thread
+     * @param anImage Image
+     * @param anImageFileType Image file type
+     * @param anImageOutputStream Image output stream
+     * @throws IOException Thrown if image can not be written
+     */
+    private static void writeImage(ImageWriter anImageWriter, BufferedImage anImage, ImageFileType anImageFileType, ImageOutputStream anImageOutputStream) throws IOException {
+        boolean tmpIsSuccessful = false;
+        try {
+            anImageWriter.setOutput(anImageOutputStream);
+            ImageWriteParam tmpParameters = null;
+            if (anImageFileType == ImageFileType.JPG) {
+                tmpParameters = anImageWriter.getDefaultWriteParam();
+                tmpParameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                // Set quality of JPEG image (0.0F = low to 1.0F = high)
+                tmpParameters.setCompressionQuality(Preferences.getInstance().getJpegImageQuality());
+            }
+            anImageWriter.write(null, new IIOImage(anImage, null, null), tmpParameters);
+            anImageOutputStream.flush();
+            tmpIsSuccessful = true;
+        } finally {
+            if (tmpIsSuccessful) {
+                anImageWriter.reset();
+            } else {
+                // NOTE: State of image writer is undefined after failure
+                anImageWriter.dispose();
+                GraphicsUtils.threadImageWriterMap.get().remove(anImageFileType);
+            }
+        }
+    }
+
+    /**
+     * Returns image writer for image file type that is confined to the
+     * calling thread. NOTE: ImageIO image writer instances are NOT thread
+     * safe, but the ImageIO registry is.
+     *
+     * @param anImageFileType Image file type
+     * @return Image writer or null if no image writer is available
+     */
+    private static ImageWriter getImageWriter(ImageFileType anImageFileType) {
+        EnumMap<ImageFileType, ImageWriter> tmpImageWriterMap = GraphicsUtils.threadImageWriterMap.get();
+        ImageWriter tmpImageWriter = tmpImageWriterMap.get(anImageFileType);
+        if (tmpImageWriter == null) {
+            Iterator<ImageWriter> tmpIterator = ImageIO.getImageWritersByFormatName(anImageFileType.toFileTypeEnding());
+            if (!tmpIterator.hasNext()) {
+                return null;
+            }
+            tmpImageWriter = tmpIterator.next();
+            tmpImageWriterMap.put(anImageFileType, tmpImageWriter);
         }
+        return tmpImageWriter;
     }
     // </editor-fold>
     // </editor-fold>
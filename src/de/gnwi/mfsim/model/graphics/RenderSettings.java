@@ -0,0 +1,328 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.graphics;
+
+import de.gnwi.mfsim.model.util.GraphicsModeEnum;
+import de.gnwi.mfsim.model.util.ImageStorageEnum;
+import de.gnwi.mfsim.model.util.ParticleColorDisplayEnum;
+import java.awt.Color;
+
+/**
+ * Immutable snapshot of the render settings of slicers and graphics
+ * factories. A snapshot is captured once per render job (see
+ * Preferences.getRenderSettings()) so that changes of preferences never
+ * affect a running render job.
+ */
+public final class RenderSettings {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Number of slices per view
+     */
+    private final int numberOfSlicesPerView;
+
+    /**
+     * Index of first slice
+     */
+    private final int firstSliceIndex;
+
+    /**
+     * True: Single slice display, false: Otherwise
+     */
+    private final boolean isSingleSliceDisplay;
+
+    /**
+     * Depth attenuation of slicer
+     */
+    private final double depthAttenuationSlicer;
+
+    /**
+     * Simulation box magnification percentage
+     */
+    private final int simulationBoxMagnificationPercentage;
+
+    /**
+     * X-shift in pixel of slicer
+     */
+    private final int xShiftInPixelSlicer;
+
+    /**
+     * Y-shift in pixel of slicer
+     */
+    private final int yShiftInPixelSlicer;
+
+    /**
+     * Frame color of slicer
+     */
+    private final Color frameColorSlicer;
+
+    /**
+     * Background color of simulation box for slicer
+     */
+    private final Color simulationBoxBackgroundColorSlicer;
+
+    /**
+     * Slicer graphics mode
+     */
+    private final GraphicsModeEnum slicerGraphicsMode;
+
+    /**
+     * Image storage mode
+     */
+    private final ImageStorageEnum imageStorageMode;
+
+    /**
+     * Particle color display mode
+     */
+    private final ParticleColorDisplayEnum particleColorDisplayMode;
+
+    /**
+     * Specular white size of slicer
+     */
+    private final float specularWhiteSizeSlicer;
+
+    /**
+     * Focus factor in x-direction of radial gradient paint
+     */
+    private final float radialGradientPaintFocusFactorX;
+
+    /**
+     * Focus factor in y-direction of radial gradient paint
+     */
+    private final float radialGradientPaintFocusFactorY;
+
+    /**
+     * Radius magnification of radial gradient paint
+     */
+    private final float radialGradientPaintRadiusMagnification;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     * NOTE: NO checks are performed
+     *
+     * @param aNumberOfSlicesPerView Number of slices per view
+     * @param aFirstSliceIndex Index of first slice
+     * @param anIsSingleSliceDisplay True: Single slice display, false:
+     * Otherwise
+     * @param aDepthAttenuationSlicer Depth attenuation of slicer
+     * @param aSimulationBoxMagnificationPercentage Simulation box
+     * magnification percentage
+     * @param aXshiftInPixelSlicer X-shift in pixel of slicer
+     * @param aYshiftInPixelSlicer Y-shift in pixel of slicer
+     * @param aFrameColorSlicer Frame color of slicer
+     * @param aSimulationBoxBackgroundColorSlicer Background color of
+     * simulation box for slicer
+     * @param aSlicerGraphicsMode Slicer graphics mode
+     * @param anImageStorageMode Image storage mode
+     * @param aParticleColorDisplayMode Particle color display mode
+     * @param aSpecularWhiteSizeSlicer Specular white size of slicer
+     * @param aRadialGradientPaintFocusFactorX Focus factor in x-direction of
+     * radial gradient paint
+     * @param aRadialGradientPaintFocusFactorY Focus factor in y-direction of
+     * radial gradient paint
+     * @param aRadialGradientPaintRadiusMagnification Radius magnification of
+     * radial gradient paint
+     */
+    public RenderSettings(
+        int aNumberOfSlicesPerView,
+        int aFirstSliceIndex,
+        boolean anIsSingleSliceDisplay,
+        double aDepthAttenuationSlicer,
+        int aSimulationBoxMagnificationPercentage,
+        int aXshiftInPixelSlicer,
+        int aYshiftInPixelSlicer,
+        Color aFrameColorSlicer,
+        Color aSimulationBoxBackgroundColorSlicer,
+        GraphicsModeEnum aSlicerGraphicsMode,
+        ImageStorageEnum anImageStorageMode,
+        ParticleColorDisplayEnum aParticleColorDisplayMode,
+        float aSpecularWhiteSizeSlicer,
+        float aRadialGradientPaintFocusFactorX,
+        float aRadialGradientPaintFocusFactorY,
+        float aRadialGradientPaintRadiusMagnification
+    ) {
+        this.numberOfSlicesPerView = aNumberOfSlicesPerView;
+        this.firstSliceIndex = aFirstSliceIndex;
+        this.isSingleSliceDisplay = anIsSingleSliceDisplay;
+        this.depthAttenuationSlicer = aDepthAttenuationSlicer;
+        this.simulationBoxMagnificationPercentage = aSimulationBoxMagnificationPercentage;
+        this.xShiftInPixelSlicer = aXshiftInPixelSlicer;
+        this.yShiftInPixelSlicer = aYshiftInPixelSlicer;
+        this.frameColorSlicer = aFrameColorSlicer;
+        this.simulationBoxBackgroundColorSlicer = aSimulationBoxBackgroundColorSlicer;
+        this.slicerGraphicsMode = aSlicerGraphicsMode;
+        this.imageStorageMode = anImageStorageMode;
+        this.particleColorDisplayMode = aParticleColorDisplayMode;
+        this.specularWhiteSizeSlicer = aSpecularWhiteSizeSlicer;
+        this.radialGradientPaintFocusFactorX = aRadialGradientPaintFocusFactorX;
+        this.radialGradientPaintFocusFactorY = aRadialGradientPaintFocusFactorY;
+        this.radialGradientPaintRadiusMagnification = aRadialGradientPaintRadiusMagnification;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get only)">
+    /**
+     * Number of slices per view
+     *
+     * @return Number of slices per view
+     */
+    public int getNumberOfSlicesPerView() {
+        return this.numberOfSlicesPerView;
+    }
+
+    /**
+     * Index of first slice
+     *
+     * @return Index of first slice
+     */
+    public int getFirstSliceIndex() {
+        return this.firstSliceIndex;
+    }
+
+    /**
+     * True: Single slice display, false: Otherwise
+     *
+     * @return True: Single slice display, false: Otherwise
+     */
+    public boolean isSingleSliceDisplay() {
+        return this.isSingleSliceDisplay;
+    }
+
+    /**
+     * Depth attenuation of slicer
+     *
+     * @return Depth attenuation of slicer
+     */
+    public double getDepthAttenuationSlicer() {
+        return this.depthAttenuationSlicer;
+    }
+
+    /**
+     * Simulation box magnification percentage
+     *
+     * @return Simulation box magnification percentage
+     */
+    public int getSimulationBoxMagnificationPercentage() {
+        return this.simulationBoxMagnificationPercentage;
+    }
+
+    /**
+     * X-shift in pixel of slicer
+     *
+     * @return X-shift in pixel of slicer
+     */
+    public int getXshiftInPixelSlicer() {
+        return this.xShiftInPixelSlicer;
+    }
+
+    /**
+     * Y-shift in pixel of slicer
+     *
+     * @return Y-shift in pixel of slicer
+     */
+    public int getYshiftInPixelSlicer() {
+        return this.yShiftInPixelSlicer;
+    }
+
+    /**
+     * Frame color of slicer
+     *
+     * @return Frame color of slicer
+     */
+    public Color getFrameColorSlicer() {
+        return this.frameColorSlicer;
+    }
+
+    /**
+     * Background color of simulation box for slicer
+     *
+     * @return Background color of simulation box for slicer
+     */
+    public Color getSimulationBoxBackgroundColorSlicer() {
+        return this.simulationBoxBackgroundColorSlicer;
+    }
+
+    /**
+     * Slicer graphics mode
+     *
+     * @return Slicer graphics mode
+     */
+    public GraphicsModeEnum getSlicerGraphicsMode() {
+        return this.slicerGraphicsMode;
+    }
+
+    /**
+     * Image storage mode
+     *
+     * @return Image storage mode
+     */
+    public ImageStorageEnum getImageStorageMode() {
+        return this.imageStorageMode;
+    }
+
+    /**
+     * Particle color display mode
+     *
+     * @return Particle color display mode
+     */
+    public ParticleColorDisplayEnum getParticleColorDisplayMode() {
+        return this.particleColorDisplayMode;
+    }
+
+    /**
+     * Specular white size of slicer
+     *
+     * @return Specular white size of slicer
+     */
+    public float getSpecularWhiteSizeSlicer() {
+        return this.specularWhiteSizeSlicer;
+    }
+
+    /**
+     * Focus factor in x-direction of radial gradient paint
+     *
+     * @return Focus factor in x-direction of radial gradient paint
+     */
+    public float getRadialGradientPaintFocusFactorX() {
+        return this.radialGradientPaintFocusFactorX;
+    }
+
+    /**
+     * Focus factor in y-direction of radial gradient paint
+     *
+     * @return Focus factor in y-direction of radial gradient paint
+     */
+    public float getRadialGradientPaintFocusFactorY() {
+        return this.radialGradientPaintFocusFactorY;
+    }
+
+    /**
+     * Radius magnification of radial gradient paint
+     *
+     * @return Radius magnification of radial gradient paint
+     */
+    public float getRadialGradientPaintRadiusMagnification() {
+        return this.radialGradientPaintRadiusMagnification;
+    }
+    // </editor-fold>
+
+}
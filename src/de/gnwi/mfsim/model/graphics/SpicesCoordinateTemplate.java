@@ -0,0 +1,125 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.graphics;
+
+import java.util.Arrays;
+
+/**
+ * Relative coordinate template of a molecular structure: Each particle of a
+ * part of a Spices is located at a multiple of a step vector along the line 
+ * from the first to the last particle coordinate. The template stores these 
+ * step indices so that particle coordinates of copies of the molecular 
+ * structure are obtained by a simple translation/rotation of the template 
+ * instead of a repeated Spices layout. NOTE: The template is independent of 
+ * the bond length (which only determines the length of the step vector).
+ */
+public class SpicesCoordinateTemplate {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Particles of the parts (first index: part index, second index: particle
+     * index in part)
+     */
+    private final String[][] particlesOfParts;
+
+    /**
+     * Step indices of the particles of the parts (first index: part index, 
+     * second index: particle index in part). NOTE: Null for parts with a single 
+     * particle.
+     */
+    private final int[][] stepIndices;
+
+    /**
+     * Number of steps between the first and last particle of the parts (index:
+     * part index)
+     */
+    private final int[] numberOfSteps;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aParticlesOfParts Particles of the parts (first index: part 
+     * index, second index: particle index in part)
+     * @param aStepIndices Step indices of the particles of the parts (first 
+     * index: part index, second index: particle index in part, null for parts
+     * with a single particle)
+     * @param aNumberOfSteps Number of steps between the first and last 
+     * particle of the parts (index: part index)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public SpicesCoordinateTemplate(String[][] aParticlesOfParts, int[][] aStepIndices, int[] aNumberOfSteps) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aParticlesOfParts == null) {
+            throw new IllegalArgumentException("aParticlesOfParts is null.");
+        }
+        if (aStepIndices == null || aStepIndices.length != aParticlesOfParts.length) {
+            throw new IllegalArgumentException("aStepIndices is illegal.");
+        }
+        if (aNumberOfSteps == null || aNumberOfSteps.length != aParticlesOfParts.length) {
+            throw new IllegalArgumentException("aNumberOfSteps is illegal.");
+        }
+        // </editor-fold>
+        this.particlesOfParts = aParticlesOfParts;
+        this.stepIndices = aStepIndices;
+        this.numberOfSteps = aNumberOfSteps;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns if template matches particles of parts
+     *
+     * @param aParticlesOfParts Particles of the parts (first index: part 
+     * index, second index: particle index in part)
+     * @return True: Template matches particles of parts, false: Otherwise
+     */
+    public boolean isMatching(String[][] aParticlesOfParts) {
+        return Arrays.deepEquals(this.particlesOfParts, aParticlesOfParts);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties">
+    /**
+     * Step indices of the particles of a part. NOTE: No checks are performed 
+     * due to performance reasons.
+     *
+     * @param aPartIndex Part index
+     * @return Step indices of the particles of the part (null for part with
+     * single particle). NOTE: Returned array is NOT allowed to be changed.
+     */
+    public int[] getStepIndices(int aPartIndex) {
+        return this.stepIndices[aPartIndex];
+    }
+
+    /**
+     * Number of steps between the first and last particle of a part. NOTE: No
+     * checks are performed due to performance reasons.
+     *
+     * @param aPartIndex Part index
+     * @return Number of steps between the first and last particle of the part
+     */
+    public int getNumberOfSteps(int aPartIndex) {
+        return this.numberOfSteps[aPartIndex];
+    }
+    // </editor-fold>
+
+}
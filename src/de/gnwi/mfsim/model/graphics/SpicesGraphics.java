@@ -21,9 +21,12 @@ package de.gnwi.mfsim.model.graphics;
 
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
 import de.gnwi.mfsim.model.graphics.particle.IGraphicalParticle;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.spices.Spices;
 import de.gnwi.spices.PointInSpace;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Spices for graphics
@@ -32,6 +35,26 @@ import java.util.HashMap;
  */
 public class SpicesGraphics extends Spices {
 
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Molecular structure string to coordinate template map (shared by all 
+     * instances)
+     */
+    private static final ConcurrentHashMap<String, SpicesCoordinateTemplate> coordinateTemplateMap = new ConcurrentHashMap<>(100);
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Coordinate template
+     */
+    private SpicesCoordinateTemplate coordinateTemplate = null;
+
+    /**
+     * True: Coordinate template is not available, false: Otherwise
+     */
+    private boolean isCoordinateTemplateUnavailable = false;
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="Constructors">
     /**
      * ** Sets all properties of a Spices object.
@@ -279,6 +302,7 @@ public class SpicesGraphics extends Spices {
             // </editor-fold>
         } else {
             // <editor-fold defaultstate="collapsed" desc="Several particles in molecular structure">
+            SpicesCoordinateTemplate tmpCoordinateTemplate = this.getCoordinateTemplate();
             for (int i = 0; i < tmpPartsCount; i++) {
                 tmpPartLength = this.partOfSpices[i].getInnerParticles().length;
                 for (int j = 0; j < aFirstParticleCoordinates.length; j++) {
@@ -286,6 +310,9 @@ public class SpicesGraphics extends Spices {
                     if (this.partOfSpices[i].getInnerParticles().length == 1) {
                         aFirstParticleCoordinates[j].setGraphicalParticle(aParticleToGraphicalParticleMap.get(this.partOfSpices[i].getInnerParticles()[0]));
                         tmpInterimResult = new GraphicalParticlePosition[]{aFirstParticleCoordinates[j]};
+                    } else if (tmpCoordinateTemplate != null) {
+                        tmpInterimResult = this.getCoordinatesOfTokensFromTemplate(tmpCoordinateTemplate, i, aParticleToGraphicalParticleMap,
+                                aFirstParticleCoordinates[j], aLastParticleCoordinates[j], aBondLength);
                     } else {
                         tmpInterimResult = this.getCoordinatesOfTokens(this, i, aParticleToGraphicalParticleMap,
                                 aFirstParticleCoordinates[j], aLastParticleCoordinates[j], aBondLength);
@@ -300,6 +327,15 @@ public class SpicesGraphics extends Spices {
     }
     // </editor-fold>
     //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Clears cached coordinate templates of molecular structures
+     */
+    public static void clearCoordinateTemplateCache() {
+        SpicesGraphics.coordinateTemplateMap.clear();
+    }
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="Private GraphicalParticlePosition related methods">
     /**
      * Get coordinate of tokens. NOTE: No checks are performed due to
@@ -338,6 +374,147 @@ public class SpicesGraphics extends Spices {
         }
         return tmpParticlePosition;
     }
+
+    /**
+     * Get coordinate of tokens from coordinate template. NOTE: Arithmetic is 
+     * identical to Spices layout so that coordinates are identical. No checks 
+     * are performed due to performance reasons.
+     *
+     * @param aCoordinateTemplate Coordinate template
+     * @param aPartIndex: Index of the part
+     * @param aParticleToGraphicalParticleMap HashMap that maps particle to its
+     * corresponding graphicalParticle
+     * @param aFirstParticleCoordinate First particle coordinate
+     * @param aLastParticleCoordinate Last particle coordinate
+     * @param aBondLength Bond length
+     * @return GraphicalParticlePosition of each particle of the part
+     */
+    private GraphicalParticlePosition[] getCoordinatesOfTokensFromTemplate(
+        SpicesCoordinateTemplate aCoordinateTemplate,
+        int aPartIndex,
+        HashMap<String, IGraphicalParticle> aParticleToGraphicalParticleMap, 
+        GraphicalParticlePosition aFirstParticleCoordinate,
+        GraphicalParticlePosition aLastParticleCoordinate, 
+        double aBondLength) {
+        int[] tmpParticleIndices = this.partOfSpices[aPartIndex].getInnerParticleIndices();
+        int[] tmpStepIndices = aCoordinateTemplate.getStepIndices(aPartIndex);
+        double tmpNumberOfSteps = (double) aCoordinateTemplate.getNumberOfSteps(aPartIndex);
+        double tmpFirstX = aFirstParticleCoordinate.getX();
+        double tmpFirstY = aFirstParticleCoordinate.getY();
+        double tmpFirstZ = aFirstParticleCoordinate.getZ();
+        double tmpDeltaX = aLastParticleCoordinate.getX() - tmpFirstX;
+        double tmpDeltaY = aLastParticleCoordinate.getY() - tmpFirstY;
+        double tmpDeltaZ = aLastParticleCoordinate.getZ() - tmpFirstZ;
+        double tmpDistance = Math.sqrt(tmpDeltaX * tmpDeltaX + tmpDeltaY * tmpDeltaY + tmpDeltaZ * tmpDeltaZ);
+        double tmpStepX;
+        double tmpStepY;
+        double tmpStepZ;
+        if (tmpDistance < tmpNumberOfSteps * aBondLength) {
+            // Molecule is compressed between first and last particle coordinate
+            tmpStepX = tmpDeltaX / tmpNumberOfSteps;
+            tmpStepY = tmpDeltaY / tmpNumberOfSteps;
+            tmpStepZ = tmpDeltaZ / tmpNumberOfSteps;
+        } else {
+            tmpStepX = tmpDeltaX * aBondLength / tmpDistance;
+            tmpStepY = tmpDeltaY * aBondLength / tmpDistance;
+            tmpStepZ = tmpDeltaZ * aBondLength / tmpDistance;
+        }
+        GraphicalParticlePosition[] tmpParticlePosition = new GraphicalParticlePosition[tmpStepIndices.length];
+        for (int i = 0; i < tmpStepIndices.length; i++) {
+            double tmpStepIndex = (double) tmpStepIndices[i];
+            tmpParticlePosition[i] = new GraphicalParticlePosition(
+                aParticleToGraphicalParticleMap.get(this.outerStructureTokens[tmpParticleIndices[i]]),
+                tmpFirstX + tmpStepIndex * tmpStepX,
+                tmpFirstY + tmpStepIndex * tmpStepY,
+                tmpFirstZ + tmpStepIndex * tmpStepZ
+            );
+        }
+        return tmpParticlePosition;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private coordinate template related methods">
+    /**
+     * Returns coordinate template of this Spices. NOTE: The template is taken 
+     * from the shared cache of molecular structures or created (and cached) 
+     * if not available.
+     *
+     * @return Coordinate template or null if template is not available
+     */
+    private SpicesCoordinateTemplate getCoordinateTemplate() {
+        if (this.coordinateTemplate != null || this.isCoordinateTemplateUnavailable) {
+            return this.coordinateTemplate;
+        }
+        String[][] tmpParticlesOfParts = new String[this.partOfSpices.length][];
+        for (int i = 0; i < this.partOfSpices.length; i++) {
+            tmpParticlesOfParts[i] = this.partOfSpices[i].getInnerParticles();
+        }
+        SpicesCoordinateTemplate tmpCoordinateTemplate = SpicesGraphics.coordinateTemplateMap.get(this.inputStructure);
+        if (tmpCoordinateTemplate == null || !tmpCoordinateTemplate.isMatching(tmpParticlesOfParts)) {
+            boolean tmpIsCached = tmpCoordinateTemplate == null;
+            tmpCoordinateTemplate = this.createCoordinateTemplate(tmpParticlesOfParts);
+            if (tmpCoordinateTemplate != null 
+                && tmpIsCached 
+                && SpicesGraphics.coordinateTemplateMap.size() < ModelDefinitions.SPICES_COORDINATE_TEMPLATE_MAXIMUM_NUMBER
+            ) {
+                SpicesGraphics.coordinateTemplateMap.putIfAbsent(this.inputStructure, tmpCoordinateTemplate);
+            }
+        }
+        this.coordinateTemplate = tmpCoordinateTemplate;
+        this.isCoordinateTemplateUnavailable = tmpCoordinateTemplate == null;
+        return this.coordinateTemplate;
+    }
+
+    /**
+     * Creates coordinate template with a single Spices layout of all parts: 
+     * With a step vector of length 1 along the x-axis the x-coordinates of 
+     * the particles are their step indices.
+     *
+     * @param aParticlesOfParts Particles of the parts (first index: part 
+     * index, second index: particle index in part)
+     * @return Coordinate template or null if layout can not be represented by
+     * a template
+     */
+    private SpicesCoordinateTemplate createCoordinateTemplate(String[][] aParticlesOfParts) {
+        try {
+            int[][] tmpStepIndices = new int[this.partOfSpices.length][];
+            int[] tmpNumberOfSteps = new int[this.partOfSpices.length];
+            // NOTE: Distance is larger than any number of steps so that step length is bond length 1
+            double tmpDistance = 2.0 * (double) Math.max(1, this.numberOfTotalParticles);
+            PointInSpace tmpFirstParticleCoordinate = new PointInSpace(0.0, 0.0, 0.0);
+            PointInSpace tmpLastParticleCoordinate = new PointInSpace(tmpDistance, 0.0, 0.0);
+            for (int i = 0; i < this.partOfSpices.length; i++) {
+                if (aParticlesOfParts[i] == null) {
+                    return null;
+                }
+                if (aParticlesOfParts[i].length > 1) {
+                    PointInSpace[] tmpParticleCoordinates = 
+                        this.getCoordinatesOfTokens(this, i, tmpFirstParticleCoordinate, tmpLastParticleCoordinate, 1.0);
+                    if (tmpParticleCoordinates == null || tmpParticleCoordinates.length != aParticlesOfParts[i].length) {
+                        return null;
+                    }
+                    tmpStepIndices[i] = new int[tmpParticleCoordinates.length];
+                    for (int k = 0; k < tmpParticleCoordinates.length; k++) {
+                        double tmpX = tmpParticleCoordinates[k].getX();
+                        if (tmpParticleCoordinates[k].getY() != 0.0 
+                            || tmpParticleCoordinates[k].getZ() != 0.0 
+                            || tmpX < 0.0 
+                            || tmpX != Math.rint(tmpX)
+                        ) {
+                            // Layout is not collinear with integer steps
+                            return null;
+                        }
+                        tmpStepIndices[i][k] = (int) tmpX;
+                        tmpNumberOfSteps[i] = Math.max(tmpNumberOfSteps[i], tmpStepIndices[i][k]);
+                    }
+                }
+            }
+            return new SpicesCoordinateTemplate(aParticlesOfParts, tmpStepIndices, tmpNumberOfSteps);
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return null;
+        }
+    }
     // </editor-fold>
 
 }
@@ -20,11 +20,11 @@
 package de.gnwi.mfsim.model.graphics.factory;
 
 import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
 import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionArrayList;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
-import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import java.awt.AlphaComposite;
 import java.awt.Color;
@@ -85,6 +85,11 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
      */
     private boolean isIntermediateImageCreation;
 
+    /**
+     * Render settings snapshot of render job
+     */
+    private final RenderSettings renderSettings;
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -95,8 +100,10 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
      * @param aHeight The height of the main image in pixel
      * @param anIsIntermediateImageCreation True: Intermediate images are
      * created, false: Attenuation image is returned as intermediate image
+     * @param aRenderSettings Render settings snapshot of render job
      */
-    public BufferedImageGraphicsFactory(int aWidth, int aHeight, boolean anIsIntermediateImageCreation) {
+    public BufferedImageGraphicsFactory(int aWidth, int aHeight, boolean anIsIntermediateImageCreation, RenderSettings aRenderSettings) {
+        this.renderSettings = aRenderSettings;
         this.isIntermediateImageCreation = anIsIntermediateImageCreation;
         this.initialize(aWidth, aHeight);
     }
@@ -287,7 +294,7 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
         // Number of molecule particles is O(100): Set capacity to 1000
         tmpMoleculeParticleStringMap = new HashMap<String, String>(1000);
         tmpSelectionInfoStringMap = new HashMap<>(1000);
-        tmpfractions = new float[]{0.0f, Preferences.getInstance().getSpecularWhiteSizeSlicer(), 1.0f};
+        tmpfractions = new float[]{0.0f, this.renderSettings.getSpecularWhiteSizeSlicer(), 1.0f};
         tmpColors = new Color[3];
         // </editor-fold>
         GraphicalParticlePosition[] tmpGraphicalParticlePositions = aGraphicalParticlePositionArrayList.getGraphicalParticlePositions();
@@ -312,7 +319,7 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
                     }
                 } else if (!tmpMoleculeParticleStringMap.containsKey(tmpGraphicalParticle.getMoleculeParticleString())) {
                     Color tmpGraphicalParticleColor = null;
-                    switch (Preferences.getInstance().getParticleColorDisplayMode()) {
+                    switch (this.renderSettings.getParticleColorDisplayMode()) {
                         case MOLECULE_COLOR_MODE:
                             tmpGraphicalParticleColor = tmpGraphicalParticle.getMoleculeColor();
                             break;
@@ -367,7 +374,7 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
         // this.masterImage = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_ARGB);
         this.masterImage.setAccelerationPriority(1.0f);
         this.masterImageGraphics2D = this.masterImage.createGraphics();
-        this.masterImageGraphics2D.setColor(Preferences.getInstance().getSimulationBoxBackgroundColorSlicer());
+        this.masterImageGraphics2D.setColor(this.renderSettings.getSimulationBoxBackgroundColorSlicer());
         this.masterImageGraphics2D.fillRect(0, 0, this.width, this.height);
         this.masterImageGraphics2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER));
         this.attenuation = 0f;
@@ -404,9 +411,9 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="RadialGradientPaint for 3D effect">
             RadialGradientPaint tmpRadialGradientPaint = new RadialGradientPaint(
-                    tmpRadiusInPixelAsFloat * Preferences.getInstance().getRadialGradientPaintFocusFactorX(),
-                    tmpRadiusInPixelAsFloat * Preferences.getInstance().getRadialGradientPaintFocusFactorY(),
-                    tmpRadiusInPixelAsFloat * Preferences.getInstance().getRadialGradientPaintRadiusMagnification(),
+                    tmpRadiusInPixelAsFloat * this.renderSettings.getRadialGradientPaintFocusFactorX(),
+                    tmpRadiusInPixelAsFloat * this.renderSettings.getRadialGradientPaintFocusFactorY(),
+                    tmpRadiusInPixelAsFloat * this.renderSettings.getRadialGradientPaintRadiusMagnification(),
                     aFractions,
                     aColors);
 
@@ -445,7 +452,7 @@ public class BufferedImageGraphicsFactory implements IGraphicsFactory {
 
             tmpGraphics2D = this.attenuationImage.createGraphics();
             tmpGraphics2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, this.attenuation));
-            tmpGraphics2D.setColor(Preferences.getInstance().getSimulationBoxBackgroundColorSlicer());
+            tmpGraphics2D.setColor(this.renderSettings.getSimulationBoxBackgroundColorSlicer());
             tmpGraphics2D.fillRect(0, 0, this.width, this.height);
         } finally {
             if (tmpGraphics2D != null) {
@@ -20,11 +20,11 @@
 package de.gnwi.mfsim.model.graphics.factory;
 
 import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
 import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionArrayList;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
-import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import java.awt.AlphaComposite;
 import java.awt.Color;
@@ -117,6 +117,11 @@ public class PixelGraphicsFactory implements IGraphicsFactory {
      */
     private BufferedImage intermediateImage;
 
+    /**
+     * Render settings snapshot of render job
+     */
+    private final RenderSettings renderSettings;
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -127,8 +132,10 @@ public class PixelGraphicsFactory implements IGraphicsFactory {
      * @param aHeight The height of the main image in pixel
      * @param anIsIntermediateImageCreation True: Intermediate images are
      * created, false: Attenuation image is returned as intermediate image
+     * @param aRenderSettings Render settings snapshot of render job
      */
-    public PixelGraphicsFactory(int aWidth, int aHeight, boolean anIsIntermediateImageCreation) {
+    public PixelGraphicsFactory(int aWidth, int aHeight, boolean anIsIntermediateImageCreation, RenderSettings aRenderSettings) {
+        this.renderSettings = aRenderSettings;
         this.isIntermediateImageCreation = anIsIntermediateImageCreation;
         this.conversionRedArray = new int[256];
         this.conversionGreenArray = new int[256];
@@ -471,7 +478,7 @@ public class PixelGraphicsFactory implements IGraphicsFactory {
         // Number of molecule particles is O(100): Set capacity to 1000
         tmpMoleculeParticleStringMap = new HashMap<>(1000);
         tmpSelectionInfoStringMap = new HashMap<>(1000);
-        tmpfractions = new float[]{0.0f, Preferences.getInstance().getSpecularWhiteSizeSlicer(), 1.0f};
+        tmpfractions = new float[]{0.0f, this.renderSettings.getSpecularWhiteSizeSlicer(), 1.0f};
         tmpColors = new Color[3];
         // </editor-fold>
         GraphicalParticlePosition[] tmpGraphicalParticlePositions = aGraphicalParticlePositionArrayList.getGraphicalParticlePositions();
@@ -496,7 +503,7 @@ public class PixelGraphicsFactory implements IGraphicsFactory {
                     }
                 } else if (!tmpMoleculeParticleStringMap.containsKey(tmpGraphicalParticle.getMoleculeParticleString())) {
                     Color tmpGraphicalParticleColor = null;
-                    switch (Preferences.getInstance().getParticleColorDisplayMode()) {
+                    switch (this.renderSettings.getParticleColorDisplayMode()) {
                         case MOLECULE_COLOR_MODE:
                             tmpGraphicalParticleColor = tmpGraphicalParticle.getMoleculeColor();
                             break;
@@ -714,7 +721,7 @@ public class PixelGraphicsFactory implements IGraphicsFactory {
         this.width = aWidth;
         this.height = aHeight;
 
-        Color tmpBackgroundColor = Preferences.getInstance().getSimulationBoxBackgroundColorSlicer();
+        Color tmpBackgroundColor = this.renderSettings.getSimulationBoxBackgroundColorSlicer();
         this.backgroundColorPixel = tmpBackgroundColor.getRGB();
         this.backgroundRed = tmpBackgroundColor.getRed();
         this.backgroundGreen = tmpBackgroundColor.getGreen();
@@ -754,9 +761,9 @@ public class PixelGraphicsFactory implements IGraphicsFactory {
             // <editor-fold defaultstate="collapsed" desc="RadialGradientPaint for 3D effect">
             RadialGradientPaint tmpRadialGradientPaint = 
                 new RadialGradientPaint(
-                    tmpRadiusInPixelAsFloat * Preferences.getInstance().getRadialGradientPaintFocusFactorX(),
-                    tmpRadiusInPixelAsFloat * Preferences.getInstance().getRadialGradientPaintFocusFactorY(),
-                    tmpRadiusInPixelAsFloat * Preferences.getInstance().getRadialGradientPaintRadiusMagnification(),
+                    tmpRadiusInPixelAsFloat * this.renderSettings.getRadialGradientPaintFocusFactorX(),
+                    tmpRadiusInPixelAsFloat * this.renderSettings.getRadialGradientPaintFocusFactorY(),
+                    tmpRadiusInPixelAsFloat * this.renderSettings.getRadialGradientPaintRadiusMagnification(),
                     aFractions,
                     aColors
                 );
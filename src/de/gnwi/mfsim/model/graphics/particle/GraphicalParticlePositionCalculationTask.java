@@ -19,6 +19,11 @@
  */
 package de.gnwi.mfsim.model.graphics.particle;
 
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.ManagedExecutorSession;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import de.gnwi.mfsim.model.metrics.MetricsName;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
 import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.compartment.CompartmentContainer;
 import de.gnwi.mfsim.model.graphics.SpicesGraphics;
@@ -26,6 +31,7 @@ import de.gnwi.mfsim.model.graphics.body.BodyXyLayer;
 import de.gnwi.mfsim.model.graphics.body.BodyXyLayerSingleSurfaceEnum;
 import de.gnwi.mfsim.model.graphics.body.BodySphere;
 import de.gnwi.mfsim.model.graphics.body.BodyInterface;
+import de.gnwi.mfsim.model.graphics.body.BodyTypeEnum;
 import de.gnwi.mfsim.model.particleStructure.SpicesPool;
 import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.MiscUtilityMethods;
@@ -37,6 +43,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import de.gnwi.mfsim.model.util.ProgressTaskInterface;
 import java.beans.PropertyChangeListener;
@@ -77,7 +86,12 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
     /**
      * True: Task was stopped, false: Otherwise
      */
-    private boolean isStopped;
+    private volatile boolean isStopped;
+
+    /**
+     * True: Internal error occurred in a subtask, false: Otherwise
+     */
+    private volatile boolean isInternalError;
 
     /**
      * True: Task finished, false: Otherwise
@@ -114,6 +128,16 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
      * Progress value
      */
     private int progressValue;
+
+    /**
+     * Total number of particles
+     */
+    private int totalNumberOfParticles;
+
+    /**
+     * Number of calculated particles (for progress)
+     */
+    private int numberOfCalculatedParticles;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -132,6 +156,7 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
         // </editor-fold>
         this.isStarted = false;
         this.isStopped = false;
+        this.isInternalError = false;
         this.isFinished = false;
         this.compartmentContainer = aCompartmentContainer;
         this.moleculeToParticlesMap = null;
@@ -139,6 +164,8 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
         this.graphicalParticlePositionInfo = null;
         this.propertyChangeSupport = new PropertyChangeSupport(this);
         this.progressValue = -1;
+        this.totalNumberOfParticles = 0;
+        this.numberOfCalculatedParticles = 0;
     }
     // </editor-fold>
     //
@@ -227,15 +254,14 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
     public Boolean call() throws Exception {
         // Save number of trials for compartment
         int tmpOldNumberOfTrialsForCompartment = Preferences.getInstance().getNumberOfTrialsForCompartment();
+        long tmpCalculationStartTime = MetricsRegistry.getInstance().startTimer();
+        // Value items with rows that are sorted with protein data first
+        LinkedList<ValueItem> tmpSortedValueItemList = new LinkedList<ValueItem>();
         try {
             // <editor-fold defaultstate="collapsed" desc="Task starts. Set progress in percent to 0.">
             this.isStarted = true;
             this.setProgressValue(0);
             // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Set variables">
-            // Miscellaneous utility methods
-            MiscUtilityMethods tmpMiscUtilityMethods = new MiscUtilityMethods();
-            // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Set minimum number of trials for compartment">
             // Compartment trials may lead to very long start geometry 
             // calculations which are NOT necessary for simple viewing tasks
@@ -254,703 +280,93 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
             // <editor-fold defaultstate="collapsed" desc="Initialize this.graphicalParticlePositions">
             int tmpTotalNumberOfParticlesInSimulation = this.compartmentContainer.getTotalNumberOfParticles();
             this.graphicalParticlePositions = new GraphicalParticlePosition[tmpTotalNumberOfParticlesInSimulation];
-            int tmpGraphicalParticlePositionsIndex = 0;
+            this.totalNumberOfParticles = tmpTotalNumberOfParticlesInSimulation;
+            this.numberOfCalculatedParticles = 0;
             // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="GraphicalParticlePositions in compartments">
+            // <editor-fold defaultstate="collapsed" desc="Create subtasks">
+            // NOTE: Every body (compartment) and the bulk are processed by 
+            //       an independent subtask that writes to its own preallocated 
+            //       range of this.graphicalParticlePositions. Rows of a single 
+            //       body are processed sequentially since rows with protein 
+            //       data exclude volume for subsequent rows. Each subtask 
+            //       starts with the deterministic random seed value that a 
+            //       sequential calculation would have reached so that the 
+            //       result does not depend on the number of threads.
+            LinkedList<Callable<Boolean>> tmpSubtaskList = new LinkedList<Callable<Boolean>>();
+            long tmpDeterministicRandomSeed = Preferences.getInstance().getDeterministicRandomSeed();
+            int tmpFirstIndex = 0;
+            // <editor-fold defaultstate="collapsed" desc="Subtasks for compartments">
             // IMPORTANT: Clear possible old lists of excluded spheres of all bodies
             this.compartmentContainer.getCompartmentBox().clearExcludedSphereListsOfBodies();
             ArrayList<BodyInterface> tmpBodyList = this.compartmentContainer.getCompartmentBox().getBodies();
-            if (tmpBodyList.size() > 0) {
+            for (BodyInterface tmpBody : tmpBodyList) {
+                // <editor-fold defaultstate="collapsed" desc="Set value items">
                 ValueItem tmpGeometryDataValueItem = null;
                 ValueItem tmpChemicalCompositionValueItem = null;
-                for (BodyInterface tmpBody : tmpBodyList) {
-                    switch (tmpBody.getBodyType()) {
-                        // <editor-fold defaultstate="collapsed" desc="Spheres">
-                        case SPHERE:
-                            // <editor-fold defaultstate="collapsed" desc="Set value items">
-                            BodySphere tmpSphere = (BodySphere) tmpBody;
-                            // Sphere contains geometry data value item
-                            tmpGeometryDataValueItem = tmpSphere.getGeometryDataValueItem();
-                            if (tmpGeometryDataValueItem == null) {
-                                // Fire property change to notify property change listeners about cancellation due to internal error
-                                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                return returnCancelled();
-                            }
+                switch (tmpBody.getBodyType()) {
+                    case SPHERE:
+                        // Sphere contains geometry data value item
+                        tmpGeometryDataValueItem = ((BodySphere) tmpBody).getGeometryDataValueItem();
+                        if (tmpGeometryDataValueItem != null) {
                             // Get corresponding chemical composition value item
                             tmpChemicalCompositionValueItem = this.compartmentContainer.getSphereChemicalCompositionValueItemOfBlock(tmpGeometryDataValueItem.getBlockName());
-                            if (tmpChemicalCompositionValueItem == null) {
-                                // Fire property change to notify property change listeners about cancellation due to internal error
-                                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                return returnCancelled();
-                            }
-                            // </editor-fold>
-                            // <editor-fold defaultstate="collapsed" desc="Sort matrix rows with protein data first">
-                            // IMPORTANT in sphere: Sort so that rows with protein data come first
-                            tmpChemicalCompositionValueItem.sortMatrixRowsWithProteinDataRowsFirst();
-                            // </editor-fold>
-                            // <editor-fold defaultstate="collapsed" desc="Create GraphicalParticlePositions">
-                            for (int i = 0; i < tmpChemicalCompositionValueItem.getMatrixRowCount(); i++) {
-                                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                if (this.isStopped) {
-                                    return returnCancelled();
-                                }
-                                // </editor-fold>
-                                // <editor-fold defaultstate="collapsed" desc="Increment deterministic random seed value">
-                                Preferences.getInstance().incrementDeterministicRandomSeed();
-                                // </editor-fold>
-                                // <editor-fold defaultstate="collapsed" desc="Set molecule information">
-                                // Molecule name
-                                String tmpMoleculeName = tmpChemicalCompositionValueItem.getValue(i, 0);
-                                // Molecular structure and possible protein data
-                                String tmpMolecularStructureString = tmpChemicalCompositionValueItem.getValue(i, 1);
-                                boolean tmpIsSingleParticleMolecule = this.particlePattern.matcher(tmpMolecularStructureString).matches();
-                                String tmpProteinData = "";
-                                if (tmpChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
-                                    tmpProteinData = tmpChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).getProteinData();
-                                }
-                                // Quantity in volume
-                                int tmpQuantityInVolume = tmpChemicalCompositionValueItem.getValueAsInt(i, 5);
-                                // Quantity on surface
-                                int tmpQuantityOnSurface = tmpChemicalCompositionValueItem.getValueAsInt(i, 6);
-                                // </editor-fold>
-                                // <editor-fold defaultstate="collapsed" desc="Set GraphicalParticlePositions">
-                                if (tmpQuantityInVolume > 0 || tmpQuantityOnSurface > 0) {
-                                    if (this.graphicsUtilityMethods.isProtein3dStructureInSphere(tmpChemicalCompositionValueItem, i)) {
-                                        // <editor-fold defaultstate="collapsed" desc="Protein data are used for 3D structure">
-                                        if (tmpQuantityOnSurface > 0 || tmpProteinData.isEmpty()) {
-                                            // Fire property change to notify property change listeners about cancellation due to internal error
-                                            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                            return returnCancelled();
-                                        }
-                                        // Amino acids MUST already be initialized
-                                        // Initialize tmpPdbToDpd
-                                        PdbToDpd tmpPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
-                                        boolean tmpIsProteinRandom3DOrientation = false;
-                                        if (this.graphicsUtilityMethods.isRandom3dStructureGeometryInSphere(tmpChemicalCompositionValueItem, i)) {
-                                            tmpIsProteinRandom3DOrientation = true;
-                                            if (Preferences.getInstance().isDeterministicRandom()) {
-                                                tmpPdbToDpd.setSeed(Preferences.getInstance().getDeterministicRandomSeed());
-                                            }
-                                        } else {
-                                            tmpPdbToDpd.setDefaultRotation();
-                                        }
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                            return returnCancelled();
-                                        }
-                                        // </editor-fold>
-                                        if (tmpQuantityInVolume == 1) {
-                                            // <editor-fold defaultstate="collapsed" desc="1 protein in sphere">
-                                            tmpPdbToDpd.setCenter(tmpSphere.getBodyCenter().getX(), tmpSphere.getBodyCenter().getY(), tmpSphere.getBodyCenter().getZ());
-                                            tmpPdbToDpd.setRadius(tmpSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
-                                            if (tmpIsProteinRandom3DOrientation) {
-                                                tmpPdbToDpd.setRandomOrientation();
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                return returnCancelled();
-                                            }
-
-                                            // </editor-fold>
-                                            // Set tmpProteinGraphicalParticlePositionsArray
-                                            SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                                            int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
-                                            SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
-                                            HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleMap = this.moleculeToParticlesMap.get(tmpMoleculeName);
-                                            HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleInterfaceMap = new HashMap<String, IGraphicalParticle>(tmpParticleToGraphicalParticleMap.size());
-                                            for (String tmpParticle : tmpParticleToGraphicalParticleMap.keySet()) {
-                                                tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
-                                            }
-                                            GraphicalParticlePosition[] tmpProteinGraphicalParticlePositionsArray = new GraphicalParticlePosition[tmpTotalNumberOfParticlesOfProtein];
-                                            double tmpInitialValue = 0.0;
-                                            for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
-                                                tmpProteinGraphicalParticlePositionsArray[j] = new GraphicalParticlePosition(tmpInitialValue, tmpInitialValue, tmpInitialValue);
-                                            }
-                                            tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                return returnCancelled();
-                                            }
-
-                                            // </editor-fold>
-                                            // Copy to this.graphicalParticlePositions
-                                            for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
-                                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
-                                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
-                                            }
-                                            // </editor-fold>
-                                        } else {
-                                            // <editor-fold defaultstate="collapsed" desc="Multiple proteins in sphere">
-                                            // Determine radius of protein
-                                            SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                                            int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
-                                            SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
-                                            double tmpRadiusOfProtein = this.miscUtilityMethods.getRadiusOfParticlesInDpdBox(tmpTotalNumberOfParticlesOfProtein,
-                                                    this.compartmentContainer.getDensityInfoValueItem().getValueAsDouble());
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // Set tmpParticleToGraphicalParticleInterfaceMap
-                                            HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleMap = this.moleculeToParticlesMap.get(tmpMoleculeName);
-                                            HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleInterfaceMap
-                                                    = new HashMap<String, IGraphicalParticle>(tmpParticleToGraphicalParticleMap.size());
-                                            for (String tmpParticle : tmpParticleToGraphicalParticleMap.keySet()) {
-                                                tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // Determine non-overlapping spheres for proteins
-                                            LinkedList<BodySphere> tmpSphereList = 
-                                                tmpSphere.getNonOverlappingRandomSpheres(
-                                                    tmpQuantityInVolume, 
-                                                    tmpRadiusOfProtein,
-                                                    Preferences.getInstance().getNumberOfTrialsForCompartment()
-                                                );
-                                            for (BodySphere tmpSingleSphere : tmpSphereList) {
-                                                tmpPdbToDpd.setCenter(tmpSingleSphere.getBodyCenter().getX(), tmpSingleSphere.getBodyCenter().getY(), tmpSingleSphere.getBodyCenter().getZ());
-                                                tmpPdbToDpd.setRadius(tmpSingleSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
-                                                // Set tmpProteinGraphicalParticlePositionsArray
-                                                GraphicalParticlePosition[] tmpProteinGraphicalParticlePositionsArray = new GraphicalParticlePosition[tmpTotalNumberOfParticlesOfProtein];
-                                                double tmpInitialValue = 0.0;
-                                                for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
-                                                    tmpProteinGraphicalParticlePositionsArray[j] = new GraphicalParticlePosition(tmpInitialValue, tmpInitialValue, tmpInitialValue);
-                                                }
-                                                if (tmpIsProteinRandom3DOrientation) {
-                                                    tmpPdbToDpd.setRandomOrientation();
-                                                }
-                                                tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
-                                                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                                if (this.isStopped) {
-                                                    // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                    tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                    PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                    return returnCancelled();
-                                                }
-                                                // </editor-fold>
-                                                // Copy to this.graphicalParticlePositions
-                                                for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
-                                                    this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
-                                                    this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
-                                                }
-                                            }
-                                            // </editor-fold>
-                                        }
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                            tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                            return returnCancelled();
-                                        }
-
-                                        // </editor-fold>
-                                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                        // </editor-fold>
-                                    } else {
-                                        // <editor-fold defaultstate="collapsed" desc="No protein data are used">
-                                        GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
-                                        GraphicalParticlePosition[] tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
-                                        if (tmpQuantityInVolume > 0) {
-                                            if (tmpIsSingleParticleMolecule) {
-                                                // If single particle molecule use tmpOldNumberOfTrialsForCompartment
-                                                tmpSphere.fillRandomPointsInVolumeWithExcludingSpheres(
-                                                    tmpFirstParticleCoordinates, 
-                                                    0, 
-                                                    tmpQuantityInVolume, 
-                                                    tmpOldNumberOfTrialsForCompartment
-                                                );
-                                                tmpLastParticleCoordinates = tmpFirstParticleCoordinates;
-                                            } else {
-                                                tmpSphere.fillRandomPointsInVolumeWithExcludingSpheres(
-                                                    tmpFirstParticleCoordinates, 
-                                                    tmpLastParticleCoordinates, 
-                                                    0, 
-                                                    tmpQuantityInVolume,
-                                                    tmpBondLength, 
-                                                    Preferences.getInstance().getNumberOfTrialsForCompartment()
-                                                );
-                                            }
-                                        }
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            return returnCancelled();
-                                        }
-                                        // </editor-fold>
-                                        if (tmpQuantityOnSurface > 0) {
-                                            if (this.graphicsUtilityMethods.isUpperSurfaceGeometryInSphere(tmpChemicalCompositionValueItem, i)) {
-                                                tmpSphere.fillUpperRandomPointsOnSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                            } else if (this.graphicsUtilityMethods.isMiddleSurfaceGeometryInSphere(tmpChemicalCompositionValueItem, i)) {
-                                                tmpSphere.fillMiddleRandomPointsOnSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                            } else {
-                                                tmpSphere.fillRandomPointsOnSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                            }
-                                            // Center of sphere
-                                            GraphicalParticlePosition tmpCenterOfSphere = new GraphicalParticlePosition(tmpSphere.getBodyCenter().getX(), tmpSphere.getBodyCenter().getY(),
-                                                    tmpSphere.getBodyCenter().getZ());
-                                            Arrays.fill(tmpLastParticleCoordinates, tmpQuantityInVolume, tmpQuantityInVolume + tmpQuantityOnSurface, tmpCenterOfSphere);
-                                        }
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            return returnCancelled();
-                                        }
-                                        // </editor-fold>
-                                        // Calculate coordinates of molecular particles
-                                        SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                                        GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = tmpSpices.getParticleCoordinates(this.moleculeToParticlesMap.get(tmpMoleculeName),
-                                                tmpFirstParticleCoordinates, tmpLastParticleCoordinates, tmpBondLength);
-                                        SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
-                                        // Copy to this.graphicalParticlePositions
-                                        for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
-                                            for (int k = 0; k < tmpGraphicalParticlePositionsArray[j].length; k++) {
-                                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpGraphicalParticlePositionsArray[j][k];
-                                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
-                                            }
-                                        }
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            return returnCancelled();
-                                        }
-                                        // </editor-fold>
-                                        // </editor-fold>
-                                    }
-                                }
-                                // </editor-fold>
-                                // <editor-fold defaultstate="collapsed" desc="Set progress">
-                                this.setProgressValue(tmpMiscUtilityMethods.getPercentWithMax99(tmpGraphicalParticlePositionsIndex + 1, tmpTotalNumberOfParticlesInSimulation));
-                                // </editor-fold>
-                            }
-                            // </editor-fold>
-                            // <editor-fold defaultstate="collapsed" desc="Restore matrix rows that were sorted with protein data first">
-                            tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                            // </editor-fold>
-                            break;
-                        // </editor-fold>
-                        // <editor-fold defaultstate="collapsed" desc="xy-Layers">
-                        case XY_LAYER:
-                            // <editor-fold defaultstate="collapsed" desc="Set value items">
-                            BodyXyLayer tmpXyLayer = (BodyXyLayer) tmpBody;
-                            // Xy-layer contains geometry data value item
-                            tmpGeometryDataValueItem = tmpXyLayer.getGeometryDataValueItem();
-                            if (tmpGeometryDataValueItem == null) {
-                                // Fire property change to notify property change listeners about cancellation due to internal error
-                                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                return returnCancelled();
-                            }
-                            // Corresponding geometry display value item
-                            ValueItem tmpGeometryDisplayValueItem = tmpGeometryDataValueItem.getDisplayValueItem();
-                            if (tmpGeometryDisplayValueItem == null) {
-                                // Fire property change to notify property change listeners about cancellation due to internal error
-                                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                return returnCancelled();
-                            }
+                        }
+                        break;
+                    case XY_LAYER:
+                        // Xy-layer contains geometry data value item
+                        tmpGeometryDataValueItem = ((BodyXyLayer) tmpBody).getGeometryDataValueItem();
+                        // Corresponding geometry display value item MUST exist
+                        if (tmpGeometryDataValueItem != null && tmpGeometryDataValueItem.getDisplayValueItem() != null) {
                             // Get corresponding chemical composition value item
                             tmpChemicalCompositionValueItem = this.compartmentContainer.getXyLayerChemicalCompositionValueItemOfBlock(tmpGeometryDataValueItem.getBlockName());
-                            if (tmpChemicalCompositionValueItem == null) {
-                                // Fire property change to notify property change listeners about cancellation due to internal error
-                                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                return returnCancelled();
-                            }
-
-                            // </editor-fold>
-                            // <editor-fold defaultstate="collapsed" desc="Sort matrix rows with protein data first">
-                            // IMPORTANT in xy-layer: Sort so that rows with protein data come first
-                            tmpChemicalCompositionValueItem.sortMatrixRowsWithProteinDataRowsFirst();
-                            // </editor-fold>
-                            // <editor-fold defaultstate="collapsed" desc="Create GraphicalParticlePositions">
-                            if (this.graphicsUtilityMethods.isLatticeGeometryInXyLayer(tmpChemicalCompositionValueItem)) {
-                                // <editor-fold defaultstate="collapsed" desc="Lattice positions in xy-layer">
-                                for (int i = 0; i < tmpChemicalCompositionValueItem.getMatrixRowCount(); i++) {
-                                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                    if (this.isStopped) {
-                                        // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                        tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                        return returnCancelled();
-                                    }
-                                    // </editor-fold>
-                                    // <editor-fold defaultstate="collapsed" desc="Set molecule information">
-                                    // Molecule name
-                                    String tmpMoleculeName = tmpChemicalCompositionValueItem.getValue(i, 0);
-                                    // Molecular structure
-                                    String tmpMolecularStructureString = tmpChemicalCompositionValueItem.getValue(i, 1);
-                                    // Quantity in volume
-                                    int tmpQuantityInVolume = tmpChemicalCompositionValueItem.getValueAsInt(i, 5);
-                                    // Quantity on surface
-                                    int tmpQuantityOnSurface = tmpChemicalCompositionValueItem.getValueAsInt(i, 6);
-
-                                    // </editor-fold>
-                                    // <editor-fold defaultstate="collapsed" desc="Set GraphicalParticlePositions">
-                                    if (tmpQuantityInVolume > 0 || tmpQuantityOnSurface > 0) {
-                                        GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
-                                        tmpXyLayer.getSimpleCubicLatticePointsInBuffer(tmpFirstParticleCoordinates, tmpBondLength);
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                            tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                            return returnCancelled();
-                                        }
-                                        // </editor-fold>
-                                        // Calculate coordinates of molecular particles
-                                        SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                                        GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = tmpSpices.getParticleCoordinates(this.moleculeToParticlesMap.get(tmpMoleculeName),
-                                                tmpFirstParticleCoordinates, tmpFirstParticleCoordinates, tmpBondLength);
-                                        SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
-                                        // Copy to this.graphicalParticlePositions
-                                        for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
-                                            for (int k = 0; k < tmpGraphicalParticlePositionsArray[j].length; k++) {
-                                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpGraphicalParticlePositionsArray[j][k];
-                                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
-                                            }
-                                        }
-                                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                        if (this.isStopped) {
-                                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                            tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                            return returnCancelled();
-                                        }
-
-                                        // </editor-fold>
-                                        // <editor-fold defaultstate="collapsed" desc="Set progress">
-                                        this.setProgressValue(tmpMiscUtilityMethods.getPercentWithMax99(tmpGraphicalParticlePositionsIndex + 1, tmpTotalNumberOfParticlesInSimulation));
-                                        // </editor-fold>
-                                        break;
-                                    }
-                                    // </editor-fold>
-                                }
-
-                                // </editor-fold>
-                            } else {
-                                // <editor-fold defaultstate="collapsed" desc="Random positions in xy-layer">
-                                for (int i = 0; i < tmpChemicalCompositionValueItem.getMatrixRowCount(); i++) {
-                                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                    if (this.isStopped) {
-                                        // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                        tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                        return returnCancelled();
-                                    }
-                                    // </editor-fold>
-                                    // <editor-fold defaultstate="collapsed" desc="Increment deterministic random seed value">
-                                    Preferences.getInstance().incrementDeterministicRandomSeed();
-
-                                    // </editor-fold>
-                                    // <editor-fold defaultstate="collapsed" desc="Set molecule information">
-                                    // Molecule name
-                                    String tmpMoleculeName = tmpChemicalCompositionValueItem.getValue(i, 0);
-                                    // Molecular structure and possible protein data
-                                    String tmpMolecularStructureString = tmpChemicalCompositionValueItem.getValue(i, 1);
-                                    boolean tmpIsSingleParticleMolecule = this.particlePattern.matcher(tmpMolecularStructureString).matches();
-                                    String tmpProteinData = "";
-                                    if (tmpChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
-                                        tmpProteinData = tmpChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).getProteinData();
-                                    }
-                                    // Quantity in volume
-                                    int tmpQuantityInVolume = tmpChemicalCompositionValueItem.getValueAsInt(i, 5);
-                                    // Quantity on surface
-                                    int tmpQuantityOnSurface = tmpChemicalCompositionValueItem.getValueAsInt(i, 6);
-                                    // </editor-fold>
-                                    // <editor-fold defaultstate="collapsed" desc="Set GraphicalParticlePositions">
-                                    if (tmpQuantityInVolume > 0 || tmpQuantityOnSurface > 0) {
-                                        if (this.graphicsUtilityMethods.is3dStructureGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                            // <editor-fold defaultstate="collapsed" desc="Protein data are used for 3D structure in spheres in xy-layer">
-                                            if (tmpQuantityOnSurface > 0 || tmpProteinData.isEmpty()) {
-                                                // Fire property change to notify property change listeners about cancellation due to internal error
-                                                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                                                return returnCancelled();
-                                            }
-                                            // Amino acids MUST already be initialized
-                                            // Initialize tmpPdbToDPD
-                                            PdbToDpd tmpPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
-                                            boolean tmpIsProteinRandom3DOrientation = false;
-                                            if (this.graphicsUtilityMethods.isRandom3dStructureGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                tmpIsProteinRandom3DOrientation = true;
-                                                if (Preferences.getInstance().isDeterministicRandom()) {
-                                                    tmpPdbToDpd.setSeed(Preferences.getInstance().getDeterministicRandomSeed());
-                                                }
-                                            } else {
-                                                tmpPdbToDpd.setDefaultRotation();
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // Determine radius of protein
-                                            SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                                            int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
-                                            SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
-                                            double tmpRadiusOfProtein = this.miscUtilityMethods.getRadiusOfParticlesInDpdBox(tmpTotalNumberOfParticlesOfProtein,
-                                                    this.compartmentContainer.getDensityInfoValueItem().getValueAsDouble());
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // Set tmpParticleToGraphicalParticleInterfaceMap
-                                            HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleMap = this.moleculeToParticlesMap.get(tmpMoleculeName);
-                                            HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleInterfaceMap
-                                                    = new HashMap<String, IGraphicalParticle>(tmpParticleToGraphicalParticleMap.size());
-                                            for (String tmpParticle : tmpParticleToGraphicalParticleMap.keySet()) {
-                                                tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // Determine non-overlapping spheres for proteins
-                                            LinkedList<BodySphere> tmpSphereList = 
-                                                tmpXyLayer.getNonOverlappingRandomSpheres(
-                                                    tmpQuantityInVolume, 
-                                                    tmpRadiusOfProtein,
-                                                    Preferences.getInstance().getNumberOfTrialsForCompartment()
-                                                );
-                                            for (BodySphere tmpSingleSphere : tmpSphereList) {
-                                                tmpPdbToDpd.setCenter(tmpSingleSphere.getBodyCenter().getX(), tmpSingleSphere.getBodyCenter().getY(), tmpSingleSphere.getBodyCenter().getZ());
-                                                tmpPdbToDpd.setRadius(tmpSingleSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
-                                                // Set tmpProteinGraphicalParticlePositionsArray
-                                                GraphicalParticlePosition[] tmpProteinGraphicalParticlePositionsArray = new GraphicalParticlePosition[tmpTotalNumberOfParticlesOfProtein];
-                                                double tmpInitialValue = 0.0;
-                                                for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
-                                                    tmpProteinGraphicalParticlePositionsArray[j] = new GraphicalParticlePosition(tmpInitialValue, tmpInitialValue, tmpInitialValue);
-                                                }
-                                                if (tmpIsProteinRandom3DOrientation) {
-                                                    tmpPdbToDpd.setRandomOrientation();
-                                                }
-                                                tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
-                                                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                                if (this.isStopped) {
-                                                    // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                    tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                    PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                                    return returnCancelled();
-                                                }
-                                                // </editor-fold>
-                                                // Copy to this.graphicalParticlePositions
-                                                for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
-                                                    this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
-                                                    this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
-                                                }
-                                            }
-                                            PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                return returnCancelled();
-                                            }
-
-                                            // </editor-fold>
-                                            // </editor-fold>
-                                        } else {
-                                            // <editor-fold defaultstate="collapsed" desc="No protein data">
-                                            GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
-                                            GraphicalParticlePosition[] tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
-                                            // Center of xy-layer
-                                            double tmpXyLayerCenterXCoordinate = tmpXyLayer.getBodyCenter().getX();
-                                            double tmpXyLayerCenterYCoordinate = tmpXyLayer.getBodyCenter().getY();
-                                            double tmpXyLayerCenterZCoordinate = tmpXyLayer.getBodyCenter().getZ();
-                                            double tmpHalfXLength = tmpXyLayer.getXLength() / 2.0;
-                                            double tmpHalfYLength = tmpXyLayer.getYLength() / 2.0;
-                                            double tmpHalfZLength = tmpXyLayer.getZLength() / 2.0;
-                                            double tmpOffsetX = tmpXyLayerCenterXCoordinate;
-                                            double tmpOffsetY = tmpXyLayerCenterYCoordinate;
-                                            double tmpOffsetZ = tmpXyLayerCenterZCoordinate;
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            if (tmpQuantityInVolume > 0) {
-                                                if (tmpIsSingleParticleMolecule) {
-                                                    // If single particle molecule use tmpOldNumberOfTrialsForCompartment
-                                                    tmpXyLayer.fillRandomPointsInVolumeWithExcludingSpheres(
-                                                        tmpFirstParticleCoordinates, 
-                                                        0, 
-                                                        tmpQuantityInVolume, 
-                                                        tmpOldNumberOfTrialsForCompartment
-                                                    );
-                                                    tmpLastParticleCoordinates = tmpFirstParticleCoordinates;
-                                                } else {
-                                                    tmpXyLayer.fillRandomPointsInVolumeWithExcludingSpheres(
-                                                        tmpFirstParticleCoordinates, 
-                                                        tmpLastParticleCoordinates, 
-                                                        0, 
-                                                        tmpQuantityInVolume,
-                                                        tmpBondLength, 
-                                                        Preferences.getInstance().getNumberOfTrialsForCompartment()
-                                                    );
-                                                }
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            if (tmpQuantityOnSurface > 0) {
-                                                if (this.graphicsUtilityMethods.isAllSurfacesGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                    tmpXyLayer.fillRandomPointsOnAllSurfaces(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                                    GraphicalParticlePosition tmpCenterOfXyLayer = new GraphicalParticlePosition(
-                                                            tmpXyLayer.getBodyCenter().getX(), tmpXyLayer.getBodyCenter().getY(), tmpXyLayer.getBodyCenter().getZ());
-                                                    Arrays.fill(tmpLastParticleCoordinates, tmpQuantityInVolume, tmpQuantityInVolume + tmpQuantityOnSurface, tmpCenterOfXyLayer);
-                                                } else {
-                                                    if (this.graphicsUtilityMethods.isSingleSurfaceGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                        // <editor-fold defaultstate="collapsed" desc="Single surface geometry">
-                                                        if (this.graphicsUtilityMethods.isSingleSurfaceXyTopGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XY_TOP;
-                                                            tmpOffsetZ = tmpXyLayerCenterZCoordinate - tmpHalfZLength;
-                                                            tmpXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpFirstParticleCoordinates[j].getY(), tmpOffsetZ);
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isSingleSurfaceXyBottomGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XY_BOTTOM;
-                                                            tmpOffsetZ = tmpXyLayerCenterZCoordinate + tmpHalfZLength;
-                                                            tmpXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpFirstParticleCoordinates[j].getY(), tmpOffsetZ);
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isSingleSurfaceYzLeftGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.YZ_LEFT;
-                                                            tmpOffsetX = tmpXyLayerCenterXCoordinate + tmpHalfXLength;
-                                                            tmpXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpOffsetX, tmpFirstParticleCoordinates[j].getY(), tmpFirstParticleCoordinates[j].getZ());
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isSingleSurfaceYzRightGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.YZ_RIGHT;
-                                                            tmpOffsetX = tmpXyLayerCenterXCoordinate - tmpHalfXLength;
-                                                            tmpXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpOffsetX, tmpFirstParticleCoordinates[j].getY(), tmpFirstParticleCoordinates[j].getZ());
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isSingleSurfaceXzFrontGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XZ_FRONT;
-                                                            tmpOffsetY = tmpXyLayerCenterYCoordinate + tmpHalfYLength;
-                                                            tmpXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpOffsetY, tmpFirstParticleCoordinates[j].getZ());
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isSingleSurfaceXzBackGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XZ_BACK;
-                                                            tmpOffsetY = tmpXyLayerCenterYCoordinate - tmpHalfYLength;
-                                                            tmpXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpOffsetY, tmpFirstParticleCoordinates[j].getZ());
-                                                            }
-                                                        }
-                                                        // </editor-fold>
-                                                    } else {
-                                                        // <editor-fold defaultstate="collapsed" desc="xy top and bottom surface geometry">
-                                                        if (this.graphicsUtilityMethods.isXyTopBottomGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            tmpXyLayer.fillRandomPointsOnTopBottomSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpFirstParticleCoordinates[j].getY(), tmpOffsetZ);
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isYzLeftRightGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            tmpXyLayer.fillRandomPointsOnLeftRightSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpOffsetX, tmpFirstParticleCoordinates[j].getY(), tmpFirstParticleCoordinates[j].getZ());
-                                                            }
-                                                        } else if (this.graphicsUtilityMethods.isXzFrontBackGeometryInXyLayer(tmpChemicalCompositionValueItem, i)) {
-                                                            tmpXyLayer.fillRandomPointsOnFrontBackSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
-                                                            for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
-                                                                tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpOffsetY, tmpFirstParticleCoordinates[j].getZ());
-                                                            }
-                                                        }
-                                                        // </editor-fold>
-                                                    }
-                                                }
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // Calculate coordinates of molecular particles
-                                            SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                                            GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = 
-                                                tmpSpices.getParticleCoordinates(
-                                                    this.moleculeToParticlesMap.get(tmpMoleculeName),
-                                                    tmpFirstParticleCoordinates, 
-                                                    tmpLastParticleCoordinates, 
-                                                    tmpBondLength
-                                                );
-                                            SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
-                                            // Copy to this.graphicalParticlePositions
-                                            for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
-                                                for (int k = 0; k < tmpGraphicalParticlePositionsArray[j].length; k++) {
-                                                    this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpGraphicalParticlePositionsArray[j][k];
-                                                    this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
-                                                }
-                                            }
-                                            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                            if (this.isStopped) {
-                                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                                tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                                                return returnCancelled();
-                                            }
-                                            // </editor-fold>
-                                            // </editor-fold>
-                                        }
-                                    }
-                                    // </editor-fold>
-                                    // <editor-fold defaultstate="collapsed" desc="Set progress">
-                                    this.setProgressValue(tmpMiscUtilityMethods.getPercentWithMax99(tmpGraphicalParticlePositionsIndex + 1, tmpTotalNumberOfParticlesInSimulation));
-                                    // </editor-fold>
-                                }
-                                // Clear list for possible spheres in xy-layer
-                                tmpXyLayer.clearExcludedSphereList();
-                                // </editor-fold>
-                            }
-                            // </editor-fold>
-                            // <editor-fold defaultstate="collapsed" desc="Restore matrix rows that were sorted with protein data first">
-                            tmpChemicalCompositionValueItem.restoreOriginalMatrixRowsAfterSorting();
-                            // </editor-fold>
-                            break;
-                        // </editor-fold>
-                        // <editor-fold defaultstate="collapsed" desc="Unknown body">
-                        default:
-                            // Unknown body type
-                            // Fire property change to notify property change listeners about cancellation due to internal error
-                            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                            return returnCancelled();
-                        // </editor-fold>
-                    }
+                        }
+                        break;
+                    default:
+                        // Unknown body type
+                        break;
                 }
+                if (tmpChemicalCompositionValueItem == null) {
+                    // Fire property change to notify property change listeners about cancellation due to internal error
+                    this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
+                    return returnCancelled();
+                }
+                // </editor-fold>
+                // <editor-fold defaultstate="collapsed" desc="Sort matrix rows with protein data first">
+                // IMPORTANT in compartment: Sort so that rows with protein data come first
+                tmpChemicalCompositionValueItem.sortMatrixRowsWithProteinDataRowsFirst();
+                tmpSortedValueItemList.add(tmpChemicalCompositionValueItem);
+                // </editor-fold>
+                // <editor-fold defaultstate="collapsed" desc="Add subtask">
+                boolean tmpIsLattice = 
+                    tmpBody.getBodyType() == BodyTypeEnum.XY_LAYER && this.graphicsUtilityMethods.isLatticeGeometryInXyLayer(tmpChemicalCompositionValueItem);
+                int tmpNumberOfParticles = this.getNumberOfParticles(tmpChemicalCompositionValueItem, false, tmpIsLattice);
+                if (tmpNumberOfParticles < 0) {
+                    // Fire property change to notify property change listeners about cancellation due to internal error
+                    this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
+                    return returnCancelled();
+                }
+                tmpSubtaskList.add(
+                    this.getSubtask(
+                        tmpBody, 
+                        tmpChemicalCompositionValueItem, 
+                        tmpIsLattice, 
+                        tmpFirstIndex, 
+                        tmpNumberOfParticles, 
+                        tmpDeterministicRandomSeed, 
+                        tmpBondLength, 
+                        tmpOldNumberOfTrialsForCompartment
+                    )
+                );
+                tmpFirstIndex += tmpNumberOfParticles;
+                // Deterministic random seed value is incremented for every 
+                // matrix row (except for lattice positions in xy-layer)
+                if (!tmpIsLattice) {
+                    tmpDeterministicRandomSeed += tmpChemicalCompositionValueItem.getMatrixRowCount();
+                }
+                // </editor-fold>
             }
             // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-            if (this.isStopped) {
-                return returnCancelled();
-            }
-            // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="GraphicalParticlePositions in bulk">
+            // <editor-fold defaultstate="collapsed" desc="Subtask for bulk">
             ValueItem tmpBulkInfoValueItem = this.compartmentContainer.getBulkInfoValueItem();
             if (tmpBulkInfoValueItem == null) {
                 // Fire property change to notify property change listeners about cancellation due to internal error
@@ -962,55 +378,382 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
             // <editor-fold defaultstate="collapsed" desc="Sort matrix rows with protein data first">
             // IMPORTANT in bulk: Sort so that rows with protein data come first
             tmpBulkInfoValueItem.sortMatrixRowsWithProteinDataRowsFirst();
+            tmpSortedValueItemList.add(tmpBulkInfoValueItem);
             // </editor-fold>
-            for (int i = 0; i < tmpBulkInfoValueItem.getMatrixRowCount(); i++) {
-                // <editor-fold defaultstate="collapsed" desc="Increment deterministic random seed value">
-                Preferences.getInstance().incrementDeterministicRandomSeed();
-                // IMPORTANT: After change of seed value re-initialize random value generation in compartment box
-                this.compartmentContainer.getCompartmentBox().initializeRandomValueGeneration();
-                // </editor-fold>
-                // <editor-fold defaultstate="collapsed" desc="Set molecule information">
-                // Molecule name
-                String tmpMoleculeName = tmpBulkInfoValueItem.getValue(i, 0);
-                // Molecular structure
-                String tmpMolecularStructureString = tmpBulkInfoValueItem.getValue(i, 1);
-                boolean tmpIsSingleParticleMolecule = this.particlePattern.matcher(tmpMolecularStructureString).matches();
-                String tmpProteinData = "";
-                if (tmpBulkInfoValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
-                    tmpProteinData = tmpBulkInfoValueItem.getValueItemMatrixElement(i, 1).getProteinData();
+            int tmpNumberOfBulkParticles = this.getNumberOfParticles(tmpBulkInfoValueItem, true, false);
+            if (tmpNumberOfBulkParticles < 0 || tmpFirstIndex + tmpNumberOfBulkParticles != tmpTotalNumberOfParticlesInSimulation) {
+                // Fire property change to notify property change listeners about cancellation due to internal error
+                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
+                return returnCancelled();
+            }
+            tmpSubtaskList.add(
+                this.getSubtask(
+                    null, 
+                    tmpBulkInfoValueItem, 
+                    false, 
+                    tmpFirstIndex, 
+                    tmpNumberOfBulkParticles, 
+                    tmpDeterministicRandomSeed, 
+                    tmpBondLength, 
+                    tmpOldNumberOfTrialsForCompartment
+                )
+            );
+            // </editor-fold>
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Prepare proteins in parallel">
+            LinkedList<String> tmpProteinDataList = new LinkedList<String>();
+            for (ValueItem tmpSortedValueItem : tmpSortedValueItemList) {
+                for (int i = 0; i < tmpSortedValueItem.getMatrixRowCount(); i++) {
+                    if (tmpSortedValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
+                        tmpProteinDataList.add(tmpSortedValueItem.getValueItemMatrixElement(i, 1).getProteinData());
+                    }
                 }
-                // Quantity
-                int tmpQuantity = tmpBulkInfoValueItem.getValueAsInt(i, 3);
-                // </editor-fold>
-                // <editor-fold defaultstate="collapsed" desc="Set graphical particle positions">
-                if (tmpQuantity > 0) {
-                    if (this.graphicsUtilityMethods.isProtein3dStructureInBulk(tmpBulkInfoValueItem, i)) {
-                        // <editor-fold defaultstate="collapsed" desc="Protein data are used for 3D structure in bulk">
-                        if (tmpProteinData.isEmpty()) {
-                            // Fire property change to notify property change listeners about cancellation due to internal error
-                            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                            return returnCancelled();
+            }
+            // NOTE: Failed preparations are reported by subtasks
+            PdbToDpdPool.getInstance().preparePdbToDpd(tmpProteinDataList);
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Execute subtasks">
+            boolean tmpIsSuccessful = true;
+            ManagedExecutorSession tmpExecutorSession = ManagedExecutor.getInstance().createSession(
+                WorkClassEnum.POST_PROCESSING, 
+                Math.max(1, Math.min(tmpSubtaskList.size(), Preferences.getInstance().getNumberOfParallelCalculators()))
+            );
+            try {
+                for (Future<Boolean> tmpFuture : tmpExecutorSession.invokeAll(tmpSubtaskList)) {
+                    if (!tmpFuture.get()) {
+                        tmpIsSuccessful = false;
+                    }
+                }
+            } catch (InterruptedException anException) {
+                // Stop running subtasks
+                this.stop();
+            } finally {
+                tmpExecutorSession.shutdown();
+                // IMPORTANT: Wait for running subtasks before memory is released
+                tmpExecutorSession.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+            if (this.isStopped) {
+                return returnCancelled();
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Check if this.graphicalParticlePositions is completely filled">
+            if (!tmpIsSuccessful || this.isInternalError || this.graphicalParticlePositions[this.graphicalParticlePositions.length - 1] == null) {
+                // Fire property change to notify property change listeners about cancellation due to internal error
+                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
+                return returnCancelled();
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set this.graphicalParticlePositionInfo">
+            // Parameter true: Compartments/Bulk exist
+            // Parameter -1: NOT defined
+            this.graphicalParticlePositionInfo = 
+                new GraphicalParticlePositionInfo(
+                    new GraphicalParticleInfo(
+                        this.moleculeToParticlesMap, 
+                        true
+                    ), 
+                    this.graphicalParticlePositions,
+                    this.compartmentContainer.getCompartmentBox().getBoxSizeInfo(), 
+                    this.compartmentContainer.getLengthConversionFactor(),
+                    -1,
+                    -1
+                );
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set this.isFinished to true BEFORE setting final progress in percent to 100">
+            this.isFinished = true;
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Task has successfully finished. IMPORTANT: Set progress in percent to 100">
+            this.setProgressValue(100);
+            // </editor-fold>
+            MetricsRegistry.getInstance().addToCounter(MetricsName.GRAPHICAL_PARTICLE_POSITIONS_CALCULATED, tmpTotalNumberOfParticlesInSimulation);
+            return true;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            // Fire property change to notify property change listeners about cancellation due to internal error
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
+            return this.returnCancelled();
+        } finally {
+            // <editor-fold defaultstate="collapsed" desc="Restore number of trials for compartment">
+            Preferences.getInstance().setNumberOfTrialsForCompartment(tmpOldNumberOfTrialsForCompartment);
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set deterministic random seed to default value">
+            Preferences.getInstance().setDefaultDeterministicRandomSeed();
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Restore matrix rows that were sorted with protein data first">
+            for (ValueItem tmpSortedValueItem : tmpSortedValueItemList) {
+                tmpSortedValueItem.restoreOriginalMatrixRowsAfterSorting();
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Release memory">
+            this.releaseMemory();
+            // </editor-fold>
+            MetricsRegistry.getInstance().stopTimer(MetricsName.GRAPHICAL_PARTICLE_POSITION_CALCULATION, tmpCalculationStartTime);
+        }
+    }
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- finalize">
+    /**
+     * Finalize method to end all memory claims and running threads. The method
+     * will called when the object is destroyed.
+     *
+     * @throws Throwable This should never happen.
+     *
+     */
+    @Override
+    public void finalize() throws Throwable {
+        super.finalize();
+        if (!this.isFinished) {
+            this.stop();
+        }
+    }
+    // </editor-fold>
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Subtask related methods">
+    /**
+     * Returns subtask for calculation of graphical particle positions in a
+     * compartment or in bulk
+     *
+     * @param aBody Body of compartment or null for bulk
+     * @param aValueItem Chemical composition value item of compartment or bulk
+     * info value item (with rows with protein data first)
+     * @param anIsLattice True: Lattice positions in xy-layer, false: Otherwise
+     * @param aFirstIndex First index in this.graphicalParticlePositions
+     * @param aNumberOfParticles Number of particles to be created
+     * @param aDeterministicRandomSeed Deterministic random seed value of
+     * subtask
+     * @param aBondLength Bond length
+     * @param anOldNumberOfTrialsForCompartment Number of trials for
+     * compartment of preferences (used for single particle molecules)
+     * @return Subtask that returns true if all particle positions were
+     * created, false otherwise
+     */
+    private Callable<Boolean> getSubtask(
+        final BodyInterface aBody, 
+        final ValueItem aValueItem, 
+        final boolean anIsLattice, 
+        final int aFirstIndex, 
+        final int aNumberOfParticles, 
+        final long aDeterministicRandomSeed, 
+        final double aBondLength, 
+        final int anOldNumberOfTrialsForCompartment
+    ) {
+        return new Callable<Boolean>() {
+
+            @Override
+            public Boolean call() {
+                // Independent deterministic random stream of subtask
+                Preferences.getInstance().setThreadDeterministicRandomSeed(aDeterministicRandomSeed);
+                try {
+                    GraphicalParticlePositionCalculationTask tmpTask = GraphicalParticlePositionCalculationTask.this;
+                    int tmpEndIndex;
+                    if (aBody == null) {
+                        tmpEndIndex = tmpTask.createGraphicalParticlePositionsInBulk(aValueItem, aFirstIndex, aBondLength, anOldNumberOfTrialsForCompartment);
+                    } else if (aBody.getBodyType() == BodyTypeEnum.SPHERE) {
+                        tmpEndIndex = tmpTask.createGraphicalParticlePositionsInSphere((BodySphere) aBody, aValueItem, aFirstIndex, aBondLength, anOldNumberOfTrialsForCompartment);
+                    } else if (anIsLattice) {
+                        tmpEndIndex = tmpTask.createLatticeGraphicalParticlePositionsInXyLayer((BodyXyLayer) aBody, aValueItem, aFirstIndex, aBondLength);
+                    } else {
+                        tmpEndIndex = tmpTask.createRandomGraphicalParticlePositionsInXyLayer((BodyXyLayer) aBody, aValueItem, aFirstIndex, aBondLength, anOldNumberOfTrialsForCompartment);
+                    }
+                    if (tmpEndIndex < 0) {
+                        return false;
+                    }
+                    if (tmpEndIndex != aFirstIndex + aNumberOfParticles) {
+                        // Not all particle positions could be created
+                        tmpTask.isInternalError = true;
+                        return false;
+                    }
+                    return true;
+                } catch (Exception anException) {
+                    ModelUtils.appendToLogfile(true, anException);
+                    GraphicalParticlePositionCalculationTask.this.isInternalError = true;
+                    return false;
+                } finally {
+                    Preferences.getInstance().removeThreadDeterministicRandomSeed();
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Returns number of particles of molecules in matrix rows of value item
+     *
+     * @param aValueItem Chemical composition value item of compartment or bulk
+     * info value item
+     * @param anIsBulk True: aValueItem is bulk info value item, false:
+     * aValueItem is chemical composition value item of compartment
+     * @param anIsLattice True: Lattice positions in xy-layer (only first row
+     * with molecules is used), false: Otherwise
+     * @return Number of particles or -1 if number could not be determined
+     */
+    private int getNumberOfParticles(ValueItem aValueItem, boolean anIsBulk, boolean anIsLattice) {
+        int tmpNumberOfParticles = 0;
+        for (int i = 0; i < aValueItem.getMatrixRowCount(); i++) {
+            int tmpNumberOfMolecules;
+            if (anIsBulk) {
+                tmpNumberOfMolecules = aValueItem.getValueAsInt(i, 3);
+            } else {
+                // Quantity in volume and quantity on surface
+                tmpNumberOfMolecules = aValueItem.getValueAsInt(i, 5) + aValueItem.getValueAsInt(i, 6);
+            }
+            if (tmpNumberOfMolecules > 0) {
+                SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(aValueItem.getValue(i, 1));
+                if (tmpSpices == null) {
+                    return -1;
+                }
+                tmpNumberOfParticles += tmpNumberOfMolecules * tmpSpices.getTotalNumberOfParticles();
+                SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                if (anIsLattice) {
+                    // NOTE: Lattice positions are only created for first row with molecules
+                    break;
+                }
+            }
+        }
+        return tmpNumberOfParticles;
+    }
+
+    /**
+     * True: Task was stopped or a subtask failed, false: Otherwise
+     *
+     * @return True: Task was stopped or a subtask failed, false: Otherwise
+     */
+    private boolean isCancelled() {
+        return this.isStopped || this.isInternalError;
+    }
+
+    /**
+     * Adds number of calculated particles and sets progress value
+     * accordingly
+     *
+     * @param aNumberOfParticles Number of calculated particles to be added
+     */
+    private synchronized void addToProgress(int aNumberOfParticles) {
+        this.numberOfCalculatedParticles += aNumberOfParticles;
+        this.setProgressValue(this.miscUtilityMethods.getPercentWithMax99(this.numberOfCalculatedParticles + 1, this.totalNumberOfParticles));
+    }
+
+    /**
+     * Creates graphical particle positions in sphere compartment
+     *
+     * @param aSphere Sphere compartment
+     * @param aChemicalCompositionValueItem Chemical composition value item
+     * of sphere (with rows with protein data first)
+     * @param aFirstIndex First index in this.graphicalParticlePositions
+     * @param aBondLength Bond length
+     * @param anOldNumberOfTrialsForCompartment Number of trials for
+     * compartment of preferences (used for single particle molecules)
+     * @return Index after last created graphical particle position or -1 if
+     * creation was cancelled or failed
+     * @throws Exception Thrown when an error occurred
+     */
+    private int createGraphicalParticlePositionsInSphere(
+        BodySphere aSphere, 
+        ValueItem aChemicalCompositionValueItem, 
+        int aFirstIndex, 
+        double aBondLength, 
+        int anOldNumberOfTrialsForCompartment
+    ) throws Exception {
+        int tmpGraphicalParticlePositionsIndex = aFirstIndex;
+        int tmpProgressIndex = aFirstIndex;
+        for (int i = 0; i < aChemicalCompositionValueItem.getMatrixRowCount(); i++) {
+            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+            if (this.isCancelled()) {
+                return -1;
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Increment deterministic random seed value">
+            Preferences.getInstance().incrementDeterministicRandomSeed();
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set molecule information">
+            // Molecule name
+            String tmpMoleculeName = aChemicalCompositionValueItem.getValue(i, 0);
+            // Molecular structure and possible protein data
+            String tmpMolecularStructureString = aChemicalCompositionValueItem.getValue(i, 1);
+            boolean tmpIsSingleParticleMolecule = this.particlePattern.matcher(tmpMolecularStructureString).matches();
+            String tmpProteinData = "";
+            if (aChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
+                tmpProteinData = aChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).getProteinData();
+            }
+            // Quantity in volume
+            int tmpQuantityInVolume = aChemicalCompositionValueItem.getValueAsInt(i, 5);
+            // Quantity on surface
+            int tmpQuantityOnSurface = aChemicalCompositionValueItem.getValueAsInt(i, 6);
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set GraphicalParticlePositions">
+            if (tmpQuantityInVolume > 0 || tmpQuantityOnSurface > 0) {
+                if (this.graphicsUtilityMethods.isProtein3dStructureInSphere(aChemicalCompositionValueItem, i)) {
+                    // <editor-fold defaultstate="collapsed" desc="Protein data are used for 3D structure">
+                    if (tmpQuantityOnSurface > 0 || tmpProteinData.isEmpty()) {
+                        // Internal error: Error is reported by call()
+                        this.isInternalError = true;
+                        return -1;
+                    }
+                    // Amino acids MUST already be initialized
+                    // Initialize tmpPdbToDpd
+                    PdbToDpd tmpPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
+                    boolean tmpIsProteinRandom3DOrientation = false;
+                    if (this.graphicsUtilityMethods.isRandom3dStructureGeometryInSphere(aChemicalCompositionValueItem, i)) {
+                        tmpIsProteinRandom3DOrientation = true;
+                        if (Preferences.getInstance().isDeterministicRandom()) {
+                            tmpPdbToDpd.setSeed(Preferences.getInstance().getDeterministicRandomSeed());
                         }
-                        // Amino acids MUST already be initialized
-                        // Initialize tmpPdbToDPD
-                        PdbToDpd tmpPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
-                        boolean tmpIsProteinRandom3DOrientation = false;
-                        if (this.graphicsUtilityMethods.isRandom3dStructureGeometryInBulk(tmpBulkInfoValueItem, i)) {
-                            tmpIsProteinRandom3DOrientation = true;
-                            if (Preferences.getInstance().isDeterministicRandom()) {
-                                tmpPdbToDpd.setSeed(Preferences.getInstance().getDeterministicRandomSeed());
-                            }
-                        } else {
-                            tmpPdbToDpd.setDefaultRotation();
+                    } else {
+                        tmpPdbToDpd.setDefaultRotation();
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    if (tmpQuantityInVolume == 1) {
+                        // <editor-fold defaultstate="collapsed" desc="1 protein in sphere">
+                        tmpPdbToDpd.setCenter(aSphere.getBodyCenter().getX(), aSphere.getBodyCenter().getY(), aSphere.getBodyCenter().getZ());
+                        tmpPdbToDpd.setRadius(aSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
+                        if (tmpIsProteinRandom3DOrientation) {
+                            tmpPdbToDpd.setRandomOrientation();
                         }
                         // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                            tmpBulkInfoValueItem.restoreOriginalMatrixRowsAfterSorting();
+                        if (this.isCancelled()) {
                             PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                            return returnCancelled();
+                            return -1;
                         }
+
                         // </editor-fold>
+                        // Set tmpProteinGraphicalParticlePositionsArray
+                        SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                        int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
+                        SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                        HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleMap = this.moleculeToParticlesMap.get(tmpMoleculeName);
+                        HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleInterfaceMap = new HashMap<String, IGraphicalParticle>(tmpParticleToGraphicalParticleMap.size());
+                        for (String tmpParticle : tmpParticleToGraphicalParticleMap.keySet()) {
+                            tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
+                        }
+                        GraphicalParticlePosition[] tmpProteinGraphicalParticlePositionsArray = new GraphicalParticlePosition[tmpTotalNumberOfParticlesOfProtein];
+                        double tmpInitialValue = 0.0;
+                        for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
+                            tmpProteinGraphicalParticlePositionsArray[j] = new GraphicalParticlePosition(tmpInitialValue, tmpInitialValue, tmpInitialValue);
+                        }
+                        tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
+                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                        if (this.isCancelled()) {
+                            return -1;
+                        }
+
+                        // </editor-fold>
+                        // Copy to this.graphicalParticlePositions
+                        for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
+                        }
+                        // </editor-fold>
+                    } else {
+                        // <editor-fold defaultstate="collapsed" desc="Multiple proteins in sphere">
                         // Determine radius of protein
                         SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
                         int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
@@ -1018,11 +761,9 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
                         double tmpRadiusOfProtein = this.miscUtilityMethods.getRadiusOfParticlesInDpdBox(tmpTotalNumberOfParticlesOfProtein,
                                 this.compartmentContainer.getDensityInfoValueItem().getValueAsDouble());
                         // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                            tmpBulkInfoValueItem.restoreOriginalMatrixRowsAfterSorting();
+                        if (this.isCancelled()) {
                             PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                            return returnCancelled();
+                            return -1;
                         }
                         // </editor-fold>
                         // Set tmpParticleToGraphicalParticleInterfaceMap
@@ -1033,21 +774,19 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
                             tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
                         }
                         // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                            tmpBulkInfoValueItem.restoreOriginalMatrixRowsAfterSorting();
+                        if (this.isCancelled()) {
                             PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                            return returnCancelled();
+                            return -1;
                         }
                         // </editor-fold>
                         // Determine non-overlapping spheres for proteins
-                        LinkedList<BodySphere> tmpNonOverlappingSphereList = 
-                            this.compartmentContainer.getCompartmentBox().getNonOverlappingRandomSpheres(
-                                tmpQuantity, 
+                        LinkedList<BodySphere> tmpSphereList = 
+                            aSphere.getNonOverlappingRandomSpheres(
+                                tmpQuantityInVolume, 
                                 tmpRadiusOfProtein,
                                 Preferences.getInstance().getNumberOfTrialsForCompartment()
                             );
-                        for (BodySphere tmpSingleSphere : tmpNonOverlappingSphereList) {
+                        for (BodySphere tmpSingleSphere : tmpSphereList) {
                             tmpPdbToDpd.setCenter(tmpSingleSphere.getBodyCenter().getX(), tmpSingleSphere.getBodyCenter().getY(), tmpSingleSphere.getBodyCenter().getZ());
                             tmpPdbToDpd.setRadius(tmpSingleSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
                             // Set tmpProteinGraphicalParticlePositionsArray
@@ -1061,236 +800,753 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
                             }
                             tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
                             // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                            if (this.isStopped) {
-                                // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                                tmpBulkInfoValueItem.restoreOriginalMatrixRowsAfterSorting();
+                            if (this.isCancelled()) {
                                 PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                                return returnCancelled();
+                                return -1;
                             }
                             // </editor-fold>
                             // Copy to this.graphicalParticlePositions
                             for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
                                 this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
-                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(true);
+                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
                             }
                         }
-                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
-                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            // IMPORTANT: Restore matrix rows that were sorted with protein data first
-                            tmpBulkInfoValueItem.restoreOriginalMatrixRowsAfterSorting();
-                            return returnCancelled();
-                        }
                         // </editor-fold>
-                        // </editor-fold>
-                    } else {
-                        // <editor-fold defaultstate="collapsed" desc="No protein data">
-                        GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantity];
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+
+                    // </editor-fold>
+                    PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                    // </editor-fold>
+                } else {
+                    // <editor-fold defaultstate="collapsed" desc="No protein data are used">
+                    GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
+                    GraphicalParticlePosition[] tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
+                    if (tmpQuantityInVolume > 0) {
                         if (tmpIsSingleParticleMolecule) {
-                            // If single particle molecule use tmpOldNumberOfTrialsForCompartment
-                            this.compartmentContainer.getCompartmentBox().fillFreeVolumeRandomPoints(
+                            // If single particle molecule use anOldNumberOfTrialsForCompartment
+                            aSphere.fillRandomPointsInVolumeWithExcludingSpheres(
                                 tmpFirstParticleCoordinates, 
                                 0, 
-                                tmpQuantity, 
-                                tmpOldNumberOfTrialsForCompartment
+                                tmpQuantityInVolume, 
+                                anOldNumberOfTrialsForCompartment
                             );
+                            tmpLastParticleCoordinates = tmpFirstParticleCoordinates;
                         } else {
-                            this.compartmentContainer.getCompartmentBox().fillFreeVolumeRandomPoints(
+                            aSphere.fillRandomPointsInVolumeWithExcludingSpheres(
                                 tmpFirstParticleCoordinates, 
+                                tmpLastParticleCoordinates, 
                                 0, 
-                                tmpQuantity, 
+                                tmpQuantityInVolume,
+                                aBondLength, 
                                 Preferences.getInstance().getNumberOfTrialsForCompartment()
                             );
                         }
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    if (tmpQuantityOnSurface > 0) {
+                        if (this.graphicsUtilityMethods.isUpperSurfaceGeometryInSphere(aChemicalCompositionValueItem, i)) {
+                            aSphere.fillUpperRandomPointsOnSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                        } else if (this.graphicsUtilityMethods.isMiddleSurfaceGeometryInSphere(aChemicalCompositionValueItem, i)) {
+                            aSphere.fillMiddleRandomPointsOnSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                        } else {
+                            aSphere.fillRandomPointsOnSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                        }
+                        // Center of sphere
+                        GraphicalParticlePosition tmpCenterOfSphere = new GraphicalParticlePosition(aSphere.getBodyCenter().getX(), aSphere.getBodyCenter().getY(),
+                                aSphere.getBodyCenter().getZ());
+                        Arrays.fill(tmpLastParticleCoordinates, tmpQuantityInVolume, tmpQuantityInVolume + tmpQuantityOnSurface, tmpCenterOfSphere);
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Calculate coordinates of molecular particles
+                    SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                    GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = tmpSpices.getParticleCoordinates(this.moleculeToParticlesMap.get(tmpMoleculeName),
+                            tmpFirstParticleCoordinates, tmpLastParticleCoordinates, aBondLength);
+                    SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                    // Copy to this.graphicalParticlePositions
+                    for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
+                        for (int k = 0; k < tmpGraphicalParticlePositionsArray[j].length; k++) {
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpGraphicalParticlePositionsArray[j][k];
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
+                        }
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // </editor-fold>
+                }
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set progress">
+            this.addToProgress(tmpGraphicalParticlePositionsIndex - tmpProgressIndex);
+            tmpProgressIndex = tmpGraphicalParticlePositionsIndex;
+            // </editor-fold>
+        }
+        return tmpGraphicalParticlePositionsIndex;
+    }
+
+    /**
+     * Creates graphical particle positions on lattice in xy-layer compartment
+     *
+     * @param anXyLayer Xy-layer compartment
+     * @param aChemicalCompositionValueItem Chemical composition value item
+     * of xy-layer (with rows with protein data first)
+     * @param aFirstIndex First index in this.graphicalParticlePositions
+     * @param aBondLength Bond length
+     * @return Index after last created graphical particle position or -1 if
+     * creation was cancelled or failed
+     * @throws Exception Thrown when an error occurred
+     */
+    private int createLatticeGraphicalParticlePositionsInXyLayer(
+        BodyXyLayer anXyLayer, 
+        ValueItem aChemicalCompositionValueItem, 
+        int aFirstIndex, 
+        double aBondLength
+    ) throws Exception {
+        int tmpGraphicalParticlePositionsIndex = aFirstIndex;
+        int tmpProgressIndex = aFirstIndex;
+        for (int i = 0; i < aChemicalCompositionValueItem.getMatrixRowCount(); i++) {
+            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+            if (this.isCancelled()) {
+                return -1;
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set molecule information">
+            // Molecule name
+            String tmpMoleculeName = aChemicalCompositionValueItem.getValue(i, 0);
+            // Molecular structure
+            String tmpMolecularStructureString = aChemicalCompositionValueItem.getValue(i, 1);
+            // Quantity in volume
+            int tmpQuantityInVolume = aChemicalCompositionValueItem.getValueAsInt(i, 5);
+            // Quantity on surface
+            int tmpQuantityOnSurface = aChemicalCompositionValueItem.getValueAsInt(i, 6);
+
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set GraphicalParticlePositions">
+            if (tmpQuantityInVolume > 0 || tmpQuantityOnSurface > 0) {
+                GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
+                anXyLayer.getSimpleCubicLatticePointsInBuffer(tmpFirstParticleCoordinates, aBondLength);
+                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                if (this.isCancelled()) {
+                    return -1;
+                }
+                // </editor-fold>
+                // Calculate coordinates of molecular particles
+                SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = tmpSpices.getParticleCoordinates(this.moleculeToParticlesMap.get(tmpMoleculeName),
+                        tmpFirstParticleCoordinates, tmpFirstParticleCoordinates, aBondLength);
+                SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                // Copy to this.graphicalParticlePositions
+                for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
+                    for (int k = 0; k < tmpGraphicalParticlePositionsArray[j].length; k++) {
+                        this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpGraphicalParticlePositionsArray[j][k];
+                        this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
+                    }
+                }
+                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                if (this.isCancelled()) {
+                    return -1;
+                }
+
+                // </editor-fold>
+                // <editor-fold defaultstate="collapsed" desc="Set progress">
+                this.addToProgress(tmpGraphicalParticlePositionsIndex - tmpProgressIndex);
+                tmpProgressIndex = tmpGraphicalParticlePositionsIndex;
+                // </editor-fold>
+                break;
+            }
+            // </editor-fold>
+        }
+        return tmpGraphicalParticlePositionsIndex;
+    }
+
+    /**
+     * Creates random graphical particle positions in xy-layer compartment
+     *
+     * @param anXyLayer Xy-layer compartment
+     * @param aChemicalCompositionValueItem Chemical composition value item
+     * of xy-layer (with rows with protein data first)
+     * @param aFirstIndex First index in this.graphicalParticlePositions
+     * @param aBondLength Bond length
+     * @param anOldNumberOfTrialsForCompartment Number of trials for
+     * compartment of preferences (used for single particle molecules)
+     * @return Index after last created graphical particle position or -1 if
+     * creation was cancelled or failed
+     * @throws Exception Thrown when an error occurred
+     */
+    private int createRandomGraphicalParticlePositionsInXyLayer(
+        BodyXyLayer anXyLayer, 
+        ValueItem aChemicalCompositionValueItem, 
+        int aFirstIndex, 
+        double aBondLength, 
+        int anOldNumberOfTrialsForCompartment
+    ) throws Exception {
+        int tmpGraphicalParticlePositionsIndex = aFirstIndex;
+        int tmpProgressIndex = aFirstIndex;
+        for (int i = 0; i < aChemicalCompositionValueItem.getMatrixRowCount(); i++) {
+            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+            if (this.isCancelled()) {
+                return -1;
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Increment deterministic random seed value">
+            Preferences.getInstance().incrementDeterministicRandomSeed();
+
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set molecule information">
+            // Molecule name
+            String tmpMoleculeName = aChemicalCompositionValueItem.getValue(i, 0);
+            // Molecular structure and possible protein data
+            String tmpMolecularStructureString = aChemicalCompositionValueItem.getValue(i, 1);
+            boolean tmpIsSingleParticleMolecule = this.particlePattern.matcher(tmpMolecularStructureString).matches();
+            String tmpProteinData = "";
+            if (aChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
+                tmpProteinData = aChemicalCompositionValueItem.getValueItemMatrixElement(i, 1).getProteinData();
+            }
+            // Quantity in volume
+            int tmpQuantityInVolume = aChemicalCompositionValueItem.getValueAsInt(i, 5);
+            // Quantity on surface
+            int tmpQuantityOnSurface = aChemicalCompositionValueItem.getValueAsInt(i, 6);
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set GraphicalParticlePositions">
+            if (tmpQuantityInVolume > 0 || tmpQuantityOnSurface > 0) {
+                if (this.graphicsUtilityMethods.is3dStructureGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                    // <editor-fold defaultstate="collapsed" desc="Protein data are used for 3D structure in spheres in xy-layer">
+                    if (tmpQuantityOnSurface > 0 || tmpProteinData.isEmpty()) {
+                        // Internal error: Error is reported by call()
+                        this.isInternalError = true;
+                        return -1;
+                    }
+                    // Amino acids MUST already be initialized
+                    // Initialize tmpPdbToDPD
+                    PdbToDpd tmpPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
+                    boolean tmpIsProteinRandom3DOrientation = false;
+                    if (this.graphicsUtilityMethods.isRandom3dStructureGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                        tmpIsProteinRandom3DOrientation = true;
+                        if (Preferences.getInstance().isDeterministicRandom()) {
+                            tmpPdbToDpd.setSeed(Preferences.getInstance().getDeterministicRandomSeed());
+                        }
+                    } else {
+                        tmpPdbToDpd.setDefaultRotation();
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Determine radius of protein
+                    SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                    int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
+                    SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                    double tmpRadiusOfProtein = this.miscUtilityMethods.getRadiusOfParticlesInDpdBox(tmpTotalNumberOfParticlesOfProtein,
+                            this.compartmentContainer.getDensityInfoValueItem().getValueAsDouble());
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Set tmpParticleToGraphicalParticleInterfaceMap
+                    HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleMap = this.moleculeToParticlesMap.get(tmpMoleculeName);
+                    HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleInterfaceMap
+                            = new HashMap<String, IGraphicalParticle>(tmpParticleToGraphicalParticleMap.size());
+                    for (String tmpParticle : tmpParticleToGraphicalParticleMap.keySet()) {
+                        tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Determine non-overlapping spheres for proteins
+                    LinkedList<BodySphere> tmpSphereList = 
+                        anXyLayer.getNonOverlappingRandomSpheres(
+                            tmpQuantityInVolume, 
+                            tmpRadiusOfProtein,
+                            Preferences.getInstance().getNumberOfTrialsForCompartment()
+                        );
+                    for (BodySphere tmpSingleSphere : tmpSphereList) {
+                        tmpPdbToDpd.setCenter(tmpSingleSphere.getBodyCenter().getX(), tmpSingleSphere.getBodyCenter().getY(), tmpSingleSphere.getBodyCenter().getZ());
+                        tmpPdbToDpd.setRadius(tmpSingleSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
+                        // Set tmpProteinGraphicalParticlePositionsArray
+                        GraphicalParticlePosition[] tmpProteinGraphicalParticlePositionsArray = new GraphicalParticlePosition[tmpTotalNumberOfParticlesOfProtein];
+                        double tmpInitialValue = 0.0;
+                        for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
+                            tmpProteinGraphicalParticlePositionsArray[j] = new GraphicalParticlePosition(tmpInitialValue, tmpInitialValue, tmpInitialValue);
+                        }
+                        if (tmpIsProteinRandom3DOrientation) {
+                            tmpPdbToDpd.setRandomOrientation();
+                        }
+                        tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
                         // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            return returnCancelled();
+                        if (this.isCancelled()) {
+                            PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                            return -1;
                         }
                         // </editor-fold>
-                        GraphicalParticlePosition[] tmpLastParticleCoordinates;
+                        // Copy to this.graphicalParticlePositions
+                        for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
+                        }
+                    }
+                    PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+
+                    // </editor-fold>
+                    // </editor-fold>
+                } else {
+                    // <editor-fold defaultstate="collapsed" desc="No protein data">
+                    GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
+                    GraphicalParticlePosition[] tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpQuantityInVolume + tmpQuantityOnSurface];
+                    // Center of xy-layer
+                    double tmpXyLayerCenterXCoordinate = anXyLayer.getBodyCenter().getX();
+                    double tmpXyLayerCenterYCoordinate = anXyLayer.getBodyCenter().getY();
+                    double tmpXyLayerCenterZCoordinate = anXyLayer.getBodyCenter().getZ();
+                    double tmpHalfXLength = anXyLayer.getXLength() / 2.0;
+                    double tmpHalfYLength = anXyLayer.getYLength() / 2.0;
+                    double tmpHalfZLength = anXyLayer.getZLength() / 2.0;
+                    double tmpOffsetX = tmpXyLayerCenterXCoordinate;
+                    double tmpOffsetY = tmpXyLayerCenterYCoordinate;
+                    double tmpOffsetZ = tmpXyLayerCenterZCoordinate;
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    if (tmpQuantityInVolume > 0) {
                         if (tmpIsSingleParticleMolecule) {
+                            // If single particle molecule use anOldNumberOfTrialsForCompartment
+                            anXyLayer.fillRandomPointsInVolumeWithExcludingSpheres(
+                                tmpFirstParticleCoordinates, 
+                                0, 
+                                tmpQuantityInVolume, 
+                                anOldNumberOfTrialsForCompartment
+                            );
                             tmpLastParticleCoordinates = tmpFirstParticleCoordinates;
                         } else {
-                            tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpQuantity];
-                            this.compartmentContainer.getCompartmentBox().fillFreeVolumeRandomPoints(
+                            anXyLayer.fillRandomPointsInVolumeWithExcludingSpheres(
+                                tmpFirstParticleCoordinates, 
                                 tmpLastParticleCoordinates, 
                                 0, 
-                                tmpQuantity, 
+                                tmpQuantityInVolume,
+                                aBondLength, 
                                 Preferences.getInstance().getNumberOfTrialsForCompartment()
                             );
                         }
-                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            return returnCancelled();
-                        }
-                        // </editor-fold>
-                        // Calculate coordinates of molecular particles
-                        SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
-                        GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = 
-                            tmpSpices.getParticleCoordinates(
-                                this.moleculeToParticlesMap.get(tmpMoleculeName), 
-                                tmpFirstParticleCoordinates,
-                                tmpLastParticleCoordinates, 
-                                tmpBondLength
-                            );
-                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                        if (this.isStopped) {
-                            return returnCancelled();
-                        }
-                        // </editor-fold>
-                        for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
-                            // NOTE: Particle in bulk is not allowed to be in compartment: Correct errors
-                            // <editor-fold defaultstate="collapsed" desc="Correct coordinates">
-                            GraphicalParticlePosition[] tmpCorrectGraphicalParticlePositions = tmpGraphicalParticlePositionsArray[j];
-                            boolean tmpIsCorrect = false;
-                            while (!tmpIsCorrect) {
-                                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                                if (this.isStopped) {
-                                    return returnCancelled();
-                                }
-                                // </editor-fold>
-                                // <editor-fold defaultstate="collapsed" desc="Check coordinates">
-                                int tmpCorrectIndex = 0;
-                                for (int k = 0; k < tmpCorrectGraphicalParticlePositions.length; k++) {
-                                    if (!this.compartmentContainer.getCompartmentBox().isInFreeVolume(tmpCorrectGraphicalParticlePositions[k])) {
-                                        break;
-                                    } else {
-                                        tmpCorrectIndex = k;
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    if (tmpQuantityOnSurface > 0) {
+                        if (this.graphicsUtilityMethods.isAllSurfacesGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                            anXyLayer.fillRandomPointsOnAllSurfaces(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                            GraphicalParticlePosition tmpCenterOfXyLayer = new GraphicalParticlePosition(
+                                    anXyLayer.getBodyCenter().getX(), anXyLayer.getBodyCenter().getY(), anXyLayer.getBodyCenter().getZ());
+                            Arrays.fill(tmpLastParticleCoordinates, tmpQuantityInVolume, tmpQuantityInVolume + tmpQuantityOnSurface, tmpCenterOfXyLayer);
+                        } else {
+                            if (this.graphicsUtilityMethods.isSingleSurfaceGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                // <editor-fold defaultstate="collapsed" desc="Single surface geometry">
+                                if (this.graphicsUtilityMethods.isSingleSurfaceXyTopGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XY_TOP;
+                                    tmpOffsetZ = tmpXyLayerCenterZCoordinate - tmpHalfZLength;
+                                    anXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpFirstParticleCoordinates[j].getY(), tmpOffsetZ);
+                                    }
+                                } else if (this.graphicsUtilityMethods.isSingleSurfaceXyBottomGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XY_BOTTOM;
+                                    tmpOffsetZ = tmpXyLayerCenterZCoordinate + tmpHalfZLength;
+                                    anXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpFirstParticleCoordinates[j].getY(), tmpOffsetZ);
+                                    }
+                                } else if (this.graphicsUtilityMethods.isSingleSurfaceYzLeftGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.YZ_LEFT;
+                                    tmpOffsetX = tmpXyLayerCenterXCoordinate + tmpHalfXLength;
+                                    anXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpOffsetX, tmpFirstParticleCoordinates[j].getY(), tmpFirstParticleCoordinates[j].getZ());
+                                    }
+                                } else if (this.graphicsUtilityMethods.isSingleSurfaceYzRightGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.YZ_RIGHT;
+                                    tmpOffsetX = tmpXyLayerCenterXCoordinate - tmpHalfXLength;
+                                    anXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpOffsetX, tmpFirstParticleCoordinates[j].getY(), tmpFirstParticleCoordinates[j].getZ());
+                                    }
+                                } else if (this.graphicsUtilityMethods.isSingleSurfaceXzFrontGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XZ_FRONT;
+                                    tmpOffsetY = tmpXyLayerCenterYCoordinate + tmpHalfYLength;
+                                    anXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpOffsetY, tmpFirstParticleCoordinates[j].getZ());
+                                    }
+                                } else if (this.graphicsUtilityMethods.isSingleSurfaceXzBackGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    BodyXyLayerSingleSurfaceEnum tmpSingleSurface = BodyXyLayerSingleSurfaceEnum.XZ_BACK;
+                                    tmpOffsetY = tmpXyLayerCenterYCoordinate - tmpHalfYLength;
+                                    anXyLayer.fillRandomPointsOnSingleSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface, tmpSingleSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpOffsetY, tmpFirstParticleCoordinates[j].getZ());
                                     }
                                 }
-                                tmpIsCorrect = tmpCorrectIndex == tmpCorrectGraphicalParticlePositions.length - 1;
                                 // </editor-fold>
-                                // <editor-fold defaultstate="collapsed" desc="Correct if necessary">
-                                if (!tmpIsCorrect) {
-                                    if (tmpCorrectIndex > 0) {
-                                        // <editor-fold defaultstate="collapsed" desc="Shrink molecule">
-                                        // NOTE: tmpCorrectGraphicalParticlePositions[0] MUST be correct since it is deduced from 
-                                        //       tmpFirstParticleCoordinates which are all in free volume by definition
-                                        GraphicalParticlePosition[][] tmpNewGraphicalParticlePositionArray = 
-                                            tmpSpices.getParticleCoordinates(
-                                                this.moleculeToParticlesMap.get(tmpMoleculeName),
-                                                tmpCorrectGraphicalParticlePositions[0], 
-                                                tmpCorrectGraphicalParticlePositions[tmpCorrectIndex], 
-                                                tmpBondLength
-                                            );
-                                        tmpCorrectGraphicalParticlePositions = tmpNewGraphicalParticlePositionArray[0];
-                                        tmpIsCorrect = true;
-                                        // </editor-fold>
-                                    } else {
-                                        // <editor-fold defaultstate="collapsed" desc="Get other orientation">
-                                        GraphicalParticlePosition tmpNewLastParticleCoordinate = 
-                                            this.compartmentContainer.getCompartmentBox().getRandomPositionInFreeVolume();
-                                        // NOTE: tmpCorrectGraphicalParticlePositions[0] MUST be correct since it is deduced from 
-                                        //       tmpFirstParticleCoordinates which are all in free volume by definition
-                                        GraphicalParticlePosition[][] tmpNewGraphicalParticlePositionArray = 
-                                            tmpSpices.getParticleCoordinates(
-                                                this.moleculeToParticlesMap.get(tmpMoleculeName),
-                                                tmpCorrectGraphicalParticlePositions[0], 
-                                                tmpNewLastParticleCoordinate, 
-                                                tmpBondLength
-                                            );
-                                        tmpCorrectGraphicalParticlePositions = tmpNewGraphicalParticlePositionArray[0];
-                                        // </editor-fold>
+                            } else {
+                                // <editor-fold defaultstate="collapsed" desc="xy top and bottom surface geometry">
+                                if (this.graphicsUtilityMethods.isXyTopBottomGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    anXyLayer.fillRandomPointsOnTopBottomSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpFirstParticleCoordinates[j].getY(), tmpOffsetZ);
+                                    }
+                                } else if (this.graphicsUtilityMethods.isYzLeftRightGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    anXyLayer.fillRandomPointsOnLeftRightSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpOffsetX, tmpFirstParticleCoordinates[j].getY(), tmpFirstParticleCoordinates[j].getZ());
+                                    }
+                                } else if (this.graphicsUtilityMethods.isXzFrontBackGeometryInXyLayer(aChemicalCompositionValueItem, i)) {
+                                    anXyLayer.fillRandomPointsOnFrontBackSurface(tmpFirstParticleCoordinates, tmpQuantityInVolume, tmpQuantityOnSurface);
+                                    for (int j = tmpQuantityInVolume; j < tmpQuantityOnSurface; j++) {
+                                        tmpLastParticleCoordinates[j] = new GraphicalParticlePosition(tmpFirstParticleCoordinates[j].getX(), tmpOffsetY, tmpFirstParticleCoordinates[j].getZ());
                                     }
                                 }
                                 // </editor-fold>
                             }
-                            // </editor-fold>
+                        }
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Calculate coordinates of molecular particles
+                    SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                    GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = 
+                        tmpSpices.getParticleCoordinates(
+                            this.moleculeToParticlesMap.get(tmpMoleculeName),
+                            tmpFirstParticleCoordinates, 
+                            tmpLastParticleCoordinates, 
+                            aBondLength
+                        );
+                    SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                    // Copy to this.graphicalParticlePositions
+                    for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
+                        for (int k = 0; k < tmpGraphicalParticlePositionsArray[j].length; k++) {
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpGraphicalParticlePositionsArray[j][k];
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(false);
+                        }
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // </editor-fold>
+                }
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set progress">
+            this.addToProgress(tmpGraphicalParticlePositionsIndex - tmpProgressIndex);
+            tmpProgressIndex = tmpGraphicalParticlePositionsIndex;
+            // </editor-fold>
+        }
+        // Clear list for possible spheres in xy-layer
+        anXyLayer.clearExcludedSphereList();
+        return tmpGraphicalParticlePositionsIndex;
+    }
+
+    /**
+     * Creates graphical particle positions in bulk
+     *
+     * @param aBulkInfoValueItem Bulk info value item (with rows with protein
+     * data first)
+     * @param aFirstIndex First index in this.graphicalParticlePositions
+     * @param aBondLength Bond length
+     * @param anOldNumberOfTrialsForCompartment Number of trials for
+     * compartment of preferences (used for single particle molecules)
+     * @return Index after last created graphical particle position or -1 if
+     * creation was cancelled or failed
+     * @throws Exception Thrown when an error occurred
+     */
+    private int createGraphicalParticlePositionsInBulk(
+        ValueItem aBulkInfoValueItem, 
+        int aFirstIndex, 
+        double aBondLength, 
+        int anOldNumberOfTrialsForCompartment
+    ) throws Exception {
+        int tmpGraphicalParticlePositionsIndex = aFirstIndex;
+        int tmpProgressIndex = aFirstIndex;
+        for (int i = 0; i < aBulkInfoValueItem.getMatrixRowCount(); i++) {
+            // <editor-fold defaultstate="collapsed" desc="Increment deterministic random seed value">
+            Preferences.getInstance().incrementDeterministicRandomSeed();
+            // IMPORTANT: After change of seed value re-initialize random value generation in compartment box
+            this.compartmentContainer.getCompartmentBox().initializeRandomValueGeneration();
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set molecule information">
+            // Molecule name
+            String tmpMoleculeName = aBulkInfoValueItem.getValue(i, 0);
+            // Molecular structure
+            String tmpMolecularStructureString = aBulkInfoValueItem.getValue(i, 1);
+            boolean tmpIsSingleParticleMolecule = this.particlePattern.matcher(tmpMolecularStructureString).matches();
+            String tmpProteinData = "";
+            if (aBulkInfoValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
+                tmpProteinData = aBulkInfoValueItem.getValueItemMatrixElement(i, 1).getProteinData();
+            }
+            // Quantity
+            int tmpQuantity = aBulkInfoValueItem.getValueAsInt(i, 3);
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Set graphical particle positions">
+            if (tmpQuantity > 0) {
+                if (this.graphicsUtilityMethods.isProtein3dStructureInBulk(aBulkInfoValueItem, i)) {
+                    // <editor-fold defaultstate="collapsed" desc="Protein data are used for 3D structure in bulk">
+                    if (tmpProteinData.isEmpty()) {
+                        // Internal error: Error is reported by call()
+                        this.isInternalError = true;
+                        return -1;
+                    }
+                    // Amino acids MUST already be initialized
+                    // Initialize tmpPdbToDPD
+                    PdbToDpd tmpPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
+                    boolean tmpIsProteinRandom3DOrientation = false;
+                    if (this.graphicsUtilityMethods.isRandom3dStructureGeometryInBulk(aBulkInfoValueItem, i)) {
+                        tmpIsProteinRandom3DOrientation = true;
+                        if (Preferences.getInstance().isDeterministicRandom()) {
+                            tmpPdbToDpd.setSeed(Preferences.getInstance().getDeterministicRandomSeed());
+                        }
+                    } else {
+                        tmpPdbToDpd.setDefaultRotation();
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Determine radius of protein
+                    SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                    int tmpTotalNumberOfParticlesOfProtein = tmpSpices.getTotalNumberOfParticles();
+                    SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                    double tmpRadiusOfProtein = this.miscUtilityMethods.getRadiusOfParticlesInDpdBox(tmpTotalNumberOfParticlesOfProtein,
+                            this.compartmentContainer.getDensityInfoValueItem().getValueAsDouble());
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Set tmpParticleToGraphicalParticleInterfaceMap
+                    HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleMap = this.moleculeToParticlesMap.get(tmpMoleculeName);
+                    HashMap<String, IGraphicalParticle> tmpParticleToGraphicalParticleInterfaceMap
+                            = new HashMap<String, IGraphicalParticle>(tmpParticleToGraphicalParticleMap.size());
+                    for (String tmpParticle : tmpParticleToGraphicalParticleMap.keySet()) {
+                        tmpParticleToGraphicalParticleInterfaceMap.put(tmpParticle, tmpParticleToGraphicalParticleMap.get(tmpParticle));
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Determine non-overlapping spheres for proteins
+                    LinkedList<BodySphere> tmpNonOverlappingSphereList = 
+                        this.compartmentContainer.getCompartmentBox().getNonOverlappingRandomSpheres(
+                            tmpQuantity, 
+                            tmpRadiusOfProtein,
+                            Preferences.getInstance().getNumberOfTrialsForCompartment()
+                        );
+                    for (BodySphere tmpSingleSphere : tmpNonOverlappingSphereList) {
+                        tmpPdbToDpd.setCenter(tmpSingleSphere.getBodyCenter().getX(), tmpSingleSphere.getBodyCenter().getY(), tmpSingleSphere.getBodyCenter().getZ());
+                        tmpPdbToDpd.setRadius(tmpSingleSphere.getRadius() * ModelDefinitions.DECREASE_FACTOR);
+                        // Set tmpProteinGraphicalParticlePositionsArray
+                        GraphicalParticlePosition[] tmpProteinGraphicalParticlePositionsArray = new GraphicalParticlePosition[tmpTotalNumberOfParticlesOfProtein];
+                        double tmpInitialValue = 0.0;
+                        for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
+                            tmpProteinGraphicalParticlePositionsArray[j] = new GraphicalParticlePosition(tmpInitialValue, tmpInitialValue, tmpInitialValue);
+                        }
+                        if (tmpIsProteinRandom3DOrientation) {
+                            tmpPdbToDpd.setRandomOrientation();
+                        }
+                        tmpPdbToDpd.getGraphicalParticlePositions(tmpParticleToGraphicalParticleInterfaceMap, tmpProteinGraphicalParticlePositionsArray);
+                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                        if (this.isCancelled()) {
+                            PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                            return -1;
+                        }
+                        // </editor-fold>
+                        // Copy to this.graphicalParticlePositions
+                        for (int j = 0; j < tmpProteinGraphicalParticlePositionsArray.length; j++) {
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpProteinGraphicalParticlePositionsArray[j];
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(true);
+                        }
+                    }
+                    PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpPdbToDpd, tmpProteinData);
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // </editor-fold>
+                } else {
+                    // <editor-fold defaultstate="collapsed" desc="No protein data">
+                    GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpQuantity];
+                    if (tmpIsSingleParticleMolecule) {
+                        // If single particle molecule use anOldNumberOfTrialsForCompartment
+                        this.compartmentContainer.getCompartmentBox().fillFreeVolumeRandomPoints(
+                            tmpFirstParticleCoordinates, 
+                            0, 
+                            tmpQuantity, 
+                            anOldNumberOfTrialsForCompartment
+                        );
+                    } else {
+                        this.compartmentContainer.getCompartmentBox().fillFreeVolumeRandomPoints(
+                            tmpFirstParticleCoordinates, 
+                            0, 
+                            tmpQuantity, 
+                            Preferences.getInstance().getNumberOfTrialsForCompartment()
+                        );
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    GraphicalParticlePosition[] tmpLastParticleCoordinates;
+                    if (tmpIsSingleParticleMolecule) {
+                        tmpLastParticleCoordinates = tmpFirstParticleCoordinates;
+                    } else {
+                        tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpQuantity];
+                        this.compartmentContainer.getCompartmentBox().fillFreeVolumeRandomPoints(
+                            tmpLastParticleCoordinates, 
+                            0, 
+                            tmpQuantity, 
+                            Preferences.getInstance().getNumberOfTrialsForCompartment()
+                        );
+                    }
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    // Calculate coordinates of molecular particles
+                    SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpMolecularStructureString);
+                    GraphicalParticlePosition[][] tmpGraphicalParticlePositionsArray = 
+                        tmpSpices.getParticleCoordinates(
+                            this.moleculeToParticlesMap.get(tmpMoleculeName), 
+                            tmpFirstParticleCoordinates,
+                            tmpLastParticleCoordinates, 
+                            aBondLength
+                        );
+                    // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                    if (this.isCancelled()) {
+                        return -1;
+                    }
+                    // </editor-fold>
+                    for (int j = 0; j < tmpGraphicalParticlePositionsArray.length; j++) {
+                        // NOTE: Particle in bulk is not allowed to be in compartment: Correct errors
+                        // <editor-fold defaultstate="collapsed" desc="Correct coordinates">
+                        GraphicalParticlePosition[] tmpCorrectGraphicalParticlePositions = tmpGraphicalParticlePositionsArray[j];
+                        boolean tmpIsCorrect = false;
+                        while (!tmpIsCorrect) {
                             // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                            if (this.isStopped) {
-                                return returnCancelled();
+                            if (this.isCancelled()) {
+                                return -1;
                             }
                             // </editor-fold>
+                            // <editor-fold defaultstate="collapsed" desc="Check coordinates">
+                            int tmpCorrectIndex = 0;
                             for (int k = 0; k < tmpCorrectGraphicalParticlePositions.length; k++) {
-                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpCorrectGraphicalParticlePositions[k];
-                                this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(true);
+                                if (!this.compartmentContainer.getCompartmentBox().isInFreeVolume(tmpCorrectGraphicalParticlePositions[k])) {
+                                    break;
+                                } else {
+                                    tmpCorrectIndex = k;
+                                }
                             }
+                            tmpIsCorrect = tmpCorrectIndex == tmpCorrectGraphicalParticlePositions.length - 1;
+                            // </editor-fold>
+                            // <editor-fold defaultstate="collapsed" desc="Correct if necessary">
+                            if (!tmpIsCorrect) {
+                                if (tmpCorrectIndex > 0) {
+                                    // <editor-fold defaultstate="collapsed" desc="Shrink molecule">
+                                    // NOTE: tmpCorrectGraphicalParticlePositions[0] MUST be correct since it is deduced from 
+                                    //       tmpFirstParticleCoordinates which are all in free volume by definition
+                                    GraphicalParticlePosition[][] tmpNewGraphicalParticlePositionArray = 
+                                        tmpSpices.getParticleCoordinates(
+                                            this.moleculeToParticlesMap.get(tmpMoleculeName),
+                                            tmpCorrectGraphicalParticlePositions[0], 
+                                            tmpCorrectGraphicalParticlePositions[tmpCorrectIndex], 
+                                            aBondLength
+                                        );
+                                    tmpCorrectGraphicalParticlePositions = tmpNewGraphicalParticlePositionArray[0];
+                                    tmpIsCorrect = true;
+                                    // </editor-fold>
+                                } else {
+                                    // <editor-fold defaultstate="collapsed" desc="Get other orientation">
+                                    GraphicalParticlePosition tmpNewLastParticleCoordinate = 
+                                        this.compartmentContainer.getCompartmentBox().getRandomPositionInFreeVolume();
+                                    // NOTE: tmpCorrectGraphicalParticlePositions[0] MUST be correct since it is deduced from 
+                                    //       tmpFirstParticleCoordinates which are all in free volume by definition
+                                    GraphicalParticlePosition[][] tmpNewGraphicalParticlePositionArray = 
+                                        tmpSpices.getParticleCoordinates(
+                                            this.moleculeToParticlesMap.get(tmpMoleculeName),
+                                            tmpCorrectGraphicalParticlePositions[0], 
+                                            tmpNewLastParticleCoordinate, 
+                                            aBondLength
+                                        );
+                                    tmpCorrectGraphicalParticlePositions = tmpNewGraphicalParticlePositionArray[0];
+                                    // </editor-fold>
+                                }
+                            }
+                            // </editor-fold>
                         }
-                        SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
                         // </editor-fold>
+                        // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+                        if (this.isCancelled()) {
+                            return -1;
+                        }
+                        // </editor-fold>
+                        for (int k = 0; k < tmpCorrectGraphicalParticlePositions.length; k++) {
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex] = tmpCorrectGraphicalParticlePositions[k];
+                            this.graphicalParticlePositions[tmpGraphicalParticlePositionsIndex++].setInBulk(true);
+                        }
                     }
+                    SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                    // </editor-fold>
                 }
-                // </editor-fold>
-                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                if (this.isStopped) {
-                    return returnCancelled();
-                }
-                // </editor-fold>
-                // <editor-fold defaultstate="collapsed" desc="Set progress">
-                this.setProgressValue(tmpMiscUtilityMethods.getPercentWithMax99(tmpGraphicalParticlePositionsIndex + 1, tmpTotalNumberOfParticlesInSimulation));
-                // </editor-fold>
             }
-            // <editor-fold defaultstate="collapsed" desc="Restore matrix rows that were sorted with protein data first">
-            tmpBulkInfoValueItem.restoreOriginalMatrixRowsAfterSorting();
-            // </editor-fold>
             // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Check if this.graphicalParticlePositions is completely filled">
-            if (this.graphicalParticlePositions[this.graphicalParticlePositions.length - 1] == null) {
-                // Fire property change to notify property change listeners about cancellation due to internal error
-                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                return returnCancelled();
+            // <editor-fold defaultstate="collapsed" desc="Check if canceled">
+            if (this.isCancelled()) {
+                return -1;
             }
             // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Set this.graphicalParticlePositionInfo">
-            // Parameter true: Compartments/Bulk exist
-            // Parameter -1: NOT defined
-            this.graphicalParticlePositionInfo = 
-                new GraphicalParticlePositionInfo(
-                    new GraphicalParticleInfo(
-                        this.moleculeToParticlesMap, 
-                        true
-                    ), 
-                    this.graphicalParticlePositions,
-                    this.compartmentContainer.getCompartmentBox().getBoxSizeInfo(), 
-                    this.compartmentContainer.getLengthConversionFactor(),
-                    -1,
-                    -1
-                );
-            // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Set this.isFinished to true BEFORE setting final progress in percent to 100">
-            this.isFinished = true;
-            // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Task has successfully finished. IMPORTANT: Set progress in percent to 100">
-            this.setProgressValue(100);
-            // </editor-fold>
-            return true;
-        } catch (Exception anException) {
-            ModelUtils.appendToLogfile(true, anException);
-            // Fire property change to notify property change listeners about cancellation due to internal error
-            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-            return this.returnCancelled();
-        } finally {
-            // <editor-fold defaultstate="collapsed" desc="Restore number of trials for compartment">
-            Preferences.getInstance().setNumberOfTrialsForCompartment(tmpOldNumberOfTrialsForCompartment);
-            // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Set deterministic random seed to default value">
-            Preferences.getInstance().setDefaultDeterministicRandomSeed();
-            // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Release memory">
-            this.releaseMemory();
+            // <editor-fold defaultstate="collapsed" desc="Set progress">
+            this.addToProgress(tmpGraphicalParticlePositionsIndex - tmpProgressIndex);
+            tmpProgressIndex = tmpGraphicalParticlePositionsIndex;
             // </editor-fold>
         }
+        return tmpGraphicalParticlePositionsIndex;
     }
     // </editor-fold>
-    // <editor-fold defaultstate="collapsed" desc="- finalize">
-    /**
-     * Finalize method to end all memory claims and running threads. The method
-     * will called when the object is destroyed.
-     *
-     * @throws Throwable This should never happen.
-     *
-     */
-    @Override
-    public void finalize() throws Throwable {
-        super.finalize();
-        if (!this.isFinished) {
-            this.stop();
-        }
-    }
-    // </editor-fold>
-    // </editor-fold>
-    //
-    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Miscellaneous methods">
     /**
      * Sets internal variables according to internal cancellation and returns
      * false
@@ -1325,5 +1581,6 @@ public class GraphicalParticlePositionCalculationTask implements ProgressTaskInt
         this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_PROGRESS, tmpOldValue, this.progressValue);
     }
     // </editor-fold>
+    // </editor-fold>
 
 }
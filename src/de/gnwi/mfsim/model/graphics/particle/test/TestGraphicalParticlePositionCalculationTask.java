@@ -0,0 +1,97 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.graphics.particle.test;
+
+import de.gnwi.mfsim.model.benchmark.SyntheticDataGenerator;
+import de.gnwi.mfsim.model.benchmark.SyntheticFrame;
+import de.gnwi.mfsim.model.graphics.compartment.CompartmentContainer;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionCalculationTask;
+import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class GraphicalParticlePositionCalculationTask
+ */
+public class TestGraphicalParticlePositionCalculationTask extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of deterministic graphical particle positions that are independent
+     * of the number of parallel calculators
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testDeterministicParallelCalculation() throws Exception {
+        boolean tmpOldIsDeterministicRandom = Preferences.getInstance().isDeterministicRandom();
+        int tmpOldNumberOfParallelCalculators = Preferences.getInstance().getNumberOfParallelCalculators();
+        String tmpDirectoryPath = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID();
+        try {
+            assertTrue("Test1", (new File(tmpDirectoryPath)).mkdirs());
+            Preferences.getInstance().setDeterministicRandom(true);
+            SyntheticFrame tmpSyntheticFrame = (new SyntheticDataGenerator(1L)).createSyntheticFrame(3000, tmpDirectoryPath);
+            Preferences.getInstance().setNumberOfParallelCalculators(1);
+            GraphicalParticlePosition[] tmpSequentialPositions = this.getGraphicalParticlePositions(tmpSyntheticFrame);
+            assertNotNull("Test2", tmpSequentialPositions);
+            Preferences.getInstance().setNumberOfParallelCalculators(4);
+            GraphicalParticlePosition[] tmpParallelPositions = this.getGraphicalParticlePositions(tmpSyntheticFrame);
+            assertNotNull("Test3", tmpParallelPositions);
+            assertEquals("Test4", tmpSequentialPositions.length, tmpParallelPositions.length);
+            for (int i = 0; i < tmpSequentialPositions.length; i++) {
+                assertEquals("Test5", tmpSequentialPositions[i].getX(), tmpParallelPositions[i].getX(), 0.0);
+                assertEquals("Test6", tmpSequentialPositions[i].getY(), tmpParallelPositions[i].getY(), 0.0);
+                assertEquals("Test7", tmpSequentialPositions[i].getZ(), tmpParallelPositions[i].getZ(), 0.0);
+                assertEquals("Test8", tmpSequentialPositions[i].isInBulk(), tmpParallelPositions[i].isInBulk());
+            }
+        } finally {
+            Preferences.getInstance().setDeterministicRandom(tmpOldIsDeterministicRandom);
+            Preferences.getInstance().setNumberOfParallelCalculators(tmpOldNumberOfParallelCalculators);
+            (new FileUtilityMethods()).deleteDirectory(tmpDirectoryPath);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns calculated graphical particle positions of compartment
+     * container with two sphere compartments and an xy-layer compartment
+     *
+     * @param aSyntheticFrame Synthetic frame
+     * @return Calculated graphical particle positions or null if calculation
+     * failed
+     * @throws Exception Thrown if an error occurs
+     */
+    private GraphicalParticlePosition[] getGraphicalParticlePositions(SyntheticFrame aSyntheticFrame) throws Exception {
+        CompartmentContainer tmpCompartmentContainer = new CompartmentContainer(aSyntheticFrame.getJobInputValueItemContainer());
+        tmpCompartmentContainer.addCompartmentSphere();
+        tmpCompartmentContainer.addCompartmentSphere();
+        tmpCompartmentContainer.addCompartmentXyLayer();
+        GraphicalParticlePositionCalculationTask tmpTask = new GraphicalParticlePositionCalculationTask(tmpCompartmentContainer);
+        if (!tmpTask.call()) {
+            return null;
+        }
+        return tmpTask.getGraphicalParticlePositionInfo().getInitialGraphicalParticlePositions();
+    }
+    // </editor-fold>
+
+}
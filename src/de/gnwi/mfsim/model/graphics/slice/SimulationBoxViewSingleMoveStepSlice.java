@@ -23,6 +23,7 @@ import de.gnwi.mfsim.gui.util.MoveStepInfo;
 import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
 import de.gnwi.mfsim.model.graphics.factory.BufferedImageGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.factory.PixelGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.TargetCoordinatesAndSize;
@@ -32,7 +33,6 @@ import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionArrayList;
 import de.gnwi.mfsim.model.graphics.GraphicsUtils;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
-import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.StringUtilityMethods;
 import java.awt.*;
@@ -67,6 +67,11 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
      * Property change support
      */
     private final PropertyChangeSupport propertyChangeSupport;
+
+    /**
+     * Render settings snapshot of render job
+     */
+    private final RenderSettings renderSettings;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
@@ -152,9 +157,10 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
      * @param anImageFileType File type of the images to be created
      * @param anMasterPanelWidthInPixel The width in pixel of the master panel
      * @param anMasterPanelHeightInPixel The height in pixel of the master panel
+     * @param aRenderSettings Render settings snapshot of render job
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
-    public SimulationBoxViewSingleMoveStepSlice(MoveStepInfo aMoveStepInfo, String aDestinationDirectory, ImageFileType anImageFileType, int anMasterPanelWidthInPixel, int anMasterPanelHeightInPixel)
+    public SimulationBoxViewSingleMoveStepSlice(MoveStepInfo aMoveStepInfo, String aDestinationDirectory, ImageFileType anImageFileType, int anMasterPanelWidthInPixel, int anMasterPanelHeightInPixel, RenderSettings aRenderSettings)
             throws IllegalArgumentException {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aMoveStepInfo == null) {
@@ -166,8 +172,12 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
         if (anMasterPanelHeightInPixel <= 0) {
             throw new IllegalArgumentException("Master panel height is less/equal zero.");
         }
+        if (aRenderSettings == null) {
+            throw new IllegalArgumentException("aRenderSettings is null.");
+        }
 
         // </editor-fold>
+        this.renderSettings = aRenderSettings;
         this.moveStepInfo = aMoveStepInfo;
         this.destinationDirectory = aDestinationDirectory;
         this.imageFileType = anImageFileType;
@@ -359,7 +369,7 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Set tmpChangeDarkerFactor">
-            tmpChangeDarkerFraction = this.moveStepInfo.getDepthAttenuationSlicer() / Preferences.getInstance().getNumberOfSlicesPerView();
+            tmpChangeDarkerFraction = this.moveStepInfo.getDepthAttenuationSlicer() / this.renderSettings.getNumberOfSlicesPerView();
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Initialize">
             // Initialize to impossible value
@@ -403,24 +413,24 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
             tmpTargetImageHeight = tmpTargetCoordinatesAndSize.getHeight();
 
             tmpGraphicsFactory = null;
-            switch (Preferences.getInstance().getSlicerGraphicsMode()) {
+            switch (this.renderSettings.getSlicerGraphicsMode()) {
                 case PIXEL_ALL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case PIXEL_FINAL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_ALL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_FINAL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_ALL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_FINAL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
             }
             // </editor-fold>
@@ -438,6 +448,10 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
                 return false;
             }
             // </editor-fold>
+            // Loop invariant shifts and frame color
+            int tmpXshift = tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(this.moveStepInfo.getXshiftInPixel());
+            int tmpYshift = tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(this.moveStepInfo.getYshiftInPixel());
+            Color tmpFrameColor = this.renderSettings.getFrameColorSlicer();
             GraphicalParticlePosition[] tmpGraphicalParticlePositions = this.graphicalParticlePositionArrayList.getGraphicalParticlePositions();
             for (int k = this.slices.length - 1; k >= this.moveStepInfo.getFirstSliceIndex(); k--) {
                 // <editor-fold defaultstate="collapsed" desc="Check if canceled">
@@ -450,9 +464,9 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
                 // <editor-fold defaultstate="collapsed" desc="Make darker or clear then draw">
                 // If the single slice display is enabled, the imageManager must be cleared to clean the previous painted image. Otherwise the graphicsObjects of the current slice will be painted on
                 // the previous slice.
-                if (Preferences.getInstance().isSingleSliceDisplay() && k > this.moveStepInfo.getFirstSliceIndex()) {
+                if (this.renderSettings.isSingleSliceDisplay() && k > this.moveStepInfo.getFirstSliceIndex()) {
                     continue;
-                } else if (Preferences.getInstance().isSingleSliceDisplay() && k == this.moveStepInfo.getFirstSliceIndex()) {
+                } else if (this.renderSettings.isSingleSliceDisplay() && k == this.moveStepInfo.getFirstSliceIndex()) {
                     tmpGraphicsFactory.clear();
                 } else {
                     tmpGraphicsFactory.attenuateToBackgroundColor(tmpChangeDarkerFraction);
@@ -512,11 +526,11 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
                                 this.isFinished = true;
                                 return false;
                         }
-                        tmpXCoordinate += tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(this.moveStepInfo.getXshiftInPixel());
-                        tmpYCoordinate += tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(this.moveStepInfo.getYshiftInPixel());
+                        tmpXCoordinate += tmpXshift;
+                        tmpYCoordinate += tmpYshift;
                         // </editor-fold>
                         if (tmpCurrentGraphicalParticlePosition.isInFrame()) {
-                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, Preferences.getInstance().getFrameColorSlicer());
+                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, tmpFrameColor);
                         } else {
                             if (tmpGraphicalParticle.isParticleTransparent()) {
                                 tmpGraphicsFactory.drawTransparent(tmpGraphicalParticle.getGraphicsObject(), tmpXCoordinate, tmpYCoordinate, tmpDiameter);
@@ -533,7 +547,7 @@ public class SimulationBoxViewSingleMoveStepSlice implements Callable<Boolean> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Keep slice image">
             BufferedImage tmpImage = tmpGraphicsFactory.getImage();
-            switch (Preferences.getInstance().getImageStorageMode()) {
+            switch (this.renderSettings.getImageStorageMode()) {
                 case HARDDISK_COMPRESSED:
                     this.moveStepInfo.setStepImageFilePathname(this.graphicsUtilityMethods.getMoveStepSliceFilePathName(this.destinationDirectory, this.moveStepInfo.getBoxViewIndex(),
                             this.imageFileType));
@@ -23,6 +23,7 @@ import de.gnwi.mfsim.gui.util.SpinStepInfo;
 import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
 import de.gnwi.mfsim.model.graphics.factory.BufferedImageGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.factory.PixelGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.TargetCoordinatesAndSize;
@@ -33,7 +34,6 @@ import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionArrayList;
 import de.gnwi.mfsim.model.graphics.GraphicsUtils;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
-import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.StringUtilityMethods;
 import java.awt.*;
@@ -68,6 +68,11 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
      * Property change support
      */
     private final PropertyChangeSupport propertyChangeSupport;
+
+    /**
+     * Render settings snapshot of render job
+     */
+    private final RenderSettings renderSettings;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
@@ -153,9 +158,10 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
      * @param anImageFileType File type of the images to be created
      * @param anMasterPanelWidthInPixel The width in pixel of the master panel
      * @param anMasterPanelHeightInPixel The height in pixel of the master panel
+     * @param aRenderSettings Render settings snapshot of render job
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
-    public SimulationBoxViewSingleSpinStepSlice(SpinStepInfo aSpinStepInfo, String aDestinationDirectory, ImageFileType anImageFileType, int anMasterPanelWidthInPixel, int anMasterPanelHeightInPixel)
+    public SimulationBoxViewSingleSpinStepSlice(SpinStepInfo aSpinStepInfo, String aDestinationDirectory, ImageFileType anImageFileType, int anMasterPanelWidthInPixel, int anMasterPanelHeightInPixel, RenderSettings aRenderSettings)
             throws IllegalArgumentException {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aSpinStepInfo == null) {
@@ -167,8 +173,12 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
         if (anMasterPanelHeightInPixel <= 0) {
             throw new IllegalArgumentException("Master panel height is less/equal zero.");
         }
+        if (aRenderSettings == null) {
+            throw new IllegalArgumentException("aRenderSettings is null.");
+        }
 
         // </editor-fold>
+        this.renderSettings = aRenderSettings;
         this.spinStepInfo = aSpinStepInfo;
         this.destinationDirectory = aDestinationDirectory;
         this.imageFileType = anImageFileType;
@@ -344,7 +354,7 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
             );
             this.graphicalParticlePositionArrayList = tmpGraphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList();
             // NOTE: Preferences.getInstance().getSimulationBoxMagnificationPercentage() means magnification so enlarge with corresponding negative value which means box size reduction
-            this.boxSizeInfo = tmpGraphicalParticlePositionInfo.getCurrentBoxSizeInfo().getEnlargedBoxSizeInfo(-Preferences.getInstance().getSimulationBoxMagnificationPercentage());
+            this.boxSizeInfo = tmpGraphicalParticlePositionInfo.getCurrentBoxSizeInfo().getEnlargedBoxSizeInfo(-this.renderSettings.getSimulationBoxMagnificationPercentage());
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Check if canceled">
@@ -359,7 +369,7 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Set tmpChangeDarkerFactor">
-            tmpChangeDarkerFraction = Preferences.getInstance().getDepthAttenuationSlicer() / Preferences.getInstance().getNumberOfSlicesPerView();
+            tmpChangeDarkerFraction = this.renderSettings.getDepthAttenuationSlicer() / this.renderSettings.getNumberOfSlicesPerView();
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Initialize">
@@ -404,24 +414,24 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
             tmpTargetImageHeight = tmpTargetCoordinatesAndSize.getHeight();
 
             tmpGraphicsFactory = null;
-            switch (Preferences.getInstance().getSlicerGraphicsMode()) {
+            switch (this.renderSettings.getSlicerGraphicsMode()) {
                 case PIXEL_ALL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case PIXEL_FINAL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_ALL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_FINAL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_ALL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_FINAL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
             }
             // </editor-fold>
@@ -440,8 +450,12 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
             }
 
             // </editor-fold>
+            // Loop invariant shifts and frame color
+            int tmpXshift = tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(this.renderSettings.getXshiftInPixelSlicer());
+            int tmpYshift = tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(this.renderSettings.getYshiftInPixelSlicer());
+            Color tmpFrameColor = this.renderSettings.getFrameColorSlicer();
             GraphicalParticlePosition[] tmpGraphicalParticlePositions = this.graphicalParticlePositionArrayList.getGraphicalParticlePositions();
-            for (int k = this.slices.length - 1; k >= Preferences.getInstance().getFirstSliceIndex(); k--) {
+            for (int k = this.slices.length - 1; k >= this.renderSettings.getFirstSliceIndex(); k--) {
                 // <editor-fold defaultstate="collapsed" desc="Check if canceled">
                 if (this.isStopped) {
                     this.isFinished = true;
@@ -452,9 +466,9 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
                 // <editor-fold defaultstate="collapsed" desc="Make darker or clear then draw">
                 // If the single slice display is enabled, the imageManager must be cleared to clean the previous painted image. Otherwise the graphicsObjects of the current slice will be painted on
                 // the previous slice.
-                if (Preferences.getInstance().isSingleSliceDisplay() && k > Preferences.getInstance().getFirstSliceIndex()) {
+                if (this.renderSettings.isSingleSliceDisplay() && k > this.renderSettings.getFirstSliceIndex()) {
                     continue;
-                } else if (Preferences.getInstance().isSingleSliceDisplay() && k == Preferences.getInstance().getFirstSliceIndex()) {
+                } else if (this.renderSettings.isSingleSliceDisplay() && k == this.renderSettings.getFirstSliceIndex()) {
                     tmpGraphicsFactory.clear();
                 } else {
                     tmpGraphicsFactory.attenuateToBackgroundColor(tmpChangeDarkerFraction);
@@ -514,11 +528,11 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
                                 this.isFinished = true;
                                 return false;
                         }
-                        tmpXCoordinate += tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(Preferences.getInstance().getXshiftInPixelSlicer());
-                        tmpYCoordinate += tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(Preferences.getInstance().getYshiftInPixelSlicer());
+                        tmpXCoordinate += tmpXshift;
+                        tmpYCoordinate += tmpYshift;
                         // </editor-fold>
                         if (tmpCurrentGraphicalParticlePosition.isInFrame()) {
-                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, Preferences.getInstance().getFrameColorSlicer());
+                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, tmpFrameColor);
                         } else {
                             if (tmpGraphicalParticle.isParticleTransparent()) {
                                 tmpGraphicsFactory.drawTransparent(tmpGraphicalParticle.getGraphicsObject(), tmpXCoordinate, tmpYCoordinate, tmpDiameter);
@@ -534,7 +548,7 @@ public class SimulationBoxViewSingleSpinStepSlice implements Callable<Boolean> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Keep slice image">
             BufferedImage tmpImage = tmpGraphicsFactory.getImage();
-            switch (Preferences.getInstance().getImageStorageMode()) {
+            switch (this.renderSettings.getImageStorageMode()) {
                 case HARDDISK_COMPRESSED:
                     this.spinStepInfo.setStepImageFilePathname(this.graphicsUtilityMethods.getSpinStepSliceFilePathName(this.destinationDirectory, this.spinStepInfo.getBoxViewIndex(),
                             this.imageFileType));
@@ -22,6 +22,7 @@ package de.gnwi.mfsim.model.graphics.slice;
 import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
 import de.gnwi.mfsim.model.graphics.factory.BufferedImageGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.factory.PixelGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.TargetCoordinatesAndSize;
@@ -34,7 +35,6 @@ import de.gnwi.mfsim.model.graphics.GraphicsUtils;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
 import de.gnwi.mfsim.model.job.TimeStepInfo;
 import de.gnwi.mfsim.model.job.JobUtilityMethods;
-import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.MovieSlicerConfiguration;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.StringUtilityMethods;
@@ -71,6 +71,11 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
      * Property change support
      */
     private final PropertyChangeSupport propertyChangeSupport;
+
+    /**
+     * Render settings snapshot of render job
+     */
+    private final RenderSettings renderSettings;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
@@ -170,10 +175,11 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
      * @param anImageFileType File type of the images to be created
      * @param anMasterPanelWidthInPixel The width in pixel of the master panel
      * @param anMasterPanelHeightInPixel The height in pixel of the master panel
+     * @param aRenderSettings Render settings snapshot of render job
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
     public SimulationBoxViewSingleTimeStepSlice(TimeStepInfo aTimeStepInfo, String aDestinationDirectory, ValueItemContainer aJobInputValueItemContainer,
-            MovieSlicerConfiguration aSimulationMovieSlicerConfiguration, ImageFileType anImageFileType, int anMasterPanelWidthInPixel, int anMasterPanelHeightInPixel) throws IllegalArgumentException {
+            MovieSlicerConfiguration aSimulationMovieSlicerConfiguration, ImageFileType anImageFileType, int anMasterPanelWidthInPixel, int anMasterPanelHeightInPixel, RenderSettings aRenderSettings) throws IllegalArgumentException {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         // NOTE: aMoleculeSettingsValueItemContainer is allowed to be null!
         // NOTE: anExclusionBoxSizeInfo is allowed to be null!
@@ -189,8 +195,12 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
         if (anMasterPanelHeightInPixel <= 0) {
             throw new IllegalArgumentException("Master panel height is less/equal zero.");
         }
+        if (aRenderSettings == null) {
+            throw new IllegalArgumentException("aRenderSettings is null.");
+        }
 
         // </editor-fold>
+        this.renderSettings = aRenderSettings;
         this.timeStepInfo = aTimeStepInfo;
         this.destinationDirectory = aDestinationDirectory;
         this.jobInputValueItemContainer = aJobInputValueItemContainer;
@@ -378,7 +388,7 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
             );
             this.graphicalParticlePositionArrayList = tmpGraphicalParticlePositionInfo.getCurrentGraphicalParticlePositionArrayList();
             // NOTE: Preferences.getInstance().getSimulationBoxMagnificationPercentage() means magnification so enlarge with corresponding negative value which means box size reduction
-            this.boxSizeInfo = tmpGraphicalParticlePositionInfo.getCurrentBoxSizeInfo().getEnlargedBoxSizeInfo(-Preferences.getInstance().getSimulationBoxMagnificationPercentage());
+            this.boxSizeInfo = tmpGraphicalParticlePositionInfo.getCurrentBoxSizeInfo().getEnlargedBoxSizeInfo(-this.renderSettings.getSimulationBoxMagnificationPercentage());
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Check if canceled">
             if (this.isStopped) {
@@ -392,7 +402,7 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
 
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Set tmpChangeDarkerFactor">
-            tmpChangeDarkerFraction = Preferences.getInstance().getDepthAttenuationSlicer() / Preferences.getInstance().getNumberOfSlicesPerView();
+            tmpChangeDarkerFraction = this.renderSettings.getDepthAttenuationSlicer() / this.renderSettings.getNumberOfSlicesPerView();
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Initialize">
             // Initialize to impossible value
@@ -436,24 +446,24 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
             tmpTargetImageHeight = tmpTargetCoordinatesAndSize.getHeight();
 
             tmpGraphicsFactory = null;
-            switch (Preferences.getInstance().getSlicerGraphicsMode()) {
+            switch (this.renderSettings.getSlicerGraphicsMode()) {
                 case PIXEL_ALL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case PIXEL_FINAL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_ALL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_FINAL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_ALL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_FINAL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
             }
             // </editor-fold>
@@ -473,8 +483,12 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
             }
 
             // </editor-fold>
+            // Loop invariant shifts and frame color
+            int tmpXshift = tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(this.timeStepInfo.getXshiftInPixel());
+            int tmpYshift = tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(this.timeStepInfo.getYshiftInPixel());
+            Color tmpFrameColor = this.renderSettings.getFrameColorSlicer();
             GraphicalParticlePosition[] tmpGraphicalParticlePositions = this.graphicalParticlePositionArrayList.getGraphicalParticlePositions();
-            for (int k = this.slices.length - 1; k >= Preferences.getInstance().getFirstSliceIndex(); k--) {
+            for (int k = this.slices.length - 1; k >= this.renderSettings.getFirstSliceIndex(); k--) {
                 // <editor-fold defaultstate="collapsed" desc="Check if canceled">
                 if (this.isStopped) {
                     this.isFinished = true;
@@ -485,9 +499,9 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
                 // <editor-fold defaultstate="collapsed" desc="Make darker or clear then draw">
                 // If the single slice display is enabled, the imageManager must be cleared to clean the previous painted image. Otherwise the graphicsObjects of the current slice will be painted on
                 // the previous slice.
-                if (Preferences.getInstance().isSingleSliceDisplay() && k > Preferences.getInstance().getFirstSliceIndex()) {
+                if (this.renderSettings.isSingleSliceDisplay() && k > this.renderSettings.getFirstSliceIndex()) {
                     continue;
-                } else if (Preferences.getInstance().isSingleSliceDisplay() && k == Preferences.getInstance().getFirstSliceIndex()) {
+                } else if (this.renderSettings.isSingleSliceDisplay() && k == this.renderSettings.getFirstSliceIndex()) {
                     tmpGraphicsFactory.clear();
                 } else {
                     tmpGraphicsFactory.attenuateToBackgroundColor(tmpChangeDarkerFraction);
@@ -546,11 +560,11 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
                                 this.isFinished = true;
                                 return false;
                         }
-                        tmpXCoordinate += tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(this.timeStepInfo.getXshiftInPixel());
-                        tmpYCoordinate += tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(this.timeStepInfo.getYshiftInPixel());
+                        tmpXCoordinate += tmpXshift;
+                        tmpYCoordinate += tmpYshift;
                         // </editor-fold>
                         if (tmpCurrentGraphicalParticlePosition.isInFrame()) {
-                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, Preferences.getInstance().getFrameColorSlicer());
+                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, tmpFrameColor);
                         } else {
                             if (tmpGraphicalParticle.isParticleTransparent()) {
                                 tmpGraphicsFactory.drawTransparent(tmpGraphicalParticle.getGraphicsObject(), tmpXCoordinate, tmpYCoordinate, tmpDiameter);
@@ -566,7 +580,7 @@ public class SimulationBoxViewSingleTimeStepSlice implements Callable<Boolean> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Keep slice image">
             BufferedImage tmpImage = tmpGraphicsFactory.getImage();
-            switch (Preferences.getInstance().getImageStorageMode()) {
+            switch (this.renderSettings.getImageStorageMode()) {
                 case HARDDISK_COMPRESSED:
                     this.timeStepInfo.setStepImageFilePathname(this.graphicsUtilityMethods.getTimeStepSliceFilePathName(this.destinationDirectory, this.timeStepInfo.getBoxViewIndex(),
                             this.imageFileType));
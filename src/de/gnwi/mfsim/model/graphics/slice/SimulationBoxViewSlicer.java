@@ -22,6 +22,7 @@ package de.gnwi.mfsim.model.graphics.slice;
 import de.gnwi.mfsim.model.graphics.BoxSizeInfo;
 import de.gnwi.mfsim.model.graphics.factory.BufferedImageGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.factory.PixelGraphicsFactory;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.graphics.TargetCoordinatesAndSize;
@@ -31,7 +32,8 @@ import de.gnwi.mfsim.model.graphics.GraphicsUtilityMethods;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePositionArrayList;
 import de.gnwi.mfsim.model.graphics.GraphicsUtils;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
-import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.metrics.MetricsName;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
 import de.gnwi.mfsim.model.util.ImageStorageEnum;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.FileUtilityMethods;
@@ -116,6 +118,11 @@ public class SimulationBoxViewSlicer {
      */
     private byte[][] sliceImageByteArray;
 
+    /**
+     * Render settings snapshot of render job
+     */
+    private final RenderSettings renderSettings;
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -131,6 +138,7 @@ public class SimulationBoxViewSlicer {
      * @param anImageFileType File type of the images to be created
      * @param anMasterPanelWidthInPixel The width in pixel of the master panel
      * @param anMasterPanelHeightInPixel The height in pixel of the master panel
+     * @param aRenderSettings Render settings snapshot of render job
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
     public SimulationBoxViewSlicer(
@@ -140,7 +148,8 @@ public class SimulationBoxViewSlicer {
         GraphicalParticlePositionArrayList aGraphicalParticlePositionArrayList,
         ImageFileType anImageFileType, 
         int anMasterPanelWidthInPixel, 
-        int anMasterPanelHeightInPixel
+        int anMasterPanelHeightInPixel,
+        RenderSettings aRenderSettings
     ) throws IllegalArgumentException {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aDestinationDirectory == null || aDestinationDirectory.length() == 0) {
@@ -152,7 +161,11 @@ public class SimulationBoxViewSlicer {
         if (anMasterPanelHeightInPixel <= 0) {
             throw new IllegalArgumentException("Master panel height is less/equal zero.");
         }
+        if (aRenderSettings == null) {
+            throw new IllegalArgumentException("aRenderSettings is null.");
+        }
         // </editor-fold>
+        this.renderSettings = aRenderSettings;
         this.boxView = aBoxView;
         this.imageFileType = anImageFileType;
         this.destinationDirectory = aDestinationDirectory;
@@ -160,10 +173,10 @@ public class SimulationBoxViewSlicer {
         this.graphicalParticlePositionArrayList = aGraphicalParticlePositionArrayList;
         this.masterPanelWidthInPixel = anMasterPanelWidthInPixel;
         this.masterPanelHeightInPixel = anMasterPanelHeightInPixel;
-        this.keyToCreatedSliceImagePathnameMap = new HashMap<String, String>(Preferences.getInstance().getNumberOfSlicesPerView());
+        this.keyToCreatedSliceImagePathnameMap = new HashMap<String, String>(this.renderSettings.getNumberOfSlicesPerView());
         // Set slice image arrays for in-memory slicing
-        this.sliceImageArray = new BufferedImage[Preferences.getInstance().getNumberOfSlicesPerView()];
-        this.sliceImageByteArray = new byte[Preferences.getInstance().getNumberOfSlicesPerView()][];
+        this.sliceImageArray = new BufferedImage[this.renderSettings.getNumberOfSlicesPerView()];
+        this.sliceImageByteArray = new byte[this.renderSettings.getNumberOfSlicesPerView()][];
         this.slices = null;
     }
     // </editor-fold>
@@ -177,6 +190,7 @@ public class SimulationBoxViewSlicer {
      * creation failed)
      */
     public boolean createSlices() {
+        long tmpSliceCreationStartTime = MetricsRegistry.getInstance().startTimer();
         try {
             // <editor-fold defaultstate="collapsed" desc="Local variables">
             // Utility methods for files
@@ -198,7 +212,7 @@ public class SimulationBoxViewSlicer {
             this.graphicsUtilityMethods.sortGraphicalParticlePositions(this.boxView, this.graphicalParticlePositionArrayList);
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Set tmpChangeDarkerFactor">
-            tmpChangeDarkerFraction = Preferences.getInstance().getDepthAttenuationSlicer() / Preferences.getInstance().getNumberOfSlicesPerView();
+            tmpChangeDarkerFraction = this.renderSettings.getDepthAttenuationSlicer() / this.renderSettings.getNumberOfSlicesPerView();
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Initialize">
             // Initialize to impossible value
@@ -233,24 +247,24 @@ public class SimulationBoxViewSlicer {
             tmpTargetImageWidth = tmpTargetCoordinatesAndSize.getWidth();
             tmpTargetImageHeight = tmpTargetCoordinatesAndSize.getHeight();
             tmpGraphicsFactory = null;
-            switch (Preferences.getInstance().getSlicerGraphicsMode()) {
+            switch (this.renderSettings.getSlicerGraphicsMode()) {
                 case PIXEL_ALL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case PIXEL_FINAL:
-                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new PixelGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_ALL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case BUFFERED_IMAGE_FINAL:
-                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new BufferedImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_ALL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, true, this.renderSettings);
                     break;
                 case VOLATILE_IMAGE_FINAL:
-                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false);
+                    tmpGraphicsFactory = new VolatileImageGraphicsFactory(this.masterPanelWidthInPixel, this.masterPanelHeightInPixel, false, this.renderSettings);
                     break;
             }
             // </editor-fold>
@@ -261,13 +275,17 @@ public class SimulationBoxViewSlicer {
             }
             this.slices = this.graphicsUtilityMethods.createSlices(this.boxView, this.graphicalParticlePositionArrayList, this.boxSizeInfo);
             // <editor-fold defaultstate="collapsed" desc="- Create temporary directory for slicer image files if not in-memory slicer">
-            if (Preferences.getInstance().getImageStorageMode() == ImageStorageEnum.HARDDISK_COMPRESSED
+            if (this.renderSettings.getImageStorageMode() == ImageStorageEnum.HARDDISK_COMPRESSED
                     && !tmpUtilityFileMethods.createDirectory(new File(this.destinationDirectory, this.boxView.name()))) {
                 return false;
             }
             // </editor-fold>
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Main loop over slices">
+            // Loop invariant shifts and frame color
+            int tmpXshift = tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(this.renderSettings.getXshiftInPixelSlicer());
+            int tmpYshift = tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(this.renderSettings.getYshiftInPixelSlicer());
+            Color tmpFrameColor = this.renderSettings.getFrameColorSlicer();
             GraphicalParticlePosition[] tmpGraphicalParticlePositions = this.graphicalParticlePositionArrayList.getGraphicalParticlePositions();
             for (int k = this.slices.length - 1; k >= 0; k--) {
                 // <editor-fold defaultstate="collapsed" desc="Make darker or clear">
@@ -275,7 +293,7 @@ public class SimulationBoxViewSlicer {
                 // be cleared to clean the previous painted image. Otherwise the 
                 // graphicsObjects of the current slice will be painted on the 
                 // previous slice.
-                if (Preferences.getInstance().isSingleSliceDisplay()) {
+                if (this.renderSettings.isSingleSliceDisplay()) {
                     tmpGraphicsFactory.clear();
                 } else {
                     tmpGraphicsFactory.attenuateToBackgroundColor(tmpChangeDarkerFraction);
@@ -317,11 +335,11 @@ public class SimulationBoxViewSlicer {
                             default:
                                 return false;
                         }
-                        tmpXCoordinate += tmpTargetCoordinatesAndSize.getXcoordinateWithXshift(Preferences.getInstance().getXshiftInPixelSlicer());
-                        tmpYCoordinate += tmpTargetCoordinatesAndSize.getYcoordinateWithYshift(Preferences.getInstance().getYshiftInPixelSlicer());
+                        tmpXCoordinate += tmpXshift;
+                        tmpYCoordinate += tmpYshift;
                         // </editor-fold>
                         if (tmpCurrentGraphicalParticlePosition.isInFrame()) {
-                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, Preferences.getInstance().getFrameColorSlicer());
+                            tmpGraphicsFactory.drawSinglePixel(tmpXCoordinate, tmpYCoordinate, tmpFrameColor);
                         } else {
                             if (tmpGraphicalParticle.isParticleTransparent()) {
                                 tmpGraphicsFactory.drawTransparent(tmpGraphicalParticle.getGraphicsObject(), tmpXCoordinate, tmpYCoordinate, tmpDiameter);
@@ -340,7 +358,7 @@ public class SimulationBoxViewSlicer {
                 } else {
                     tmpImage = tmpGraphicsFactory.getImage();
                 }
-                switch (Preferences.getInstance().getImageStorageMode()) {
+                switch (this.renderSettings.getImageStorageMode()) {
                     case HARDDISK_COMPRESSED:
                         // NOTE: This must correspond to tmpUtilityFile.createDirectory() method above!
                         tmpSliceFilePathname = this.graphicsUtilityMethods.getSliceFilePathName(this.destinationDirectory, this.boxView, k, this.imageFileType);
@@ -368,6 +386,8 @@ public class SimulationBoxViewSlicer {
             // <editor-fold defaultstate="collapsed" desc="Clean up graphics factory">
             tmpGraphicsFactory.cleanUp();
             // </editor-fold>
+            MetricsRegistry.getInstance().stopTimer(MetricsName.SLICER_SLICE_CREATION, tmpSliceCreationStartTime);
+            MetricsRegistry.getInstance().observe(MetricsName.SLICER_PARTICLES, this.graphicalParticlePositionArrayList.getSize());
             // NOTE: Do NOT release memory (i.e. set this.graphicalParticlePositionArrayList = null)
             //       since this.graphicalParticlePositionArrayList may still be used
             return true;
@@ -384,18 +404,18 @@ public class SimulationBoxViewSlicer {
      * Returns slice image
      *
      * @param aSliceIndex Index of slice (0 to
- Preferences.getInstance().getNumberOfSlicesPerView() - 1)
+     * RenderSettings.getNumberOfSlicesPerView() - 1)
      * @return Slice image or null if image is not available
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
     public BufferedImage getSliceImage(int aSliceIndex) throws IllegalArgumentException {
         // <editor-fold defaultstate="collapsed" desc="Checks">
-        if (aSliceIndex < 0 || aSliceIndex >= Preferences.getInstance().getNumberOfSlicesPerView()) {
+        if (aSliceIndex < 0 || aSliceIndex >= this.renderSettings.getNumberOfSlicesPerView()) {
             throw new IllegalArgumentException("An argument is illegal.");
         }
         // </editor-fold>
         String tmpKey = this.graphicsUtilityMethods.getKeyForSliceImage(this.boxView, aSliceIndex);
-        switch (Preferences.getInstance().getImageStorageMode()) {
+        switch (this.renderSettings.getImageStorageMode()) {
             case HARDDISK_COMPRESSED:
                 if (this.keyToCreatedSliceImagePathnameMap.containsKey(tmpKey)) {
                     return GraphicsUtils.readImageFromFile(this.keyToCreatedSliceImagePathnameMap.get(tmpKey));
@@ -420,13 +440,13 @@ public class SimulationBoxViewSlicer {
      * The start value of the slice in the box
      * 
      * @param aSliceIndex Index of slice (0 to
- Preferences.getInstance().getNumberOfSlicesPerView() - 1)
+     * RenderSettings.getNumberOfSlicesPerView() - 1)
      * @return Start value of the slice in the box or NaN if not available
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
     public double getSliceStartValue(int aSliceIndex) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
-        if (aSliceIndex < 0 || aSliceIndex >= Preferences.getInstance().getNumberOfSlicesPerView()) {
+        if (aSliceIndex < 0 || aSliceIndex >= this.renderSettings.getNumberOfSlicesPerView()) {
             throw new IllegalArgumentException("An argument is illegal.");
         }
         // </editor-fold>
@@ -441,13 +461,13 @@ public class SimulationBoxViewSlicer {
      * The end value of the slice in the box
      * 
      * @param aSliceIndex Index of slice (0 to
- Preferences.getInstance().getNumberOfSlicesPerView() - 1)
+     * RenderSettings.getNumberOfSlicesPerView() - 1)
      * @return End value of the slice in the box or NaN if not available
      * @throws IllegalArgumentException Thrown if an argument is illegal
      */
     public double getSliceEndValue(int aSliceIndex) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
-        if (aSliceIndex < 0 || aSliceIndex >= Preferences.getInstance().getNumberOfSlicesPerView()) {
+        if (aSliceIndex < 0 || aSliceIndex >= this.renderSettings.getNumberOfSlicesPerView()) {
             throw new IllegalArgumentException("An argument is illegal.");
         }
         // </editor-fold>
@@ -463,7 +483,7 @@ public class SimulationBoxViewSlicer {
      * slice
      * 
      * @param aStartSliceIndex Index of start slice (0 to
- Preferences.getInstance().getNumberOfSlicesPerView() - 1)
+     * RenderSettings.getNumberOfSlicesPerView() - 1)
      * @param aPointInSpace Point in slice
      * @return Index of particle which is nearest to point or -1 if no particle 
      * is near (i.e. aPointInSpace is outside particle radius of every particle)
@@ -482,7 +502,7 @@ public class SimulationBoxViewSlicer {
      * from start slice
      * 
      * @param aStartSliceIndex Index of start slice (0 to
- Preferences.getInstance().getNumberOfSlicesPerView() - 1)
+     * RenderSettings.getNumberOfSlicesPerView() - 1)
      * @param aPointInSpace Point in slice
      * @return Graphical particle position which is nearest to point or -1 if no 
      * particle is near (i.e. aPointInSpace is outside particle radius of every 
@@ -563,7 +583,7 @@ public class SimulationBoxViewSlicer {
      * slice
      * 
      * @param aStartSliceIndex Index of start slice (0 to
- Preferences.getInstance().getNumberOfSlicesPerView() - 1)
+     * RenderSettings.getNumberOfSlicesPerView() - 1)
      * @param aPointInSpace Point in slice
      * @return linked list with one particle index of all molecules nearest to 
      * point or null if no particle is near (i.e. aPointInSpace is outside 
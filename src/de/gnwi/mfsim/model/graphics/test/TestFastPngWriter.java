@@ -0,0 +1,214 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.graphics.test;
+
+import de.gnwi.mfsim.model.graphics.FastPngWriter;
+import de.gnwi.mfsim.model.graphics.GraphicsUtils;
+import de.gnwi.mfsim.model.graphics.ImageFileType;
+import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class FastPngWriter and thread-safe image I/O of
+ * GraphicsUtils
+ */
+public class TestFastPngWriter extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of lossless round-trip for all deflate levels and numbers of
+     * threads (multiple IDAT chunks)
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testRoundTrip() throws Exception {
+        BufferedImage[] tmpImages = new BufferedImage[] {
+            this.getSliceImage(700, 300, BufferedImage.TYPE_INT_RGB, 1L),
+            this.getSliceImage(520, 410, BufferedImage.TYPE_INT_ARGB, 2L),
+            this.getSliceImage(3, 1, BufferedImage.TYPE_INT_RGB, 3L)
+        };
+        int tmpTestIndex = 1;
+        for (BufferedImage tmpImage : tmpImages) {
+            for (int tmpDeflateLevel : new int[] {0, 1, 4, 9}) {
+                for (int tmpNumberOfThreads : new int[] {1, 4}) {
+                    byte[] tmpPngBytes = (new FastPngWriter(tmpDeflateLevel, tmpNumberOfThreads)).toByteArray(tmpImage);
+                    BufferedImage tmpReadImage = ImageIO.read(new ByteArrayInputStream(tmpPngBytes));
+                    assertTrue("Test" + String.valueOf(tmpTestIndex++), this.isEqual(tmpImage, tmpReadImage));
+                }
+            }
+        }
+        // Result does not depend on number of threads for single chunk
+        BufferedImage tmpSmallImage = this.getSliceImage(50, 50, BufferedImage.TYPE_INT_RGB, 4L);
+        assertTrue(
+            "Test" + String.valueOf(tmpTestIndex++), 
+            Arrays.equals((new FastPngWriter(4, 1)).toByteArray(tmpSmallImage), (new FastPngWriter(4, 8)).toByteArray(tmpSmallImage))
+        );
+        // Illegal arguments
+        try {
+            new FastPngWriter(10, 1);
+            fail("Test" + String.valueOf(tmpTestIndex++));
+        } catch (IllegalArgumentException anException) {
+            // Expected
+        }
+        try {
+            new FastPngWriter(1, 0);
+            fail("Test" + String.valueOf(tmpTestIndex++));
+        } catch (IllegalArgumentException anException) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test of concurrent image writing and JPEG conversion with GraphicsUtils
+     * (with standard and fast PNG writer)
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testConcurrentImageIo() throws Exception {
+        boolean tmpIsFastPngWriter = Preferences.getInstance().isFastPngWriter();
+        try {
+            Preferences.getInstance().setFastPngWriter(false);
+            this.checkConcurrentImageIo();
+            Preferences.getInstance().setFastPngWriter(true);
+            this.checkConcurrentImageIo();
+        } finally {
+            Preferences.getInstance().setFastPngWriter(tmpIsFastPngWriter);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Checks concurrent image writing and JPEG conversion with GraphicsUtils
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    private void checkConcurrentImageIo() throws Exception {
+        final File tmpDirectory = new File(System.getProperty("user.dir") + File.separatorChar + "~" + new StringUtilityMethods().getGloballyUniqueID());
+        assertTrue("Test1", tmpDirectory.mkdirs());
+        try {
+            final int tmpNumberOfImagesPerThread = 8;
+            final AtomicInteger tmpNumberOfFailures = new AtomicInteger(0);
+            Thread[] tmpThreads = new Thread[4];
+            for (int i = 0; i < tmpThreads.length; i++) {
+                final int tmpThreadIndex = i;
+                tmpThreads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int k = 0; k < tmpNumberOfImagesPerThread; k++) {
+                            BufferedImage tmpImage = TestFastPngWriter.this.getSliceImage(200, 150, BufferedImage.TYPE_INT_RGB, 100L * tmpThreadIndex + k);
+                            ImageFileType tmpImageFileType = k % 2 == 0 ? ImageFileType.PNG : ImageFileType.BMP;
+                            File tmpFile = new File(tmpDirectory, String.valueOf(tmpThreadIndex) + "_" + String.valueOf(k) + "." + tmpImageFileType.toFileTypeEnding());
+                            if (!GraphicsUtils.writeImageToFileWithoutChecks(tmpImage, tmpImageFileType, tmpFile)) {
+                                tmpNumberOfFailures.incrementAndGet();
+                                continue;
+                            }
+                            // Existing file is overwritten
+                            if (!GraphicsUtils.writeImageToFileWithoutChecks(tmpImage, tmpImageFileType, tmpFile)) {
+                                tmpNumberOfFailures.incrementAndGet();
+                                continue;
+                            }
+                            if (!TestFastPngWriter.this.isEqual(tmpImage, GraphicsUtils.readImageFromFile(tmpFile.getAbsolutePath()))) {
+                                tmpNumberOfFailures.incrementAndGet();
+                            }
+                            BufferedImage tmpJpegImage = GraphicsUtils.convertJpegEncodedByteArrayToBufferedImage(GraphicsUtils.convertBufferedImageToJpegEncodedByteArray(tmpImage));
+                            if (tmpJpegImage == null || tmpJpegImage.getWidth() != tmpImage.getWidth() || tmpJpegImage.getHeight() != tmpImage.getHeight()) {
+                                tmpNumberOfFailures.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+                tmpThreads[i].start();
+            }
+            for (Thread tmpThread : tmpThreads) {
+                tmpThread.join();
+            }
+            assertEquals("Test2", 0, tmpNumberOfFailures.get());
+            assertEquals("Test3", tmpThreads.length * tmpNumberOfImagesPerThread, tmpDirectory.listFiles().length);
+        } finally {
+            for (File tmpFile : tmpDirectory.listFiles()) {
+                tmpFile.delete();
+            }
+            tmpDirectory.delete();
+        }
+    }
+
+    /**
+     * Returns synthetic slice image with particle discs and noise
+     *
+     * @param aWidth Width
+     * @param aHeight Height
+     * @param anImageType Image type
+     * @param aSeed Seed
+     * @return Synthetic slice image
+     */
+    private BufferedImage getSliceImage(int aWidth, int aHeight, int anImageType, long aSeed) {
+        Random tmpRandom = new Random(aSeed);
+        BufferedImage tmpImage = new BufferedImage(aWidth, aHeight, anImageType);
+        Graphics2D tmpGraphics2D = tmpImage.createGraphics();
+        tmpGraphics2D.setColor(Color.WHITE);
+        tmpGraphics2D.fillRect(0, 0, aWidth, aHeight);
+        for (int i = 0; i < aWidth * aHeight / 400 + 1; i++) {
+            tmpGraphics2D.setColor(new Color(tmpRandom.nextInt(256), tmpRandom.nextInt(256), tmpRandom.nextInt(256), 128 + tmpRandom.nextInt(128)));
+            tmpGraphics2D.fillOval(tmpRandom.nextInt(aWidth), tmpRandom.nextInt(aHeight), 4 + tmpRandom.nextInt(12), 4 + tmpRandom.nextInt(12));
+        }
+        tmpGraphics2D.dispose();
+        for (int i = 0; i < aWidth * aHeight / 50 + 1; i++) {
+            tmpImage.setRGB(tmpRandom.nextInt(aWidth), tmpRandom.nextInt(aHeight), tmpRandom.nextInt());
+        }
+        return tmpImage;
+    }
+
+    /**
+     * Returns if images have equal ARGB pixels
+     *
+     * @param anImage1 Image 1
+     * @param anImage2 Image 2
+     * @return True: Images have equal ARGB pixels, false: Otherwise
+     */
+    private boolean isEqual(BufferedImage anImage1, BufferedImage anImage2) {
+        if (anImage1 == null || anImage2 == null) {
+            return false;
+        }
+        if (anImage1.getWidth() != anImage2.getWidth() || anImage1.getHeight() != anImage2.getHeight()) {
+            return false;
+        }
+        for (int y = 0; y < anImage1.getHeight(); y++) {
+            for (int x = 0; x < anImage1.getWidth(); x++) {
+                if (anImage1.getRGB(x, y) != anImage2.getRGB(x, y)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,88 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.graphics.test;
+
+import de.gnwi.mfsim.model.graphics.RenderSettings;
+import de.gnwi.mfsim.model.graphics.factory.PixelGraphicsFactory;
+import de.gnwi.mfsim.model.util.GraphicsModeEnum;
+import de.gnwi.mfsim.model.util.ImageStorageEnum;
+import de.gnwi.mfsim.model.util.ParticleColorDisplayEnum;
+import java.awt.Color;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class RenderSettings
+ */
+public class TestRenderSettings extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of pixel graphics factories that render with their render settings
+     * snapshot
+     */
+    public void testPixelGraphicsFactoryWithSnapshot() {
+        RenderSettings tmpRedRenderSettings = this.getRenderSettings(Color.RED);
+        RenderSettings tmpBlueRenderSettings = this.getRenderSettings(Color.BLUE);
+        assertEquals("Test1", 10, tmpRedRenderSettings.getNumberOfSlicesPerView());
+        assertEquals("Test2", 3, tmpRedRenderSettings.getXshiftInPixelSlicer());
+        assertEquals("Test3", -4, tmpRedRenderSettings.getYshiftInPixelSlicer());
+        assertEquals("Test4", Color.WHITE, tmpRedRenderSettings.getFrameColorSlicer());
+        assertEquals("Test5", GraphicsModeEnum.PIXEL_ALL, tmpRedRenderSettings.getSlicerGraphicsMode());
+        assertEquals("Test6", ImageStorageEnum.MEMORY_UNCOMPRESSED, tmpRedRenderSettings.getImageStorageMode());
+        // Each factory renders with its own snapshot
+        PixelGraphicsFactory tmpRedPixelGraphicsFactory = new PixelGraphicsFactory(20, 10, true, tmpRedRenderSettings);
+        PixelGraphicsFactory tmpBluePixelGraphicsFactory = new PixelGraphicsFactory(20, 10, true, tmpBlueRenderSettings);
+        assertEquals("Test7", Color.RED.getRGB(), tmpRedPixelGraphicsFactory.getImage().getRGB(5, 5));
+        assertEquals("Test8", Color.BLUE.getRGB(), tmpBluePixelGraphicsFactory.getImage().getRGB(5, 5));
+        tmpRedPixelGraphicsFactory.clear();
+        assertEquals("Test9", Color.RED.getRGB(), tmpRedPixelGraphicsFactory.getImage().getRGB(19, 9));
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns render settings with specified background color
+     *
+     * @param aBackgroundColor Background color
+     * @return Render settings
+     */
+    private RenderSettings getRenderSettings(Color aBackgroundColor) {
+        return new RenderSettings(
+            10,
+            0,
+            false,
+            0.8,
+            0,
+            3,
+            -4,
+            Color.WHITE,
+            aBackgroundColor,
+            GraphicsModeEnum.PIXEL_ALL,
+            ImageStorageEnum.MEMORY_UNCOMPRESSED,
+            ParticleColorDisplayEnum.MOLECULE_COLOR_MODE,
+            0.2f,
+            0.3f,
+            0.3f,
+            1.0f
+        );
+    }
+    // </editor-fold>
+
+}
@@ -23,7 +23,9 @@ import de.gnwi.mfsim.model.graphics.SpicesGraphics;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticlePosition;
 import de.gnwi.mfsim.model.graphics.particle.GraphicalParticleWrapper;
 import java.awt.Color;
+import de.gnwi.spices.PointInSpace;
 import java.util.HashMap;
+import java.util.Random;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
@@ -1298,5 +1300,67 @@ public class TestSpicesGraphics extends TestCase {
         tmpLineNumber = 0;
         tmpSpices = new SpicesGraphics(tmpStructure, tmpLineNumber, tmpFirstParticleCoordinates, tmpLastParticleCoordinates, tmpBondLength);
     }
+
+    /**
+     * Test of coordinate templates: Particle coordinates of copies of 
+     * molecular structures must be identical to Spices layout
+     */
+    public void testCoordinateTemplate() {
+        String[] tmpStructures = new String[] {
+            "A-B-C-D-E",
+            "A-B(C)(D)-E",
+            "A-B(C-D(E-F)-G)-H",
+            "<A-B><C-D-E>",
+            "M(EtA-6M-CiB-M-CiB-5M)-M(EtA-6M-CiB-M-CiB-5M)-M-DMP-M-MeOH-M-DMP-M-M(EtA-6M-CiB-M-CiB-5M)-M(EtA-6M-CiB-M-CiB-5M)"
+        };
+        HashMap<String, IGraphicalParticle> tmpHashMap = new HashMap<>();
+        for (String tmpParticle : new String[] {"A", "B", "C", "D", "E", "F", "G", "H", "M", "EtA", "CiB", "DMP", "MeOH"}) {
+            tmpHashMap.put(tmpParticle, new GraphicalParticleWrapper(tmpParticle, "Particle" + tmpParticle, Color.gray, 0.5));
+        }
+        Random tmpRandom = new Random(1L);
+        int tmpNumberOfMolecules = 500;
+        SpicesGraphics.clearCoordinateTemplateCache();
+        for (String tmpStructure : tmpStructures) {
+            GraphicalParticlePosition[] tmpFirstParticleCoordinates = new GraphicalParticlePosition[tmpNumberOfMolecules];
+            GraphicalParticlePosition[] tmpLastParticleCoordinates = new GraphicalParticlePosition[tmpNumberOfMolecules];
+            PointInSpace[] tmpFirstPoints = new PointInSpace[tmpNumberOfMolecules];
+            PointInSpace[] tmpLastPoints = new PointInSpace[tmpNumberOfMolecules];
+            for (int i = 0; i < tmpNumberOfMolecules; i++) {
+                double tmpX = tmpRandom.nextDouble() * 20.0;
+                double tmpY = tmpRandom.nextDouble() * 20.0;
+                double tmpZ = tmpRandom.nextDouble() * 20.0;
+                tmpFirstParticleCoordinates[i] = new GraphicalParticlePosition(tmpX, tmpY, tmpZ);
+                tmpFirstPoints[i] = new PointInSpace(tmpX, tmpY, tmpZ);
+                if (i % 10 == 0) {
+                    // Identical first and last particle coordinate
+                    tmpLastParticleCoordinates[i] = new GraphicalParticlePosition(tmpX, tmpY, tmpZ);
+                    tmpLastPoints[i] = new PointInSpace(tmpX, tmpY, tmpZ);
+                } else {
+                    tmpX = tmpRandom.nextDouble() * 20.0;
+                    tmpY = tmpRandom.nextDouble() * 20.0;
+                    tmpZ = tmpRandom.nextDouble() * 20.0;
+                    tmpLastParticleCoordinates[i] = new GraphicalParticlePosition(tmpX, tmpY, tmpZ);
+                    tmpLastPoints[i] = new PointInSpace(tmpX, tmpY, tmpZ);
+                }
+            }
+            double tmpBondLength = 0.5 + tmpRandom.nextDouble();
+            // Spices layout
+            PointInSpace[][] tmpExpected = new SpicesGraphics(tmpStructure).getParticleCoordinates(tmpFirstPoints, tmpLastPoints, tmpBondLength);
+            // Coordinate template: Second instance uses cached template
+            for (int k = 0; k < 2; k++) {
+                GraphicalParticlePosition[][] tmpResult = 
+                    new SpicesGraphics(tmpStructure).getParticleCoordinates(tmpHashMap, tmpFirstParticleCoordinates, tmpLastParticleCoordinates, tmpBondLength);
+                assertEquals("Test1", tmpExpected.length, tmpResult.length);
+                for (int i = 0; i < tmpExpected.length; i++) {
+                    assertEquals("Test2", tmpExpected[i].length, tmpResult[i].length);
+                    for (int j = 0; j < tmpExpected[i].length; j++) {
+                        assertEquals("Test3", tmpExpected[i][j].getX(), tmpResult[i][j].getX(), 0.0);
+                        assertEquals("Test4", tmpExpected[i][j].getY(), tmpResult[i][j].getY(), 0.0);
+                        assertEquals("Test5", tmpExpected[i][j].getZ(), tmpResult[i][j].getZ(), 0.0);
+                    }
+                }
+            }
+        }
+    }
     
 }
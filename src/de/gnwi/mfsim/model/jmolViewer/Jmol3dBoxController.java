@@ -187,6 +187,7 @@ public class Jmol3dBoxController extends Jmol3dController {
         if (aData == null) {
             this.executeCommand(JmolDpdBoxCommands.ResetAll);
         } else {
+            this.shutdownDataManager();
             this.dataManager = new JmolSingelBoxDataManager(new JmolSingleBoxDpdDataProvider(aData), this);
             this.dataManager.setFinalScript(aFinalScript);
             this.dataManager.start();
@@ -222,6 +223,7 @@ public class Jmol3dBoxController extends Jmol3dController {
         JmolSettings.getInstance().resetParticleData();
         JmolSettings.getInstance().setGraphicalParticles(aGraphicalParticles);
         JmolSettings.getInstance().configureColors();
+        this.shutdownDataManager();
         this.dataManager = new JmolStaggeredMultiBoxDataManager(new JmolDpdResultFileDataProvider(aDpdFile), this);
         this.dataManager.start();
     }
@@ -261,6 +263,7 @@ public class Jmol3dBoxController extends Jmol3dController {
         tmpSettings.setGraphicalParticles(aGraphicalParticles);
         tmpSettings.configureColors();
         IDataProvider tmpDataprovider = this.dataManager.getDataProvider();
+        this.shutdownDataManager();
         this.dataManager = this.dataManager.getClass().getConstructor(IDataProvider.class, Jmol3dBoxController.class)
                 .newInstance(tmpDataprovider, this);
         this.dataManager.setRestoreOrientation(true);
@@ -277,6 +280,15 @@ public class Jmol3dBoxController extends Jmol3dController {
         this.dataManager.setSimulationStep(aStep);
     }
 
+    /**
+     * Shuts down current data manager (if any).
+     */
+    private void shutdownDataManager() {
+        if (this.dataManager != null) {
+            this.dataManager.shutdown();
+        }
+    }
+
     @Override
     protected void handleMouseEvent(MouseEvent e) {
         // Suppress mouse double-click for possible measurement
@@ -34,4 +34,11 @@ public interface IDataProvider {
      * @throws Exception Exception
      */
     public Object getNextWork(int aStep) throws Exception;
+
+    /**
+     * Gets the number of available simulation steps.
+     *
+     * @return Number of steps
+     */
+    public int getNumberOfSteps();
 }
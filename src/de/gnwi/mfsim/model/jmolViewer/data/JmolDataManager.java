@@ -22,16 +22,18 @@ package de.gnwi.mfsim.model.jmolViewer.data;
 import de.gnwi.mfsim.model.jmolViewer.setting.JmolSettings;
 import java.io.*;
 import java.util.UUID;
-import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
-import de.gnwi.mfsim.model.graphics.particle.IGraphicalParticlePosition;
+import java.util.concurrent.Future;
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
 import de.gnwi.mfsim.model.jmolViewer.Jmol3dBoxController;
 
 /**
- * Abstract manager class conducting DPD data for the Jmol viewer.
+ * Abstract manager class conducting DPD data for the Jmol viewer. The data
+ * manager is executed as interactive task of the managed executor.
  *
  * @author Andreas Truszkowski
  */
-public abstract class JmolDataManager extends Thread {
+public abstract class JmolDataManager implements Runnable {
 
     /**
      * The finally executed script.
@@ -61,6 +63,10 @@ public abstract class JmolDataManager extends Thread {
      * True if structure orientation shall be restored.
      */
     protected boolean restoreOrientation = false;
+    /**
+     * Future of data manager task (null if not started).
+     */
+    private volatile Future<?> future = null;
 
     /**
      * Creates a new instance.
@@ -79,99 +85,38 @@ public abstract class JmolDataManager extends Thread {
     }
 
     /**
-     * Converts given data (GraphicalParticlePosition, InputStream) into the XYZ
-     * format.
-     *
-     * @param aDpdData DPD data object.
-     * @return Converted data
-     * @throws FileNotFoundException FileNotFoundException
-     * @throws IOException IOException
+     * Starts the data manager as interactive task of the managed executor.
      */
-    protected String convertDpdDataToXyz(Object aDpdData)
-            throws FileNotFoundException, IOException {
-        if (aDpdData instanceof IGraphicalParticlePosition[]) {
-            return this.convertDpdDataToXyz((IGraphicalParticlePosition[]) aDpdData);
-        }
-        if (aDpdData instanceof InputStream) {
-            return this.convertDpdDataToXyz((InputStream) aDpdData);
-        }
-        return null;
+    public void start() {
+        this.future = ManagedExecutor.getInstance().submit(WorkClassEnum.INTERACTIVE, this);
     }
 
     /**
-     * Converts given dGraphicalParticlePosition data into the XYZ format.
+     * Returns if the data manager is cancelled (see shutdown()) or its
+     * thread is interrupted.
      *
-     * @param aDpdData GraphicalParticlePositionInterface data object.
-     * @return Converted data.
-     * @throws FileNotFoundException
-     * @throws IOException
+     * @return True if data manager is cancelled, false otherwise
      */
-    private String convertDpdDataToXyz(IGraphicalParticlePosition[] aDpdData)
-            throws FileNotFoundException, IOException {
-        StringBuilder tmpXyzDataBuilder = new StringBuilder();
-        JmolSettings tmpSettings = JmolSettings.getInstance();
-        tmpXyzDataBuilder.append(aDpdData.length);
-        tmpXyzDataBuilder.append("\n");
-        tmpXyzDataBuilder.append("Step ").append(this.stepNumber);
-        tmpXyzDataBuilder.append("\n");
-        for (IGraphicalParticlePosition tmpParticlePosition : aDpdData) {
-            String tmpParticleID = ((GraphicalParticle) tmpParticlePosition.getGraphicalParticle()).getMoleculeParticleString();
-            tmpXyzDataBuilder.append(tmpSettings.getMoleculeParticleElementMap().get(tmpParticleID));
-            tmpXyzDataBuilder.append(" ");
-            tmpXyzDataBuilder.append(tmpParticlePosition.getX()).append(" ");
-            tmpXyzDataBuilder.append(tmpParticlePosition.getY()).append(" ");
-            tmpXyzDataBuilder.append(tmpParticlePosition.getZ()).append(" ");
-            tmpXyzDataBuilder.append("\n");
-        }
-        this.stepNumber++;
-        return tmpXyzDataBuilder.toString();
+    protected boolean isCancelled() {
+        return Thread.currentThread().isInterrupted() || ManagedExecutor.getCurrentCancellationToken().isCancelled();
     }
 
     /**
-     * Converts given InputStream into the XYZ format. Before executing this
- method GraphicalParticle data has to be set in the Settings object .
+     * Converts given data (GraphicalParticlePosition, InputStream) into the XYZ
+     * format.
      *
-     * @param aDataStream GraphicalParticlePositionInterface data object.
-     * @return Converted data.
-     * @throws FileNotFoundException
-     * @throws IOException
+     * @param aDpdData DPD data object.
+     * @return Converted data
+     * @throws FileNotFoundException FileNotFoundException
+     * @throws IOException IOException
      */
-    private String convertDpdDataToXyz(InputStream aDataStream)
+    protected String convertDpdDataToXyz(Object aDpdData)
             throws FileNotFoundException, IOException {
-        JmolSettings tmpSettings = JmolSettings.getInstance();
-        LineNumberReader tmpReader = new LineNumberReader(new InputStreamReader(aDataStream));
-        // Skipt first line;
-        tmpReader.readLine();
-        String tmpLine;
-        int tmpTotalNumberOfParticles = 0;
-        StringBuilder tmpXyzDataBuilder = new StringBuilder();
-        tmpXyzDataBuilder.append("Frame ");
-        tmpXyzDataBuilder.append(this.stepNumber);
-        tmpXyzDataBuilder.append("\n");
-        while ((tmpLine = tmpReader.readLine()) != null) {
-            // First line: Molecule name
-            String tmpMoleculeName = tmpLine;
-            // Second line: Particle name
-            String tmpParticleName = tmpReader.readLine();
-            String tmpParticleID = String.format("%s_%s", tmpMoleculeName, tmpParticleName);
-            // Third line: Number of particles
-            int tmpNumberOfParticles = Integer.parseInt(tmpReader.readLine());
-            for (int i = 0; i < tmpNumberOfParticles; i++) {
-                tmpXyzDataBuilder.append(tmpSettings.getMoleculeParticleElementMap().get(tmpParticleID));
-                tmpXyzDataBuilder.append(" ");
-                for (int j = 0; j < 3; j++) {
-                    tmpXyzDataBuilder.append(tmpReader.readLine());
-                    tmpXyzDataBuilder.append(" ");
-                }
-                tmpXyzDataBuilder.append("\n");
-            }
-            tmpTotalNumberOfParticles += tmpNumberOfParticles;
+        String tmpXyzData = JmolXyzConverter.getXyzData(aDpdData, this.stepNumber);
+        if (tmpXyzData != null) {
+            this.stepNumber++;
         }
-        tmpReader.close();
-        tmpXyzDataBuilder.insert(0, "\n");
-        tmpXyzDataBuilder.insert(0, tmpTotalNumberOfParticles);
-        this.stepNumber++;
-        return tmpXyzDataBuilder.toString();
+        return tmpXyzData;
     }
 
     /**
@@ -191,10 +136,22 @@ public abstract class JmolDataManager extends Thread {
      * remembered
      */
     protected void setStructure(String aXyzData, boolean aRememberOrienation) {
+        this.setStructureScript(JmolXyzConverter.getDataScript(aXyzData), aRememberOrienation);
+    }
+
+    /**
+     * Display structure (simualtion box) in the Jmol viewer.
+     *
+     * @param aDataScript Jmol data script (XYZ data enclosed by load and end
+     * statement).
+     * @param aRememberOrienation True if current structure orientation shall be
+     * remembered
+     */
+    protected void setStructureScript(String aDataScript, boolean aRememberOrienation) {
         JmolSettings tmpSettings = JmolSettings.getInstance();
-        this.currentDataScript = this.generateStructureScript(aXyzData);
+        this.currentDataScript = aDataScript;
         this.currentDataScriptUUID = UUID.randomUUID();
-        StringBuilder tmpStructureScript = new StringBuilder();
+        StringBuilder tmpStructureScript = new StringBuilder(aDataScript.length() + 1024);
         tmpStructureScript.append("set autobond OFF;set refreshing false;");
         if (aRememberOrienation) {
             tmpStructureScript.append("save orientation tmpOrientation;");
@@ -212,14 +169,6 @@ public abstract class JmolDataManager extends Thread {
         this.owner.executeScriptWait(tmpStructureScript.toString());
     }
 
-    private String generateStructureScript(String aXyzData) {
-        StringBuilder tmpDataScript = new StringBuilder();
-        tmpDataScript.append("load DATA \"model data\"\n");
-        tmpDataScript.append(aXyzData);
-        tmpDataScript.append("end \"model data\"\n");
-        return tmpDataScript.toString();
-    }
-
     /**
      * Gets the data script of currently set scene.
      *
@@ -249,7 +198,7 @@ public abstract class JmolDataManager extends Thread {
     public String getStructureScript(int aStep) throws Exception {
         Object tmpWork = this.dataProvider.getNextWork(aStep);
         String tmpXyzData = this.convertDpdDataToXyz(tmpWork);
-        return this.generateStructureScript(tmpXyzData);
+        return JmolXyzConverter.getDataScript(tmpXyzData);
     }
 
     /**
@@ -265,6 +214,18 @@ public abstract class JmolDataManager extends Thread {
      */
     public abstract void setSimulationStep(int aStepIndex) throws IOException;
 
+    /**
+     * Shuts down the data manager, i.e. the data manager task is cancelled
+     * (cooperatively) and terminates after the currently processed step. A
+     * data manager that has not yet been started is discarded.
+     */
+    public void shutdown() {
+        Future<?> tmpFuture = this.future;
+        if (tmpFuture != null) {
+            tmpFuture.cancel(false);
+        }
+    }
+
     /**
      * Sets the finally executed script.
      *
@@ -23,17 +23,16 @@
  */
 package de.gnwi.mfsim.model.jmolViewer.data;
 
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.util.ZipArchiveReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
-import java.util.zip.ZipFile;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -48,13 +47,13 @@ public class JmolDpdResultFileDataProvider implements IDataProvider {
      */
     private ArrayList<Integer> steps = null;
     /**
-     * Hashmap mapping step number and zipEntry.
+     * Hashmap mapping step number and (normalized) zip entry name.
      */
-    private HashMap<Integer, ZipEntry> stepZipEntryMap = null;
+    private HashMap<Integer, String> stepZipEntryNameMap = null;
     /**
-     * Dpd Zip file handle.
+     * Dpd Zip file reader (random access via central directory).
      */
-    private ZipFile zipFile = null;
+    private ZipArchiveReader zipArchiveReader = null;
 
     /**
      * Creates a new instance.
@@ -65,20 +64,16 @@ public class JmolDpdResultFileDataProvider implements IDataProvider {
      */
     public JmolDpdResultFileDataProvider(File aDpdResultFile) throws ZipException, IOException {
         this.steps = new ArrayList<Integer>();
-        this.stepZipEntryMap = new HashMap<Integer, ZipEntry>();
-        this.zipFile = new ZipFile(aDpdResultFile);
-        Enumeration<? extends ZipEntry> tmpEntries = this.zipFile.entries();
-        ZipEntry tmpEntry;
-        while (tmpEntries.hasMoreElements()) {
-            tmpEntry = tmpEntries.nextElement();
-            if (!tmpEntry.isDirectory() && tmpEntry.getName().contains("\\Steps\\")) {
-                String[] nameParts = tmpEntry.getName().split("PP");
-                // Old code:
-                // int tmpStep = Integer.parseInt(nameParts[1].replaceAll(".gz", ""));
-                int tmpStep = Integer.parseInt(StringUtils.replace(nameParts[1], ".gz", ""));
-                this.steps.add(tmpStep);
-                this.stepZipEntryMap.put(tmpStep, tmpEntry);
-            }
+        this.stepZipEntryNameMap = new HashMap<Integer, String>();
+        this.zipArchiveReader = new ZipArchiveReader(aDpdResultFile.getPath());
+        // Entry names are normalized, i.e. archives with '\\' and '/' separators are supported
+        for (String tmpEntryName : this.zipArchiveReader.getFileEntryNamesContaining("/Steps/")) {
+            String[] nameParts = tmpEntryName.split("PP");
+            // Old code:
+            // int tmpStep = Integer.parseInt(nameParts[1].replaceAll(".gz", ""));
+            int tmpStep = Integer.parseInt(StringUtils.replace(nameParts[1], ".gz", ""));
+            this.steps.add(tmpStep);
+            this.stepZipEntryNameMap.put(tmpStep, tmpEntryName);
         }
         Collections.sort(this.steps);
     }
@@ -88,9 +83,15 @@ public class JmolDpdResultFileDataProvider implements IDataProvider {
         if(aStep < 0 || aStep >= this.steps.size()) {
             throw new IndexOutOfBoundsException(String.format("Step %d not available. Only %d steps read.", aStep, this.steps.size()));
         }
-        ZipEntry tmpEntry = this.stepZipEntryMap.get(this.steps.get(aStep));
-        InputStream tmpDataStream = this.zipFile.getInputStream(tmpEntry);
-        GZIPInputStream tmpGzipStream = new GZIPInputStream(tmpDataStream);
+        String tmpEntryName = this.stepZipEntryNameMap.get(this.steps.get(aStep));
+        // Entry is streamed directly out of archive without temporary extraction
+        InputStream tmpDataStream = this.zipArchiveReader.getInputStream(tmpEntryName);
+        GZIPInputStream tmpGzipStream = new GZIPInputStream(tmpDataStream, ModelDefinitions.BUFFER_SIZE);
         return tmpGzipStream;
     }
+
+    @Override
+    public int getNumberOfSteps() {
+        return this.steps.size();
+    }
 }
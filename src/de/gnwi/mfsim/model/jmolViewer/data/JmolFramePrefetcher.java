@@ -0,0 +1,247 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.jmolViewer.data;
+
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.ManagedExecutorSession;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.preference.Preferences;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded prefetch pipeline for Jmol data scripts of simulation steps: For
+ * every requested step the data scripts of the next/previous steps within 
+ * a window are decoded and converted on the render work class of the
+ * managed executor in advance. Prefetched steps outside the window of the
+ * latest request are dropped.
+ */
+public class JmolFramePrefetcher {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Data provider
+     */
+    private final IDataProvider dataProvider;
+
+    /**
+     * Number of prefetched steps before and after requested step
+     */
+    private final int numberOfPrefetchedSteps;
+
+    /**
+     * Step to data script future map
+     */
+    private final ConcurrentHashMap<Integer, Future<String>> stepToDataScriptMap;
+
+    /**
+     * Request generation: Incremented with every request
+     */
+    private final AtomicLong requestGeneration;
+
+    /**
+     * Session of render work class of managed executor for prefetch tasks
+     */
+    private final ManagedExecutorSession executorService;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private volatile class variables">
+    /**
+     * Latest requested step
+     */
+    private volatile int requestedStep;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aDataProvider Data provider
+     * @param aNumberOfPrefetchedSteps Number of prefetched steps before and
+     * after requested step (greater/equal 0)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public JmolFramePrefetcher(IDataProvider aDataProvider, int aNumberOfPrefetchedSteps) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aDataProvider == null) {
+            throw new IllegalArgumentException("aDataProvider is null.");
+        }
+        if (aNumberOfPrefetchedSteps < 0) {
+            throw new IllegalArgumentException("aNumberOfPrefetchedSteps is less than 0.");
+        }
+        // </editor-fold>
+        this.dataProvider = aDataProvider;
+        this.numberOfPrefetchedSteps = aNumberOfPrefetchedSteps;
+        this.stepToDataScriptMap = new ConcurrentHashMap<>();
+        this.requestGeneration = new AtomicLong(0L);
+        this.requestedStep = 0;
+        int tmpNumberOfThreads = Math.max(1, Math.min(2 * aNumberOfPrefetchedSteps + 1, Preferences.getInstance().getNumberOfParallelCalculators()));
+        this.executorService = ManagedExecutor.getInstance().createSession(WorkClassEnum.RENDER, tmpNumberOfThreads);
+    }
+
+    /**
+     * Constructor with default number of prefetched steps
+     *
+     * @param aDataProvider Data provider
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public JmolFramePrefetcher(IDataProvider aDataProvider) throws IllegalArgumentException {
+        this(aDataProvider, ModelDefinitions.JMOL_PREFETCH_NUMBER_OF_STEPS);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns Jmol data script of step and prefetches data scripts of
+     * next/previous steps. NOTE: Blocks until data script of step is
+     * available.
+     *
+     * @param aStep Step (0, 1, 2, ...)
+     * @return Jmol data script of step
+     * @throws Exception Thrown if data of step can not be read or converted
+     */
+    public String getDataScript(int aStep) throws Exception {
+        this.requestedStep = aStep;
+        long tmpGeneration = this.requestGeneration.incrementAndGet();
+        // Drop stale steps outside window
+        for (Map.Entry<Integer, Future<String>> tmpEntry : this.stepToDataScriptMap.entrySet()) {
+            if (!this.isInWindow(tmpEntry.getKey())) {
+                this.stepToDataScriptMap.remove(tmpEntry.getKey(), tmpEntry.getValue());
+                tmpEntry.getValue().cancel(false);
+            }
+        }
+        Future<String> tmpFuture = this.submit(aStep, tmpGeneration);
+        // Prefetch next/previous steps alternately (next steps first)
+        int tmpNumberOfSteps = this.dataProvider.getNumberOfSteps();
+        for (int i = 1; i <= this.numberOfPrefetchedSteps; i++) {
+            if (aStep + i < tmpNumberOfSteps) {
+                this.submit(aStep + i, tmpGeneration);
+            }
+            if (aStep - i >= 0) {
+                this.submit(aStep - i, tmpGeneration);
+            }
+        }
+        while (true) {
+            String tmpDataScript;
+            try {
+                tmpDataScript = tmpFuture.get();
+            } catch (ExecutionException anException) {
+                this.stepToDataScriptMap.remove(aStep, tmpFuture);
+                if (anException.getCause() instanceof Exception) {
+                    throw (Exception) anException.getCause();
+                } else {
+                    throw anException;
+                }
+            }
+            if (tmpDataScript != null) {
+                return tmpDataScript;
+            }
+            // Prefetch task was dropped as stale before this request: Submit again
+            this.stepToDataScriptMap.remove(aStep, tmpFuture);
+            tmpFuture = this.submit(aStep, this.requestGeneration.get());
+        }
+    }
+
+    /**
+     * Returns if data script of step is available without blocking
+     *
+     * @param aStep Step
+     * @return True: Data script of step is available, false: Otherwise
+     */
+    public boolean isAvailable(int aStep) {
+        Future<String> tmpFuture = this.stepToDataScriptMap.get(aStep);
+        if (tmpFuture == null || !tmpFuture.isDone() || tmpFuture.isCancelled()) {
+            return false;
+        }
+        try {
+            // NOTE: Data script of dropped task is null
+            return tmpFuture.get() != null;
+        } catch (Exception anException) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns latest request generation
+     *
+     * @return Latest request generation
+     */
+    public long getRequestGeneration() {
+        return this.requestGeneration.get();
+    }
+
+    /**
+     * Shuts down prefetch pipeline and releases prefetched data scripts
+     */
+    public void shutdown() {
+        this.executorService.shutdownNow();
+        this.stepToDataScriptMap.clear();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns if step is within window of latest requested step
+     *
+     * @param aStep Step
+     * @return True: Step is within window, false: Otherwise
+     */
+    private boolean isInWindow(int aStep) {
+        return Math.abs(aStep - this.requestedStep) <= this.numberOfPrefetchedSteps;
+    }
+
+    /**
+     * Submits conversion task for step if not already submitted
+     *
+     * @param aStep Step
+     * @param aGeneration Request generation of submission
+     * @return Future of data script of step
+     */
+    private Future<String> submit(final int aStep, final long aGeneration) {
+        Future<String> tmpFuture = this.stepToDataScriptMap.get(aStep);
+        if (tmpFuture != null) {
+            return tmpFuture;
+        }
+        FutureTask<String> tmpFutureTask = new FutureTask<>(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                // Drop task if newer requests moved window away from step
+                if (aGeneration != JmolFramePrefetcher.this.requestGeneration.get() && !JmolFramePrefetcher.this.isInWindow(aStep)) {
+                    return null;
+                }
+                return JmolXyzConverter.getDataScript(JmolFramePrefetcher.this.dataProvider.getNextWork(aStep), aStep + 1);
+            }
+        });
+        tmpFuture = this.stepToDataScriptMap.putIfAbsent(aStep, tmpFutureTask);
+        if (tmpFuture != null) {
+            return tmpFuture;
+        }
+        this.executorService.execute(tmpFutureTask);
+        return tmpFutureTask;
+    }
+    // </editor-fold>
+
+}
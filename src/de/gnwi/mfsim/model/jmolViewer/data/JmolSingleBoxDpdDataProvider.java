@@ -46,4 +46,9 @@ public class JmolSingleBoxDpdDataProvider implements IDataProvider {
     public IGraphicalParticlePosition[] getNextWork(int aStep) throws Exception {
         return this.data;
     }
+
+    @Override
+    public int getNumberOfSteps() {
+        return 1;
+    }
 }
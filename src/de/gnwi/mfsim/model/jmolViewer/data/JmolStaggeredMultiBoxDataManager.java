@@ -22,24 +22,40 @@ package de.gnwi.mfsim.model.jmolViewer.data;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.jmolViewer.Jmol3dBoxController;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Data manager loading providing data successively.
+ * Data manager loading providing data successively. Requested steps are
+ * served by a prefetch pipeline that converts the next/previous steps in
+ * advance. Outdated requests are dropped with a step-generation counter,
+ * i.e. only the latest requested step is displayed.
  *
  * @author Andreas Truszkowski
  */
 public class JmolStaggeredMultiBoxDataManager extends JmolDataManager {
 
     /**
-     * Buffer size.
+     * Prefetch pipeline for data scripts of steps.
      */
-    private static final int BUFFER_SIZE = 8196;
+    private final JmolFramePrefetcher framePrefetcher;
+    /**
+     * Step generation: Incremented with every requested step.
+     */
+    private final AtomicLong stepGeneration = new AtomicLong(0L);
+    /**
+     * Step generation of last displayed step.
+     */
+    private long displayedStepGeneration = -1L;
     /**
      * Next simulation step to show.
      */
-    private Integer showStep = 0;
+    private volatile int showStep = 0;
+    /**
+     * True if data manager is shut down.
+     */
+    private volatile boolean isShutdown = false;
 
     /**
      * Creates a new instance.
@@ -48,38 +64,63 @@ public class JmolStaggeredMultiBoxDataManager extends JmolDataManager {
      */
     public JmolStaggeredMultiBoxDataManager(IDataProvider aDataProvider, Jmol3dBoxController anOwner) {
         super(aDataProvider, anOwner);
+        this.framePrefetcher = new JmolFramePrefetcher(aDataProvider);
     }
 
     @Override
     protected void convertData() {
-        while (!this.isInterrupted()) {
-            while (this.showStep != null) {
-                try {
-                    Object tmpWork = this.dataProvider.getNextWork(this.showStep);
-                    this.showStep = null;
-                    String tmpXyzData = super.convertDpdDataToXyz(tmpWork);
-                    this.setStructure(tmpXyzData, this.restoreOrientation);
-                } catch (Exception anException) {
-                    ModelUtils.appendToLogfile(true, anException);
-                    Logger.getLogger(JmolStaggeredMultiBoxDataManager.class.getName()).log(Level.SEVERE, null, anException);
+        try {
+            while (!this.isCancelled() && !this.isShutdown) {
+                long tmpStepGeneration = this.stepGeneration.get();
+                while (tmpStepGeneration != this.displayedStepGeneration) {
+                    try {
+                        String tmpDataScript = this.framePrefetcher.getDataScript(this.showStep);
+                        // Drop stale step if a newer step was requested in the meantime
+                        if (tmpStepGeneration == this.stepGeneration.get()) {
+                            this.setStructureScript(tmpDataScript, this.restoreOrientation);
+                        }
+                    } catch (InterruptedException anException) {
+                        return;
+                    } catch (Exception anException) {
+                        ModelUtils.appendToLogfile(true, anException);
+                        Logger.getLogger(JmolStaggeredMultiBoxDataManager.class.getName()).log(Level.SEVERE, null, anException);
+                    }
+                    this.displayedStepGeneration = tmpStepGeneration;
+                    tmpStepGeneration = this.stepGeneration.get();
                 }
-            }
-            try {
                 synchronized (this) {
-                    this.wait();
+                    if (this.stepGeneration.get() == this.displayedStepGeneration && !this.isShutdown) {
+                        this.wait();
+                    }
                 }
-            } catch (InterruptedException anException) {
-                ModelUtils.appendToLogfile(true, anException);
-                Logger.getLogger(JmolStaggeredMultiBoxDataManager.class.getName()).log(Level.SEVERE, null, anException);
             }
+        } catch (InterruptedException anException) {
+            // Data manager is replaced: Nothing to do
+        } finally {
+            this.framePrefetcher.shutdown();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        synchronized (this) {
+            this.isShutdown = true;
+            this.notify();
         }
     }
 
+    @Override
+    public String getStructureScript(int aStep) throws Exception {
+        return this.framePrefetcher.getDataScript(aStep);
+    }
+
     @Override
     public void setSimulationStep(int aStepIndex) throws IOException {
         this.showStep = aStepIndex;
         this.restoreOrientation = true;
         synchronized (this) {
+            this.stepGeneration.incrementAndGet();
             this.notify();
         }
     }
@@ -0,0 +1,468 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.jmolViewer.data;
+
+import de.gnwi.mfsim.model.graphics.particle.GraphicalParticle;
+import de.gnwi.mfsim.model.graphics.particle.IGraphicalParticlePosition;
+import de.gnwi.mfsim.model.jmolViewer.setting.JmolSettings;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converter of DPD particle position data into XYZ data and Jmol data
+ * scripts: Particle position streams are copied character by character into
+ * pooled buffers without intermediate line strings. Buffers of large frames
+ * that exceed the maximum pooled capacity are not pooled but reused by the
+ * converting thread (one large buffer per thread). Methods may be called by
+ * concurrent threads. NOTE: Molecule-particle element map of JmolSettings 
+ * must be set before conversion.
+ */
+public final class JmolXyzConverter {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Start of Jmol data script
+     */
+    private static final String DATA_SCRIPT_START = "load DATA \"model data\"\n";
+
+    /**
+     * End of Jmol data script
+     */
+    private static final String DATA_SCRIPT_END = "end \"model data\"\n";
+
+    /**
+     * Initial capacity of XYZ data buffer
+     */
+    private static final int INITIAL_BUFFER_CAPACITY = 65536;
+
+    /**
+     * Pool of XYZ data buffers
+     */
+    private static final ConcurrentLinkedQueue<StringBuilder> bufferPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Pool of character read buffers
+     */
+    private static final ConcurrentLinkedQueue<char[]> readBufferPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Large XYZ data buffer of converting thread (exceeds maximum pooled
+     * capacity)
+     */
+    private static final ThreadLocal<StringBuilder> largeBuffer = new ThreadLocal<>();
+
+    /**
+     * Number of pooled XYZ data buffers
+     */
+    private static final AtomicInteger bufferPoolSize = new AtomicInteger(0);
+
+    /**
+     * Number of pooled character read buffers
+     */
+    private static final AtomicInteger readBufferPoolSize = new AtomicInteger(0);
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private constructor">
+    /**
+     * Private constructor (static methods only)
+     */
+    private JmolXyzConverter() {
+        // Do nothing
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Converts particle position data into XYZ data
+     *
+     * @param aDpdData Particle position data: Array of graphical particle
+     * positions or input stream of particle positions file
+     * @param aFrameNumber Frame number for comment line of XYZ data
+     * @return XYZ data or null if data type is not supported
+     * @throws IOException Thrown if stream can not be read
+     */
+    public static String getXyzData(Object aDpdData, int aFrameNumber) throws IOException {
+        return JmolXyzConverter.convert(aDpdData, aFrameNumber, false);
+    }
+
+    /**
+     * Converts particle position data into Jmol data script, i.e. XYZ data
+     * enclosed by load and end statement
+     *
+     * @param aDpdData Particle position data: Array of graphical particle
+     * positions or input stream of particle positions file
+     * @param aFrameNumber Frame number for comment line of XYZ data
+     * @return Jmol data script or null if data type is not supported
+     * @throws IOException Thrown if stream can not be read
+     */
+    public static String getDataScript(Object aDpdData, int aFrameNumber) throws IOException {
+        return JmolXyzConverter.convert(aDpdData, aFrameNumber, true);
+    }
+
+    /**
+     * Returns Jmol data script for XYZ data
+     *
+     * @param aXyzData XYZ data
+     * @return Jmol data script
+     */
+    public static String getDataScript(String aXyzData) {
+        StringBuilder tmpDataScript = new StringBuilder(DATA_SCRIPT_START.length() + aXyzData.length() + DATA_SCRIPT_END.length());
+        tmpDataScript.append(DATA_SCRIPT_START);
+        tmpDataScript.append(aXyzData);
+        tmpDataScript.append(DATA_SCRIPT_END);
+        return tmpDataScript.toString();
+    }
+
+    /**
+     * Returns the largest capacity of the currently pooled XYZ data buffers
+     *
+     * @return Largest capacity of pooled XYZ data buffers (0 if pool is empty)
+     */
+    public static int getMaximumPooledBufferCapacity() {
+        int tmpMaximumCapacity = 0;
+        for (StringBuilder tmpBuffer : bufferPool) {
+            tmpMaximumCapacity = Math.max(tmpMaximumCapacity, tmpBuffer.capacity());
+        }
+        return tmpMaximumCapacity;
+    }
+
+    /**
+     * Returns the capacity of the large XYZ data buffer of the current thread
+     *
+     * @return Capacity of large XYZ data buffer of current thread (0 if there
+     * is none)
+     */
+    public static int getLargeBufferCapacity() {
+        StringBuilder tmpLargeBuffer = largeBuffer.get();
+        if (tmpLargeBuffer == null) {
+            return 0;
+        } else {
+            return tmpLargeBuffer.capacity();
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Converts particle position data into XYZ data or Jmol data script
+     *
+     * @param aDpdData Particle position data
+     * @param aFrameNumber Frame number for comment line of XYZ data
+     * @param anIsDataScript True: Jmol data script, false: XYZ data
+     * @return XYZ data, Jmol data script or null if data type is not
+     * supported
+     * @throws IOException Thrown if stream can not be read
+     */
+    private static String convert(Object aDpdData, int aFrameNumber, boolean anIsDataScript) throws IOException {
+        if (!(aDpdData instanceof IGraphicalParticlePosition[]) && !(aDpdData instanceof InputStream)) {
+            return null;
+        }
+        StringBuilder tmpBuffer = JmolXyzConverter.getBuffer();
+        try {
+            if (anIsDataScript) {
+                tmpBuffer.append(DATA_SCRIPT_START);
+            }
+            if (aDpdData instanceof IGraphicalParticlePosition[]) {
+                JmolXyzConverter.appendXyzData((IGraphicalParticlePosition[]) aDpdData, aFrameNumber, tmpBuffer);
+            } else {
+                JmolXyzConverter.appendXyzData((InputStream) aDpdData, aFrameNumber, tmpBuffer);
+            }
+            if (anIsDataScript) {
+                tmpBuffer.append(DATA_SCRIPT_END);
+            }
+            return tmpBuffer.toString();
+        } finally {
+            JmolXyzConverter.releaseBuffer(tmpBuffer);
+        }
+    }
+
+    /**
+     * Appends XYZ data of graphical particle positions
+     *
+     * @param aDpdData Graphical particle positions
+     * @param aFrameNumber Frame number
+     * @param aBuffer Buffer
+     */
+    private static void appendXyzData(IGraphicalParticlePosition[] aDpdData, int aFrameNumber, StringBuilder aBuffer) {
+        HashMap<String, String> tmpMoleculeParticleElementMap = JmolSettings.getInstance().getMoleculeParticleElementMap();
+        aBuffer.append(aDpdData.length);
+        aBuffer.append('\n');
+        aBuffer.append("Step ").append(aFrameNumber);
+        aBuffer.append('\n');
+        for (IGraphicalParticlePosition tmpParticlePosition : aDpdData) {
+            String tmpParticleID = ((GraphicalParticle) tmpParticlePosition.getGraphicalParticle()).getMoleculeParticleString();
+            aBuffer.append(tmpMoleculeParticleElementMap.get(tmpParticleID));
+            aBuffer.append(' ');
+            aBuffer.append(tmpParticlePosition.getX()).append(' ');
+            aBuffer.append(tmpParticlePosition.getY()).append(' ');
+            aBuffer.append(tmpParticlePosition.getZ()).append(' ');
+            aBuffer.append('\n');
+        }
+    }
+
+    /**
+     * Appends XYZ data of particle positions stream. NOTE: Stream is closed.
+     *
+     * @param aDataStream Particle positions stream
+     * @param aFrameNumber Frame number
+     * @param aBuffer Buffer
+     * @throws IOException Thrown if stream can not be read
+     */
+    private static void appendXyzData(InputStream aDataStream, int aFrameNumber, StringBuilder aBuffer) throws IOException {
+        HashMap<String, String> tmpMoleculeParticleElementMap = JmolSettings.getInstance().getMoleculeParticleElementMap();
+        char[] tmpReadBuffer = JmolXyzConverter.getReadBuffer();
+        try (LineCopier tmpLineCopier = new LineCopier(new InputStreamReader(aDataStream), tmpReadBuffer)) {
+            // Skip first line
+            tmpLineCopier.readLine();
+            int tmpStartIndex = aBuffer.length();
+            int tmpTotalNumberOfParticles = 0;
+            aBuffer.append("Frame ");
+            aBuffer.append(aFrameNumber);
+            aBuffer.append('\n');
+            String tmpMoleculeName;
+            while ((tmpMoleculeName = tmpLineCopier.readLine()) != null) {
+                // First line: Molecule name, second line: Particle name
+                String tmpParticleID = tmpMoleculeName + "_" + tmpLineCopier.readLine();
+                String tmpElement = tmpMoleculeParticleElementMap.get(tmpParticleID);
+                // Third line: Number of particles
+                int tmpNumberOfParticles = Integer.parseInt(tmpLineCopier.readLine());
+                for (int i = 0; i < tmpNumberOfParticles; i++) {
+                    aBuffer.append(tmpElement);
+                    aBuffer.append(' ');
+                    for (int j = 0; j < 3; j++) {
+                        if (!tmpLineCopier.copyLine(aBuffer)) {
+                            aBuffer.append("null");
+                        }
+                        aBuffer.append(' ');
+                    }
+                    aBuffer.append('\n');
+                }
+                tmpTotalNumberOfParticles += tmpNumberOfParticles;
+            }
+            aBuffer.insert(tmpStartIndex, '\n');
+            aBuffer.insert(tmpStartIndex, tmpTotalNumberOfParticles);
+        } finally {
+            JmolXyzConverter.releaseReadBuffer(tmpReadBuffer);
+        }
+    }
+
+    /**
+     * Returns large XYZ data buffer of current thread or (pooled) XYZ data
+     * buffer
+     *
+     * @return Empty XYZ data buffer
+     */
+    private static StringBuilder getBuffer() {
+        StringBuilder tmpLargeBuffer = largeBuffer.get();
+        if (tmpLargeBuffer != null) {
+            // Large buffer is in use until release
+            largeBuffer.remove();
+            return tmpLargeBuffer;
+        }
+        StringBuilder tmpBuffer = bufferPool.poll();
+        if (tmpBuffer == null) {
+            return new StringBuilder(INITIAL_BUFFER_CAPACITY);
+        } else {
+            bufferPoolSize.decrementAndGet();
+            return tmpBuffer;
+        }
+    }
+
+    /**
+     * Releases XYZ data buffer for reuse
+     *
+     * @param aBuffer XYZ data buffer
+     */
+    private static void releaseBuffer(StringBuilder aBuffer) {
+        aBuffer.setLength(0);
+        if (aBuffer.capacity() > ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_CAPACITY) {
+            // Oversized buffer of a large frame is not pooled but reused by 
+            // current thread (replaces a smaller large buffer of a nested
+            // conversion)
+            StringBuilder tmpLargeBuffer = largeBuffer.get();
+            if (tmpLargeBuffer == null || tmpLargeBuffer.capacity() < aBuffer.capacity()) {
+                largeBuffer.set(aBuffer);
+            }
+            return;
+        }
+        if (bufferPoolSize.incrementAndGet() <= ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_NUMBER) {
+            bufferPool.offer(aBuffer);
+        } else {
+            bufferPoolSize.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns (pooled) character read buffer
+     *
+     * @return Character read buffer
+     */
+    private static char[] getReadBuffer() {
+        char[] tmpReadBuffer = readBufferPool.poll();
+        if (tmpReadBuffer == null) {
+            return new char[ModelDefinitions.BUFFER_SIZE];
+        } else {
+            readBufferPoolSize.decrementAndGet();
+            return tmpReadBuffer;
+        }
+    }
+
+    /**
+     * Releases character read buffer for reuse
+     *
+     * @param aReadBuffer Character read buffer
+     */
+    private static void releaseReadBuffer(char[] aReadBuffer) {
+        if (readBufferPoolSize.incrementAndGet() <= ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_NUMBER) {
+            readBufferPool.offer(aReadBuffer);
+        } else {
+            readBufferPoolSize.decrementAndGet();
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static class LineCopier">
+    /**
+     * Line reader that copies lines directly into a string builder. NOTE:
+     * Line terminators are '\n', '\r' or "\r\n" (see BufferedReader).
+     */
+    private static class LineCopier implements AutoCloseable {
+
+        /**
+         * Reader
+         */
+        private final Reader reader;
+
+        /**
+         * Character buffer
+         */
+        private final char[] buffer;
+
+        /**
+         * Index of next character in buffer
+         */
+        private int position;
+
+        /**
+         * Number of valid characters in buffer
+         */
+        private int limit;
+
+        /**
+         * True: Next '\n' is skipped (previous line was terminated by '\r')
+         */
+        private boolean isSkipLineFeed;
+
+        /**
+         * Temporary line builder for readLine()
+         */
+        private final StringBuilder lineBuilder;
+
+        /**
+         * Constructor
+         *
+         * @param aReader Reader
+         * @param aBuffer Character buffer
+         */
+        public LineCopier(Reader aReader, char[] aBuffer) {
+            this.reader = aReader;
+            this.buffer = aBuffer;
+            this.position = 0;
+            this.limit = 0;
+            this.isSkipLineFeed = false;
+            this.lineBuilder = new StringBuilder(64);
+        }
+
+        /**
+         * Reads next line
+         *
+         * @return Next line or null if end of stream is reached
+         * @throws IOException Thrown if stream can not be read
+         */
+        public String readLine() throws IOException {
+            this.lineBuilder.setLength(0);
+            if (this.copyLine(this.lineBuilder)) {
+                return this.lineBuilder.toString();
+            } else {
+                return null;
+            }
+        }
+
+        /**
+         * Appends next line (without line terminator) to string builder
+         *
+         * @param aStringBuilder String builder
+         * @return True: Line was appended, false: End of stream is reached
+         * @throws IOException Thrown if stream can not be read
+         */
+        public boolean copyLine(StringBuilder aStringBuilder) throws IOException {
+            boolean tmpHasCharacters = false;
+            while (true) {
+                if (this.position >= this.limit) {
+                    this.limit = this.reader.read(this.buffer, 0, this.buffer.length);
+                    this.position = 0;
+                    if (this.limit <= 0) {
+                        this.limit = 0;
+                        return tmpHasCharacters;
+                    }
+                }
+                if (this.isSkipLineFeed) {
+                    this.isSkipLineFeed = false;
+                    if (this.buffer[this.position] == '\n') {
+                        this.position++;
+                        continue;
+                    }
+                }
+                tmpHasCharacters = true;
+                int tmpStart = this.position;
+                while (this.position < this.limit) {
+                    char tmpCharacter = this.buffer[this.position];
+                    if (tmpCharacter == '\n' || tmpCharacter == '\r') {
+                        aStringBuilder.append(this.buffer, tmpStart, this.position - tmpStart);
+                        this.position++;
+                        this.isSkipLineFeed = tmpCharacter == '\r';
+                        return true;
+                    }
+                    this.position++;
+                }
+                aStringBuilder.append(this.buffer, tmpStart, this.position - tmpStart);
+            }
+        }
+
+        /**
+         * Closes reader
+         *
+         * @throws IOException Thrown if reader can not be closed
+         */
+        @Override
+        public void close() throws IOException {
+            this.reader.close();
+        }
+
+    }
+    // </editor-fold>
+
+}
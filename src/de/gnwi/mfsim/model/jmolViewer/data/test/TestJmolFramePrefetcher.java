@@ -0,0 +1,275 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.jmolViewer.data.test;
+
+import de.gnwi.mfsim.model.jmolViewer.data.JmolDpdResultFileDataProvider;
+import de.gnwi.mfsim.model.jmolViewer.data.JmolFramePrefetcher;
+import de.gnwi.mfsim.model.jmolViewer.data.JmolXyzConverter;
+import de.gnwi.mfsim.model.jmolViewer.setting.JmolSettings;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import junit.framework.TestCase;
+
+/**
+ * Test class for classes JmolFramePrefetcher and JmolXyzConverter (headless
+ * data provider path)
+ */
+public class TestJmolFramePrefetcher extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Number of steps of result file
+     */
+    private static final int NUMBER_OF_STEPS = 60;
+
+    /**
+     * Number of particles per step
+     */
+    private static final int NUMBER_OF_PARTICLES = 10000;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of XYZ data conversion, prefetching, dropping of stale steps and
+     * throughput (steps per second) of data provider path
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testPrefetch() throws Exception {
+        File tmpResultFile = new File(System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".zip");
+        JmolSettings.getInstance().getMoleculeParticleElementMap().put("H2O_W", "O");
+        JmolSettings.getInstance().getMoleculeParticleElementMap().put("Oil_A", "C");
+        JmolFramePrefetcher tmpFramePrefetcher = null;
+        try {
+            TestJmolFramePrefetcher.writeResultFile(tmpResultFile);
+            JmolDpdResultFileDataProvider tmpDataProvider = new JmolDpdResultFileDataProvider(tmpResultFile);
+            assertEquals("Test1", NUMBER_OF_STEPS, tmpDataProvider.getNumberOfSteps());
+            // XYZ data
+            String tmpDataScript = JmolXyzConverter.getDataScript(tmpDataProvider.getNextWork(0), 1);
+            assertEquals("Test2", TestJmolFramePrefetcher.getExpectedDataScript(0), tmpDataScript);
+            // Direct path without prefetching
+            long tmpStartTime = System.nanoTime();
+            for (int i = 0; i < NUMBER_OF_STEPS; i++) {
+                assertNotNull("Test3", JmolXyzConverter.getDataScript(tmpDataProvider.getNextWork(i), i + 1));
+            }
+            double tmpDirectStepsPerSecond = NUMBER_OF_STEPS / ((System.nanoTime() - tmpStartTime) / 1.0E9);
+            // Prefetch path
+            tmpFramePrefetcher = new JmolFramePrefetcher(tmpDataProvider, 4);
+            tmpStartTime = System.nanoTime();
+            for (int i = 0; i < NUMBER_OF_STEPS; i++) {
+                tmpDataScript = tmpFramePrefetcher.getDataScript(i);
+                assertTrue("Test4", tmpDataScript.startsWith("load DATA \"model data\"\n" + String.valueOf(2 * NUMBER_OF_PARTICLES) + "\nFrame " + String.valueOf(i + 1) + "\n"));
+            }
+            double tmpPrefetchStepsPerSecond = NUMBER_OF_STEPS / ((System.nanoTime() - tmpStartTime) / 1.0E9);
+            System.out.println(String.format("Jmol data provider path: %.1f steps/s (direct), %.1f steps/s (prefetch)", tmpDirectStepsPerSecond, tmpPrefetchStepsPerSecond));
+            assertTrue("Test5", tmpPrefetchStepsPerSecond > 0.0);
+            assertEquals("Test6", TestJmolFramePrefetcher.getExpectedDataScript(7), tmpFramePrefetcher.getDataScript(7));
+            // Next steps are prefetched
+            long tmpEndTime = System.currentTimeMillis() + 30000L;
+            while ((!tmpFramePrefetcher.isAvailable(11) || !tmpFramePrefetcher.isAvailable(3)) && System.currentTimeMillis() < tmpEndTime) {
+                Thread.sleep(10L);
+            }
+            assertTrue("Test7", tmpFramePrefetcher.isAvailable(11));
+            assertTrue("Test8", tmpFramePrefetcher.isAvailable(3));
+            // Stale steps are dropped after jump
+            tmpFramePrefetcher.getDataScript(40);
+            assertFalse("Test9", tmpFramePrefetcher.isAvailable(7));
+            assertFalse("Test10", tmpFramePrefetcher.isAvailable(11));
+            try {
+                tmpFramePrefetcher.getDataScript(NUMBER_OF_STEPS);
+                fail("Test11");
+            } catch (IndexOutOfBoundsException anException) {
+                // Expected
+            }
+        } finally {
+            if (tmpFramePrefetcher != null) {
+                tmpFramePrefetcher.shutdown();
+            }
+            JmolSettings.getInstance().getMoleculeParticleElementMap().remove("H2O_W");
+            JmolSettings.getInstance().getMoleculeParticleElementMap().remove("Oil_A");
+            tmpResultFile.delete();
+        }
+    }
+
+    /**
+     * Test of XYZ data buffer pool: Buffers of large frames that exceed the
+     * maximum pooled capacity are not pooled but reused by the converting
+     * thread
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testBufferPoolCapacity() throws Exception {
+        // IMPORTANT: Check is performed by a new thread since the current 
+        // thread may already own a large buffer
+        final Throwable[] tmpThrowable = new Throwable[1];
+        Thread tmpThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    TestJmolFramePrefetcher.this.checkBufferPoolCapacity();
+                } catch (Throwable aThrowable) {
+                    tmpThrowable[0] = aThrowable;
+                }
+            }
+        });
+        tmpThread.start();
+        tmpThread.join();
+        if (tmpThrowable[0] instanceof Exception) {
+            throw (Exception) tmpThrowable[0];
+        } else if (tmpThrowable[0] instanceof Error) {
+            throw (Error) tmpThrowable[0];
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Checks XYZ data buffer pool (see testBufferPoolCapacity())
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    private void checkBufferPoolCapacity() throws Exception {
+        JmolSettings.getInstance().getMoleculeParticleElementMap().put("H2O_W", "O");
+        JmolSettings.getInstance().getMoleculeParticleElementMap().put("Oil_A", "C");
+        try {
+            String tmpSmallParticlePositions = "ParticlePositions\nH2O\nW\n1\n1.0\n2.0\n3.0\n";
+            assertEquals("Test1", "1\nFrame 1\nO 1.0 2.0 3.0 \n", JmolXyzConverter.getXyzData(new ByteArrayInputStream(tmpSmallParticlePositions.getBytes(StandardCharsets.UTF_8)), 1));
+            assertTrue("Test2", JmolXyzConverter.getMaximumPooledBufferCapacity() > 0);
+            String tmpLargeParticlePositions = TestJmolFramePrefetcher.getParticlePositions(0);
+            assertTrue("Test3", tmpLargeParticlePositions.length() > ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_CAPACITY);
+            int tmpLargeBufferCapacity = 0;
+            for (int i = 0; i < 2 * ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_NUMBER; i++) {
+                String tmpDataScript = JmolXyzConverter.getDataScript(new ByteArrayInputStream(tmpLargeParticlePositions.getBytes(StandardCharsets.UTF_8)), 1);
+                assertEquals("Test4", TestJmolFramePrefetcher.getExpectedDataScript(0), tmpDataScript);
+                assertTrue("Test5", JmolXyzConverter.getMaximumPooledBufferCapacity() <= ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_CAPACITY);
+                // Large buffer is reused by thread, i.e. it does not grow again
+                assertTrue("Test6", JmolXyzConverter.getLargeBufferCapacity() > ModelDefinitions.JMOL_XYZ_BUFFER_POOL_MAXIMUM_CAPACITY);
+                if (i == 0) {
+                    tmpLargeBufferCapacity = JmolXyzConverter.getLargeBufferCapacity();
+                } else {
+                    assertEquals("Test7", tmpLargeBufferCapacity, JmolXyzConverter.getLargeBufferCapacity());
+                }
+            }
+            assertEquals("Test8", "1\nFrame 2\nO 1.0 2.0 3.0 \n", JmolXyzConverter.getXyzData(new ByteArrayInputStream(tmpSmallParticlePositions.getBytes(StandardCharsets.UTF_8)), 2));
+            assertEquals("Test9", tmpLargeBufferCapacity, JmolXyzConverter.getLargeBufferCapacity());
+        } finally {
+            JmolSettings.getInstance().getMoleculeParticleElementMap().remove("H2O_W");
+            JmolSettings.getInstance().getMoleculeParticleElementMap().remove("Oil_A");
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Returns coordinate of particle in step
+     *
+     * @param aStep Step
+     * @param aParticleIndex Particle index
+     * @param aCoordinateIndex Coordinate index (0 = x, 1 = y, 2 = z)
+     * @return Coordinate
+     */
+    private static String getCoordinate(int aStep, int aParticleIndex, int aCoordinateIndex) {
+        return String.valueOf(new Random(31L * (31L * aStep + aParticleIndex) + aCoordinateIndex).nextDouble() * 20.0);
+    }
+
+    /**
+     * Returns particle positions file content of step
+     *
+     * @param aStep Step
+     * @return Particle positions file content
+     */
+    private static String getParticlePositions(int aStep) {
+        StringBuilder tmpBuffer = new StringBuilder();
+        tmpBuffer.append("ParticlePositions").append('\n');
+        String[] tmpMoleculeNames = new String[] {"H2O", "Oil"};
+        String[] tmpParticleNames = new String[] {"W", "A"};
+        for (int i = 0; i < 2; i++) {
+            tmpBuffer.append(tmpMoleculeNames[i]).append('\n');
+            tmpBuffer.append(tmpParticleNames[i]).append('\n');
+            tmpBuffer.append(NUMBER_OF_PARTICLES).append('\n');
+            for (int k = 0; k < NUMBER_OF_PARTICLES; k++) {
+                for (int j = 0; j < 3; j++) {
+                    tmpBuffer.append(TestJmolFramePrefetcher.getCoordinate(aStep, i * NUMBER_OF_PARTICLES + k, j));
+                    // Second block with Windows line separators
+                    tmpBuffer.append(i == 0 ? "\n" : "\r\n");
+                }
+            }
+        }
+        return tmpBuffer.toString();
+    }
+
+    /**
+     * Returns expected Jmol data script of step
+     *
+     * @param aStep Step
+     * @return Expected Jmol data script
+     */
+    private static String getExpectedDataScript(int aStep) {
+        StringBuilder tmpBuffer = new StringBuilder();
+        tmpBuffer.append("load DATA \"model data\"\n");
+        tmpBuffer.append(2 * NUMBER_OF_PARTICLES).append('\n');
+        tmpBuffer.append("Frame ").append(aStep + 1).append('\n');
+        String[] tmpElements = new String[] {"O", "C"};
+        for (int i = 0; i < 2; i++) {
+            for (int k = 0; k < NUMBER_OF_PARTICLES; k++) {
+                tmpBuffer.append(tmpElements[i]).append(' ');
+                for (int j = 0; j < 3; j++) {
+                    tmpBuffer.append(TestJmolFramePrefetcher.getCoordinate(aStep, i * NUMBER_OF_PARTICLES + k, j)).append(' ');
+                }
+                tmpBuffer.append('\n');
+            }
+        }
+        tmpBuffer.append("end \"model data\"\n");
+        return tmpBuffer.toString();
+    }
+
+    /**
+     * Writes result ZIP file with GZIP compressed particle positions files
+     *
+     * @param aResultFile Result file
+     * @throws Exception Thrown if file can not be written
+     */
+    private static void writeResultFile(File aResultFile) throws Exception {
+        try (ZipOutputStream tmpZipOutputStream = new ZipOutputStream(new FileOutputStream(aResultFile))) {
+            for (int i = 0; i < NUMBER_OF_STEPS; i++) {
+                ByteArrayOutputStream tmpByteArrayOutputStream = new ByteArrayOutputStream();
+                try (Writer tmpWriter = new OutputStreamWriter(new GZIPOutputStream(tmpByteArrayOutputStream), StandardCharsets.UTF_8)) {
+                    tmpWriter.write(TestJmolFramePrefetcher.getParticlePositions(i));
+                }
+                tmpZipOutputStream.putNextEntry(new ZipEntry("Job/Result/Steps/PP" + String.valueOf(100 * (i + 1)) + ".gz"));
+                tmpZipOutputStream.write(tmpByteArrayOutputStream.toByteArray());
+                tmpZipOutputStream.closeEntry();
+            }
+        }
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,563 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * Headless runner for job inputs without graphical user interface (e.g. for
+ * batch clusters): Job inputs are executed with JobResultExecutionTask
+ * instances (including post-processing like RDF and particle-pair distance
+ * calculation) under a core budget and normal job result directories are
+ * created. Progress is written as JSON lines (one JSON object per line) to
+ * an output stream: The "run" line reports the core budget, the "started"
+ * line of a job the number of cores granted to its Jdpd simulation.
+ * <p>
+ * Usage: HeadlessJobRunner [-cores N] [-parallel N] [-description TEXT]
+ * JobInputPath1 [JobInputPath2 ...]
+ */
+public class HeadlessJobRunner implements PropertyChangeListener {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class SchedulableTask">
+    /**
+     * Schedulable wrapper of job result execution task that notifies runner
+     * about start and end of task
+     */
+    private class SchedulableTask implements SchedulableJobInterface {
+
+        /**
+         * Job result execution task
+         */
+        private final JobResultExecutionTask jobResultExecutionTask;
+
+        /**
+         * Job input path
+         */
+        private final String jobInputPath;
+
+        /**
+         * Latch that is counted down at end of task
+         */
+        private final CountDownLatch finishedLatch;
+
+        /**
+         * Constructor
+         *
+         * @param aJobResultExecutionTask Job result execution task
+         * @param aJobInputPath Job input path
+         * @param aFinishedLatch Latch that is counted down at end of task
+         */
+        SchedulableTask(JobResultExecutionTask aJobResultExecutionTask, String aJobInputPath, CountDownLatch aFinishedLatch) {
+            this.jobResultExecutionTask = aJobResultExecutionTask;
+            this.jobInputPath = aJobInputPath;
+            this.finishedLatch = aFinishedLatch;
+        }
+
+        /**
+         * Executes job result execution task
+         *
+         * @return True: Task finished successfully, false: Otherwise
+         * @throws Exception Thrown if an error occurs
+         */
+        @Override
+        public Boolean call() throws Exception {
+            long tmpStartTime = System.currentTimeMillis();
+            Boolean tmpResult = Boolean.FALSE;
+            try {
+                HeadlessJobRunner.this.writeJsonLine("started", "job", this.jobInputPath, "cores", this.jobResultExecutionTask.getGrantedNumberOfCores());
+                tmpResult = this.jobResultExecutionTask.call();
+                return tmpResult;
+            } finally {
+                HeadlessJobRunner.this.writeFinishedJsonLine(this, Boolean.TRUE.equals(tmpResult), System.currentTimeMillis() - tmpStartTime);
+                this.finishedLatch.countDown();
+            }
+        }
+
+        /**
+         * Requested number of cores
+         *
+         * @return Requested number of cores
+         */
+        @Override
+        public int getRequestedNumberOfCores() {
+            return this.jobResultExecutionTask.getRequestedNumberOfCores();
+        }
+
+        /**
+         * Queue descriptor (headless jobs are not persisted)
+         *
+         * @return Null
+         */
+        @Override
+        public String[] getQueueDescriptor() {
+            return null;
+        }
+
+        /**
+         * Sets information that job is submitted to execution
+         */
+        @Override
+        public void setSubmittedToExecutorService() {
+            this.jobResultExecutionTask.setSubmittedToExecutorService();
+        }
+
+        /**
+         * Sets number of processor cores that are reserved for the job
+         *
+         * @param aNumberOfCores Number of granted processor cores
+         */
+        @Override
+        public void setGrantedNumberOfCores(int aNumberOfCores) {
+            this.jobResultExecutionTask.setGrantedNumberOfCores(aNumberOfCores);
+        }
+
+        /**
+         * Job result execution task
+         *
+         * @return Job result execution task
+         */
+        JobResultExecutionTask getJobResultExecutionTask() {
+            return this.jobResultExecutionTask;
+        }
+
+        /**
+         * Job input path
+         *
+         * @return Job input path
+         */
+        String getJobInputPath() {
+            return this.jobInputPath;
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Output stream for JSON lines
+     */
+    private final PrintStream outputStream;
+
+    /**
+     * Job scheduler
+     */
+    private final JobScheduler jobScheduler;
+
+    /**
+     * Map of job result execution task to job input path
+     */
+    private final ConcurrentHashMap<JobResultExecutionTask, String> taskToJobInputPathMap;
+
+    /**
+     * Map of job result execution task to last written progress in percent
+     */
+    private final ConcurrentHashMap<JobResultExecutionTask, Integer> taskToProgressMap;
+
+    /**
+     * Scheduled tasks
+     */
+    private final List<SchedulableTask> scheduledTasks;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Number of jobs that finished with success
+     */
+    private int numberOfSucceededJobs;
+
+    /**
+     * Number of jobs that did not finish with success
+     */
+    private int numberOfFailedJobs;
+
+    /**
+     * Latch that is counted down at end of each task of current run
+     */
+    private volatile CountDownLatch finishedLatch;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aCoreBudget Number of processor cores that may be used by jobs
+     * in parallel (values less than 1 are set to 1)
+     * @param aMaximumNumberOfParallelJobs Maximum number of jobs that run in
+     * parallel (values less than 1 are set to 1)
+     * @param anOutputStream Output stream for JSON lines
+     * @throws IllegalArgumentException Thrown if anOutputStream is null
+     */
+    public HeadlessJobRunner(int aCoreBudget, int aMaximumNumberOfParallelJobs, PrintStream anOutputStream) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (anOutputStream == null) {
+            throw new IllegalArgumentException("anOutputStream is null.");
+        }
+        // </editor-fold>
+        this.outputStream = anOutputStream;
+        // NOTE: Job queue of headless runner is NOT persisted
+        this.jobScheduler = new JobScheduler(
+            aCoreBudget,
+            aMaximumNumberOfParallelJobs,
+            Preferences.getInstance().getDelayForJobStartInMilliseconds(),
+            null
+        );
+        this.taskToJobInputPathMap = new ConcurrentHashMap<>();
+        this.taskToProgressMap = new ConcurrentHashMap<>();
+        this.scheduledTasks = new ArrayList<>();
+        this.numberOfSucceededJobs = 0;
+        this.numberOfFailedJobs = 0;
+        this.finishedLatch = null;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static main method">
+    /**
+     * Main method of headless runner (see execute() for exit value)
+     *
+     * @param args Arguments (see class description)
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(HeadlessJobRunner.execute(args, System.out, System.err));
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Runs job inputs and waits until all jobs are finished
+     *
+     * @param aJobInputPaths Job input paths
+     * @param aDescription Description of job results (if null/empty the
+     * description of the job input is used)
+     * @return Number of jobs that did not finish with success (including job
+     * inputs that could not be read)
+     */
+    public int run(List<String> aJobInputPaths, String aDescription) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aJobInputPaths == null || aJobInputPaths.isEmpty()) {
+            return 0;
+        }
+        // </editor-fold>
+        this.writeJsonLine("run", "jobs", aJobInputPaths.size(), "cores", this.jobScheduler.getCoreBudget(), "parallel", this.jobScheduler.getMaximumNumberOfParallelJobs());
+        // <editor-fold defaultstate="collapsed" desc="Create tasks">
+        LinkedList<JobResultExecutionTask> tmpJobResultExecutionTasks = new LinkedList<>();
+        LinkedList<String> tmpValidJobInputPaths = new LinkedList<>();
+        for (String tmpJobInputPath : aJobInputPaths) {
+            String tmpAbsoluteJobInputPath = (new File(tmpJobInputPath)).getAbsolutePath();
+            try {
+                String tmpDescription = aDescription;
+                if (tmpDescription == null || tmpDescription.isEmpty()) {
+                    tmpDescription = (new JobInput(tmpAbsoluteJobInputPath, false)).getDescription();
+                }
+                JobResultExecutionTask tmpJobResultExecutionTask = new JobResultExecutionTask(new JobResult(tmpDescription, tmpAbsoluteJobInputPath));
+                tmpJobResultExecutionTask.addPropertyChangeListener(this);
+                this.taskToJobInputPathMap.put(tmpJobResultExecutionTask, tmpAbsoluteJobInputPath);
+                tmpJobResultExecutionTasks.add(tmpJobResultExecutionTask);
+                tmpValidJobInputPaths.add(tmpAbsoluteJobInputPath);
+            } catch (Exception anException) {
+                ModelUtils.appendToLogfile(true, anException);
+                this.writeJsonLine("error", "job", tmpAbsoluteJobInputPath, "message", "Job input could not be read: " + anException.getMessage());
+                this.incrementNumberOfJobs(false);
+            }
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Submit tasks and wait">
+        CountDownLatch tmpFinishedLatch = new CountDownLatch(tmpJobResultExecutionTasks.size());
+        this.finishedLatch = tmpFinishedLatch;
+        for (int i = 0; i < tmpJobResultExecutionTasks.size(); i++) {
+            SchedulableTask tmpSchedulableTask = new SchedulableTask(tmpJobResultExecutionTasks.get(i), tmpValidJobInputPaths.get(i), tmpFinishedLatch);
+            synchronized (this.scheduledTasks) {
+                this.scheduledTasks.add(tmpSchedulableTask);
+            }
+            this.writeJsonLine("submitted", "job", tmpSchedulableTask.getJobInputPath(), "cores", tmpSchedulableTask.getRequestedNumberOfCores());
+            this.jobScheduler.submit(tmpSchedulableTask, 0);
+        }
+        try {
+            tmpFinishedLatch.await();
+        } catch (InterruptedException anException) {
+            this.stop();
+        }
+        this.jobScheduler.shutdown();
+        // </editor-fold>
+        synchronized (this) {
+            this.writeJsonLine("summary", "jobs", aJobInputPaths.size(), "succeeded", this.numberOfSucceededJobs, "failed", this.numberOfFailedJobs);
+            return this.numberOfFailedJobs;
+        }
+    }
+
+    /**
+     * Removes pending jobs and stops running jobs
+     */
+    public void stop() {
+        for (SchedulableJobInterface tmpPendingJob : this.jobScheduler.removeAllPending()) {
+            SchedulableTask tmpSchedulableTask = (SchedulableTask) tmpPendingJob;
+            this.writeJsonLine("removed", "job", tmpSchedulableTask.getJobInputPath());
+            this.incrementNumberOfJobs(false);
+            tmpSchedulableTask.finishedLatch.countDown();
+        }
+        synchronized (this.scheduledTasks) {
+            for (SchedulableTask tmpSchedulableTask : this.scheduledTasks) {
+                JobResultExecutionTask tmpJobResultExecutionTask = tmpSchedulableTask.getJobResultExecutionTask();
+                if (tmpJobResultExecutionTask.isSubmittedToExecutorService() && !tmpJobResultExecutionTask.isFinished()) {
+                    tmpJobResultExecutionTask.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until all tasks of current run are finished (returns immediately
+     * if there is no current run)
+     */
+    public void awaitFinished() {
+        CountDownLatch tmpFinishedLatch = this.finishedLatch;
+        if (tmpFinishedLatch != null) {
+            try {
+                tmpFinishedLatch.await();
+            } catch (InterruptedException anException) {
+                // Nothing to do: Waiting is canceled
+            }
+        }
+    }
+
+    /**
+     * PropertyChangeListener property change: Progress of Jdpd simulation is
+     * written if it changed, errors are written
+     *
+     * @param anEvent PropertyChangeEvent
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent anEvent) {
+        if (!(anEvent.getSource() instanceof JobResultExecutionTask)) {
+            return;
+        }
+        JobResultExecutionTask tmpJobResultExecutionTask = (JobResultExecutionTask) anEvent.getSource();
+        String tmpJobInputPath = this.taskToJobInputPathMap.get(tmpJobResultExecutionTask);
+        if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_JOB_IS_ALIVE)) {
+            int tmpProgress = tmpJobResultExecutionTask.getSimulationProgressInPercent();
+            Integer tmpLastProgress = this.taskToProgressMap.put(tmpJobResultExecutionTask, tmpProgress);
+            if (tmpProgress >= 0 && (tmpLastProgress == null || tmpLastProgress != tmpProgress)) {
+                this.writeJsonLine("progress", "job", tmpJobInputPath, "percent", tmpProgress, "remaining", tmpJobResultExecutionTask.getSimulationRemainingTime());
+            }
+        } else if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_ERROR)) {
+            this.writeJsonLine("error", "job", tmpJobInputPath, "message", "Internal error during job execution.");
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Parses arguments, initializes MFsim and runs job inputs. Exit value: 0
+     * = All jobs finished with success, 1 = At least one job did not finish
+     * with success, 2 = Illegal arguments or initialization error.
+     *
+     * @param anArguments Arguments (see class description)
+     * @param anOutputStream Output stream for JSON lines
+     * @param anErrorStream Output stream for usage and initialization errors
+     * @return Exit value
+     * @throws IllegalArgumentException Thrown if an argument is null
+     */
+    public static int execute(String[] anArguments, PrintStream anOutputStream, PrintStream anErrorStream) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (anArguments == null) {
+            throw new IllegalArgumentException("anArguments is null.");
+        }
+        if (anOutputStream == null) {
+            throw new IllegalArgumentException("anOutputStream is null.");
+        }
+        if (anErrorStream == null) {
+            throw new IllegalArgumentException("anErrorStream is null.");
+        }
+        // </editor-fold>
+        int tmpCoreBudget = Runtime.getRuntime().availableProcessors();
+        int tmpMaximumNumberOfParallelJobs = -1;
+        String tmpDescription = null;
+        LinkedList<String> tmpJobInputPaths = new LinkedList<>();
+        // <editor-fold defaultstate="collapsed" desc="Parse arguments">
+        try {
+            for (int i = 0; i < anArguments.length; i++) {
+                switch (anArguments[i]) {
+                    case "-cores":
+                        tmpCoreBudget = Integer.parseInt(anArguments[++i]);
+                        break;
+                    case "-parallel":
+                        tmpMaximumNumberOfParallelJobs = Integer.parseInt(anArguments[++i]);
+                        break;
+                    case "-description":
+                        tmpDescription = anArguments[++i];
+                        break;
+                    default:
+                        tmpJobInputPaths.add(anArguments[i]);
+                        break;
+                }
+            }
+        } catch (Exception anException) {
+            tmpJobInputPaths.clear();
+        }
+        if (tmpJobInputPaths.isEmpty() || tmpCoreBudget < 1) {
+            anErrorStream.println("Usage: HeadlessJobRunner [-cores N] [-parallel N] [-description TEXT] JobInputPath1 [JobInputPath2 ...]");
+            return 2;
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Initialize Preferences and particle related data">
+        try {
+            Preferences.getInstance();
+            // false: NO log event
+            ModelUtils.appendToLogfile(false, String.format(ModelDefinitions.MFSIM_SESSION_START_FORMAT, ModelDefinitions.APPLICATION_VERSION));
+            StandardParticleInteractionData.getInstance();
+            JdpdValueItemDefinition.getInstance();
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            ModelUtils.flushLogfile();
+            anErrorStream.println("Initialization of MFsim failed: " + anException.getMessage());
+            return 2;
+        }
+        if (tmpMaximumNumberOfParallelJobs < 1) {
+            tmpMaximumNumberOfParallelJobs = Preferences.getInstance().getNumberOfParallelSimulations();
+        }
+        // </editor-fold>
+        final HeadlessJobRunner tmpHeadlessJobRunner = new HeadlessJobRunner(tmpCoreBudget, tmpMaximumNumberOfParallelJobs, anOutputStream);
+        // Stop running jobs on termination (e.g. by batch system) so that their job result directories are created
+        Thread tmpShutdownHook = new Thread() {
+            @Override
+            public void run() {
+                tmpHeadlessJobRunner.stop();
+                tmpHeadlessJobRunner.awaitFinished();
+            }
+        };
+        Runtime.getRuntime().addShutdownHook(tmpShutdownHook);
+        int tmpNumberOfFailedJobs = tmpHeadlessJobRunner.run(tmpJobInputPaths, tmpDescription);
+        try {
+            Runtime.getRuntime().removeShutdownHook(tmpShutdownHook);
+        } catch (IllegalStateException anException) {
+            // Nothing to do: Virtual machine is already shutting down
+        }
+        MetricsRegistry.getInstance().writeMetricsFile();
+        ModelUtils.flushLogfile();
+        return tmpNumberOfFailedJobs == 0 ? 0 : 1;
+    }
+
+    /**
+     * Returns JSON line (JSON object without line break) with event, time
+     * and specified keys and values. NOTE: Number and Boolean values are
+     * written as JSON numbers/booleans, null as JSON null, all other values as
+     * JSON strings.
+     *
+     * @param anEvent Event
+     * @param aKeysAndValues Alternating keys and values
+     * @return JSON line
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public static String getJsonLine(String anEvent, Object... aKeysAndValues) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (anEvent == null || anEvent.isEmpty()) {
+            throw new IllegalArgumentException("anEvent is null/empty.");
+        }
+        if (aKeysAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("aKeysAndValues has odd length.");
+        }
+        // </editor-fold>
+        StringBuilder tmpBuffer = new StringBuilder(200);
+        tmpBuffer.append("{\"event\":\"").append(StringEscapeUtils.escapeJson(anEvent)).append("\",\"time\":").append(System.currentTimeMillis());
+        for (int i = 0; i < aKeysAndValues.length; i += 2) {
+            tmpBuffer.append(",\"").append(StringEscapeUtils.escapeJson(String.valueOf(aKeysAndValues[i]))).append("\":");
+            Object tmpValue = aKeysAndValues[i + 1];
+            if (tmpValue == null) {
+                tmpBuffer.append("null");
+            } else if (tmpValue instanceof Number || tmpValue instanceof Boolean) {
+                tmpBuffer.append(tmpValue.toString());
+            } else {
+                tmpBuffer.append('"').append(StringEscapeUtils.escapeJson(tmpValue.toString())).append('"');
+            }
+        }
+        tmpBuffer.append('}');
+        return tmpBuffer.toString();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Writes JSON line to output stream
+     *
+     * @param anEvent Event
+     * @param aKeysAndValues Alternating keys and values
+     */
+    private void writeJsonLine(String anEvent, Object... aKeysAndValues) {
+        String tmpJsonLine = HeadlessJobRunner.getJsonLine(anEvent, aKeysAndValues);
+        synchronized (this.outputStream) {
+            this.outputStream.println(tmpJsonLine);
+            this.outputStream.flush();
+        }
+    }
+
+    /**
+     * Writes JSON line for finished task and updates job counters
+     *
+     * @param aSchedulableTask Finished task
+     * @param anIsTaskSuccessful True: Task returned successfully, false:
+     * Otherwise
+     * @param aDurationInMilliseconds Duration of task in milliseconds
+     */
+    private void writeFinishedJsonLine(SchedulableTask aSchedulableTask, boolean anIsTaskSuccessful, long aDurationInMilliseconds) {
+        JobResult tmpJobResult = aSchedulableTask.getJobResultExecutionTask().getJobResult();
+        JobResultProcessingStatusEnum tmpStatus = tmpJobResult.getJobProcessingResult();
+        if (!anIsTaskSuccessful || tmpStatus == null) {
+            tmpStatus = JobResultProcessingStatusEnum.JOB_FINISHED_WITH_FAILURE;
+        }
+        boolean tmpIsSuccess = tmpStatus == JobResultProcessingStatusEnum.JOB_FINISHED_WITH_SUCCESS;
+        this.incrementNumberOfJobs(tmpIsSuccess);
+        this.writeJsonLine("finished",
+            "job", aSchedulableTask.getJobInputPath(),
+            "status", tmpStatus.name(),
+            "success", tmpIsSuccess,
+            "resultPath", tmpJobResult.getJobResultPath(),
+            "durationInMilliseconds", aDurationInMilliseconds
+        );
+    }
+
+    /**
+     * Increments number of succeeded or failed jobs
+     *
+     * @param anIsSuccess True: Job finished with success, false: Otherwise
+     */
+    private synchronized void incrementNumberOfJobs(boolean anIsSuccess) {
+        if (anIsSuccess) {
+            this.numberOfSucceededJobs++;
+        } else {
+            this.numberOfFailedJobs++;
+        }
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,52 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+/**
+ * Interface for parser of a single job directory (used by
+ * JobDirectoryScanner)
+ *
+ * @param <T> Type of parsed job object (e.g. JobInput or JobResult)
+ */
+public interface JobDirectoryParserInterface<T> {
+
+    /**
+     * Parses single job directory.
+     * NOTE: Method is called concurrently and must be thread-safe.
+     *
+     * @param aJobDirectoryPath Full path of job directory
+     * @return Parsed job object or null if job directory is invalid
+     */
+    T parse(String aJobDirectoryPath);
+
+    /**
+     * Restores job object of unchanged job directory from lines of its
+     * information file (as stored in manifest) without accessing the job
+     * directory.
+     * NOTE: Method is called concurrently and must be thread-safe.
+     *
+     * @param aJobDirectoryPath Full path of job directory
+     * @param anInformationLines Lines of information file
+     * @return Restored job object or null if job object can not be restored
+     * (then job directory is parsed)
+     */
+    T restore(String aJobDirectoryPath, String[] anInformationLines);
+
+}
@@ -0,0 +1,674 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.ManagedExecutorSession;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.io.File;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+/**
+ * Incremental scanner for job directories (job inputs or job results) of a
+ * parent directory.
+ * <p>
+ * Each job directory is described by a fingerprint (modification time and
+ * number of entries of the job directory, modification time and size of its
+ * information file). Only new or changed job directories are parsed (in
+ * parallel in work class IO of ManagedExecutor), unchanged job objects are
+ * reused. The fingerprints of all job directories are persisted in a
+ * manifest file in the parent directory together with the lines of the
+ * information files of valid job directories: After a restart unchanged
+ * valid job objects are restored from these lines (see
+ * JobDirectoryParserInterface.restore()) and unchanged invalid job
+ * directories are skipped, i.e. only new or changed job directories are
+ * parsed.
+ * <p>
+ * Readers get a lock-free immutable snapshot list of all valid job objects.
+ * Optionally the parent directory is watched with a WatchService for live
+ * updates: After a live update a property change
+ * ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE is fired (NOT on
+ * event dispatch thread).
+ *
+ * @param <T> Type of job object (e.g. JobInput or JobResult)
+ */
+public class JobDirectoryScanner<T> {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Separator of manifest line tokens
+     */
+    private static final String MANIFEST_SEPARATOR = "\t";
+
+    /**
+     * Version of manifest file
+     */
+    private static final String MANIFEST_VERSION = "Version 2.0.0";
+
+    /**
+     * Quiet period in milliseconds after last watch event before a rescan is
+     * performed (file operations usually produce bursts of events)
+     */
+    private static final long WATCH_QUIET_PERIOD_IN_MILLISECONDS = 500L;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class JobDirectoryEntry">
+    /**
+     * Fingerprint and parsed job object of a single job directory
+     */
+    private static class JobDirectoryEntry<T> {
+
+        /**
+         * Modification time of job directory
+         */
+        final long directoryModificationTime;
+
+        /**
+         * Number of entries of job directory
+         */
+        final int numberOfDirectoryEntries;
+
+        /**
+         * Modification time of information file (0 if not existing)
+         */
+        final long informationFileModificationTime;
+
+        /**
+         * Size of information file (-1 if not existing)
+         */
+        final long informationFileSize;
+
+        /**
+         * Job object (null if job directory is invalid or not yet parsed)
+         */
+        T job;
+
+        /**
+         * True: Job directory was parsed and is invalid, false: Otherwise
+         */
+        boolean isInvalid;
+
+        /**
+         * Lines of information file of valid job directory (null if not
+         * available)
+         */
+        String[] informationLines;
+
+        /**
+         * Constructor
+         *
+         * @param aDirectoryModificationTime Modification time of job directory
+         * @param aNumberOfDirectoryEntries Number of entries of job directory
+         * @param anInformationFileModificationTime Modification time of
+         * information file
+         * @param anInformationFileSize Size of information file
+         */
+        JobDirectoryEntry(long aDirectoryModificationTime, int aNumberOfDirectoryEntries, long anInformationFileModificationTime, long anInformationFileSize) {
+            this.directoryModificationTime = aDirectoryModificationTime;
+            this.numberOfDirectoryEntries = aNumberOfDirectoryEntries;
+            this.informationFileModificationTime = anInformationFileModificationTime;
+            this.informationFileSize = anInformationFileSize;
+            this.job = null;
+            this.isInvalid = false;
+            this.informationLines = null;
+        }
+
+        /**
+         * Returns if fingerprint of this entry equals fingerprint of other
+         * entry
+         *
+         * @param anOtherEntry Other entry (may be null then false is returned)
+         * @return True: Same fingerprint, false: Otherwise
+         */
+        boolean hasSameFingerprint(JobDirectoryEntry<?> anOtherEntry) {
+            return anOtherEntry != null
+                && this.directoryModificationTime == anOtherEntry.directoryModificationTime
+                && this.numberOfDirectoryEntries == anOtherEntry.numberOfDirectoryEntries
+                && this.informationFileModificationTime == anOtherEntry.informationFileModificationTime
+                && this.informationFileSize == anOtherEntry.informationFileSize;
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Utility for files
+     */
+    private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
+
+    /**
+     * Prefix of job directories
+     */
+    private final String jobDirectoryPrefix;
+
+    /**
+     * Name of information file in job directory
+     */
+    private final String informationFilename;
+
+    /**
+     * Name of manifest file in parent directory
+     */
+    private final String manifestFilename;
+
+    /**
+     * Parser for single job directory
+     */
+    private final JobDirectoryParserInterface<T> parser;
+
+    /**
+     * Property change support
+     */
+    private final PropertyChangeSupport propertyChangeSupport;
+
+    /**
+     * Immutable snapshot list of valid job objects
+     * NOTE: Replaced as a whole, read without lock
+     */
+    private volatile List<T> jobSnapshotList;
+
+    /**
+     * Current parent directory path (guarded by this)
+     */
+    private String parentPath;
+
+    /**
+     * Map of job directory name to its entry (guarded by this)
+     */
+    private HashMap<String, JobDirectoryEntry<T>> nameToEntryMap;
+
+    /**
+     * Watch service for live updates (guarded by this)
+     */
+    private WatchService watchService;
+
+    /**
+     * Watch thread for live updates (guarded by this)
+     */
+    private Thread watchThread;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aJobDirectoryPrefix Prefix of job directories
+     * @param anInformationFilename Name of information file in job directory
+     * @param aManifestFilename Name of manifest file in parent directory
+     * @param aParser Parser for single job directory
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public JobDirectoryScanner(String aJobDirectoryPrefix, String anInformationFilename, String aManifestFilename, JobDirectoryParserInterface<T> aParser) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aJobDirectoryPrefix == null || aJobDirectoryPrefix.isEmpty()) {
+            throw new IllegalArgumentException("aJobDirectoryPrefix is null/empty.");
+        }
+        if (anInformationFilename == null || anInformationFilename.isEmpty()) {
+            throw new IllegalArgumentException("anInformationFilename is null/empty.");
+        }
+        if (aManifestFilename == null || aManifestFilename.isEmpty()) {
+            throw new IllegalArgumentException("aManifestFilename is null/empty.");
+        }
+        if (aParser == null) {
+            throw new IllegalArgumentException("aParser is null.");
+        }
+        // </editor-fold>
+        this.jobDirectoryPrefix = aJobDirectoryPrefix;
+        this.informationFilename = anInformationFilename;
+        this.manifestFilename = aManifestFilename;
+        this.parser = aParser;
+        this.propertyChangeSupport = new PropertyChangeSupport(this);
+        this.jobSnapshotList = Collections.emptyList();
+        this.parentPath = null;
+        this.nameToEntryMap = new HashMap<>(ModelDefinitions.DEFAULT_NUMBER_OF_VALUE_ITEMS);
+        this.watchService = null;
+        this.watchThread = null;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns immutable snapshot list of valid job objects (lock-free)
+     *
+     * @return Immutable snapshot list of valid job objects
+     */
+    public List<T> getJobList() {
+        return this.jobSnapshotList;
+    }
+
+    /**
+     * Scans parent directory incrementally: Only new or changed job
+     * directories are parsed.
+     * NOTE: If parent path differs from last scan all job directories are
+     * regarded as new (apart from unchanged job directories of the manifest)
+     * and a running watch is moved to the new parent path.
+     *
+     * @param aParentPath Full path of parent directory
+     * @return True: Snapshot list was changed, false: Otherwise
+     */
+    public synchronized boolean scan(String aParentPath) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aParentPath == null || aParentPath.isEmpty()) {
+            return false;
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Change of parent path">
+        boolean tmpIsParentPathChange = !aParentPath.equals(this.parentPath);
+        if (tmpIsParentPathChange) {
+            boolean tmpIsWatching = this.watchThread != null;
+            this.stopWatching();
+            this.parentPath = aParentPath;
+            this.nameToEntryMap = this.readManifest();
+            if (tmpIsWatching) {
+                this.startWatching();
+            }
+        }
+        // </editor-fold>
+        String[] tmpJobDirectoryPaths = this.fileUtilityMethods.getDirectoryPathsWithPrefix(aParentPath, this.jobDirectoryPrefix);
+        if (tmpJobDirectoryPaths == null) {
+            tmpJobDirectoryPaths = new String[0];
+        }
+        // <editor-fold defaultstate="collapsed" desc="Determine entries and job directories to be parsed">
+        HashMap<String, JobDirectoryEntry<T>> tmpNewNameToEntryMap = new HashMap<>(tmpJobDirectoryPaths.length * 2 + 1);
+        LinkedList<String> tmpNamesToBeParsed = new LinkedList<>();
+        boolean tmpIsChange = tmpIsParentPathChange || tmpJobDirectoryPaths.length != this.nameToEntryMap.size();
+        for (String tmpJobDirectoryPath : tmpJobDirectoryPaths) {
+            String tmpName = (new File(tmpJobDirectoryPath)).getName();
+            JobDirectoryEntry<T> tmpEntry = this.getCurrentEntry(tmpJobDirectoryPath);
+            JobDirectoryEntry<T> tmpKnownEntry = this.nameToEntryMap.get(tmpName);
+            if (tmpEntry.hasSameFingerprint(tmpKnownEntry) && (tmpKnownEntry.job != null || tmpKnownEntry.isInvalid || this.restoreJob(tmpJobDirectoryPath, tmpKnownEntry))) {
+                tmpNewNameToEntryMap.put(tmpName, tmpKnownEntry);
+            } else {
+                tmpIsChange = true;
+                tmpNewNameToEntryMap.put(tmpName, tmpEntry);
+                tmpNamesToBeParsed.add(tmpName);
+            }
+        }
+        // </editor-fold>
+        this.parseJobDirectories(tmpNamesToBeParsed, tmpNewNameToEntryMap);
+        this.nameToEntryMap = tmpNewNameToEntryMap;
+        if (!tmpIsChange) {
+            return false;
+        }
+        // <editor-fold defaultstate="collapsed" desc="Publish new snapshot list and manifest">
+        // NOTE: Order of job directories is retained
+        ArrayList<T> tmpJobList = new ArrayList<>(tmpJobDirectoryPaths.length);
+        for (String tmpJobDirectoryPath : tmpJobDirectoryPaths) {
+            JobDirectoryEntry<T> tmpEntry = tmpNewNameToEntryMap.get((new File(tmpJobDirectoryPath)).getName());
+            if (tmpEntry.job != null) {
+                tmpJobList.add(tmpEntry.job);
+            }
+        }
+        this.jobSnapshotList = Collections.unmodifiableList(tmpJobList);
+        this.writeManifest();
+        // </editor-fold>
+        return true;
+    }
+
+    /**
+     * Starts watching of current parent directory for live updates.
+     * NOTE: Method scan() must have been called before, otherwise nothing is
+     * done.
+     *
+     * @return True: Watching is active, false: Otherwise
+     */
+    public synchronized boolean startWatching() {
+        if (this.watchThread != null) {
+            return true;
+        }
+        if (this.parentPath == null || !(new File(this.parentPath)).isDirectory()) {
+            return false;
+        }
+        try {
+            final Path tmpParentPath = Paths.get(this.parentPath);
+            final WatchService tmpWatchService = FileSystems.getDefault().newWatchService();
+            tmpParentPath.register(tmpWatchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            );
+            final String tmpWatchedParentPath = this.parentPath;
+            this.watchService = tmpWatchService;
+            this.watchThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    JobDirectoryScanner.this.watch(tmpWatchService, tmpWatchedParentPath);
+                }
+            }, "JobDirectoryScanner-" + this.jobDirectoryPrefix);
+            this.watchThread.setDaemon(true);
+            this.watchThread.start();
+            return true;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            this.watchService = null;
+            this.watchThread = null;
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching of parent directory
+     */
+    public synchronized void stopWatching() {
+        if (this.watchService != null) {
+            try {
+                // NOTE: Closing the watch service terminates watch thread
+                this.watchService.close();
+            } catch (Exception anException) {
+                ModelUtils.appendToLogfile(true, anException);
+            }
+        }
+        this.watchService = null;
+        this.watchThread = null;
+    }
+
+    /**
+     * Add property change listener
+     *
+     * @param aListener Listener
+     */
+    public void addPropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.addPropertyChangeListener(aListener);
+    }
+
+    /**
+     * Remove property change listener
+     *
+     * @param aListener Listener
+     */
+    public void removePropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.removePropertyChangeListener(aListener);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Parse related methods">
+    /**
+     * Returns entry with current fingerprint of job directory
+     *
+     * @param aJobDirectoryPath Full path of job directory
+     * @return Entry with current fingerprint of job directory
+     */
+    private JobDirectoryEntry<T> getCurrentEntry(String aJobDirectoryPath) {
+        File tmpJobDirectory = new File(aJobDirectoryPath);
+        String[] tmpDirectoryEntries = tmpJobDirectory.list();
+        File tmpInformationFile = new File(tmpJobDirectory, this.informationFilename);
+        return new JobDirectoryEntry<>(
+            tmpJobDirectory.lastModified(),
+            tmpDirectoryEntries == null ? 0 : tmpDirectoryEntries.length,
+            tmpInformationFile.lastModified(),
+            tmpInformationFile.isFile() ? tmpInformationFile.length() : -1L
+        );
+    }
+
+    /**
+     * Restores job object of unchanged valid job directory from information
+     * lines of its entry
+     *
+     * @param aJobDirectoryPath Full path of job directory
+     * @param anEntry Entry from manifest (job object is set if restored)
+     * @return True: Job object was restored, false: Otherwise (job directory
+     * must be parsed)
+     */
+    private boolean restoreJob(String aJobDirectoryPath, JobDirectoryEntry<T> anEntry) {
+        if (anEntry.informationLines == null) {
+            return false;
+        }
+        try {
+            anEntry.job = this.parser.restore(aJobDirectoryPath, anEntry.informationLines);
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            anEntry.job = null;
+        }
+        return anEntry.job != null;
+    }
+
+    /**
+     * Parses job directories in parallel in work class IO of ManagedExecutor
+     *
+     * @param aNamesToBeParsed Names of job directories to be parsed
+     * @param aNameToEntryMap Map of job directory name to entry (entries are
+     * updated)
+     */
+    private void parseJobDirectories(LinkedList<String> aNamesToBeParsed, HashMap<String, JobDirectoryEntry<T>> aNameToEntryMap) {
+        if (aNamesToBeParsed.isEmpty()) {
+            return;
+        }
+        if (aNamesToBeParsed.size() == 1) {
+            String tmpName = aNamesToBeParsed.getFirst();
+            this.parseJobDirectory(tmpName, aNameToEntryMap.get(tmpName));
+            return;
+        }
+        ArrayList<FutureTask<Void>> tmpParseTasks = new ArrayList<>(aNamesToBeParsed.size());
+        for (final String tmpName : aNamesToBeParsed) {
+            final JobDirectoryEntry<T> tmpEntry = aNameToEntryMap.get(tmpName);
+            tmpParseTasks.add(new FutureTask<Void>(new Runnable() {
+                @Override
+                public void run() {
+                    JobDirectoryScanner.this.parseJobDirectory(tmpName, tmpEntry);
+                }
+            }, null));
+        }
+        ManagedExecutorSession tmpExecutorSession = ManagedExecutor.getInstance().createSession(
+            WorkClassEnum.IO,
+            Math.min(aNamesToBeParsed.size(), ModelDefinitions.MAXIMUM_NUMBER_OF_PARALLEL_JOB_DIRECTORY_PARSERS)
+        );
+        try {
+            for (FutureTask<Void> tmpParseTask : tmpParseTasks) {
+                tmpExecutorSession.execute(tmpParseTask);
+            }
+            for (FutureTask<Void> tmpParseTask : tmpParseTasks) {
+                // NOTE: Parse tasks that are not yet started are run by the 
+                //       calling thread (run() does nothing if task is already 
+                //       started), so that a calling IO thread can not deadlock
+                tmpParseTask.run();
+                try {
+                    tmpParseTask.get();
+                } catch (ExecutionException anException) {
+                    ModelUtils.appendToLogfile(true, anException);
+                }
+            }
+        } catch (InterruptedException anException) {
+            Thread.currentThread().interrupt();
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+        } finally {
+            // NOTE: Remaining session tasks only wrap parse tasks that are
+            //       already done (or abandoned after an exception: These are
+            //       cancelled so that the entries remain unparsed)
+            tmpExecutorSession.shutdownNow();
+            for (FutureTask<Void> tmpParseTask : tmpParseTasks) {
+                tmpParseTask.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Parses single job directory and sets parsed job object and lines of
+     * information file of entry
+     *
+     * @param aName Name of job directory
+     * @param anEntry Entry
+     */
+    private void parseJobDirectory(String aName, JobDirectoryEntry<T> anEntry) {
+        String tmpJobDirectoryPath = this.parentPath + File.separatorChar + aName;
+        T tmpJob;
+        try {
+            tmpJob = this.parser.parse(tmpJobDirectoryPath);
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            tmpJob = null;
+        }
+        anEntry.job = tmpJob;
+        anEntry.isInvalid = tmpJob == null;
+        anEntry.informationLines = null;
+        if (tmpJob != null) {
+            String tmpInformationFilePathname = tmpJobDirectoryPath + File.separatorChar + this.informationFilename;
+            String[] tmpInformationLines = this.fileUtilityMethods.readDefinedStringArrayFromFile(tmpInformationFilePathname);
+            // NOTE: Incomplete information file is not stored in manifest
+            if (tmpInformationLines != null && !Arrays.asList(tmpInformationLines).contains(null)) {
+                anEntry.informationLines = tmpInformationLines;
+            }
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Manifest related methods">
+    /**
+     * Reads manifest of current parent path.
+     * NOTE: Entries of manifest have no job objects: Valid job objects are
+     * restored from the information lines of their entry if unchanged,
+     * invalid job directories are only parsed if changed.
+     *
+     * @return Map of job directory name to entry (may be empty but never null)
+     */
+    private HashMap<String, JobDirectoryEntry<T>> readManifest() {
+        HashMap<String, JobDirectoryEntry<T>> tmpNameToEntryMap = new HashMap<>(ModelDefinitions.DEFAULT_NUMBER_OF_VALUE_ITEMS);
+        String tmpManifestFilePathname = this.parentPath + File.separatorChar + this.manifestFilename;
+        if (!(new File(tmpManifestFilePathname)).isFile()) {
+            return tmpNameToEntryMap;
+        }
+        String[] tmpLines = this.fileUtilityMethods.readDefinedStringArrayFromFile(tmpManifestFilePathname);
+        if (tmpLines == null || tmpLines.length == 0 || !MANIFEST_VERSION.equals(tmpLines[0])) {
+            return tmpNameToEntryMap;
+        }
+        try {
+            // Line format: Name, directory modification time, number of directory entries, information file modification time, information file size, is invalid, escaped lines of information file (valid job directories only)
+            for (int i = 1; i < tmpLines.length; i++) {
+                String[] tmpTokens = tmpLines[i].split(MANIFEST_SEPARATOR, -1);
+                if (tmpTokens.length >= 6) {
+                    JobDirectoryEntry<T> tmpEntry = new JobDirectoryEntry<>(
+                        Long.parseLong(tmpTokens[1]),
+                        Integer.parseInt(tmpTokens[2]),
+                        Long.parseLong(tmpTokens[3]),
+                        Long.parseLong(tmpTokens[4])
+                    );
+                    tmpEntry.isInvalid = Boolean.parseBoolean(tmpTokens[5]);
+                    if (!tmpEntry.isInvalid && tmpTokens.length > 6) {
+                        tmpEntry.informationLines = new String[tmpTokens.length - 6];
+                        for (int k = 0; k < tmpEntry.informationLines.length; k++) {
+                            tmpEntry.informationLines[k] = StringEscapeUtils.unescapeJava(tmpTokens[k + 6]);
+                        }
+                    }
+                    if (tmpEntry.isInvalid || tmpEntry.informationLines != null) {
+                        tmpNameToEntryMap.put(tmpTokens[0], tmpEntry);
+                    }
+                }
+            }
+        } catch (Exception anException) {
+            // NOTE: Corrupt manifest is ignored
+            tmpNameToEntryMap.clear();
+        }
+        return tmpNameToEntryMap;
+    }
+
+    /**
+     * Writes manifest of current parent path (best effort)
+     */
+    private void writeManifest() {
+        String tmpManifestFilePathname = this.parentPath + File.separatorChar + this.manifestFilename;
+        String[] tmpLines = new String[this.nameToEntryMap.size() + 1];
+        tmpLines[0] = MANIFEST_VERSION;
+        int tmpIndex = 1;
+        for (String tmpName : this.nameToEntryMap.keySet()) {
+            JobDirectoryEntry<T> tmpEntry = this.nameToEntryMap.get(tmpName);
+            StringBuilder tmpBuffer = new StringBuilder(200);
+            tmpBuffer.append(tmpName).append(MANIFEST_SEPARATOR)
+                .append(tmpEntry.directoryModificationTime).append(MANIFEST_SEPARATOR)
+                .append(tmpEntry.numberOfDirectoryEntries).append(MANIFEST_SEPARATOR)
+                .append(tmpEntry.informationFileModificationTime).append(MANIFEST_SEPARATOR)
+                .append(tmpEntry.informationFileSize).append(MANIFEST_SEPARATOR)
+                .append(tmpEntry.isInvalid);
+            if (tmpEntry.job != null && tmpEntry.informationLines != null) {
+                // NOTE: Escaping removes separators and line breaks
+                for (String tmpInformationLine : tmpEntry.informationLines) {
+                    tmpBuffer.append(MANIFEST_SEPARATOR).append(StringEscapeUtils.escapeJava(tmpInformationLine));
+                }
+            }
+            tmpLines[tmpIndex++] = tmpBuffer.toString();
+        }
+        if ((new File(this.parentPath)).canWrite() && this.fileUtilityMethods.deleteSingleFile(tmpManifestFilePathname)) {
+            this.fileUtilityMethods.writeDefinedStringArrayToFile(tmpLines, tmpManifestFilePathname);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Watch related methods">
+    /**
+     * Watch loop (runs in watch thread until watch service is closed)
+     *
+     * @param aWatchService Watch service
+     * @param aParentPath Watched parent path
+     */
+    private void watch(WatchService aWatchService, String aParentPath) {
+        try {
+            while (true) {
+                WatchKey tmpWatchKey = aWatchService.take();
+                tmpWatchKey.pollEvents();
+                tmpWatchKey.reset();
+                // Wait for quiet period
+                while ((tmpWatchKey = aWatchService.poll(WATCH_QUIET_PERIOD_IN_MILLISECONDS, TimeUnit.MILLISECONDS)) != null) {
+                    tmpWatchKey.pollEvents();
+                    tmpWatchKey.reset();
+                }
+                boolean tmpIsChange;
+                synchronized (this) {
+                    if (this.watchService != aWatchService) {
+                        // Watch was stopped or moved
+                        return;
+                    }
+                    tmpIsChange = this.scan(aParentPath);
+                }
+                if (tmpIsChange) {
+                    this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE, false, true);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException anException) {
+            // Watch is stopped: Nothing to do
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+        }
+    }
+    // </editor-fold>
+    // </editor-fold>
+
+}
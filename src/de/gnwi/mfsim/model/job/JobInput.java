@@ -27,6 +27,7 @@ import de.gnwi.mfsim.model.util.StringUtilityMethods;
 import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.FileUtilityMethods;
 import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
+import de.gnwi.mfsim.model.valueItem.ValueItemContainerSnapshot;
 import java.io.File;
 import java.io.StringReader;
 import org.jdom2.Document;
@@ -64,6 +65,11 @@ public class JobInput implements Comparable<JobInput> {
      */
     private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
 
+    /**
+     * Binary snapshot of value item container for fast load
+     */
+    private final ValueItemContainerSnapshot valueItemContainerSnapshot = new ValueItemContainerSnapshot();
+
     /**
      * Description
      */
@@ -220,6 +226,33 @@ public class JobInput implements Comparable<JobInput> {
         // </editor-fold>
     }
 
+    /**
+     * Constructor for job input with known lines of job input information
+     * file (e.g. from manifest of JobDirectoryScanner).
+     * NOTE: Job input directory is NOT accessed.
+     *
+     * @param aJobInputPath Full path of job input directory
+     * @param anIsOverwrite True: Job input will overwrite existing information
+     * when saved, false: otherwise (then new job input directory will be
+     * created when saved)
+     * @param anInformationLines Lines of job input information file
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public JobInput(String aJobInputPath, boolean anIsOverwrite, String[] anInformationLines) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aJobInputPath == null || aJobInputPath.isEmpty()) {
+            throw new IllegalArgumentException("aJobInputPath is null/empty");
+        }
+        // </editor-fold>
+        this.initialize();
+        this.isOverwrite = anIsOverwrite;
+        this.jobInputPath = aJobInputPath;
+        this.pathnameOfXmlValueItemContainerFile = this.jobUtilityMethods.getInternalXmlJobInputFilePathname(this.jobInputPath);
+        if (!this.setJobInputInformation(anInformationLines)) {
+            throw new IllegalArgumentException("Illegal job input information.");
+        }
+    }
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public methods">
@@ -669,6 +702,12 @@ public class JobInput implements Comparable<JobInput> {
                 tmpIsWriteSuccess = false;
             }
             // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Write binary snapshot for fast load">
+            if (tmpIsWriteSuccess) {
+                // NOTE: Snapshot is optional, XML file remains authoritative
+                this.valueItemContainerSnapshot.writeSnapshot(this.getValueItemContainer(), aDestinationFilePathname, this.getSnapshotFilePathname(aDestinationFilePathname));
+            }
+            // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="IMPORTANT: Release memory of value item job container">
             this.valueItemContainer = null;
             // </editor-fold>
@@ -695,6 +734,15 @@ public class JobInput implements Comparable<JobInput> {
         }
 
         // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Fast load from valid binary snapshot">
+        String tmpSnapshotFilePathname = this.getSnapshotFilePathname(aJobImportFilePathname);
+        ValueItemContainer tmpValueItemContainer = this.valueItemContainerSnapshot.readSnapshot(aJobImportFilePathname, tmpSnapshotFilePathname, ModelDefinitions.JOB_UPDATE_UTILS);
+        if (tmpValueItemContainer != null) {
+            this.valueItemContainer = tmpValueItemContainer;
+            return true;
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Fallback: Read XML file">
         String tmpXmlString = this.fileUtilityMethods.readTextFileIntoSingleString(aJobImportFilePathname);
         if (tmpXmlString == null || tmpXmlString.isEmpty()) {
             return false;
@@ -707,8 +755,24 @@ public class JobInput implements Comparable<JobInput> {
             ModelUtils.appendToLogfile(true, anException);
             return false;
         }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Write missing or stale binary snapshot">
+        // NOTE: Snapshot is optional, failure (e.g. read-only directory) is ignored
+        this.valueItemContainerSnapshot.writeSnapshot(this.valueItemContainer, aJobImportFilePathname, tmpSnapshotFilePathname);
+        // </editor-fold>
         return true;
     }
+
+    /**
+     * Returns full pathname of binary snapshot file that corresponds to XML
+     * file
+     *
+     * @param aXmlFilePathname Full pathname of XML file
+     * @return Full pathname of binary snapshot file
+     */
+    private String getSnapshotFilePathname(String aXmlFilePathname) {
+        return this.jobUtilityMethods.getInternalBinaryJobInputFilePathname((new File(aXmlFilePathname)).getParent());
+    }
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="- JobInput information related read/write methods">
@@ -726,8 +790,18 @@ public class JobInput implements Comparable<JobInput> {
         }
 
         // </editor-fold>
+        return this.setJobInputInformation(this.fileUtilityMethods.readDefinedStringArrayFromFile(tmpJobInformationPathname));
+    }
+
+    /**
+     * Sets job input information from lines of job input information file
+     * (see code)
+     *
+     * @param infos Lines of job input information file (may be null)
+     * @return true: Operation was successful, false: Otherwise
+     */
+    private boolean setJobInputInformation(String[] infos) {
         try {
-            String[] infos = this.fileUtilityMethods.readDefinedStringArrayFromFile(tmpJobInformationPathname);
             if (infos == null || infos.length == 0) {
                 return false;
             }
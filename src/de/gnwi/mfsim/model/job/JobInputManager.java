@@ -19,11 +19,13 @@
  */
 package de.gnwi.mfsim.model.job;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.io.File;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.List;
 
-import de.gnwi.mfsim.model.job.JobInput;
 import de.gnwi.mfsim.model.util.FileDeletionTask;
 import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
@@ -31,11 +33,13 @@ import de.gnwi.mfsim.model.util.FileUtilityMethods;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
 /**
- * Manager for job inputs
+ * Manager for job inputs.
+ * NOTE: Job input path is scanned incrementally and watched for live updates
+ * (see JobDirectoryScanner), the job input list is a lock-free snapshot.
  *
  * @author Achim Zielesny
  */
-public class JobInputManager {
+public class JobInputManager implements PropertyChangeListener {
 
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
     /**
@@ -44,9 +48,14 @@ public class JobInputManager {
     private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
 
     /**
-     * List with all job inputs of job input path
+     * Incremental scanner for all job inputs of job input path
      */
-    private LinkedList<JobInput> allJobInputsOfJobInputPathList;
+    private JobDirectoryScanner<JobInput> jobInputScanner;
+
+    /**
+     * Property change support
+     */
+    private PropertyChangeSupport propertyChangeSupport;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -116,13 +125,53 @@ public class JobInputManager {
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * PropertyChangeListener property change: Forwards live updates of job
+     * input scanner with this instance as source
+     *
+     * @param anEvent PropertyChangeEvent
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent anEvent) {
+        if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE)) {
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE, false, true);
+        }
+    }
+
+    /**
+     * Add property change listener for live updates of job input path (see
+     * ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE).
+     * NOTE: Property changes are NOT fired on event dispatch thread.
+     *
+     * @param aListener Listener
+     */
+    public void addPropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.addPropertyChangeListener(aListener);
+    }
+
+    /**
+     * Remove property change listener
+     *
+     * @param aListener Listener
+     */
+    public void removePropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.removePropertyChangeListener(aListener);
+    }
+
+    /**
+     * Stops watching of job input path for live updates
+     */
+    public void stopWatching() {
+        this.jobInputScanner.stopWatching();
+    }
+
     /**
      * Returns number of job inputs in job input path
      *
      * @return Number of job inputs in job input path
      */
     public int getNumberOfJobInputsOfJobInputPath() {
-        return this.allJobInputsOfJobInputPathList.size();
+        return this.jobInputScanner.getJobList().size();
     }
 
     /**
@@ -132,7 +181,7 @@ public class JobInputManager {
      * none exist
      */
     public JobInput[] getSortedJobInputsOfJobInputPath() {
-        LinkedList<JobInput> tmpJobInputList = this.getJobInputListOfInputPath();
+        List<JobInput> tmpJobInputList = this.getJobInputListOfInputPath();
         if (tmpJobInputList.size() > 0) {
             JobInput[] jobInputArray = tmpJobInputList.toArray(new JobInput[0]);
             Arrays.sort(jobInputArray);
@@ -145,10 +194,11 @@ public class JobInputManager {
     /**
      * Returns job input list with all job inputs of job input path
      *
-     * @return Job input list with all job inputs of job input path
+     * @return Job input list with all job inputs of job input path (immutable
+     * snapshot)
      */
-    public LinkedList<JobInput> getJobInputListOfInputPath() {
-        return this.allJobInputsOfJobInputPathList;
+    public List<JobInput> getJobInputListOfInputPath() {
+        return this.jobInputScanner.getJobList();
     }
 
     /**
@@ -158,7 +208,7 @@ public class JobInputManager {
      * Otherwise
      */
     public boolean hasCorrectJobInputsInInputPath() {
-        for (JobInput tmpSingleJobInput : this.allJobInputsOfJobInputPathList) {
+        for (JobInput tmpSingleJobInput : this.getJobInputListOfInputPath()) {
             if (!tmpSingleJobInput.hasError()) {
                 return true;
             }
@@ -172,7 +222,7 @@ public class JobInputManager {
      * @return True: Job inputs exists in job input path, false: Otherwise
      */
     public boolean hasJobInputsInInputPath() {
-        return this.allJobInputsOfJobInputPathList.size() > 0;
+        return this.getJobInputListOfInputPath().size() > 0;
     }
 
     /**
@@ -190,33 +240,49 @@ public class JobInputManager {
      * Initialize this instance
      */
     private void initialize() {
-        this.allJobInputsOfJobInputPathList = new LinkedList<JobInput>();
+        this.propertyChangeSupport = new PropertyChangeSupport(this);
+        this.jobInputScanner = 
+            new JobDirectoryScanner<>(
+                ModelDefinitions.PREFIX_OF_JOB_INPUT_DIRECTORY, 
+                ModelDefinitions.JOB_INPUT_INFORMATION_FILENAME, 
+                ModelDefinitions.JOB_INPUT_MANIFEST_FILENAME,
+                new JobDirectoryParserInterface<JobInput>() {
+                    @Override
+                    public JobInput parse(String aJobInputPath) {
+                        try {
+                            // Create new JobInput in overwrite mode (Parameter true)
+                            return new JobInput(aJobInputPath, true);
+                        } catch (Exception anException) {
+                            ModelUtils.appendToLogfile(true, anException);
+                            return null;
+                        }
+                    }
+
+                    @Override
+                    public JobInput restore(String aJobInputPath, String[] anInformationLines) {
+                        try {
+                            // Create new JobInput in overwrite mode (Parameter true)
+                            return new JobInput(aJobInputPath, true, anInformationLines);
+                        } catch (Exception anException) {
+                            // Note: Job input directory is parsed instead
+                            return null;
+                        }
+                    }
+                }
+            );
+        this.jobInputScanner.addPropertyChangeListener(this);
         this.updateAllJobInputsOfJobInputPathList();
+        this.jobInputScanner.startWatching();
         // Clean possible removed jobs inputs in background
         this.cleanJobInputPathInBackground();
     }
 
     /**
-     * Updates this.allJobInputsOfJobInputPathList
+     * Updates job input list incrementally: Only new or changed job input
+     * directories are parsed.
      */
     private void updateAllJobInputsOfJobInputPathList() {
-        this.allJobInputsOfJobInputPathList.clear();
-        String[] jobInputPaths = this.fileUtilityMethods.getDirectoryPathsWithPrefix(Preferences.getInstance().getJobInputPath(), ModelDefinitions.PREFIX_OF_JOB_INPUT_DIRECTORY);
-        if (jobInputPaths != null) {
-            for (String jobInputPath : jobInputPaths) {
-                JobInput singleJobInput;
-                try {
-                    // Create new JobInput in overwrite mode (Parameter true)
-                    singleJobInput = new JobInput(jobInputPath, true);
-                } catch (Exception anException) {
-                    ModelUtils.appendToLogfile(true, anException);
-                    singleJobInput = null;
-                }
-                if (singleJobInput != null) {
-                    this.allJobInputsOfJobInputPathList.addLast(singleJobInput);
-                }
-            }
-        }
+        this.jobInputScanner.scan(Preferences.getInstance().getJobInputPath());
     }
     // </editor-fold>
 }
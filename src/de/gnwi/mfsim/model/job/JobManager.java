@@ -21,7 +21,10 @@ package de.gnwi.mfsim.model.job;
 
 import de.gnwi.mfsim.model.job.JobResultManager;
 import de.gnwi.mfsim.model.message.ModelMessage;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
+import java.io.File;
 import javax.swing.JOptionPane;
 
 /**
@@ -47,6 +50,10 @@ public final class JobManager {
      * JobInputManager
      */
     private JobInputManager jobInputManager = null;
+    /**
+     * JobScheduler
+     */
+    private JobScheduler jobScheduler = null;
 
     // </editor-fold>
     //
@@ -89,8 +96,18 @@ public final class JobManager {
      */
     public void closeEngineLayer() {
         // Clean up
+        if (this.jobResultManager != null) {
+            this.jobResultManager.stopWatching();
+        }
+        if (this.jobInputManager != null) {
+            this.jobInputManager.stopWatching();
+        }
+        if (this.jobScheduler != null) {
+            this.jobScheduler.shutdown();
+        }
         this.jobResultManager = null;
         this.jobInputManager = null;
+        this.jobScheduler = null;
     }
     // </editor-fold>
     //
@@ -115,6 +132,16 @@ public final class JobManager {
         return this.jobInputManager;
     }
     // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="JobScheduler">
+    /**
+     * Returns job scheduler
+     *
+     * @return Job scheduler
+     */
+    public JobScheduler getJobScheduler() {
+        return this.jobScheduler;
+    }
+    // </editor-fold>
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private methods">
@@ -129,6 +156,13 @@ public final class JobManager {
             this.jobResultManager = new JobResultManager();
             // Create job input manager
             this.jobInputManager = new JobInputManager();
+            // Create job scheduler with all available processor cores as core budget
+            this.jobScheduler = new JobScheduler(
+                Runtime.getRuntime().availableProcessors(),
+                Preferences.getInstance().getNumberOfParallelSimulations(),
+                Preferences.getInstance().getDelayForJobStartInMilliseconds(),
+                Preferences.getInstance().getDpdDataPath() + File.separatorChar + ModelDefinitions.JOB_SCHEDULER_QUEUE_FILENAME
+            );
             return true;
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
@@ -0,0 +1,179 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.jdpd.samples.ProgressMonitor;
+
+/**
+ * Push-based progress monitor for Jdpd simulations: Every progress callback
+ * of Jdpd (and any other signal like completion or stop request) marks the
+ * monitor as changed and wakes up a waiting consumer. Changes are coalesced,
+ * i.e. a consumer sees the latest state only, and the consumer is woken up
+ * at most once per minimum update interval. A stop request wakes up a
+ * waiting consumer immediately (regardless of the minimum update interval).
+ */
+public class JobProgressMonitor extends ProgressMonitor {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Lock for change signaling
+     */
+    private final Object changeLock = new Object();
+
+    /**
+     * Minimum interval between successive updates in milliseconds
+     */
+    private final long minimumUpdateIntervalInMilliseconds;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * True: State changed since last update, false: Otherwise
+     */
+    private boolean isChanged;
+
+    /**
+     * True: Stop was requested, false: Otherwise
+     */
+    private boolean isStopRequested;
+
+    /**
+     * Time of last update in milliseconds
+     */
+    private long lastUpdateTime;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aMinimumUpdateIntervalInMilliseconds Minimum interval between
+     * successive updates in milliseconds (values less than 0 are set to 0)
+     */
+    public JobProgressMonitor(long aMinimumUpdateIntervalInMilliseconds) {
+        super();
+        this.minimumUpdateIntervalInMilliseconds = Math.max(0L, aMinimumUpdateIntervalInMilliseconds);
+        this.isChanged = false;
+        this.isStopRequested = false;
+        this.lastUpdateTime = 0L;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public overridden methods">
+    /**
+     * Sets simulation state and signals change
+     *
+     * @param aSimulationState Simulation state
+     */
+    @Override
+    public void setSimulationState(SimulationState aSimulationState) {
+        super.setSimulationState(aSimulationState);
+        this.signalChange();
+    }
+
+    /**
+     * Sets progress in percent and signals change
+     *
+     * @param aProgressInPercent Progress in percent
+     */
+    @Override
+    public void setProgressInPercent(int aProgressInPercent) {
+        super.setProgressInPercent(aProgressInPercent);
+        this.signalChange();
+    }
+
+    /**
+     * Sets remaining time and signals change
+     *
+     * @param aRemainingTime Remaining time
+     */
+    @Override
+    public void setRemainingTime(String aRemainingTime) {
+        super.setRemainingTime(aRemainingTime);
+        this.signalChange();
+    }
+
+    /**
+     * Sets simulation stopped flag and signals change
+     */
+    @Override
+    public void setSimulationStoppedFlag() {
+        super.setSimulationStoppedFlag();
+        this.signalChange();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Signals change and wakes up a waiting consumer
+     */
+    public void signalChange() {
+        synchronized (this.changeLock) {
+            this.isChanged = true;
+            this.changeLock.notifyAll();
+        }
+    }
+
+    /**
+     * Signals stop request and wakes up a waiting consumer immediately. NOTE:
+     * After a stop request the minimum update interval is no longer applied.
+     */
+    public void signalStop() {
+        synchronized (this.changeLock) {
+            this.isStopRequested = true;
+            this.isChanged = true;
+            this.changeLock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits for change. NOTE: Returns not earlier than the minimum update
+     * interval after the last update (unless a change was signaled before)
+     * except for a stop request (see signalStop()).
+     *
+     * @param aMaximumWaitInMilliseconds Maximum waiting time in milliseconds
+     * @return True: Change was signaled, false: Maximum waiting time elapsed
+     * without change
+     * @throws InterruptedException Thrown if waiting thread is interrupted
+     */
+    public boolean awaitChange(long aMaximumWaitInMilliseconds) throws InterruptedException {
+        long tmpEndTime = System.currentTimeMillis() + Math.max(1L, aMaximumWaitInMilliseconds);
+        synchronized (this.changeLock) {
+            // Bounded update rate: Successive changes within the minimum update 
+            // interval are coalesced, only a stop request ends waiting early
+            long tmpRateLimitTime = Math.min(this.lastUpdateTime + this.minimumUpdateIntervalInMilliseconds, tmpEndTime);
+            long tmpCurrentTime = System.currentTimeMillis();
+            while (!this.isStopRequested && tmpCurrentTime < tmpRateLimitTime) {
+                this.changeLock.wait(tmpRateLimitTime - tmpCurrentTime);
+                tmpCurrentTime = System.currentTimeMillis();
+            }
+            while (!this.isChanged && tmpCurrentTime < tmpEndTime) {
+                this.changeLock.wait(tmpEndTime - tmpCurrentTime);
+                tmpCurrentTime = System.currentTimeMillis();
+            }
+            boolean tmpIsChanged = this.isChanged;
+            this.isChanged = false;
+            this.lastUpdateTime = tmpCurrentTime;
+            return tmpIsChanged;
+        }
+    }
+    // </editor-fold>
+
+}
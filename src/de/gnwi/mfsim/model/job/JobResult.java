@@ -29,6 +29,7 @@ import de.gnwi.mfsim.model.valueItem.ValueItem;
 import de.gnwi.mfsim.model.valueItem.ValueItemEnumBasicType;
 import de.gnwi.mfsim.model.valueItem.ValueItemMatrixElement;
 import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.util.DirectoryMoveGuardInterface;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.FileUtilityMethods;
 import de.gnwi.mfsim.model.message.ModelMessage;
@@ -52,7 +53,7 @@ import de.gnwi.mfsim.model.preference.ModelDefinitions;
  *
  * @author Achim Zielesny
  */
-public class JobResult implements Comparable<JobResult> {
+public class JobResult implements Comparable<JobResult>, DirectoryMoveGuardInterface {
 
     // <editor-fold defaultstate="collapsed" desc="Public enums">
     /**
@@ -181,6 +182,11 @@ public class JobResult implements Comparable<JobResult> {
      * Maximum used parallel task number info string
      */
     private String maximumUsedParallelTaskNumberInfoString;
+
+    /**
+     * Progress file pathname to incremental tail reader map
+     */
+    private final HashMap<String, ProgressFileTailReader> progressFileTailReaderMap = new HashMap<>();
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructors">
@@ -248,6 +254,29 @@ public class JobResult implements Comparable<JobResult> {
         }
         // </editor-fold>
     }
+
+    /**
+     * Constructor for job result with known lines of job information file
+     * (e.g. from manifest of JobDirectoryScanner).
+     * NOTE: Result directory is NOT accessed.
+     *
+     * @param aResultPath Full path of result directory
+     * @param anInformationLines Lines of job information file
+     * @throws IllegalArgumentException Exception is thrown if aResultPath is
+     * null/empty or anInformationLines are illegal
+     */
+    public JobResult(String aResultPath, String[] anInformationLines) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aResultPath == null || aResultPath.isEmpty()) {
+            throw new IllegalArgumentException("aResultPath is null/empty");
+        }
+        // </editor-fold>
+        this.initialize();
+        this.jobResultPath = aResultPath;
+        if (!this.setJobResultInformation(anInformationLines)) {
+            throw new IllegalArgumentException("JobResult.Constructor: Illegal job information.");
+        }
+    }
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public methods">
@@ -425,7 +454,7 @@ public class JobResult implements Comparable<JobResult> {
         tmpValueItem.setName("SIMULATION_STEPS");
         tmpValueItem.setDisplayName(ModelMessage.get("JobResults.GeneralInformation.SimulationSteps"));
         tmpValueItem.setDescription(ModelMessage.get("JobResults.GeneralInformation.SimulationSteps.Description"));
-        int tmpMaximumSimulationStep = this.jobUtilityMethods.getMaximumSimulationStep(this.jobResultPath);
+        int tmpMaximumSimulationStep = this.getMaximumSimulationStep();
         if (tmpMaximumSimulationStep < 0) {
             tmpValueItem.setValue(ModelMessage.get("JobResults.NotDefined"));
         } else {
@@ -502,8 +531,8 @@ public class JobResult implements Comparable<JobResult> {
             ValueItemDataTypeFormat tmpDataTypeFormatText = new ValueItemDataTypeFormat(2, false, false);
             // <editor-fold defaultstate="collapsed" desc="-- Temperature progress">
             if ((new File(this.jobUtilityMethods.getJobResultTemperatureProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultTemperatureProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultTemperatureProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("TEMPERATURE_PROGRESS");
@@ -518,7 +547,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // Temperature_in_K
                     // In JobUtilityMethods.getJdpdInputText() the temperature was divided by 298.0 to achieve kT units thus multiply with 298.0 now
                     double tmpFactor = 298.0;
-                    tmpValueItem.setMatrix(this.getMultipliedValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText, tmpFactor, 1, Double.POSITIVE_INFINITY));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, tmpFactor));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -528,8 +557,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- U(kin) progress">
             if ((new File(this.jobUtilityMethods.getJobResultUkinProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultUkinProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultUkinProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("UKIN_PROGRESS");
@@ -542,7 +571,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelMessage.get("JobResults.SimulationResult.Progress.Ukin")});
                     tmpValueItem.setMatrixColumnWidths(new String[]{ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // Ukin
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -552,8 +581,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- U(potDpd) progress">
             if ((new File(this.jobUtilityMethods.getJobResultUpotDpdProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultUpotDpdProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultUpotDpdProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("UPOT_DPD_PROGRESS");
@@ -566,7 +595,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelMessage.get("JobResults.SimulationResult.Progress.Upot")});
                     tmpValueItem.setMatrixColumnWidths(new String[]{ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // UpotDpd
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -576,8 +605,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- U(potTotal) progress">
             if ((new File(this.jobUtilityMethods.getJobResultUpotBondProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultUpotBondProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultUpotBondProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("UPOT_BOND_PROGRESS");
@@ -590,7 +619,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelMessage.get("JobResults.SimulationResult.Progress.Upot")});
                     tmpValueItem.setMatrixColumnWidths(new String[]{ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // UpotBond
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -600,8 +629,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- U(potTotal) progress">
             if ((new File(this.jobUtilityMethods.getJobResultUpotElectrostaticsProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultUpotElectrostaticsProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultUpotElectrostaticsProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("UPOT_ELECTROSTATICS_PROGRESS");
@@ -614,7 +643,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelMessage.get("JobResults.SimulationResult.Progress.Upot")});
                     tmpValueItem.setMatrixColumnWidths(new String[]{ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // UpotElectrostatics
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -624,8 +653,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- U(potTotal) progress">
             if ((new File(this.jobUtilityMethods.getJobResultUpotTotalProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultUpotTotalProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultUpotTotalProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("UPOT_TOTAL_PROGRESS");
@@ -638,7 +667,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelMessage.get("JobResults.SimulationResult.Progress.Upot")});
                     tmpValueItem.setMatrixColumnWidths(new String[]{ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // UpotTotal
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -648,8 +677,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- U(total) progress">
             if ((new File(this.jobUtilityMethods.getJobResultUtotalProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultUtotalProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultUtotalProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("UTOTAL_PROGRESS");
@@ -662,7 +691,7 @@ public class JobResult implements Comparable<JobResult> {
                         ModelMessage.get("JobResults.SimulationResult.Progress.Utotal")});
                     tmpValueItem.setMatrixColumnWidths(new String[]{ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
                         ModelDefinitions.CELL_WIDTH_NUMERIC_100}); // Utotal
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -672,8 +701,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- DPD surface tension along x progress">
             if ((new File(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongXProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongXProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongXProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("DPD_SURFACE_TENSION_X_PROGRESS");
@@ -692,7 +721,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_NUMERIC_120 // DpdSurfaceTensionX
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -702,8 +731,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- DPD surface tension along y progress">
             if ((new File(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongYProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongYProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongYProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("DPD_SURFACE_TENSION_Y_PROGRESS");
@@ -722,7 +751,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_NUMERIC_120 // DpdSurfaceTensionY
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -732,8 +761,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- DPD surface tension along z progress">
             if ((new File(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongZProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongZProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultDpdSurfaceTensionAlongZProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("DPD_SURFACE_TENSION_Z_PROGRESS");
@@ -752,7 +781,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_NUMERIC_120 // DpdSurfaceTensionZ
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -762,8 +791,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- DPD surface tension norm progress">
             if ((new File(this.jobUtilityMethods.getJobResultDpdSurfaceTensionNormProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultDpdSurfaceTensionNormProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultDpdSurfaceTensionNormProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("DPD_SURFACE_TENSION_NORM_PROGRESS");
@@ -782,7 +811,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_TEXT_200 // DpdSurfaceTensionNorm
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -792,8 +821,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- Surface tension along x progress">
             if ((new File(this.jobUtilityMethods.getJobResultSurfaceTensionAlongXProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultSurfaceTensionAlongXProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultSurfaceTensionAlongXProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("SURFACE_TENSION_X_PROGRESS");
@@ -812,7 +841,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_NUMERIC_120 // SurfaceTensionX
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -822,8 +851,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- Surface tension along y progress">
             if ((new File(this.jobUtilityMethods.getJobResultSurfaceTensionAlongYProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultSurfaceTensionAlongYProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultSurfaceTensionAlongYProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("SURFACE_TENSION_Y_PROGRESS");
@@ -842,7 +871,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_NUMERIC_120 // SurfaceTensionY
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -852,8 +881,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- Surface tension along z progress">
             if ((new File(this.jobUtilityMethods.getJobResultSurfaceTensionAlongZProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultSurfaceTensionAlongZProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultSurfaceTensionAlongZProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("SURFACE_TENSION_Z_PROGRESS");
@@ -872,7 +901,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_NUMERIC_120 // SurfaceTensionZ
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -882,8 +911,8 @@ public class JobResult implements Comparable<JobResult> {
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="-- Surface tension norm progress">
             if ((new File(this.jobUtilityMethods.getJobResultSurfaceTensionNormProgressFilePathname(this.jobResultPath))).isFile()) {
-                String[] tmpInfoArray = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.jobUtilityMethods.getJobResultSurfaceTensionNormProgressFilePathname(this.jobResultPath));
-                if (tmpInfoArray[0].equals("Version 1.0.0")) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(this.jobUtilityMethods.getJobResultSurfaceTensionNormProgressFilePathname(this.jobResultPath));
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion())) {
                     // <editor-fold defaultstate="collapsed" desc="Version 1.0.0">
                     tmpValueItem = new ValueItem();
                     tmpValueItem.setName("SURFACE_TENSION_NORM_PROGRESS");
@@ -902,7 +931,7 @@ public class JobResult implements Comparable<JobResult> {
                             ModelDefinitions.CELL_WIDTH_TEXT_200 // SurfaceTensionNorm
                         }
                     );
-                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpInfoArray, tmpDataTypeFormatText));
+                    tmpValueItem.setMatrix(this.getValueItemMatrix(tmpProgressFileTailReader, tmpDataTypeFormatText, 1.0));
                     // IMPORTANT: Set diagram columns
                     tmpValueItem.setMatrixDiagramColumns(0, 1);
                     tmpValueItemContainer.addValueItem(tmpValueItem);
@@ -2062,6 +2091,9 @@ public class JobResult implements Comparable<JobResult> {
         }
         // </editor-fold>
         this.jobResultPath = aResultPath;
+        synchronized (this.progressFileTailReaderMap) {
+            this.progressFileTailReaderMap.clear();
+        }
         // <editor-fold defaultstate="collapsed" desc="Copy job input directory to job result directory and set new this.jobInputPath">
         if (this.hasValidJobInputPath()) {
             String tmpNewJobInputPath = this.jobResultPath + File.separatorChar + (new File(this.jobInputPath)).getName();
@@ -2073,6 +2105,12 @@ public class JobResult implements Comparable<JobResult> {
             }
             // Set new job input path in job result path
             this.jobInputPath = tmpNewJobInputPath;
+        } else if (!this.jobInputPath.isEmpty()) {
+            // Job input directory may have been relocated together with former job result directory
+            String tmpRelocatedJobInputPath = this.jobResultPath + File.separatorChar + (new File(this.jobInputPath)).getName();
+            if ((new File(tmpRelocatedJobInputPath)).isDirectory()) {
+                this.jobInputPath = tmpRelocatedJobInputPath;
+            }
         }
         // </editor-fold>
     }
@@ -2354,16 +2392,19 @@ public class JobResult implements Comparable<JobResult> {
     //
     // <editor-fold defaultstate="collapsed" desc="- PathLocked (get/set)">
     /**
-     * Locks job result path
+     * Locks job result path.
+     * NOTE: Synchronized with the atomic move of the job result path (see
+     * isMoveAllowed()), i.e. the job result path is not moved after this
+     * method returned until it is unlocked.
      */
-    public void lockResultPath() {
+    public synchronized void lockResultPath() {
         this.isResultPathLocked = true;
     }
 
     /**
      * Unlocks job result path
      */
-    public void unlockResultPath() {
+    public synchronized void unlockResultPath() {
         this.isResultPathLocked = false;
     }
     
@@ -2372,9 +2413,21 @@ public class JobResult implements Comparable<JobResult> {
      * 
      * @return True: Job result path is locked, false: Otherwise
      */
-    public boolean isResultPathLocked() {
+    public synchronized boolean isResultPathLocked() {
         return this.isResultPathLocked;
     }
+
+    /**
+     * Returns if job result path may be moved (see
+     * DirectoryMoveGuardInterface)
+     * 
+     * @return True: Job result path is NOT locked and may be moved, false: 
+     * Otherwise
+     */
+    @Override
+    public synchronized boolean isMoveAllowed() {
+        return !this.isResultPathLocked;
+    }
     // </editor-fold>
     // </editor-fold>
     // </editor-fold>
@@ -2406,14 +2459,68 @@ public class JobResult implements Comparable<JobResult> {
     }
 
     /**
-     * Returns specific value item matrix, see code.
+     * Returns the maximum simulation step from U(total) progress file
      *
-     * @param anInfoArray Info string array
-     * @param aDataTypeFormatText Value item data type format
-     * @return Specific value item matrix, see code.
+     * @return Maximum simulation step from U(total) progress file or -1 if 
+     * value can not be evaluated
      */
-    private ValueItemMatrixElement[][] getValueItemMatrix(String[] anInfoArray, ValueItemDataTypeFormat aDataTypeFormatText) {
-        return getValueItemMatrix(anInfoArray, aDataTypeFormatText, 1, Double.POSITIVE_INFINITY);
+    private int getMaximumSimulationStep() {
+        try {
+            String tmpUtotalProgressFilePathname = this.jobUtilityMethods.getJobResultUtotalProgressFilePathname(this.jobResultPath);
+            if ((new File(tmpUtotalProgressFilePathname)).isFile()) {
+                ProgressFileTailReader tmpProgressFileTailReader = this.getUpdatedProgressFileTailReader(tmpUtotalProgressFilePathname);
+                if ("Version 1.0.0".equals(tmpProgressFileTailReader.getVersion()) && tmpProgressFileTailReader.getNumberOfPairs() > 0) {
+                    double[] tmpSteps = tmpProgressFileTailReader.getXValues();
+                    return (int) tmpSteps[tmpSteps.length - 1];
+                }
+            }
+            return -1;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return -1;
+        }
+    }
+
+    /**
+     * Returns incremental tail reader for progress file that is updated with
+     * newly appended lines of progress file
+     *
+     * @param aProgressFilePathname Pathname of progress file
+     * @return Updated incremental tail reader for progress file
+     */
+    private ProgressFileTailReader getUpdatedProgressFileTailReader(String aProgressFilePathname) {
+        ProgressFileTailReader tmpProgressFileTailReader;
+        synchronized (this.progressFileTailReaderMap) {
+            tmpProgressFileTailReader = this.progressFileTailReaderMap.get(aProgressFilePathname);
+            if (tmpProgressFileTailReader == null) {
+                tmpProgressFileTailReader = new ProgressFileTailReader(aProgressFilePathname);
+                this.progressFileTailReaderMap.put(aProgressFilePathname, tmpProgressFileTailReader);
+            }
+        }
+        tmpProgressFileTailReader.update();
+        return tmpProgressFileTailReader;
+    }
+
+    /**
+     * Returns value item matrix with xy-pairs of progress file tail reader
+     * where y-values are multiplied by factor
+     *
+     * @param aProgressFileTailReader Progress file tail reader
+     * @param aDataTypeFormatText Value item data type format
+     * @param aFactor Factor for multiplication of y-values
+     * @return Value item matrix with xy-pairs
+     */
+    private ValueItemMatrixElement[][] getValueItemMatrix(ProgressFileTailReader aProgressFileTailReader, ValueItemDataTypeFormat aDataTypeFormatText, double aFactor) {
+        double[] tmpXValues = aProgressFileTailReader.getXValues();
+        double[] tmpYValues = aProgressFileTailReader.getYValues();
+        ValueItemMatrixElement[][] tmpMatrix = new ValueItemMatrixElement[tmpXValues.length][];
+        for (int i = 0; i < tmpXValues.length; i++) {
+            ValueItemMatrixElement[] tmpRow = new ValueItemMatrixElement[2];
+            tmpRow[0] = new ValueItemMatrixElement(String.valueOf(tmpXValues[i]), aDataTypeFormatText);
+            tmpRow[1] = new ValueItemMatrixElement(String.valueOf(tmpYValues[i] * aFactor), aDataTypeFormatText);
+            tmpMatrix[i] = tmpRow;
+        }
+        return tmpMatrix;
     }
 
     /**
@@ -2485,49 +2592,6 @@ public class JobResult implements Comparable<JobResult> {
         return tmpMatrix;
     }
 
-    /**
-     * Returns specific multiplied value item matrix, see code.
-     *
-     * @param anInfoArray Info string array
-     * @param aDataTypeFormatText Value item data type format
-     * @param aFactor Factor for multiplication
-     * @param anOffset Offset for number of lines to skip
-     * @param aXValueCutoff If x-value in anInfoArray is greater than
-     * aXValueCutoff all further values are excluded (if
-     * Double.POSITIVE_INFINITY all data are included).
-     * @return Specific value item matrix, see code.
-     */
-    private ValueItemMatrixElement[][] getMultipliedValueItemMatrix(String[] anInfoArray, ValueItemDataTypeFormat aDataTypeFormatText, double aFactor, int anOffset, double aXValueCutoff) {
-        // <editor-fold defaultstate="collapsed" desc="Set number of data pairs">
-        int tmpNumberOfDataPairs = (anInfoArray.length - anOffset) / 2;
-        int tmpNumberOfDataPairsWithCutoff = 0;
-        if (aXValueCutoff == Double.POSITIVE_INFINITY) {
-            tmpNumberOfDataPairsWithCutoff = tmpNumberOfDataPairs;
-        } else {
-            int tmpIndex = anOffset;
-            for (int i = 0; i < tmpNumberOfDataPairs; i++) {
-                double tmpXValue = Double.valueOf(anInfoArray[tmpIndex]);
-                if (tmpXValue <= aXValueCutoff) {
-                    tmpNumberOfDataPairsWithCutoff++;
-                    tmpIndex += 2;
-                } else {
-                    break;
-                }
-            }
-        }
-        // </editor-fold>
-        ValueItemMatrixElement[][] tmpMatrix = new ValueItemMatrixElement[tmpNumberOfDataPairsWithCutoff][];
-        int tmpIndex = anOffset;
-        for (int i = 0; i < tmpNumberOfDataPairsWithCutoff; i++) {
-            ValueItemMatrixElement[] tmpRow = new ValueItemMatrixElement[2];
-            tmpRow[0] = new ValueItemMatrixElement(anInfoArray[tmpIndex++], aDataTypeFormatText);
-            double tmpMultipliedValue = Double.valueOf(anInfoArray[tmpIndex++]) * aFactor;
-            tmpRow[1] = new ValueItemMatrixElement(String.valueOf(tmpMultipliedValue), aDataTypeFormatText);
-            tmpMatrix[i] = tmpRow;
-        }
-        return tmpMatrix;
-    }
-    
     /**
      * Returns specific averaged value item matrix, see code.
      *
@@ -2611,8 +2675,17 @@ public class JobResult implements Comparable<JobResult> {
         }
 
         // </editor-fold>
+        return this.setJobResultInformation(this.fileUtilityMethods.readDefinedStringArrayFromFile(tmpJobInformationPathname));
+    }
+
+    /**
+     * Sets job information from lines of job information file (see code)
+     *
+     * @param infos Lines of job information file (may be null)
+     * @return true: Operation was successful, false: Otherwise
+     */
+    private boolean setJobResultInformation(String[] infos) {
         try {
-            String[] infos = this.fileUtilityMethods.readDefinedStringArrayFromFile(tmpJobInformationPathname);
             if (infos == null || infos.length == 0) {
                 return false;
             }
@@ -2719,6 +2792,22 @@ public class JobResult implements Comparable<JobResult> {
         int aVerticalPosition,
         ValueItemContainer aValueItemContainer
     ) {
+        // Binary store that was written during post-processing is preferred
+        if (NearestNeighborFrequencyStore.hasUpToDateStore(aBaseToNearestNeighborStepFrequencyMapFilePathname)) {
+            try {
+                return this.setNearestNeighborValueItems(
+                    new NearestNeighborFrequencyStore(NearestNeighborFrequencyStore.getStoreFilePathname(aBaseToNearestNeighborStepFrequencyMapFilePathname)),
+                    aNodeNames,
+                    aValueItemDisplayNameFormat,
+                    aValueItemDescriptionFormat,
+                    aVerticalPosition,
+                    aValueItemContainer
+                );
+            } catch (Exception anException) {
+                // Fall back to text file
+                ModelUtils.appendToLogfile(true, anException);
+            }
+        }
         BufferedReader tmpBufferedReader = null;
         try {
             FileReader tmpFileReader = new FileReader(aBaseToNearestNeighborStepFrequencyMapFilePathname);
@@ -2796,6 +2885,85 @@ public class JobResult implements Comparable<JobResult> {
         }
     }
     
+    /**
+     * Sets nearest-neighbbor value items (see code) with data of binary store
+     * NOTE: NO checks are performed.
+     * 
+     * @param aNearestNeighborFrequencyStore Binary store of base to 
+     * nearest-neighbor step-frequency map
+     * @param aNodeNames Node names
+     * @param aValueItemDisplayNameFormat Value item display name format
+     * @param aValueItemDescriptionFormat Value item description format
+     * @param aVerticalPosition Current vertical position
+     * @param aValueItemContainer Value item container
+     * @return (Possibly) Incremented vertical position
+     * @throws IOException Thrown if binary store can not be read
+     */
+    private int setNearestNeighborValueItems(
+        NearestNeighborFrequencyStore aNearestNeighborFrequencyStore,
+        String[] aNodeNames,
+        String aValueItemDisplayNameFormat,
+        String aValueItemDescriptionFormat,
+        int aVerticalPosition,
+        ValueItemContainer aValueItemContainer
+    ) throws IOException {
+        if (!aNearestNeighborFrequencyStore.getVersion().equals(Strings.VERSION_1_0_0)) {
+            return aVerticalPosition;
+        }
+        // Time x pair count matrix is read in bulk
+        int[] tmpSteps = aNearestNeighborFrequencyStore.getSteps();
+        int[][] tmpCountMatrix = aNearestNeighborFrequencyStore.getCountMatrix(0, tmpSteps.length);
+        // NOTE: "0" = NO decimals
+        ValueItemDataTypeFormat tmpDataTypeFormatText = new ValueItemDataTypeFormat(0, false, false);
+        int tmpPairIndex = 0;
+        for (int tmpBaseIndex = 0; tmpBaseIndex < aNearestNeighborFrequencyStore.getNumberOfBases(); tmpBaseIndex++) {
+            String tmpBase = aNearestNeighborFrequencyStore.getBase(tmpBaseIndex);
+            String[] tmpCurrentNodeNames = this.stringUtilityMethods.getConcatenatedStringArrays(aNodeNames, new String[]{ tmpBase });
+            for (int i = 0; i < aNearestNeighborFrequencyStore.getNumberOfPairsOfBase(tmpBaseIndex); i++) {
+                String tmpNearestNeighbor = aNearestNeighborFrequencyStore.getPairNeighbor(tmpPairIndex);
+                int tmpNumberOfRows = 0;
+                for (int[] tmpCounts : tmpCountMatrix) {
+                    if (tmpCounts[tmpPairIndex] != NearestNeighborFrequencyStore.UNDEFINED_COUNT) {
+                        tmpNumberOfRows++;
+                    }
+                }
+                ValueItemMatrixElement[][] tmpMatrix = new ValueItemMatrixElement[tmpNumberOfRows][];
+                int tmpRowIndex = 0;
+                for (int k = 0; k < tmpSteps.length; k++) {
+                    if (tmpCountMatrix[k][tmpPairIndex] != NearestNeighborFrequencyStore.UNDEFINED_COUNT) {
+                        tmpMatrix[tmpRowIndex++] = new ValueItemMatrixElement[] {
+                            new ValueItemMatrixElement(String.valueOf(tmpSteps[k]), tmpDataTypeFormatText),
+                            new ValueItemMatrixElement(String.valueOf(tmpCountMatrix[k][tmpPairIndex]), tmpDataTypeFormatText)
+                        };
+                    }
+                }
+                ValueItem tmpValueItem = new ValueItem();
+                tmpValueItem.setName("NEAREST_NEIGHBOR_" + tmpBase + "_" + tmpNearestNeighbor + "_" + String.valueOf(aVerticalPosition));
+                tmpValueItem.setDisplayName(String.format(aValueItemDisplayNameFormat, tmpBase, tmpNearestNeighbor));
+                tmpValueItem.setDescription(String.format(aValueItemDescriptionFormat, tmpBase, tmpNearestNeighbor));
+                tmpValueItem.setBasicType(ValueItemEnumBasicType.MATRIX);
+                tmpValueItem.setNodeNames(tmpCurrentNodeNames);
+                tmpValueItem.setVerticalPosition(aVerticalPosition++);
+                tmpValueItem.setMatrixColumnNames(new String[] { 
+                        ModelMessage.get("JobResults.SimulationResult.Progress.Step"),
+                        ModelMessage.get("JobResults.SimulationResult.Progress.Frequency")
+                    }
+                );
+                tmpValueItem.setMatrixColumnWidths(new String[] { 
+                        ModelDefinitions.CELL_WIDTH_NUMERIC_80, // Step
+                        ModelDefinitions.CELL_WIDTH_NUMERIC_100 // Frequency
+                    }
+                );
+                tmpValueItem.setMatrix(tmpMatrix);
+                // IMPORTANT: Set diagram columns
+                tmpValueItem.setMatrixDiagramColumns(0, 1);
+                aValueItemContainer.addValueItem(tmpValueItem);
+                tmpPairIndex++;
+            }
+        }
+        return aVerticalPosition;
+    }
+    
     /**
      * Sets particle distribution value item
      * 
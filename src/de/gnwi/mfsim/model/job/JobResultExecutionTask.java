@@ -26,21 +26,27 @@ import de.gnwi.jdpd.parameters.ParallelizationInfo;
 import de.gnwi.jdpd.parameters.RestartInfo;
 import de.gnwi.jdpd.samples.FileInput;
 import de.gnwi.jdpd.samples.FileOutput;
-import de.gnwi.jdpd.samples.ProgressMonitor;
 import de.gnwi.jdpd.samples.logger.FileLogger;
 import de.gnwi.jdpd.utilities.FileOutputStrings;
 import de.gnwi.jdpd.utilities.Strings;
+import de.gnwi.mfsim.model.metrics.MetricsName;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
 import de.gnwi.mfsim.model.util.DirectoryInformation;
+import de.gnwi.mfsim.model.util.DirectoryRelocationModeEnum;
+import de.gnwi.mfsim.model.util.DirectoryRelocator;
 import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.valueItem.ValueItem;
+import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.*;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
 /**
@@ -49,13 +55,20 @@ import de.gnwi.mfsim.model.preference.ModelDefinitions;
  * @author Achim Zielesny
  *
  */
-public class JobResultExecutionTask implements Callable<Boolean> {
+public class JobResultExecutionTask implements SchedulableJobInterface, PropertyChangeListener {
 
     // <editor-fold defaultstate="collapsed" desc="Private final class variables">
     /**
-     * Job utility methods
+     * Metrics registry of job (merged into global registry when job has
+     * finished)
      */
-    private final JobUtilityMethods jobUtilityMethods = new JobUtilityMethods();
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * Job utility methods (record post-processing metrics with
+     * this.metricsRegistry)
+     */
+    private final JobUtilityMethods jobUtilityMethods;
 
     /**
      * Utility for files
@@ -77,7 +90,13 @@ public class JobResultExecutionTask implements Callable<Boolean> {
     /**
      * True: Task is submitted to executor service, false: Otherwise
      */
-    private boolean isSubmittedToExecutorService;
+    private volatile boolean isSubmittedToExecutorService;
+
+    /**
+     * Number of processor cores granted by job scheduler (0: Not granted,
+     * number of parallel calculators of Preferences is used)
+     */
+    private volatile int grantedNumberOfCores;
 
     /**
      * True: Task was stopped, false: Otherwise
@@ -112,7 +131,7 @@ public class JobResultExecutionTask implements Callable<Boolean> {
     /**
      * Progress monitor
      */
-    private ProgressMonitor progressMonitor;
+    private volatile JobProgressMonitor progressMonitor;
     
     /**
      * Executor service
@@ -128,6 +147,11 @@ public class JobResultExecutionTask implements Callable<Boolean> {
      * Progress value
      */
     private int progressValue;
+
+    /**
+     * Start time of Jdpd simulation run for this.metricsRegistry
+     */
+    private long jdpdRunStartTime;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -144,8 +168,11 @@ public class JobResultExecutionTask implements Callable<Boolean> {
         }
         // </editor-fold>
         this.jobResult = aJobResult;
+        this.metricsRegistry = new MetricsRegistry(Preferences.getInstance().isMetricsCollection());
+        this.jobUtilityMethods = new JobUtilityMethods(this.metricsRegistry);
         this.isStarted = false;
         this.isSubmittedToExecutorService = false;
+        this.grantedNumberOfCores = 0;
         this.isStopped = false;
         this.isFinished = false;
         this.dpdSimulationTask = null;
@@ -199,15 +226,73 @@ public class JobResultExecutionTask implements Callable<Boolean> {
     /**
      * Sets information that task is submitted to executor service
      */
+    @Override
     public void setSubmittedToExecutorService() {
         this.isSubmittedToExecutorService = true;
     }
+
+    /**
+     * Returns number of processor cores the job requests while running, i.e.
+     * the number of parallel calculators of the Jdpd simulation
+     *
+     * @return Number of requested processor cores
+     */
+    @Override
+    public int getRequestedNumberOfCores() {
+        return Math.max(1, Preferences.getInstance().getNumberOfParallelCalculators());
+    }
+
+    /**
+     * Sets number of processor cores that are reserved for the job: The
+     * number of parallel calculators of the Jdpd simulation is limited
+     * accordingly
+     *
+     * @param aNumberOfCores Number of granted processor cores (values less
+     * than 1 are set to 1)
+     */
+    @Override
+    public void setGrantedNumberOfCores(int aNumberOfCores) {
+        this.grantedNumberOfCores = Math.max(1, aNumberOfCores);
+    }
+
+    /**
+     * Number of processor cores granted by job scheduler
+     *
+     * @return Number of granted processor cores (0: Not granted)
+     */
+    public int getGrantedNumberOfCores() {
+        return this.grantedNumberOfCores;
+    }
+
+    /**
+     * Returns descriptor of job for persistence of the job queue: Job input
+     * path and description. NOTE: Restarts are not persisted since a
+     * (possibly) changed Jdpd input text of the restart is not part of the
+     * job result directory.
+     *
+     * @return Descriptor of job or null if job can not be persisted
+     */
+    @Override
+    public String[] getQueueDescriptor() {
+        if (this.jobResult.isToBeRestarted() || !this.jobResult.hasValidJobInputPath()) {
+            return null;
+        }
+        return new String[] {
+            this.jobResult.getJobInput().getJobInputPath(),
+            this.jobResult.getDescription().replaceAll("[\\t\\r\\n]", " ")
+        };
+    }
     
     /**
      * Stops execution of task
      */
     public void stop() {
         this.isStopped = true;
+        // Wake up waiting task immediately
+        JobProgressMonitor tmpProgressMonitor = this.progressMonitor;
+        if (tmpProgressMonitor != null) {
+            tmpProgressMonitor.signalStop();
+        }
     }
     // </editor-fold>
     //
@@ -250,6 +335,36 @@ public class JobResultExecutionTask implements Callable<Boolean> {
     public String getPathOfCurrentProcessDirectory() {
         return this.pathOfCurrentProcessDirectory;
     }
+
+    /**
+     * Progress of Jdpd simulation in percent
+     *
+     * @return Progress of Jdpd simulation in percent or -1 if there is no
+     * Jdpd simulation
+     */
+    public int getSimulationProgressInPercent() {
+        JobProgressMonitor tmpProgressMonitor = this.progressMonitor;
+        if (tmpProgressMonitor == null) {
+            return -1;
+        } else {
+            return tmpProgressMonitor.getProgressInPercent();
+        }
+    }
+
+    /**
+     * Remaining time of Jdpd simulation
+     *
+     * @return Remaining time of Jdpd simulation or null if there is no Jdpd
+     * simulation
+     */
+    public String getSimulationRemainingTime() {
+        JobProgressMonitor tmpProgressMonitor = this.progressMonitor;
+        if (tmpProgressMonitor == null) {
+            return null;
+        } else {
+            return tmpProgressMonitor.getRemainingTime();
+        }
+    }
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public (overriden) methods">
@@ -295,13 +410,13 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                 // Fire property change to notify property change listeners about "Job is alive" information
                 this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_JOB_IS_ALIVE, false, true);
                 // </editor-fold>
-                // <editor-fold defaultstate="collapsed" desc="Perform delay">
+                // <editor-fold defaultstate="collapsed" desc="Wait for progress, completion or stop request">
                 try {
-                    Thread.sleep(Preferences.getInstance().getTimerIntervalInMilliseconds());
+                    this.progressMonitor.awaitChange(ModelDefinitions.JOB_PROGRESS_KEEP_ALIVE_INTERVAL_IN_MILLISECONDS);
                 } catch (InterruptedException anException) {
                     // Do NOT append exception to logfile with
                     // Utility.appendToLogfile(true, anException);
-                    // since only Thread.sleep was interrupted.
+                    // since only waiting was interrupted.
                     if (!this.stopJobInSimulation()) {
                         // Fire property change to notify property change listeners about cancellation due to internal error
                         this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
@@ -352,6 +467,20 @@ public class JobResultExecutionTask implements Callable<Boolean> {
         }
     }
 
+    /**
+     * PropertyChangeListener property change: Throughput of relocation of
+     * job directory to result path is forwarded (progress is NOT forwarded
+     * since progress of this task is reserved for job execution)
+     *
+     * @param anEvent PropertyChangeEvent
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent anEvent) {
+        if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT)) {
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT, anEvent.getOldValue(), anEvent.getNewValue());
+        }
+    }
+
     /**
      * Finalize method to end all memory claims and running threads. The method
      * will called when the object is destroyed.
@@ -515,6 +644,7 @@ public class JobResultExecutionTask implements Callable<Boolean> {
             this.fileUtilityMethods.deleteMultipleFiles(this.jobUtilityMethods.getJobResultMoleculeParticlePairDistanceFilePathnames(this.jobResult.getJobResultPath()));
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="9. Write or replace Jdpd input file "Input.txt" and start-geometry files">
+            long tmpInputWritingStartTime = this.metricsRegistry.startTimer();
             try {
                 if (!this.jobResult.isRestarted()) {
                     // <editor-fold defaultstate="collapsed" desc="Job is NOT to be restarted">
@@ -540,6 +670,7 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                 this.deleteCurrentProcessDirectory();
                 return false;
             }
+            this.metricsRegistry.stopTimer(MetricsName.JOB_INPUT_WRITING, tmpInputWritingStartTime);
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="10. Append job input to history">
             this.jobResult.appendJobInputToHistory();
@@ -551,8 +682,8 @@ public class JobResultExecutionTask implements Callable<Boolean> {
             try {
                 // Executor service
                 this.executorService = Executors.newSingleThreadExecutor();
-                // Progress monitor
-                this.progressMonitor = new ProgressMonitor();
+                // Progress monitor: Jdpd progress callbacks are pushed to this task
+                this.progressMonitor = new JobProgressMonitor(ModelDefinitions.MINIMUM_JOB_PROGRESS_UPDATE_INTERVAL_IN_MILLISECONDS);
                 // File logger
                 String tmpJdpdLogFilePathname = this.getJdpdLogFilePathname(this.jobResult.getJobResultPath());
                 int[] tmpLogLevels;
@@ -588,17 +719,35 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                 if (Preferences.getInstance().getNumberOfAfterDecimalDigitsForParticlePositions() < ModelDefinitions.MAXIMUM_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS) {
                     tmpNumberOfAfterDecimalDigitsForParticlePositions = Preferences.getInstance().getNumberOfAfterDecimalDigitsForParticlePositions();
                 }
-                FileOutput tmpFileOutput = 
-                    new FileOutput(
-                        tmpOutputDirectoryPath,
-                        tmpPropertiesDirectoryPath,
-                        tmpRadiusOfGyrationDirectoryPath,
-                        tmpNearestNeighborDirectoryPath,
-                        tmpSimulationStepParticlePositionsDirectoryPath,
-                        tmpMinimizationStepParticlePositionsDirectoryPath,
-                        tmpFileOutputParallelTaskNumber,
-                        tmpNumberOfAfterDecimalDigitsForParticlePositions
-                    );
+                FileOutput tmpFileOutput;
+                // Step output policy: Simulation steps may be decimated or written with reduced precision
+                StepOutputPolicy tmpStepOutputPolicy = this.getStepOutputPolicy(tmpNumberOfAfterDecimalDigitsForParticlePositions);
+                if (tmpStepOutputPolicy != null) {
+                    tmpFileOutput = 
+                        new StepOutputPolicyFileOutput(
+                            tmpOutputDirectoryPath,
+                            tmpPropertiesDirectoryPath,
+                            tmpRadiusOfGyrationDirectoryPath,
+                            tmpNearestNeighborDirectoryPath,
+                            tmpSimulationStepParticlePositionsDirectoryPath,
+                            tmpMinimizationStepParticlePositionsDirectoryPath,
+                            tmpFileOutputParallelTaskNumber,
+                            tmpStepOutputPolicy,
+                            this.fileUtilityMethods.getUniqueTemporaryDirectoryPath()
+                        );
+                } else {
+                    tmpFileOutput = 
+                        new FileOutput(
+                            tmpOutputDirectoryPath,
+                            tmpPropertiesDirectoryPath,
+                            tmpRadiusOfGyrationDirectoryPath,
+                            tmpNearestNeighborDirectoryPath,
+                            tmpSimulationStepParticlePositionsDirectoryPath,
+                            tmpMinimizationStepParticlePositionsDirectoryPath,
+                            tmpFileOutputParallelTaskNumber,
+                            tmpNumberOfAfterDecimalDigitsForParticlePositions
+                        );
+                }
                 // IMPORTANT: Set tmpFileOutput to this.jobResult
                 this.jobResult.setJdpdFileOutput(tmpFileOutput);
                 // DpdSimulationTask
@@ -611,6 +760,10 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                 int tmpMinimumParallelTaskCellNumber = Preferences.getInstance().getNumberOfSimulationBoxCellsforParallelization();
                 int tmpMinimumParallelTaskHarmonicBondNumber = Preferences.getInstance().getNumberOfBondsforParallelization();
                 int tmpJdpdSimulatorParallelTaskNumber = Preferences.getInstance().getNumberOfParallelCalculators();
+                if (this.grantedNumberOfCores > 0) {
+                    // IMPORTANT: Do not use more cores than granted by job scheduler
+                    tmpJdpdSimulatorParallelTaskNumber = Math.min(tmpJdpdSimulatorParallelTaskNumber, this.grantedNumberOfCores);
+                }
                 this.parallelizationInfo = 
                     new ParallelizationInfo(
                         tmpMinimumParallelTaskCellNumber, 
@@ -626,7 +779,17 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                         tmpFileLogger, 
                         this.parallelizationInfo
                     );
-                this.jdpdSimulatorFuture = this.executorService.submit(this.dpdSimulationTask);
+                // Completion of Jdpd simulation is signaled through future
+                final JobProgressMonitor tmpProgressMonitor = this.progressMonitor;
+                FutureTask<Boolean> tmpJdpdSimulatorFutureTask = new FutureTask<Boolean>(this.dpdSimulationTask) {
+                    @Override
+                    protected void done() {
+                        tmpProgressMonitor.signalChange();
+                    }
+                };
+                this.jdpdSimulatorFuture = tmpJdpdSimulatorFutureTask;
+                this.jdpdRunStartTime = this.metricsRegistry.startTimer();
+                this.executorService.execute(tmpJdpdSimulatorFutureTask);
             } catch (Exception anException) {
                 ModelUtils.appendToLogfile(true, "JobResultExecutionTask.startJob(): '13. Start job' throws exception.");
                 ModelUtils.appendToLogfile(true, anException);
@@ -651,10 +814,12 @@ public class JobResultExecutionTask implements Callable<Boolean> {
      */
     private JobResultProcessingStatusEnum checkJobInSimulation() {
         try {
-            if (this.progressMonitor.hasFinished()) {
+            // NOTE: A completed future without finished progress monitor means that Jdpd terminated abnormally
+            if (this.progressMonitor.hasFinished() || this.jdpdSimulatorFuture.isDone()) {
                 try {
                     // <editor-fold defaultstate="collapsed" desc="1. Remove Jdpd file output and set Job Result alive information to finishing">
                     this.jobResult.removeJdpdFileOutput();
+                    this.metricsRegistry.stopTimer(MetricsName.JOB_JDPD_RUN, this.jdpdRunStartTime);
                     this.jobResult.setAliveInformationFinishing();
                     // Fire property change to notify property change listeners about "Job is alive" information
                     this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_JOB_IS_ALIVE, false, true);
@@ -670,6 +835,7 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                     }
                     // </editor-fold>
                     // <editor-fold defaultstate="collapsed" desc="3. Create RDF">
+                    long tmpRdfCalculationStartTime = this.metricsRegistry.startTimer();
                     // Delete possible existing RDF directories
                     if (!this.fileUtilityMethods.deleteDirectory(this.jobUtilityMethods.getJobResultParticlePairRdfPath(this.jobResult.getJobResultPath()))) {
                         return JobResultProcessingStatusEnum.JOB_FINISHED_WITH_FAILURE;
@@ -692,8 +858,10 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                                 this.jobResult.getJobInput().getValueItemContainer(),
                                 this.jobResult.getJobResultPath());
                     }
+                    this.metricsRegistry.stopTimer(MetricsName.JOB_RDF_CALCULATION, tmpRdfCalculationStartTime);
                     // </editor-fold>
                     // <editor-fold defaultstate="collapsed" desc="4. Create particle-particle distances">
+                    long tmpDistanceCalculationStartTime = this.metricsRegistry.startTimer();
                     if (this.jobUtilityMethods.isParticlePairDistanceCalculation(this.jobResult.getJobInput().getValueItemContainer())) {
                         // Create particle-pair distance directory
                         ModelUtils.createDirectory(this.jobUtilityMethods.getJobResultParticlePairDistancePath(this.jobResult.getJobResultPath()));
@@ -704,6 +872,15 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                         ModelUtils.createDirectory(this.jobUtilityMethods.getJobResultMoleculeParticlePairDistancePath(this.jobResult.getJobResultPath()));
                         this.jobUtilityMethods.createDefinedMoleculeParticlePairAverageDistanceFiles(this.jobResult.getJobResultPath(), this.jobResult.getJobInput().getValueItemContainer());
                     }
+                    this.metricsRegistry.stopTimer(MetricsName.JOB_DISTANCE_CALCULATION, tmpDistanceCalculationStartTime);
+                    // </editor-fold>
+                    // <editor-fold defaultstate="collapsed" desc="4b. Create nearest-neighbor binary stores">
+                    if ((new File(this.jobUtilityMethods.getJobResultNearestNeighborPath(this.jobResult.getJobResultPath()))).isDirectory()) {
+                        long tmpNearestNeighborStoreCreationStartTime = this.metricsRegistry.startTimer();
+                        // NOTE: Text files remain the reference: Failure is NOT critical
+                        this.jobUtilityMethods.createNearestNeighborFrequencyStores(this.jobResult.getJobResultPath());
+                        this.metricsRegistry.stopTimer(MetricsName.JOB_NEAREST_NEIGHBOR_STORE_CREATION, tmpNearestNeighborStoreCreationStartTime);
+                    }
                     // </editor-fold>
                     // <editor-fold defaultstate="collapsed" desc="5. Move Job directory to result path">
                     this.moveJobDirectoryToResultPath(tmpJobProcessingResult);
@@ -828,16 +1005,29 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                     ModelDefinitions.PREFIX_OF_JOB_RESULT_DIRECTORY
                 );
             // IMPORTANT: 
-            // COPY temporary process directory (do NOT remove since it may 
-            // still be used by Progress dialog)
-            // Temporary process directory is ALSO IMPORTANT for CORRECT setting 
-            // of job input path in this.jobResult.setJobResultPath() below.
-            if (!this.fileUtilityMethods.copyIntoDirectory(this.getPathOfCurrentProcessDirectory(), tmpNewResultDirectoryInformation.getDirectoryPath())) {
-                ModelUtils.appendToLogfile(true, "JobResultExecutionTask.moveJobDirectoryToResultPath: this.fileUtilityMethods.copyIntoDirectory() could not be performed. This should never happen.");
+            // Temporary process directory is only moved if it is NOT locked 
+            // (i.e. NOT used by Progress dialog), otherwise it is hard linked 
+            // or copied. The lock is checked by this.jobResult as move guard 
+            // under the same monitor as the move. Job input path is set 
+            // accordingly in this.jobResult.setJobResultPath() below.
+            DirectoryRelocator tmpDirectoryRelocator = new DirectoryRelocator(Math.min(Runtime.getRuntime().availableProcessors(), ModelDefinitions.MAXIMUM_NUMBER_OF_PARALLEL_FILE_COPIERS));
+            tmpDirectoryRelocator.addPropertyChangeListener(this);
+            long tmpDirectoryRelocationStartTime = this.metricsRegistry.startTimer();
+            DirectoryRelocationModeEnum tmpRelocationMode = 
+                tmpDirectoryRelocator.relocate(
+                    this.getPathOfCurrentProcessDirectory(), 
+                    tmpNewResultDirectoryInformation.getDirectoryPath(), 
+                    this.jobResult
+                );
+            tmpDirectoryRelocator.removePropertyChangeListener(this);
+            this.metricsRegistry.stopTimer(MetricsName.JOB_DIRECTORY_RELOCATION, tmpDirectoryRelocationStartTime);
+            if (tmpRelocationMode == null) {
+                ModelUtils.appendToLogfile(true, "JobResultExecutionTask.moveJobDirectoryToResultPath: tmpDirectoryRelocator.relocate() could not be performed. This should never happen.");
                 return false;
             }
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="3. Set new job result path and information">
+            long tmpResultInformationWritingStartTime = this.metricsRegistry.startTimer();
             this.jobResult.setJobProcessingResult(aJobProcessingResult);
             this.jobResult.setTimestampExecutionEnd(tmpNewResultDirectoryInformation.getTimestamp());
             this.jobResult.setJobResultPath(tmpNewResultDirectoryInformation.getDirectoryPath());
@@ -848,10 +1038,14 @@ public class JobResultExecutionTask implements Callable<Boolean> {
                 this.parallelizationInfo.getMinimumParallelTaskHarmonicBondNumber()
             );
             this.jobResult.writeJobResultInformation();
+            this.metricsRegistry.stopTimer(MetricsName.JOB_RESULT_INFORMATION_WRITING, tmpResultInformationWritingStartTime);
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="3a. Write metrics">
+            this.writeMetrics();
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="4. Delete path of current process directory if possible (MUST be LAST operation)">
-            if (!this.jobResult.isResultPathLocked()) {
-                // No lock (i.e. use by Progress dialog): Delete temporary process directory
+            if (!this.jobResult.isResultPathLocked() && (new File(this.getPathOfCurrentProcessDirectory())).isDirectory()) {
+                // No lock (i.e. use by Progress dialog) and not moved: Delete temporary process directory
                 if (!this.fileUtilityMethods.deleteDirectory(this.getPathOfCurrentProcessDirectory())) {
                     // Temporary process directory could not be deleted so try to rename with prefix "REMOVED_"
                     if (!this.fileUtilityMethods.renameDirectory(this.getPathOfCurrentProcessDirectory(), 
@@ -871,6 +1065,22 @@ public class JobResultExecutionTask implements Callable<Boolean> {
         }
     }
     // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- Metrics related methods">
+    /**
+     * Writes metrics of job to Job Result directory and merges them into
+     * global metrics registry (which is written to metrics file of MFsim
+     * session). NOTE: Nothing happens if metrics are not collected.
+     */
+    private void writeMetrics() {
+        if (!this.metricsRegistry.isEnabled()) {
+            return;
+        }
+        this.metricsRegistry.incrementCounter(MetricsName.JOBS_FINISHED);
+        this.metricsRegistry.writePrometheusTextFile(this.jobResult.getJobResultPath() + File.separatorChar + ModelDefinitions.JOB_RESULT_METRICS_FILE_NAME);
+        MetricsRegistry.getInstance().merge(this.metricsRegistry);
+        MetricsRegistry.getInstance().writeMetricsFile();
+    }
+    // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- Jdpd file names related methods">
     /**
      * Returns Jdpd input path 
@@ -969,6 +1179,58 @@ public class JobResultExecutionTask implements Callable<Boolean> {
         return aPath + File.separatorChar + FileOutputStrings.RESTART_INFO_FILENAME_PREFIX + tmpFileEnding;
     }
     // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- Step output policy">
+    /**
+     * Returns step output policy according to preferences. NOTE: The last
+     * simulation steps that are used for RDF calculation are always written
+     * with full precision.
+     *
+     * @param aNumberOfAfterDecimalDigitsForParticlePositions Full number of
+     * after-decimal-separator digits for particle positions (-1: Unrestricted)
+     * @return Step output policy or null if policy does not change output or
+     * is not applicable (e.g. for restarted job)
+     */
+    private StepOutputPolicy getStepOutputPolicy(int aNumberOfAfterDecimalDigitsForParticlePositions) {
+        if (this.jobResult.isRestarted() || this.jobResult.getJobInput() == null) {
+            // Step numbering of restarted job is defined by Jdpd restart info: No policy
+            return null;
+        }
+        ValueItemContainer tmpJobInputValueItemContainer = this.jobResult.getJobInput().getValueItemContainer();
+        if (tmpJobInputValueItemContainer == null) {
+            return null;
+        }
+        ValueItem tmpTimeStepNumberValueItem = tmpJobInputValueItemContainer.getValueItem("TimeStepNumber");
+        ValueItem tmpTimeStepFrequencyForOutputValueItem = tmpJobInputValueItemContainer.getValueItem("TimeStepFrequencyForOutput");
+        if (tmpTimeStepNumberValueItem == null || tmpTimeStepFrequencyForOutputValueItem == null) {
+            return null;
+        }
+        // NO restriction of reduced number of after-decimal-separator digits for particle positions: Value "-1"
+        int tmpReducedNumberOfAfterDecimalDigitsForParticlePositions = -1;
+        if (Preferences.getInstance().getReducedNumberOfAfterDecimalDigitsForParticlePositions() < ModelDefinitions.MAXIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS) {
+            tmpReducedNumberOfAfterDecimalDigitsForParticlePositions = Preferences.getInstance().getReducedNumberOfAfterDecimalDigitsForParticlePositions();
+        }
+        try {
+            StepOutputPolicy tmpStepOutputPolicy = 
+                new StepOutputPolicy(
+                    tmpTimeStepNumberValueItem.getValueAsInt(),
+                    Math.max(1, tmpTimeStepFrequencyForOutputValueItem.getValueAsInt()),
+                    Preferences.getInstance().getStepOutputDecimationInterval(),
+                    Preferences.getInstance().getStepOutputDecimationStartStep(),
+                    Preferences.getInstance().getNumberOfStepsForRdfCalculation(),
+                    aNumberOfAfterDecimalDigitsForParticlePositions,
+                    tmpReducedNumberOfAfterDecimalDigitsForParticlePositions
+                );
+            if (tmpStepOutputPolicy.isActive()) {
+                return tmpStepOutputPolicy;
+            } else {
+                return null;
+            }
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return null;
+        }
+    }
+    // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- Miscellaneous methods">
     /**
      * Shutdown of executor service and memory release
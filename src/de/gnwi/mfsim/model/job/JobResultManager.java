@@ -19,11 +19,13 @@
  */
 package de.gnwi.mfsim.model.job;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.io.File;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.List;
 
-import de.gnwi.mfsim.model.job.JobResult;
 import de.gnwi.mfsim.model.util.FileDeletionTask;
 import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
@@ -31,11 +33,13 @@ import de.gnwi.mfsim.model.util.FileUtilityMethods;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
 /**
- * Job result manager
+ * Job result manager.
+ * NOTE: Job result path is scanned incrementally and watched for live updates
+ * (see JobDirectoryScanner), the job result list is a lock-free snapshot.
  *
  * @author Achim Zielesny
  */
-public class JobResultManager {
+public class JobResultManager implements PropertyChangeListener {
 
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
     /**
@@ -44,9 +48,14 @@ public class JobResultManager {
     private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
 
     /**
-     * Cache for all jobs of result path
+     * Incremental scanner for all jobs of result path
      */
-    private LinkedList<JobResult> allJobResultsOfResultPathList;
+    private JobDirectoryScanner<JobResult> jobResultScanner;
+
+    /**
+     * Property change support
+     */
+    private PropertyChangeSupport propertyChangeSupport;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Constructor">
@@ -143,13 +152,53 @@ public class JobResultManager {
         }
     }
 
+    /**
+     * PropertyChangeListener property change: Forwards live updates of job
+     * result scanner with this instance as source
+     *
+     * @param anEvent PropertyChangeEvent
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent anEvent) {
+        if (anEvent.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE)) {
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE, false, true);
+        }
+    }
+
+    /**
+     * Add property change listener for live updates of job result path (see
+     * ModelDefinitions.PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE).
+     * NOTE: Property changes are NOT fired on event dispatch thread.
+     *
+     * @param aListener Listener
+     */
+    public void addPropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.addPropertyChangeListener(aListener);
+    }
+
+    /**
+     * Remove property change listener
+     *
+     * @param aListener Listener
+     */
+    public void removePropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.removePropertyChangeListener(aListener);
+    }
+
+    /**
+     * Stops watching of job result path for live updates
+     */
+    public void stopWatching() {
+        this.jobResultScanner.stopWatching();
+    }
+
     /**
      * Returns number of job results in job result path
      *
      * @return Number of job results in job result path
      */
     public int getNumberOfJobResultsOfJobResultsPath() {
-        return this.allJobResultsOfResultPathList.size();
+        return this.jobResultScanner.getJobList().size();
     }
 
     /**
@@ -158,7 +207,7 @@ public class JobResultManager {
      * @return All jobs of result path sorted ascending or null if none exist
      */
     public JobResult[] getSortedJobsOfResultPath() {
-        LinkedList<JobResult> tmpJobList = this.getJobListOfResultPath();
+        List<JobResult> tmpJobList = this.getJobListOfResultPath();
         if (tmpJobList.size() > 0) {
             JobResult[] jobArray = tmpJobList.toArray(new JobResult[0]);
             Arrays.sort(jobArray);
@@ -171,10 +220,10 @@ public class JobResultManager {
     /**
      * Returns job list with all jobs of result path
      *
-     * @return JobResult list with all jobs of result path
+     * @return JobResult list with all jobs of result path (immutable snapshot)
      */
-    public LinkedList<JobResult> getJobListOfResultPath() {
-        return this.allJobResultsOfResultPathList;
+    public List<JobResult> getJobListOfResultPath() {
+        return this.jobResultScanner.getJobList();
     }
 
     /**
@@ -183,7 +232,7 @@ public class JobResultManager {
      * @return true: Finished jobs do exist in result path, false: Otherwise
      */
     public boolean hasFinishedJobsInResultPath() {
-        return this.allJobResultsOfResultPathList.size() > 0;
+        return this.getJobListOfResultPath().size() > 0;
     }
 
     /**
@@ -202,37 +251,52 @@ public class JobResultManager {
      * Resets JobResultManager to initial state
      */
     private void initialize() {
-        this.allJobResultsOfResultPathList = new LinkedList<JobResult>();
+        this.propertyChangeSupport = new PropertyChangeSupport(this);
+        this.jobResultScanner = 
+            new JobDirectoryScanner<>(
+                ModelDefinitions.PREFIX_OF_JOB_RESULT_DIRECTORY, 
+                ModelDefinitions.JOB_RESULT_INFO_FILENAME, 
+                ModelDefinitions.JOB_RESULT_MANIFEST_FILENAME,
+                new JobDirectoryParserInterface<JobResult>() {
+                    @Override
+                    public JobResult parse(String aJobResultPath) {
+                        try {
+                            return new JobResult(aJobResultPath);
+                        } catch (Exception anException) {
+                            // Note: Exception may be thrown since a job result may be
+                            // still in copying phase from temporary directory to
+                            // JobResults directory thus
+                            // ModelUtils.appendToLogfile(true, anException);
+                            // should not be thrown
+                            return null;
+                        }
+                    }
+
+                    @Override
+                    public JobResult restore(String aJobResultPath, String[] anInformationLines) {
+                        try {
+                            return new JobResult(aJobResultPath, anInformationLines);
+                        } catch (Exception anException) {
+                            // Note: Job result directory is parsed instead
+                            return null;
+                        }
+                    }
+                }
+            );
+        this.jobResultScanner.addPropertyChangeListener(this);
         this.updateAllJobsOfResultPathList();
+        this.jobResultScanner.startWatching();
         // Clean possible removed jobs results in background
         this.cleanJobResultPathInBackground();
     }
     // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="Miscellaneous methods">
     /**
-     * Updates cache for all jobs of result path (this.allJobsOfResultPathList)
+     * Updates cache for all jobs of result path incrementally: Only new or
+     * changed job result directories are parsed.
      */
     private void updateAllJobsOfResultPathList() {
-        this.allJobResultsOfResultPathList.clear();
-        String[] tmpJobPaths = this.fileUtilityMethods.getDirectoryPathsWithPrefix(Preferences.getInstance().getJobResultPath(), ModelDefinitions.PREFIX_OF_JOB_RESULT_DIRECTORY);
-        if (tmpJobPaths != null) {
-            for (String tmpJobPath : tmpJobPaths) {
-                JobResult tmpSingleJob;
-                try {
-                    tmpSingleJob = new JobResult(tmpJobPath);
-                } catch (Exception anException) {
-                    // Note: Exception may be thrown since a job result may be
-                    // still in copying phase from temporary directory to
-                    // JobResults directory thus
-                    // ModelUtils.appendToLogfile(true, anException);
-                    // should not be thrown
-                    tmpSingleJob = null;
-                }
-                if (tmpSingleJob != null) {
-                    this.allJobResultsOfResultPathList.addLast(tmpSingleJob);
-                }
-            }
-        }
+        this.jobResultScanner.scan(Preferences.getInstance().getJobResultPath());
     }
     // </editor-fold>
     // </editor-fold>
@@ -0,0 +1,728 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Core-aware job scheduler: Jobs are admitted for execution according to a
+ * budget of processor cores and the number of cores each job requests (see
+ * SchedulableJobInterface.getRequestedNumberOfCores()), i.e. parallel jobs
+ * do not oversubscribe the machine.
+ * <p>
+ * Pending jobs are ordered by priority (higher value first) and submission
+ * order. The head of the queue is admitted if its requested cores fit into
+ * the remaining budget and the maximum number of parallel jobs is not
+ * reached. A job that requests more cores than the whole budget is admitted
+ * if no other job is running. The number of reserved cores (requested cores
+ * limited to the budget) is granted to the job before it is started (see
+ * SchedulableJobInterface.setGrantedNumberOfCores()), i.e. the job itself
+ * enforces the reservation. NOTE: Jobs behind the head of the queue are
+ * NOT admitted ahead of it (no backfilling) so that large jobs do not
+ * starve.
+ * <p>
+ * Pending jobs are persisted to a queue file so that the queue survives a
+ * restart of the application (see getRestoredQueueEntries()).
+ */
+public class JobScheduler {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class QueueEntry">
+    /**
+     * Entry of job queue
+     */
+    private static class QueueEntry {
+
+        /**
+         * Job
+         */
+        final SchedulableJobInterface job;
+
+        /**
+         * Priority (higher value first)
+         */
+        final int priority;
+
+        /**
+         * Submission sequence number
+         */
+        final long sequence;
+
+        /**
+         * Number of cores that are reserved for job
+         */
+        final int numberOfCores;
+
+        /**
+         * Submission time in milliseconds
+         */
+        final long submissionTime;
+
+        /**
+         * Constructor
+         *
+         * @param aJob Job
+         * @param aPriority Priority
+         * @param aSequence Submission sequence number
+         * @param aNumberOfCores Number of cores that are reserved for job
+         */
+        QueueEntry(SchedulableJobInterface aJob, int aPriority, long aSequence, int aNumberOfCores) {
+            this.job = aJob;
+            this.priority = aPriority;
+            this.sequence = aSequence;
+            this.numberOfCores = aNumberOfCores;
+            this.submissionTime = System.currentTimeMillis();
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Version of queue file
+     */
+    private static final String QUEUE_FILE_VERSION = "Version 1.0.0";
+
+    /**
+     * Separator of fields in queue file
+     */
+    private static final String QUEUE_FILE_SEPARATOR = "\t";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * File utility methods
+     */
+    private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
+
+    /**
+     * Core budget, i.e. number of processor cores available for all jobs
+     */
+    private final int coreBudget;
+
+    /**
+     * Full pathname of queue file (may be null: No persistence)
+     */
+    private final String queueFilePathname;
+
+    /**
+     * Pending jobs
+     */
+    private final PriorityQueue<QueueEntry> pendingQueue;
+
+    /**
+     * Running jobs
+     */
+    private final IdentityHashMap<SchedulableJobInterface, QueueEntry> runningJobMap;
+
+    /**
+     * Queue entries restored from queue file
+     */
+    private final List<String[]> restoredQueueEntries;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Maximum number of parallel jobs
+     */
+    private int maximumNumberOfParallelJobs;
+
+    /**
+     * Minimum delay between job starts in milliseconds
+     */
+    private long startDelayInMilliseconds;
+
+    /**
+     * Number of cores in use by running jobs
+     */
+    private int numberOfUsedCores;
+
+    /**
+     * Submission sequence counter
+     */
+    private long sequenceCounter;
+
+    /**
+     * Time of last job start in milliseconds
+     */
+    private long lastStartTime;
+
+    /**
+     * True: Delayed scheduling is pending, false: Otherwise
+     */
+    private boolean isDelayedSchedulingPending;
+
+    /**
+     * Executor service for jobs
+     */
+    private ExecutorService jobExecutorService;
+
+    /**
+     * Executor service for delayed scheduling
+     */
+    private ScheduledExecutorService delayExecutorService;
+
+    /**
+     * Metrics: Number of submitted jobs
+     */
+    private long numberOfSubmittedJobs;
+
+    /**
+     * Metrics: Number of started jobs
+     */
+    private long numberOfStartedJobs;
+
+    /**
+     * Metrics: Number of finished jobs
+     */
+    private long numberOfFinishedJobs;
+
+    /**
+     * Metrics: Sum of waiting times of started jobs in milliseconds
+     */
+    private long sumOfWaitingTimesInMilliseconds;
+
+    /**
+     * Metrics: Maximum waiting time of started jobs in milliseconds
+     */
+    private long maximumWaitingTimeInMilliseconds;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aCoreBudget Core budget, i.e. number of processor cores
+     * available for all jobs (values less than 1 are set to 1)
+     * @param aMaximumNumberOfParallelJobs Maximum number of parallel jobs
+     * (values less than 1 are set to 1)
+     * @param aStartDelayInMilliseconds Minimum delay between job starts in
+     * milliseconds (values less than 0 are set to 0)
+     * @param aQueueFilePathname Full pathname of queue file (may be null: No
+     * persistence)
+     */
+    public JobScheduler(int aCoreBudget, int aMaximumNumberOfParallelJobs, long aStartDelayInMilliseconds, String aQueueFilePathname) {
+        this.coreBudget = Math.max(1, aCoreBudget);
+        this.maximumNumberOfParallelJobs = Math.max(1, aMaximumNumberOfParallelJobs);
+        this.startDelayInMilliseconds = Math.max(0L, aStartDelayInMilliseconds);
+        this.queueFilePathname = aQueueFilePathname;
+        this.pendingQueue = new PriorityQueue<>(11, new Comparator<QueueEntry>() {
+            @Override
+            public int compare(QueueEntry anEntry1, QueueEntry anEntry2) {
+                if (anEntry1.priority != anEntry2.priority) {
+                    return Integer.compare(anEntry2.priority, anEntry1.priority);
+                }
+                return Long.compare(anEntry1.sequence, anEntry2.sequence);
+            }
+        });
+        this.runningJobMap = new IdentityHashMap<>();
+        this.restoredQueueEntries = this.readQueueFile();
+        this.numberOfUsedCores = 0;
+        this.sequenceCounter = 0L;
+        this.lastStartTime = 0L;
+        this.isDelayedSchedulingPending = false;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Submits job: Job is started as soon as it is admitted
+     *
+     * @param aJob Job (may be null then false is returned)
+     * @param aPriority Priority (higher value first, jobs with equal priority
+     * are started in submission order)
+     * @return True: Job was submitted, false: Otherwise (e.g. job is already
+     * pending or running)
+     */
+    public synchronized boolean submit(SchedulableJobInterface aJob, int aPriority) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aJob == null || this.isPending(aJob) || this.runningJobMap.containsKey(aJob)) {
+            return false;
+        }
+        // </editor-fold>
+        int tmpNumberOfCores = Math.min(this.coreBudget, Math.max(1, aJob.getRequestedNumberOfCores()));
+        this.pendingQueue.add(new QueueEntry(aJob, aPriority, this.sequenceCounter++, tmpNumberOfCores));
+        this.numberOfSubmittedJobs++;
+        this.writeQueueFile();
+        this.schedule();
+        return true;
+    }
+
+    /**
+     * Removes pending job
+     *
+     * @param aJob Job
+     * @return True: Pending job was removed, false: Otherwise (e.g. job is
+     * already running)
+     */
+    public synchronized boolean remove(SchedulableJobInterface aJob) {
+        for (QueueEntry tmpEntry : this.pendingQueue) {
+            if (tmpEntry.job == aJob) {
+                this.pendingQueue.remove(tmpEntry);
+                this.writeQueueFile();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all pending jobs
+     *
+     * @return Removed pending jobs in queue order
+     */
+    public synchronized List<SchedulableJobInterface> removeAllPending() {
+        List<SchedulableJobInterface> tmpJobs = this.getPendingJobs();
+        this.pendingQueue.clear();
+        this.writeQueueFile();
+        return tmpJobs;
+    }
+
+    /**
+     * Returns if job is pending
+     *
+     * @param aJob Job
+     * @return True: Job is pending, false: Otherwise
+     */
+    public synchronized boolean isPending(SchedulableJobInterface aJob) {
+        for (QueueEntry tmpEntry : this.pendingQueue) {
+            if (tmpEntry.job == aJob) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns pending jobs in queue order
+     *
+     * @return Pending jobs in queue order
+     */
+    public synchronized List<SchedulableJobInterface> getPendingJobs() {
+        ArrayList<QueueEntry> tmpEntries = new ArrayList<>(this.pendingQueue);
+        tmpEntries.sort(this.pendingQueue.comparator());
+        ArrayList<SchedulableJobInterface> tmpJobs = new ArrayList<>(tmpEntries.size());
+        for (QueueEntry tmpEntry : tmpEntries) {
+            tmpJobs.add(tmpEntry.job);
+        }
+        return tmpJobs;
+    }
+
+    /**
+     * Returns queue entries that were restored from queue file at
+     * construction: Each entry consists of the priority (first field) and
+     * the job queue descriptor (remaining fields, see
+     * SchedulableJobInterface.getQueueDescriptor()).
+     * NOTE: Restored entries are NOT scheduled, they must be re-created and
+     * submitted by the caller.
+     *
+     * @return Restored queue entries (may be empty)
+     */
+    public synchronized List<String[]> getRestoredQueueEntries() {
+        return new ArrayList<>(this.restoredQueueEntries);
+    }
+
+    /**
+     * Discards restored queue entries of job input path (e.g. if the job was
+     * removed by the user) and rewrites queue file
+     *
+     * @param aJobInputPath Job input path
+     * @return True: At least one restored queue entry was discarded, false:
+     * Otherwise
+     */
+    public synchronized boolean removeRestoredQueueEntry(String aJobInputPath) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aJobInputPath == null) {
+            return false;
+        }
+        // </editor-fold>
+        boolean tmpIsRemoved = false;
+        Iterator<String[]> tmpIterator = this.restoredQueueEntries.iterator();
+        while (tmpIterator.hasNext()) {
+            // Entry: Priority, job input path, ...
+            if (aJobInputPath.equals(tmpIterator.next()[1])) {
+                tmpIterator.remove();
+                tmpIsRemoved = true;
+            }
+        }
+        if (tmpIsRemoved) {
+            this.writeQueueFile();
+        }
+        return tmpIsRemoved;
+    }
+
+    /**
+     * Discards queue entries that were restored from queue file
+     */
+    public synchronized void clearRestoredQueueEntries() {
+        this.restoredQueueEntries.clear();
+        this.writeQueueFile();
+    }
+
+    /**
+     * Shuts down scheduler: Pending jobs are kept in queue file, running
+     * jobs are NOT stopped.
+     */
+    public synchronized void shutdown() {
+        this.pendingQueue.clear();
+        if (this.jobExecutorService != null) {
+            this.jobExecutorService.shutdown();
+            this.jobExecutorService = null;
+        }
+        if (this.delayExecutorService != null) {
+            this.delayExecutorService.shutdownNow();
+            this.delayExecutorService = null;
+        }
+        this.isDelayedSchedulingPending = false;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties">
+    // <editor-fold defaultstate="collapsed" desc="- Settings">
+    /**
+     * Core budget
+     *
+     * @return Core budget
+     */
+    public int getCoreBudget() {
+        return this.coreBudget;
+    }
+
+    /**
+     * Maximum number of parallel jobs
+     *
+     * @return Maximum number of parallel jobs
+     */
+    public synchronized int getMaximumNumberOfParallelJobs() {
+        return this.maximumNumberOfParallelJobs;
+    }
+
+    /**
+     * Sets maximum number of parallel jobs
+     *
+     * @param aValue Maximum number of parallel jobs (values less than 1 are
+     * set to 1)
+     */
+    public synchronized void setMaximumNumberOfParallelJobs(int aValue) {
+        this.maximumNumberOfParallelJobs = Math.max(1, aValue);
+        this.schedule();
+    }
+
+    /**
+     * Sets minimum delay between job starts in milliseconds
+     *
+     * @param aValue Minimum delay between job starts in milliseconds (values
+     * less than 0 are set to 0)
+     */
+    public synchronized void setStartDelayInMilliseconds(long aValue) {
+        this.startDelayInMilliseconds = Math.max(0L, aValue);
+    }
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- Metrics">
+    /**
+     * Number of pending jobs
+     *
+     * @return Number of pending jobs
+     */
+    public synchronized int getNumberOfPendingJobs() {
+        return this.pendingQueue.size();
+    }
+
+    /**
+     * Number of running jobs
+     *
+     * @return Number of running jobs
+     */
+    public synchronized int getNumberOfRunningJobs() {
+        return this.runningJobMap.size();
+    }
+
+    /**
+     * Number of cores in use by running jobs
+     *
+     * @return Number of cores in use by running jobs
+     */
+    public synchronized int getNumberOfUsedCores() {
+        return this.numberOfUsedCores;
+    }
+
+    /**
+     * Number of submitted jobs since construction
+     *
+     * @return Number of submitted jobs
+     */
+    public synchronized long getNumberOfSubmittedJobs() {
+        return this.numberOfSubmittedJobs;
+    }
+
+    /**
+     * Number of started jobs since construction
+     *
+     * @return Number of started jobs
+     */
+    public synchronized long getNumberOfStartedJobs() {
+        return this.numberOfStartedJobs;
+    }
+
+    /**
+     * Number of finished jobs since construction
+     *
+     * @return Number of finished jobs
+     */
+    public synchronized long getNumberOfFinishedJobs() {
+        return this.numberOfFinishedJobs;
+    }
+
+    /**
+     * Average waiting time of started jobs in milliseconds
+     *
+     * @return Average waiting time of started jobs in milliseconds (0 if no
+     * job was started)
+     */
+    public synchronized long getAverageWaitingTimeInMilliseconds() {
+        if (this.numberOfStartedJobs == 0L) {
+            return 0L;
+        }
+        return this.sumOfWaitingTimesInMilliseconds / this.numberOfStartedJobs;
+    }
+
+    /**
+     * Maximum waiting time of started jobs in milliseconds
+     *
+     * @return Maximum waiting time of started jobs in milliseconds
+     */
+    public synchronized long getMaximumWaitingTimeInMilliseconds() {
+        return this.maximumWaitingTimeInMilliseconds;
+    }
+
+    /**
+     * Returns metrics summary
+     *
+     * @return Metrics summary
+     */
+    public synchronized String getMetricsSummary() {
+        return String.format(
+            "JobScheduler: pending=%d, running=%d, usedCores=%d/%d, submitted=%d, started=%d, finished=%d, averageWaitingTime=%d ms, maximumWaitingTime=%d ms",
+            this.pendingQueue.size(),
+            this.runningJobMap.size(),
+            this.numberOfUsedCores,
+            this.coreBudget,
+            this.numberOfSubmittedJobs,
+            this.numberOfStartedJobs,
+            this.numberOfFinishedJobs,
+            this.getAverageWaitingTimeInMilliseconds(),
+            this.maximumWaitingTimeInMilliseconds
+        );
+    }
+    // </editor-fold>
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Scheduling related methods">
+    /**
+     * Admits pending jobs according to core budget. NOTE: Must be called
+     * synchronized.
+     */
+    private void schedule() {
+        boolean tmpIsQueueChanged = false;
+        while (!this.pendingQueue.isEmpty() && this.runningJobMap.size() < this.maximumNumberOfParallelJobs) {
+            QueueEntry tmpEntry = this.pendingQueue.peek();
+            if (!this.runningJobMap.isEmpty() && this.numberOfUsedCores + tmpEntry.numberOfCores > this.coreBudget) {
+                // Head of queue does not fit: Wait for running jobs to finish
+                break;
+            }
+            long tmpCurrentTime = System.currentTimeMillis();
+            long tmpRemainingDelay = this.lastStartTime + this.startDelayInMilliseconds - tmpCurrentTime;
+            if (tmpRemainingDelay > 0L) {
+                this.scheduleDelayed(tmpRemainingDelay);
+                break;
+            }
+            this.pendingQueue.poll();
+            tmpIsQueueChanged = true;
+            this.start(tmpEntry, tmpCurrentTime);
+        }
+        if (tmpIsQueueChanged) {
+            this.writeQueueFile();
+        }
+    }
+
+    /**
+     * Starts job of queue entry. NOTE: Must be called synchronized.
+     *
+     * @param anEntry Queue entry
+     * @param aCurrentTime Current time in milliseconds
+     */
+    private void start(final QueueEntry anEntry, long aCurrentTime) {
+        this.runningJobMap.put(anEntry.job, anEntry);
+        this.numberOfUsedCores += anEntry.numberOfCores;
+        this.lastStartTime = aCurrentTime;
+        long tmpWaitingTime = aCurrentTime - anEntry.submissionTime;
+        this.numberOfStartedJobs++;
+        this.sumOfWaitingTimesInMilliseconds += tmpWaitingTime;
+        this.maximumWaitingTimeInMilliseconds = Math.max(this.maximumWaitingTimeInMilliseconds, tmpWaitingTime);
+        if (this.jobExecutorService == null) {
+            this.jobExecutorService = Executors.newCachedThreadPool();
+        }
+        anEntry.job.setGrantedNumberOfCores(anEntry.numberOfCores);
+        anEntry.job.setSubmittedToExecutorService();
+        this.jobExecutorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                try {
+                    return anEntry.job.call();
+                } finally {
+                    JobScheduler.this.finish(anEntry);
+                }
+            }
+        });
+    }
+
+    /**
+     * Releases cores of finished job and admits pending jobs
+     *
+     * @param anEntry Queue entry of finished job
+     */
+    private synchronized void finish(QueueEntry anEntry) {
+        if (this.runningJobMap.remove(anEntry.job) != null) {
+            this.numberOfUsedCores -= anEntry.numberOfCores;
+            this.numberOfFinishedJobs++;
+        }
+        this.schedule();
+        if (this.runningJobMap.isEmpty() && this.pendingQueue.isEmpty() && this.jobExecutorService != null) {
+            // Release threads
+            this.jobExecutorService.shutdown();
+            this.jobExecutorService = null;
+        }
+    }
+
+    /**
+     * Schedules delayed call of schedule(). NOTE: Must be called
+     * synchronized.
+     *
+     * @param aDelayInMilliseconds Delay in milliseconds
+     */
+    private void scheduleDelayed(long aDelayInMilliseconds) {
+        if (this.isDelayedSchedulingPending) {
+            return;
+        }
+        if (this.delayExecutorService == null) {
+            this.delayExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable aRunnable) {
+                    Thread tmpThread = new Thread(aRunnable, "JobScheduler-delay");
+                    tmpThread.setDaemon(true);
+                    return tmpThread;
+                }
+            });
+        }
+        this.isDelayedSchedulingPending = true;
+        this.delayExecutorService.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (JobScheduler.this) {
+                    JobScheduler.this.isDelayedSchedulingPending = false;
+                    JobScheduler.this.schedule();
+                }
+            }
+        }, aDelayInMilliseconds, TimeUnit.MILLISECONDS);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Queue file related methods">
+    /**
+     * Reads queue file
+     *
+     * @return Queue entries of queue file (may be empty)
+     */
+    private List<String[]> readQueueFile() {
+        LinkedList<String[]> tmpEntries = new LinkedList<>();
+        if (this.queueFilePathname == null || !(new File(this.queueFilePathname)).isFile()) {
+            return tmpEntries;
+        }
+        String[] tmpLines = this.fileUtilityMethods.readDefinedStringArrayFromFile(this.queueFilePathname);
+        if (tmpLines == null || tmpLines.length == 0 || !QUEUE_FILE_VERSION.equals(tmpLines[0])) {
+            return tmpEntries;
+        }
+        for (int i = 1; i < tmpLines.length; i++) {
+            String[] tmpFields = tmpLines[i].split(QUEUE_FILE_SEPARATOR, -1);
+            if (tmpFields.length > 1) {
+                try {
+                    Integer.parseInt(tmpFields[0]);
+                    tmpEntries.add(tmpFields);
+                } catch (NumberFormatException anException) {
+                    // Skip corrupt line
+                }
+            }
+        }
+        return tmpEntries;
+    }
+
+    /**
+     * Writes pending jobs and not yet discarded restored entries to queue
+     * file (queue file is deleted if there is nothing to persist). NOTE: Must
+     * be called synchronized.
+     */
+    private void writeQueueFile() {
+        if (this.queueFilePathname == null) {
+            return;
+        }
+        try {
+            LinkedList<String> tmpLines = new LinkedList<>();
+            for (String[] tmpEntry : this.restoredQueueEntries) {
+                tmpLines.add(String.join(QUEUE_FILE_SEPARATOR, tmpEntry));
+            }
+            ArrayList<QueueEntry> tmpPendingEntries = new ArrayList<>(this.pendingQueue);
+            tmpPendingEntries.sort(this.pendingQueue.comparator());
+            for (QueueEntry tmpEntry : tmpPendingEntries) {
+                String[] tmpDescriptor = tmpEntry.job.getQueueDescriptor();
+                if (tmpDescriptor != null && tmpDescriptor.length > 0) {
+                    tmpLines.add(String.valueOf(tmpEntry.priority) + QUEUE_FILE_SEPARATOR + String.join(QUEUE_FILE_SEPARATOR, tmpDescriptor));
+                }
+            }
+            // NOTE: Existing queue file is not overwritten by writeDefinedStringArrayToFile()
+            if ((new File(this.queueFilePathname)).isFile()) {
+                this.fileUtilityMethods.deleteSingleFile(this.queueFilePathname);
+            }
+            if (!tmpLines.isEmpty()) {
+                tmpLines.addFirst(QUEUE_FILE_VERSION);
+                this.fileUtilityMethods.writeDefinedStringArrayToFile(tmpLines.toArray(new String[0]), this.queueFilePathname);
+            }
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+        }
+    }
+    // </editor-fold>
+    // </editor-fold>
+
+}
@@ -62,6 +62,8 @@ import java.util.zip.GZIPInputStream;
 import org.apache.commons.lang3.StringUtils;
 import de.gnwi.mfsim.model.graphics.particle.IGraphicalParticle;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.metrics.MetricsName;
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
 
 
 /**
@@ -102,6 +104,11 @@ public class JobUtilityMethods {
      */
     private Pattern particlePattern = Pattern.compile(ModelDefinitions.PARTICLE_REGEX_PATTERN_STRING);
 
+    /**
+     * Metrics registry for post-processing metrics
+     */
+    private final MetricsRegistry metricsRegistry;
+
     //
     // </editor-fold>
     //
@@ -118,7 +125,21 @@ public class JobUtilityMethods {
      * Constructor
      */
     public JobUtilityMethods() {
-        // Do nothing
+        this.metricsRegistry = MetricsRegistry.getInstance();
+    }
+
+    /**
+     * Constructor
+     *
+     * @param aMetricsRegistry Metrics registry for post-processing metrics
+     */
+    public JobUtilityMethods(MetricsRegistry aMetricsRegistry) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aMetricsRegistry == null) {
+            throw new IllegalArgumentException("aMetricsRegistry is null.");
+        }
+        // </editor-fold>
+        this.metricsRegistry = aMetricsRegistry;
     }
     // </editor-fold>
     //
@@ -2764,6 +2785,31 @@ public class JobUtilityMethods {
             + FileOutputStrings.M_TO_NN_M_TUPLE_FILENAME;
     }
 
+    /**
+     * Creates binary stores for all existing nearest-neighbor step-frequency 
+     * map files of Job Result (see NearestNeighborFrequencyStore)
+     *
+     * @param aJobResultPath Path of Job Result
+     * @return True: Operation successful, false: Otherwise
+     * @throws IllegalArgumentException Thrown if aJobResultPath is invalid
+     */
+    public boolean createNearestNeighborFrequencyStores(String aJobResultPath) throws IllegalArgumentException {
+        String[] tmpStepFrequencyMapFilePathnames = new String[] {
+            this.getJobResultBaseMoleculeParticleToNearestNeighborMoleculeParticleStepFrequencyMapFilePathname(aJobResultPath),
+            this.getJobResultBaseMoleculeParticleToNearestNeighborParticleStepFrequencyMapFilePathname(aJobResultPath),
+            this.getJobResultBaseMoleculeParticleToNearestNeighborMoleculeStepFrequencyMapFilePathname(aJobResultPath),
+            this.getJobResultBaseMoleculeToNearestNeighborMoleculeStepFrequencyMapFilePathname(aJobResultPath),
+            this.getJobResultBaseMoleculeToNearestNeighborMoleculeTupleStepFrequencyMapFilePathname(aJobResultPath)
+        };
+        boolean tmpIsSuccessful = true;
+        for (String tmpStepFrequencyMapFilePathname : tmpStepFrequencyMapFilePathnames) {
+            if ((new File(tmpStepFrequencyMapFilePathname)).isFile()) {
+                tmpIsSuccessful &= NearestNeighborFrequencyStore.convertTextFile(tmpStepFrequencyMapFilePathname);
+            }
+        }
+        return tmpIsSuccessful;
+    }
+
     /**
      * Returns all pathnames of Job Result particle position step files
      *
@@ -3112,7 +3158,9 @@ public class JobUtilityMethods {
             }
 
             // Get particle positions (NOTE: Particle positions are already in Angstrom)
+            long tmpReadingStartTime = this.metricsRegistry.startTimer();
             HashMap<String, LinkedList<PointInSpace>> tmpParticleToPositionsMap = this.readParticlePositions(tmpJobResultParticlePositionsFilePathname, aJobInputValueItemContainer);
+            this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_PARTICLE_POSITIONS_READING, tmpReadingStartTime);
             if (tmpParticleToPositionsMap == null) {
                 return;
             }
@@ -3129,6 +3177,7 @@ public class JobUtilityMethods {
                     int tmpNumber = this.getTotalNumberOfParticlesOfSpecifiedTypeInSimulation(tmpSingleParticlePair[i], aJobInputValueItemContainer);
                     tmpParticleDensities[i] = (double) tmpNumber / tmpSimulationBoxVolume;
                 }
+                long tmpBinFrequenciesStartTime = this.metricsRegistry.startTimer();
                 double[] tmpParticleParticleDistanceBinFrequencies = null;
                 if (tmpSingleParticlePair[0].equals(tmpSingleParticlePair[1])) {
                     PointInSpace[] tmpParticlePositions = tmpParticleToPositionsMap.get(tmpSingleParticlePair[0]).toArray(new PointInSpace[0]);
@@ -3138,6 +3187,7 @@ public class JobUtilityMethods {
                     PointInSpace[] tmpParticlePositionsB = tmpParticleToPositionsMap.get(tmpSingleParticlePair[1]).toArray(new PointInSpace[0]);
                     tmpParticleParticleDistanceBinFrequencies = tmpDistanceDistributionUtils.getDifferentParticlePairDistanceBinFrequencies(tmpParticlePositionsA, tmpParticlePositionsB);
                 }
+                this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_RDF_BIN_FREQUENCIES, tmpBinFrequenciesStartTime);
                 if (tmpParticleParticleDistanceBinFrequencies == null) {
                     return;
                 }
@@ -3270,7 +3320,9 @@ public class JobUtilityMethods {
                 return;
             }
             // Get particle positions (NOTE: Particle positions are already in Angstrom)
+            long tmpReadingStartTime = this.metricsRegistry.startTimer();
             HashMap<String, LinkedList<PointInSpace>> tmpMoleculeParticleToPositionsMap = this.readMoleculeParticlePositions(tmpJobResultParticlePositionsFilePathname, aJobInputValueItemContainer);
+            this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_PARTICLE_POSITIONS_READING, tmpReadingStartTime);
             if (tmpMoleculeParticleToPositionsMap == null) {
                 return;
             }
@@ -3289,6 +3341,7 @@ public class JobUtilityMethods {
                     int tmpNumber = this.getTotalNumberOfMoleculeParticlesOfSpecifiedTypeInSimulation(tmpMoleculeName, tmpParticle, aJobInputValueItemContainer);
                     tmpMoleculeParticleDensities[i] = (double) tmpNumber / tmpSimulationBoxVolume;
                 }
+                long tmpBinFrequenciesStartTime = this.metricsRegistry.startTimer();
                 double[] tmpParticleParticleDistanceBinFrequencies = null;
                 if (tmpSingleMoleculeParticlePair[0].equals(tmpSingleMoleculeParticlePair[1])) {
                     PointInSpace[] tmpMoleculeParticlePositions = tmpMoleculeParticleToPositionsMap.get(tmpSingleMoleculeParticlePair[0]).toArray(new PointInSpace[0]);
@@ -3298,6 +3351,7 @@ public class JobUtilityMethods {
                     PointInSpace[] tmpMoleculeParticlePositionsB = tmpMoleculeParticleToPositionsMap.get(tmpSingleMoleculeParticlePair[1]).toArray(new PointInSpace[0]);
                     tmpParticleParticleDistanceBinFrequencies = tmpDistanceDistributionUtils.getDifferentParticlePairDistanceBinFrequencies(tmpMoleculeParticlePositionsA, tmpMoleculeParticlePositionsB);
                 }
+                this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_RDF_BIN_FREQUENCIES, tmpBinFrequenciesStartTime);
                 if (tmpParticleParticleDistanceBinFrequencies == null) {
                     return;
                 }
@@ -3771,6 +3825,27 @@ public class JobUtilityMethods {
         return aPath + File.separatorChar + ModelDefinitions.INTERNAL_XML_JOB_INPUT_VALUE_ITEM_CONTAINER_FILENAME;
     }
 
+    /**
+     * Returns pathname of internal binary job input snapshot file
+     *
+     * @param aPath Path of internal binary job input snapshot file
+     * @return Pathname of internal binary job input snapshot file
+     * @throws IllegalArgumentException Thrown if aPath is invalid
+     */
+    public String getInternalBinaryJobInputFilePathname(String aPath) throws IllegalArgumentException {
+
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aPath == null || aPath.isEmpty()) {
+            throw new IllegalArgumentException("aPath is null/empty.");
+        }
+        if (!(new File(aPath)).isDirectory()) {
+            throw new IllegalArgumentException("aPath is not an existing directory.");
+        }
+
+        // </editor-fold>
+        return aPath + File.separatorChar + ModelDefinitions.INTERNAL_BINARY_JOB_INPUT_VALUE_ITEM_CONTAINER_FILENAME;
+    }
+
     /**
      * Returns path of job input directory in job result path
      *
@@ -4860,6 +4935,16 @@ public class JobUtilityMethods {
             tmpConvertedMoleculeTableValueItem.removeAllChangeReceivers();
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="2. Write molecular start-geometry files">
+            if (aDestinationPath != null && !aDestinationPath.isEmpty()) {
+                // Prepare proteins in parallel (failed preparations are reported by writeJdpdPositionsBondsFile())
+                LinkedList<String> tmpProteinDataList = new LinkedList<String>();
+                for (int i = 0; i < tmpConvertedMoleculeTableValueItem.getMatrixRowCount(); i++) {
+                    if (tmpConvertedMoleculeTableValueItem.getValueItemMatrixElement(i, 1).hasProteinData()) {
+                        tmpProteinDataList.add(tmpConvertedMoleculeTableValueItem.getValueItemMatrixElement(i, 1).getProteinData());
+                    }
+                }
+                PdbToDpdPool.getInstance().preparePdbToDpd(tmpProteinDataList);
+            }
             for (int i = 0; i < tmpConvertedMoleculeTableValueItem.getMatrixRowCount(); i++) {
                 String tmpFileName = ModelDefinitions.JDPD_POSITIONS_BONDS_FILE_PREFIX + String.valueOf(i).trim() + FileOutputStrings.TEXT_FILE_ENDING;
                 if (aDestinationPath != null && !aDestinationPath.isEmpty() && (new File(aDestinationPath)).isDirectory()) {
@@ -6414,7 +6499,9 @@ public class JobUtilityMethods {
         // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="Prepare calculations">
         // Get particle positions (NOTE: Particle positions are already in Angstrom)
+        long tmpReadingStartTime = this.metricsRegistry.startTimer();
         HashMap<String, LinkedList<PointInSpace>> tmpParticleToPositionsMap = this.readParticlePositions(aJobResultParticlePositionsFilePathname, aJobInputValueItemContainer);
+        this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_PARTICLE_POSITIONS_READING, tmpReadingStartTime);
         if (tmpParticleToPositionsMap == null) {
             return null;
         }
@@ -6436,6 +6523,7 @@ public class JobUtilityMethods {
                 this.isPeriodicBoundaryY(aJobInputValueItemContainer),
                 this.isPeriodicBoundaryZ(aJobInputValueItemContainer));
         for (String[] tmpSingleParticlePair : tmpParticlePairs) {
+            long tmpAverageDistanceStartTime = this.metricsRegistry.startTimer();
             double tmpParticlePairAverageDistance;
             if (tmpSingleParticlePair[0].equals(tmpSingleParticlePair[1])) {
                 PointInSpace[] tmpParticlePositions = tmpParticleToPositionsMap.get(tmpSingleParticlePair[0]).toArray(new PointInSpace[0]);
@@ -6445,6 +6533,7 @@ public class JobUtilityMethods {
                 PointInSpace[] tmpParticlePositionsB = tmpParticleToPositionsMap.get(tmpSingleParticlePair[1]).toArray(new PointInSpace[0]);
                 tmpParticlePairAverageDistance = tmpDistanceCalculationUtils.getDifferentParticlePairAverageDistance(tmpParticlePositionsA, tmpParticlePositionsB);
             }
+            this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_AVERAGE_DISTANCE, tmpAverageDistanceStartTime);
             if (tmpParticlePairAverageDistance == -1.0) {
                 return null;
             } else {
@@ -6489,7 +6578,9 @@ public class JobUtilityMethods {
         // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="Prepare calculations">
         // Get particle positions (NOTE: Particle positions are already in Angstrom)
+        long tmpReadingStartTime = this.metricsRegistry.startTimer();
         HashMap<String, LinkedList<PointInSpace>> tmpMoleculeParticleToPositionsMap = this.readMoleculeParticlePositions(aJobResultParticlePositionsFilePathname, aJobInputValueItemContainer);
+        this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_PARTICLE_POSITIONS_READING, tmpReadingStartTime);
         if (tmpMoleculeParticleToPositionsMap == null) {
             return null;
         }
@@ -6511,6 +6602,7 @@ public class JobUtilityMethods {
                 this.isPeriodicBoundaryY(aJobInputValueItemContainer),
                 this.isPeriodicBoundaryZ(aJobInputValueItemContainer));
         for (String[] tmpSingleMoleculeParticlePair : tmpMoleculeParticlePairs) {
+            long tmpAverageDistanceStartTime = this.metricsRegistry.startTimer();
             double tmpParticlePairAverageDistance;
             if (tmpSingleMoleculeParticlePair[0].equals(tmpSingleMoleculeParticlePair[1])) {
                 PointInSpace[] tmpMoleculeParticlePositions = tmpMoleculeParticleToPositionsMap.get(tmpSingleMoleculeParticlePair[0]).toArray(new PointInSpace[0]);
@@ -6520,6 +6612,7 @@ public class JobUtilityMethods {
                 PointInSpace[] tmpMoleculeParticlePositionsB = tmpMoleculeParticleToPositionsMap.get(tmpSingleMoleculeParticlePair[1]).toArray(new PointInSpace[0]);
                 tmpParticlePairAverageDistance = tmpDistanceCalculationUtils.getDifferentParticlePairAverageDistance(tmpMoleculeParticlePositionsA, tmpMoleculeParticlePositionsB);
             }
+            this.metricsRegistry.stopTimer(MetricsName.POST_PROCESSING_AVERAGE_DISTANCE, tmpAverageDistanceStartTime);
             if (tmpParticlePairAverageDistance == -1.0) {
                 return null;
             } else {
@@ -0,0 +1,641 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+/**
+ * Compact binary store for nearest-neighbor step-frequency maps.
+ * <p>
+ * The Jdpd text file of a nearest-neighbor step-frequency map contains (line
+ * by line) the version, the number of bases and for every base its name and
+ * the number of nearest neighbors. For every nearest neighbor its name and a
+ * step-frequency list (number of list elements, list version and alternating
+ * step and frequency lines) follow.
+ * <p>
+ * The binary store contains interned base/nearest-neighbor name ids, the
+ * sorted steps as step index and one fixed-size int count array per step
+ * (one count per base/nearest-neighbor pair, -1 if the pair is not defined
+ * for the step). Thus any step or step range is loaded with a single seek.
+ */
+public class NearestNeighborFrequencyStore {
+
+    // <editor-fold defaultstate="collapsed" desc="Public static final class variables">
+    /**
+     * File extension of binary store
+     */
+    public static final String FILE_EXTENSION = ".nnbin";
+
+    /**
+     * Count for a base/nearest-neighbor pair that is not defined for a step
+     */
+    public static final int UNDEFINED_COUNT = -1;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Magic number of binary store
+     */
+    private static final int MAGIC_NUMBER = 0x4E4E4653;
+
+    /**
+     * Format version of binary store
+     */
+    private static final int FORMAT_VERSION = 1;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Pathname of binary store
+     */
+    private final String filePathname;
+
+    /**
+     * Version of text file
+     */
+    private final String version;
+
+    /**
+     * Version of step-frequency lists of text file
+     */
+    private final String listVersion;
+
+    /**
+     * Interned names of bases and nearest neighbors
+     */
+    private final String[] names;
+
+    /**
+     * Name ids of bases
+     */
+    private final int[] baseIds;
+
+    /**
+     * Number of pairs of bases
+     */
+    private final int[] baseNumberOfPairs;
+
+    /**
+     * Name ids of bases of pairs
+     */
+    private final int[] pairBaseIds;
+
+    /**
+     * Name ids of nearest neighbors of pairs
+     */
+    private final int[] pairNeighborIds;
+
+    /**
+     * Sorted steps
+     */
+    private final int[] steps;
+
+    /**
+     * Byte offset of count arrays
+     */
+    private final long dataOffset;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor: Opens binary store and reads its header
+     *
+     * @param aFilePathname Pathname of binary store
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     * @throws IOException Thrown if binary store can not be read
+     */
+    public NearestNeighborFrequencyStore(String aFilePathname) throws IllegalArgumentException, IOException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aFilePathname == null || aFilePathname.isEmpty()) {
+            throw new IllegalArgumentException("aFilePathname is null/empty.");
+        }
+        if (!(new File(aFilePathname)).isFile()) {
+            throw new IllegalArgumentException("aFilePathname does not exist.");
+        }
+        // </editor-fold>
+        this.filePathname = aFilePathname;
+        try (RandomAccessFile tmpRandomAccessFile = new RandomAccessFile(aFilePathname, "r")) {
+            if (tmpRandomAccessFile.readInt() != MAGIC_NUMBER || tmpRandomAccessFile.readInt() != FORMAT_VERSION) {
+                throw new IOException("Invalid binary store: " + aFilePathname);
+            }
+            int tmpHeaderLength = tmpRandomAccessFile.readInt();
+            byte[] tmpHeader = new byte[tmpHeaderLength];
+            tmpRandomAccessFile.readFully(tmpHeader);
+            this.dataOffset = tmpRandomAccessFile.getFilePointer();
+            DataInputStream tmpDataInputStream = new DataInputStream(new ByteArrayInputStream(tmpHeader));
+            this.version = tmpDataInputStream.readUTF();
+            this.listVersion = tmpDataInputStream.readUTF();
+            this.names = new String[tmpDataInputStream.readInt()];
+            for (int i = 0; i < this.names.length; i++) {
+                this.names[i] = tmpDataInputStream.readUTF();
+            }
+            int tmpNumberOfBases = tmpDataInputStream.readInt();
+            this.baseIds = new int[tmpNumberOfBases];
+            this.baseNumberOfPairs = new int[tmpNumberOfBases];
+            for (int i = 0; i < tmpNumberOfBases; i++) {
+                this.baseIds[i] = tmpDataInputStream.readInt();
+                this.baseNumberOfPairs[i] = tmpDataInputStream.readInt();
+            }
+            int tmpNumberOfPairs = tmpDataInputStream.readInt();
+            this.pairBaseIds = new int[tmpNumberOfPairs];
+            this.pairNeighborIds = new int[tmpNumberOfPairs];
+            for (int i = 0; i < tmpNumberOfPairs; i++) {
+                this.pairBaseIds[i] = tmpDataInputStream.readInt();
+                this.pairNeighborIds[i] = tmpDataInputStream.readInt();
+            }
+            this.steps = new int[tmpDataInputStream.readInt()];
+            for (int i = 0; i < this.steps.length; i++) {
+                this.steps[i] = tmpDataInputStream.readInt();
+            }
+            if (tmpRandomAccessFile.length() != this.dataOffset + (long) this.steps.length * (long) tmpNumberOfPairs * 4L) {
+                throw new IOException("Invalid length of binary store: " + aFilePathname);
+            }
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Returns pathname of binary store for text file
+     *
+     * @param aTextFilePathname Pathname of text file
+     * @return Pathname of binary store for text file
+     */
+    public static String getStoreFilePathname(String aTextFilePathname) {
+        return aTextFilePathname + FILE_EXTENSION;
+    }
+
+    /**
+     * Returns if binary store for text file exists and is up to date
+     *
+     * @param aTextFilePathname Pathname of text file
+     * @return True: Binary store exists and is up to date, false: Otherwise
+     */
+    public static boolean hasUpToDateStore(String aTextFilePathname) {
+        File tmpTextFile = new File(aTextFilePathname);
+        File tmpStoreFile = new File(NearestNeighborFrequencyStore.getStoreFilePathname(aTextFilePathname));
+        return tmpStoreFile.isFile() && tmpStoreFile.lastModified() >= tmpTextFile.lastModified();
+    }
+
+    /**
+     * Converts nearest-neighbor step-frequency map text file into binary
+     * store (see getStoreFilePathname()). NOTE: A possibly existing binary
+     * store is replaced.
+     *
+     * @param aTextFilePathname Pathname of text file
+     * @return True: Operation successful, false: Otherwise (then no binary
+     * store exists)
+     */
+    public static boolean convertTextFile(String aTextFilePathname) {
+        String tmpStoreFilePathname = NearestNeighborFrequencyStore.getStoreFilePathname(aTextFilePathname);
+        (new File(tmpStoreFilePathname)).delete();
+        try (BufferedReader tmpBufferedReader = new BufferedReader(new FileReader(aTextFilePathname), ModelDefinitions.BUFFER_SIZE)) {
+            // <editor-fold defaultstate="collapsed" desc="Parse text file">
+            String tmpVersion = tmpBufferedReader.readLine();
+            String tmpListVersion = null;
+            LinkedHashMap<String, Integer> tmpNameToIdMap = new LinkedHashMap<>();
+            int tmpNumberOfBases = Integer.parseInt(tmpBufferedReader.readLine());
+            int[] tmpBaseIds = new int[tmpNumberOfBases];
+            int[] tmpBaseNumberOfPairs = new int[tmpNumberOfBases];
+            ArrayList<int[]> tmpPairIdsList = new ArrayList<>();
+            // Steps and frequencies of pairs: {steps, frequencies}
+            ArrayList<int[][]> tmpPairStepFrequenciesList = new ArrayList<>();
+            HashMap<Integer, Integer> tmpStepSet = new HashMap<>();
+            for (int i = 0; i < tmpNumberOfBases; i++) {
+                tmpBaseIds[i] = NearestNeighborFrequencyStore.getNameId(tmpBufferedReader.readLine(), tmpNameToIdMap);
+                tmpBaseNumberOfPairs[i] = Integer.parseInt(tmpBufferedReader.readLine());
+                for (int j = 0; j < tmpBaseNumberOfPairs[i]; j++) {
+                    int tmpNeighborId = NearestNeighborFrequencyStore.getNameId(tmpBufferedReader.readLine(), tmpNameToIdMap);
+                    tmpPairIdsList.add(new int[] {tmpBaseIds[i], tmpNeighborId});
+                    int tmpNumberOfListElements = Integer.parseInt(tmpBufferedReader.readLine());
+                    if (tmpNumberOfListElements < 1 || tmpNumberOfListElements % 2 != 1) {
+                        return false;
+                    }
+                    String tmpCurrentListVersion = tmpBufferedReader.readLine();
+                    if (tmpListVersion == null) {
+                        tmpListVersion = tmpCurrentListVersion;
+                    } else if (!tmpListVersion.equals(tmpCurrentListVersion)) {
+                        return false;
+                    }
+                    int tmpNumberOfStepFrequencies = (tmpNumberOfListElements - 1) / 2;
+                    int[][] tmpStepFrequencies = new int[2][tmpNumberOfStepFrequencies];
+                    for (int k = 0; k < tmpNumberOfStepFrequencies; k++) {
+                        tmpStepFrequencies[0][k] = Integer.parseInt(tmpBufferedReader.readLine());
+                        tmpStepFrequencies[1][k] = Integer.parseInt(tmpBufferedReader.readLine());
+                        // Steps must be strictly ascending and frequencies must not be negative
+                        if ((k > 0 && tmpStepFrequencies[0][k] <= tmpStepFrequencies[0][k - 1]) || tmpStepFrequencies[1][k] < 0) {
+                            return false;
+                        }
+                        tmpStepSet.put(tmpStepFrequencies[0][k], 0);
+                    }
+                    tmpPairStepFrequenciesList.add(tmpStepFrequencies);
+                }
+            }
+            if (tmpBufferedReader.readLine() != null) {
+                return false;
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Step index and count arrays">
+            int[] tmpSteps = new int[tmpStepSet.size()];
+            int tmpIndex = 0;
+            for (Integer tmpStep : tmpStepSet.keySet()) {
+                tmpSteps[tmpIndex++] = tmpStep;
+            }
+            Arrays.sort(tmpSteps);
+            int tmpNumberOfPairs = tmpPairIdsList.size();
+            int[][] tmpCounts = new int[tmpSteps.length][tmpNumberOfPairs];
+            for (int[] tmpStepCounts : tmpCounts) {
+                Arrays.fill(tmpStepCounts, UNDEFINED_COUNT);
+            }
+            for (int i = 0; i < tmpNumberOfPairs; i++) {
+                int[][] tmpStepFrequencies = tmpPairStepFrequenciesList.get(i);
+                int tmpStepIndex = 0;
+                for (int k = 0; k < tmpStepFrequencies[0].length; k++) {
+                    // Steps of pair are ascending: Forward search is sufficient
+                    while (tmpSteps[tmpStepIndex] != tmpStepFrequencies[0][k]) {
+                        tmpStepIndex++;
+                    }
+                    tmpCounts[tmpStepIndex][i] = tmpStepFrequencies[1][k];
+                }
+            }
+            // </editor-fold>
+            String[] tmpNames = tmpNameToIdMap.keySet().toArray(new String[0]);
+            int[] tmpPairBaseIds = new int[tmpNumberOfPairs];
+            int[] tmpPairNeighborIds = new int[tmpNumberOfPairs];
+            for (int i = 0; i < tmpNumberOfPairs; i++) {
+                tmpPairBaseIds[i] = tmpPairIdsList.get(i)[0];
+                tmpPairNeighborIds[i] = tmpPairIdsList.get(i)[1];
+            }
+            NearestNeighborFrequencyStore.write(
+                tmpStoreFilePathname,
+                tmpVersion,
+                tmpListVersion == null ? "" : tmpListVersion,
+                tmpNames,
+                tmpBaseIds,
+                tmpBaseNumberOfPairs,
+                tmpPairBaseIds,
+                tmpPairNeighborIds,
+                tmpSteps,
+                tmpCounts
+            );
+            return true;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            (new File(tmpStoreFilePathname)).delete();
+            return false;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Version of text file
+     *
+     * @return Version of text file
+     */
+    public String getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Number of bases
+     *
+     * @return Number of bases
+     */
+    public int getNumberOfBases() {
+        return this.baseIds.length;
+    }
+
+    /**
+     * Name of base
+     *
+     * @param aBaseIndex Index of base
+     * @return Name of base
+     */
+    public String getBase(int aBaseIndex) {
+        return this.names[this.baseIds[aBaseIndex]];
+    }
+
+    /**
+     * Number of base/nearest-neighbor pairs of base
+     *
+     * @param aBaseIndex Index of base
+     * @return Number of base/nearest-neighbor pairs of base
+     */
+    public int getNumberOfPairsOfBase(int aBaseIndex) {
+        return this.baseNumberOfPairs[aBaseIndex];
+    }
+
+    /**
+     * Number of base/nearest-neighbor pairs. NOTE: Pairs are in order of
+     * bases.
+     *
+     * @return Number of base/nearest-neighbor pairs
+     */
+    public int getNumberOfPairs() {
+        return this.pairBaseIds.length;
+    }
+
+    /**
+     * Base name of pair
+     *
+     * @param aPairIndex Index of pair
+     * @return Base name of pair
+     */
+    public String getPairBase(int aPairIndex) {
+        return this.names[this.pairBaseIds[aPairIndex]];
+    }
+
+    /**
+     * Nearest-neighbor name of pair
+     *
+     * @param aPairIndex Index of pair
+     * @return Nearest-neighbor name of pair
+     */
+    public String getPairNeighbor(int aPairIndex) {
+        return this.names[this.pairNeighborIds[aPairIndex]];
+    }
+
+    /**
+     * Number of steps
+     *
+     * @return Number of steps
+     */
+    public int getNumberOfSteps() {
+        return this.steps.length;
+    }
+
+    /**
+     * Sorted steps
+     *
+     * @return Copy of sorted steps
+     */
+    public int[] getSteps() {
+        return Arrays.copyOf(this.steps, this.steps.length);
+    }
+
+    /**
+     * Index of step
+     *
+     * @param aStep Step
+     * @return Index of step or negative value if step is not stored
+     */
+    public int getStepIndex(int aStep) {
+        return Arrays.binarySearch(this.steps, aStep);
+    }
+
+    /**
+     * Counts of all pairs for step (UNDEFINED_COUNT if pair is not defined
+     * for step)
+     *
+     * @param aStepIndex Index of step
+     * @return Counts of all pairs for step
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     * @throws IOException Thrown if binary store can not be read
+     */
+    public int[] getCounts(int aStepIndex) throws IllegalArgumentException, IOException {
+        return this.getCountMatrix(aStepIndex, 1)[0];
+    }
+
+    /**
+     * Bulk time x pair count matrix for step range (UNDEFINED_COUNT if pair
+     * is not defined for step). NOTE: The step range is read with a single 
+     * seek and no objects are created per entry.
+     *
+     * @param aFirstStepIndex Index of first step
+     * @param aNumberOfSteps Number of steps
+     * @return Count matrix with [step index - aFirstStepIndex][pair index]
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     * @throws IOException Thrown if binary store can not be read
+     */
+    public int[][] getCountMatrix(int aFirstStepIndex, int aNumberOfSteps) throws IllegalArgumentException, IOException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aFirstStepIndex < 0 || aNumberOfSteps < 0 || aFirstStepIndex + aNumberOfSteps > this.steps.length) {
+            throw new IllegalArgumentException("Step range is illegal.");
+        }
+        // </editor-fold>
+        int tmpNumberOfPairs = this.pairBaseIds.length;
+        int[][] tmpCountMatrix = new int[aNumberOfSteps][tmpNumberOfPairs];
+        if (aNumberOfSteps == 0 || tmpNumberOfPairs == 0) {
+            return tmpCountMatrix;
+        }
+        try (RandomAccessFile tmpRandomAccessFile = new RandomAccessFile(this.filePathname, "r")) {
+            tmpRandomAccessFile.seek(this.dataOffset + (long) aFirstStepIndex * (long) tmpNumberOfPairs * 4L);
+            // Read in chunks of complete steps with bounded buffer
+            int tmpStepsPerChunk = Math.max(1, ModelDefinitions.BUFFER_SIZE / (tmpNumberOfPairs * 4));
+            byte[] tmpBuffer = new byte[Math.min(tmpStepsPerChunk, aNumberOfSteps) * tmpNumberOfPairs * 4];
+            ByteBuffer tmpByteBuffer = ByteBuffer.wrap(tmpBuffer);
+            for (int i = 0; i < aNumberOfSteps; i += tmpStepsPerChunk) {
+                int tmpNumberOfChunkSteps = Math.min(tmpStepsPerChunk, aNumberOfSteps - i);
+                tmpRandomAccessFile.readFully(tmpBuffer, 0, tmpNumberOfChunkSteps * tmpNumberOfPairs * 4);
+                tmpByteBuffer.clear();
+                for (int j = 0; j < tmpNumberOfChunkSteps; j++) {
+                    tmpByteBuffer.asIntBuffer().get(tmpCountMatrix[i + j]);
+                    tmpByteBuffer.position(tmpByteBuffer.position() + tmpNumberOfPairs * 4);
+                }
+            }
+        }
+        return tmpCountMatrix;
+    }
+
+    /**
+     * String-keyed frequency map (base to nearest neighbor to frequency) for
+     * step
+     *
+     * @param aStepIndex Index of step
+     * @return Frequency map for step (only pairs that are defined for step)
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     * @throws IOException Thrown if binary store can not be read
+     */
+    public HashMap<String, HashMap<String, Integer>> getFrequencyMap(int aStepIndex) throws IllegalArgumentException, IOException {
+        int[] tmpCounts = this.getCounts(aStepIndex);
+        HashMap<String, HashMap<String, Integer>> tmpFrequencyMap = new HashMap<>();
+        for (int i = 0; i < tmpCounts.length; i++) {
+            if (tmpCounts[i] != UNDEFINED_COUNT) {
+                HashMap<String, Integer> tmpNeighborMap = tmpFrequencyMap.get(this.getPairBase(i));
+                if (tmpNeighborMap == null) {
+                    tmpNeighborMap = new HashMap<>();
+                    tmpFrequencyMap.put(this.getPairBase(i), tmpNeighborMap);
+                }
+                tmpNeighborMap.put(this.getPairNeighbor(i), tmpCounts[i]);
+            }
+        }
+        return tmpFrequencyMap;
+    }
+
+    /**
+     * Writes nearest-neighbor step-frequency map text file (see class
+     * description) with data of binary store
+     *
+     * @param aTextFilePathname Pathname of text file
+     * @throws IOException Thrown if text file can not be written
+     */
+    public void writeTextFile(String aTextFilePathname) throws IOException {
+        int[][] tmpCountMatrix = this.getCountMatrix(0, this.steps.length);
+        try (BufferedWriter tmpBufferedWriter = new BufferedWriter(new FileWriter(aTextFilePathname), ModelDefinitions.BUFFER_SIZE)) {
+            this.writeLine(tmpBufferedWriter, this.version);
+            this.writeLine(tmpBufferedWriter, String.valueOf(this.baseIds.length));
+            int tmpPairIndex = 0;
+            for (int i = 0; i < this.baseIds.length; i++) {
+                this.writeLine(tmpBufferedWriter, this.names[this.baseIds[i]]);
+                this.writeLine(tmpBufferedWriter, String.valueOf(this.baseNumberOfPairs[i]));
+                for (int j = 0; j < this.baseNumberOfPairs[i]; j++) {
+                    this.writeLine(tmpBufferedWriter, this.names[this.pairNeighborIds[tmpPairIndex]]);
+                    int tmpNumberOfStepFrequencies = 0;
+                    for (int[] tmpStepCounts : tmpCountMatrix) {
+                        if (tmpStepCounts[tmpPairIndex] != UNDEFINED_COUNT) {
+                            tmpNumberOfStepFrequencies++;
+                        }
+                    }
+                    this.writeLine(tmpBufferedWriter, String.valueOf(2 * tmpNumberOfStepFrequencies + 1));
+                    this.writeLine(tmpBufferedWriter, this.listVersion);
+                    for (int k = 0; k < this.steps.length; k++) {
+                        if (tmpCountMatrix[k][tmpPairIndex] != UNDEFINED_COUNT) {
+                            this.writeLine(tmpBufferedWriter, String.valueOf(this.steps[k]));
+                            this.writeLine(tmpBufferedWriter, String.valueOf(tmpCountMatrix[k][tmpPairIndex]));
+                        }
+                    }
+                    tmpPairIndex++;
+                }
+            }
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Writes line
+     *
+     * @param aBufferedWriter Buffered writer
+     * @param aLine Line
+     * @throws IOException Thrown if line can not be written
+     */
+    private void writeLine(BufferedWriter aBufferedWriter, String aLine) throws IOException {
+        aBufferedWriter.write(aLine);
+        aBufferedWriter.newLine();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Returns interned id of name
+     *
+     * @param aName Name
+     * @param aNameToIdMap Name to id map
+     * @return Id of name
+     * @throws IOException Thrown if name is null (end of file)
+     */
+    private static int getNameId(String aName, LinkedHashMap<String, Integer> aNameToIdMap) throws IOException {
+        if (aName == null) {
+            throw new IOException("Unexpected end of file.");
+        }
+        Integer tmpId = aNameToIdMap.get(aName);
+        if (tmpId == null) {
+            tmpId = aNameToIdMap.size();
+            aNameToIdMap.put(aName, tmpId);
+        }
+        return tmpId;
+    }
+
+    /**
+     * Writes binary store
+     *
+     * @param aFilePathname Pathname of binary store
+     * @param aVersion Version of text file
+     * @param aListVersion Version of step-frequency lists
+     * @param aNames Interned names
+     * @param aBaseIds Name ids of bases
+     * @param aBaseNumberOfPairs Number of pairs of bases
+     * @param aPairBaseIds Name ids of bases of pairs
+     * @param aPairNeighborIds Name ids of nearest neighbors of pairs
+     * @param aSteps Sorted steps
+     * @param aCounts Counts with [step index][pair index]
+     * @throws IOException Thrown if binary store can not be written
+     */
+    private static void write(
+        String aFilePathname,
+        String aVersion,
+        String aListVersion,
+        String[] aNames,
+        int[] aBaseIds,
+        int[] aBaseNumberOfPairs,
+        int[] aPairBaseIds,
+        int[] aPairNeighborIds,
+        int[] aSteps,
+        int[][] aCounts
+    ) throws IOException {
+        ByteArrayOutputStream tmpHeaderStream = new ByteArrayOutputStream();
+        DataOutputStream tmpHeaderDataStream = new DataOutputStream(tmpHeaderStream);
+        tmpHeaderDataStream.writeUTF(aVersion);
+        tmpHeaderDataStream.writeUTF(aListVersion);
+        tmpHeaderDataStream.writeInt(aNames.length);
+        for (String tmpName : aNames) {
+            tmpHeaderDataStream.writeUTF(tmpName);
+        }
+        tmpHeaderDataStream.writeInt(aBaseIds.length);
+        for (int i = 0; i < aBaseIds.length; i++) {
+            tmpHeaderDataStream.writeInt(aBaseIds[i]);
+            tmpHeaderDataStream.writeInt(aBaseNumberOfPairs[i]);
+        }
+        tmpHeaderDataStream.writeInt(aPairBaseIds.length);
+        for (int i = 0; i < aPairBaseIds.length; i++) {
+            tmpHeaderDataStream.writeInt(aPairBaseIds[i]);
+            tmpHeaderDataStream.writeInt(aPairNeighborIds[i]);
+        }
+        tmpHeaderDataStream.writeInt(aSteps.length);
+        for (int tmpStep : aSteps) {
+            tmpHeaderDataStream.writeInt(tmpStep);
+        }
+        tmpHeaderDataStream.flush();
+        try (DataOutputStream tmpDataOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(aFilePathname), ModelDefinitions.BUFFER_SIZE))) {
+            tmpDataOutputStream.writeInt(MAGIC_NUMBER);
+            tmpDataOutputStream.writeInt(FORMAT_VERSION);
+            tmpDataOutputStream.writeInt(tmpHeaderStream.size());
+            tmpHeaderStream.writeTo(tmpDataOutputStream);
+            ByteBuffer tmpByteBuffer = ByteBuffer.allocate(aPairBaseIds.length * 4);
+            for (int[] tmpStepCounts : aCounts) {
+                tmpByteBuffer.clear();
+                tmpByteBuffer.asIntBuffer().put(tmpStepCounts);
+                tmpDataOutputStream.write(tmpByteBuffer.array());
+            }
+        }
+    }
+    // </editor-fold>
+
+}
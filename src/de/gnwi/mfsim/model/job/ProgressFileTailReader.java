@@ -0,0 +1,351 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Incremental tail reader for Jdpd progress files (e.g. Ukin, UpotDpd or
+ * temperature progress). A progress file is a defined string array, i.e. its
+ * first line contains the number of following lines, the first following line
+ * contains the version and all further lines alternate between step (x-value)
+ * and progress value (y-value). Jdpd rewrites a progress file with additional
+ * lines at its end, so only newly appended complete lines are parsed with
+ * every update. The byte offset of the parsed data and a fingerprint of the
+ * last parsed bytes are remembered: A truncated or rotated (i.e. rewritten
+ * with different content) file is detected and completely re-read.
+ */
+public class ProgressFileTailReader {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Initial capacity of value arrays
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Maximum length of fingerprint in byte
+     */
+    private static final int FINGERPRINT_LENGTH = 64;
+
+    /**
+     * Maximum length of header line in byte
+     */
+    private static final int MAXIMUM_HEADER_LENGTH = 32;
+
+    /**
+     * Read buffer size in byte
+     */
+    private static final int BUFFER_SIZE = 65536;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Pathname of progress file
+     */
+    private final String filePathname;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Version (first data line, null if not yet read)
+     */
+    private String version;
+
+    /**
+     * x-values
+     */
+    private double[] xValues;
+
+    /**
+     * y-values
+     */
+    private double[] yValues;
+
+    /**
+     * Number of complete xy-pairs
+     */
+    private int numberOfPairs;
+
+    /**
+     * x-value of incomplete xy-pair
+     */
+    private double pendingXValue;
+
+    /**
+     * True: pendingXValue is valid, false: Otherwise
+     */
+    private boolean hasPendingXValue;
+
+    /**
+     * Number of parsed data lines (including version line)
+     */
+    private int numberOfParsedLines;
+
+    /**
+     * Byte offset of parsed data lines relative to start of data lines (i.e.
+     * after header line)
+     */
+    private long dataOffset;
+
+    /**
+     * Fingerprint: Last bytes of parsed data lines
+     */
+    private byte[] fingerprint;
+
+    /**
+     * Number of resets due to truncation or rotation of file
+     */
+    private int numberOfResets;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aFilePathname Pathname of progress file
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public ProgressFileTailReader(String aFilePathname) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aFilePathname == null || aFilePathname.isEmpty()) {
+            throw new IllegalArgumentException("aFilePathname is null/empty.");
+        }
+        // </editor-fold>
+        this.filePathname = aFilePathname;
+        this.numberOfResets = 0;
+        this.reset();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Parses newly appended complete lines of progress file. NOTE: A
+     * truncated or rotated file is completely re-read.
+     *
+     * @return True: Parsed data changed, false: Otherwise (e.g. file does 
+     * not exist, nothing was appended or an error occurred)
+     */
+    public synchronized boolean update() {
+        File tmpFile = new File(this.filePathname);
+        if (!tmpFile.isFile()) {
+            return false;
+        }
+        try (RandomAccessFile tmpRandomAccessFile = new RandomAccessFile(tmpFile, "r")) {
+            long tmpFileLength = tmpRandomAccessFile.length();
+            // <editor-fold defaultstate="collapsed" desc="Header line">
+            byte[] tmpHeaderBytes = new byte[(int) Math.min(MAXIMUM_HEADER_LENGTH, tmpFileLength)];
+            tmpRandomAccessFile.readFully(tmpHeaderBytes);
+            int tmpHeaderLength = -1;
+            for (int i = 0; i < tmpHeaderBytes.length; i++) {
+                if (tmpHeaderBytes[i] == '\n') {
+                    tmpHeaderLength = i + 1;
+                    break;
+                }
+            }
+            if (tmpHeaderLength < 0) {
+                // File is being written: Header line is not complete
+                return false;
+            }
+            int tmpNumberOfDefinedLines;
+            try {
+                tmpNumberOfDefinedLines = Integer.parseInt(new String(tmpHeaderBytes, 0, tmpHeaderLength, StandardCharsets.US_ASCII).trim());
+            } catch (NumberFormatException anException) {
+                return false;
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Truncation and rotation detection">
+            int tmpNumberOfResets = this.numberOfResets;
+            if (tmpHeaderLength + this.dataOffset > tmpFileLength || tmpNumberOfDefinedLines < this.numberOfParsedLines) {
+                this.resetDueToChange();
+            } else if (this.fingerprint.length > 0) {
+                byte[] tmpFingerprint = new byte[this.fingerprint.length];
+                tmpRandomAccessFile.seek(tmpHeaderLength + this.dataOffset - tmpFingerprint.length);
+                tmpRandomAccessFile.readFully(tmpFingerprint);
+                if (!Arrays.equals(tmpFingerprint, this.fingerprint)) {
+                    this.resetDueToChange();
+                }
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Parse appended complete lines">
+            int tmpNumberOfParsedLines = this.numberOfParsedLines;
+            long tmpPosition = tmpHeaderLength + this.dataOffset;
+            tmpRandomAccessFile.seek(tmpPosition);
+            byte[] tmpBuffer = new byte[BUFFER_SIZE];
+            byte[] tmpLine = new byte[FINGERPRINT_LENGTH];
+            int tmpLineLength = 0;
+            int tmpNumberOfReadBytes;
+            while (this.numberOfParsedLines < tmpNumberOfDefinedLines && (tmpNumberOfReadBytes = tmpRandomAccessFile.read(tmpBuffer)) > 0) {
+                for (int i = 0; i < tmpNumberOfReadBytes && this.numberOfParsedLines < tmpNumberOfDefinedLines; i++) {
+                    byte tmpByte = tmpBuffer[i];
+                    if (tmpByte == '\n') {
+                        tmpPosition += tmpLineLength + 1;
+                        this.parseLine(tmpLine, tmpLineLength);
+                        tmpLineLength = 0;
+                    } else {
+                        if (tmpLineLength == tmpLine.length) {
+                            tmpLine = Arrays.copyOf(tmpLine, 2 * tmpLine.length);
+                        }
+                        tmpLine[tmpLineLength++] = tmpByte;
+                    }
+                }
+            }
+            // </editor-fold>
+            if (this.numberOfParsedLines == tmpNumberOfParsedLines) {
+                // Data were changed if parsed data were reset
+                return this.numberOfResets != tmpNumberOfResets;
+            }
+            // <editor-fold defaultstate="collapsed" desc="Remember offset and fingerprint">
+            this.dataOffset = tmpPosition - tmpHeaderLength;
+            this.fingerprint = new byte[(int) Math.min(FINGERPRINT_LENGTH, this.dataOffset)];
+            tmpRandomAccessFile.seek(tmpPosition - this.fingerprint.length);
+            tmpRandomAccessFile.readFully(this.fingerprint);
+            // </editor-fold>
+            return true;
+        } catch (IOException anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return false;
+        }
+    }
+
+    /**
+     * Version (first data line)
+     *
+     * @return Version or null if not yet read
+     */
+    public synchronized String getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Number of complete xy-pairs
+     *
+     * @return Number of complete xy-pairs
+     */
+    public synchronized int getNumberOfPairs() {
+        return this.numberOfPairs;
+    }
+
+    /**
+     * x-values of complete xy-pairs
+     *
+     * @return Copy of x-values of complete xy-pairs
+     */
+    public synchronized double[] getXValues() {
+        return Arrays.copyOf(this.xValues, this.numberOfPairs);
+    }
+
+    /**
+     * y-values of complete xy-pairs
+     *
+     * @return Copy of y-values of complete xy-pairs
+     */
+    public synchronized double[] getYValues() {
+        return Arrays.copyOf(this.yValues, this.numberOfPairs);
+    }
+
+    /**
+     * Number of resets due to truncation or rotation of file
+     *
+     * @return Number of resets due to truncation or rotation of file
+     */
+    public synchronized int getNumberOfResets() {
+        return this.numberOfResets;
+    }
+
+    /**
+     * Pathname of progress file
+     *
+     * @return Pathname of progress file
+     */
+    public String getFilePathname() {
+        return this.filePathname;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Parses single complete data line
+     *
+     * @param aLine Line bytes
+     * @param aLineLength Length of line
+     */
+    private void parseLine(byte[] aLine, int aLineLength) {
+        int tmpLineLength = aLineLength;
+        if (tmpLineLength > 0 && aLine[tmpLineLength - 1] == '\r') {
+            tmpLineLength--;
+        }
+        String tmpLine = new String(aLine, 0, tmpLineLength, StandardCharsets.UTF_8);
+        if (this.numberOfParsedLines == 0) {
+            this.version = tmpLine;
+        } else {
+            double tmpValue;
+            try {
+                tmpValue = Double.parseDouble(tmpLine.trim());
+            } catch (NumberFormatException anException) {
+                tmpValue = Double.NaN;
+            }
+            if (this.hasPendingXValue) {
+                if (this.numberOfPairs == this.xValues.length) {
+                    this.xValues = Arrays.copyOf(this.xValues, 2 * this.numberOfPairs);
+                    this.yValues = Arrays.copyOf(this.yValues, 2 * this.numberOfPairs);
+                }
+                this.xValues[this.numberOfPairs] = this.pendingXValue;
+                this.yValues[this.numberOfPairs] = tmpValue;
+                this.numberOfPairs++;
+                this.hasPendingXValue = false;
+            } else {
+                this.pendingXValue = tmpValue;
+                this.hasPendingXValue = true;
+            }
+        }
+        this.numberOfParsedLines++;
+    }
+
+    /**
+     * Resets all parsed data due to truncation or rotation of file
+     */
+    private void resetDueToChange() {
+        this.reset();
+        this.numberOfResets++;
+    }
+
+    /**
+     * Resets all parsed data
+     */
+    private void reset() {
+        this.version = null;
+        this.xValues = new double[INITIAL_CAPACITY];
+        this.yValues = new double[INITIAL_CAPACITY];
+        this.numberOfPairs = 0;
+        this.pendingXValue = 0.0;
+        this.hasPendingXValue = false;
+        this.numberOfParsedLines = 0;
+        this.dataOffset = 0L;
+        this.fingerprint = new byte[0];
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,63 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Interface for job that can be scheduled by JobScheduler
+ */
+public interface SchedulableJobInterface extends Callable<Boolean> {
+
+    /**
+     * Returns number of processor cores the job requests while running
+     * (e.g. number of parallel calculators of ParallelizationInfo)
+     *
+     * @return Number of requested processor cores (greater 0)
+     */
+    int getRequestedNumberOfCores();
+
+    /**
+     * Returns descriptor of job for persistence of the job queue, i.e. the
+     * information to re-create the job after a restart of the application.
+     * NOTE: Descriptor fields are not allowed to contain tab or line break
+     * characters.
+     *
+     * @return Descriptor of job or null if job can not be persisted
+     */
+    String[] getQueueDescriptor();
+
+    /**
+     * Sets information that job is submitted to execution (is called by
+     * JobScheduler immediately before the job is started)
+     */
+    void setSubmittedToExecutorService();
+
+    /**
+     * Sets number of processor cores that are reserved for the job (is
+     * called by JobScheduler immediately before the job is started). NOTE:
+     * The job must not use more cores than granted.
+     *
+     * @param aNumberOfCores Number of granted processor cores (greater 0,
+     * requested number of cores limited to core budget of scheduler)
+     */
+    void setGrantedNumberOfCores(int aNumberOfCores);
+
+}
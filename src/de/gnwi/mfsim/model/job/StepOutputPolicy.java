@@ -0,0 +1,205 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+/**
+ * Storage policy for particle positions of simulation steps: After a
+ * decimation start step only every n-th output step is kept, the last k output
+ * steps are always kept with full precision and all other kept steps may be
+ * written with a reduced number of after-decimal-separator digits.
+ * NOTE: This class is immutable.
+ */
+public final class StepOutputPolicy {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Last simulation step
+     */
+    private final int lastStep;
+
+    /**
+     * Output frequency of simulation steps
+     */
+    private final int outputFrequency;
+
+    /**
+     * Decimation interval: Only every n-th output step is kept after
+     * decimation start step (1: No decimation)
+     */
+    private final int decimationInterval;
+
+    /**
+     * Simulation step from which on output steps are decimated
+     */
+    private final int decimationStartStep;
+
+    /**
+     * Number of last output steps that are written with full precision
+     */
+    private final int numberOfFullPrecisionSteps;
+
+    /**
+     * Full number of after-decimal-separator digits for particle positions
+     * (-1: Unrestricted)
+     */
+    private final int fullNumberOfAfterDecimalDigits;
+
+    /**
+     * Reduced number of after-decimal-separator digits for particle positions
+     * (-1: Unrestricted)
+     */
+    private final int reducedNumberOfAfterDecimalDigits;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aLastStep Last simulation step
+     * @param anOutputFrequency Output frequency of simulation steps
+     * @param aDecimationInterval Decimation interval: Only every n-th output
+     * step is kept after decimation start step (1: No decimation)
+     * @param aDecimationStartStep Simulation step from which on output steps
+     * are decimated
+     * @param aNumberOfFullPrecisionSteps Number of last output steps that are
+     * written with full precision
+     * @param aFullNumberOfAfterDecimalDigits Full number of
+     * after-decimal-separator digits for particle positions (-1: Unrestricted)
+     * @param aReducedNumberOfAfterDecimalDigits Reduced number of
+     * after-decimal-separator digits for particle positions (-1: Unrestricted).
+     * NOTE: Value is corrected to full number if it is not smaller.
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public StepOutputPolicy(
+        int aLastStep,
+        int anOutputFrequency,
+        int aDecimationInterval,
+        int aDecimationStartStep,
+        int aNumberOfFullPrecisionSteps,
+        int aFullNumberOfAfterDecimalDigits,
+        int aReducedNumberOfAfterDecimalDigits
+    ) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aLastStep < 0) {
+            throw new IllegalArgumentException("aLastStep is less than 0.");
+        }
+        if (anOutputFrequency < 1) {
+            throw new IllegalArgumentException("anOutputFrequency is less than 1.");
+        }
+        if (aDecimationInterval < 1) {
+            throw new IllegalArgumentException("aDecimationInterval is less than 1.");
+        }
+        if (aDecimationStartStep < 0) {
+            throw new IllegalArgumentException("aDecimationStartStep is less than 0.");
+        }
+        if (aNumberOfFullPrecisionSteps < 1) {
+            throw new IllegalArgumentException("aNumberOfFullPrecisionSteps is less than 1.");
+        }
+        if (aFullNumberOfAfterDecimalDigits < -1 || aReducedNumberOfAfterDecimalDigits < -1) {
+            throw new IllegalArgumentException("Number of after-decimal-separator digits is less than -1.");
+        }
+        // </editor-fold>
+        this.lastStep = aLastStep;
+        this.outputFrequency = anOutputFrequency;
+        this.decimationInterval = aDecimationInterval;
+        this.decimationStartStep = aDecimationStartStep;
+        this.numberOfFullPrecisionSteps = aNumberOfFullPrecisionSteps;
+        this.fullNumberOfAfterDecimalDigits = aFullNumberOfAfterDecimalDigits;
+        if (aReducedNumberOfAfterDecimalDigits == -1
+            || aFullNumberOfAfterDecimalDigits != -1 && aReducedNumberOfAfterDecimalDigits >= aFullNumberOfAfterDecimalDigits
+        ) {
+            this.reducedNumberOfAfterDecimalDigits = aFullNumberOfAfterDecimalDigits;
+        } else {
+            this.reducedNumberOfAfterDecimalDigits = aReducedNumberOfAfterDecimalDigits;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns output mode for particle positions of simulation step
+     *
+     * @param aStep Simulation step
+     * @return Output mode for particle positions of simulation step
+     */
+    public StepOutputModeEnum getStepOutputMode(int aStep) {
+        // Last output steps: Always kept with full precision (e.g. for RDF calculation)
+        if (aStep > this.lastStep - this.numberOfFullPrecisionSteps * this.outputFrequency) {
+            return StepOutputModeEnum.FULL_PRECISION;
+        }
+        if (this.decimationInterval > 1 
+            && aStep >= this.decimationStartStep 
+            && (aStep / this.outputFrequency) % this.decimationInterval != 0
+        ) {
+            return StepOutputModeEnum.OMITTED;
+        }
+        if (this.isReducedPrecision()) {
+            return StepOutputModeEnum.REDUCED_PRECISION;
+        } else {
+            return StepOutputModeEnum.FULL_PRECISION;
+        }
+    }
+
+    /**
+     * Returns if policy changes output, i.e. if steps are omitted or written
+     * with reduced precision
+     *
+     * @return True: Policy changes output, false: Otherwise (all steps are
+     * written with full precision)
+     */
+    public boolean isActive() {
+        return this.decimationInterval > 1 || this.isReducedPrecision();
+    }
+
+    /**
+     * Returns if steps before the last output steps are written with reduced
+     * precision
+     *
+     * @return True: Steps before the last output steps are written with
+     * reduced precision, false: Otherwise
+     */
+    public boolean isReducedPrecision() {
+        return this.reducedNumberOfAfterDecimalDigits != this.fullNumberOfAfterDecimalDigits;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Full number of after-decimal-separator digits for particle positions
+     *
+     * @return Full number of after-decimal-separator digits for particle
+     * positions (-1: Unrestricted)
+     */
+    public int getFullNumberOfAfterDecimalDigits() {
+        return this.fullNumberOfAfterDecimalDigits;
+    }
+
+    /**
+     * Reduced number of after-decimal-separator digits for particle positions
+     *
+     * @return Reduced number of after-decimal-separator digits for particle
+     * positions (-1: Unrestricted)
+     */
+    public int getReducedNumberOfAfterDecimalDigits() {
+        return this.reducedNumberOfAfterDecimalDigits;
+    }
+    // </editor-fold>
+
+}
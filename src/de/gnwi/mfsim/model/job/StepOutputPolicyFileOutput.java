@@ -0,0 +1,350 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job;
+
+import de.gnwi.jdpd.particlePosition.ParticlePosition;
+import de.gnwi.jdpd.particlePosition.ParticlePositionPool;
+import de.gnwi.jdpd.rg.MoleculeRgValue;
+import de.gnwi.jdpd.samples.FileOutput;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import java.io.File;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Jdpd file output that applies a step output policy while writing particle
+ * positions of simulation steps: Steps may be omitted or written with a
+ * reduced number of after-decimal-separator digits. All other output (step
+ * properties, radius of gyration, nearest-neighbor data, restart info) is
+ * written unchanged.
+ * NOTE: Particle positions of simulation steps are written by separate
+ * internal Jdpd file outputs (one per precision) whose step properties are
+ * written to a temporary directory that is deleted on finish.
+ */
+public class StepOutputPolicyFileOutput extends FileOutput {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Step output policy
+     */
+    private final StepOutputPolicy stepOutputPolicy;
+
+    /**
+     * Temporary directory path
+     */
+    private final String temporaryDirectoryPath;
+
+    /**
+     * File output for particle positions with full precision
+     */
+    private final FileOutput fullPrecisionFileOutput;
+
+    /**
+     * File output for particle positions with reduced precision (may be null)
+     */
+    private final FileOutput reducedPrecisionFileOutput;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Particle position pool (may be null)
+     */
+    private ParticlePositionPool particlePositionPool;
+
+    /**
+     * Number of omitted simulation steps
+     */
+    private int numberOfOmittedSteps;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param anOutputDirectoryPath Output directory path
+     * @param aPropertiesDirectoryPath Properties directory path
+     * @param aRadiusOfGyrationDirectoryPath Radius of gyration directory path
+     * (may be null)
+     * @param aNearestNeighborDirectoryPath Nearest-neighbor directory path
+     * (may be null)
+     * @param aSimulationStepParticlePositionsDirectoryPath Simulation step
+     * particle positions directory path
+     * @param aMinimizationStepParticlePositionsDirectoryPath Minimization step
+     * particle positions directory path (may be null)
+     * @param aParallelTaskNumber Number of parallel tasks for writing particle
+     * positions
+     * @param aStepOutputPolicy Step output policy
+     * @param aTemporaryDirectoryPath Path of temporary directory (is created
+     * and deleted on finish)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public StepOutputPolicyFileOutput(
+        String anOutputDirectoryPath,
+        String aPropertiesDirectoryPath,
+        String aRadiusOfGyrationDirectoryPath,
+        String aNearestNeighborDirectoryPath,
+        String aSimulationStepParticlePositionsDirectoryPath,
+        String aMinimizationStepParticlePositionsDirectoryPath,
+        int aParallelTaskNumber,
+        StepOutputPolicy aStepOutputPolicy,
+        String aTemporaryDirectoryPath
+    ) throws IllegalArgumentException {
+        // NOTE: Simulation step particle positions are NOT written by super class
+        super(
+            anOutputDirectoryPath,
+            aPropertiesDirectoryPath,
+            aRadiusOfGyrationDirectoryPath,
+            aNearestNeighborDirectoryPath,
+            null,
+            aMinimizationStepParticlePositionsDirectoryPath,
+            aParallelTaskNumber,
+            aStepOutputPolicy == null ? -1 : aStepOutputPolicy.getFullNumberOfAfterDecimalDigits()
+        );
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aSimulationStepParticlePositionsDirectoryPath == null || aSimulationStepParticlePositionsDirectoryPath.isEmpty()) {
+            throw new IllegalArgumentException("aSimulationStepParticlePositionsDirectoryPath is null/empty.");
+        }
+        if (aStepOutputPolicy == null) {
+            throw new IllegalArgumentException("aStepOutputPolicy is null.");
+        }
+        if (aTemporaryDirectoryPath == null || aTemporaryDirectoryPath.isEmpty()) {
+            throw new IllegalArgumentException("aTemporaryDirectoryPath is null/empty.");
+        }
+        if (!(new File(aTemporaryDirectoryPath)).mkdirs()) {
+            throw new IllegalArgumentException("aTemporaryDirectoryPath could not be created.");
+        }
+        // </editor-fold>
+        this.stepOutputPolicy = aStepOutputPolicy;
+        this.temporaryDirectoryPath = aTemporaryDirectoryPath;
+        // NOTE: Final particle positions are copied to output directory by file output with full precision
+        this.fullPrecisionFileOutput = 
+            new FileOutput(
+                anOutputDirectoryPath, 
+                aTemporaryDirectoryPath, 
+                null, 
+                null, 
+                aSimulationStepParticlePositionsDirectoryPath, 
+                null, 
+                aParallelTaskNumber, 
+                aStepOutputPolicy.getFullNumberOfAfterDecimalDigits()
+            );
+        if (aStepOutputPolicy.isReducedPrecision()) {
+            this.reducedPrecisionFileOutput = 
+                new FileOutput(
+                    aTemporaryDirectoryPath, 
+                    aTemporaryDirectoryPath, 
+                    null, 
+                    null, 
+                    aSimulationStepParticlePositionsDirectoryPath, 
+                    null, 
+                    aParallelTaskNumber, 
+                    aStepOutputPolicy.getReducedNumberOfAfterDecimalDigits()
+                );
+        } else {
+            this.reducedPrecisionFileOutput = null;
+        }
+        this.particlePositionPool = null;
+        this.numberOfOmittedSteps = 0;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public overridden methods">
+    /**
+     * Sets simulation step information. Particle positions are written
+     * according to step output policy.
+     *
+     * @param aStep Simulation step
+     * @param aTemperature Temperature
+     * @param aUpotDpd DPD potential energy
+     * @param aUpotBond Bond potential energy
+     * @param aUpotElectrostatics Electrostatics potential energy
+     * @param aUpotTotal Total potential energy
+     * @param aUkin Kinetic energy
+     * @param aUtotal Total energy
+     * @param aSurfaceTensionAlongX Surface tension along x
+     * @param aSurfaceTensionAlongY Surface tension along y
+     * @param aSurfaceTensionAlongZ Surface tension along z
+     * @param aSurfaceTensionNorm Surface tension norm
+     * @param aDpdSurfaceTensionAlongX DPD surface tension along x
+     * @param aDpdSurfaceTensionAlongY DPD surface tension along y
+     * @param aDpdSurfaceTensionAlongZ DPD surface tension along z
+     * @param aDpdSurfaceTensionNorm DPD surface tension norm
+     * @param aMoleculeRgValues Molecule radius of gyration values (may be
+     * null)
+     * @param aBaseMoleculeParticleToNearestNeighborMoleculeParticleFrequencyMap Nearest-neighbor frequency map (may be null)
+     * @param aBaseMoleculeParticleToNearestNeighborParticleFrequencyMap Nearest-neighbor frequency map (may be null)
+     * @param aBaseMoleculeParticleToNearestNeighborMoleculeFrequencyMap Nearest-neighbor frequency map (may be null)
+     * @param aBaseMoleculeToNearestNeighborMoleculeFrequencyMap Nearest-neighbor frequency map (may be null)
+     * @param aBaseMoleculeToNearestNeighborMoleculeTupleFrequencyMap Nearest-neighbor frequency map (may be null)
+     * @param aParticlePositions Particle positions
+     */
+    @Override
+    public void setSimulationStepInformation(
+        int aStep,
+        double aTemperature,
+        double aUpotDpd,
+        double aUpotBond,
+        double aUpotElectrostatics,
+        double aUpotTotal,
+        double aUkin,
+        double aUtotal,
+        double aSurfaceTensionAlongX,
+        double aSurfaceTensionAlongY,
+        double aSurfaceTensionAlongZ,
+        double aSurfaceTensionNorm,
+        double aDpdSurfaceTensionAlongX,
+        double aDpdSurfaceTensionAlongY,
+        double aDpdSurfaceTensionAlongZ,
+        double aDpdSurfaceTensionNorm,
+        MoleculeRgValue[] aMoleculeRgValues,
+        HashMap<String, HashMap<String, Integer>> aBaseMoleculeParticleToNearestNeighborMoleculeParticleFrequencyMap,
+        HashMap<String, HashMap<String, Integer>> aBaseMoleculeParticleToNearestNeighborParticleFrequencyMap,
+        HashMap<String, HashMap<String, Integer>> aBaseMoleculeParticleToNearestNeighborMoleculeFrequencyMap,
+        HashMap<String, HashMap<String, Integer>> aBaseMoleculeToNearestNeighborMoleculeFrequencyMap,
+        HashMap<String, HashMap<String, Integer>> aBaseMoleculeToNearestNeighborMoleculeTupleFrequencyMap,
+        ParticlePosition[] aParticlePositions
+    ) {
+        super.setSimulationStepInformation(
+            aStep, 
+            aTemperature, 
+            aUpotDpd, 
+            aUpotBond, 
+            aUpotElectrostatics, 
+            aUpotTotal, 
+            aUkin, 
+            aUtotal, 
+            aSurfaceTensionAlongX, 
+            aSurfaceTensionAlongY, 
+            aSurfaceTensionAlongZ, 
+            aSurfaceTensionNorm, 
+            aDpdSurfaceTensionAlongX, 
+            aDpdSurfaceTensionAlongY, 
+            aDpdSurfaceTensionAlongZ, 
+            aDpdSurfaceTensionNorm, 
+            aMoleculeRgValues, 
+            aBaseMoleculeParticleToNearestNeighborMoleculeParticleFrequencyMap, 
+            aBaseMoleculeParticleToNearestNeighborParticleFrequencyMap, 
+            aBaseMoleculeParticleToNearestNeighborMoleculeFrequencyMap, 
+            aBaseMoleculeToNearestNeighborMoleculeFrequencyMap, 
+            aBaseMoleculeToNearestNeighborMoleculeTupleFrequencyMap, 
+            aParticlePositions
+        );
+        if (aParticlePositions == null) {
+            return;
+        }
+        switch (this.stepOutputPolicy.getStepOutputMode(aStep)) {
+            case OMITTED:
+                this.numberOfOmittedSteps++;
+                // Particle positions are not written: Release for reuse
+                if (this.particlePositionPool != null) {
+                    for (ParticlePosition tmpParticlePosition : aParticlePositions) {
+                        this.particlePositionPool.setParticlePositionForReuse(tmpParticlePosition);
+                    }
+                }
+                break;
+            case REDUCED_PRECISION:
+                this.setParticlePositions(this.reducedPrecisionFileOutput, aStep, aParticlePositions);
+                break;
+            default:
+                this.setParticlePositions(this.fullPrecisionFileOutput, aStep, aParticlePositions);
+                break;
+        }
+    }
+
+    /**
+     * Sets particle position pool
+     *
+     * @param aParticlePositionPool Particle position pool
+     */
+    @Override
+    public void setParticlePositionPool(ParticlePositionPool aParticlePositionPool) {
+        super.setParticlePositionPool(aParticlePositionPool);
+        this.particlePositionPool = aParticlePositionPool;
+        this.fullPrecisionFileOutput.setParticlePositionPool(aParticlePositionPool);
+        if (this.reducedPrecisionFileOutput != null) {
+            this.reducedPrecisionFileOutput.setParticlePositionPool(aParticlePositionPool);
+        }
+    }
+
+    /**
+     * Finishes output: Waits for all particle positions to be written and
+     * deletes temporary directory
+     */
+    @Override
+    public void finish() {
+        super.finish();
+        this.fullPrecisionFileOutput.finish();
+        if (this.reducedPrecisionFileOutput != null) {
+            this.reducedPrecisionFileOutput.finish();
+        }
+        (new FileUtilityMethods()).deleteDirectory(this.temporaryDirectoryPath);
+    }
+
+    /**
+     * Returns queue with file pathnames of written particle positions files
+     *
+     * @return Queue with file pathnames of written particle positions files
+     */
+    @Override
+    public ConcurrentLinkedQueue<String> getParticlePositionsFilePathnameQueue() {
+        ConcurrentLinkedQueue<String> tmpParticlePositionsFilePathnameQueue = new ConcurrentLinkedQueue<>(this.fullPrecisionFileOutput.getParticlePositionsFilePathnameQueue());
+        if (this.reducedPrecisionFileOutput != null) {
+            tmpParticlePositionsFilePathnameQueue.addAll(this.reducedPrecisionFileOutput.getParticlePositionsFilePathnameQueue());
+        }
+        return tmpParticlePositionsFilePathnameQueue;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Number of omitted simulation steps
+     *
+     * @return Number of omitted simulation steps
+     */
+    public int getNumberOfOmittedSteps() {
+        return this.numberOfOmittedSteps;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Passes particle positions of simulation step to file output (step
+     * properties are NOT passed)
+     *
+     * @param aFileOutput File output
+     * @param aStep Simulation step
+     * @param aParticlePositions Particle positions
+     */
+    private void setParticlePositions(FileOutput aFileOutput, int aStep, ParticlePosition[] aParticlePositions) {
+        aFileOutput.setSimulationStepInformation(
+            aStep, 
+            0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 
+            null, 
+            null, 
+            null, 
+            null, 
+            null, 
+            null, 
+            aParticlePositions
+        );
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,111 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.mfsim.model.job.HeadlessJobRunner;
+import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class HeadlessJobRunner
+ */
+public class TestHeadlessJobRunner extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of JSON lines
+     */
+    public void testJsonLine() {
+        String tmpJsonLine = HeadlessJobRunner.getJsonLine("progress", "job", "C:\\Jobs\\\"A\"\tB", "percent", 42, "success", true, "remaining", null);
+        assertTrue("Test1", tmpJsonLine.startsWith("{\"event\":\"progress\",\"time\":"));
+        assertTrue("Test2", tmpJsonLine.endsWith(",\"job\":\"C:\\\\Jobs\\\\\\\"A\\\"\\tB\",\"percent\":42,\"success\":true,\"remaining\":null}"));
+        assertEquals("Test3", -1, tmpJsonLine.indexOf('\n'));
+        try {
+            HeadlessJobRunner.getJsonLine("progress", "job");
+            fail("Test4");
+        } catch (IllegalArgumentException anException) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test of illegal arguments
+     */
+    public void testIllegalArguments() {
+        String[][] tmpIllegalArguments = new String[][] {
+            new String[0],
+            new String[] {"-cores", "0", "JobInput"},
+            new String[] {"-cores", "abc", "JobInput"},
+            new String[] {"-parallel"},
+            new String[] {"-cores", "2"}
+        };
+        for (String[] tmpArguments : tmpIllegalArguments) {
+            ByteArrayOutputStream tmpOutput = new ByteArrayOutputStream();
+            ByteArrayOutputStream tmpError = new ByteArrayOutputStream();
+            assertEquals("Test1", 2, HeadlessJobRunner.execute(tmpArguments, new PrintStream(tmpOutput), new PrintStream(tmpError)));
+            assertEquals("Test2", 0, tmpOutput.size());
+            assertTrue("Test3", tmpError.toString().startsWith("Usage: HeadlessJobRunner"));
+        }
+    }
+
+    /**
+     * Test of core budget and exit value of run: A job input that can not be
+     * read and a job input without simulation input both fail
+     */
+    public void testCoreBudgetAndExitValue() {
+        int tmpNumberOfParallelCalculators = Preferences.getInstance().getNumberOfParallelCalculators();
+        File tmpJobInputDirectory = new File(System.getProperty("user.dir"), "~" + (new StringUtilityMethods()).getGloballyUniqueID());
+        try {
+            assertTrue("Test1", tmpJobInputDirectory.mkdir());
+            // Job requests more cores than the budget
+            Preferences.getInstance().setNumberOfParallelCalculators(8);
+            ByteArrayOutputStream tmpOutput = new ByteArrayOutputStream();
+            ByteArrayOutputStream tmpError = new ByteArrayOutputStream();
+            String[] tmpArguments = new String[] {
+                "-cores", "3",
+                "-parallel", "2",
+                "-description", "Test",
+                tmpJobInputDirectory.getAbsolutePath(),
+                tmpJobInputDirectory.getAbsolutePath() + File.separatorChar + "NotExisting"
+            };
+            assertEquals("Test2", 1, HeadlessJobRunner.execute(tmpArguments, new PrintStream(tmpOutput), new PrintStream(tmpError)));
+            assertEquals("Test3", 0, tmpError.size());
+            String tmpJsonLines = tmpOutput.toString();
+            assertTrue("Test4", tmpJsonLines.contains("{\"event\":\"run\","));
+            assertTrue("Test5", tmpJsonLines.contains(",\"jobs\":2,\"cores\":3,\"parallel\":2}"));
+            assertTrue("Test6", tmpJsonLines.contains("{\"event\":\"submitted\","));
+            assertTrue("Test7", tmpJsonLines.contains(",\"cores\":8}"));
+            // Granted cores are limited to core budget
+            assertTrue("Test8", tmpJsonLines.contains("{\"event\":\"started\","));
+            assertTrue("Test9", tmpJsonLines.contains(",\"cores\":3}"));
+            assertTrue("Test10", tmpJsonLines.contains("\"status\":\"JOB_FINISHED_WITH_FAILURE\""));
+            assertTrue("Test11", tmpJsonLines.contains(",\"jobs\":2,\"succeeded\":0,\"failed\":2}"));
+        } finally {
+            Preferences.getInstance().setNumberOfParallelCalculators(tmpNumberOfParallelCalculators);
+            tmpJobInputDirectory.delete();
+        }
+    }
+    // </editor-fold>
+
+}
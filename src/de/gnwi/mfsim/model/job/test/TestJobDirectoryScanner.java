@@ -0,0 +1,162 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.mfsim.model.job.JobDirectoryParserInterface;
+import de.gnwi.mfsim.model.job.JobDirectoryScanner;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class JobDirectoryScanner
+ */
+public class TestJobDirectoryScanner extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Prefix of job directories
+     */
+    private static final String PREFIX = "Job_";
+
+    /**
+     * Name of information file
+     */
+    private static final String INFORMATION_FILENAME = "Info.txt";
+
+    /**
+     * Name of manifest file
+     */
+    private static final String MANIFEST_FILENAME = "Manifest.txt";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class CountingParser">
+    /**
+     * Parser that counts parsed and restored job directories: Job object is
+     * line 2 of information file, a job directory is invalid if line 1 is not
+     * "Valid"
+     */
+    private static class CountingParser implements JobDirectoryParserInterface<String> {
+
+        /**
+         * Number of parsed job directories
+         */
+        final AtomicInteger numberOfParsedJobs = new AtomicInteger(0);
+
+        /**
+         * Number of restored job objects
+         */
+        final AtomicInteger numberOfRestoredJobs = new AtomicInteger(0);
+
+        @Override
+        public String parse(String aJobDirectoryPath) {
+            this.numberOfParsedJobs.incrementAndGet();
+            String[] tmpLines = (new FileUtilityMethods()).readDefinedStringArrayFromFile(aJobDirectoryPath + File.separatorChar + INFORMATION_FILENAME);
+            return this.getJob(tmpLines);
+        }
+
+        @Override
+        public String restore(String aJobDirectoryPath, String[] anInformationLines) {
+            this.numberOfRestoredJobs.incrementAndGet();
+            return this.getJob(anInformationLines);
+        }
+
+        /**
+         * Job object from information lines
+         *
+         * @param aLines Information lines
+         * @return Job object or null
+         */
+        private String getJob(String[] aLines) {
+            if (aLines == null || aLines.length != 2 || !"Valid".equals(aLines[0])) {
+                return null;
+            }
+            return aLines[1];
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of manifest: Unchanged job directories are not parsed again after
+     * restart
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testManifest() throws Exception {
+        FileUtilityMethods tmpFileUtilityMethods = new FileUtilityMethods();
+        File tmpParentDirectory = new File(System.getProperty("user.dir"), "~" + (new StringUtilityMethods()).getGloballyUniqueID());
+        try {
+            assertTrue("Test1", tmpParentDirectory.mkdir());
+            this.createJobDirectory(tmpParentDirectory, "1", new String[] {"Valid", "Job\t1 \\ \"A\""});
+            this.createJobDirectory(tmpParentDirectory, "2", new String[] {"Valid", "Job 2"});
+            this.createJobDirectory(tmpParentDirectory, "3", new String[] {"Invalid", "Job 3"});
+            // First scan: All job directories are parsed
+            CountingParser tmpParser = new CountingParser();
+            JobDirectoryScanner<String> tmpScanner = new JobDirectoryScanner<>(PREFIX, INFORMATION_FILENAME, MANIFEST_FILENAME, tmpParser);
+            assertTrue("Test2", tmpScanner.scan(tmpParentDirectory.getAbsolutePath()));
+            assertEquals("Test3", 3, tmpParser.numberOfParsedJobs.get());
+            assertEquals("Test4", 2, tmpScanner.getJobList().size());
+            assertTrue("Test5", tmpScanner.getJobList().containsAll(Arrays.asList("Job\t1 \\ \"A\"", "Job 2")));
+            assertFalse("Test6", tmpScanner.scan(tmpParentDirectory.getAbsolutePath()));
+            assertEquals("Test7", 3, tmpParser.numberOfParsedJobs.get());
+            // Restart: Valid job objects are restored, nothing is parsed
+            tmpParser = new CountingParser();
+            tmpScanner = new JobDirectoryScanner<>(PREFIX, INFORMATION_FILENAME, MANIFEST_FILENAME, tmpParser);
+            assertTrue("Test8", tmpScanner.scan(tmpParentDirectory.getAbsolutePath()));
+            assertEquals("Test9", 0, tmpParser.numberOfParsedJobs.get());
+            assertEquals("Test10", 2, tmpParser.numberOfRestoredJobs.get());
+            assertTrue("Test11", tmpScanner.getJobList().containsAll(Arrays.asList("Job\t1 \\ \"A\"", "Job 2")));
+            // Restart after change of information file: Only changed job directory is parsed
+            String tmpInformationFilePathname = tmpParentDirectory.getAbsolutePath() + File.separatorChar + PREFIX + "2" + File.separatorChar + INFORMATION_FILENAME;
+            assertTrue("Test12", tmpFileUtilityMethods.deleteSingleFile(tmpInformationFilePathname));
+            assertTrue("Test13", tmpFileUtilityMethods.writeDefinedStringArrayToFile(new String[] {"Valid", "Job 2 changed"}, tmpInformationFilePathname));
+            tmpParser = new CountingParser();
+            tmpScanner = new JobDirectoryScanner<>(PREFIX, INFORMATION_FILENAME, MANIFEST_FILENAME, tmpParser);
+            assertTrue("Test14", tmpScanner.scan(tmpParentDirectory.getAbsolutePath()));
+            assertEquals("Test15", 1, tmpParser.numberOfParsedJobs.get());
+            assertEquals("Test16", 1, tmpParser.numberOfRestoredJobs.get());
+            assertTrue("Test17", tmpScanner.getJobList().containsAll(Arrays.asList("Job\t1 \\ \"A\"", "Job 2 changed")));
+        } finally {
+            tmpFileUtilityMethods.deleteDirectory(tmpParentDirectory);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Creates job directory with information file
+     *
+     * @param aParentDirectory Parent directory
+     * @param aName Name of job directory (without prefix)
+     * @param anInformationLines Lines of information file
+     */
+    private void createJobDirectory(File aParentDirectory, String aName, String[] anInformationLines) {
+        File tmpJobDirectory = new File(aParentDirectory, PREFIX + aName);
+        assertTrue(tmpJobDirectory.mkdir());
+        assertTrue((new FileUtilityMethods()).writeDefinedStringArrayToFile(anInformationLines, tmpJobDirectory.getAbsolutePath() + File.separatorChar + INFORMATION_FILENAME));
+    }
+    // </editor-fold>
+
+}
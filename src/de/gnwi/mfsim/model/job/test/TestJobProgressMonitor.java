@@ -0,0 +1,101 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.mfsim.model.job.JobProgressMonitor;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class JobProgressMonitor
+ */
+public class TestJobProgressMonitor extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of push-based and coalesced progress updates
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testCoalescedUpdates() throws Exception {
+        final JobProgressMonitor tmpJobProgressMonitor = new JobProgressMonitor(200L);
+        // No change: Timeout
+        assertFalse("Test1", tmpJobProgressMonitor.awaitChange(20L));
+        // Change is pushed to waiting consumer without delay
+        Thread tmpProducer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(300L);
+                } catch (InterruptedException anException) {
+                    // Nothing to do
+                }
+                for (int i = 0; i <= 100; i++) {
+                    tmpJobProgressMonitor.setProgressInPercent(i);
+                }
+            }
+        });
+        tmpProducer.start();
+        long tmpStartTime = System.currentTimeMillis();
+        assertTrue("Test2", tmpJobProgressMonitor.awaitChange(10000L));
+        assertTrue("Test3", System.currentTimeMillis() - tmpStartTime < 5000L);
+        tmpProducer.join();
+        // All changes are coalesced into one update with latest state
+        assertEquals("Test4", 100, tmpJobProgressMonitor.getProgressInPercent());
+        tmpStartTime = System.currentTimeMillis();
+        tmpJobProgressMonitor.setRemainingTime("1 min");
+        assertTrue("Test5", tmpJobProgressMonitor.awaitChange(10000L));
+        // Bounded update rate: Minimum update interval is respected
+        assertTrue("Test6", System.currentTimeMillis() - tmpStartTime >= 150L);
+        assertFalse("Test7", tmpJobProgressMonitor.awaitChange(20L));
+    }
+
+    /**
+     * Test of stop request that wakes up consumer within minimum update
+     * interval
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testStopRequest() throws Exception {
+        final JobProgressMonitor tmpJobProgressMonitor = new JobProgressMonitor(5000L);
+        // Start of minimum update interval
+        tmpJobProgressMonitor.signalChange();
+        assertTrue("Test1", tmpJobProgressMonitor.awaitChange(10000L));
+        Thread tmpStopper = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException anException) {
+                    // Nothing to do
+                }
+                tmpJobProgressMonitor.signalStop();
+            }
+        });
+        tmpStopper.start();
+        long tmpStartTime = System.currentTimeMillis();
+        assertTrue("Test2", tmpJobProgressMonitor.awaitChange(10000L));
+        assertTrue("Test3", System.currentTimeMillis() - tmpStartTime < 2500L);
+        tmpStopper.join();
+        // After stop request: No further change
+        assertFalse("Test4", tmpJobProgressMonitor.awaitChange(20L));
+    }
+    // </editor-fold>
+
+}
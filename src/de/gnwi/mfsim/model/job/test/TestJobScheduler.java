@@ -0,0 +1,265 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.mfsim.model.job.JobScheduler;
+import de.gnwi.mfsim.model.job.SchedulableJobInterface;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class JobScheduler
+ */
+public class TestJobScheduler extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class TestJob">
+    /**
+     * Job that runs until it is released
+     */
+    private static class TestJob implements SchedulableJobInterface {
+
+        /**
+         * Latch for release
+         */
+        private final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+        /**
+         * Requested number of cores
+         */
+        private final int numberOfCores;
+
+        /**
+         * Queue descriptor
+         */
+        private final String[] queueDescriptor;
+
+        /**
+         * True: Job is submitted, false: Otherwise
+         */
+        private volatile boolean isSubmitted = false;
+
+        /**
+         * Number of granted cores
+         */
+        private volatile int grantedNumberOfCores = 0;
+
+        /**
+         * Constructor
+         *
+         * @param aNumberOfCores Requested number of cores
+         * @param aQueueDescriptor Queue descriptor (may be null)
+         */
+        TestJob(int aNumberOfCores, String[] aQueueDescriptor) {
+            this.numberOfCores = aNumberOfCores;
+            this.queueDescriptor = aQueueDescriptor;
+        }
+
+        @Override
+        public Boolean call() throws Exception {
+            return this.releaseLatch.await(30, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public int getRequestedNumberOfCores() {
+            return this.numberOfCores;
+        }
+
+        @Override
+        public String[] getQueueDescriptor() {
+            return this.queueDescriptor;
+        }
+
+        @Override
+        public void setSubmittedToExecutorService() {
+            this.isSubmitted = true;
+        }
+
+        @Override
+        public void setGrantedNumberOfCores(int aNumberOfCores) {
+            this.grantedNumberOfCores = aNumberOfCores;
+        }
+
+        /**
+         * Releases job
+         */
+        void release() {
+            this.releaseLatch.countDown();
+        }
+
+        /**
+         * True: Job is submitted, false: Otherwise
+         *
+         * @return True: Job is submitted, false: Otherwise
+         */
+        boolean isSubmitted() {
+            return this.isSubmitted;
+        }
+
+        /**
+         * Number of granted cores
+         *
+         * @return Number of granted cores
+         */
+        int getGrantedNumberOfCores() {
+            return this.grantedNumberOfCores;
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of admission according to core budget
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testCoreBudgetAdmission() throws Exception {
+        JobScheduler tmpJobScheduler = new JobScheduler(4, 10, 0L, null);
+        TestJob[] tmpJobs = new TestJob[] {new TestJob(2, null), new TestJob(2, null), new TestJob(2, null)};
+        for (TestJob tmpJob : tmpJobs) {
+            assertTrue("Test1", tmpJobScheduler.submit(tmpJob, 0));
+        }
+        assertFalse("Test2", tmpJobScheduler.submit(tmpJobs[0], 0));
+        assertEquals("Test3", 2, tmpJobScheduler.getNumberOfRunningJobs());
+        assertEquals("Test4", 1, tmpJobScheduler.getNumberOfPendingJobs());
+        assertEquals("Test5", 4, tmpJobScheduler.getNumberOfUsedCores());
+        assertTrue("Test6", tmpJobs[0].isSubmitted() && tmpJobs[1].isSubmitted());
+        assertFalse("Test7", tmpJobs[2].isSubmitted());
+        tmpJobs[0].release();
+        assertTrue("Test8", this.waitForNumberOfFinishedJobs(tmpJobScheduler, 1));
+        assertTrue("Test9", tmpJobs[2].isSubmitted());
+        assertEquals("Test10", 0, tmpJobScheduler.getNumberOfPendingJobs());
+        tmpJobs[1].release();
+        tmpJobs[2].release();
+        assertTrue("Test11", this.waitForNumberOfFinishedJobs(tmpJobScheduler, 3));
+        assertEquals("Test12", 0, tmpJobScheduler.getNumberOfUsedCores());
+        assertEquals("Test13", 3L, tmpJobScheduler.getNumberOfStartedJobs());
+        // Job that requests more cores than the budget is started if no other job is running
+        TestJob tmpLargeJob = new TestJob(16, null);
+        tmpJobScheduler.submit(tmpLargeJob, 0);
+        assertTrue("Test14", tmpLargeJob.isSubmitted());
+        tmpLargeJob.release();
+        assertTrue("Test15", this.waitForNumberOfFinishedJobs(tmpJobScheduler, 4));
+        // Granted cores: Requested cores limited to core budget
+        assertEquals("Test16", 2, tmpJobs[0].getGrantedNumberOfCores());
+        assertEquals("Test17", 4, tmpLargeJob.getGrantedNumberOfCores());
+        tmpJobScheduler.shutdown();
+    }
+
+    /**
+     * Test of priority order and removal of pending jobs
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testPriorityOrder() throws Exception {
+        JobScheduler tmpJobScheduler = new JobScheduler(1, 1, 0L, null);
+        TestJob tmpRunningJob = new TestJob(1, null);
+        TestJob tmpLowPriorityJob = new TestJob(1, null);
+        TestJob tmpHighPriorityJob = new TestJob(1, null);
+        TestJob tmpRemovedJob = new TestJob(1, null);
+        tmpJobScheduler.submit(tmpRunningJob, 0);
+        tmpJobScheduler.submit(tmpLowPriorityJob, 0);
+        tmpJobScheduler.submit(tmpRemovedJob, 0);
+        tmpJobScheduler.submit(tmpHighPriorityJob, 5);
+        List<SchedulableJobInterface> tmpPendingJobs = tmpJobScheduler.getPendingJobs();
+        assertEquals("Test1", 3, tmpPendingJobs.size());
+        assertSame("Test2", tmpHighPriorityJob, tmpPendingJobs.get(0));
+        assertSame("Test3", tmpLowPriorityJob, tmpPendingJobs.get(1));
+        assertTrue("Test4", tmpJobScheduler.remove(tmpRemovedJob));
+        assertFalse("Test5", tmpJobScheduler.remove(tmpRunningJob));
+        tmpRunningJob.release();
+        assertTrue("Test6", this.waitForNumberOfFinishedJobs(tmpJobScheduler, 1));
+        assertTrue("Test7", tmpHighPriorityJob.isSubmitted());
+        assertFalse("Test8", tmpLowPriorityJob.isSubmitted());
+        tmpHighPriorityJob.release();
+        tmpLowPriorityJob.release();
+        assertTrue("Test9", this.waitForNumberOfFinishedJobs(tmpJobScheduler, 3));
+        assertFalse("Test10", tmpRemovedJob.isSubmitted());
+        tmpJobScheduler.shutdown();
+    }
+
+    /**
+     * Test of persistence of pending jobs
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testQueuePersistence() throws Exception {
+        String tmpQueueFilePathname = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+        JobScheduler tmpJobScheduler = new JobScheduler(1, 1, 0L, tmpQueueFilePathname);
+        TestJob tmpRunningJob = new TestJob(1, new String[] {"Running", "Job"});
+        TestJob tmpPendingJob1 = new TestJob(1, new String[] {"Path1", "Description 1"});
+        TestJob tmpPendingJob2 = new TestJob(1, new String[] {"Path2", "Description 2"});
+        tmpJobScheduler.submit(tmpRunningJob, 0);
+        tmpJobScheduler.submit(tmpPendingJob1, 0);
+        tmpJobScheduler.submit(tmpPendingJob2, 3);
+        assertTrue("Test1", (new File(tmpQueueFilePathname)).isFile());
+        // Simulate restart
+        JobScheduler tmpRestoredJobScheduler = new JobScheduler(1, 1, 0L, tmpQueueFilePathname);
+        List<String[]> tmpRestoredQueueEntries = tmpRestoredJobScheduler.getRestoredQueueEntries();
+        assertEquals("Test2", 2, tmpRestoredQueueEntries.size());
+        assertEquals("Test3", "3", tmpRestoredQueueEntries.get(0)[0]);
+        assertEquals("Test4", "Path2", tmpRestoredQueueEntries.get(0)[1]);
+        assertEquals("Test5", "Description 2", tmpRestoredQueueEntries.get(0)[2]);
+        assertEquals("Test6", "Path1", tmpRestoredQueueEntries.get(1)[1]);
+        // Removal of single restored entry is persisted
+        assertTrue("Test7", tmpRestoredJobScheduler.removeRestoredQueueEntry("Path2"));
+        assertFalse("Test8", tmpRestoredJobScheduler.removeRestoredQueueEntry("Path2"));
+        JobScheduler tmpSecondRestoredJobScheduler = new JobScheduler(1, 1, 0L, tmpQueueFilePathname);
+        assertEquals("Test9", 1, tmpSecondRestoredJobScheduler.getRestoredQueueEntries().size());
+        assertEquals("Test10", "Path1", tmpSecondRestoredJobScheduler.getRestoredQueueEntries().get(0)[1]);
+        tmpSecondRestoredJobScheduler.shutdown();
+        tmpRestoredJobScheduler.clearRestoredQueueEntries();
+        assertFalse("Test11", (new File(tmpQueueFilePathname)).isFile());
+        tmpRestoredJobScheduler.shutdown();
+        // Pending jobs are removed: Queue file is deleted
+        tmpJobScheduler.removeAllPending();
+        assertFalse("Test12", (new File(tmpQueueFilePathname)).isFile());
+        tmpRunningJob.release();
+        assertTrue("Test13", this.waitForNumberOfFinishedJobs(tmpJobScheduler, 1));
+        tmpJobScheduler.shutdown();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Waits for number of finished jobs
+     *
+     * @param aJobScheduler Job scheduler
+     * @param aNumberOfFinishedJobs Number of finished jobs
+     * @return True: Number of finished jobs was reached, false: Timeout
+     * @throws InterruptedException Thrown if waiting is interrupted
+     */
+    private boolean waitForNumberOfFinishedJobs(JobScheduler aJobScheduler, long aNumberOfFinishedJobs) throws InterruptedException {
+        long tmpEndTime = System.currentTimeMillis() + 10000L;
+        while (aJobScheduler.getNumberOfFinishedJobs() < aNumberOfFinishedJobs) {
+            if (System.currentTimeMillis() > tmpEndTime) {
+                return false;
+            }
+            Thread.sleep(10L);
+        }
+        return true;
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,256 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.mfsim.model.job.NearestNeighborFrequencyStore;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class NearestNeighborFrequencyStore
+ */
+public class TestNearestNeighborFrequencyStore extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Bases
+     */
+    private static final String[] BASES = new String[] {"Protein_A", "Lipid_H", "Water", "Lipid_T"};
+
+    /**
+     * Nearest neighbors
+     */
+    private static final String[] NEIGHBORS = new String[] {"Lipid_H", "Lipid_T", "Water", "Protein_A", "Ion"};
+
+    /**
+     * Number of steps
+     */
+    private static final int NUMBER_OF_STEPS = 500;
+
+    /**
+     * Step interval
+     */
+    private static final int STEP_INTERVAL = 100;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of round-trip text file - binary store - text file and of per-step
+     * and bulk access
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testRoundTrip() throws Exception {
+        String tmpTextFilePathname = this.getTemporaryFilePathname();
+        String tmpRoundTripTextFilePathname = this.getTemporaryFilePathname();
+        String tmpStoreFilePathname = NearestNeighborFrequencyStore.getStoreFilePathname(tmpTextFilePathname);
+        try {
+            // Expected frequency maps per step index
+            HashMap<Integer, HashMap<String, HashMap<String, Integer>>> tmpExpectedFrequencyMaps = this.writeTextFile(tmpTextFilePathname, 1L);
+            assertFalse("Test1", NearestNeighborFrequencyStore.hasUpToDateStore(tmpTextFilePathname));
+            assertTrue("Test2", NearestNeighborFrequencyStore.convertTextFile(tmpTextFilePathname));
+            assertTrue("Test3", NearestNeighborFrequencyStore.hasUpToDateStore(tmpTextFilePathname));
+            assertTrue("Test4", (new File(tmpStoreFilePathname)).length() < (new File(tmpTextFilePathname)).length());
+            NearestNeighborFrequencyStore tmpStore = new NearestNeighborFrequencyStore(tmpStoreFilePathname);
+            assertEquals("Test5", "Version 1.0.0", tmpStore.getVersion());
+            assertEquals("Test6", BASES.length, tmpStore.getNumberOfBases());
+            assertEquals("Test7", NUMBER_OF_STEPS, tmpStore.getNumberOfSteps());
+            // Round-trip
+            tmpStore.writeTextFile(tmpRoundTripTextFilePathname);
+            List<String> tmpLines = Files.readAllLines(Paths.get(tmpTextFilePathname));
+            List<String> tmpRoundTripLines = Files.readAllLines(Paths.get(tmpRoundTripTextFilePathname));
+            assertEquals("Test8", tmpLines, tmpRoundTripLines);
+            // Per-step access
+            for (int i = 0; i < NUMBER_OF_STEPS; i++) {
+                int tmpStepIndex = tmpStore.getStepIndex(STEP_INTERVAL * (i + 1));
+                assertEquals("Test9", i, tmpStepIndex);
+                HashMap<String, HashMap<String, Integer>> tmpExpectedFrequencyMap = tmpExpectedFrequencyMaps.get(i);
+                if (tmpExpectedFrequencyMap == null) {
+                    tmpExpectedFrequencyMap = new HashMap<>();
+                }
+                assertEquals("Test10", tmpExpectedFrequencyMap, tmpStore.getFrequencyMap(tmpStepIndex));
+            }
+            assertTrue("Test11", tmpStore.getStepIndex(STEP_INTERVAL / 2) < 0);
+            // Bulk time x pair matrix for step range
+            int[][] tmpCountMatrix = tmpStore.getCountMatrix(17, 400);
+            assertEquals("Test12", 400, tmpCountMatrix.length);
+            for (int i = 0; i < tmpCountMatrix.length; i++) {
+                assertTrue("Test13", Arrays.equals(tmpStore.getCounts(17 + i), tmpCountMatrix[i]));
+                for (int j = 0; j < tmpStore.getNumberOfPairs(); j++) {
+                    HashMap<String, HashMap<String, Integer>> tmpExpectedFrequencyMap = tmpExpectedFrequencyMaps.get(17 + i);
+                    Integer tmpExpectedCount = null;
+                    if (tmpExpectedFrequencyMap != null && tmpExpectedFrequencyMap.containsKey(tmpStore.getPairBase(j))) {
+                        tmpExpectedCount = tmpExpectedFrequencyMap.get(tmpStore.getPairBase(j)).get(tmpStore.getPairNeighbor(j));
+                    }
+                    if (tmpExpectedCount == null) {
+                        assertEquals("Test14", NearestNeighborFrequencyStore.UNDEFINED_COUNT, tmpCountMatrix[i][j]);
+                    } else {
+                        assertEquals("Test15", tmpExpectedCount.intValue(), tmpCountMatrix[i][j]);
+                    }
+                }
+            }
+            assertEquals("Test16", 0, tmpStore.getCountMatrix(NUMBER_OF_STEPS, 0).length);
+            try {
+                tmpStore.getCountMatrix(NUMBER_OF_STEPS - 1, 2);
+                fail("Test17");
+            } catch (IllegalArgumentException anException) {
+                // Expected
+            }
+        } finally {
+            (new File(tmpTextFilePathname)).delete();
+            (new File(tmpRoundTripTextFilePathname)).delete();
+            (new File(tmpStoreFilePathname)).delete();
+        }
+    }
+
+    /**
+     * Test of invalid text files
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testInvalidTextFile() throws Exception {
+        String tmpTextFilePathname = this.getTemporaryFilePathname();
+        String tmpStoreFilePathname = NearestNeighborFrequencyStore.getStoreFilePathname(tmpTextFilePathname);
+        try {
+            // Truncated file
+            this.writeLines(tmpTextFilePathname, new String[] {"Version 1.0.0", "1", "Water", "1", "Water", "5", "Version 1.0.0", "100", "3"});
+            assertFalse("Test1", NearestNeighborFrequencyStore.convertTextFile(tmpTextFilePathname));
+            assertFalse("Test2", (new File(tmpStoreFilePathname)).exists());
+            // Descending steps
+            this.writeLines(tmpTextFilePathname, new String[] {"Version 1.0.0", "1", "Water", "1", "Water", "5", "Version 1.0.0", "200", "3", "100", "4"});
+            assertFalse("Test3", NearestNeighborFrequencyStore.convertTextFile(tmpTextFilePathname));
+            assertFalse("Test4", (new File(tmpStoreFilePathname)).exists());
+            // Valid file without steps
+            this.writeLines(tmpTextFilePathname, new String[] {"Version 1.0.0", "2", "Water", "1", "Water", "1", "Version 1.0.0", "Ion", "0"});
+            assertTrue("Test5", NearestNeighborFrequencyStore.convertTextFile(tmpTextFilePathname));
+            NearestNeighborFrequencyStore tmpStore = new NearestNeighborFrequencyStore(tmpStoreFilePathname);
+            assertEquals("Test6", 0, tmpStore.getNumberOfSteps());
+            assertEquals("Test7", 1, tmpStore.getNumberOfPairs());
+            assertEquals("Test8", 0, tmpStore.getNumberOfPairsOfBase(1));
+        } finally {
+            (new File(tmpTextFilePathname)).delete();
+            (new File(tmpStoreFilePathname)).delete();
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns pathname of temporary file
+     *
+     * @return Pathname of temporary file
+     */
+    private String getTemporaryFilePathname() {
+        return System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+    }
+
+    /**
+     * Writes lines to file
+     *
+     * @param aFilePathname File pathname
+     * @param aLines Lines
+     * @throws IOException Thrown if an error occurs
+     */
+    private void writeLines(String aFilePathname, String[] aLines) throws IOException {
+        try (BufferedWriter tmpBufferedWriter = new BufferedWriter(new FileWriter(aFilePathname))) {
+            for (String tmpLine : aLines) {
+                tmpBufferedWriter.write(tmpLine);
+                tmpBufferedWriter.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes random Jdpd like nearest-neighbor step-frequency map text file
+     * where pairs are missing for some steps and the last base has no
+     * nearest neighbors
+     *
+     * @param aFilePathname File pathname
+     * @param aSeed Seed for random number generator
+     * @return Expected frequency maps per step index
+     * @throws IOException Thrown if an error occurs
+     */
+    private HashMap<Integer, HashMap<String, HashMap<String, Integer>>> writeTextFile(String aFilePathname, long aSeed) throws IOException {
+        Random tmpRandom = new Random(aSeed);
+        HashMap<Integer, HashMap<String, HashMap<String, Integer>>> tmpFrequencyMaps = new HashMap<>();
+        try (BufferedWriter tmpBufferedWriter = new BufferedWriter(new FileWriter(aFilePathname))) {
+            this.writeLine(tmpBufferedWriter, "Version 1.0.0");
+            this.writeLine(tmpBufferedWriter, String.valueOf(BASES.length));
+            for (int i = 0; i < BASES.length; i++) {
+                this.writeLine(tmpBufferedWriter, BASES[i]);
+                int tmpNumberOfNeighbors = i == BASES.length - 1 ? 0 : 2 + i;
+                this.writeLine(tmpBufferedWriter, String.valueOf(tmpNumberOfNeighbors));
+                for (int j = 0; j < tmpNumberOfNeighbors; j++) {
+                    this.writeLine(tmpBufferedWriter, NEIGHBORS[j]);
+                    // Pair is defined for a random subset of steps
+                    int[] tmpStepIndices = new int[NUMBER_OF_STEPS];
+                    int tmpNumberOfStepIndices = 0;
+                    double tmpProbability = j == 0 ? 1.0 : 0.7;
+                    for (int k = 0; k < NUMBER_OF_STEPS; k++) {
+                        if (tmpRandom.nextDouble() < tmpProbability) {
+                            tmpStepIndices[tmpNumberOfStepIndices++] = k;
+                        }
+                    }
+                    this.writeLine(tmpBufferedWriter, String.valueOf(2 * tmpNumberOfStepIndices + 1));
+                    this.writeLine(tmpBufferedWriter, "Version 1.0.0");
+                    for (int k = 0; k < tmpNumberOfStepIndices; k++) {
+                        int tmpFrequency = tmpRandom.nextInt(10000);
+                        this.writeLine(tmpBufferedWriter, String.valueOf(STEP_INTERVAL * (tmpStepIndices[k] + 1)));
+                        this.writeLine(tmpBufferedWriter, String.valueOf(tmpFrequency));
+                        HashMap<String, HashMap<String, Integer>> tmpFrequencyMap = tmpFrequencyMaps.get(tmpStepIndices[k]);
+                        if (tmpFrequencyMap == null) {
+                            tmpFrequencyMap = new HashMap<>();
+                            tmpFrequencyMaps.put(tmpStepIndices[k], tmpFrequencyMap);
+                        }
+                        if (!tmpFrequencyMap.containsKey(BASES[i])) {
+                            tmpFrequencyMap.put(BASES[i], new HashMap<String, Integer>());
+                        }
+                        tmpFrequencyMap.get(BASES[i]).put(NEIGHBORS[j], tmpFrequency);
+                    }
+                }
+            }
+        }
+        return tmpFrequencyMaps;
+    }
+
+    /**
+     * Writes line
+     *
+     * @param aBufferedWriter Buffered writer
+     * @param aLine Line
+     * @throws IOException Thrown if an error occurs
+     */
+    private void writeLine(BufferedWriter aBufferedWriter, String aLine) throws IOException {
+        aBufferedWriter.write(aLine);
+        aBufferedWriter.newLine();
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,233 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.mfsim.model.job.ProgressFileTailReader;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class ProgressFileTailReader
+ */
+public class TestProgressFileTailReader extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of concurrent appends of (partial) lines while reading
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testConcurrentAppends() throws Exception {
+        final String tmpFilePathname = this.getTemporaryFilePathname();
+        final int tmpNumberOfPairs = 20000;
+        try {
+            // Header with defined number of lines
+            this.writeFile(tmpFilePathname, String.valueOf(2 * tmpNumberOfPairs + 1) + "\nVersion 1.0.0\n", false);
+            final AtomicReference<Exception> tmpWriterException = new AtomicReference<>();
+            Thread tmpWriter = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try (FileOutputStream tmpFileOutputStream = new FileOutputStream(tmpFilePathname, true)) {
+                        for (int i = 0; i < tmpNumberOfPairs; i++) {
+                            byte[] tmpBytes = TestProgressFileTailReader.this.getPairLines(i).getBytes(StandardCharsets.US_ASCII);
+                            // Lines are written in two fragments to provoke incomplete lines
+                            int tmpSplit = (i * 7) % tmpBytes.length;
+                            tmpFileOutputStream.write(tmpBytes, 0, tmpSplit);
+                            tmpFileOutputStream.flush();
+                            if (i % 1000 == 0) {
+                                Thread.sleep(1L);
+                            }
+                            tmpFileOutputStream.write(tmpBytes, tmpSplit, tmpBytes.length - tmpSplit);
+                            tmpFileOutputStream.flush();
+                        }
+                    } catch (Exception anException) {
+                        tmpWriterException.set(anException);
+                    }
+                }
+            });
+            ProgressFileTailReader tmpTailReader = new ProgressFileTailReader(tmpFilePathname);
+            tmpWriter.start();
+            int tmpNumberOfUpdates = 0;
+            int tmpLastNumberOfPairs = 0;
+            while (tmpWriter.isAlive()) {
+                if (tmpTailReader.update()) {
+                    tmpNumberOfUpdates++;
+                }
+                // Number of pairs never decreases while appending
+                assertTrue("Test1", tmpTailReader.getNumberOfPairs() >= tmpLastNumberOfPairs);
+                tmpLastNumberOfPairs = tmpTailReader.getNumberOfPairs();
+            }
+            tmpWriter.join();
+            assertNull("Test2", tmpWriterException.get());
+            tmpTailReader.update();
+            assertTrue("Test3", tmpNumberOfUpdates > 0);
+            assertEquals("Test4", "Version 1.0.0", tmpTailReader.getVersion());
+            assertEquals("Test5", tmpNumberOfPairs, tmpTailReader.getNumberOfPairs());
+            assertEquals("Test6", 0, tmpTailReader.getNumberOfResets());
+            this.checkValues("Test7", tmpTailReader, tmpNumberOfPairs);
+            // Nothing appended
+            assertFalse("Test8", tmpTailReader.update());
+        } finally {
+            (new File(tmpFilePathname)).delete();
+        }
+    }
+
+    /**
+     * Test of Jdpd like rewrites, truncation and rotation
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testRewriteTruncationRotation() throws Exception {
+        String tmpFilePathname = this.getTemporaryFilePathname();
+        try {
+            ProgressFileTailReader tmpTailReader = new ProgressFileTailReader(tmpFilePathname);
+            // Non-existing file
+            assertFalse("Test1", tmpTailReader.update());
+            assertNull("Test2", tmpTailReader.getVersion());
+            // Jdpd rewrites the complete file with changed header: Parsing is incremental
+            this.writeProgressFile(tmpFilePathname, 4);
+            assertTrue("Test3", tmpTailReader.update());
+            assertEquals("Test4", 4, tmpTailReader.getNumberOfPairs());
+            this.writeProgressFile(tmpFilePathname, 60);
+            assertTrue("Test5", tmpTailReader.update());
+            assertEquals("Test6", 60, tmpTailReader.getNumberOfPairs());
+            assertEquals("Test7", 0, tmpTailReader.getNumberOfResets());
+            this.checkValues("Test8", tmpTailReader, 60);
+            // Lines beyond defined number of lines are ignored
+            this.writeFile(tmpFilePathname, this.getPairLines(60), true);
+            assertFalse("Test9", tmpTailReader.update());
+            assertEquals("Test10", 60, tmpTailReader.getNumberOfPairs());
+            // Truncation
+            this.writeProgressFile(tmpFilePathname, 10);
+            assertTrue("Test11", tmpTailReader.update());
+            assertEquals("Test12", 1, tmpTailReader.getNumberOfResets());
+            assertEquals("Test13", 10, tmpTailReader.getNumberOfPairs());
+            this.checkValues("Test14", tmpTailReader, 10);
+            // Rotation: Same length but different content
+            long tmpFileLength = (new File(tmpFilePathname)).length();
+            StringBuilder tmpBuffer = new StringBuilder();
+            tmpBuffer.append(21).append('\n').append("Version 1.0.0").append('\n');
+            for (int i = 0; i < 10; i++) {
+                tmpBuffer.append(this.getPairLines(i).replace('1', '2'));
+            }
+            this.writeFile(tmpFilePathname, tmpBuffer.toString(), false);
+            assertEquals("Test15", tmpFileLength, (new File(tmpFilePathname)).length());
+            assertTrue("Test16", tmpTailReader.update());
+            assertEquals("Test17", 2, tmpTailReader.getNumberOfResets());
+            assertEquals("Test18", 10, tmpTailReader.getNumberOfPairs());
+            assertEquals("Test19", Double.parseDouble(this.getPairLines(3).replace('1', '2').split("\n")[1]), tmpTailReader.getYValues()[3], 0.0);
+            // Windows line endings
+            ProgressFileTailReader tmpOtherTailReader = new ProgressFileTailReader(tmpFilePathname);
+            this.writeFile(tmpFilePathname, "5\r\nVersion 1.0.0\r\n1\r\n1.5\r\n2\r\n2.5\r\n", false);
+            assertTrue("Test20", tmpOtherTailReader.update());
+            assertEquals("Test21", "Version 1.0.0", tmpOtherTailReader.getVersion());
+            assertEquals("Test22", 2, tmpOtherTailReader.getNumberOfPairs());
+            assertEquals("Test23", 2.5, tmpOtherTailReader.getYValues()[1], 0.0);
+        } finally {
+            (new File(tmpFilePathname)).delete();
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns pathname of temporary file
+     *
+     * @return Pathname of temporary file
+     */
+    private String getTemporaryFilePathname() {
+        return System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+    }
+
+    /**
+     * Returns step and value lines of pair
+     *
+     * @param anIndex Index of pair
+     * @return Step and value lines of pair
+     */
+    private String getPairLines(int anIndex) {
+        return String.valueOf(100 * anIndex) + "\n" + String.valueOf(this.getValue(anIndex)) + "\n";
+    }
+
+    /**
+     * Returns value of pair
+     *
+     * @param anIndex Index of pair
+     * @return Value of pair
+     */
+    private double getValue(int anIndex) {
+        return 1.0 / (1.0 + (double) anIndex) - 0.125 * (double) (anIndex % 3);
+    }
+
+    /**
+     * Writes complete Jdpd like progress file
+     *
+     * @param aFilePathname File pathname
+     * @param aNumberOfPairs Number of pairs
+     * @throws IOException Thrown if an error occurs
+     */
+    private void writeProgressFile(String aFilePathname, int aNumberOfPairs) throws IOException {
+        StringBuilder tmpBuffer = new StringBuilder();
+        tmpBuffer.append(2 * aNumberOfPairs + 1).append('\n').append("Version 1.0.0").append('\n');
+        for (int i = 0; i < aNumberOfPairs; i++) {
+            tmpBuffer.append(this.getPairLines(i));
+        }
+        (new File(aFilePathname)).delete();
+        this.writeFile(aFilePathname, tmpBuffer.toString(), false);
+    }
+
+    /**
+     * Writes text to file
+     *
+     * @param aFilePathname File pathname
+     * @param aText Text
+     * @param anIsAppend True: Text is appended, false: File is overwritten
+     * @throws IOException Thrown if an error occurs
+     */
+    private void writeFile(String aFilePathname, String aText, boolean anIsAppend) throws IOException {
+        try (FileOutputStream tmpFileOutputStream = new FileOutputStream(aFilePathname, anIsAppend)) {
+            tmpFileOutputStream.write(aText.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Checks parsed values
+     *
+     * @param aMessage Assertion message
+     * @param aTailReader Tail reader
+     * @param aNumberOfPairs Number of pairs
+     */
+    private void checkValues(String aMessage, ProgressFileTailReader aTailReader, int aNumberOfPairs) {
+        double[] tmpXValues = aTailReader.getXValues();
+        double[] tmpYValues = aTailReader.getYValues();
+        assertEquals(aMessage, aNumberOfPairs, tmpXValues.length);
+        for (int i = 0; i < aNumberOfPairs; i++) {
+            assertEquals(aMessage, 100.0 * (double) i, tmpXValues[i], 0.0);
+            assertEquals(aMessage, this.getValue(i), tmpYValues[i], 0.0);
+        }
+    }
+    // </editor-fold>
+
+}
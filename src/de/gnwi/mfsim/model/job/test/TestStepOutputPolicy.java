@@ -0,0 +1,153 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.job.test;
+
+import de.gnwi.jdpd.particlePosition.ParticlePosition;
+import de.gnwi.mfsim.model.job.StepOutputModeEnum;
+import de.gnwi.mfsim.model.job.StepOutputPolicy;
+import de.gnwi.mfsim.model.job.StepOutputPolicyFileOutput;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.zip.GZIPInputStream;
+import junit.framework.TestCase;
+
+/**
+ * Test class for classes StepOutputPolicy and StepOutputPolicyFileOutput
+ */
+public class TestStepOutputPolicy extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of step output modes
+     */
+    public void testStepOutputMode() {
+        // Last step 100, output frequency 10, every 3rd output step kept, last 2 output steps with full precision
+        StepOutputPolicy tmpStepOutputPolicy = new StepOutputPolicy(100, 10, 3, 0, 2, -1, 2);
+        assertTrue("Test1", tmpStepOutputPolicy.isActive());
+        assertEquals("Test2", StepOutputModeEnum.FULL_PRECISION, tmpStepOutputPolicy.getStepOutputMode(100));
+        assertEquals("Test3", StepOutputModeEnum.FULL_PRECISION, tmpStepOutputPolicy.getStepOutputMode(90));
+        assertEquals("Test4", StepOutputModeEnum.OMITTED, tmpStepOutputPolicy.getStepOutputMode(80));
+        assertEquals("Test5", StepOutputModeEnum.REDUCED_PRECISION, tmpStepOutputPolicy.getStepOutputMode(60));
+        assertEquals("Test6", StepOutputModeEnum.OMITTED, tmpStepOutputPolicy.getStepOutputMode(10));
+        // Decimation starts at step 50
+        tmpStepOutputPolicy = new StepOutputPolicy(100, 10, 3, 50, 2, 4, -1);
+        assertFalse("Test7", tmpStepOutputPolicy.isReducedPrecision());
+        assertEquals("Test8", StepOutputModeEnum.FULL_PRECISION, tmpStepOutputPolicy.getStepOutputMode(10));
+        assertEquals("Test9", StepOutputModeEnum.OMITTED, tmpStepOutputPolicy.getStepOutputMode(50));
+        // Reduced number of digits not smaller than full number: No reduction
+        tmpStepOutputPolicy = new StepOutputPolicy(100, 10, 1, 0, 2, 4, 6);
+        assertFalse("Test10", tmpStepOutputPolicy.isActive());
+        assertEquals("Test11", StepOutputModeEnum.FULL_PRECISION, tmpStepOutputPolicy.getStepOutputMode(10));
+        try {
+            new StepOutputPolicy(100, 0, 1, 0, 2, 4, 6);
+            fail("Test12");
+        } catch (IllegalArgumentException anException) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test of particle positions output according to step output policy
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testStepOutputPolicyFileOutput() throws Exception {
+        FileUtilityMethods tmpFileUtilityMethods = new FileUtilityMethods();
+        StringUtilityMethods tmpStringUtilityMethods = new StringUtilityMethods();
+        String tmpBaseDirectoryPath = System.getProperty("user.dir") + File.separatorChar + "~" + tmpStringUtilityMethods.getGloballyUniqueID();
+        String tmpStepsDirectoryPath = tmpBaseDirectoryPath + File.separatorChar + "Steps";
+        String tmpTemporaryDirectoryPath = tmpBaseDirectoryPath + File.separatorChar + "Temp";
+        assertTrue("Test1", (new File(tmpStepsDirectoryPath)).mkdirs());
+        try {
+            StepOutputPolicy tmpStepOutputPolicy = new StepOutputPolicy(100, 10, 3, 0, 2, -1, 2);
+            StepOutputPolicyFileOutput tmpFileOutput = 
+                new StepOutputPolicyFileOutput(
+                    tmpBaseDirectoryPath, 
+                    tmpBaseDirectoryPath, 
+                    null, 
+                    null, 
+                    tmpStepsDirectoryPath, 
+                    null, 
+                    2, 
+                    tmpStepOutputPolicy, 
+                    tmpTemporaryDirectoryPath
+                );
+            for (int tmpStep = 10; tmpStep <= 100; tmpStep += 10) {
+                ParticlePosition[] tmpParticlePositions = new ParticlePosition[3];
+                for (int i = 0; i < tmpParticlePositions.length; i++) {
+                    tmpParticlePositions[i] = new ParticlePosition();
+                    tmpParticlePositions[i].setPosition("A", "Molecule", 1.23456789 + i, 2.0, 3.0, i, 0);
+                }
+                tmpFileOutput.setSimulationStepInformation(
+                    tmpStep, 
+                    1.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 
+                    null, null, null, null, null, null, 
+                    tmpParticlePositions
+                );
+            }
+            tmpFileOutput.finish();
+            // Steps 100 and 90 (full precision) and 60 and 30 (reduced precision)
+            assertEquals("Test2", 6, tmpFileOutput.getNumberOfOmittedSteps());
+            assertEquals("Test3", 4, (new File(tmpStepsDirectoryPath)).listFiles().length);
+            assertFalse("Test4", (new File(tmpTemporaryDirectoryPath)).exists());
+            String tmpFullPrecisionContent = null;
+            String tmpReducedPrecisionContent = null;
+            for (File tmpFile : (new File(tmpStepsDirectoryPath)).listFiles()) {
+                if (tmpFile.getName().contains("PP100")) {
+                    tmpFullPrecisionContent = this.readGzipFile(tmpFile);
+                } else if (tmpFile.getName().contains("PP30")) {
+                    tmpReducedPrecisionContent = this.readGzipFile(tmpFile);
+                }
+            }
+            assertNotNull("Test5", tmpFullPrecisionContent);
+            assertNotNull("Test6", tmpReducedPrecisionContent);
+            assertTrue("Test7", tmpFullPrecisionContent.contains("1.23456789"));
+            assertFalse("Test8", tmpReducedPrecisionContent.contains("1.23456789"));
+        } finally {
+            tmpFileUtilityMethods.deleteDirectory(tmpBaseDirectoryPath);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns content of gzip compressed text file
+     *
+     * @param aFile File
+     * @return Content of gzip compressed text file
+     * @throws Exception Thrown if an error occurs
+     */
+    private String readGzipFile(File aFile) throws Exception {
+        StringBuilder tmpBuffer = new StringBuilder();
+        try (BufferedReader tmpReader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(aFile))))) {
+            String tmpLine;
+            while ((tmpLine = tmpReader.readLine()) != null) {
+                tmpBuffer.append(tmpLine).append('\n');
+            }
+        }
+        return tmpBuffer.toString();
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,163 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.metrics;
+
+/**
+ * Names of metrics. NOTE: Names must match [a-z_][a-z0-9_]* (they are
+ * exported in Prometheus text format with prefix "mfsim_").
+ */
+public interface MetricsName {
+
+    // <editor-fold defaultstate="collapsed" desc="Job execution (timers)">
+    /**
+     * Writing of Jdpd input file
+     */
+    String JOB_INPUT_WRITING = "job_input_writing";
+
+    /**
+     * Jdpd simulation run
+     */
+    String JOB_JDPD_RUN = "job_jdpd_run";
+
+    /**
+     * Radial distribution function calculation after simulation
+     */
+    String JOB_RDF_CALCULATION = "job_rdf_calculation";
+
+    /**
+     * Particle-pair distance calculation after simulation
+     */
+    String JOB_DISTANCE_CALCULATION = "job_distance_calculation";
+
+    /**
+     * Creation of nearest-neighbor binary stores after simulation
+     */
+    String JOB_NEAREST_NEIGHBOR_STORE_CREATION = "job_nearest_neighbor_store_creation";
+
+    /**
+     * Relocation of job directory to result path
+     */
+    String JOB_DIRECTORY_RELOCATION = "job_directory_relocation";
+
+    /**
+     * Writing of Job Result information
+     */
+    String JOB_RESULT_INFORMATION_WRITING = "job_result_information_writing";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Job execution (counters)">
+    /**
+     * Number of finished jobs
+     */
+    String JOBS_FINISHED = "jobs_finished";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Post-processing">
+    /**
+     * Reading of particle positions file for post-processing (timer)
+     */
+    String POST_PROCESSING_PARTICLE_POSITIONS_READING = "post_processing_particle_positions_reading";
+
+    /**
+     * Calculation of RDF distance bin frequencies of a particle pair (timer)
+     */
+    String POST_PROCESSING_RDF_BIN_FREQUENCIES = "post_processing_rdf_bin_frequencies";
+
+    /**
+     * Calculation of average distance of a particle pair (timer)
+     */
+    String POST_PROCESSING_AVERAGE_DISTANCE = "post_processing_average_distance";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Graphics">
+    /**
+     * Creation of slice images of simulation box view (timer)
+     */
+    String SLICER_SLICE_CREATION = "slicer_slice_creation";
+
+    /**
+     * Number of particles per slicer run (histogram)
+     */
+    String SLICER_PARTICLES = "slicer_particles";
+
+    /**
+     * Calculation of graphical particle positions (timer)
+     */
+    String GRAPHICAL_PARTICLE_POSITION_CALCULATION = "graphical_particle_position_calculation";
+
+    /**
+     * Number of calculated graphical particle positions (counter)
+     */
+    String GRAPHICAL_PARTICLE_POSITIONS_CALCULATED = "graphical_particle_positions_calculated";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Managed executor">
+    /**
+     * Queue latency of interactive tasks (timer)
+     */
+    String EXECUTOR_INTERACTIVE_QUEUE_LATENCY = "executor_interactive_queue_latency";
+
+    /**
+     * Queue depth on submission of interactive tasks (histogram)
+     */
+    String EXECUTOR_INTERACTIVE_QUEUE_DEPTH = "executor_interactive_queue_depth";
+
+    /**
+     * Queue latency of progress tasks (timer)
+     */
+    String EXECUTOR_PROGRESS_QUEUE_LATENCY = "executor_progress_queue_latency";
+
+    /**
+     * Queue depth on submission of progress tasks (histogram)
+     */
+    String EXECUTOR_PROGRESS_QUEUE_DEPTH = "executor_progress_queue_depth";
+
+    /**
+     * Queue latency of render tasks (timer)
+     */
+    String EXECUTOR_RENDER_QUEUE_LATENCY = "executor_render_queue_latency";
+
+    /**
+     * Queue depth on submission of render tasks (histogram)
+     */
+    String EXECUTOR_RENDER_QUEUE_DEPTH = "executor_render_queue_depth";
+
+    /**
+     * Queue latency of post-processing tasks (timer)
+     */
+    String EXECUTOR_POST_PROCESSING_QUEUE_LATENCY = "executor_post_processing_queue_latency";
+
+    /**
+     * Queue depth on submission of post-processing tasks (histogram)
+     */
+    String EXECUTOR_POST_PROCESSING_QUEUE_DEPTH = "executor_post_processing_queue_depth";
+
+    /**
+     * Queue latency of I/O tasks (timer)
+     */
+    String EXECUTOR_IO_QUEUE_LATENCY = "executor_io_queue_latency";
+
+    /**
+     * Queue depth on submission of I/O tasks (histogram)
+     */
+    String EXECUTOR_IO_QUEUE_DEPTH = "executor_io_queue_depth";
+    // </editor-fold>
+
+}
@@ -0,0 +1,646 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.metrics;
+
+import de.gnwi.mfsim.model.preference.Preferences;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe registry of metrics: Monotonic timers (based on
+ * System.nanoTime()), counters and histograms. If a registry is disabled all
+ * record methods return immediately (a disabled timer costs a single flag
+ * check and no System.nanoTime() call). Metrics can be exported in
+ * Prometheus text format.
+ * <p>
+ * The global registry (see getInstance()) is enabled according to the
+ * metrics collection preference. Jobs use their own registry that is merged
+ * into the global registry when the job has finished.
+ * <p>
+ * Usage of timers:
+ * <pre>
+ * long tmpStartTime = aMetricsRegistry.startTimer();
+ * ... (timed operation)
+ * aMetricsRegistry.stopTimer(MetricsName.XYZ, tmpStartTime);
+ * </pre>
+ */
+public class MetricsRegistry {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Global registry
+     */
+    private static final MetricsRegistry globalMetricsRegistry = new MetricsRegistry();
+
+    /**
+     * Start time of disabled timer
+     */
+    private static final long DISABLED_TIMER = Long.MIN_VALUE;
+
+    /**
+     * Prefix of exported metric names
+     */
+    private static final String EXPORT_PREFIX = "mfsim_";
+
+    /**
+     * Pattern for valid metric names
+     */
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * Upper bounds of histogram buckets (1-2-5 series)
+     */
+    private static final double[] HISTOGRAM_BUCKET_UPPER_BOUNDS = new double[] {
+        1.0, 2.0, 5.0, 
+        10.0, 20.0, 50.0, 
+        100.0, 200.0, 500.0, 
+        1.0E3, 2.0E3, 5.0E3, 
+        1.0E4, 2.0E4, 5.0E4, 
+        1.0E5, 2.0E5, 5.0E5, 
+        1.0E6, 2.0E6, 5.0E6, 
+        1.0E7
+    };
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static class Timer">
+    /**
+     * Timer: Number of recordings, total and maximum duration
+     */
+    private static class Timer {
+
+        /**
+         * Number of recordings
+         */
+        final LongAdder count = new LongAdder();
+
+        /**
+         * Total duration in nanoseconds
+         */
+        final LongAdder totalNanoseconds = new LongAdder();
+
+        /**
+         * Maximum duration in nanoseconds
+         */
+        final AtomicLong maximumNanoseconds = new AtomicLong(0L);
+
+        /**
+         * Records duration
+         *
+         * @param aCount Number of recordings
+         * @param aTotalNanoseconds Total duration in nanoseconds
+         * @param aMaximumNanoseconds Maximum duration in nanoseconds
+         */
+        void record(long aCount, long aTotalNanoseconds, long aMaximumNanoseconds) {
+            this.count.add(aCount);
+            this.totalNanoseconds.add(aTotalNanoseconds);
+            long tmpMaximum = this.maximumNanoseconds.get();
+            while (aMaximumNanoseconds > tmpMaximum && !this.maximumNanoseconds.compareAndSet(tmpMaximum, aMaximumNanoseconds)) {
+                tmpMaximum = this.maximumNanoseconds.get();
+            }
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static class Histogram">
+    /**
+     * Histogram with fixed bucket upper bounds (see
+     * HISTOGRAM_BUCKET_UPPER_BOUNDS, last bucket is +Inf)
+     */
+    private static class Histogram {
+
+        /**
+         * Non-cumulative bucket counts
+         */
+        final AtomicLongArray bucketCounts = new AtomicLongArray(HISTOGRAM_BUCKET_UPPER_BOUNDS.length + 1);
+
+        /**
+         * Number of observations
+         */
+        final LongAdder count = new LongAdder();
+
+        /**
+         * Sum of observed values
+         */
+        final DoubleSum sum = new DoubleSum();
+
+        /**
+         * Observes value
+         *
+         * @param aValue Value
+         */
+        void observe(double aValue) {
+            int tmpIndex = 0;
+            while (tmpIndex < HISTOGRAM_BUCKET_UPPER_BOUNDS.length && aValue > HISTOGRAM_BUCKET_UPPER_BOUNDS[tmpIndex]) {
+                tmpIndex++;
+            }
+            this.bucketCounts.incrementAndGet(tmpIndex);
+            this.count.increment();
+            this.sum.add(aValue);
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static class DoubleSum">
+    /**
+     * Thread-safe sum of double values
+     */
+    private static class DoubleSum {
+
+        /**
+         * Bits of sum
+         */
+        final AtomicLong bits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+        /**
+         * Adds value
+         *
+         * @param aValue Value
+         */
+        void add(double aValue) {
+            long tmpOldBits = this.bits.get();
+            while (!this.bits.compareAndSet(tmpOldBits, Double.doubleToLongBits(Double.longBitsToDouble(tmpOldBits) + aValue))) {
+                tmpOldBits = this.bits.get();
+            }
+        }
+
+        /**
+         * Sum
+         *
+         * @return Sum
+         */
+        double get() {
+            return Double.longBitsToDouble(this.bits.get());
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * True: Registry is enabled according to metrics collection preference,
+     * false: Registry is enabled according to this.isEnabled
+     */
+    private final boolean isPreferenceControlled;
+
+    /**
+     * Name to counter map
+     */
+    private final ConcurrentHashMap<String, LongAdder> counterMap = new ConcurrentHashMap<>();
+
+    /**
+     * Name to timer map
+     */
+    private final ConcurrentHashMap<String, Timer> timerMap = new ConcurrentHashMap<>();
+
+    /**
+     * Name to histogram map
+     */
+    private final ConcurrentHashMap<String, Histogram> histogramMap = new ConcurrentHashMap<>();
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * True: Registry is enabled, false: Otherwise (only used if
+     * this.isPreferenceControlled is false)
+     */
+    private volatile boolean isEnabled;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Constructor of global registry
+     */
+    private MetricsRegistry() {
+        this.isPreferenceControlled = true;
+        this.isEnabled = false;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param anIsEnabled True: Registry is enabled, false: Otherwise
+     */
+    public MetricsRegistry(boolean anIsEnabled) {
+        this.isPreferenceControlled = false;
+        this.isEnabled = anIsEnabled;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static singleton instance method">
+    /**
+     * Global registry (enabled according to metrics collection preference)
+     *
+     * @return Global registry
+     */
+    public static MetricsRegistry getInstance() {
+        return MetricsRegistry.globalMetricsRegistry;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    // <editor-fold defaultstate="collapsed" desc="- Record methods">
+    /**
+     * Starts timer
+     *
+     * @return Start time for stopTimer()
+     */
+    public long startTimer() {
+        if (this.isEnabled()) {
+            return System.nanoTime();
+        } else {
+            return DISABLED_TIMER;
+        }
+    }
+
+    /**
+     * Stops timer and records duration since start time. NOTE: Nothing is
+     * recorded if timer was started with disabled registry.
+     *
+     * @param aName Name of timer
+     * @param aStartTime Start time (from startTimer())
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    public void stopTimer(String aName, long aStartTime) throws IllegalArgumentException {
+        if (aStartTime == DISABLED_TIMER || !this.isEnabled()) {
+            return;
+        }
+        long tmpDuration = Math.max(0L, System.nanoTime() - aStartTime);
+        this.getTimer(aName).record(1L, tmpDuration, tmpDuration);
+    }
+
+    /**
+     * Increments counter by 1
+     *
+     * @param aName Name of counter
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    public void incrementCounter(String aName) throws IllegalArgumentException {
+        if (!this.isEnabled()) {
+            return;
+        }
+        this.getCounter(aName).increment();
+    }
+
+    /**
+     * Adds value to counter
+     *
+     * @param aName Name of counter
+     * @param aValue Value (must not be negative since counters are
+     * monotonic)
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public void addToCounter(String aName, long aValue) throws IllegalArgumentException {
+        if (!this.isEnabled()) {
+            return;
+        }
+        if (aValue < 0L) {
+            throw new IllegalArgumentException("aValue is negative.");
+        }
+        this.getCounter(aName).add(aValue);
+    }
+
+    /**
+     * Observes value with histogram
+     *
+     * @param aName Name of histogram
+     * @param aValue Value
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    public void observe(String aName, double aValue) throws IllegalArgumentException {
+        if (!this.isEnabled()) {
+            return;
+        }
+        this.getHistogram(aName).observe(aValue);
+    }
+
+    /**
+     * Adds all metrics of registry to this registry. NOTE: Nothing is added
+     * if this registry is disabled.
+     *
+     * @param aMetricsRegistry Registry (may be null then nothing happens)
+     */
+    public void merge(MetricsRegistry aMetricsRegistry) {
+        if (aMetricsRegistry == null || aMetricsRegistry == this || !this.isEnabled()) {
+            return;
+        }
+        for (Map.Entry<String, LongAdder> tmpEntry : aMetricsRegistry.counterMap.entrySet()) {
+            this.getCounter(tmpEntry.getKey()).add(tmpEntry.getValue().sum());
+        }
+        for (Map.Entry<String, Timer> tmpEntry : aMetricsRegistry.timerMap.entrySet()) {
+            Timer tmpTimer = tmpEntry.getValue();
+            this.getTimer(tmpEntry.getKey()).record(tmpTimer.count.sum(), tmpTimer.totalNanoseconds.sum(), tmpTimer.maximumNanoseconds.get());
+        }
+        for (Map.Entry<String, Histogram> tmpEntry : aMetricsRegistry.histogramMap.entrySet()) {
+            Histogram tmpSourceHistogram = tmpEntry.getValue();
+            Histogram tmpHistogram = this.getHistogram(tmpEntry.getKey());
+            for (int i = 0; i < tmpSourceHistogram.bucketCounts.length(); i++) {
+                tmpHistogram.bucketCounts.addAndGet(i, tmpSourceHistogram.bucketCounts.get(i));
+            }
+            tmpHistogram.count.add(tmpSourceHistogram.count.sum());
+            tmpHistogram.sum.add(tmpSourceHistogram.sum.get());
+        }
+    }
+
+    /**
+     * Removes all metrics
+     */
+    public void clear() {
+        this.counterMap.clear();
+        this.timerMap.clear();
+        this.histogramMap.clear();
+    }
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- Export methods">
+    /**
+     * Returns all metrics in Prometheus text format (metrics are sorted by
+     * name). Timers are exported as summaries in seconds with an additional
+     * maximum gauge, counters with suffix "_total".
+     *
+     * @return All metrics in Prometheus text format (may be empty)
+     */
+    public String getPrometheusText() {
+        StringBuilder tmpBuffer = new StringBuilder();
+        for (Map.Entry<String, LongAdder> tmpEntry : new TreeMap<>(this.counterMap).entrySet()) {
+            String tmpName = EXPORT_PREFIX + tmpEntry.getKey() + "_total";
+            this.appendLine(tmpBuffer, "# TYPE " + tmpName + " counter");
+            this.appendLine(tmpBuffer, tmpName + " " + String.valueOf(tmpEntry.getValue().sum()));
+        }
+        for (Map.Entry<String, Timer> tmpEntry : new TreeMap<>(this.timerMap).entrySet()) {
+            String tmpName = EXPORT_PREFIX + tmpEntry.getKey() + "_seconds";
+            Timer tmpTimer = tmpEntry.getValue();
+            this.appendLine(tmpBuffer, "# TYPE " + tmpName + " summary");
+            this.appendLine(tmpBuffer, tmpName + "_count " + String.valueOf(tmpTimer.count.sum()));
+            this.appendLine(tmpBuffer, tmpName + "_sum " + this.getSecondsRepresentation(tmpTimer.totalNanoseconds.sum()));
+            this.appendLine(tmpBuffer, "# TYPE " + tmpName + "_max gauge");
+            this.appendLine(tmpBuffer, tmpName + "_max " + this.getSecondsRepresentation(tmpTimer.maximumNanoseconds.get()));
+        }
+        for (Map.Entry<String, Histogram> tmpEntry : new TreeMap<>(this.histogramMap).entrySet()) {
+            String tmpName = EXPORT_PREFIX + tmpEntry.getKey();
+            Histogram tmpHistogram = tmpEntry.getValue();
+            this.appendLine(tmpBuffer, "# TYPE " + tmpName + " histogram");
+            long tmpCumulativeCount = 0L;
+            for (int i = 0; i < tmpHistogram.bucketCounts.length(); i++) {
+                tmpCumulativeCount += tmpHistogram.bucketCounts.get(i);
+                String tmpUpperBound;
+                if (i < HISTOGRAM_BUCKET_UPPER_BOUNDS.length) {
+                    tmpUpperBound = this.getValueRepresentation(HISTOGRAM_BUCKET_UPPER_BOUNDS[i]);
+                } else {
+                    tmpUpperBound = "+Inf";
+                }
+                this.appendLine(tmpBuffer, tmpName + "_bucket{le=\"" + tmpUpperBound + "\"} " + String.valueOf(tmpCumulativeCount));
+            }
+            this.appendLine(tmpBuffer, tmpName + "_sum " + this.getValueRepresentation(tmpHistogram.sum.get()));
+            this.appendLine(tmpBuffer, tmpName + "_count " + String.valueOf(tmpHistogram.count.sum()));
+        }
+        return tmpBuffer.toString();
+    }
+
+    /**
+     * Writes all metrics in Prometheus text format to file (e.g. for the
+     * textfile collector of a Prometheus node exporter)
+     *
+     * @param aFilePathname Full pathname of file
+     * @return True: File was written, false: Otherwise
+     */
+    public synchronized boolean writePrometheusTextFile(String aFilePathname) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aFilePathname == null || aFilePathname.isEmpty()) {
+            return false;
+        }
+        // </editor-fold>
+        return (new FileUtilityMethods()).writeSingleStringToTextFile(this.getPrometheusText(), aFilePathname);
+    }
+
+    /**
+     * Writes all metrics in Prometheus text format to metrics file of
+     * preferences. NOTE: Nothing is written if registry is disabled or empty.
+     *
+     * @return True: File was written, false: Otherwise
+     */
+    public boolean writeMetricsFile() {
+        if (!this.isEnabled() || this.isEmpty()) {
+            return false;
+        }
+        return this.writePrometheusTextFile(Preferences.getInstance().getMetricsFilePathname());
+    }
+    // </editor-fold>
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties">
+    /**
+     * True: Registry is enabled, false: Otherwise
+     *
+     * @return True: Registry is enabled, false: Otherwise
+     */
+    public boolean isEnabled() {
+        if (this.isPreferenceControlled) {
+            return Preferences.getInstance().isMetricsCollection();
+        } else {
+            return this.isEnabled;
+        }
+    }
+
+    /**
+     * Value of counter
+     *
+     * @param aName Name of counter
+     * @return Value of counter (0 if counter does not exist)
+     */
+    public long getCounterValue(String aName) {
+        LongAdder tmpCounter = this.counterMap.get(aName);
+        if (tmpCounter == null) {
+            return 0L;
+        } else {
+            return tmpCounter.sum();
+        }
+    }
+
+    /**
+     * Number of recordings of timer
+     *
+     * @param aName Name of timer
+     * @return Number of recordings of timer (0 if timer does not exist)
+     */
+    public long getTimerCount(String aName) {
+        Timer tmpTimer = this.timerMap.get(aName);
+        if (tmpTimer == null) {
+            return 0L;
+        } else {
+            return tmpTimer.count.sum();
+        }
+    }
+
+    /**
+     * Total duration of timer in nanoseconds
+     *
+     * @param aName Name of timer
+     * @return Total duration of timer in nanoseconds (0 if timer does not
+     * exist)
+     */
+    public long getTimerTotalNanoseconds(String aName) {
+        Timer tmpTimer = this.timerMap.get(aName);
+        if (tmpTimer == null) {
+            return 0L;
+        } else {
+            return tmpTimer.totalNanoseconds.sum();
+        }
+    }
+
+    /**
+     * Number of observations of histogram
+     *
+     * @param aName Name of histogram
+     * @return Number of observations of histogram (0 if histogram does not
+     * exist)
+     */
+    public long getHistogramCount(String aName) {
+        Histogram tmpHistogram = this.histogramMap.get(aName);
+        if (tmpHistogram == null) {
+            return 0L;
+        } else {
+            return tmpHistogram.count.sum();
+        }
+    }
+
+    /**
+     * True: Registry contains no metrics, false: Otherwise
+     *
+     * @return True: Registry contains no metrics, false: Otherwise
+     */
+    public boolean isEmpty() {
+        return this.counterMap.isEmpty() && this.timerMap.isEmpty() && this.histogramMap.isEmpty();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns counter with name (counter is created if necessary)
+     *
+     * @param aName Name of counter
+     * @return Counter
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    private LongAdder getCounter(String aName) throws IllegalArgumentException {
+        LongAdder tmpCounter = this.counterMap.get(aName);
+        if (tmpCounter == null) {
+            this.checkName(aName);
+            tmpCounter = new LongAdder();
+            LongAdder tmpExistingCounter = this.counterMap.putIfAbsent(aName, tmpCounter);
+            if (tmpExistingCounter != null) {
+                tmpCounter = tmpExistingCounter;
+            }
+        }
+        return tmpCounter;
+    }
+
+    /**
+     * Returns timer with name (timer is created if necessary)
+     *
+     * @param aName Name of timer
+     * @return Timer
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    private Timer getTimer(String aName) throws IllegalArgumentException {
+        Timer tmpTimer = this.timerMap.get(aName);
+        if (tmpTimer == null) {
+            this.checkName(aName);
+            tmpTimer = new Timer();
+            Timer tmpExistingTimer = this.timerMap.putIfAbsent(aName, tmpTimer);
+            if (tmpExistingTimer != null) {
+                tmpTimer = tmpExistingTimer;
+            }
+        }
+        return tmpTimer;
+    }
+
+    /**
+     * Returns histogram with name (histogram is created if necessary)
+     *
+     * @param aName Name of histogram
+     * @return Histogram
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    private Histogram getHistogram(String aName) throws IllegalArgumentException {
+        Histogram tmpHistogram = this.histogramMap.get(aName);
+        if (tmpHistogram == null) {
+            this.checkName(aName);
+            tmpHistogram = new Histogram();
+            Histogram tmpExistingHistogram = this.histogramMap.putIfAbsent(aName, tmpHistogram);
+            if (tmpExistingHistogram != null) {
+                tmpHistogram = tmpExistingHistogram;
+            }
+        }
+        return tmpHistogram;
+    }
+
+    /**
+     * Checks name of metric
+     *
+     * @param aName Name of metric
+     * @throws IllegalArgumentException Thrown if name is illegal
+     */
+    private void checkName(String aName) throws IllegalArgumentException {
+        if (aName == null || !NAME_PATTERN.matcher(aName).matches()) {
+            throw new IllegalArgumentException("aName is illegal.");
+        }
+    }
+
+    /**
+     * Appends line to buffer
+     *
+     * @param aBuffer Buffer
+     * @param aLine Line
+     */
+    private void appendLine(StringBuilder aBuffer, String aLine) {
+        aBuffer.append(aLine);
+        aBuffer.append("\n");
+    }
+
+    /**
+     * Returns representation of nanoseconds in seconds
+     *
+     * @param aNanoseconds Nanoseconds
+     * @return Representation of nanoseconds in seconds
+     */
+    private String getSecondsRepresentation(long aNanoseconds) {
+        return String.format(Locale.ENGLISH, "%.9f", (double) aNanoseconds / 1.0E9);
+    }
+
+    /**
+     * Returns representation of value
+     *
+     * @param aValue Value
+     * @return Representation of value
+     */
+    private String getValueRepresentation(double aValue) {
+        return Double.toString(aValue);
+    }
+    // </editor-fold>
+
+}
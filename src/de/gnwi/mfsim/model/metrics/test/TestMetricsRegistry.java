@@ -0,0 +1,107 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.metrics.test;
+
+import de.gnwi.mfsim.model.metrics.MetricsRegistry;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class MetricsRegistry
+ */
+public class TestMetricsRegistry extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of disabled registry
+     */
+    public void testDisabledRegistry() {
+        MetricsRegistry tmpMetricsRegistry = new MetricsRegistry(false);
+        long tmpStartTime = tmpMetricsRegistry.startTimer();
+        tmpMetricsRegistry.stopTimer("timer", tmpStartTime);
+        tmpMetricsRegistry.incrementCounter("counter");
+        tmpMetricsRegistry.observe("histogram", 10.0);
+        assertTrue("Test1", tmpMetricsRegistry.isEmpty());
+        assertEquals("Test2", "", tmpMetricsRegistry.getPrometheusText());
+        // Merge into disabled registry
+        MetricsRegistry tmpEnabledMetricsRegistry = new MetricsRegistry(true);
+        tmpEnabledMetricsRegistry.incrementCounter("counter");
+        tmpMetricsRegistry.merge(tmpEnabledMetricsRegistry);
+        assertTrue("Test3", tmpMetricsRegistry.isEmpty());
+    }
+
+    /**
+     * Test of counters, timers, histograms and merge
+     */
+    public void testRecordingAndMerge() {
+        MetricsRegistry tmpMetricsRegistry = new MetricsRegistry(true);
+        tmpMetricsRegistry.incrementCounter("counter");
+        tmpMetricsRegistry.addToCounter("counter", 4L);
+        assertEquals("Test1", 5L, tmpMetricsRegistry.getCounterValue("counter"));
+        assertEquals("Test2", 0L, tmpMetricsRegistry.getCounterValue("unknown"));
+        long tmpStartTime = tmpMetricsRegistry.startTimer();
+        tmpMetricsRegistry.stopTimer("timer", tmpStartTime);
+        tmpMetricsRegistry.stopTimer("timer", tmpMetricsRegistry.startTimer());
+        assertEquals("Test3", 2L, tmpMetricsRegistry.getTimerCount("timer"));
+        assertTrue("Test4", tmpMetricsRegistry.getTimerTotalNanoseconds("timer") >= 0L);
+        tmpMetricsRegistry.observe("histogram", 3.0);
+        tmpMetricsRegistry.observe("histogram", 1.0E8);
+        assertEquals("Test5", 2L, tmpMetricsRegistry.getHistogramCount("histogram"));
+        try {
+            tmpMetricsRegistry.incrementCounter("Illegal-Name");
+            fail("Test6");
+        } catch (IllegalArgumentException anException) {
+            // Expected
+        }
+        MetricsRegistry tmpOtherMetricsRegistry = new MetricsRegistry(true);
+        tmpOtherMetricsRegistry.merge(tmpMetricsRegistry);
+        tmpOtherMetricsRegistry.merge(tmpMetricsRegistry);
+        assertEquals("Test7", 10L, tmpOtherMetricsRegistry.getCounterValue("counter"));
+        assertEquals("Test8", 4L, tmpOtherMetricsRegistry.getTimerCount("timer"));
+        assertEquals("Test9", 4L, tmpOtherMetricsRegistry.getHistogramCount("histogram"));
+        tmpOtherMetricsRegistry.clear();
+        assertTrue("Test10", tmpOtherMetricsRegistry.isEmpty());
+    }
+
+    /**
+     * Test of Prometheus text format
+     */
+    public void testPrometheusText() {
+        MetricsRegistry tmpMetricsRegistry = new MetricsRegistry(true);
+        tmpMetricsRegistry.addToCounter("b_counter", 2L);
+        tmpMetricsRegistry.addToCounter("a_counter", 1L);
+        tmpMetricsRegistry.stopTimer("timer", tmpMetricsRegistry.startTimer());
+        tmpMetricsRegistry.observe("histogram", 3.0);
+        tmpMetricsRegistry.observe("histogram", 1.0E8);
+        String tmpText = tmpMetricsRegistry.getPrometheusText();
+        assertTrue("Test1", tmpText.contains("# TYPE mfsim_a_counter_total counter\nmfsim_a_counter_total 1\n"));
+        assertTrue("Test2", tmpText.indexOf("mfsim_a_counter_total") < tmpText.indexOf("mfsim_b_counter_total"));
+        assertTrue("Test3", tmpText.contains("# TYPE mfsim_timer_seconds summary\nmfsim_timer_seconds_count 1\n"));
+        assertTrue("Test4", tmpText.contains("mfsim_timer_seconds_sum "));
+        assertTrue("Test5", tmpText.contains("mfsim_timer_seconds_max "));
+        assertTrue("Test6", tmpText.contains("# TYPE mfsim_histogram histogram\n"));
+        assertTrue("Test7", tmpText.contains("mfsim_histogram_bucket{le=\"2.0\"} 0\n"));
+        assertTrue("Test8", tmpText.contains("mfsim_histogram_bucket{le=\"5.0\"} 1\n"));
+        assertTrue("Test9", tmpText.contains("mfsim_histogram_bucket{le=\"+Inf\"} 2\n"));
+        assertTrue("Test10", tmpText.contains("mfsim_histogram_count 2\n"));
+        assertTrue("Test11", tmpText.endsWith("\n"));
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,279 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.particle;
+
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled (immutable) particle-pair interaction table: Particles are
+ * interned to dense ids (0, 1, ..., number of particles - 1 in ascending
+ * order of particles) and temperatures to temperature indices (in ascending
+ * order of temperatures). Interactions a(ij) are stored in one symmetric
+ * matrix per temperature (row-major double[] with number of particles^2
+ * elements), volume-based bond lengths in one symmetric matrix. All id-based
+ * lookups are O(1).
+ * <p>
+ * The table is created by StandardParticleInteractionData and replaced on
+ * every change of the particle set (see
+ * StandardParticleInteractionData.getParticleInteractionTable()).
+ */
+public class ParticleInteractionTable {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Index for unknown particle or temperature
+     */
+    private static final int UNKNOWN_INDEX = -1;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * String utility methods
+     */
+    private final StringUtilityMethods stringUtilityMethods = new StringUtilityMethods();
+
+    /**
+     * Particles (index is particle id)
+     */
+    private final String[] particles;
+
+    /**
+     * Particle to particle id map
+     */
+    private final HashMap<String, Integer> particleToIdMap;
+
+    /**
+     * Temperature strings with 2 decimals (index is temperature index)
+     */
+    private final String[] temperatures;
+
+    /**
+     * Temperature representation to temperature index map (filled on
+     * demand)
+     */
+    private final ConcurrentHashMap<String, Integer> temperatureRepresentationToIndexMap;
+
+    /**
+     * Interaction a(ij) representations: Symmetric matrix per temperature
+     * index (null if interaction is not available)
+     */
+    private final String[][] interactionRepresentations;
+
+    /**
+     * Interactions a(ij): Symmetric matrix per temperature index (NaN if
+     * interaction is not available or not a number)
+     */
+    private final double[][] interactions;
+
+    /**
+     * Volume-based bond lengths in Angstrom: Symmetric matrix (NaN if volume
+     * of a particle is not a number)
+     */
+    private final double[] volumeBasedBondLengths;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor. NOTE: No checks are performed, arrays are NOT copied.
+     *
+     * @param aParticles Particles sorted ascending (index is particle id)
+     * @param aTemperatures Temperature strings with 2 decimals sorted
+     * ascending (index is temperature index)
+     * @param anInteractionRepresentations Interaction a(ij) representations:
+     * Symmetric matrix per temperature index
+     * @param aVolumeBasedBondLengths Volume-based bond lengths in Angstrom:
+     * Symmetric matrix
+     */
+    ParticleInteractionTable(String[] aParticles, String[] aTemperatures, String[][] anInteractionRepresentations, double[] aVolumeBasedBondLengths) {
+        this.particles = aParticles;
+        this.particleToIdMap = new HashMap<>(aParticles.length * 2);
+        for (int i = 0; i < aParticles.length; i++) {
+            this.particleToIdMap.put(aParticles[i], i);
+        }
+        this.temperatures = aTemperatures;
+        this.temperatureRepresentationToIndexMap = new ConcurrentHashMap<>();
+        this.interactionRepresentations = anInteractionRepresentations;
+        this.interactions = new double[anInteractionRepresentations.length][];
+        for (int i = 0; i < anInteractionRepresentations.length; i++) {
+            String[] tmpInteractionRepresentations = anInteractionRepresentations[i];
+            double[] tmpInteractions = new double[tmpInteractionRepresentations.length];
+            for (int k = 0; k < tmpInteractionRepresentations.length; k++) {
+                tmpInteractions[k] = this.getDoubleValue(tmpInteractionRepresentations[k]);
+            }
+            this.interactions[i] = tmpInteractions;
+        }
+        this.volumeBasedBondLengths = aVolumeBasedBondLengths;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns particle id
+     *
+     * @param aParticle Particle
+     * @return Particle id or -1 if particle is unknown
+     */
+    public int getParticleId(String aParticle) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aParticle == null) {
+            return UNKNOWN_INDEX;
+        }
+        // </editor-fold>
+        Integer tmpParticleId = this.particleToIdMap.get(aParticle);
+        if (tmpParticleId == null) {
+            return UNKNOWN_INDEX;
+        } else {
+            return tmpParticleId;
+        }
+    }
+
+    /**
+     * Returns particle of particle id. NOTE: No checks are performed.
+     *
+     * @param aParticleId Particle id
+     * @return Particle
+     */
+    public String getParticle(int aParticleId) {
+        return this.particles[aParticleId];
+    }
+
+    /**
+     * Returns temperature index
+     *
+     * @param aTemperatureRepresentation Temperature representation
+     * @return Temperature index or -1 if temperature is unknown
+     */
+    public int getTemperatureIndex(String aTemperatureRepresentation) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aTemperatureRepresentation == null) {
+            return UNKNOWN_INDEX;
+        }
+        // </editor-fold>
+        Integer tmpTemperatureIndex = this.temperatureRepresentationToIndexMap.get(aTemperatureRepresentation);
+        if (tmpTemperatureIndex == null) {
+            tmpTemperatureIndex = UNKNOWN_INDEX;
+            String tmpTemperatureString = this.stringUtilityMethods.formatDoubleValue(aTemperatureRepresentation, 2);
+            for (int i = 0; i < this.temperatures.length; i++) {
+                if (this.temperatures[i].equals(tmpTemperatureString)) {
+                    tmpTemperatureIndex = i;
+                    break;
+                }
+            }
+            this.temperatureRepresentationToIndexMap.put(aTemperatureRepresentation, tmpTemperatureIndex);
+        }
+        return tmpTemperatureIndex;
+    }
+
+    /**
+     * Returns interaction a(ij). NOTE: No checks are performed.
+     *
+     * @param aParticleId1 Particle id of particle 1 of pair
+     * @param aParticleId2 Particle id of particle 2 of pair
+     * @param aTemperatureIndex Temperature index
+     * @return Interaction a(ij) or NaN if interaction is not available
+     */
+    public double getInteraction(int aParticleId1, int aParticleId2, int aTemperatureIndex) {
+        return this.interactions[aTemperatureIndex][aParticleId1 * this.particles.length + aParticleId2];
+    }
+
+    /**
+     * Returns interaction a(ij) representation. NOTE: No checks are
+     * performed.
+     *
+     * @param aParticleId1 Particle id of particle 1 of pair
+     * @param aParticleId2 Particle id of particle 2 of pair
+     * @param aTemperatureIndex Temperature index
+     * @return Interaction a(ij) representation or null if interaction is not
+     * available
+     */
+    public String getInteractionRepresentation(int aParticleId1, int aParticleId2, int aTemperatureIndex) {
+        return this.interactionRepresentations[aTemperatureIndex][aParticleId1 * this.particles.length + aParticleId2];
+    }
+
+    /**
+     * Returns symmetric interaction a(ij) matrix of temperature (row-major,
+     * index is particle id 1 * number of particles + particle id 2). NOTE: No
+     * checks are performed, matrix is NOT allowed to be changed.
+     *
+     * @param aTemperatureIndex Temperature index
+     * @return Interaction a(ij) matrix of temperature (NaN if interaction is
+     * not available)
+     */
+    public double[] getInteractionMatrix(int aTemperatureIndex) {
+        return this.interactions[aTemperatureIndex];
+    }
+
+    /**
+     * Returns volume-based bond length of particle pair in Angstrom. NOTE:
+     * No checks are performed.
+     *
+     * @param aParticleId1 Particle id of particle 1 of pair
+     * @param aParticleId2 Particle id of particle 2 of pair
+     * @return Volume-based bond length of particle pair in Angstrom (NaN if
+     * volume of a particle is not a number)
+     */
+    public double getVolumeBasedBondLength(int aParticleId1, int aParticleId2) {
+        return this.volumeBasedBondLengths[aParticleId1 * this.particles.length + aParticleId2];
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public properties (get)">
+    /**
+     * Number of particles
+     *
+     * @return Number of particles
+     */
+    public int getNumberOfParticles() {
+        return this.particles.length;
+    }
+
+    /**
+     * Number of temperatures
+     *
+     * @return Number of temperatures
+     */
+    public int getNumberOfTemperatures() {
+        return this.temperatures.length;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns double value of representation
+     *
+     * @param aRepresentation Representation (may be null)
+     * @return Double value of representation or NaN if representation is
+     * null or not a number
+     */
+    private double getDoubleValue(String aRepresentation) {
+        if (aRepresentation == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.valueOf(aRepresentation);
+        } catch (NumberFormatException anException) {
+            return Double.NaN;
+        }
+    }
+    // </editor-fold>
+
+}
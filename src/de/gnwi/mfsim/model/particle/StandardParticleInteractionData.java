@@ -78,11 +78,6 @@ public final class StandardParticleInteractionData {
      * HashMap that maps particle to particle descriptions
      */
     private HashMap<String, StandardParticleDescription> particleToDescriptionMap;
-    
-    /**
-     * Particle pair to volume-based bond length map
-     */
-    private HashMap<String, Double> particlePairToBondLengthMap;
 
     /**
      * HashMap that maps particle-pair-temperature descriptor (key) to
@@ -109,6 +104,12 @@ public final class StandardParticleInteractionData {
      * Change detection flag. True: Particle data changed, false: Otherwise
      */
     private boolean hasChanged;
+
+    /**
+     * Compiled particle interaction table (null if particle set changed
+     * since last creation)
+     */
+    private volatile ParticleInteractionTable particleInteractionTable;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private singleton constructor">
@@ -172,6 +173,7 @@ public final class StandardParticleInteractionData {
         // </editor-fold>
         if (!this.particleToDescriptionMap.containsKey(aParticleDescription.getParticle())) {
             this.particleToDescriptionMap.put(aParticleDescription.getParticle(), aParticleDescription);
+            this.particleInteractionTable = null;
             // Change in data occurred: Set change detection flag to true!
             this.hasChanged = true;
             return true;
@@ -198,13 +200,14 @@ public final class StandardParticleInteractionData {
             if (!aParticleDescription.getParticleDescriptionString().equals(this.particleToDescriptionMap.get(aParticleDescription.getParticle()).getParticleDescriptionString())) {
                 this.particleToDescriptionMap.remove(aParticleDescription.getParticle());
                 this.particleToDescriptionMap.put(aParticleDescription.getParticle(), aParticleDescription);
-                // Volume may have changed: Clear particle pair to bond length map
-                this.particlePairToBondLengthMap.clear();
+                // Volume may have changed: Invalidate particle interaction table
+                this.particleInteractionTable = null;
                 // Change in data occurred: Set change detection flag to true!
                 this.hasChanged = true;
             }
         } else {
             this.particleToDescriptionMap.put(aParticleDescription.getParticle(), aParticleDescription);
+            this.particleInteractionTable = null;
             // Change in data occurred: Set change detection flag to true!
             this.hasChanged = true;
         }
@@ -539,6 +542,7 @@ public final class StandardParticleInteractionData {
         String tmpParticlePairTemperatureKey = this.getParticlePairTemperatureKey(aParticle1, aParticle2, this.getTemperatureString(aTemperatureRepresentation));
         if (!this.particlePairTemperatureToInteractionMap.containsKey(tmpParticlePairTemperatureKey)) {
             this.particlePairTemperatureToInteractionMap.put(tmpParticlePairTemperatureKey, anInteraction);
+            this.particleInteractionTable = null;
             // Change in data occurred: Set change detection flag to true!
             this.hasChanged = true;
             return true;
@@ -570,7 +574,7 @@ public final class StandardParticleInteractionData {
         if (tmpParticles.length != 2) {
             throw new IllegalArgumentException("aParticlePair is illegal.");
         }
-        return this.particlePairTemperatureToInteractionMap.get(this.getParticlePairTemperatureKey(tmpParticles[0], tmpParticles[1], this.getTemperatureString(aTemperatureRepresentation)));
+        return this.getInteraction(tmpParticles[0], tmpParticles[1], aTemperatureRepresentation);
     }
 
     /**
@@ -583,6 +587,29 @@ public final class StandardParticleInteractionData {
      * available (check with method hasInteraction())
      */
     public String getInteraction(String aParticle1, String aParticle2, String aTemperatureRepresentation) {
+        ParticleInteractionTable tmpParticleInteractionTable = this.getParticleInteractionTable();
+        int tmpParticleId1 = tmpParticleInteractionTable.getParticleId(aParticle1);
+        int tmpParticleId2 = tmpParticleInteractionTable.getParticleId(aParticle2);
+        int tmpTemperatureIndex = tmpParticleInteractionTable.getTemperatureIndex(aTemperatureRepresentation);
+        if (tmpParticleId1 >= 0 && tmpParticleId2 >= 0 && tmpTemperatureIndex >= 0) {
+            return tmpParticleInteractionTable.getInteractionRepresentation(tmpParticleId1, tmpParticleId2, tmpTemperatureIndex);
+        } else {
+            return this.getInteractionWithStringKey(aParticle1, aParticle2, aTemperatureRepresentation);
+        }
+    }
+
+    /**
+     * Returns interaction a(ij) as String with string-keyed lookup, i.e.
+     * without particle interaction table (reference for getInteraction(),
+     * e.g. for tests and benchmarks)
+     *
+     * @param aParticle1 Particle 1 of pair
+     * @param aParticle2 Particle 2 of pair
+     * @param aTemperatureRepresentation Temperature representation
+     * @return Interaction a(ij) as String or null if interaction is not
+     * available
+     */
+    public String getInteractionWithStringKey(String aParticle1, String aParticle2, String aTemperatureRepresentation) {
         return this.particlePairTemperatureToInteractionMap.get(this.getParticlePairTemperatureKey(aParticle1, aParticle2, this.getTemperatureString(aTemperatureRepresentation)));
     }
 
@@ -616,11 +643,13 @@ public final class StandardParticleInteractionData {
             if (!anInteraction.equals(this.particlePairTemperatureToInteractionMap.get(tmpParticlePairTemperatureKey))) {
                 this.particlePairTemperatureToInteractionMap.remove(tmpParticlePairTemperatureKey);
                 this.particlePairTemperatureToInteractionMap.put(tmpParticlePairTemperatureKey, anInteraction);
+                this.particleInteractionTable = null;
                 // Change in data occurred: Set change detection flag to true!
                 this.hasChanged = true;
             }
         } else {
             this.particlePairTemperatureToInteractionMap.put(tmpParticlePairTemperatureKey, anInteraction);
+            this.particleInteractionTable = null;
             // Change in data occurred: Set change detection flag to true!
             this.hasChanged = true;
         }
@@ -666,7 +695,39 @@ public final class StandardParticleInteractionData {
         }
 
         // </editor-fold>
-        return this.particlePairTemperatureToInteractionMap.containsKey(this.getParticlePairTemperatureKey(aParticle1, aParticle2, this.getTemperatureString(aTemperatureRepresentation)));
+        ParticleInteractionTable tmpParticleInteractionTable = this.getParticleInteractionTable();
+        int tmpTemperatureIndex = tmpParticleInteractionTable.getTemperatureIndex(aTemperatureRepresentation);
+        if (tmpTemperatureIndex >= 0) {
+            return tmpParticleInteractionTable.getInteractionRepresentation(
+                tmpParticleInteractionTable.getParticleId(aParticle1), 
+                tmpParticleInteractionTable.getParticleId(aParticle2), 
+                tmpTemperatureIndex
+            ) != null;
+        } else {
+            return this.particlePairTemperatureToInteractionMap.containsKey(this.getParticlePairTemperatureKey(aParticle1, aParticle2, this.getTemperatureString(aTemperatureRepresentation)));
+        }
+    }
+
+    /**
+     * Returns compiled particle interaction table for O(1) particle-id based
+     * lookup of interactions a(ij) and volume-based bond lengths. NOTE: The
+     * table is created on demand and replaced after every change of the
+     * particle set (i.e. a returned table is never changed).
+     *
+     * @return Particle interaction table
+     */
+    public ParticleInteractionTable getParticleInteractionTable() {
+        ParticleInteractionTable tmpParticleInteractionTable = this.particleInteractionTable;
+        if (tmpParticleInteractionTable == null) {
+            synchronized (this) {
+                tmpParticleInteractionTable = this.particleInteractionTable;
+                if (tmpParticleInteractionTable == null) {
+                    tmpParticleInteractionTable = this.createParticleInteractionTable();
+                    this.particleInteractionTable = tmpParticleInteractionTable;
+                }
+            }
+        }
+        return tmpParticleInteractionTable;
     }
 
     // </editor-fold>
@@ -689,17 +750,17 @@ public final class StandardParticleInteractionData {
             throw new IllegalArgumentException("aParticle2 is null/empty.");
         }
         // </editor-fold>
-        String tmpParticlePairKey = this.getParticlePairKey(aParticle1, aParticle2);
-        if (!this.particlePairToBondLengthMap.containsKey(tmpParticlePairKey)) {
-            double tmpVolume1 = Double.parseDouble(this.particleToDescriptionMap.get(aParticle1).getVolume());
-            double tmpVolume2 = Double.parseDouble(this.particleToDescriptionMap.get(aParticle2).getVolume());
-            // Volume = 4/3*PI*Radius^3
-            double tmpR1 = Math.cbrt(ModelDefinitions.FACTOR_3_DIV_4_PI * tmpVolume1);
-            double tmpR2 = Math.cbrt(ModelDefinitions.FACTOR_3_DIV_4_PI * tmpVolume2);
-            double tmpBondLength = tmpR1 + tmpR2;
-            this.particlePairToBondLengthMap.put(tmpParticlePairKey, tmpBondLength);
-        }
-        return this.particlePairToBondLengthMap.get(tmpParticlePairKey);
+        ParticleInteractionTable tmpParticleInteractionTable = this.getParticleInteractionTable();
+        double tmpBondLength = tmpParticleInteractionTable.getVolumeBasedBondLength(
+            tmpParticleInteractionTable.getParticleId(aParticle1), 
+            tmpParticleInteractionTable.getParticleId(aParticle2)
+        );
+        if (Double.isNaN(tmpBondLength)) {
+            // Volume of a particle is not a number: Throws NumberFormatException
+            return this.getParticleRadius(aParticle1) + this.getParticleRadius(aParticle2);
+        } else {
+            return tmpBondLength;
+        }
     }
     // </editor-fold>
     //
@@ -1506,8 +1567,8 @@ public final class StandardParticleInteractionData {
 
         // </editor-fold>
         this.particleToDescriptionMap.remove(aParticle);
-        // Particle may be removed: Clear particle pair to bond length map
-        this.particlePairToBondLengthMap.clear();
+        // Particle is removed: Invalidate particle interaction table
+        this.particleInteractionTable = null;
         // Change in data occurred: Set change detection flag to true!
         this.hasChanged = true;
 
@@ -1910,7 +1971,6 @@ public final class StandardParticleInteractionData {
             // <editor-fold defaultstate="collapsed" desc="Read particle interaction and temperatures from particle set file in installation directory">
             // Initialize data structure (Pairs: 100x100 = 10000):
             this.particlePairTemperatureToInteractionMap = new HashMap<>(10000);
-            this.particlePairToBondLengthMap = new HashMap<>(10000);
             tmpItems = this.fileUtilityMethods.readJaggedStringArrayPartFromFile(Preferences.getInstance().getCurrentParticleSetFilePathname(),
                     ModelDefinitions.LINE_PREFIX_TO_IGNORE, ModelDefinitions.PARTICLE_INTERACTIONS_SECTION_TAG);
             // Initialize data structure:
@@ -2001,6 +2061,62 @@ public final class StandardParticleInteractionData {
         }
     }
 
+    /**
+     * Returns volume-based radius of particle in Angstrom. NOTE: No checks
+     * are performed.
+     *
+     * @param aParticle Particle
+     * @return Volume-based radius of particle in Angstrom
+     * @throws NumberFormatException Thrown if volume of particle is not a
+     * number
+     */
+    private double getParticleRadius(String aParticle) throws NumberFormatException {
+        double tmpVolume = Double.parseDouble(this.particleToDescriptionMap.get(aParticle).getVolume());
+        // Volume = 4/3*PI*Radius^3
+        return Math.cbrt(ModelDefinitions.FACTOR_3_DIV_4_PI * tmpVolume);
+    }
+
+    /**
+     * Creates particle interaction table for current particle set
+     *
+     * @return Particle interaction table
+     */
+    private ParticleInteractionTable createParticleInteractionTable() {
+        String[] tmpParticles = this.particleToDescriptionMap.keySet().toArray(new String[0]);
+        Arrays.sort(tmpParticles);
+        String[] tmpTemperatures;
+        if (this.temperatures == null) {
+            tmpTemperatures = new String[0];
+        } else {
+            tmpTemperatures = this.temperatures;
+        }
+        int tmpNumberOfParticles = tmpParticles.length;
+        double[] tmpRadii = new double[tmpNumberOfParticles];
+        for (int i = 0; i < tmpNumberOfParticles; i++) {
+            try {
+                tmpRadii[i] = this.getParticleRadius(tmpParticles[i]);
+            } catch (NumberFormatException anException) {
+                tmpRadii[i] = Double.NaN;
+            }
+        }
+        String[][] tmpInteractionRepresentations = new String[tmpTemperatures.length][tmpNumberOfParticles * tmpNumberOfParticles];
+        double[] tmpVolumeBasedBondLengths = new double[tmpNumberOfParticles * tmpNumberOfParticles];
+        for (int i = 0; i < tmpNumberOfParticles; i++) {
+            for (int j = i; j < tmpNumberOfParticles; j++) {
+                String tmpParticlePairKey = this.getParticlePairKey(tmpParticles[i], tmpParticles[j]);
+                for (int k = 0; k < tmpTemperatures.length; k++) {
+                    String tmpInteractionRepresentation = this.particlePairTemperatureToInteractionMap.get(tmpParticlePairKey + tmpTemperatures[k]);
+                    tmpInteractionRepresentations[k][i * tmpNumberOfParticles + j] = tmpInteractionRepresentation;
+                    tmpInteractionRepresentations[k][j * tmpNumberOfParticles + i] = tmpInteractionRepresentation;
+                }
+                double tmpBondLength = tmpRadii[i] + tmpRadii[j];
+                tmpVolumeBasedBondLengths[i * tmpNumberOfParticles + j] = tmpBondLength;
+                tmpVolumeBasedBondLengths[j * tmpNumberOfParticles + i] = tmpBondLength;
+            }
+        }
+        return new ParticleInteractionTable(tmpParticles, tmpTemperatures, tmpInteractionRepresentations, tmpVolumeBasedBondLengths);
+    }
+
     /**
      * Returns temperature string with 2 decimals
      *
@@ -0,0 +1,119 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.particle.test;
+
+import de.gnwi.mfsim.model.particle.ParticleInteractionTable;
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.spices.SpicesConstants;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class ParticleInteractionTable
+ */
+public class TestParticleInteractionTable extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of equivalence of table-based lookups with string-keyed lookups
+     */
+    public void testEquivalence() {
+        StandardParticleInteractionData tmpData = StandardParticleInteractionData.getInstance();
+        ParticleInteractionTable tmpTable = tmpData.getParticleInteractionTable();
+        String[] tmpParticles = tmpData.getAllParticlesSortedAscending();
+        String[] tmpTemperatures = tmpData.getTemperatures();
+        assertEquals("Test1", tmpParticles.length, tmpTable.getNumberOfParticles());
+        assertEquals("Test2", tmpTemperatures.length, tmpTable.getNumberOfTemperatures());
+        int tmpNumberOfInteractions = 0;
+        for (int i = 0; i < tmpParticles.length; i++) {
+            int tmpParticleId1 = tmpTable.getParticleId(tmpParticles[i]);
+            assertEquals("Test3", tmpParticles[i], tmpTable.getParticle(tmpParticleId1));
+            for (int j = 0; j < tmpParticles.length; j++) {
+                int tmpParticleId2 = tmpTable.getParticleId(tmpParticles[j]);
+                for (String tmpTemperature : tmpTemperatures) {
+                    // Different representations of same temperature
+                    for (String tmpTemperatureRepresentation : new String[] {tmpTemperature, String.valueOf(Double.valueOf(tmpTemperature))}) {
+                        String tmpInteraction = tmpData.getInteractionWithStringKey(tmpParticles[i], tmpParticles[j], tmpTemperatureRepresentation);
+                        assertEquals("Test4", tmpInteraction, tmpData.getInteraction(tmpParticles[i], tmpParticles[j], tmpTemperatureRepresentation));
+                        assertEquals("Test5", tmpInteraction != null, tmpData.hasInteraction(tmpParticles[i], tmpParticles[j], tmpTemperatureRepresentation));
+                        int tmpTemperatureIndex = tmpTable.getTemperatureIndex(tmpTemperatureRepresentation);
+                        assertEquals("Test6", tmpTemperature, tmpTemperatures[tmpTemperatureIndex]);
+                        assertEquals("Test7", tmpInteraction, tmpTable.getInteractionRepresentation(tmpParticleId1, tmpParticleId2, tmpTemperatureIndex));
+                        if (tmpInteraction != null) {
+                            tmpNumberOfInteractions++;
+                            assertEquals("Test8", Double.valueOf(tmpInteraction), tmpTable.getInteraction(tmpParticleId1, tmpParticleId2, tmpTemperatureIndex), 0.0);
+                            assertEquals("Test9", tmpTable.getInteraction(tmpParticleId2, tmpParticleId1, tmpTemperatureIndex), tmpTable.getInteraction(tmpParticleId1, tmpParticleId2, tmpTemperatureIndex), 0.0);
+                        } else {
+                            assertTrue("Test10", Double.isNaN(tmpTable.getInteraction(tmpParticleId1, tmpParticleId2, tmpTemperatureIndex)));
+                        }
+                    }
+                }
+                // Volume-based bond length: Volume = 4/3*PI*Radius^3
+                double tmpBondLength = 
+                    Math.cbrt(ModelDefinitions.FACTOR_3_DIV_4_PI * Double.parseDouble(tmpData.getParticleDescription(tmpParticles[i]).getVolume())) + 
+                    Math.cbrt(ModelDefinitions.FACTOR_3_DIV_4_PI * Double.parseDouble(tmpData.getParticleDescription(tmpParticles[j]).getVolume()));
+                assertEquals("Test11", tmpBondLength, tmpData.getParticlePairVolumeBasedBondLength(tmpParticles[i], tmpParticles[j]), 0.0);
+                assertEquals("Test12", tmpBondLength, tmpTable.getVolumeBasedBondLength(tmpParticleId1, tmpParticleId2), 0.0);
+            }
+        }
+        assertTrue("Test13", tmpNumberOfInteractions > 0);
+        // Unknown particle and temperature
+        assertEquals("Test14", -1, tmpTable.getParticleId("UnknownParticle"));
+        assertEquals("Test15", -1, tmpTable.getTemperatureIndex("-1000.0"));
+        assertNull("Test16", tmpData.getInteraction("UnknownParticle", tmpParticles[0], tmpTemperatures[0]));
+        assertNull("Test17", tmpData.getInteraction(tmpParticles[0], tmpParticles[0], "-1000.0"));
+        assertFalse("Test18", tmpData.hasInteraction(tmpParticles[0], tmpParticles[0], "-1000.0"));
+        // Particle pair overload
+        String tmpParticlePair = tmpParticles[0] + SpicesConstants.PARTICLE_SEPARATOR + tmpParticles[tmpParticles.length - 1];
+        assertEquals("Test19", 
+            tmpData.getInteractionWithStringKey(tmpParticles[0], tmpParticles[tmpParticles.length - 1], tmpTemperatures[0]), 
+            tmpData.getInteraction(tmpParticlePair, tmpTemperatures[0])
+        );
+    }
+
+    /**
+     * Test that table is only replaced after change of particle set
+     */
+    public void testInvalidation() {
+        StandardParticleInteractionData tmpData = StandardParticleInteractionData.getInstance();
+        try {
+            ParticleInteractionTable tmpTable = tmpData.getParticleInteractionTable();
+            assertSame("Test1", tmpTable, tmpData.getParticleInteractionTable());
+            String tmpParticle = tmpData.getAllParticlesSortedAscending()[0];
+            String tmpTemperature = tmpData.getTemperatures()[0];
+            // Unchanged interaction: Table is kept
+            tmpData.updateInteraction(tmpParticle, tmpParticle, tmpTemperature, tmpData.getInteraction(tmpParticle, tmpParticle, tmpTemperature));
+            assertSame("Test2", tmpTable, tmpData.getParticleInteractionTable());
+            // Changed interaction: Table is replaced
+            tmpData.updateInteraction(tmpParticle, tmpParticle, tmpTemperature, "123.45");
+            assertNotSame("Test3", tmpTable, tmpData.getParticleInteractionTable());
+            assertEquals("Test4", "123.45", tmpData.getInteraction(tmpParticle, tmpParticle, tmpTemperature));
+            int tmpParticleId = tmpData.getParticleInteractionTable().getParticleId(tmpParticle);
+            assertEquals("Test5", 123.45, tmpData.getParticleInteractionTable().getInteraction(tmpParticleId, tmpParticleId, 0), 0.0);
+            // Old table is not changed
+            assertFalse("Test6", "123.45".equals(tmpTable.getInteractionRepresentation(tmpParticleId, tmpParticleId, 0)));
+        } finally {
+            // Restore persistent particle data
+            tmpData.reset();
+        }
+    }
+    // </editor-fold>
+
+}
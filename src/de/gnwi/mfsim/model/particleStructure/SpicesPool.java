@@ -21,10 +21,15 @@ package de.gnwi.mfsim.model.particleStructure;
 
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.graphics.SpicesGraphics;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Pool for graphical Spices
+ * Pool for graphical Spices: Lock-free and size-bounded pool with several
+ * instances per molecular structure string that may be used by concurrent
+ * threads.
  *
  * @author Achim Zielesny
  */
@@ -40,9 +45,14 @@ public class SpicesPool {
     //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
     /**
-     * Molecular structure string to Spices map
+     * Molecular structure string to queue of Spices map
      */
-    private ConcurrentHashMap<String, SpicesGraphics> spicesMap;
+    private ConcurrentHashMap<String, ConcurrentLinkedQueue<SpicesGraphics>> spicesMap;
+
+    /**
+     * Number of pooled Spices instances
+     */
+    private AtomicInteger poolSize;
 
     // </editor-fold>
     //
@@ -53,6 +63,7 @@ public class SpicesPool {
     private SpicesPool() {
         // NOTE: 100 Spices instances are sufficient for all practical purposes
         this.spicesMap = new ConcurrentHashMap<>(100);
+        this.poolSize = new AtomicInteger(0);
     }
 
     // </editor-fold>
@@ -70,12 +81,14 @@ public class SpicesPool {
     //
     // <editor-fold defaultstate="collapsed" desc="Public properties">
     /**
-     * Returns Spices instance
+     * Returns Spices instance. NOTE: The returned instance is removed from the
+     * pool, i.e. it is exclusively used by the calling thread until it is set
+     * for reuse.
      *
      * @param aMolecularStructureString Molecular structure string
      * @return Spices instance or null if molecular structure string is invalid
      */
-    public synchronized SpicesGraphics getSpices(String aMolecularStructureString) {
+    public SpicesGraphics getSpices(String aMolecularStructureString) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aMolecularStructureString == null || aMolecularStructureString.isEmpty()) {
             // Utility.appendToLogfile(true, "SpicesPool.getSpices: Null");
@@ -83,7 +96,14 @@ public class SpicesPool {
         }
         // </editor-fold>
         try {
-            SpicesGraphics tmpSpices = this.spicesMap.remove(aMolecularStructureString);
+            SpicesGraphics tmpSpices = null;
+            ConcurrentLinkedQueue<SpicesGraphics> tmpSpicesQueue = this.spicesMap.get(aMolecularStructureString);
+            if (tmpSpicesQueue != null) {
+                tmpSpices = tmpSpicesQueue.poll();
+                if (tmpSpices != null) {
+                    this.poolSize.decrementAndGet();
+                }
+            }
             if (tmpSpices == null) {
                 tmpSpices = new SpicesGraphics(aMolecularStructureString);
                 if (tmpSpices.isValid()) {
@@ -107,7 +127,9 @@ public class SpicesPool {
     }
 
     /**
-     * Set Spices instance for reuse
+     * Set Spices instance for reuse. NOTE: The instance is discarded if the
+     * maximum number of pooled instances (per molecular structure or in total)
+     * is reached.
      *
      * @param aSpices Spices instance to be reused
      */
@@ -115,8 +137,24 @@ public class SpicesPool {
         if (aSpices != null) {
             // Utility.appendToLogfile(true, "SpicesPool.setSpicesForReuse: "
             //         + aSpices.getInputStructure().substring(0, aSpices.getInputStructure().length() > 20 ? 20 : aSpices.getInputStructure().length()));
-            this.spicesMap.putIfAbsent(aSpices.getInputStructure(), aSpices);
-            // Utility.appendToLogfile(true, "SpicesPool Size = " + String.valueOf(this.spicesMap.size()));
+            ConcurrentLinkedQueue<SpicesGraphics> tmpSpicesQueue = this.spicesMap.get(aSpices.getInputStructure());
+            if (tmpSpicesQueue == null) {
+                ConcurrentLinkedQueue<SpicesGraphics> tmpNewSpicesQueue = new ConcurrentLinkedQueue<>();
+                tmpSpicesQueue = this.spicesMap.putIfAbsent(aSpices.getInputStructure(), tmpNewSpicesQueue);
+                if (tmpSpicesQueue == null) {
+                    tmpSpicesQueue = tmpNewSpicesQueue;
+                }
+            }
+            // NOTE: Size of queue is small so that size() is cheap. The bound 
+            //       per molecular structure is approximate under contention.
+            if (tmpSpicesQueue.size() < ModelDefinitions.SPICES_POOL_MAXIMUM_NUMBER_PER_STRUCTURE) {
+                if (this.poolSize.incrementAndGet() <= ModelDefinitions.SPICES_POOL_MAXIMUM_NUMBER) {
+                    tmpSpicesQueue.offer(aSpices);
+                } else {
+                    this.poolSize.decrementAndGet();
+                }
+            }
+            // Utility.appendToLogfile(true, "SpicesPool Size = " + String.valueOf(this.poolSize.get()));
         }
     }
 
@@ -126,18 +164,25 @@ public class SpicesPool {
      * @return Number of pooled Spices instances
      */
     public int getPoolSize() {
-        return this.spicesMap.size();
+        return this.poolSize.get();
     }
 
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public methods">
     /**
-     * Clears pool
+     * Clears pool and cached coordinate templates of molecular structures
      */
     public void clear() {
         // Utility.appendToLogfile(true, "SpicesPool.clear");
-        this.spicesMap.clear();
+        // NOTE: Queues are drained (and not removed) so that concurrently 
+        //       reused instances are still counted correctly
+        for (ConcurrentLinkedQueue<SpicesGraphics> tmpSpicesQueue : this.spicesMap.values()) {
+            while (tmpSpicesQueue.poll() != null) {
+                this.poolSize.decrementAndGet();
+            }
+        }
+        SpicesGraphics.clearCoordinateTemplateCache();
     }
     // </editor-fold>
     
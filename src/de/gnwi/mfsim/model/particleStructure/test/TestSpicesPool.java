@@ -0,0 +1,109 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.particleStructure.test;
+
+import de.gnwi.mfsim.model.graphics.SpicesGraphics;
+import de.gnwi.mfsim.model.particleStructure.SpicesPool;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class SpicesPool
+ */
+public class TestSpicesPool extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of bounded pool with several instances per molecular structure
+     */
+    public void testBoundedPool() {
+        String tmpStructure = "A-B-C-D-E";
+        SpicesPool.getInstance().clear();
+        assertEquals("Test1", 0, SpicesPool.getInstance().getPoolSize());
+        assertNull("Test2", SpicesPool.getInstance().getSpices(null));
+        SpicesGraphics[] tmpSpicesArray = new SpicesGraphics[ModelDefinitions.SPICES_POOL_MAXIMUM_NUMBER_PER_STRUCTURE + 5];
+        for (int i = 0; i < tmpSpicesArray.length; i++) {
+            tmpSpicesArray[i] = SpicesPool.getInstance().getSpices(tmpStructure);
+            assertNotNull("Test3", tmpSpicesArray[i]);
+        }
+        for (SpicesGraphics tmpSpices : tmpSpicesArray) {
+            SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+        }
+        // Number of pooled instances per structure is bounded
+        assertEquals("Test4", ModelDefinitions.SPICES_POOL_MAXIMUM_NUMBER_PER_STRUCTURE, SpicesPool.getInstance().getPoolSize());
+        // Pooled instances are reused
+        SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpStructure);
+        boolean tmpIsPooled = false;
+        for (SpicesGraphics tmpPooledSpices : tmpSpicesArray) {
+            tmpIsPooled |= tmpPooledSpices == tmpSpices;
+        }
+        assertTrue("Test5", tmpIsPooled);
+        assertEquals("Test6", ModelDefinitions.SPICES_POOL_MAXIMUM_NUMBER_PER_STRUCTURE - 1, SpicesPool.getInstance().getPoolSize());
+        SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+        SpicesPool.getInstance().clear();
+        assertEquals("Test7", 0, SpicesPool.getInstance().getPoolSize());
+    }
+
+    /**
+     * Test of concurrent use: A borrowed instance is never used by two threads
+     * at the same time
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testConcurrentUse() throws Exception {
+        final String[] tmpStructures = new String[] {"A-B-C", "A-B(C)-D", "<A-B><C-D-E>"};
+        final Set<SpicesGraphics> tmpBorrowedSet = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<SpicesGraphics, Boolean>()));
+        final AtomicBoolean tmpIsError = new AtomicBoolean(false);
+        SpicesPool.getInstance().clear();
+        Thread[] tmpThreads = new Thread[8];
+        for (int i = 0; i < tmpThreads.length; i++) {
+            tmpThreads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < 2000; k++) {
+                        String tmpStructure = tmpStructures[k % tmpStructures.length];
+                        SpicesGraphics tmpSpices = SpicesPool.getInstance().getSpices(tmpStructure);
+                        if (tmpSpices == null || !tmpSpices.getInputStructure().equals(tmpStructure) || !tmpBorrowedSet.add(tmpSpices)) {
+                            tmpIsError.set(true);
+                            return;
+                        }
+                        tmpBorrowedSet.remove(tmpSpices);
+                        SpicesPool.getInstance().setSpicesForReuse(tmpSpices);
+                    }
+                }
+            });
+            tmpThreads[i].start();
+        }
+        for (Thread tmpThread : tmpThreads) {
+            tmpThread.join();
+        }
+        assertFalse("Test1", tmpIsError.get());
+        assertTrue("Test2", SpicesPool.getInstance().getPoolSize() > 0);
+        // NOTE: Bound per molecular structure is approximate under contention
+        assertTrue("Test3", SpicesPool.getInstance().getPoolSize() <= tmpStructures.length * (ModelDefinitions.SPICES_POOL_MAXIMUM_NUMBER_PER_STRUCTURE + tmpThreads.length));
+        SpicesPool.getInstance().clear();
+    }
+    // </editor-fold>
+
+}
@@ -28,6 +28,7 @@ import de.gnwi.mfsim.model.peptide.base.Protein;
 import de.gnwi.mfsim.model.peptide.base.ZMatrix;
 import de.gnwi.mfsim.model.peptide.utils.DpdPeptideException;
 import de.gnwi.mfsim.model.peptide.utils.PdbToDpdMasterdata;
+import de.gnwi.mfsim.model.peptide.utils.ProteinGeometry;
 import de.gnwi.mfsim.model.peptide.utils.Tools;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
@@ -871,49 +872,15 @@ public final class PdbToDpd {
             throw DpdPeptideException.NoProteinDataException();
         }
         // </editor-fold>
-        HashMap<String, Atom[]> tmpChainToCAlphaAtomsMap = this.protein.getChainToCAlphaAtomsMap(this.masterdata.getActiveChains());
-        boolean[] tmpBackboneParticleStatusArray = this.getBackboneParticleStatusArray();
-        int[] tmpBackboneParticleSegmentArray = this.getBackboneParticleSegmentArray();
-        // Determine active backbone particles with status "true"
-        int tmpCounter = 0;
-        for (int i = 0; i < tmpBackboneParticleStatusArray.length; i++) {
-            if (tmpBackboneParticleStatusArray[i]) {
-                tmpCounter++;
-            }
-        }
-        if (tmpCounter == 0) {
-            return 0;
-        }
-        // Initialize arrays for active backbone particles
-        int[] tmpActiveBackboneParticleIndexArray = new int[tmpCounter];
-        int[] tmpActiveBackboneParticleSegmentArray = new int[tmpCounter];
-        // Loop over all backbone particles and fill active backbone particle related arrays
-        int tmpBackboneParticleIndex = 0;
-        int tmpActiveBackboneParticleIndex = 0;
-        for (int i = 0; i < this.masterdata.getActiveChains().size(); i++) {
-            Atom[] tmpCAlphaAtomArray = tmpChainToCAlphaAtomsMap.get(this.masterdata.getActiveChains().get(i));
-            for (int j = 0; j < tmpCAlphaAtomArray.length; j++) {
-                if (tmpBackboneParticleStatusArray[tmpBackboneParticleIndex]) {
-                    tmpActiveBackboneParticleIndexArray[tmpActiveBackboneParticleIndex] = tmpActiveBackboneParticleIndex + 1;
-                    tmpActiveBackboneParticleSegmentArray[tmpActiveBackboneParticleIndex] = tmpBackboneParticleSegmentArray[tmpBackboneParticleIndex];
-                    tmpActiveBackboneParticleIndex++;
-                }
-                tmpBackboneParticleIndex++;
-            }
-        }
-        // Set possible maximum distance
-        int tmpPossibleMaximumDistance = tmpActiveBackboneParticleIndexArray.length - 1;
-        // Evaluate real maximum distance
+        int[] tmpActiveBackboneParticleSegmentArray = this.getActiveBackboneParticleSegmentArray();
+        // Real maximum distance is the maximum index difference of active 
+        // backbone particles of the same segment
+        HashMap<Integer, Integer> tmpSegmentToFirstIndexMap = new HashMap<>();
         int tmpRealMaximumDistance = 0;
-        for (int i = tmpPossibleMaximumDistance; i > 0; i--) {
-            for (int k = 0; k < tmpActiveBackboneParticleIndexArray.length - i; k++) {
-                if (tmpActiveBackboneParticleSegmentArray[k] == tmpActiveBackboneParticleSegmentArray[k + i]) {
-                    tmpRealMaximumDistance = i;
-                    break;
-                }
-            }
-            if (tmpRealMaximumDistance > 0) {
-                break;
+        for (int i = 0; i < tmpActiveBackboneParticleSegmentArray.length; i++) {
+            Integer tmpFirstIndex = tmpSegmentToFirstIndexMap.putIfAbsent(tmpActiveBackboneParticleSegmentArray[i], i);
+            if (tmpFirstIndex != null && i - tmpFirstIndex > tmpRealMaximumDistance) {
+                tmpRealMaximumDistance = i - tmpFirstIndex;
             }
         }
         return tmpRealMaximumDistance;
@@ -948,77 +915,8 @@ public final class PdbToDpd {
      * @throws DpdPeptideException DpdPeptideException
      */
     public String[] getProteinDistanceForcesLineArray(int aDistanceType, double anAngstromToDpdConversionFactor, double aForceConstantForDistance) throws DpdPeptideException {
-        // <editor-fold defaultstate="collapsed" desc="Checks">
-        if (this.protein == null) {
-            throw DpdPeptideException.NoProteinDataException();
-        }
-        // </editor-fold>
-        HashMap<String, Atom[]> tmpChainToCAlphaAtomsMap = this.protein.getChainToCAlphaAtomsMap(this.masterdata.getActiveChains());
-        boolean[] tmpBackboneParticleStatusArray = this.getBackboneParticleStatusArray();
-        int[] tmpBackboneParticleSegmentArray = this.getBackboneParticleSegmentArray();
-        // Determine active backbone particles with status "true"
-        int tmpCounter = 0;
-        for (int i = 0; i < tmpBackboneParticleStatusArray.length; i++) {
-            if (tmpBackboneParticleStatusArray[i]) {
-                tmpCounter++;
-            }
-        }
-        if (tmpCounter == 0) {
-            return null;
-        }
-        // Initialize arrays for active backbone particles
-        int[] tmpActiveBackboneParticleIndexArray = new int[tmpCounter];
-        int[] tmpActiveBackboneParticleSegmentArray = new int[tmpCounter];
-        Point3d[] tmpActiveBackboneParticleCoordinateArray = new Point3d[tmpCounter];
-        // Loop over all backbone particles and fill active backbone particle related arrays
-        int tmpBackboneParticleIndex = 0;
-        int tmpActiveBackboneParticleIndex = 0;
-        for (int i = 0; i < this.masterdata.getActiveChains().size(); i++) {
-            Atom[] tmpCAlphaAtomArray = tmpChainToCAlphaAtomsMap.get(this.masterdata.getActiveChains().get(i));
-            for (int j = 0; j < tmpCAlphaAtomArray.length; j++) {
-                if (tmpBackboneParticleStatusArray[tmpBackboneParticleIndex]) {
-                    tmpActiveBackboneParticleIndexArray[tmpActiveBackboneParticleIndex] = tmpActiveBackboneParticleIndex + 1;
-                    tmpActiveBackboneParticleSegmentArray[tmpActiveBackboneParticleIndex] = tmpBackboneParticleSegmentArray[tmpBackboneParticleIndex];
-                    tmpActiveBackboneParticleCoordinateArray[tmpActiveBackboneParticleIndex] = new Point3d(tmpCAlphaAtomArray[j].getCoords());
-                    tmpActiveBackboneParticleIndex++;
-                }
-                tmpBackboneParticleIndex++;
-            }
-        }
-        // Check
-        if (tmpActiveBackboneParticleIndexArray.length < aDistanceType + 1) {
-            return null;
-        }
-        // Set backbone potential lines
-        LinkedList<String> tmpBackboneForceDistanceLineList = new LinkedList<>();
-        StringBuilder tmpBackboneForceDistanceLine = new StringBuilder();
-        for (int i = 0; i < tmpActiveBackboneParticleIndexArray.length - aDistanceType; i++) {
-            if (tmpActiveBackboneParticleSegmentArray[i] == tmpActiveBackboneParticleSegmentArray[i + aDistanceType]) {
-                Point3d tmpCoordinateA = tmpActiveBackboneParticleCoordinateArray[i];
-                Point3d tmpCoordinateB = tmpActiveBackboneParticleCoordinateArray[i + aDistanceType];
-                double tmpSpatialDistance = tmpCoordinateA.distance(tmpCoordinateB) * anAngstromToDpdConversionFactor;
-                // IMPORTANT: Set protein distance force start/end index characters: <...>
-                tmpBackboneForceDistanceLine.append(String.format(Locale.US, 
-                    ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_START + "%d" + ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_END + 
-                        " " + 
-                        ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_START + "%d" + ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_END + 
-                        " ", 
-                    tmpActiveBackboneParticleIndexArray[i], 
-                    tmpActiveBackboneParticleIndexArray[i + aDistanceType]
-                ));
-                tmpBackboneForceDistanceLine.append(String.format(Locale.US, 
-                    "%." + 
-                        this.getNumberOfDecimalsForParameters() + "f %." + 
-                        this.getNumberOfDecimalsForParameters() + "f",
-                    tmpSpatialDistance, 
-                    aForceConstantForDistance
-                ));
-                // Add line to list
-                tmpBackboneForceDistanceLineList.add(tmpBackboneForceDistanceLine.toString());
-                // Clear line
-                tmpBackboneForceDistanceLine.setLength(0);
-            }
-        }
+        ArrayList<String> tmpBackboneForceDistanceLineList = new ArrayList<>();
+        this.generateProteinDistanceForcesLines(aDistanceType, anAngstromToDpdConversionFactor, aForceConstantForDistance, tmpBackboneForceDistanceLineList);
         if (tmpBackboneForceDistanceLineList.isEmpty()) {
             return null;
         } else {
@@ -1127,14 +1025,23 @@ public final class PdbToDpd {
      * @throws DpdPeptideException DpdPeptideException
      */
     public int getNumberOfProteinDistanceForces(int aDistanceType) throws DpdPeptideException {
-        // NOTE: anAngstromToDpdConversionFactor and aForceConstantForDistance are arbitrarily 
-        //       set to -1.0 for visibility since only the number of lines is important
-        String[] tmpBackboneForceDistanceLineArray = this.getProteinDistanceForcesLineArray(aDistanceType, -1.0, -1.0);
-        if (tmpBackboneForceDistanceLineArray == null) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (this.protein == null) {
+            throw DpdPeptideException.NoProteinDataException();
+        }
+        // </editor-fold>
+        // NOTE: Only the number of lines is important so lines are NOT generated
+        int[] tmpActiveBackboneParticleSegmentArray = this.getActiveBackboneParticleSegmentArray();
+        if (tmpActiveBackboneParticleSegmentArray.length == 0 || tmpActiveBackboneParticleSegmentArray.length < aDistanceType + 1) {
             return 0;
-        } else {
-            return tmpBackboneForceDistanceLineArray.length;
         }
+        int tmpNumberOfProteinDistanceForces = 0;
+        for (int i = 0; i < tmpActiveBackboneParticleSegmentArray.length - aDistanceType; i++) {
+            if (tmpActiveBackboneParticleSegmentArray[i] == tmpActiveBackboneParticleSegmentArray[i + aDistanceType]) {
+                tmpNumberOfProteinDistanceForces++;
+            }
+        }
+        return tmpNumberOfProteinDistanceForces;
     }
 
     /**
@@ -1437,20 +1344,20 @@ public final class PdbToDpd {
      * @return Radius of gyration.
      */
     public double calculateRadiusOfGyration() {
-        double tmpRadiusOfGyration = 0;
-        Point3d tmpCenter = this.protein.calculateCenterOfMass(this.getActiveChains());
-        int tmpNumberOfAtoms = 0;
+        ArrayList<double[]> tmpCoordinatesList = new ArrayList<>(this.getActiveChains().size());
+        int tmpLength = 0;
         for (String tmpChainID : this.getActiveChains()) {
-            Atom[] tmpAtoms = this.protein.getAtomArray(tmpChainID);
-            for (Atom tmpAtom : tmpAtoms) {
-                if (tmpAtom.getGroup() instanceof AminoAcidImpl) {
-                    double tmpDistance = tmpCenter.distance(new Point3d(tmpAtom.getCoords()));
-                    tmpRadiusOfGyration += Math.pow(tmpDistance, 2.0);
-                    tmpNumberOfAtoms++;
-                }
-            }
+            double[] tmpCoordinates = this.getAminoAcidAtomCoordinates(tmpChainID);
+            tmpCoordinatesList.add(tmpCoordinates);
+            tmpLength += tmpCoordinates.length;
+        }
+        double[] tmpAllCoordinates = new double[tmpLength];
+        int tmpOffset = 0;
+        for (double[] tmpCoordinates : tmpCoordinatesList) {
+            System.arraycopy(tmpCoordinates, 0, tmpAllCoordinates, tmpOffset, tmpCoordinates.length);
+            tmpOffset += tmpCoordinates.length;
         }
-        return Math.sqrt(tmpRadiusOfGyration / tmpNumberOfAtoms);
+        return ProteinGeometry.getRadiusOfGyration(tmpAllCoordinates);
     }
 
     /**
@@ -1461,17 +1368,11 @@ public final class PdbToDpd {
     public double calculateLongestDistanceBetweenAtomsOfActiveChains() {
         double tmpLongestVector = Double.MIN_VALUE;
         for (String tmpChainID : this.getActiveChains()) {
-            Atom[] tmpAtoms = this.protein.getAtomArray(tmpChainID);
-            for (Atom tmpAtomA : tmpAtoms) {
-                for (Atom tmpAtomB : tmpAtoms) {
-                    if (tmpAtomA.getGroup() instanceof AminoAcidImpl && tmpAtomB.getGroup() instanceof AminoAcidImpl) {
-                        Point3d tmpPointA = new Point3d(tmpAtomA.getCoords());
-                        Point3d tmpPointB = new Point3d(tmpAtomB.getCoords());
-                        double tmpDistance = tmpPointA.distance(tmpPointB);
-                        if (tmpDistance > tmpLongestVector) {
-                            tmpLongestVector = tmpDistance;
-                        }
-                    }
+            double[] tmpCoordinates = this.getAminoAcidAtomCoordinates(tmpChainID);
+            if (tmpCoordinates.length > 0) {
+                double tmpDistance = ProteinGeometry.getMaximumDistance(tmpCoordinates);
+                if (tmpDistance > tmpLongestVector) {
+                    tmpLongestVector = tmpDistance;
                 }
             }
         }
@@ -2070,6 +1971,131 @@ public final class PdbToDpd {
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns segments of active backbone particles (backbone particles with
+     * status "true") of all active chains.
+     *
+     * @return Segments of active backbone particles.
+     * @throws DpdPeptideException DpdPeptideException
+     */
+    private int[] getActiveBackboneParticleSegmentArray() throws DpdPeptideException {
+        boolean[] tmpBackboneParticleStatusArray = this.getBackboneParticleStatusArray();
+        int[] tmpBackboneParticleSegmentArray = this.getBackboneParticleSegmentArray();
+        int[] tmpActiveBackboneParticleSegmentArray = new int[tmpBackboneParticleStatusArray.length];
+        int tmpActiveBackboneParticleIndex = 0;
+        for (int i = 0; i < tmpBackboneParticleStatusArray.length; i++) {
+            if (tmpBackboneParticleStatusArray[i]) {
+                tmpActiveBackboneParticleSegmentArray[tmpActiveBackboneParticleIndex++] = tmpBackboneParticleSegmentArray[i];
+            }
+        }
+        return Arrays.copyOf(tmpActiveBackboneParticleSegmentArray, tmpActiveBackboneParticleIndex);
+    }
+
+    /**
+     * Returns interleaved C-alpha atom coordinates (x, y, z) of active 
+     * backbone particles (backbone particles with status "true") of all 
+     * active chains.
+     *
+     * @return Interleaved coordinates of active backbone particles.
+     * @throws DpdPeptideException DpdPeptideException
+     */
+    private double[] getActiveBackboneParticleCoordinateArray() throws DpdPeptideException {
+        HashMap<String, Atom[]> tmpChainToCAlphaAtomsMap = this.protein.getChainToCAlphaAtomsMap(this.masterdata.getActiveChains());
+        boolean[] tmpBackboneParticleStatusArray = this.getBackboneParticleStatusArray();
+        double[] tmpActiveBackboneParticleCoordinateArray = new double[3 * tmpBackboneParticleStatusArray.length];
+        int tmpBackboneParticleIndex = 0;
+        int tmpIndex = 0;
+        for (String tmpChainID : this.masterdata.getActiveChains()) {
+            for (Atom tmpCAlphaAtom : tmpChainToCAlphaAtomsMap.get(tmpChainID)) {
+                if (tmpBackboneParticleStatusArray[tmpBackboneParticleIndex]) {
+                    tmpActiveBackboneParticleCoordinateArray[tmpIndex++] = tmpCAlphaAtom.getX();
+                    tmpActiveBackboneParticleCoordinateArray[tmpIndex++] = tmpCAlphaAtom.getY();
+                    tmpActiveBackboneParticleCoordinateArray[tmpIndex++] = tmpCAlphaAtom.getZ();
+                }
+                tmpBackboneParticleIndex++;
+            }
+        }
+        return Arrays.copyOf(tmpActiveBackboneParticleCoordinateArray, tmpIndex);
+    }
+
+    /**
+     * Generates the backbone 1 to (aDistanceType + 1) distance forces lines 
+     * with a single reused line buffer. NOTE: Lines are added to aLineList.
+     *
+     * @param aDistanceType Distance of the protein distance force.
+     * @param anAngstromToDpdConversionFactor  Angstrom to DPD conversion factor
+     * @param aForceConstantForDistance Force constant for distance
+     * @param aLineList Line list
+     * @return Number of generated lines.
+     * @throws DpdPeptideException DpdPeptideException
+     */
+    private int generateProteinDistanceForcesLines(
+        int aDistanceType, 
+        double anAngstromToDpdConversionFactor, 
+        double aForceConstantForDistance, 
+        List<String> aLineList
+    ) throws DpdPeptideException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (this.protein == null) {
+            throw DpdPeptideException.NoProteinDataException();
+        }
+        // </editor-fold>
+        int[] tmpActiveBackboneParticleSegmentArray = this.getActiveBackboneParticleSegmentArray();
+        if (tmpActiveBackboneParticleSegmentArray.length == 0 || tmpActiveBackboneParticleSegmentArray.length < aDistanceType + 1) {
+            return 0;
+        }
+        double[] tmpCoordinates = this.getActiveBackboneParticleCoordinateArray();
+        int tmpNumberOfDecimals = this.getNumberOfDecimalsForParameters();
+        StringBuilder tmpLineBuilder = new StringBuilder(64);
+        int tmpNumberOfLines = 0;
+        for (int i = 0; i < tmpActiveBackboneParticleSegmentArray.length - aDistanceType; i++) {
+            int k = i + aDistanceType;
+            if (tmpActiveBackboneParticleSegmentArray[i] == tmpActiveBackboneParticleSegmentArray[k]) {
+                // NOTE: Same arithmetic as Point3d.distance()
+                double tmpDeltaX = tmpCoordinates[3 * i] - tmpCoordinates[3 * k];
+                double tmpDeltaY = tmpCoordinates[3 * i + 1] - tmpCoordinates[3 * k + 1];
+                double tmpDeltaZ = tmpCoordinates[3 * i + 2] - tmpCoordinates[3 * k + 2];
+                double tmpSpatialDistance = Math.sqrt(tmpDeltaX * tmpDeltaX + tmpDeltaY * tmpDeltaY + tmpDeltaZ * tmpDeltaZ) * anAngstromToDpdConversionFactor;
+                // IMPORTANT: Set protein distance force start/end index characters: <...>
+                tmpLineBuilder.setLength(0);
+                tmpLineBuilder
+                    .append(ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_START).append(i + 1).append(ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_END)
+                    .append(' ')
+                    .append(ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_START).append(k + 1).append(ModelDefinitions.PROTEIN_BACKBONE_FORCE_INDEX_END)
+                    .append(' ');
+                this.stringUtilityMethods.appendFixedDecimal(tmpLineBuilder, tmpSpatialDistance, tmpNumberOfDecimals).append(' ');
+                this.stringUtilityMethods.appendFixedDecimal(tmpLineBuilder, aForceConstantForDistance, tmpNumberOfDecimals);
+                aLineList.add(tmpLineBuilder.toString());
+                tmpNumberOfLines++;
+            }
+        }
+        return tmpNumberOfLines;
+    }
+
+    /**
+     * Returns interleaved coordinates (x, y, z of each atom) of all amino 
+     * acid atoms of a chain.
+     *
+     * @param aChainID Chain ID.
+     * @return Interleaved coordinates.
+     */
+    private double[] getAminoAcidAtomCoordinates(String aChainID) {
+        Atom[] tmpAtoms = this.protein.getAtomArray(aChainID);
+        double[] tmpCoordinates = new double[3 * tmpAtoms.length];
+        int tmpIndex = 0;
+        for (Atom tmpAtom : tmpAtoms) {
+            if (tmpAtom.getGroup() instanceof AminoAcidImpl) {
+                tmpCoordinates[tmpIndex++] = tmpAtom.getX();
+                tmpCoordinates[tmpIndex++] = tmpAtom.getY();
+                tmpCoordinates[tmpIndex++] = tmpAtom.getZ();
+            }
+        }
+        if (tmpIndex < tmpCoordinates.length) {
+            return Arrays.copyOf(tmpCoordinates, tmpIndex);
+        }
+        return tmpCoordinates;
+    }
+
     /**
      * Reads a pdb string.
      *
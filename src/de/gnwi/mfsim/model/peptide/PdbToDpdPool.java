@@ -19,11 +19,35 @@
  */
 package de.gnwi.mfsim.model.peptide;
 
+import de.gnwi.mfsim.model.executor.ManagedExecutor;
+import de.gnwi.mfsim.model.executor.ManagedExecutorSession;
+import de.gnwi.mfsim.model.executor.WorkClassEnum;
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.preference.Preferences;
 import de.gnwi.mfsim.model.util.ModelUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * PdbToDpd pool
+ * PdbToDpd pool: Lock-free and size-bounded pool of parsed PdbToDpd instances
+ * that are keyed by a content hash of their protein data. A PdbToDpd instance
+ * is mutable (rotation, center, active chains etc.), so a pooled instance is 
+ * exclusively used by the borrowing thread until it is set for reuse. 
+ * Instances for different proteins may be prepared in parallel: Preparation 
+ * tasks are registered with a per-protein future so that concurrent requests 
+ * for the same protein wait for the running preparation instead of parsing 
+ * the protein again.
  *
  * @author Achim Zielesny
  */
@@ -39,9 +63,19 @@ public class PdbToDpdPool {
     //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
     /**
-     * Protein data to PdbToDpd map
+     * Content hash of protein data to queue of PdbToDpd map
      */
-    private ConcurrentHashMap<String, PdbToDpd> pdbToDPDMap;
+    private ConcurrentHashMap<String, ConcurrentLinkedQueue<PdbToDpd>> pdbToDPDMap;
+
+    /**
+     * Content hash of protein data to future of running preparation map
+     */
+    private ConcurrentHashMap<String, Future<PdbToDpd>> preparationMap;
+
+    /**
+     * Number of pooled PdbToDpd instances
+     */
+    private AtomicInteger poolSize;
 
     // </editor-fold>
     //
@@ -52,6 +86,8 @@ public class PdbToDpdPool {
     private PdbToDpdPool() {
         // NOTE: 100 PdbToDpd instances are sufficient for all practical purposes
         this.pdbToDPDMap = new ConcurrentHashMap<>(100);
+        this.preparationMap = new ConcurrentHashMap<>(100);
+        this.poolSize = new AtomicInteger(0);
     }
 
     // </editor-fold>
@@ -70,19 +106,30 @@ public class PdbToDpdPool {
     //
     // <editor-fold defaultstate="collapsed" desc="Public properties">
     /**
-     * Returns PdbToDpd instance
+     * Returns PdbToDpd instance. NOTE: The returned instance is removed from 
+     * the pool, i.e. it is exclusively used by the calling thread until it is 
+     * set for reuse.
      *
      * @param aProteinData Protein data
      * @return PdbToDpd instance or null if protein data are invalid
      */
-    public synchronized PdbToDpd getPdbToDpd(String aProteinData) {
+    public PdbToDpd getPdbToDpd(String aProteinData) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (aProteinData == null || aProteinData.isEmpty()) {
             return null;
         }
         // </editor-fold>
         try {
-            PdbToDpd tmpPdbToDPD = this.pdbToDPDMap.remove(aProteinData);
+            String tmpContentHash = this.getContentHash(aProteinData);
+            PdbToDpd tmpPdbToDPD = this.pollPooledPdbToDpd(tmpContentHash);
+            if (tmpPdbToDPD == null) {
+                Future<PdbToDpd> tmpPreparationFuture = this.preparationMap.get(tmpContentHash);
+                if (tmpPreparationFuture != null) {
+                    // Wait for running preparation of the same protein
+                    tmpPreparationFuture.get();
+                    tmpPdbToDPD = this.pollPooledPdbToDpd(tmpContentHash);
+                }
+            }
             if (tmpPdbToDPD == null) {
                 tmpPdbToDPD = new PdbToDpd(aProteinData);
             }
@@ -94,15 +141,16 @@ public class PdbToDpdPool {
     }
 
     /**
-     * Set PdbToDpd instance for reuse
+     * Set PdbToDpd instance for reuse. NOTE: The instance is discarded if the
+     * maximum number of pooled instances (per protein or in total) is reached.
      *
      * @param aPdbToDPD PdbToDpd instance to be reused
      * @param aProteinData Protein data of aPdbToDPD
      */
     public void setPdbToDpdForReuse(PdbToDpd aPdbToDPD, String aProteinData) {
         try{
-            if (aPdbToDPD != null) {
-                this.pdbToDPDMap.putIfAbsent(aProteinData, aPdbToDPD);
+            if (aPdbToDPD != null && aProteinData != null && !aProteinData.isEmpty()) {
+                this.offerPdbToDpd(aPdbToDPD, this.getContentHash(aProteinData));
             }
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
@@ -116,17 +164,207 @@ public class PdbToDpdPool {
      * @return Number of pooled PdbToDpd instances
      */
     public int getPoolSize() {
-        return this.pdbToDPDMap.size();
+        return this.poolSize.get();
     }
 
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Prepares pooled PdbToDpd instances for protein data in parallel: For 
+     * every distinct protein without pooled instance (and without running 
+     * preparation) a PdbToDpd instance is created and pooled. NOTE: Method 
+     * returns after all preparations are finished.
+     *
+     * @param aProteinDataCollection Collection of protein data (may contain 
+     * duplicates and null/empty elements which are ignored)
+     * @return True: All preparations were successful, false: Otherwise
+     */
+    public boolean preparePdbToDpd(Collection<String> aProteinDataCollection) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aProteinDataCollection == null || aProteinDataCollection.isEmpty()) {
+            return true;
+        }
+        // </editor-fold>
+        boolean tmpIsSuccessful = true;
+        LinkedList<String> tmpContentHashList = new LinkedList<>();
+        LinkedList<FutureTask<PdbToDpd>> tmpPreparationTaskList = new LinkedList<>();
+        try {
+            // <editor-fold defaultstate="collapsed" desc="Collect distinct proteins">
+            LinkedHashMap<String, String> tmpContentHashToProteinDataMap = new LinkedHashMap<>();
+            for (String tmpProteinData : aProteinDataCollection) {
+                if (tmpProteinData != null && !tmpProteinData.isEmpty()) {
+                    tmpContentHashToProteinDataMap.put(this.getContentHash(tmpProteinData), tmpProteinData);
+                }
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Register preparation tasks">
+            for (Map.Entry<String, String> tmpEntry : tmpContentHashToProteinDataMap.entrySet()) {
+                ConcurrentLinkedQueue<PdbToDpd> tmpPdbToDpdQueue = this.pdbToDPDMap.get(tmpEntry.getKey());
+                if (tmpPdbToDpdQueue != null && !tmpPdbToDpdQueue.isEmpty()) {
+                    continue;
+                }
+                FutureTask<PdbToDpd> tmpPreparationTask = new FutureTask<>(this.getPreparationTask(tmpEntry.getValue(), tmpEntry.getKey()));
+                if (this.preparationMap.putIfAbsent(tmpEntry.getKey(), tmpPreparationTask) == null) {
+                    tmpContentHashList.add(tmpEntry.getKey());
+                    tmpPreparationTaskList.add(tmpPreparationTask);
+                }
+            }
+            // </editor-fold>
+            if (tmpPreparationTaskList.isEmpty()) {
+                return true;
+            }
+            // <editor-fold defaultstate="collapsed" desc="Execute preparation tasks">
+            ManagedExecutorSession tmpExecutorSession = ManagedExecutor.getInstance().createSession(
+                WorkClassEnum.POST_PROCESSING, 
+                Math.max(1, Math.min(tmpPreparationTaskList.size(), Preferences.getInstance().getNumberOfParallelCalculators()))
+            );
+            try {
+                for (FutureTask<PdbToDpd> tmpPreparationTask : tmpPreparationTaskList) {
+                    tmpExecutorSession.execute(tmpPreparationTask);
+                }
+                for (FutureTask<PdbToDpd> tmpPreparationTask : tmpPreparationTaskList) {
+                    // NOTE: Preparation tasks that are not yet started are 
+                    //       run by the calling thread (run() does nothing if 
+                    //       task is already started), so that a calling 
+                    //       post-processing thread can not deadlock
+                    tmpPreparationTask.run();
+                    if (tmpPreparationTask.get() == null) {
+                        tmpIsSuccessful = false;
+                    }
+                }
+            } finally {
+                // NOTE: Remaining session tasks only wrap preparation tasks 
+                //       that are already done (or abandoned after an 
+                //       exception: These are cancelled so that waiting 
+                //       threads are released)
+                tmpExecutorSession.shutdownNow();
+                for (FutureTask<PdbToDpd> tmpPreparationTask : tmpPreparationTaskList) {
+                    tmpPreparationTask.cancel(false);
+                }
+                tmpExecutorSession.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+            // </editor-fold>
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            tmpIsSuccessful = false;
+        } finally {
+            // IMPORTANT: Unregister preparation tasks (waiting threads are released by the future)
+            for (int i = 0; i < tmpContentHashList.size(); i++) {
+                this.preparationMap.remove(tmpContentHashList.get(i), tmpPreparationTaskList.get(i));
+            }
+        }
+        return tmpIsSuccessful;
+    }
+
     /**
      * Clears pool
      */
     public void clear() {
-        this.pdbToDPDMap.clear();
+        // NOTE: Queues are drained (and not removed) so that concurrently 
+        //       reused instances are still counted correctly
+        for (ConcurrentLinkedQueue<PdbToDpd> tmpPdbToDpdQueue : this.pdbToDPDMap.values()) {
+            while (tmpPdbToDpdQueue.poll() != null) {
+                this.poolSize.decrementAndGet();
+            }
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns preparation task that creates and pools a PdbToDpd instance
+     *
+     * @param aProteinData Protein data
+     * @param aContentHash Content hash of protein data
+     * @return Preparation task that returns the created PdbToDpd instance or
+     * null if protein data are invalid
+     */
+    private Callable<PdbToDpd> getPreparationTask(final String aProteinData, final String aContentHash) {
+        return new Callable<PdbToDpd>() {
+
+            /**
+             * Creates and pools PdbToDpd instance
+             *
+             * @return Created PdbToDpd instance or null if protein data are 
+             * invalid
+             */
+            @Override
+            public PdbToDpd call() {
+                try {
+                    PdbToDpd tmpPdbToDPD = new PdbToDpd(aProteinData);
+                    PdbToDpdPool.this.offerPdbToDpd(tmpPdbToDPD, aContentHash);
+                    return tmpPdbToDPD;
+                } catch (Exception anException) {
+                    ModelUtils.appendToLogfile(true, anException);
+                    return null;
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Removes and returns pooled PdbToDpd instance
+     *
+     * @param aContentHash Content hash of protein data
+     * @return Pooled PdbToDpd instance or null if none is available
+     */
+    private PdbToDpd pollPooledPdbToDpd(String aContentHash) {
+        ConcurrentLinkedQueue<PdbToDpd> tmpPdbToDpdQueue = this.pdbToDPDMap.get(aContentHash);
+        if (tmpPdbToDpdQueue == null) {
+            return null;
+        }
+        PdbToDpd tmpPdbToDPD = tmpPdbToDpdQueue.poll();
+        if (tmpPdbToDPD != null) {
+            this.poolSize.decrementAndGet();
+        }
+        return tmpPdbToDPD;
+    }
+
+    /**
+     * Pools PdbToDpd instance if maximum number of pooled instances (per 
+     * protein or in total) is not reached
+     *
+     * @param aPdbToDPD PdbToDpd instance
+     * @param aContentHash Content hash of protein data
+     */
+    private void offerPdbToDpd(PdbToDpd aPdbToDPD, String aContentHash) {
+        ConcurrentLinkedQueue<PdbToDpd> tmpPdbToDpdQueue = this.pdbToDPDMap.get(aContentHash);
+        if (tmpPdbToDpdQueue == null) {
+            ConcurrentLinkedQueue<PdbToDpd> tmpNewPdbToDpdQueue = new ConcurrentLinkedQueue<>();
+            tmpPdbToDpdQueue = this.pdbToDPDMap.putIfAbsent(aContentHash, tmpNewPdbToDpdQueue);
+            if (tmpPdbToDpdQueue == null) {
+                tmpPdbToDpdQueue = tmpNewPdbToDpdQueue;
+            }
+        }
+        // NOTE: Size of queue is small so that size() is cheap. The bound 
+        //       per protein is approximate under contention.
+        if (tmpPdbToDpdQueue.size() < ModelDefinitions.PDB_TO_DPD_POOL_MAXIMUM_NUMBER_PER_PROTEIN) {
+            if (this.poolSize.incrementAndGet() <= ModelDefinitions.PDB_TO_DPD_POOL_MAXIMUM_NUMBER) {
+                tmpPdbToDpdQueue.offer(aPdbToDPD);
+            } else {
+                this.poolSize.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns content hash of protein data
+     *
+     * @param aProteinData Protein data
+     * @return Content hash of protein data (hex string)
+     * @throws Exception Thrown if hash algorithm is not available
+     */
+    private String getContentHash(String aProteinData) throws Exception {
+        MessageDigest tmpMessageDigest = MessageDigest.getInstance(ModelDefinitions.PDB_TO_DPD_POOL_HASH_ALGORITHM);
+        byte[] tmpHash = tmpMessageDigest.digest(aProteinData.getBytes(StandardCharsets.UTF_8));
+        StringBuilder tmpBuffer = new StringBuilder(2 * tmpHash.length);
+        for (byte tmpByte : tmpHash) {
+            tmpBuffer.append(Character.forDigit((tmpByte >> 4) & 0xF, 16));
+            tmpBuffer.append(Character.forDigit(tmpByte & 0xF, 16));
+        }
+        return tmpBuffer.toString();
     }
     // </editor-fold>
     
@@ -0,0 +1,96 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.peptide.test;
+
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.peptide.PdbToDpd;
+import de.gnwi.mfsim.model.peptide.PdbToDpdPool;
+import de.gnwi.mfsim.model.peptide.base.ZMatrix;
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class PdbToDpdPool
+ */
+public class TestPdbToDpdPool extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of identical output for cached and uncached construction
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testCachedConstruction() throws Exception {
+        // IMPORTANT: Initialize amino acids
+        StandardParticleInteractionData.getInstance();
+        PdbToDpd tmpPdbToDpd = new PdbToDpd();
+        String tmpPdbFilePathname = System.getProperty("user.dir") + File.separatorChar + "tutorials" + File.separatorChar + "Supplement" + File.separatorChar + "1NB1.pdb";
+        assertTrue("Test1", tmpPdbToDpd.readPdb(new File(tmpPdbFilePathname)));
+        String tmpProteinData = tmpPdbToDpd.getProteinData();
+        // Uncached construction
+        PdbToDpd tmpUncachedPdbToDpd = new PdbToDpd(tmpProteinData);
+        // Cached construction: Duplicate protein data are prepared once
+        PdbToDpdPool.getInstance().clear();
+        assertTrue("Test2", PdbToDpdPool.getInstance().preparePdbToDpd(Arrays.asList(tmpProteinData, tmpProteinData, null, "")));
+        assertEquals("Test3", 1, PdbToDpdPool.getInstance().getPoolSize());
+        PdbToDpd tmpCachedPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
+        assertEquals("Test4", 0, PdbToDpdPool.getInstance().getPoolSize());
+        this.assertIdenticalOutput(tmpUncachedPdbToDpd, tmpCachedPdbToDpd);
+        // Reuse
+        PdbToDpdPool.getInstance().setPdbToDpdForReuse(tmpCachedPdbToDpd, tmpProteinData);
+        assertEquals("Test5", 1, PdbToDpdPool.getInstance().getPoolSize());
+        assertSame("Test6", tmpCachedPdbToDpd, PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData));
+        // Uncached construction by pool
+        PdbToDpd tmpNewPdbToDpd = PdbToDpdPool.getInstance().getPdbToDpd(tmpProteinData);
+        assertNotSame("Test7", tmpCachedPdbToDpd, tmpNewPdbToDpd);
+        this.assertIdenticalOutput(tmpUncachedPdbToDpd, tmpNewPdbToDpd);
+        assertNull("Test8", PdbToDpdPool.getInstance().getPdbToDpd(null));
+        PdbToDpdPool.getInstance().clear();
+        assertEquals("Test9", 0, PdbToDpdPool.getInstance().getPoolSize());
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Asserts identical output of PdbToDpd instances
+     *
+     * @param anExpected Expected PdbToDpd instance
+     * @param anActual Actual PdbToDpd instance
+     * @throws Exception Thrown if an error occurs
+     */
+    private void assertIdenticalOutput(PdbToDpd anExpected, PdbToDpd anActual) throws Exception {
+        assertEquals("Output1", anExpected.getSpices(), anActual.getSpices());
+        assertEquals("Output2", anExpected.getSequences(), anActual.getSequences());
+        HashMap<String, ZMatrix> tmpExpectedZMatrices = anExpected.getZMatrices();
+        HashMap<String, ZMatrix> tmpActualZMatrices = anActual.getZMatrices();
+        assertEquals("Output3", tmpExpectedZMatrices.keySet(), tmpActualZMatrices.keySet());
+        for (String tmpChain : tmpExpectedZMatrices.keySet()) {
+            assertTrue("Output3", Arrays.deepEquals(tmpExpectedZMatrices.get(tmpChain).getZMatrix(), tmpActualZMatrices.get(tmpChain).getZMatrix()));
+        }
+        assertTrue("Output4", Arrays.equals(anExpected.getCAlphaParticles(), anActual.getCAlphaParticles()));
+        assertEquals("Output5", anExpected.getProteinData(), anActual.getProteinData());
+        assertEquals("Output6", anExpected.getMaxNumberOfParticles(), anActual.getMaxNumberOfParticles());
+        assertEquals("Output7", anExpected.calculateRadiusOfGyration(), anActual.calculateRadiusOfGyration(), 0.0);
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,153 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.peptide.test;
+
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.peptide.PdbToDpd;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import junit.framework.TestCase;
+
+/**
+ * Test class for protein distance force lines of class PdbToDpd
+ */
+public class TestProteinDistanceForces extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Resource name of golden file
+     */
+    private static final String GOLDEN_FILE_RESOURCE_NAME = "resource/1NB1_ProteinDistanceForces.txt";
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of protein distance force lines against golden file
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testGoldenFile() throws Exception {
+        LinkedList<String> tmpExpectedLineList = new LinkedList<>();
+        InputStream tmpInputStream = TestProteinDistanceForces.class.getResourceAsStream(GOLDEN_FILE_RESOURCE_NAME);
+        assertNotNull("Test1", tmpInputStream);
+        try (BufferedReader tmpBufferedReader = new BufferedReader(new InputStreamReader(tmpInputStream, StandardCharsets.UTF_8))) {
+            String tmpLine;
+            while ((tmpLine = tmpBufferedReader.readLine()) != null) {
+                tmpExpectedLineList.add(tmpLine);
+            }
+        }
+        LinkedList<String> tmpLineList = TestProteinDistanceForces.getProteinDistanceForcesReport();
+        assertEquals("Test2", tmpExpectedLineList.size(), tmpLineList.size());
+        for (int i = 0; i < tmpLineList.size(); i++) {
+            assertEquals("Test3", tmpExpectedLineList.get(i), tmpLineList.get(i));
+        }
+    }
+
+    /**
+     * Test of number of protein distance forces
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testNumberOfProteinDistanceForces() throws Exception {
+        PdbToDpd tmpPdbToDpd = TestProteinDistanceForces.getPdbToDpd();
+        for (int tmpDistanceType = 1; tmpDistanceType <= tmpPdbToDpd.getMaxDistanceTypeOfProteinDistanceForces(); tmpDistanceType++) {
+            String[] tmpLines = tmpPdbToDpd.getProteinDistanceForcesLineArray(tmpDistanceType, 0.15, 100.0);
+            assertEquals("Test1", tmpLines.length, tmpPdbToDpd.getNumberOfProteinDistanceForces(tmpDistanceType));
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Returns PdbToDpd instance for PDB fixture
+     *
+     * @return PdbToDpd instance for PDB fixture
+     * @throws Exception Thrown if an error occurs
+     */
+    private static PdbToDpd getPdbToDpd() throws Exception {
+        // IMPORTANT: Initialize amino acids
+        StandardParticleInteractionData.getInstance();
+        PdbToDpd tmpPdbToDpd = new PdbToDpd();
+        String tmpPdbFilePathname = System.getProperty("user.dir") + File.separatorChar + "tutorials" + File.separatorChar + "Supplement" + File.separatorChar + "1NB1.pdb";
+        assertTrue(tmpPdbToDpd.readPdb(new File(tmpPdbFilePathname)));
+        return tmpPdbToDpd;
+    }
+
+    /**
+     * Returns report with protein distance force lines for different
+     * backbone particle status/segment settings, numbers of decimals and
+     * distance types
+     *
+     * @return Report lines
+     * @throws Exception Thrown if an error occurs
+     */
+    private static LinkedList<String> getProteinDistanceForcesReport() throws Exception {
+        LinkedList<String> tmpLineList = new LinkedList<>();
+        PdbToDpd tmpPdbToDpd = TestProteinDistanceForces.getPdbToDpd();
+        int tmpNumberOfBackboneParticles = tmpPdbToDpd.getNumberOfBackboneParticles();
+        for (int tmpScenario = 0; tmpScenario < 3; tmpScenario++) {
+            boolean[] tmpStatusArray = new boolean[tmpNumberOfBackboneParticles];
+            int[] tmpSegmentArray = new int[tmpNumberOfBackboneParticles];
+            for (int i = 0; i < tmpNumberOfBackboneParticles; i++) {
+                switch (tmpScenario) {
+                    case 0:
+                        // All particles active in one segment
+                        tmpStatusArray[i] = true;
+                        tmpSegmentArray[i] = 0;
+                        break;
+                    case 1:
+                        // Gaps and three consecutive segments
+                        tmpStatusArray[i] = i % 5 != 2;
+                        tmpSegmentArray[i] = 3 * i / tmpNumberOfBackboneParticles;
+                        break;
+                    default:
+                        // Gaps and non-consecutive segments with same segment number
+                        tmpStatusArray[i] = i % 7 != 0;
+                        tmpSegmentArray[i] = (4 * i / tmpNumberOfBackboneParticles) % 2;
+                        break;
+                }
+            }
+            tmpPdbToDpd.setBackboneParticleStatusArray(tmpStatusArray);
+            tmpPdbToDpd.setBackboneParticleSegmentArray(tmpSegmentArray);
+            int tmpMaximumDistanceType = tmpPdbToDpd.getMaxDistanceTypeOfProteinDistanceForces();
+            for (int tmpNumberOfDecimals = 2; tmpNumberOfDecimals <= 6; tmpNumberOfDecimals += 2) {
+                tmpPdbToDpd.setNumberOfDecimalsForParameters(tmpNumberOfDecimals);
+                tmpLineList.add("# Scenario = " + String.valueOf(tmpScenario) + ", number of decimals = " + String.valueOf(tmpNumberOfDecimals));
+                tmpLineList.add("# Maximum distance type = " + String.valueOf(tmpMaximumDistanceType));
+                for (int tmpDistanceType = 1; tmpDistanceType <= tmpMaximumDistanceType + 1; tmpDistanceType++) {
+                    tmpLineList.add("# Distance type = " + String.valueOf(tmpDistanceType) + ", number = " + String.valueOf(tmpPdbToDpd.getNumberOfProteinDistanceForces(tmpDistanceType)));
+                    String[] tmpLines = tmpPdbToDpd.getProteinDistanceForcesLineArray(tmpDistanceType, 1.0 / 6.4633, 25.0 * tmpDistanceType + 0.125);
+                    if (tmpLines != null) {
+                        for (String tmpLine : tmpLines) {
+                            tmpLineList.add(tmpLine);
+                        }
+                    }
+                }
+            }
+        }
+        return tmpLineList;
+    }
+    // </editor-fold>
+
+}
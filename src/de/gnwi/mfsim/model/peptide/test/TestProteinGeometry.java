@@ -0,0 +1,128 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.peptide.test;
+
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.peptide.PdbToDpd;
+import de.gnwi.mfsim.model.peptide.utils.ProteinGeometry;
+import java.io.File;
+import java.util.Random;
+import javax.vecmath.Point3d;
+import junit.framework.TestCase;
+import org.biojava.bio.structure.AminoAcidImpl;
+import org.biojava.bio.structure.Atom;
+
+/**
+ * Test class for class ProteinGeometry
+ */
+public class TestProteinGeometry extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of maximum distance and radius of gyration against brute-force 
+     * result for PDB fixture
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testPdbFixture() throws Exception {
+        // IMPORTANT: Initialize amino acids
+        StandardParticleInteractionData.getInstance();
+        PdbToDpd tmpPdbToDpd = new PdbToDpd();
+        String tmpPdbFilePathname = System.getProperty("user.dir") + File.separatorChar + "tutorials" + File.separatorChar + "Supplement" + File.separatorChar + "1NB1.pdb";
+        assertTrue("Test1", tmpPdbToDpd.readPdb(new File(tmpPdbFilePathname)));
+        // Brute-force result with all atom pairs of each active chain
+        double tmpLongestDistance = Double.MIN_VALUE;
+        double tmpSumX = 0.0;
+        double tmpSumY = 0.0;
+        double tmpSumZ = 0.0;
+        int tmpNumberOfAtoms = 0;
+        for (String tmpChainID : tmpPdbToDpd.getActiveChains()) {
+            Atom[] tmpAtoms = tmpPdbToDpd.getProtein().getAtomArray(tmpChainID);
+            for (Atom tmpAtomA : tmpAtoms) {
+                if (tmpAtomA.getGroup() instanceof AminoAcidImpl) {
+                    tmpSumX += tmpAtomA.getX();
+                    tmpSumY += tmpAtomA.getY();
+                    tmpSumZ += tmpAtomA.getZ();
+                    tmpNumberOfAtoms++;
+                    for (Atom tmpAtomB : tmpAtoms) {
+                        if (tmpAtomB.getGroup() instanceof AminoAcidImpl) {
+                            tmpLongestDistance = Math.max(tmpLongestDistance, new Point3d(tmpAtomA.getCoords()).distance(new Point3d(tmpAtomB.getCoords())));
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue("Test2", tmpNumberOfAtoms > 100);
+        assertEquals("Test3", tmpLongestDistance, tmpPdbToDpd.calculateLongestDistanceBetweenAtomsOfActiveChains(), 0.0);
+        Point3d tmpCenter = new Point3d(tmpSumX / tmpNumberOfAtoms, tmpSumY / tmpNumberOfAtoms, tmpSumZ / tmpNumberOfAtoms);
+        double tmpSumOfSquares = 0.0;
+        for (String tmpChainID : tmpPdbToDpd.getActiveChains()) {
+            for (Atom tmpAtom : tmpPdbToDpd.getProtein().getAtomArray(tmpChainID)) {
+                if (tmpAtom.getGroup() instanceof AminoAcidImpl) {
+                    tmpSumOfSquares += tmpCenter.distanceSquared(new Point3d(tmpAtom.getCoords()));
+                }
+            }
+        }
+        assertEquals("Test4", Math.sqrt(tmpSumOfSquares / tmpNumberOfAtoms), tmpPdbToDpd.calculateRadiusOfGyration(), 1.0E-9);
+    }
+
+    /**
+     * Test of maximum distance against brute-force result for synthetic 
+     * coordinates (including worst case with all atoms on a sphere)
+     */
+    public void testSyntheticCoordinates() {
+        Random tmpRandom = new Random(1L);
+        for (int i = 0; i < 50; i++) {
+            int tmpNumberOfAtoms = 1 + tmpRandom.nextInt(2000);
+            double[] tmpCoordinates = new double[3 * tmpNumberOfAtoms];
+            for (int k = 0; k < tmpNumberOfAtoms; k++) {
+                double tmpX = tmpRandom.nextGaussian();
+                double tmpY = tmpRandom.nextGaussian();
+                double tmpZ = tmpRandom.nextGaussian();
+                double tmpScale;
+                switch (i % 3) {
+                    case 0:
+                        // On sphere
+                        tmpScale = 25.0 / Math.sqrt(tmpX * tmpX + tmpY * tmpY + tmpZ * tmpZ);
+                        break;
+                    case 1:
+                        // Elongated
+                        tmpX *= 10.0;
+                        tmpScale = 5.0;
+                        break;
+                    default:
+                        tmpScale = 10.0;
+                        break;
+                }
+                tmpCoordinates[3 * k] = 50.0 + tmpX * tmpScale;
+                tmpCoordinates[3 * k + 1] = 50.0 + tmpY * tmpScale;
+                tmpCoordinates[3 * k + 2] = 50.0 + tmpZ * tmpScale;
+            }
+            assertEquals("Test1", ProteinGeometry.getMaximumDistanceBruteForce(tmpCoordinates), ProteinGeometry.getMaximumDistance(tmpCoordinates), 0.0);
+        }
+        assertEquals("Test2", 0.0, ProteinGeometry.getMaximumDistance(new double[0]), 0.0);
+        assertEquals("Test3", 0.0, ProteinGeometry.getMaximumDistance(new double[] {1.0, 2.0, 3.0}), 0.0);
+        assertEquals("Test4", 5.0, ProteinGeometry.getMaximumDistance(new double[] {0.0, 0.0, 0.0, 3.0, 4.0, 0.0}), 0.0);
+        assertEquals("Test5", 1.0, ProteinGeometry.getRadiusOfGyration(new double[] {-1.0, 0.0, 0.0, 1.0, 0.0, 0.0}), 1.0E-12);
+        assertTrue("Test6", Double.isNaN(ProteinGeometry.getRadiusOfGyration(new double[0])));
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,245 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.peptide.utils;
+
+/**
+ * Geometry engine over primitive coordinate arrays: Coordinates of N atoms 
+ * are stored interleaved in a double array of length 3*N, i.e. x-, y- and 
+ * z-coordinate of atom i are at index 3*i, 3*i + 1 and 3*i + 2.
+ */
+public final class ProteinGeometry {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Relative slack for pruning with triangle inequality: Protects exact
+     * result against rounding errors of pruning bounds
+     */
+    private static final double PRUNING_SLACK = 1.0E-10;
+
+    /**
+     * Maximum number of double-normal iterations for lower bound of maximum
+     * distance
+     */
+    private static final int MAXIMUM_NUMBER_OF_DOUBLE_NORMAL_ITERATIONS = 10;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private constructor">
+    /**
+     * Private constructor: Only static methods
+     */
+    private ProteinGeometry() {
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Returns radius of gyration (with respect to geometric center) calculated
+     * in a single pass
+     *
+     * @param aCoordinates Interleaved coordinates (length 3*N)
+     * @return Radius of gyration or Double.NaN if there are no coordinates
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public static double getRadiusOfGyration(double[] aCoordinates) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aCoordinates == null || aCoordinates.length % 3 != 0) {
+            throw new IllegalArgumentException("aCoordinates is illegal.");
+        }
+        // </editor-fold>
+        // NOTE: Numerically stable single pass update of mean and sum of 
+        //       squared deviations (Welford)
+        int tmpNumberOfAtoms = 0;
+        double tmpMeanX = 0.0;
+        double tmpMeanY = 0.0;
+        double tmpMeanZ = 0.0;
+        double tmpSumOfSquares = 0.0;
+        for (int i = 0; i < aCoordinates.length; i += 3) {
+            tmpNumberOfAtoms++;
+            double tmpDeltaX = aCoordinates[i] - tmpMeanX;
+            double tmpDeltaY = aCoordinates[i + 1] - tmpMeanY;
+            double tmpDeltaZ = aCoordinates[i + 2] - tmpMeanZ;
+            tmpMeanX += tmpDeltaX / tmpNumberOfAtoms;
+            tmpMeanY += tmpDeltaY / tmpNumberOfAtoms;
+            tmpMeanZ += tmpDeltaZ / tmpNumberOfAtoms;
+            tmpSumOfSquares += 
+                tmpDeltaX * (aCoordinates[i] - tmpMeanX) 
+                + tmpDeltaY * (aCoordinates[i + 1] - tmpMeanY) 
+                + tmpDeltaZ * (aCoordinates[i + 2] - tmpMeanZ);
+        }
+        return Math.sqrt(tmpSumOfSquares / tmpNumberOfAtoms);
+    }
+
+    /**
+     * Returns exact maximum distance between two atoms: A lower bound is 
+     * determined by double-normal iterations (farthest atom of farthest atom). 
+     * Only atoms outside the ball around the midpoint of the lower bound pair 
+     * (with the lower bound as diameter) may be part of a more distant pair. 
+     * These candidate atoms are compared to all atoms where pairs are pruned 
+     * with the triangle inequality with respect to the ball center. NOTE: 
+     * Result is identical to a brute-force comparison of all pairs.
+     *
+     * @param aCoordinates Interleaved coordinates (length 3*N)
+     * @return Maximum distance between two atoms (0.0 if there are less than 
+     * two atoms)
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public static double getMaximumDistance(double[] aCoordinates) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aCoordinates == null || aCoordinates.length % 3 != 0) {
+            throw new IllegalArgumentException("aCoordinates is illegal.");
+        }
+        // </editor-fold>
+        int tmpNumberOfAtoms = aCoordinates.length / 3;
+        if (tmpNumberOfAtoms < 2) {
+            return 0.0;
+        }
+        // <editor-fold defaultstate="collapsed" desc="Lower bound by double-normal iterations">
+        int tmpFirstIndex = 0;
+        int tmpSecondIndex = ProteinGeometry.getIndexOfFarthestAtom(aCoordinates, tmpFirstIndex);
+        double tmpMaximumDistance = ProteinGeometry.getDistance(aCoordinates, tmpFirstIndex, tmpSecondIndex);
+        for (int i = 0; i < MAXIMUM_NUMBER_OF_DOUBLE_NORMAL_ITERATIONS; i++) {
+            int tmpNextIndex = ProteinGeometry.getIndexOfFarthestAtom(aCoordinates, tmpSecondIndex);
+            double tmpDistance = ProteinGeometry.getDistance(aCoordinates, tmpSecondIndex, tmpNextIndex);
+            if (tmpDistance <= tmpMaximumDistance) {
+                break;
+            }
+            tmpMaximumDistance = tmpDistance;
+            tmpFirstIndex = tmpSecondIndex;
+            tmpSecondIndex = tmpNextIndex;
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Distances to ball center">
+        double tmpCenterX = 0.5 * (aCoordinates[3 * tmpFirstIndex] + aCoordinates[3 * tmpSecondIndex]);
+        double tmpCenterY = 0.5 * (aCoordinates[3 * tmpFirstIndex + 1] + aCoordinates[3 * tmpSecondIndex + 1]);
+        double tmpCenterZ = 0.5 * (aCoordinates[3 * tmpFirstIndex + 2] + aCoordinates[3 * tmpSecondIndex + 2]);
+        double[] tmpRadii = new double[tmpNumberOfAtoms];
+        double tmpMaximumRadius = 0.0;
+        for (int i = 0, k = 0; i < tmpNumberOfAtoms; i++, k += 3) {
+            double tmpDeltaX = aCoordinates[k] - tmpCenterX;
+            double tmpDeltaY = aCoordinates[k + 1] - tmpCenterY;
+            double tmpDeltaZ = aCoordinates[k + 2] - tmpCenterZ;
+            // NOTE: Radius is enlarged by slack so that pruning bounds are safe
+            tmpRadii[i] = Math.sqrt(tmpDeltaX * tmpDeltaX + tmpDeltaY * tmpDeltaY + tmpDeltaZ * tmpDeltaZ) * (1.0 + PRUNING_SLACK);
+            if (tmpRadii[i] > tmpMaximumRadius) {
+                tmpMaximumRadius = tmpRadii[i];
+            }
+        }
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="Compare candidate atoms to all atoms">
+        for (int i = 0; i < tmpNumberOfAtoms; i++) {
+            // Triangle inequality: Distance of atoms i and j is less or equal tmpRadii[i] + tmpRadii[j]
+            if (tmpRadii[i] + tmpMaximumRadius < tmpMaximumDistance) {
+                continue;
+            }
+            int k = 3 * i;
+            double tmpX = aCoordinates[k];
+            double tmpY = aCoordinates[k + 1];
+            double tmpZ = aCoordinates[k + 2];
+            double tmpRadius = tmpRadii[i];
+            for (int j = i + 1, l = 3 * (i + 1); j < tmpNumberOfAtoms; j++, l += 3) {
+                if (tmpRadius + tmpRadii[j] < tmpMaximumDistance) {
+                    continue;
+                }
+                double tmpDeltaX = tmpX - aCoordinates[l];
+                double tmpDeltaY = tmpY - aCoordinates[l + 1];
+                double tmpDeltaZ = tmpZ - aCoordinates[l + 2];
+                double tmpDistance = Math.sqrt(tmpDeltaX * tmpDeltaX + tmpDeltaY * tmpDeltaY + tmpDeltaZ * tmpDeltaZ);
+                if (tmpDistance > tmpMaximumDistance) {
+                    tmpMaximumDistance = tmpDistance;
+                }
+            }
+        }
+        // </editor-fold>
+        return tmpMaximumDistance;
+    }
+
+    /**
+     * Returns maximum distance between two atoms by brute-force comparison of
+     * all pairs. NOTE: Method has quadratic complexity and is intended as a 
+     * reference.
+     *
+     * @param aCoordinates Interleaved coordinates (length 3*N)
+     * @return Maximum distance between two atoms (0.0 if there are less than 
+     * two atoms)
+     * @throws IllegalArgumentException Thrown if argument is illegal
+     */
+    public static double getMaximumDistanceBruteForce(double[] aCoordinates) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aCoordinates == null || aCoordinates.length % 3 != 0) {
+            throw new IllegalArgumentException("aCoordinates is illegal.");
+        }
+        // </editor-fold>
+        int tmpNumberOfAtoms = aCoordinates.length / 3;
+        double tmpMaximumDistance = 0.0;
+        for (int i = 0; i < tmpNumberOfAtoms; i++) {
+            for (int j = i + 1; j < tmpNumberOfAtoms; j++) {
+                double tmpDistance = ProteinGeometry.getDistance(aCoordinates, i, j);
+                if (tmpDistance > tmpMaximumDistance) {
+                    tmpMaximumDistance = tmpDistance;
+                }
+            }
+        }
+        return tmpMaximumDistance;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Returns distance between two atoms. NOTE: No checks are performed due 
+     * to performance reasons.
+     *
+     * @param aCoordinates Interleaved coordinates (length 3*N)
+     * @param aFirstIndex Index of first atom
+     * @param aSecondIndex Index of second atom
+     * @return Distance between atoms
+     */
+    private static double getDistance(double[] aCoordinates, int aFirstIndex, int aSecondIndex) {
+        int k = 3 * aFirstIndex;
+        int l = 3 * aSecondIndex;
+        double tmpDeltaX = aCoordinates[k] - aCoordinates[l];
+        double tmpDeltaY = aCoordinates[k + 1] - aCoordinates[l + 1];
+        double tmpDeltaZ = aCoordinates[k + 2] - aCoordinates[l + 2];
+        return Math.sqrt(tmpDeltaX * tmpDeltaX + tmpDeltaY * tmpDeltaY + tmpDeltaZ * tmpDeltaZ);
+    }
+
+    /**
+     * Returns index of atom with maximum distance to specified atom. NOTE: No 
+     * checks are performed due to performance reasons.
+     *
+     * @param aCoordinates Interleaved coordinates (length 3*N)
+     * @param anIndex Index of atom
+     * @return Index of atom with maximum distance
+     */
+    private static int getIndexOfFarthestAtom(double[] aCoordinates, int anIndex) {
+        int tmpNumberOfAtoms = aCoordinates.length / 3;
+        int tmpFarthestIndex = anIndex;
+        double tmpMaximumDistance = -1.0;
+        for (int i = 0; i < tmpNumberOfAtoms; i++) {
+            double tmpDistance = ProteinGeometry.getDistance(aCoordinates, anIndex, i);
+            if (tmpDistance > tmpMaximumDistance) {
+                tmpMaximumDistance = tmpDistance;
+                tmpFarthestIndex = i;
+            }
+        }
+        return tmpFarthestIndex;
+    }
+    // </editor-fold>
+
+}
@@ -227,11 +227,71 @@ public interface ModelDefinitions {
      */
     String INTERNAL_XML_JOB_INPUT_VALUE_ITEM_CONTAINER_FILENAME = "JobInputInternal.xml";
 
+    /**
+     * File name of binary snapshot file with value item container information
+     * of job input (see ValueItemContainerSnapshot)
+     */
+    String INTERNAL_BINARY_JOB_INPUT_VALUE_ITEM_CONTAINER_FILENAME = "JobInputInternal.bin";
+
+    /**
+     * File name of manifest file with known job input directories (located in
+     * job input path, see JobDirectoryScanner)
+     */
+    String JOB_INPUT_MANIFEST_FILENAME = "JobInputManifest.txt";
+
+    /**
+     * File name of manifest file with known job result directories (located in
+     * job result path, see JobDirectoryScanner)
+     */
+    String JOB_RESULT_MANIFEST_FILENAME = "JobResultManifest.txt";
+
+    /**
+     * File name of persisted job queue of JobScheduler (located in DPD data
+     * path)
+     */
+    String JOB_SCHEDULER_QUEUE_FILENAME = "JobSchedulerQueue.txt";
+
     /**
      * Name of log file for MFsim
      */
     String LOGFILE_NAME = "MFsim_Logfile.txt";
 
+    /**
+     * Name of metrics file of MFsim session (Prometheus text format)
+     */
+    String METRICS_FILE_NAME = "MFsim_Metrics.prom";
+
+    /**
+     * Name of metrics file of Job Result (Prometheus text format)
+     */
+    String JOB_RESULT_METRICS_FILE_NAME = "JobMetrics.prom";
+
+    /**
+     * Maximum size of log file in bytes before it is rotated (10 MByte)
+     */
+    long LOGFILE_MAXIMUM_SIZE_IN_BYTES = 10485760L;
+
+    /**
+     * Number of rotated log files that are kept
+     */
+    int NUMBER_OF_ROTATED_LOGFILES = 3;
+
+    /**
+     * Capacity of ring buffer for asynchronous logging (number of log entries)
+     */
+    int LOGFILE_BUFFER_CAPACITY = 8192;
+
+    /**
+     * Interval in milliseconds for batched writes of log entries
+     */
+    long LOGFILE_FLUSH_INTERVAL_IN_MILLISECONDS = 250L;
+
+    /**
+     * Interval in milliseconds in which repeated identical log entries are
+     * suppressed (and summarized)
+     */
+    long LOGFILE_REPETITION_INTERVAL_IN_MILLISECONDS = 5000L;
+
     /**
      * Single instance file name
      */
@@ -580,6 +640,22 @@ public interface ModelDefinitions {
      */
     int MAXIMUM_TIMER_INTERVAL_IN_MILLISECONDS = 10000;
 
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="-- Job progress updates">
+    /**
+     * Minimum interval between successive job progress updates in
+     * milliseconds (progress changes of Jdpd within this interval are
+     * coalesced)
+     */
+    long MINIMUM_JOB_PROGRESS_UPDATE_INTERVAL_IN_MILLISECONDS = 100L;
+
+    /**
+     * Maximum interval between successive job progress updates in
+     * milliseconds if Jdpd does not report any progress
+     */
+    long JOB_PROGRESS_KEEP_ALIVE_INTERVAL_IN_MILLISECONDS = 30000L;
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="-- Simulation box slicer">
@@ -840,6 +916,24 @@ public interface ModelDefinitions {
      */
     int MAXIMUM_JMOL_SPECULAR_REFLECTION_POWER = 100;
 
+    /**
+     * Number of simulation steps before and after the displayed step that 
+     * are prefetched (decoded and converted to XYZ data) for Jmol viewer
+     */
+    int JMOL_PREFETCH_NUMBER_OF_STEPS = 4;
+
+    /**
+     * Maximum number of pooled XYZ data buffers for Jmol viewer
+     */
+    int JMOL_XYZ_BUFFER_POOL_MAXIMUM_NUMBER = 16;
+
+    /**
+     * Maximum capacity (number of characters) of a pooled XYZ data buffer for
+     * Jmol viewer: Larger buffers are not pooled but reused by the converting
+     * thread (one large buffer per thread)
+     */
+    int JMOL_XYZ_BUFFER_POOL_MAXIMUM_CAPACITY = 8 * 65536;
+
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="-- Parallel computing">
@@ -902,6 +996,23 @@ public interface ModelDefinitions {
      * Maximum of minimum number of bonds for parallelisation
      */
     int MAXIMUM_NUMBER_OF_BONDS_FOR_PARALLELIZATION = Integer.MAX_VALUE;
+
+    /**
+     * Maximum number of parallel parsers for job input/result directories
+     * (disk bound, so more threads do not help)
+     */
+    int MAXIMUM_NUMBER_OF_PARALLEL_JOB_DIRECTORY_PARSERS = 8;
+
+    /**
+     * Maximum number of parallel compression threads for ZIP archiving
+     */
+    int MAXIMUM_NUMBER_OF_PARALLEL_ZIP_COMPRESSORS = 8;
+
+    /**
+     * Maximum number of parallel copy threads for relocation of job
+     * directories across devices
+     */
+    int MAXIMUM_NUMBER_OF_PARALLEL_FILE_COPIERS = 4;
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="-- Movie quality">
@@ -968,6 +1079,46 @@ public interface ModelDefinitions {
      */
     int MAXIMUM_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS = 16;
 
+    /**
+     * Minimum decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    int MINIMUM_STEP_OUTPUT_DECIMATION_INTERVAL = 1;
+
+    /**
+     * Default decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    int DEFAULT_STEP_OUTPUT_DECIMATION_INTERVAL = 1;
+
+    /**
+     * Maximum decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    int MAXIMUM_STEP_OUTPUT_DECIMATION_INTERVAL = 1000;
+
+    /**
+     * Minimum simulation step from which on particle positions of simulation steps are decimated
+     */
+    int MINIMUM_STEP_OUTPUT_DECIMATION_START_STEP = 0;
+
+    /**
+     * Default simulation step from which on particle positions of simulation steps are decimated
+     */
+    int DEFAULT_STEP_OUTPUT_DECIMATION_START_STEP = 0;
+
+    /**
+     * Minimum reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    int MINIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS = 1;
+
+    /**
+     * Default reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    int DEFAULT_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS = 16;
+
+    /**
+     * Maximum reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    int MAXIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS = 16;
+
     /**
      * Minimum maximum number of position correction trials
      */
@@ -1045,6 +1196,18 @@ public interface ModelDefinitions {
      * String for property change that indicates progress
      */
     String PROPERTY_CHANGE_PROGRESS = "PropertyChangeProgress";
+
+    /**
+     * String for property change that indicates throughput (in bytes per
+     * second)
+     */
+    String PROPERTY_CHANGE_THROUGHPUT = "PropertyChangeThroughput";
+
+    /**
+     * String for property change that indicates a live update of job input or
+     * job result directories
+     */
+    String PROPERTY_CHANGE_JOB_DIRECTORY_UPDATE = "PropertyChangeJobDirectoryUpdate";
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="- System related definitions">
@@ -1201,6 +1364,40 @@ public interface ModelDefinitions {
     int BUFFER_SIZE_TINY = 256;
     // </editor-fold>
     //
+    // <editor-fold defaultstate="collapsed" desc="- Spices pool related definitions">
+    /**
+     * Maximum number of pooled Spices instances per molecular structure
+     */
+    int SPICES_POOL_MAXIMUM_NUMBER_PER_STRUCTURE = 16;
+
+    /**
+     * Maximum total number of pooled Spices instances
+     */
+    int SPICES_POOL_MAXIMUM_NUMBER = 1600;
+
+    /**
+     * Maximum number of cached coordinate templates of molecular structures
+     */
+    int SPICES_COORDINATE_TEMPLATE_MAXIMUM_NUMBER = 1000;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- PdbToDpd pool related definitions">
+    /**
+     * Maximum number of pooled PdbToDpd instances per protein
+     */
+    int PDB_TO_DPD_POOL_MAXIMUM_NUMBER_PER_PROTEIN = 4;
+
+    /**
+     * Maximum total number of pooled PdbToDpd instances
+     */
+    int PDB_TO_DPD_POOL_MAXIMUM_NUMBER = 100;
+
+    /**
+     * Hash algorithm for content hash of protein data
+     */
+    String PDB_TO_DPD_POOL_HASH_ALGORITHM = "SHA-256";
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="- License">
     /**
      * Client license
@@ -1234,6 +1431,12 @@ public interface ModelDefinitions {
      */
     boolean IS_DETERMINISTIC_RANDOM_DEFAULT = true;
 
+    /**
+     * Default metrics collection flag. True: Metrics (timers, counters and
+     * histograms of pipeline stages) are collected, false: Otherwise
+     */
+    boolean IS_METRICS_COLLECTION_DEFAULT = false;
+
     /**
      * Default Jdpd log level exceptions flag.
      * True: Jdpd log level EXCEPTIONS is used, false: All available Jdpd log 
@@ -1615,6 +1818,31 @@ public interface ModelDefinitions {
     float JPEG_IMAGE_QUALITY_DEFAULT = 1.0f;
     // </editor-fold>
     //
+    // <editor-fold defaultstate="collapsed" desc="-- PNG image related attributes">
+    /**
+     * Default fast PNG writer flag. True: Built-in fast PNG writer is used,
+     * false: Standard ImageIO PNG writer is used
+     */
+    boolean IS_FAST_PNG_WRITER_DEFAULT = false;
+
+    /**
+     * Minimum deflate level of fast PNG writer (no compression)
+     */
+    int MINIMUM_PNG_DEFLATE_LEVEL = 0;
+
+    /**
+     * Default deflate level of fast PNG writer (best speed: Files are still
+     * slightly smaller than those of the standard ImageIO PNG writer due to
+     * adaptive row filtering)
+     */
+    int DEFAULT_PNG_DEFLATE_LEVEL = 1;
+
+    /**
+     * Maximum deflate level of fast PNG writer (best compression)
+     */
+    int MAXIMUM_PNG_DEFLATE_LEVEL = 9;
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="-- Colors and related attributes">
     /**
      * Simulation box background color
@@ -43,6 +43,14 @@ public enum PreferenceEditableEnum {
      * PreferenceBasic: this.jpegImageQuality
      */
     JPEG_IMAGE_QUALITY,
+    /**
+     * PreferenceBasic: this.isFastPngWriter
+     */
+    IS_FAST_PNG_WRITER,
+    /**
+     * PreferenceBasic: this.pngDeflateLevel
+     */
+    PNG_DEFLATE_LEVEL,
     /**
      * PreferenceBasic: this.colorTransparencyCompartment
      */
@@ -180,6 +188,10 @@ public enum PreferenceEditableEnum {
      * PreferenceBasic: this.isDeterministicRandom
      */
     IS_DETERMINISTIC_RANDOM,
+    /**
+     * PreferenceBasic: this.isMetricsCollection
+     */
+    IS_METRICS_COLLECTION,
     /**
      * PreferenceBasic: this.isJdpdLogLevelExceptions
      */
@@ -316,6 +328,18 @@ public enum PreferenceEditableEnum {
      * PreferenceBasic: this.numberOfAfterDecimalDigitsForParticlePositions
      */
     NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS,
+    /**
+     * PreferenceBasic: this.stepOutputDecimationInterval
+     */
+    STEP_OUTPUT_DECIMATION_INTERVAL,
+    /**
+     * PreferenceBasic: this.stepOutputDecimationStartStep
+     */
+    STEP_OUTPUT_DECIMATION_START_STEP,
+    /**
+     * PreferenceBasic: this.reducedNumberOfAfterDecimalDigitsForParticlePositions
+     */
+    REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS,
     /**
      * PreferenceBasic: this.maximumNumberOfPositionCorrectionTrials
      */
@@ -402,6 +426,8 @@ public enum PreferenceEditableEnum {
         if (PreferenceEditableEnum.representationToPreferenceEditableEnumMap == null) {
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap = new HashMap<String, PreferenceEditableEnum>(50);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.JPEG_IMAGE_QUALITY.name(), PreferenceEditableEnum.JPEG_IMAGE_QUALITY);
+            PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_FAST_PNG_WRITER.name(), PreferenceEditableEnum.IS_FAST_PNG_WRITER);
+            PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.PNG_DEFLATE_LEVEL.name(), PreferenceEditableEnum.PNG_DEFLATE_LEVEL);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.COLOR_TRANSPARENCY_COMPARTMENT.name(), PreferenceEditableEnum.COLOR_TRANSPARENCY_COMPARTMENT);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.COLOR_GRADIENT_ATTENUATION_COMPARTMENT.name(),
                     PreferenceEditableEnum.COLOR_GRADIENT_ATTENUATION_COMPARTMENT);
@@ -430,6 +456,7 @@ public enum PreferenceEditableEnum {
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_JOB_RESULT_ARCHIVE_FILE_UNCOMPRESSED.name(),
                     PreferenceEditableEnum.IS_JOB_RESULT_ARCHIVE_FILE_UNCOMPRESSED);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_DETERMINISTIC_RANDOM.name(), PreferenceEditableEnum.IS_DETERMINISTIC_RANDOM);
+            PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_METRICS_COLLECTION.name(), PreferenceEditableEnum.IS_METRICS_COLLECTION);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_JDPD_LOG_LEVEL_EXCEPTIONS.name(), PreferenceEditableEnum.IS_JDPD_LOG_LEVEL_EXCEPTIONS);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_CONSTANT_COMPARTMENT_BODY_VOLUME.name(), PreferenceEditableEnum.IS_CONSTANT_COMPARTMENT_BODY_VOLUME);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.IS_SIMULATION_BOX_SLICER.name(), PreferenceEditableEnum.IS_SIMULATION_BOX_SLICER);
@@ -477,6 +504,9 @@ public enum PreferenceEditableEnum {
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.NUMBER_OF_PARALLEL_CALCULATORS.name(), PreferenceEditableEnum.NUMBER_OF_PARALLEL_CALCULATORS);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.NUMBER_OF_PARALLEL_PARTICLE_POSITION_WRITERS.name(), PreferenceEditableEnum.NUMBER_OF_PARALLEL_PARTICLE_POSITION_WRITERS);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS.name(), PreferenceEditableEnum.NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS);
+            PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.STEP_OUTPUT_DECIMATION_INTERVAL.name(), PreferenceEditableEnum.STEP_OUTPUT_DECIMATION_INTERVAL);
+            PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.STEP_OUTPUT_DECIMATION_START_STEP.name(), PreferenceEditableEnum.STEP_OUTPUT_DECIMATION_START_STEP);
+            PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS.name(), PreferenceEditableEnum.REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.MAXIMUM_NUMBER_OF_POSITION_CORRECTION_TRIALS.name(), PreferenceEditableEnum.MAXIMUM_NUMBER_OF_POSITION_CORRECTION_TRIALS);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.MOVIE_QUALITY.name(), PreferenceEditableEnum.MOVIE_QUALITY);
             PreferenceEditableEnum.representationToPreferenceEditableEnumMap.put(PreferenceEditableEnum.TIMER_INTERVALL_IN_MILLISECONDS.name(), PreferenceEditableEnum.TIMER_INTERVALL_IN_MILLISECONDS);
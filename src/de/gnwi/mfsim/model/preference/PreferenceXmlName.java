@@ -100,6 +100,11 @@ public interface PreferenceXmlName {
      */
     String IS_DETERMINISTIC_RANDOM = "IsDeterministicRandom";
 
+    /**
+     * Name of metrics collection flag
+     */
+    String IS_METRICS_COLLECTION = "IsMetricsCollection";
+
     /**
      * Name of Jdpd exceptions log level flag
      */
@@ -265,6 +270,16 @@ public interface PreferenceXmlName {
      */
     String JPEG_IMAGE_QUALITY = "JpegImageQuality";
 
+    /**
+     * Name of fast PNG writer flag
+     */
+    String IS_FAST_PNG_WRITER = "IsFastPngWriter";
+
+    /**
+     * Name of PNG deflate level
+     */
+    String PNG_DEFLATE_LEVEL = "PngDeflateLevel";
+
     /**
      * Name of color gradient attenuation compartment
      */
@@ -605,6 +620,21 @@ public interface PreferenceXmlName {
      */
     String NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS = "NumberOfAfterDecimalDigitsForParticlePositions";
 
+    /**
+     * Decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    String STEP_OUTPUT_DECIMATION_INTERVAL = "StepOutputDecimationInterval";
+
+    /**
+     * Simulation step from which on particle positions of simulation steps are decimated
+     */
+    String STEP_OUTPUT_DECIMATION_START_STEP = "StepOutputDecimationStartStep";
+
+    /**
+     * Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    String REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS = "ReducedNumberOfAfterDecimalDigitsForParticlePositions";
+
     /**
      * Maximum number of position correction trials
      */
@@ -19,6 +19,7 @@
  */
 package de.gnwi.mfsim.model.preference;
 
+import de.gnwi.mfsim.model.graphics.RenderSettings;
 import de.gnwi.mfsim.model.graphics.SimulationBoxViewEnum;
 import de.gnwi.mfsim.model.valueItem.ValueItemDataTypeFormat;
 import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
@@ -83,6 +84,18 @@ public final class Preferences {
      */
     private float jpegImageQuality;
 
+    /**
+     * True: Built-in fast PNG writer is used, false: Standard ImageIO PNG
+     * writer is used
+     */
+    private boolean isFastPngWriter;
+
+    /**
+     * Deflate level of fast PNG writer (0 = no compression to 9 = best
+     * compression)
+     */
+    private int pngDeflateLevel;
+
     /**
      * Transparency value between 0.0 (no transparency) and 1.0 (full
      * transparency) for compartments
@@ -439,11 +452,23 @@ public final class Preferences {
      */
     private long deterministicRandomSeed;
 
+    /**
+     * Thread-confined deterministic random seed value (overrides
+     * this.deterministicRandomSeed for the current thread if set)
+     */
+    private final ThreadLocal<long[]> threadDeterministicRandomSeed = new ThreadLocal<>();
+
     /**
      * True: Random number generator with defined seed is used, false: Otherwise
      */
     private boolean isDeterministicRandom;
 
+    /**
+     * True: Metrics (timers, counters and histograms of pipeline stages) are
+     * collected, false: Otherwise
+     */
+    private boolean isMetricsCollection;
+
     /**
      * True: Jdpd log level EXCEPTIONS is used, false: All available Jdpd log 
      * levels are used
@@ -612,6 +637,21 @@ public final class Preferences {
      */
     private int numberOfAfterDecimalDigitsForParticlePositions;
 
+    /**
+     * Decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    private int stepOutputDecimationInterval;
+
+    /**
+     * Simulation step from which on particle positions of simulation steps are decimated
+     */
+    private int stepOutputDecimationStartStep;
+
+    /**
+     * Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    private int reducedNumberOfAfterDecimalDigitsForParticlePositions;
+
     /**
      * Maximum number of position correction trials
      */
@@ -1088,6 +1128,22 @@ public final class Preferences {
         tmpValueItem.setVerticalPosition(tmpVerticalPosition++);
         tmpValueItemContainer.addValueItem(tmpValueItem);
         // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="- Metrics collection">
+        tmpValueItem = new ValueItem();
+        tmpValueItem.setNodeNames(tmpNodeNames);
+        tmpValueItem.setDefaultTypeFormat(new ValueItemDataTypeFormat(ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.False"), new String[]{
+            ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.True"), ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.False")}));
+        tmpValueItem.setName(PreferenceEditableEnum.IS_METRICS_COLLECTION.name());
+        tmpValueItem.setDescription(ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.Description"));
+        tmpValueItem.setDisplayName(ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection"));
+        if (this.isMetricsCollection) {
+            tmpValueItem.setValue(ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.True"));
+        } else {
+            tmpValueItem.setValue(ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.False"));
+        }
+        tmpValueItem.setVerticalPosition(tmpVerticalPosition++);
+        tmpValueItemContainer.addValueItem(tmpValueItem);
+        // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="- Jdpd log level exceptions">
         tmpValueItem = new ValueItem();
         tmpValueItem.setNodeNames(tmpNodeNames);
@@ -1124,6 +1180,46 @@ public final class Preferences {
         tmpValueItem.setVerticalPosition(tmpVerticalPosition++);
         tmpValueItemContainer.addValueItem(tmpValueItem);
         // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="- Decimation interval for particle positions of simulation steps (1: No decimation)">
+        tmpValueItem = new ValueItem();
+        tmpValueItem.setNodeNames(tmpNodeNames);
+        tmpValueItem.setDefaultTypeFormat(new ValueItemDataTypeFormat(
+                String.valueOf(this.getDefaultStepOutputDecimationInterval()), 
+                ModelUtils.getNumberStringsForInterval(ModelDefinitions.MINIMUM_STEP_OUTPUT_DECIMATION_INTERVAL, ModelDefinitions.MAXIMUM_STEP_OUTPUT_DECIMATION_INTERVAL))
+        );
+        tmpValueItem.setName(PreferenceEditableEnum.STEP_OUTPUT_DECIMATION_INTERVAL.name());
+        tmpValueItem.setDescription(ModelMessage.get("Preferences.Miscellaneous.StepOutputDecimationInterval.Description"));
+        tmpValueItem.setDisplayName(ModelMessage.get("Preferences.Miscellaneous.StepOutputDecimationInterval"));
+        tmpValueItem.setValue(String.valueOf(this.stepOutputDecimationInterval));
+        tmpValueItem.setVerticalPosition(tmpVerticalPosition++);
+        tmpValueItemContainer.addValueItem(tmpValueItem);
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="- Simulation step from which on particle positions of simulation steps are decimated">
+        tmpValueItem = new ValueItem();
+        tmpValueItem.setNodeNames(tmpNodeNames);
+        tmpValueItem.setDefaultTypeFormat(new ValueItemDataTypeFormat(String.valueOf(this.getDefaultStepOutputDecimationStartStep()), 0,
+                ModelDefinitions.MINIMUM_STEP_OUTPUT_DECIMATION_START_STEP, Integer.MAX_VALUE));
+        tmpValueItem.setName(PreferenceEditableEnum.STEP_OUTPUT_DECIMATION_START_STEP.name());
+        tmpValueItem.setDescription(ModelMessage.get("Preferences.Miscellaneous.StepOutputDecimationStartStep.Description"));
+        tmpValueItem.setDisplayName(ModelMessage.get("Preferences.Miscellaneous.StepOutputDecimationStartStep"));
+        tmpValueItem.setValue(String.valueOf(this.stepOutputDecimationStartStep));
+        tmpValueItem.setVerticalPosition(tmpVerticalPosition++);
+        tmpValueItemContainer.addValueItem(tmpValueItem);
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="- Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps">
+        tmpValueItem = new ValueItem();
+        tmpValueItem.setNodeNames(tmpNodeNames);
+        tmpValueItem.setDefaultTypeFormat(new ValueItemDataTypeFormat(
+                String.valueOf(this.getDefaultReducedNumberOfAfterDecimalDigitsForParticlePositions()), 
+                ModelUtils.getNumberStringsForInterval(ModelDefinitions.MINIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS, ModelDefinitions.MAXIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS))
+        );
+        tmpValueItem.setName(PreferenceEditableEnum.REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS.name());
+        tmpValueItem.setDescription(ModelMessage.get("Preferences.Miscellaneous.ReducedNumberOfAfterDecimalDigitsForParticlePositions.Description"));
+        tmpValueItem.setDisplayName(ModelMessage.get("Preferences.Miscellaneous.ReducedNumberOfAfterDecimalDigitsForParticlePositions"));
+        tmpValueItem.setValue(String.valueOf(this.reducedNumberOfAfterDecimalDigitsForParticlePositions));
+        tmpValueItem.setVerticalPosition(tmpVerticalPosition++);
+        tmpValueItemContainer.addValueItem(tmpValueItem);
+        // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="- Maximum number of position correction trials">
         tmpValueItem = new ValueItem();
         tmpValueItem.setNodeNames(tmpNodeNames);
@@ -1602,6 +1698,16 @@ public final class Preferences {
                         tmpHasChanged = true;
                     }
                     break;
+                case IS_FAST_PNG_WRITER:
+                    if (this.setFastPngWriter(tmpSingleValueItem.getValue().equals(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.True")))) {
+                        tmpHasChanged = true;
+                    }
+                    break;
+                case PNG_DEFLATE_LEVEL:
+                    if (this.setPngDeflateLevel(tmpSingleValueItem.getValueAsInt())) {
+                        tmpHasChanged = true;
+                    }
+                    break;
                 case COLOR_TRANSPARENCY_COMPARTMENT:
                     if (this.setColorTransparencyCompartment((float) tmpSingleValueItem.getValueAsDouble())) {
                         tmpHasChanged = true;
@@ -1682,6 +1788,11 @@ public final class Preferences {
                         tmpHasChanged = true;
                     }
                     break;
+                case IS_METRICS_COLLECTION:
+                    if (this.setMetricsCollection(tmpSingleValueItem.getValue().equals(ModelMessage.get("Preferences.Miscellaneous.IsMetricsCollection.True")))) {
+                        tmpHasChanged = true;
+                    }
+                    break;
                 case IS_JDPD_LOG_LEVEL_EXCEPTIONS:
                     if (this.setJdpdLogLevelExceptions(tmpSingleValueItem.getValue().equals(ModelMessage.get("Preferences.Miscellaneous.JdpdLogLevelExceptions.True")))) {
                         tmpHasChanged = true;
@@ -1777,6 +1888,21 @@ public final class Preferences {
                         tmpHasChanged = true;
                     }
                     break;
+                case STEP_OUTPUT_DECIMATION_INTERVAL:
+                    if (this.setStepOutputDecimationInterval(tmpSingleValueItem.getValueAsInt())) {
+                        tmpHasChanged = true;
+                    }
+                    break;
+                case STEP_OUTPUT_DECIMATION_START_STEP:
+                    if (this.setStepOutputDecimationStartStep(tmpSingleValueItem.getValueAsInt())) {
+                        tmpHasChanged = true;
+                    }
+                    break;
+                case REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS:
+                    if (this.setReducedNumberOfAfterDecimalDigitsForParticlePositions(tmpSingleValueItem.getValueAsInt())) {
+                        tmpHasChanged = true;
+                    }
+                    break;
                 case MAXIMUM_NUMBER_OF_POSITION_CORRECTION_TRIALS:
                     if (this.setMaximumNumberOfPositionCorrectionTrials(tmpSingleValueItem.getValueAsInt())) {
                         tmpHasChanged = true;
@@ -2199,6 +2325,12 @@ public final class Preferences {
             tmpRoot.addContent(new Element(PreferenceXmlName.NUMBER_OF_PARALLEL_PARTICLE_POSITION_WRITERS).addContent(Integer.toString(this.numberOfParallelParticlePositionWriters)));
             // this.numberOfAfterDecimalDigitsForParticlePositions
             tmpRoot.addContent(new Element(PreferenceXmlName.NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS).addContent(Integer.toString(this.numberOfAfterDecimalDigitsForParticlePositions)));
+            // this.stepOutputDecimationInterval
+            tmpRoot.addContent(new Element(PreferenceXmlName.STEP_OUTPUT_DECIMATION_INTERVAL).addContent(Integer.toString(this.stepOutputDecimationInterval)));
+            // this.stepOutputDecimationStartStep
+            tmpRoot.addContent(new Element(PreferenceXmlName.STEP_OUTPUT_DECIMATION_START_STEP).addContent(Integer.toString(this.stepOutputDecimationStartStep)));
+            // this.reducedNumberOfAfterDecimalDigitsForParticlePositions
+            tmpRoot.addContent(new Element(PreferenceXmlName.REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS).addContent(Integer.toString(this.reducedNumberOfAfterDecimalDigitsForParticlePositions)));
             // this.maximumNumberOfPositionCorrectionTrials
             tmpRoot.addContent(new Element(PreferenceXmlName.MAXIMUM_NUMBER_OF_POSITION_CORRECTION_TRIALS).addContent(Integer.toString(this.maximumNumberOfPositionCorrectionTrials)));
             // this.movieQuality
@@ -2299,6 +2431,8 @@ public final class Preferences {
             tmpRoot.addContent(new Element(PreferenceXmlName.IS_JOB_RESULT_ARCHIVE_FILE_UNCOMPRESSED).addContent(Boolean.toString(this.isJobResultArchiveFileUncompressed)));
             // this.isDeterministicRandom
             tmpRoot.addContent(new Element(PreferenceXmlName.IS_DETERMINISTIC_RANDOM).addContent(Boolean.toString(this.isDeterministicRandom)));
+            // this.isMetricsCollection
+            tmpRoot.addContent(new Element(PreferenceXmlName.IS_METRICS_COLLECTION).addContent(Boolean.toString(this.isMetricsCollection)));
             // this.isJdpdLogLevelExceptions
             tmpRoot.addContent(new Element(PreferenceXmlName.IS_JDPD_LOG_LEVEL_EXCEPTIONS).addContent(Boolean.toString(this.isJdpdLogLevelExceptions)));
             // this.isConstantCompartmentBodyVolume
@@ -2369,6 +2503,10 @@ public final class Preferences {
             tmpRoot.addContent(new Element(PreferenceXmlName.COLOR_GRADIENT_ATTENUATION_SLICER).addContent(Double.toString(this.colorGradientAttenuationSlicer)));
             // this.jpegImageQuality
             tmpRoot.addContent(new Element(PreferenceXmlName.JPEG_IMAGE_QUALITY).addContent(Float.toString(this.jpegImageQuality)));
+            // this.isFastPngWriter
+            tmpRoot.addContent(new Element(PreferenceXmlName.IS_FAST_PNG_WRITER).addContent(Boolean.toString(this.isFastPngWriter)));
+            // this.pngDeflateLevel
+            tmpRoot.addContent(new Element(PreferenceXmlName.PNG_DEFLATE_LEVEL).addContent(Integer.toString(this.pngDeflateLevel)));
             // this.colorTransparencyCompartment
             tmpRoot.addContent(new Element(PreferenceXmlName.COLOR_TRANSPARENCY_COMPARTMENT).addContent(Float.toString(this.colorTransparencyCompartment)));
             // this.jobInputFilterAfterTimestamp
@@ -2410,6 +2548,37 @@ public final class Preferences {
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public properties (get only)">
+    // <editor-fold defaultstate="collapsed" desc="- RenderSettings (get only)">
+    /**
+     * Immutable snapshot of the current slicer render settings. NOTE: A
+     * render job should capture this snapshot once and pass it to all its
+     * slicers and graphics factories so that preference changes never affect
+     * a running render job.
+     *
+     * @return Immutable snapshot of the current slicer render settings
+     */
+    public RenderSettings getRenderSettings() {
+        return new RenderSettings(
+            this.getNumberOfSlicesPerView(),
+            this.getFirstSliceIndex(),
+            this.isSingleSliceDisplay(),
+            this.getDepthAttenuationSlicer(),
+            this.getSimulationBoxMagnificationPercentage(),
+            this.getXshiftInPixelSlicer(),
+            this.getYshiftInPixelSlicer(),
+            this.getFrameColorSlicer(),
+            this.getSimulationBoxBackgroundColorSlicer(),
+            this.getSlicerGraphicsMode(),
+            this.getImageStorageMode(),
+            this.getParticleColorDisplayMode(),
+            this.getSpecularWhiteSizeSlicer(),
+            this.getRadialGradientPaintFocusFactorX(),
+            this.getRadialGradientPaintFocusFactorY(),
+            this.getRadialGradientPaintRadiusMagnification()
+        );
+    }
+
+    // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- JobInputPath (get only)">
     /**
      * Full path for job inputs
@@ -3069,6 +3238,87 @@ public final class Preferences {
         }
     }
 
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- FastPngWriter">
+    /**
+     * True: Built-in fast PNG writer is used, false: Standard ImageIO PNG
+     * writer is used
+     *
+     * @return True: Fast PNG writer is used, false: Otherwise
+     */
+    public boolean isFastPngWriter() {
+        return this.isFastPngWriter;
+    }
+
+    /**
+     * Default fast PNG writer flag
+     *
+     * @return Default fast PNG writer flag
+     */
+    public boolean getDefaultFastPngWriter() {
+        return ModelDefinitions.IS_FAST_PNG_WRITER_DEFAULT;
+    }
+
+    /**
+     * True: Built-in fast PNG writer is used, false: Standard ImageIO PNG
+     * writer is used
+     *
+     * @param aValue Value
+     * @return True: Value changed, false: Otherwise
+     */
+    public boolean setFastPngWriter(boolean aValue) {
+        if (this.isFastPngWriter != aValue) {
+            this.isFastPngWriter = aValue;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- PngDeflateLevel">
+    /**
+     * Deflate level of fast PNG writer (0 = no compression to 9 = best
+     * compression)
+     *
+     * @return Deflate level of fast PNG writer
+     */
+    public int getPngDeflateLevel() {
+        return this.pngDeflateLevel;
+    }
+
+    /**
+     * Default deflate level of fast PNG writer
+     *
+     * @return Default deflate level of fast PNG writer
+     */
+    public int getDefaultPngDeflateLevel() {
+        return ModelDefinitions.DEFAULT_PNG_DEFLATE_LEVEL;
+    }
+
+    /**
+     * Deflate level of fast PNG writer (0 = no compression to 9 = best
+     * compression)
+     *
+     * @param aValue Value
+     * @return True: Value changed, false: Otherwise
+     */
+    public boolean setPngDeflateLevel(int aValue) {
+
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aValue < ModelDefinitions.MINIMUM_PNG_DEFLATE_LEVEL || aValue > ModelDefinitions.MAXIMUM_PNG_DEFLATE_LEVEL) {
+            return false;
+        }
+
+        // </editor-fold>
+        if (this.pngDeflateLevel != aValue) {
+            this.pngDeflateLevel = aValue;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- ColorTransparencyCompartment">
     /**
@@ -3993,14 +4243,44 @@ public final class Preferences {
      * @return Deterministic random seed value
      */
     public long getDeterministicRandomSeed() {
-        return this.deterministicRandomSeed;
+        long[] tmpThreadDeterministicRandomSeed = this.threadDeterministicRandomSeed.get();
+        if (tmpThreadDeterministicRandomSeed != null) {
+            return tmpThreadDeterministicRandomSeed[0];
+        } else {
+            return this.deterministicRandomSeed;
+        }
     }
 
     /**
      * Increments deterministic random seed value
      */
     public void incrementDeterministicRandomSeed() {
-        this.deterministicRandomSeed += 1L;
+        long[] tmpThreadDeterministicRandomSeed = this.threadDeterministicRandomSeed.get();
+        if (tmpThreadDeterministicRandomSeed != null) {
+            tmpThreadDeterministicRandomSeed[0] += 1L;
+        } else {
+            this.deterministicRandomSeed += 1L;
+        }
+    }
+
+    /**
+     * Sets deterministic random seed value for the current thread only, i.e.
+     * getDeterministicRandomSeed() and incrementDeterministicRandomSeed()
+     * refer to this value in the current thread until
+     * removeThreadDeterministicRandomSeed() is called. NOTE: This allows
+     * parallel tasks to use independent deterministic random streams.
+     *
+     * @param aSeed Deterministic random seed value for current thread
+     */
+    public void setThreadDeterministicRandomSeed(long aSeed) {
+        this.threadDeterministicRandomSeed.set(new long[] {aSeed});
+    }
+
+    /**
+     * Removes deterministic random seed value of the current thread
+     */
+    public void removeThreadDeterministicRandomSeed() {
+        this.threadDeterministicRandomSeed.remove();
     }
 
     /**
@@ -4054,6 +4334,51 @@ public final class Preferences {
         }
     }
     // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- MetricsCollection">
+    /**
+     * True: Metrics (timers, counters and histograms of pipeline stages) are
+     * collected, false: Otherwise
+     *
+     * @return True: Metrics are collected, false: Otherwise
+     */
+    public boolean isMetricsCollection() {
+        return this.isMetricsCollection;
+    }
+
+    /**
+     * Default metrics collection flag
+     *
+     * @return Default metrics collection flag
+     */
+    public boolean getDefaultMetricsCollection() {
+        return ModelDefinitions.IS_METRICS_COLLECTION_DEFAULT;
+    }
+
+    /**
+     * True: Metrics (timers, counters and histograms of pipeline stages) are
+     * collected, false: Otherwise
+     *
+     * @param aValue Value
+     * @return True: Value changed, false: Otherwise
+     */
+    public boolean setMetricsCollection(boolean aValue) {
+        if (this.isMetricsCollection != aValue) {
+            this.isMetricsCollection = aValue;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Full pathname of metrics file of MFsim session (Prometheus text format)
+     *
+     * @return Full pathname of metrics file of MFsim session
+     */
+    public String getMetricsFilePathname() {
+        return this.dpdDataPath + File.separatorChar + ModelDefinitions.METRICS_FILE_NAME;
+    }
+    // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- JdpdLogLevelExceptions">
     /**
      * True: Jdpd log level EXCEPTIONS is used, false: All available Jdpd log 
@@ -4873,6 +5198,123 @@ public final class Preferences {
         return tmpHasChanged;
     }
     // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- StepOutputDecimationInterval">
+    /**
+     * Decimation interval for particle positions of simulation steps (1: No decimation)
+     *
+     * @return Decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    public int getStepOutputDecimationInterval() {
+        return this.stepOutputDecimationInterval;
+    }
+
+    /**
+     * Default decimation interval for particle positions of simulation steps (1: No decimation)
+     *
+     * @return Default decimation interval for particle positions of simulation steps (1: No decimation)
+     */
+    public int getDefaultStepOutputDecimationInterval() {
+        return ModelDefinitions.DEFAULT_STEP_OUTPUT_DECIMATION_INTERVAL;
+    }
+
+    /**
+     * Decimation interval for particle positions of simulation steps (1: No decimation)
+     *
+     * @param aValue Decimation interval for particle positions of simulation steps (1: No decimation)
+     * @return True: Value changed, false: Otherwise
+     */
+    public boolean setStepOutputDecimationInterval(int aValue) {
+
+        boolean tmpHasChanged = false;
+
+        // <editor-fold defaultstate="collapsed" desc="Set new value if changed">
+        int tmpCorrectedValue = ModelUtils.correctIntegerValue(aValue, ModelDefinitions.MINIMUM_STEP_OUTPUT_DECIMATION_INTERVAL, ModelDefinitions.MAXIMUM_STEP_OUTPUT_DECIMATION_INTERVAL);
+        if (this.stepOutputDecimationInterval != tmpCorrectedValue) {
+            this.stepOutputDecimationInterval = tmpCorrectedValue;
+            tmpHasChanged = true;
+        }
+        // </editor-fold>
+        return tmpHasChanged;
+    }
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- StepOutputDecimationStartStep">
+    /**
+     * Simulation step from which on particle positions of simulation steps are decimated
+     *
+     * @return Simulation step from which on particle positions of simulation steps are decimated
+     */
+    public int getStepOutputDecimationStartStep() {
+        return this.stepOutputDecimationStartStep;
+    }
+
+    /**
+     * Default simulation step from which on particle positions of simulation steps are decimated
+     *
+     * @return Default simulation step from which on particle positions of simulation steps are decimated
+     */
+    public int getDefaultStepOutputDecimationStartStep() {
+        return ModelDefinitions.DEFAULT_STEP_OUTPUT_DECIMATION_START_STEP;
+    }
+
+    /**
+     * Simulation step from which on particle positions of simulation steps are decimated
+     *
+     * @param aValue Simulation step from which on particle positions of simulation steps are decimated
+     * @return True: Value changed, false: Otherwise
+     */
+    public boolean setStepOutputDecimationStartStep(int aValue) {
+
+        boolean tmpHasChanged = false;
+
+        // <editor-fold defaultstate="collapsed" desc="Set new value if changed">
+        int tmpCorrectedValue = ModelUtils.correctIntegerValue(aValue, ModelDefinitions.MINIMUM_STEP_OUTPUT_DECIMATION_START_STEP, Integer.MAX_VALUE);
+        if (this.stepOutputDecimationStartStep != tmpCorrectedValue) {
+            this.stepOutputDecimationStartStep = tmpCorrectedValue;
+            tmpHasChanged = true;
+        }
+        // </editor-fold>
+        return tmpHasChanged;
+    }
+    // </editor-fold>
+    // <editor-fold defaultstate="collapsed" desc="- ReducedNumberOfAfterDecimalDigitsForParticlePositions">
+    /**
+     * Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     *
+     * @return Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    public int getReducedNumberOfAfterDecimalDigitsForParticlePositions() {
+        return this.reducedNumberOfAfterDecimalDigitsForParticlePositions;
+    }
+
+    /**
+     * Default reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     *
+     * @return Default reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     */
+    public int getDefaultReducedNumberOfAfterDecimalDigitsForParticlePositions() {
+        return ModelDefinitions.DEFAULT_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS;
+    }
+
+    /**
+     * Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     *
+     * @param aValue Reduced number of after-decimal-separator digits for particle positions of earlier simulation steps
+     * @return True: Value changed, false: Otherwise
+     */
+    public boolean setReducedNumberOfAfterDecimalDigitsForParticlePositions(int aValue) {
+
+        boolean tmpHasChanged = false;
+
+        // <editor-fold defaultstate="collapsed" desc="Set new value if changed">
+        int tmpCorrectedValue = ModelUtils.correctIntegerValue(aValue, ModelDefinitions.MINIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS, ModelDefinitions.MAXIMUM_REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS);
+        if (this.reducedNumberOfAfterDecimalDigitsForParticlePositions != tmpCorrectedValue) {
+            this.reducedNumberOfAfterDecimalDigitsForParticlePositions = tmpCorrectedValue;
+            tmpHasChanged = true;
+        }
+        // </editor-fold>
+        return tmpHasChanged;
+    }
+    // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- MaximumNumberOfPositionCorrectionTrials">
     /**
      * Maximum number of position correction trials
@@ -8953,6 +9395,16 @@ public final class Preferences {
         tmpValueItem.setVerticalPosition(aVerticalPosition++);
         aValueItemContainer.addValueItem(tmpValueItem);
 
+        tmpValueItem = this.getFastPngWriterValueItem();
+        tmpValueItem.setNodeNames(aNodeNames);
+        tmpValueItem.setVerticalPosition(aVerticalPosition++);
+        aValueItemContainer.addValueItem(tmpValueItem);
+
+        tmpValueItem = this.getPngDeflateLevelValueItem();
+        tmpValueItem.setNodeNames(aNodeNames);
+        tmpValueItem.setVerticalPosition(aVerticalPosition++);
+        aValueItemContainer.addValueItem(tmpValueItem);
+
         tmpValueItem = this.getBoxViewDisplayValueItem();
         tmpValueItem.setNodeNames(aNodeNames);
         tmpValueItem.setVerticalPosition(aVerticalPosition++);
@@ -9061,6 +9513,44 @@ public final class Preferences {
         return tmpValueItem;
     }
 
+    /**
+     * Returns value item for this.isFastPngWriter
+     *
+     * @return Value item for this.isFastPngWriter
+     */
+    private ValueItem getFastPngWriterValueItem() {
+        ValueItem tmpValueItem = new ValueItem();
+        tmpValueItem.setDefaultTypeFormat(new ValueItemDataTypeFormat(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.False"), new String[]{
+            ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.True"), ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.False")}));
+        tmpValueItem.setName(PreferenceEditableEnum.IS_FAST_PNG_WRITER.name());
+        tmpValueItem.setDescription(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.Description"));
+        tmpValueItem.setDisplayName(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter"));
+        if (this.isFastPngWriter) {
+            tmpValueItem.setValue(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.True"));
+        } else {
+            tmpValueItem.setValue(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.IsFastPngWriter.False"));
+        }
+        return tmpValueItem;
+    }
+
+    /**
+     * Returns value item for this.pngDeflateLevel
+     *
+     * @return Value item for this.pngDeflateLevel
+     */
+    private ValueItem getPngDeflateLevelValueItem() {
+        ValueItem tmpValueItem = new ValueItem();
+        tmpValueItem.setDefaultTypeFormat(new ValueItemDataTypeFormat(
+                String.valueOf(this.getDefaultPngDeflateLevel()), 
+                ModelUtils.getNumberStringsForInterval(ModelDefinitions.MINIMUM_PNG_DEFLATE_LEVEL, ModelDefinitions.MAXIMUM_PNG_DEFLATE_LEVEL))
+        );
+        tmpValueItem.setName(PreferenceEditableEnum.PNG_DEFLATE_LEVEL.name());
+        tmpValueItem.setDescription(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.PngDeflateLevel.Description"));
+        tmpValueItem.setDisplayName(ModelMessage.get("Preferences.SimulationBoxSlicerSettings.GraphicsSettings.PngDeflateLevel"));
+        tmpValueItem.setValue(String.valueOf(this.pngDeflateLevel));
+        return tmpValueItem;
+    }
+
     /**
      * Returns value item for this.numberOfSlicesPerView
      *
@@ -10757,6 +11247,15 @@ public final class Preferences {
         // <editor-fold defaultstate="collapsed" desc="this.numberOfAfterDecimalDigitsForParticlePositions">
         this.numberOfAfterDecimalDigitsForParticlePositions = this.getDefaultNumberOfAfterDecimalDigitsForParticlePositions();
         // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="this.stepOutputDecimationInterval">
+        this.stepOutputDecimationInterval = this.getDefaultStepOutputDecimationInterval();
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="this.stepOutputDecimationStartStep">
+        this.stepOutputDecimationStartStep = this.getDefaultStepOutputDecimationStartStep();
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="this.reducedNumberOfAfterDecimalDigitsForParticlePositions">
+        this.reducedNumberOfAfterDecimalDigitsForParticlePositions = this.getDefaultReducedNumberOfAfterDecimalDigitsForParticlePositions();
+        // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="this.maximumNumberOfPositionCorrectionTrials">
         this.maximumNumberOfPositionCorrectionTrials = this.getDefaultMaximumNumberOfPositionCorrectionTrials();
         // </editor-fold>
@@ -10935,6 +11434,9 @@ public final class Preferences {
         // <editor-fold defaultstate="collapsed" desc="this.isDeterministicRandom">
         this.isDeterministicRandom = this.getDefaultDeterministicRandom();
         // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="this.isMetricsCollection">
+        this.isMetricsCollection = this.getDefaultMetricsCollection();
+        // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="this.isJdpdLogLevelExceptions">
         this.isJdpdLogLevelExceptions = this.getDefaultJdpdLogLevelExceptions();
         // </editor-fold>
@@ -11006,6 +11508,12 @@ public final class Preferences {
         // <editor-fold defaultstate="collapsed" desc="this.jpegImageQuality">
         this.jpegImageQuality = this.getDefaultJpegImageQuality();
         // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="this.isFastPngWriter">
+        this.isFastPngWriter = this.getDefaultFastPngWriter();
+        // </editor-fold>
+        // <editor-fold defaultstate="collapsed" desc="this.pngDeflateLevel">
+        this.pngDeflateLevel = this.getDefaultPngDeflateLevel();
+        // </editor-fold>
         // <editor-fold defaultstate="collapsed" desc="this.colorTransparencyCompartment">
         this.colorTransparencyCompartment = this.getDefaultColorTransparencyCompartment();
         // </editor-fold>
@@ -11347,6 +11855,24 @@ public final class Preferences {
                 this.numberOfAfterDecimalDigitsForParticlePositions = Integer.parseInt(tmpCurrentElement.getText());
             }
             // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="this.stepOutputDecimationInterval">
+            tmpCurrentElement = anElement.getChild(PreferenceXmlName.STEP_OUTPUT_DECIMATION_INTERVAL);
+            if (tmpCurrentElement != null) {
+                this.stepOutputDecimationInterval = Integer.parseInt(tmpCurrentElement.getText());
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="this.stepOutputDecimationStartStep">
+            tmpCurrentElement = anElement.getChild(PreferenceXmlName.STEP_OUTPUT_DECIMATION_START_STEP);
+            if (tmpCurrentElement != null) {
+                this.stepOutputDecimationStartStep = Integer.parseInt(tmpCurrentElement.getText());
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="this.reducedNumberOfAfterDecimalDigitsForParticlePositions">
+            tmpCurrentElement = anElement.getChild(PreferenceXmlName.REDUCED_NUMBER_OF_AFTER_DECIMAL_SEPARATOR_DIGITS_FOR_PARTICLE_POSITIONS);
+            if (tmpCurrentElement != null) {
+                this.reducedNumberOfAfterDecimalDigitsForParticlePositions = Integer.parseInt(tmpCurrentElement.getText());
+            }
+            // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="this.maximumNumberOfPositionCorrectionTrials">
             tmpCurrentElement = anElement.getChild(PreferenceXmlName.MAXIMUM_NUMBER_OF_POSITION_CORRECTION_TRIALS);
             if (tmpCurrentElement != null) {
@@ -11675,6 +12201,12 @@ public final class Preferences {
                 this.isDeterministicRandom = Boolean.parseBoolean(tmpCurrentElement.getText());
             }
             // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="this.isMetricsCollection">
+            tmpCurrentElement = anElement.getChild(PreferenceXmlName.IS_METRICS_COLLECTION);
+            if (tmpCurrentElement != null) {
+                this.isMetricsCollection = Boolean.parseBoolean(tmpCurrentElement.getText());
+            }
+            // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="this.isJdpdLogLevelExceptions">
             tmpCurrentElement = anElement.getChild(PreferenceXmlName.IS_JDPD_LOG_LEVEL_EXCEPTIONS);
             if (tmpCurrentElement != null) {
@@ -11820,6 +12352,20 @@ public final class Preferences {
                 this.jpegImageQuality = Float.parseFloat(tmpCurrentElement.getText());
             }
 
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="this.isFastPngWriter">
+            tmpCurrentElement = anElement.getChild(PreferenceXmlName.IS_FAST_PNG_WRITER);
+            if (tmpCurrentElement != null) {
+                this.isFastPngWriter = Boolean.parseBoolean(tmpCurrentElement.getText());
+            }
+
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="this.pngDeflateLevel">
+            tmpCurrentElement = anElement.getChild(PreferenceXmlName.PNG_DEFLATE_LEVEL);
+            if (tmpCurrentElement != null) {
+                this.pngDeflateLevel = Integer.parseInt(tmpCurrentElement.getText());
+            }
+
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="this.colorTransparencyCompartment">
             tmpCurrentElement = anElement.getChild(PreferenceXmlName.COLOR_TRANSPARENCY_COMPARTMENT);
@@ -19,30 +19,25 @@
  */
 package de.gnwi.mfsim.model.util;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
 /**
- * Task for archiving a directory path in a ZIP file
+ * Task for archiving a directory path in a ZIP file. Entries are compressed
+ * in parallel with ParallelZipArchiver, already compressed files are stored
+ * without recompression. Throughput is fired as
+ * ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT.
  *
  * @author Achim Zielesny
  *
  */
-public class ArchiveTask implements ProgressTaskInterface {
+public class ArchiveTask implements ProgressTaskInterface, PropertyChangeListener {
 
     // <editor-fold defaultstate="collapsed" desc="Private final class variables">
-    /**
-     * Miscellaneous utility methods
-     */
-    private final MiscUtilityMethods miscUtilityMethods = new MiscUtilityMethods();
-
     /**
      * File utility methods
      */
@@ -68,7 +63,7 @@ public class ArchiveTask implements ProgressTaskInterface {
     /**
      * True: Task was stopped, false: Otherwise
      */
-    private boolean isStopped;
+    private volatile boolean isStopped;
 
     /**
      * True: Task finished, false: Otherwise
@@ -86,19 +81,9 @@ public class ArchiveTask implements ProgressTaskInterface {
     private String zipFilePathname;
 
     /**
-     * Number of files
+     * Parallel ZIP archiver
      */
-    private int numberOfFiles;
-
-    /**
-     * Variable for counting files
-     */
-    private int fileCounter;
-
-    /**
-     * ZIP output stream
-     */
-    ZipOutputStream zipOutputStream;
+    private volatile ParallelZipArchiver parallelZipArchiver;
 
     /**
      * Pattern for file exclusion from archiving, i.e. files that match pattern
@@ -149,7 +134,7 @@ public class ArchiveTask implements ProgressTaskInterface {
         this.directoryPath = aDirectoryPath;
         this.zipFilePathname = aZipFilePathname;
         this.isUncompressed = anIsUncompressed;
-        this.zipOutputStream = null;
+        this.parallelZipArchiver = null;
         this.propertyChangeSupport = new PropertyChangeSupport(this);
         this.progressValue = -1;
 
@@ -211,6 +196,10 @@ public class ArchiveTask implements ProgressTaskInterface {
      */
     public void stop() {
         this.isStopped = true;
+        ParallelZipArchiver tmpParallelZipArchiver = this.parallelZipArchiver;
+        if (tmpParallelZipArchiver != null) {
+            tmpParallelZipArchiver.stop();
+        }
     }
     // </editor-fold>
     //
@@ -235,6 +224,22 @@ public class ArchiveTask implements ProgressTaskInterface {
     // </editor-fold>
     //
     // <editor-fold defaultstate="collapsed" desc="Public (overriden) methods">
+    // <editor-fold defaultstate="collapsed" desc="- propertyChange">
+    /**
+     * PropertyChangeListener: Forwards progress and throughput of parallel ZIP
+     * archiver
+     *
+     * @param e PropertyChangeEvent
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent e) {
+        if (e.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_PROGRESS)) {
+            this.setProgressValue((Integer) e.getNewValue());
+        } else if (e.getPropertyName().equals(ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT)) {
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT, e.getOldValue(), e.getNewValue());
+        }
+    }
+    // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="- call">
     /**
      * This method will be called when the task is executed. The methods
@@ -250,35 +255,19 @@ public class ArchiveTask implements ProgressTaskInterface {
             // <editor-fold defaultstate="collapsed" desc="Task starts. Set progress in percent to 0.">
             this.isStarted = true;
             this.setProgressValue(0);
-            // </editor-fold>
-            // <editor-fold defaultstate="collapsed" desc="Count files to archive">
-            // Set this.numberOfFiles
-            File tmpDirectory = new File(this.directoryPath);
-            this.numberOfFiles = 0;
-            this.countFilesInDirectory(tmpDirectory);
-            if (this.numberOfFiles == -1) {
-                // Fire property change to notify property change listeners about cancellation due to internal error
-                this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
-                return this.returnCancelled();
-            }
-
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Archive directory into ZIP file">
-            this.fileCounter = 0;
-            this.zipOutputStream = new ZipOutputStream(new FileOutputStream(this.zipFilePathname));
-            if (this.isUncompressed) {
-                // Do NOT compress (faster)
-                this.zipOutputStream.setLevel(ZipOutputStream.STORED);
-            } else {
-                // Compress (slower)
-                this.zipOutputStream.setLevel(ZipOutputStream.DEFLATED);
-            }
-            if (!this.copyDirectoryToZipOutputStream(tmpDirectory, tmpDirectory, this.zipOutputStream)) {
+            this.parallelZipArchiver =
+                new ParallelZipArchiver(
+                    Math.min(Runtime.getRuntime().availableProcessors(), ModelDefinitions.MAXIMUM_NUMBER_OF_PARALLEL_ZIP_COMPRESSORS),
+                    this.isUncompressed,
+                    this.fileExclusionRegexPattern
+                );
+            this.parallelZipArchiver.addPropertyChangeListener(this);
+            if (this.isStopped || !this.parallelZipArchiver.archive(this.directoryPath, this.zipFilePathname)) {
                 // Fire property change to notify property change listeners about cancellation due to internal error
                 this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_ERROR, false, true);
                 return this.returnCancelled();
-            } else {
-                this.zipOutputStream.close();
             }
             // </editor-fold>
             // <editor-fold defaultstate="collapsed" desc="Set this.isFinished to true BEFORE setting final progress in percent to 100">
@@ -335,101 +324,17 @@ public class ArchiveTask implements ProgressTaskInterface {
      * Deletes ZIP file
      */
     private void deleteZipFile() {
-        if (this.zipOutputStream != null) {
-            try {
-                this.zipOutputStream.close();
-            } catch (Exception anException) {
-                ModelUtils.appendToLogfile(true, anException);
-                // Do nothing
-            }
-        }
         this.fileUtilityMethods.deleteSingleFile(this.zipFilePathname);
     }
 
-    /**
-     * Copies directory (with all files and sub directories) to open ZIP output
-     * stream
-     *
-     * @param aDirectory Directory
-     * @param aBaseDirectory Base directory
-     * @param aZipOutputStream ZIP output stream
-     *
-     * @return True: Operation was successful, false: Otherwise
-     */
-    private boolean copyDirectoryToZipOutputStream(File aDirectory, File aBaseDirectory, ZipOutputStream aZipOutputStream) {
-        // NO checks are performed
-        try {
-            File[] tmpFiles = aDirectory.listFiles();
-            byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
-            for (int i = 0; i < tmpFiles.length; i++) {
-                // <editor-fold defaultstate="collapsed" desc="Check if canceled">
-                if (this.isStopped) {
-                    return this.returnCancelled();
-                }
-                // </editor-fold>
-                // <editor-fold defaultstate="collapsed" desc="Set progress">
-                this.setProgressValue(this.miscUtilityMethods.getPercentWithMax99(this.fileCounter, this.numberOfFiles));
-
-                // </editor-fold>
-                if (tmpFiles[i].isDirectory()) {
-                    if (!this.copyDirectoryToZipOutputStream(tmpFiles[i], aBaseDirectory, aZipOutputStream)) {
-                        return false;
-                    }
-                } else if (this.fileExclusionRegexPattern == null || !this.fileExclusionRegexPattern.matcher(tmpFiles[i].getName()).matches()) {
-                    int tmpLength;
-                    FileInputStream tmpFileInputStream = new FileInputStream(tmpFiles[i]);
-                    ZipEntry tmpEntry = new ZipEntry(tmpFiles[i].getPath().substring(aBaseDirectory.getParent().length() + 1));
-                    tmpEntry.setTime(tmpFiles[i].lastModified());
-                    aZipOutputStream.putNextEntry(tmpEntry);
-                    while ((tmpLength = tmpFileInputStream.read(tmpBuffer)) != -1) {
-                        aZipOutputStream.write(tmpBuffer, 0, tmpLength);
-                    }
-                    tmpFileInputStream.close();
-                    this.fileCounter++;
-                }
-            }
-            return true;
-        } catch (Exception anException) {
-            ModelUtils.appendToLogfile(true, anException);
-            return false;
-        }
-    }
-
-    /**
-     * *
-     * Counts files in aDirectory and all sub directories with class variable
-     * this.numberOfFiles
-     *
-     * @param aDirectory Directory
-     */
-    private void countFilesInDirectory(File aDirectory) {
-
-        // NO checks are performed
-        try {
-            File[] tmpFiles = aDirectory.listFiles();
-            for (int i = 0; i < tmpFiles.length; i++) {
-                if (tmpFiles[i].isDirectory()) {
-                    this.countFilesInDirectory(tmpFiles[i]);
-                    if (this.numberOfFiles == -1) {
-                        return;
-                    }
-                } else {
-                    if (this.fileExclusionRegexPattern == null || !this.fileExclusionRegexPattern.matcher(tmpFiles[i].getName()).matches()) {
-                        this.numberOfFiles++;
-                    }
-                }
-            }
-        } catch (Exception anException) {
-            ModelUtils.appendToLogfile(true, anException);
-            this.numberOfFiles = -1;
-        }
-    }
-
     /**
      * Release memory
      */
     private void releaseMemory() {
-        this.zipOutputStream = null;
+        if (this.parallelZipArchiver != null) {
+            this.parallelZipArchiver.removePropertyChangeListener(this);
+            this.parallelZipArchiver = null;
+        }
         this.fileExclusionRegexPattern = null;
     }
 
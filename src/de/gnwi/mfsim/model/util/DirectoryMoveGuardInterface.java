@@ -0,0 +1,39 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util;
+
+/**
+ * Interface for guard of an atomic directory move (used by
+ * DirectoryRelocator)
+ */
+public interface DirectoryMoveGuardInterface {
+
+    /**
+     * Returns if source directory may be moved.
+     * NOTE: Method is called while the monitor of the guard is held by
+     * DirectoryRelocator and the directory is moved under the same monitor,
+     * i.e. a state that prevents a move must be changed while holding the
+     * monitor of the guard.
+     *
+     * @return True: Source directory may be moved, false: Otherwise
+     */
+    boolean isMoveAllowed();
+
+}
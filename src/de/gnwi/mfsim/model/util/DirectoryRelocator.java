@@ -0,0 +1,501 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util;
+
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Relocates the content of a directory to a destination directory with the
+ * cheapest available strategy:
+ * <p>
+ * 1. Atomic move (rename) of the directory if source and destination are
+ * located on the same file store and the source is allowed to be moved.
+ * <br>
+ * 2. Hard links of all files if source and destination are located on the
+ * same file store (source remains valid).
+ * <br>
+ * 3. Parallel chunked copy with CRC-32 verification of every chunk (e.g. for
+ * moves across devices).
+ * <p>
+ * A DirectoryMoveGuardInterface may be supplied: The atomic move is then
+ * decided and performed while holding the monitor of the guard.
+ * <p>
+ * Progress in percent is fired as ModelDefinitions.PROPERTY_CHANGE_PROGRESS
+ * (only values from 0 to 99), throughput in bytes per second as
+ * ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT.
+ */
+public class DirectoryRelocator {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Size of a chunk that is copied independently (8 MByte)
+     */
+    private static final int CHUNK_SIZE = 8388608;
+
+    /**
+     * Interval for throughput notification in milliseconds
+     */
+    private static final long THROUGHPUT_NOTIFICATION_INTERVAL_IN_MILLISECONDS = 1000L;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Property change support
+     */
+    private final PropertyChangeSupport propertyChangeSupport;
+
+    /**
+     * Number of parallel copy threads
+     */
+    private final int numberOfThreads;
+
+    /**
+     * Chunk buffer of copy thread
+     */
+    private final ThreadLocal<ByteBuffer> chunkBuffer;
+
+    /**
+     * True: Relocation was stopped, false: Otherwise
+     */
+    private volatile boolean isStopped;
+
+    /**
+     * Total number of bytes to be relocated
+     */
+    private long totalNumberOfBytes;
+
+    /**
+     * Number of already relocated bytes
+     */
+    private long numberOfRelocatedBytes;
+
+    /**
+     * Start time in milliseconds
+     */
+    private long startTime;
+
+    /**
+     * Time of last throughput notification in milliseconds
+     */
+    private long lastThroughputNotificationTime;
+
+    /**
+     * Last progress value
+     */
+    private int progressValue;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aNumberOfThreads Number of parallel copy threads (values less
+     * than 1 are set to 1)
+     */
+    public DirectoryRelocator(int aNumberOfThreads) {
+        this.numberOfThreads = Math.max(1, aNumberOfThreads);
+        this.propertyChangeSupport = new PropertyChangeSupport(this);
+        this.chunkBuffer = new ThreadLocal<ByteBuffer>() {
+            @Override
+            protected ByteBuffer initialValue() {
+                return ByteBuffer.allocate(CHUNK_SIZE);
+            }
+        };
+        this.isStopped = false;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Relocates all files and sub-directories of source directory into
+     * destination directory. NOTE: The source directory is only removed by
+     * an atomic move (see return value), otherwise it remains unchanged and
+     * has to be deleted by the caller if necessary.
+     *
+     * @param aSourcePath Path of source directory (must exist, otherwise null
+     * is returned)
+     * @param aDestinationPath Path of destination directory (is created if it
+     * does not exist, an atomic move is only possible if it does not exist or
+     * is empty)
+     * @param anIsMoveAllowed True: Source directory may be moved, false:
+     * Source directory must remain valid
+     * @return Used relocation mode or null if relocation failed or was stopped
+     */
+    public DirectoryRelocationModeEnum relocate(String aSourcePath, String aDestinationPath, boolean anIsMoveAllowed) {
+        if (anIsMoveAllowed) {
+            return this.relocate(
+                aSourcePath, 
+                aDestinationPath, 
+                new DirectoryMoveGuardInterface() {
+                    @Override
+                    public boolean isMoveAllowed() {
+                        return true;
+                    }
+                }
+            );
+        } else {
+            return this.relocate(aSourcePath, aDestinationPath, null);
+        }
+    }
+
+    /**
+     * Relocates all files and sub-directories of source directory into
+     * destination directory. NOTE: The source directory is only removed by
+     * an atomic move (see return value), otherwise it remains unchanged and
+     * has to be deleted by the caller if necessary.
+     *
+     * @param aSourcePath Path of source directory (must exist, otherwise null
+     * is returned)
+     * @param aDestinationPath Path of destination directory (is created if it
+     * does not exist, an atomic move is only possible if it does not exist or
+     * is empty)
+     * @param aMoveGuard Guard of atomic move: Move permission is checked and
+     * move is performed while holding the monitor of the guard (may be null,
+     * then source directory must remain valid)
+     * @return Used relocation mode or null if relocation failed or was stopped
+     */
+    public DirectoryRelocationModeEnum relocate(String aSourcePath, String aDestinationPath, DirectoryMoveGuardInterface aMoveGuard) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aSourcePath == null || aSourcePath.isEmpty() || !(new File(aSourcePath)).isDirectory()) {
+            return null;
+        }
+        if (aDestinationPath == null || aDestinationPath.isEmpty()) {
+            return null;
+        }
+        // </editor-fold>
+        try {
+            Path tmpSourcePath = (new File(aSourcePath)).toPath().toAbsolutePath();
+            Path tmpDestinationPath = (new File(aDestinationPath)).toPath().toAbsolutePath();
+            if (tmpDestinationPath.startsWith(tmpSourcePath)) {
+                // Destination is NOT allowed to be located in source
+                return null;
+            }
+            if (!ModelUtils.createDirectory(tmpDestinationPath.toString())) {
+                return null;
+            }
+            boolean tmpIsSameFileStore = Files.getFileStore(tmpSourcePath).equals(Files.getFileStore(tmpDestinationPath));
+            // <editor-fold defaultstate="collapsed" desc="1. Atomic move">
+            if (aMoveGuard != null && tmpIsSameFileStore) {
+                synchronized (aMoveGuard) {
+                    if (aMoveGuard.isMoveAllowed() && this.move(tmpSourcePath, tmpDestinationPath)) {
+                        return DirectoryRelocationModeEnum.MOVE;
+                    }
+                }
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="2. Hard links or 3. chunked copy">
+            LinkedList<Path> tmpFiles = new LinkedList<>();
+            this.totalNumberOfBytes = 0L;
+            this.collectFilesAndCreateDirectories(tmpSourcePath, tmpSourcePath, tmpDestinationPath, tmpFiles);
+            this.numberOfRelocatedBytes = 0L;
+            this.startTime = System.currentTimeMillis();
+            this.lastThroughputNotificationTime = this.startTime;
+            this.progressValue = -1;
+            this.setProgressValue(0);
+            DirectoryRelocationModeEnum tmpRelocationMode = DirectoryRelocationModeEnum.COPY;
+            if (tmpIsSameFileStore) {
+                int tmpNumberOfFiles = tmpFiles.size();
+                this.link(tmpSourcePath, tmpDestinationPath, tmpFiles);
+                if (tmpFiles.size() < tmpNumberOfFiles) {
+                    tmpRelocationMode = DirectoryRelocationModeEnum.HARD_LINK;
+                }
+            }
+            if (!tmpFiles.isEmpty() && !this.copy(tmpSourcePath, tmpDestinationPath, tmpFiles)) {
+                return null;
+            }
+            this.fireThroughput();
+            return tmpRelocationMode;
+            // </editor-fold>
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return null;
+        }
+    }
+
+    /**
+     * Stops relocation
+     */
+    public void stop() {
+        this.isStopped = true;
+    }
+
+    /**
+     * Add property change listener
+     *
+     * @param aListener Listener
+     */
+    public void addPropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.addPropertyChangeListener(aListener);
+    }
+
+    /**
+     * Remove property change listener
+     *
+     * @param aListener Listener
+     */
+    public void removePropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.removePropertyChangeListener(aListener);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Relocation related methods">
+    /**
+     * Moves source directory atomically to destination directory
+     *
+     * @param aSourcePath Source directory
+     * @param aDestinationPath Destination directory (must exist)
+     * @return True: Source directory was moved, false: Otherwise
+     */
+    private boolean move(Path aSourcePath, Path aDestinationPath) {
+        try {
+            // Empty destination directory is replaced
+            Files.delete(aDestinationPath);
+        } catch (IOException anException) {
+            // Destination directory is not empty
+            return false;
+        }
+        try {
+            Files.move(aSourcePath, aDestinationPath, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (Exception anException) {
+            // Atomic move is not supported (e.g. open files on some platforms): Restore destination directory
+            ModelUtils.createDirectory(aDestinationPath.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Collects files of source directory recursively and creates all
+     * sub-directories in destination directory
+     *
+     * @param aSourceBasePath Source base directory
+     * @param aSourcePath Current source directory
+     * @param aDestinationBasePath Destination base directory
+     * @param aFiles Collected files (relative to source base directory)
+     * @throws IOException Thrown if directory could not be created
+     */
+    private void collectFilesAndCreateDirectories(Path aSourceBasePath, Path aSourcePath, Path aDestinationBasePath, LinkedList<Path> aFiles) throws IOException {
+        File[] tmpFiles = aSourcePath.toFile().listFiles();
+        if (tmpFiles == null) {
+            return;
+        }
+        for (File tmpFile : tmpFiles) {
+            Path tmpRelativePath = aSourceBasePath.relativize(tmpFile.toPath());
+            if (tmpFile.isDirectory()) {
+                Files.createDirectories(aDestinationBasePath.resolve(tmpRelativePath));
+                this.collectFilesAndCreateDirectories(aSourceBasePath, tmpFile.toPath(), aDestinationBasePath, aFiles);
+            } else {
+                aFiles.add(tmpRelativePath);
+                this.totalNumberOfBytes += tmpFile.length();
+            }
+        }
+    }
+
+    /**
+     * Hard links files. Linked files are removed from list: If hard links are
+     * not supported the remaining files stay in list.
+     *
+     * @param aSourceBasePath Source base directory
+     * @param aDestinationBasePath Destination base directory
+     * @param aFiles Files (relative to base directories)
+     */
+    private void link(Path aSourceBasePath, Path aDestinationBasePath, LinkedList<Path> aFiles) {
+        while (!aFiles.isEmpty() && !this.isStopped) {
+            Path tmpRelativePath = aFiles.getFirst();
+            Path tmpSourceFile = aSourceBasePath.resolve(tmpRelativePath);
+            try {
+                long tmpSize = Files.size(tmpSourceFile);
+                Files.createLink(aDestinationBasePath.resolve(tmpRelativePath), tmpSourceFile);
+                aFiles.removeFirst();
+                this.addRelocatedBytes(tmpSize);
+            } catch (Exception anException) {
+                // Hard links are not supported: Remaining files are copied
+                return;
+            }
+        }
+    }
+
+    /**
+     * Copies files in parallel chunks with CRC-32 verification
+     *
+     * @param aSourceBasePath Source base directory
+     * @param aDestinationBasePath Destination base directory
+     * @param aFiles Files (relative to base directories)
+     * @return True: Operation was successful, false: Otherwise
+     */
+    private boolean copy(Path aSourceBasePath, Path aDestinationBasePath, LinkedList<Path> aFiles) {
+        ExecutorService tmpExecutorService = Executors.newFixedThreadPool(this.numberOfThreads);
+        try {
+            ArrayList<Future<Integer>> tmpFutures = new ArrayList<>();
+            for (Path tmpRelativePath : aFiles) {
+                final Path tmpSourceFile = aSourceBasePath.resolve(tmpRelativePath);
+                final Path tmpDestinationFile = aDestinationBasePath.resolve(tmpRelativePath);
+                long tmpSize = Files.size(tmpSourceFile);
+                // Create (empty) destination file in advance
+                Files.newByteChannel(tmpDestinationFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+                for (long tmpPosition = 0L; tmpPosition < tmpSize; tmpPosition += CHUNK_SIZE) {
+                    final long tmpChunkPosition = tmpPosition;
+                    final int tmpChunkLength = (int) Math.min((long) CHUNK_SIZE, tmpSize - tmpPosition);
+                    tmpFutures.add(tmpExecutorService.submit(new Callable<Integer>() {
+                        @Override
+                        public Integer call() throws Exception {
+                            DirectoryRelocator.this.copyChunk(tmpSourceFile, tmpDestinationFile, tmpChunkPosition, tmpChunkLength);
+                            return tmpChunkLength;
+                        }
+                    }));
+                }
+            }
+            for (Future<Integer> tmpFuture : tmpFutures) {
+                if (this.isStopped) {
+                    return false;
+                }
+                this.addRelocatedBytes(tmpFuture.get());
+            }
+            return true;
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            return false;
+        } finally {
+            tmpExecutorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies chunk of file and verifies CRC-32 checksum of written chunk
+     * (chunk is forced to storage device before verification)
+     *
+     * @param aSourceFile Source file
+     * @param aDestinationFile Destination file
+     * @param aPosition Position of chunk
+     * @param aLength Length of chunk
+     * @throws IOException Thrown if chunk could not be copied or verification
+     * failed
+     */
+    private void copyChunk(Path aSourceFile, Path aDestinationFile, long aPosition, int aLength) throws IOException {
+        ByteBuffer tmpBuffer = this.chunkBuffer.get();
+        CRC32 tmpCrc32 = new CRC32();
+        try (FileChannel tmpSourceChannel = FileChannel.open(aSourceFile, StandardOpenOption.READ);
+            FileChannel tmpDestinationChannel = FileChannel.open(aDestinationFile, StandardOpenOption.READ, StandardOpenOption.WRITE)
+        ) {
+            // Read and checksum source chunk
+            this.readChunk(tmpSourceChannel, tmpBuffer, aPosition, aLength);
+            tmpCrc32.update(tmpBuffer.array(), 0, aLength);
+            long tmpSourceChecksum = tmpCrc32.getValue();
+            // Write chunk
+            tmpBuffer.flip();
+            long tmpPosition = aPosition;
+            while (tmpBuffer.hasRemaining()) {
+                tmpPosition += tmpDestinationChannel.write(tmpBuffer, tmpPosition);
+            }
+            // Force chunk to storage device and read back and verify destination 
+            // chunk
+            tmpDestinationChannel.force(false);
+            this.readChunk(tmpDestinationChannel, tmpBuffer, aPosition, aLength);
+            tmpCrc32.reset();
+            tmpCrc32.update(tmpBuffer.array(), 0, aLength);
+            if (tmpCrc32.getValue() != tmpSourceChecksum) {
+                throw new IOException("DirectoryRelocator.copyChunk: Checksum verification failed for " + aDestinationFile.toString() + " at position " + String.valueOf(aPosition));
+            }
+        }
+    }
+
+    /**
+     * Reads chunk into buffer
+     *
+     * @param aChannel Channel
+     * @param aBuffer Buffer (is cleared in advance)
+     * @param aPosition Position of chunk
+     * @param aLength Length of chunk
+     * @throws IOException Thrown if chunk could not be read completely
+     */
+    private void readChunk(FileChannel aChannel, ByteBuffer aBuffer, long aPosition, int aLength) throws IOException {
+        aBuffer.clear();
+        aBuffer.limit(aLength);
+        long tmpPosition = aPosition;
+        while (aBuffer.hasRemaining()) {
+            int tmpNumberOfBytes = aChannel.read(aBuffer, tmpPosition);
+            if (tmpNumberOfBytes < 0) {
+                throw new IOException("DirectoryRelocator.readChunk: Unexpected end of file.");
+            }
+            tmpPosition += tmpNumberOfBytes;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Progress related methods">
+    /**
+     * Adds relocated bytes and fires progress and throughput if necessary
+     *
+     * @param aNumberOfBytes Number of relocated bytes
+     */
+    private void addRelocatedBytes(long aNumberOfBytes) {
+        this.numberOfRelocatedBytes += aNumberOfBytes;
+        if (this.totalNumberOfBytes > 0L) {
+            this.setProgressValue((int) Math.min(99L, this.numberOfRelocatedBytes * 100L / this.totalNumberOfBytes));
+        }
+        long tmpCurrentTime = System.currentTimeMillis();
+        if (tmpCurrentTime - this.lastThroughputNotificationTime >= THROUGHPUT_NOTIFICATION_INTERVAL_IN_MILLISECONDS) {
+            this.lastThroughputNotificationTime = tmpCurrentTime;
+            this.fireThroughput();
+        }
+    }
+
+    /**
+     * Fires throughput in bytes per second since start
+     */
+    private void fireThroughput() {
+        long tmpElapsedTime = Math.max(1L, System.currentTimeMillis() - this.startTime);
+        this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT, null, Long.valueOf(this.numberOfRelocatedBytes * 1000L / tmpElapsedTime));
+    }
+
+    /**
+     * Sets progress value and fires property change if value changed
+     *
+     * @param aNewValue New value
+     */
+    private void setProgressValue(int aNewValue) {
+        if (aNewValue != this.progressValue) {
+            int tmpOldValue = this.progressValue;
+            this.progressValue = aNewValue;
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_PROGRESS, tmpOldValue, this.progressValue);
+        }
+    }
+    // </editor-fold>
+    // </editor-fold>
+
+}
@@ -26,9 +26,10 @@ import javax.swing.DefaultListModel;
  * DefaultListModel allows one to disable list notifications, e.g. while making a big change to the model. The DefaultListModels fireXXX methods have been promoted from protected to public in this
  * class so that clients can fire an appropriate ListDataEvent after the modifying the model with listeners disabled.
  *
+ * @param <E> Element type
  * @author Achim Zielesny
  */
-public class FastListModel extends DefaultListModel {
+public class FastListModel<E> extends DefaultListModel<E> {
 
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
     /**
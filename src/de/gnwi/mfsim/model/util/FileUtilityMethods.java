@@ -22,14 +22,9 @@ package de.gnwi.mfsim.model.util;
 import de.gnwi.mfsim.model.preference.Preferences;
 import java.io.*;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.LinkedList;
 import java.util.Locale;
 import java.util.regex.Matcher;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 import de.gnwi.mfsim.model.preference.ModelDefinitions;
 
 /**
@@ -1165,27 +1160,15 @@ public class FileUtilityMethods {
         }
 
         // </editor-fold>
-        try {
-            ZipFile tmpZipFile = new ZipFile(new File(aZipFilePathname));
-            Enumeration<?> tmpEnumeration = tmpZipFile.entries();
-            while (tmpEnumeration.hasMoreElements()) {
-                ZipEntry tmpEntry = (ZipEntry) tmpEnumeration.nextElement();
-                File tmpFile = new File(aPath, this.correctFileSeparatorCharacter(tmpEntry.getName()));
-                if (tmpEntry.isDirectory() && !tmpFile.exists()) {
-                    tmpFile.mkdirs();
-                } else {
-                    if (!tmpFile.getParentFile().exists()) {
-                        tmpFile.getParentFile().mkdirs();
-                    }
-                    InputStream tmpZipInputStream = tmpZipFile.getInputStream(tmpEntry);
-                    BufferedOutputStream tmpBufferedOutputStream = new BufferedOutputStream(new FileOutputStream(tmpFile));
-                    byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
-                    int tmpLength;
-                    while ((tmpLength = tmpZipInputStream.read(tmpBuffer)) != -1) {
-                        tmpBufferedOutputStream.write(tmpBuffer, 0, tmpLength);
+        try (ZipArchiveReader tmpZipArchiveReader = new ZipArchiveReader(aZipFilePathname)) {
+            for (String tmpEntryName : tmpZipArchiveReader.getEntryNames()) {
+                File tmpFile = new File(aPath, this.correctFileSeparatorCharacter(tmpEntryName));
+                if (tmpEntryName.endsWith("/")) {
+                    if (!tmpFile.exists()) {
+                        tmpFile.mkdirs();
                     }
-                    tmpZipInputStream.close();
-                    tmpBufferedOutputStream.close();
+                } else {
+                    tmpZipArchiveReader.extractEntry(tmpEntryName, tmpFile);
                 }
             }
             return true;
@@ -1211,12 +1194,9 @@ public class FileUtilityMethods {
         }
 
         // </editor-fold>
-        try {
-            ZipFile tmpZipFile = new ZipFile(new File(aZipFilePathname));
-            Enumeration<?> tmpEnumeration = tmpZipFile.entries();
-            if (tmpEnumeration.hasMoreElements()) {
-                ZipEntry tmpEntry = (ZipEntry) tmpEnumeration.nextElement();
-                String tmpEntryName = this.correctFileSeparatorCharacter(tmpEntry.getName());
+        try (ZipArchiveReader tmpZipArchiveReader = new ZipArchiveReader(aZipFilePathname)) {
+            if (tmpZipArchiveReader.getNumberOfEntries() > 0) {
+                String tmpEntryName = this.correctFileSeparatorCharacter(tmpZipArchiveReader.getEntryNames().get(0));
                 int tmpIndex = tmpEntryName.indexOf(File.separatorChar);
                 if (tmpIndex > 0) {
                     return tmpEntryName.substring(0, tmpIndex);
@@ -1234,7 +1214,9 @@ public class FileUtilityMethods {
 
     /**
      * Returns (first occurrence of) single file from ZIP file that was created
-     * with Utility.copyDirectoryToZipFile()
+     * with Utility.copyDirectoryToZipFile(). NOTE: The file is located with
+     * the central directory of the ZIP file (see ZipArchiveReader), i.e.
+     * without a sequential pass over the ZIP file.
      *
      * @param aZipFilePathname Full path and name of ZIP file (must exist,
      * otherwise false is returned)
@@ -1258,26 +1240,13 @@ public class FileUtilityMethods {
         }
 
         // </editor-fold>
-        try {
-            ZipInputStream tmpZipInputStream = new ZipInputStream(new FileInputStream(aZipFilePathname));
-            ZipEntry tmpEntry = tmpZipInputStream.getNextEntry();
-            boolean tmpIsExtracted = false;
-            while (tmpEntry != null) {
-                if (tmpEntry.getName().toLowerCase(Locale.ENGLISH).endsWith(aSingleFilename.toLowerCase(Locale.ENGLISH))) {
-                    BufferedOutputStream tmpBufferedOutputStream = new BufferedOutputStream(new FileOutputStream(new File(aDestinationPathname)));
-                    byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
-                    int tmpLength;
-                    while ((tmpLength = tmpZipInputStream.read(tmpBuffer)) != -1) {
-                        tmpBufferedOutputStream.write(tmpBuffer, 0, tmpLength);
-                    }
-                    tmpBufferedOutputStream.close();
-                    tmpIsExtracted = true;
-                    break;
-                }
-                tmpEntry = tmpZipInputStream.getNextEntry();
+        try (ZipArchiveReader tmpZipArchiveReader = new ZipArchiveReader(aZipFilePathname)) {
+            String tmpEntryName = tmpZipArchiveReader.findFileEntryName(aSingleFilename);
+            if (tmpEntryName == null) {
+                return false;
             }
-            tmpZipInputStream.close();
-            return tmpIsExtracted;
+            tmpZipArchiveReader.extractEntry(tmpEntryName, new File(aDestinationPathname));
+            return true;
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return false;
@@ -1311,31 +1280,13 @@ public class FileUtilityMethods {
         }
 
         // </editor-fold>
-        try {
-            ZipInputStream tmpZipInputStream = new ZipInputStream(new FileInputStream(aZipFilePathname));
-            ZipEntry tmpEntry = tmpZipInputStream.getNextEntry();
+        try (ZipArchiveReader tmpZipArchiveReader = new ZipArchiveReader(aZipFilePathname)) {
             boolean tmpIsExtracted = false;
-            while (tmpEntry != null) {
-                String tmpEntryName = this.correctFileSeparatorCharacter(tmpEntry.getName());
-                if (!tmpEntry.isDirectory() && tmpEntryName.contains(aDirectoryPrefix)) {
-                    String tmpSubFilePathname = tmpEntryName.substring(tmpEntryName.indexOf(aDirectoryPrefix));
-                    String tmpFinalDestinationFilePathname = aDestinationPath + File.separatorChar + tmpSubFilePathname;
-                    File tmpFile = new File(tmpFinalDestinationFilePathname);
-                    if (!tmpFile.getParentFile().exists()) {
-                        tmpFile.getParentFile().mkdirs();
-                    }
-                    BufferedOutputStream tmpBufferedOutputStream = new BufferedOutputStream(new FileOutputStream(tmpFile));
-                    byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
-                    int tmpLength;
-                    while ((tmpLength = tmpZipInputStream.read(tmpBuffer)) != -1) {
-                        tmpBufferedOutputStream.write(tmpBuffer, 0, tmpLength);
-                    }
-                    tmpBufferedOutputStream.close();
-                    tmpIsExtracted = true;
-                }
-                tmpEntry = tmpZipInputStream.getNextEntry();
+            for (String tmpEntryName : tmpZipArchiveReader.getFileEntryNamesContaining(aDirectoryPrefix)) {
+                String tmpSubFilePathname = this.correctFileSeparatorCharacter(tmpEntryName.substring(tmpEntryName.indexOf(aDirectoryPrefix)));
+                tmpZipArchiveReader.extractEntry(tmpEntryName, new File(aDestinationPath + File.separatorChar + tmpSubFilePathname));
+                tmpIsExtracted = true;
             }
-            tmpZipInputStream.close();
             return tmpIsExtracted;
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
@@ -1364,26 +1315,19 @@ public class FileUtilityMethods {
         }
 
         // </editor-fold>
-        try {
-            ZipInputStream tmpZipInputStream = new ZipInputStream(new FileInputStream(aZipFilePathname));
-            ZipEntry tmpEntry = tmpZipInputStream.getNextEntry();
-            String tmpFullDirectoryName = null;
-            while (tmpEntry != null) {
-                String tmpEntryName = this.correctFileSeparatorCharacter(tmpEntry.getName());
+        try (ZipArchiveReader tmpZipArchiveReader = new ZipArchiveReader(aZipFilePathname)) {
+            for (String tmpEntryName : tmpZipArchiveReader.getEntryNames()) {
                 if (tmpEntryName.contains(aDirectoryPrefix)) {
-                    String tmpSubFilePathname = tmpEntryName.substring(tmpEntryName.indexOf(aDirectoryPrefix));
+                    String tmpSubFilePathname = this.correctFileSeparatorCharacter(tmpEntryName.substring(tmpEntryName.indexOf(aDirectoryPrefix)));
                     int tmpIndex = tmpSubFilePathname.indexOf(File.separatorChar);
                     if (tmpIndex > 0) {
-                        tmpFullDirectoryName = tmpSubFilePathname.substring(0, tmpIndex);
+                        return tmpSubFilePathname.substring(0, tmpIndex);
                     } else {
-                        tmpFullDirectoryName = tmpSubFilePathname;
+                        return tmpSubFilePathname;
                     }
-                    break;
                 }
-                tmpEntry = tmpZipInputStream.getNextEntry();
             }
-            tmpZipInputStream.close();
-            return tmpFullDirectoryName;
+            return null;
         } catch (Exception anException) {
             ModelUtils.appendToLogfile(true, anException);
             return null;
@@ -1391,7 +1335,8 @@ public class FileUtilityMethods {
     }
 
     /**
-     * Copies directory to ZIP file
+     * Copies directory to ZIP file (entries are compressed in parallel, see
+     * ParallelZipArchiver)
      *
      * @param aDirectoryPath Full path of directory (must exist, otherwise false
      * is returned)
@@ -1411,57 +1356,13 @@ public class FileUtilityMethods {
         }
 
         // </editor-fold>
-        try {
-            ZipOutputStream tmpZipOutputStream = new ZipOutputStream(new FileOutputStream(aZipFilePathname));
-            File tmpDirectory = new File(aDirectoryPath);
-            boolean tmpIsSuccessful = this.copyDirectoryToZipOutputStream(tmpDirectory, tmpDirectory, tmpZipOutputStream);
-            tmpZipOutputStream.close();
-            return tmpIsSuccessful;
-        } catch (Exception anException) {
-            ModelUtils.appendToLogfile(true, anException);
-            return false;
-        }
-    }
-
-    /**
-     * Copies directory (with all files and sub directories) to open ZIP output
-     * stream
-     *
-     * @param aDirectory Directory
-     * @param aBaseDirectory Base directory
-     * @param aZipOutputStream ZIP output stream
-     *
-     * @return True: Operation was successful, false: Otherwise
-     */
-    private boolean copyDirectoryToZipOutputStream(File aDirectory, File aBaseDirectory, ZipOutputStream aZipOutputStream) {
-
-        // NO checks are performed
-        try {
-            File[] tmpFiles = aDirectory.listFiles();
-            byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
-            for (int i = 0; i < tmpFiles.length; i++) {
-
-                if (tmpFiles[i].isDirectory()) {
-                    if (!this.copyDirectoryToZipOutputStream(tmpFiles[i], aBaseDirectory, aZipOutputStream)) {
-                        return false;
-                    }
-                } else {
-                    int tmpLength;
-                    FileInputStream tmpFileInputStream = new FileInputStream(tmpFiles[i]);
-                    ZipEntry tmpEntry = new ZipEntry(tmpFiles[i].getPath().substring(aBaseDirectory.getParent().length() + 1));
-                    tmpEntry.setTime(tmpFiles[i].lastModified());
-                    aZipOutputStream.putNextEntry(tmpEntry);
-                    while ((tmpLength = tmpFileInputStream.read(tmpBuffer)) != -1) {
-                        aZipOutputStream.write(tmpBuffer, 0, tmpLength);
-                    }
-                    tmpFileInputStream.close();
-                }
-            }
-            return true;
-        } catch (Exception anException) {
-            ModelUtils.appendToLogfile(true, anException);
-            return false;
-        }
+        ParallelZipArchiver tmpParallelZipArchiver =
+            new ParallelZipArchiver(
+                Math.min(Runtime.getRuntime().availableProcessors(), ModelDefinitions.MAXIMUM_NUMBER_OF_PARALLEL_ZIP_COMPRESSORS),
+                false,
+                null
+            );
+        return tmpParallelZipArchiver.archive(aDirectoryPath, aZipFilePathname);
     }
 
     // </editor-fold>
@@ -0,0 +1,517 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util;
+
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.preference.Preferences;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer for the log file: Log entries are put into a bounded
+ * lock-free multi-producer ring buffer and are written in batches by a
+ * background flusher thread, i.e. logging threads never block on file I/O.
+ * <p>
+ * The log file is rotated if it exceeds
+ * ModelDefinitions.LOGFILE_MAXIMUM_SIZE_IN_BYTES. Identical log entries that
+ * are repeated within ModelDefinitions.LOGFILE_REPETITION_INTERVAL_IN_MILLISECONDS
+ * are suppressed and summarized. If the ring buffer is full log entries are
+ * dropped and the number of dropped entries is logged.
+ * <p>
+ * NOTE: Pending log entries are written on flush(), by the flusher thread
+ * and on JVM shutdown.
+ */
+public class LogfileWriter {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class LogEntry">
+    /**
+     * Single log entry
+     */
+    private static class LogEntry {
+
+        /**
+         * Time in milliseconds
+         */
+        final long time;
+
+        /**
+         * Text
+         */
+        final String text;
+
+        /**
+         * Constructor
+         *
+         * @param aTime Time in milliseconds
+         * @param aText Text
+         */
+        LogEntry(long aTime, String aText) {
+            this.time = aTime;
+            this.text = aText;
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class Repetition">
+    /**
+     * Repetition information of identical log entries
+     */
+    private static class Repetition {
+
+        /**
+         * Time of first (written) log entry in milliseconds
+         */
+        final long firstTime;
+
+        /**
+         * Number of suppressed repetitions
+         */
+        final AtomicInteger numberOfSuppressedRepetitions;
+
+        /**
+         * Constructor
+         *
+         * @param aFirstTime Time of first (written) log entry in milliseconds
+         */
+        Repetition(long aFirstTime) {
+            this.firstTime = aFirstTime;
+            this.numberOfSuppressedRepetitions = new AtomicInteger(0);
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Maximum number of entries in repetition map (all repetitions are
+     * summarized and removed if size is exceeded)
+     */
+    private static final int MAXIMUM_NUMBER_OF_REPETITION_ENTRIES = 1024;
+
+    /**
+     * Format of repetition summary
+     */
+    private static final String REPETITION_FORMAT = "Previous log entry repeated %d times: %s";
+
+    /**
+     * Format of dropped entries summary
+     */
+    private static final String DROPPED_FORMAT = "%d log entries dropped (log buffer full)";
+
+    /**
+     * Maximum length of text in repetition summary
+     */
+    private static final int MAXIMUM_REPETITION_TEXT_LENGTH = 200;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * Full pathname of log file (null: Log file pathname of Preferences)
+     */
+    private final String logfilePathname;
+
+    /**
+     * Capacity of ring buffer (power of 2)
+     */
+    private final int capacity;
+
+    /**
+     * Mask for ring buffer index
+     */
+    private final int mask;
+
+    /**
+     * Ring buffer slots
+     */
+    private final AtomicReferenceArray<LogEntry> slots;
+
+    /**
+     * Sequence numbers of ring buffer slots
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Producer position in ring buffer
+     */
+    private final AtomicLong producerPosition;
+
+    /**
+     * Number of dropped log entries
+     */
+    private final AtomicLong numberOfDroppedEntries;
+
+    /**
+     * Map of log entry text to repetition information
+     */
+    private final ConcurrentHashMap<String, Repetition> repetitionMap;
+
+    /**
+     * Lock for consumer side (ring buffer is single-consumer)
+     */
+    private final Object consumerLock;
+
+    /**
+     * Flusher thread
+     */
+    private final Thread flusherThread;
+
+    /**
+     * Timestamp format (only used on consumer side)
+     */
+    private final SimpleDateFormat timestampFormat;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Consumer position in ring buffer (only changed with consumerLock)
+     */
+    private volatile long consumerPosition;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aLogfilePathname Full pathname of log file (may be null: Then log
+     * file pathname of Preferences is used)
+     * @param aCapacity Capacity of ring buffer (is rounded up to power of 2,
+     * minimum 2)
+     */
+    public LogfileWriter(String aLogfilePathname, int aCapacity) {
+        this.logfilePathname = aLogfilePathname;
+        int tmpCapacity = 2;
+        while (tmpCapacity < aCapacity && tmpCapacity < (1 << 30)) {
+            tmpCapacity <<= 1;
+        }
+        this.capacity = tmpCapacity;
+        this.mask = tmpCapacity - 1;
+        this.slots = new AtomicReferenceArray<>(tmpCapacity);
+        this.sequences = new AtomicLongArray(tmpCapacity);
+        for (int i = 0; i < tmpCapacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.producerPosition = new AtomicLong(0L);
+        this.consumerPosition = 0L;
+        this.numberOfDroppedEntries = new AtomicLong(0L);
+        this.repetitionMap = new ConcurrentHashMap<>();
+        this.consumerLock = new Object();
+        this.timestampFormat = new SimpleDateFormat(ModelDefinitions.STANDARD_TIMESTAMP_FORMAT);
+        this.flusherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                LogfileWriter.this.runFlusher();
+            }
+        }, "MFsim log file flusher");
+        this.flusherThread.setDaemon(true);
+        this.flusherThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                LogfileWriter.this.flush();
+            }
+        }, "MFsim log file shutdown flush"));
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Appends text to log file asynchronously. NOTE: Method does not block
+     * on file I/O.
+     *
+     * @param aText Text (may be null/empty then nothing is done)
+     */
+    public void append(String aText) {
+        if (aText == null || aText.isEmpty()) {
+            return;
+        }
+        long tmpTime = System.currentTimeMillis();
+        // <editor-fold defaultstate="collapsed" desc="Rate limiting of repeated identical log entries">
+        Repetition tmpRepetition = this.repetitionMap.get(aText);
+        if (tmpRepetition != null && tmpTime - tmpRepetition.firstTime < ModelDefinitions.LOGFILE_REPETITION_INTERVAL_IN_MILLISECONDS) {
+            tmpRepetition.numberOfSuppressedRepetitions.incrementAndGet();
+            return;
+        }
+        if (this.repetitionMap.size() >= MAXIMUM_NUMBER_OF_REPETITION_ENTRIES) {
+            this.writeRepetitionSummaries(true);
+        }
+        Repetition tmpNewRepetition = new Repetition(tmpTime);
+        if (tmpRepetition == null) {
+            tmpRepetition = this.repetitionMap.putIfAbsent(aText, tmpNewRepetition);
+            if (tmpRepetition != null) {
+                // Concurrent identical log entry won
+                tmpRepetition.numberOfSuppressedRepetitions.incrementAndGet();
+                return;
+            }
+        } else if (!this.repetitionMap.replace(aText, tmpRepetition, tmpNewRepetition)) {
+            // Concurrent identical log entry won
+            return;
+        } else if (tmpRepetition.numberOfSuppressedRepetitions.get() > 0) {
+            this.offer(new LogEntry(tmpTime, String.format(REPETITION_FORMAT, tmpRepetition.numberOfSuppressedRepetitions.get(), this.getAbbreviatedText(aText))));
+        }
+        // </editor-fold>
+        this.offer(new LogEntry(tmpTime, aText));
+        if (this.producerPosition.get() - this.consumerPosition > this.capacity / 2) {
+            // Wake up flusher early
+            LockSupport.unpark(this.flusherThread);
+        }
+    }
+
+    /**
+     * Writes all pending log entries including summaries of all suppressed
+     * repetitions (synchronously)
+     */
+    public void flush() {
+        this.writeRepetitionSummaries(true);
+        this.drain();
+    }
+
+    /**
+     * Discards all pending log entries and deletes log file. NOTE: Both is
+     * done with the lock of the flusher, i.e. a concurrent batch write is
+     * completed before and no batch is written in between.
+     *
+     * @return True: Log file existed (and was deleted), false: Otherwise
+     */
+    public boolean reset() {
+        synchronized (this.consumerLock) {
+            while (this.poll() != null) {
+                // Discard
+            }
+            this.repetitionMap.clear();
+            this.numberOfDroppedEntries.set(0L);
+            File tmpLogfile = new File(this.getLogfilePathname());
+            if (!tmpLogfile.isFile()) {
+                return false;
+            }
+            tmpLogfile.delete();
+            return true;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Ring buffer related methods">
+    /**
+     * Offers log entry to ring buffer (lock-free, multi-producer)
+     *
+     * @param aLogEntry Log entry
+     */
+    private void offer(LogEntry aLogEntry) {
+        while (true) {
+            long tmpPosition = this.producerPosition.get();
+            int tmpIndex = (int) (tmpPosition & this.mask);
+            long tmpDifference = this.sequences.get(tmpIndex) - tmpPosition;
+            if (tmpDifference == 0L) {
+                if (this.producerPosition.compareAndSet(tmpPosition, tmpPosition + 1L)) {
+                    this.slots.set(tmpIndex, aLogEntry);
+                    // Publish slot
+                    this.sequences.set(tmpIndex, tmpPosition + 1L);
+                    return;
+                }
+            } else if (tmpDifference < 0L) {
+                // Ring buffer is full
+                this.numberOfDroppedEntries.incrementAndGet();
+                LockSupport.unpark(this.flusherThread);
+                return;
+            }
+            // Otherwise: Another producer claimed slot, retry
+        }
+    }
+
+    /**
+     * Polls log entry from ring buffer. NOTE: Must be called with
+     * consumerLock.
+     *
+     * @return Log entry or null if ring buffer is empty
+     */
+    private LogEntry poll() {
+        int tmpIndex = (int) (this.consumerPosition & this.mask);
+        if (this.sequences.get(tmpIndex) != this.consumerPosition + 1L) {
+            return null;
+        }
+        LogEntry tmpLogEntry = this.slots.get(tmpIndex);
+        this.slots.set(tmpIndex, null);
+        // Release slot for next round
+        this.sequences.set(tmpIndex, this.consumerPosition + this.capacity);
+        this.consumerPosition++;
+        return tmpLogEntry;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Flusher related methods">
+    /**
+     * Flusher loop
+     */
+    private void runFlusher() {
+        while (true) {
+            LockSupport.parkNanos(ModelDefinitions.LOGFILE_FLUSH_INTERVAL_IN_MILLISECONDS * 1000000L);
+            try {
+                this.writeRepetitionSummaries(false);
+                this.drain();
+            } catch (Throwable aThrowable) {
+                // Do nothing: Logger must never terminate
+            }
+        }
+    }
+
+    /**
+     * Enqueues repetition summaries of expired (or all) repetitions
+     *
+     * @param anIsAll True: All repetitions are summarized and removed, false:
+     * Only expired repetitions
+     */
+    private void writeRepetitionSummaries(boolean anIsAll) {
+        long tmpTime = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Repetition>> tmpIterator = this.repetitionMap.entrySet().iterator();
+        while (tmpIterator.hasNext()) {
+            Map.Entry<String, Repetition> tmpEntry = tmpIterator.next();
+            Repetition tmpRepetition = tmpEntry.getValue();
+            if (anIsAll || tmpTime - tmpRepetition.firstTime >= ModelDefinitions.LOGFILE_REPETITION_INTERVAL_IN_MILLISECONDS) {
+                if (this.repetitionMap.remove(tmpEntry.getKey(), tmpRepetition)) {
+                    int tmpNumberOfSuppressedRepetitions = tmpRepetition.numberOfSuppressedRepetitions.get();
+                    if (tmpNumberOfSuppressedRepetitions > 0) {
+                        this.offer(new LogEntry(tmpTime, String.format(REPETITION_FORMAT, tmpNumberOfSuppressedRepetitions, this.getAbbreviatedText(tmpEntry.getKey()))));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drains ring buffer and writes log entries in a single batch
+     */
+    private void drain() {
+        synchronized (this.consumerLock) {
+            ArrayList<LogEntry> tmpBatch = new ArrayList<>();
+            LogEntry tmpLogEntry;
+            while ((tmpLogEntry = this.poll()) != null) {
+                tmpBatch.add(tmpLogEntry);
+            }
+            long tmpNumberOfDroppedEntries = this.numberOfDroppedEntries.getAndSet(0L);
+            if (tmpNumberOfDroppedEntries > 0L) {
+                tmpBatch.add(new LogEntry(System.currentTimeMillis(), String.format(DROPPED_FORMAT, tmpNumberOfDroppedEntries)));
+            }
+            if (tmpBatch.isEmpty()) {
+                return;
+            }
+            String tmpLogfilePathname = this.getLogfilePathname();
+            this.rotateIfNecessary(tmpLogfilePathname);
+            // NOTE: Same encoding as former FileWriter based implementation
+            try (BufferedWriter tmpBufferedWriter = new BufferedWriter(new FileWriter(tmpLogfilePathname, true), ModelDefinitions.BUFFER_SIZE)) {
+                for (LogEntry tmpEntry : tmpBatch) {
+                    tmpBufferedWriter.write(this.timestampFormat.format(new Date(tmpEntry.time)));
+                    tmpBufferedWriter.write(": ");
+                    tmpBufferedWriter.write(tmpEntry.text);
+                    tmpBufferedWriter.newLine();
+                }
+            } catch (Exception anException) {
+                // Do nothing: Log file can not be written
+            }
+        }
+    }
+
+    /**
+     * Returns full pathname of log file
+     *
+     * @return Full pathname of log file
+     */
+    private String getLogfilePathname() {
+        if (this.logfilePathname == null) {
+            return Preferences.getInstance().getLogfilePathname();
+        } else {
+            return this.logfilePathname;
+        }
+    }
+
+    /**
+     * Rotates log file if its size exceeds
+     * ModelDefinitions.LOGFILE_MAXIMUM_SIZE_IN_BYTES: Log file "Name.txt"
+     * is renamed to "Name.1.txt", "Name.1.txt" to "Name.2.txt" etc.
+     *
+     * @param aLogfilePathname Full pathname of log file
+     */
+    private void rotateIfNecessary(String aLogfilePathname) {
+        File tmpLogfile = new File(aLogfilePathname);
+        if (!tmpLogfile.isFile() || tmpLogfile.length() < ModelDefinitions.LOGFILE_MAXIMUM_SIZE_IN_BYTES) {
+            return;
+        }
+        for (int i = ModelDefinitions.NUMBER_OF_ROTATED_LOGFILES; i > 0; i--) {
+            File tmpRotatedLogfile = new File(LogfileWriter.getRotatedLogfilePathname(aLogfilePathname, i));
+            if (i == ModelDefinitions.NUMBER_OF_ROTATED_LOGFILES) {
+                tmpRotatedLogfile.delete();
+            }
+            File tmpSourceLogfile = i == 1 ? tmpLogfile : new File(LogfileWriter.getRotatedLogfilePathname(aLogfilePathname, i - 1));
+            if (tmpSourceLogfile.isFile()) {
+                tmpSourceLogfile.renameTo(tmpRotatedLogfile);
+            }
+        }
+    }
+
+    /**
+     * Returns abbreviated text for repetition summary
+     *
+     * @param aText Text
+     * @return Abbreviated text
+     */
+    private String getAbbreviatedText(String aText) {
+        int tmpIndex = aText.indexOf('\n');
+        String tmpText = tmpIndex > 0 ? aText.substring(0, tmpIndex).trim() : aText;
+        if (tmpText.length() > MAXIMUM_REPETITION_TEXT_LENGTH) {
+            return tmpText.substring(0, MAXIMUM_REPETITION_TEXT_LENGTH) + "...";
+        } else {
+            return tmpText;
+        }
+    }
+    // </editor-fold>
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Returns pathname of rotated log file, e.g. "Name.1.txt" for "Name.txt"
+     *
+     * @param aLogfilePathname Full pathname of log file
+     * @param anIndex Index of rotated log file (greater 0)
+     * @return Pathname of rotated log file
+     */
+    public static String getRotatedLogfilePathname(String aLogfilePathname, int anIndex) {
+        int tmpSeparatorIndex = aLogfilePathname.lastIndexOf(File.separatorChar);
+        int tmpDotIndex = aLogfilePathname.lastIndexOf('.');
+        if (tmpDotIndex > tmpSeparatorIndex + 1) {
+            return aLogfilePathname.substring(0, tmpDotIndex) + "." + String.valueOf(anIndex) + aLogfilePathname.substring(tmpDotIndex);
+        } else {
+            return aLogfilePathname + "." + String.valueOf(anIndex);
+        }
+    }
+    // </editor-fold>
+
+}
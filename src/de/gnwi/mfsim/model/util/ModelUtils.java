@@ -52,19 +52,24 @@ public final class ModelUtils {
     private static String lastTimeStampInStandardFormat = "";
     // </editor-fold>
     //
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Asynchronous log file writer
+     */
+    private static final LogfileWriter LOGFILE_WRITER = new LogfileWriter(null, ModelDefinitions.LOGFILE_BUFFER_CAPACITY);
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="Public static synchronized methods">
     // <editor-fold defaultstate="collapsed" desc="Log file related methods">
     /**
      * Deletes log file. NOTE: Log file related methods need to be synchronized.
      */
     public static synchronized void resetLogfile() {
-        // Delete log file
         try {
-            File tmpFile = new File(Preferences.getInstance().getLogfilePathname());
-            if (!tmpFile.isFile()) {
+            // Discard pending log entries and delete log file with lock of 
+            // flusher of LOGFILE_WRITER (no concurrent batch write)
+            if (!ModelUtils.LOGFILE_WRITER.reset()) {
                 return;
-            } else {
-                tmpFile.delete();
             }
             Preferences.getInstance().setLogEvent(false);
         } catch (Exception anException) {
@@ -77,21 +82,22 @@ public final class ModelUtils {
     }
 
     /**
-     * Appends single string to log file. NOTE: Log file related methods need to
-     * be synchronised.
+     * Appends single string to log file. NOTE: The string is written
+     * asynchronously in batches (see LogfileWriter), i.e. the calling thread
+     * does not block on file I/O. Use flushLogfile() before the log file is
+     * read.
      *
      * @param anObject Object to be appended
      * @param anIsEvent True: Object is log event, false: Otherwise
      */
-    public static synchronized void appendToLogfile(boolean anIsEvent, Object anObject) {
+    public static void appendToLogfile(boolean anIsEvent, Object anObject) {
         // <editor-fold defaultstate="collapsed" desc="Checks">
         if (anObject == null) {
             return;
         }
         // </editor-fold>
         if (anObject instanceof String) {
-            String tmpString = (String) anObject;
-            ModelUtils.appendSingleStringToFile(ModelUtils.getTimestampInStandardFormat() + ": " + tmpString, Preferences.getInstance().getLogfilePathname());
+            ModelUtils.LOGFILE_WRITER.append((String) anObject);
             if (anIsEvent) {
                 Preferences.getInstance().setLogEvent(true);
             }
@@ -99,13 +105,19 @@ public final class ModelUtils {
             Exception tmpException = (Exception) anObject;
             StringWriter tmpStringWriter = new StringWriter();
             tmpException.printStackTrace(new PrintWriter(tmpStringWriter));
-            String tmpStackTrace = ModelUtils.getTimestampInStandardFormat() + ": " + tmpStringWriter.toString();
-            ModelUtils.appendSingleStringToFile(tmpStackTrace, Preferences.getInstance().getLogfilePathname());
+            ModelUtils.LOGFILE_WRITER.append(tmpStringWriter.toString());
             if (anIsEvent) {
                 Preferences.getInstance().setLogEvent(true);
             }
         }
     }
+
+    /**
+     * Writes all pending log entries to log file (synchronously)
+     */
+    public static void flushLogfile() {
+        ModelUtils.LOGFILE_WRITER.flush();
+    }
     // </editor-fold>
     // <editor-fold defaultstate="collapsed" desc="Timestamp related methods">
     /**
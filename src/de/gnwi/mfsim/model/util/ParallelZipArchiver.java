@@ -0,0 +1,1024 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util;
+
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Archives a directory into a ZIP file with parallel compression.
+ * <p>
+ * Files are split into chunks which are deflated independently on a thread
+ * pool (raw deflate, each chunk primed with the last 32 kByte of the previous
+ * chunk as dictionary and terminated with a sync flush) and then stitched in
+ * order into the ZIP file by the calling thread. The CRC-32 values of the
+ * chunks are combined. Files that are already compressed (e.g. GZIP step
+ * files, JPEG or PNG images) are stored without recompression: They are read
+ * only once, their CRC-32 is calculated while copying and patched into the
+ * local header afterwards. Empty directories are written as directory
+ * entries. ZIP64 extensions are written where necessary (entries of 4 GByte
+ * or more have a ZIP64 extra field in their local header).
+ * <p>
+ * The resulting ZIP file can be read with ZipFile and ZipInputStream, entry
+ * names are identical to those of FileUtilityMethods.copyDirectoryToZipFile()
+ * in former versions.
+ * <p>
+ * Progress in percent is fired as ModelDefinitions.PROPERTY_CHANGE_PROGRESS
+ * (only values from 0 to 99), throughput in bytes per second as
+ * ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT.
+ */
+public class ParallelZipArchiver {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Size of a chunk that is deflated independently (4 MByte)
+     */
+    private static final int CHUNK_SIZE = 4194304;
+
+    /**
+     * Size of deflate dictionary (32 kByte)
+     */
+    private static final int DICTIONARY_SIZE = 32768;
+
+    /**
+     * Pattern of file names that are already compressed and thus stored
+     * without recompression
+     */
+    private static final Pattern ALREADY_COMPRESSED_FILENAME_PATTERN = Pattern.compile(".*\\.(gz|jpg|jpeg|png|zip|mp4)$");
+
+    /**
+     * Interval for throughput notification in milliseconds
+     */
+    private static final long THROUGHPUT_NOTIFICATION_INTERVAL_IN_MILLISECONDS = 1000L;
+
+    /**
+     * Maximum value of a 32 bit ZIP field (larger values need ZIP64)
+     */
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+
+    /**
+     * Maximum number of entries of a non-ZIP64 ZIP file
+     */
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    /**
+     * Offset of CRC-32 in local header
+     */
+    private static final int LOCAL_HEADER_CRC_OFFSET = 14;
+
+    /**
+     * External file attribute of directory entries (MS-DOS directory
+     * attribute)
+     */
+    private static final long DIRECTORY_ATTRIBUTE = 0x10L;
+
+    /**
+     * ZIP method: Stored
+     */
+    private static final int METHOD_STORED = 0;
+
+    /**
+     * ZIP method: Deflated
+     */
+    private static final int METHOD_DEFLATED = 8;
+
+    /**
+     * General purpose flag: Data descriptor follows data
+     */
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+
+    /**
+     * General purpose flag: UTF-8 encoded entry name
+     */
+    private static final int FLAG_UTF8 = 0x0800;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class ArchiveEntry">
+    /**
+     * Single file or empty directory entry of archive
+     */
+    private static class ArchiveEntry {
+
+        /**
+         * File
+         */
+        final File file;
+
+        /**
+         * True: Entry of empty directory, false: File entry
+         */
+        final boolean isDirectory;
+
+        /**
+         * UTF-8 bytes of entry name
+         */
+        final byte[] nameBytes;
+
+        /**
+         * DOS time of file
+         */
+        final long dosTime;
+
+        /**
+         * ZIP method
+         */
+        final int method;
+
+        /**
+         * Uncompressed size
+         */
+        final long size;
+
+        /**
+         * Number of chunks (1 for stored entries)
+         */
+        final int numberOfChunks;
+
+        /**
+         * True: Local header has ZIP64 extra field (and data descriptor has
+         * 64 bit sizes), false: Otherwise
+         */
+        final boolean isZip64;
+
+        /**
+         * Compressed size (set after writing)
+         */
+        long compressedSize;
+
+        /**
+         * CRC-32 (set after writing)
+         */
+        long crc;
+
+        /**
+         * Offset of local header in ZIP file
+         */
+        long localHeaderOffset;
+
+        /**
+         * Constructor
+         *
+         * @param aFile File or empty directory
+         * @param aName Entry name (directory entry names end with "/")
+         * @param aMethod ZIP method (directories are always stored)
+         */
+        ArchiveEntry(File aFile, String aName, int aMethod) {
+            this.file = aFile;
+            this.isDirectory = aFile.isDirectory();
+            this.nameBytes = aName.getBytes(StandardCharsets.UTF_8);
+            this.dosTime = ParallelZipArchiver.getDosTime(aFile.lastModified());
+            this.size = this.isDirectory ? 0L : aFile.length();
+            // NOTE: Deflated data of a file slightly smaller than 4 GByte may
+            //       exceed 4 GByte although no ZIP64 extra field is written
+            //       into the local header: Such files are stored
+            if (this.isDirectory || this.size >= ZIP64_MAGIC_VALUE - CHUNK_SIZE && this.size < ZIP64_MAGIC_VALUE) {
+                this.method = METHOD_STORED;
+            } else {
+                this.method = aMethod;
+            }
+            this.isZip64 = this.size >= ZIP64_MAGIC_VALUE;
+            if (this.method == METHOD_DEFLATED) {
+                this.numberOfChunks = (int) Math.max(1L, (this.size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            } else {
+                this.numberOfChunks = 1;
+            }
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class ChunkResult">
+    /**
+     * Result of a deflate chunk task
+     */
+    private static class ChunkResult {
+
+        /**
+         * Compressed data
+         */
+        byte[] data;
+
+        /**
+         * Length of compressed data
+         */
+        int dataLength;
+
+        /**
+         * CRC-32 of uncompressed chunk
+         */
+        long crc;
+
+        /**
+         * Uncompressed length of chunk
+         */
+        long length;
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class CountingOutputStream">
+    /**
+     * Output stream that counts written bytes
+     */
+    private static class CountingOutputStream extends BufferedOutputStream {
+
+        /**
+         * Number of written bytes
+         */
+        long count;
+
+        /**
+         * Constructor
+         *
+         * @param anOutputStream Output stream
+         */
+        CountingOutputStream(OutputStream anOutputStream) {
+            super(anOutputStream, ModelDefinitions.BUFFER_SIZE);
+            this.count = 0L;
+        }
+
+        @Override
+        public synchronized void write(int aByte) throws IOException {
+            super.write(aByte);
+            this.count++;
+        }
+
+        @Override
+        public synchronized void write(byte[] aBuffer, int anOffset, int aLength) throws IOException {
+            super.write(aBuffer, anOffset, aLength);
+            this.count += aLength;
+        }
+
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Property change support
+     */
+    private final PropertyChangeSupport propertyChangeSupport;
+
+    /**
+     * Number of parallel compression threads
+     */
+    private final int numberOfThreads;
+
+    /**
+     * True: All files are stored without compression, false: Otherwise
+     */
+    private final boolean isUncompressed;
+
+    /**
+     * Pattern for file exclusion from archiving, i.e. files that match pattern
+     * are NOT archived (may be null)
+     */
+    private final Pattern fileExclusionRegexPattern;
+
+    /**
+     * True: Archiving was stopped, false: Otherwise
+     */
+    private volatile boolean isStopped;
+
+    /**
+     * Total number of bytes to be archived
+     */
+    private long totalNumberOfBytes;
+
+    /**
+     * Number of already archived (uncompressed) bytes
+     */
+    private long numberOfArchivedBytes;
+
+    /**
+     * Start time in milliseconds
+     */
+    private long startTime;
+
+    /**
+     * Time of last throughput notification in milliseconds
+     */
+    private long lastThroughputNotificationTime;
+
+    /**
+     * Last progress value
+     */
+    private int progressValue;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aNumberOfThreads Number of parallel compression threads (values
+     * less than 1 are set to 1)
+     * @param anIsUncompressed True: All files are stored without compression,
+     * false: Otherwise (already compressed files are always stored)
+     * @param aFileExclusionRegexPattern Pattern for file exclusion from
+     * archiving, i.e. files that match pattern are NOT archived (may be null)
+     */
+    public ParallelZipArchiver(int aNumberOfThreads, boolean anIsUncompressed, Pattern aFileExclusionRegexPattern) {
+        this.numberOfThreads = Math.max(1, aNumberOfThreads);
+        this.isUncompressed = anIsUncompressed;
+        this.fileExclusionRegexPattern = aFileExclusionRegexPattern;
+        this.propertyChangeSupport = new PropertyChangeSupport(this);
+        this.isStopped = false;
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Archives directory (with all files and sub directories) into ZIP file.
+     * NOTE: If archiving fails or is stopped the ZIP file is deleted.
+     *
+     * @param aDirectoryPath Full path of directory (must exist, otherwise false
+     * is returned)
+     * @param aZipFilePathname Full path and name of ZIP file (is NOT allowed to
+     * already exist, otherwise false is returned)
+     * @return True: Operation was successful, false: Otherwise
+     */
+    public boolean archive(String aDirectoryPath, String aZipFilePathname) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aDirectoryPath == null || aDirectoryPath.isEmpty() || !(new File(aDirectoryPath)).isDirectory()) {
+            return false;
+        }
+        if (aZipFilePathname == null || aZipFilePathname.isEmpty() || (new File(aZipFilePathname)).isFile()) {
+            return false;
+        }
+        // </editor-fold>
+        boolean tmpIsSuccessful = false;
+        ExecutorService tmpExecutorService = null;
+        try {
+            // <editor-fold defaultstate="collapsed" desc="Collect entries">
+            File tmpDirectory = new File(aDirectoryPath);
+            ArrayList<ArchiveEntry> tmpEntries = new ArrayList<>();
+            this.totalNumberOfBytes = 0L;
+            this.collectEntries(tmpDirectory, tmpDirectory, tmpEntries);
+            // </editor-fold>
+            this.numberOfArchivedBytes = 0L;
+            this.startTime = System.currentTimeMillis();
+            this.lastThroughputNotificationTime = this.startTime;
+            this.progressValue = -1;
+            this.setProgressValue(0);
+            tmpExecutorService = Executors.newFixedThreadPool(this.numberOfThreads);
+            FileOutputStream tmpFileOutputStream = new FileOutputStream(aZipFilePathname);
+            try (CountingOutputStream tmpOutput = new CountingOutputStream(tmpFileOutputStream)) {
+                if (this.writeEntries(tmpEntries, tmpExecutorService, tmpOutput, tmpFileOutputStream.getChannel())) {
+                    this.writeCentralDirectory(tmpEntries, tmpOutput);
+                    tmpIsSuccessful = true;
+                }
+            }
+            this.fireThroughput();
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            tmpIsSuccessful = false;
+        } finally {
+            if (tmpExecutorService != null) {
+                tmpExecutorService.shutdownNow();
+            }
+        }
+        if (!tmpIsSuccessful) {
+            (new File(aZipFilePathname)).delete();
+        }
+        return tmpIsSuccessful;
+    }
+
+    /**
+     * Stops archiving
+     */
+    public void stop() {
+        this.isStopped = true;
+    }
+
+    /**
+     * Add property change listener
+     *
+     * @param aListener Listener
+     */
+    public void addPropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.addPropertyChangeListener(aListener);
+    }
+
+    /**
+     * Remove property change listener
+     *
+     * @param aListener Listener
+     */
+    public void removePropertyChangeListener(PropertyChangeListener aListener) {
+        this.propertyChangeSupport.removePropertyChangeListener(aListener);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    // <editor-fold defaultstate="collapsed" desc="- Entry related methods">
+    /**
+     * Collects entries of directory recursively (empty directories are
+     * collected as directory entries)
+     *
+     * @param aDirectory Directory
+     * @param aBaseDirectory Base directory
+     * @param anEntries List of entries
+     */
+    private void collectEntries(File aDirectory, File aBaseDirectory, ArrayList<ArchiveEntry> anEntries) {
+        File[] tmpFiles = aDirectory.listFiles();
+        if (tmpFiles == null) {
+            return;
+        }
+        if (tmpFiles.length == 0) {
+            // NOTE: Entry name corresponds to entry names of files
+            anEntries.add(new ArchiveEntry(aDirectory, aDirectory.getPath().substring(aBaseDirectory.getParent().length() + 1) + "/", METHOD_STORED));
+            return;
+        }
+        for (File tmpFile : tmpFiles) {
+            if (tmpFile.isDirectory()) {
+                this.collectEntries(tmpFile, aBaseDirectory, anEntries);
+            } else if (this.fileExclusionRegexPattern == null || !this.fileExclusionRegexPattern.matcher(tmpFile.getName()).matches()) {
+                int tmpMethod = METHOD_DEFLATED;
+                if (this.isUncompressed || ALREADY_COMPRESSED_FILENAME_PATTERN.matcher(tmpFile.getName().toLowerCase(Locale.ENGLISH)).matches()) {
+                    tmpMethod = METHOD_STORED;
+                }
+                // NOTE: Entry name corresponds to former ZipOutputStream based implementation
+                ArchiveEntry tmpEntry = new ArchiveEntry(tmpFile, tmpFile.getPath().substring(aBaseDirectory.getParent().length() + 1), tmpMethod);
+                anEntries.add(tmpEntry);
+                this.totalNumberOfBytes += tmpEntry.size;
+            }
+        }
+    }
+
+    /**
+     * Writes all entries: Deflate chunk tasks are submitted in order within a
+     * bounded window and their results are written in order. Stored entries
+     * are copied by the calling thread while the window is being processed.
+     *
+     * @param anEntries Entries
+     * @param anExecutorService Executor service
+     * @param anOutput Output
+     * @param aChannel File channel of output (for patching of local headers)
+     * @return True: Operation successful, false: Archiving was stopped
+     * @throws Exception Thrown if an error occurs
+     */
+    private boolean writeEntries(ArrayList<ArchiveEntry> anEntries, ExecutorService anExecutorService, CountingOutputStream anOutput, FileChannel aChannel) throws Exception {
+        // NOTE: Window size bounds memory to about (2 * number of threads + 1) * CHUNK_SIZE
+        int tmpWindowSize = 2 * this.numberOfThreads + 1;
+        ArrayDeque<Future<ChunkResult>> tmpWindow = new ArrayDeque<>(tmpWindowSize);
+        int tmpSubmitEntryIndex = 0;
+        int tmpSubmitChunkIndex = 0;
+        for (ArchiveEntry tmpEntry : anEntries) {
+            long tmpCrc = 0L;
+            long tmpCompressedSize = 0L;
+            for (int tmpChunkIndex = 0; tmpChunkIndex < tmpEntry.numberOfChunks; tmpChunkIndex++) {
+                // <editor-fold defaultstate="collapsed" desc="Fill window with deflate chunk tasks">
+                while (tmpWindow.size() < tmpWindowSize && tmpSubmitEntryIndex < anEntries.size()) {
+                    ArchiveEntry tmpSubmitEntry = anEntries.get(tmpSubmitEntryIndex);
+                    if (tmpSubmitEntry.method == METHOD_DEFLATED) {
+                        tmpWindow.addLast(anExecutorService.submit(this.getChunkTask(tmpSubmitEntry, tmpSubmitChunkIndex)));
+                        tmpSubmitChunkIndex++;
+                    } else {
+                        tmpSubmitChunkIndex = tmpSubmitEntry.numberOfChunks;
+                    }
+                    if (tmpSubmitChunkIndex == tmpSubmitEntry.numberOfChunks) {
+                        tmpSubmitEntryIndex++;
+                        tmpSubmitChunkIndex = 0;
+                    }
+                }
+                // </editor-fold>
+                if (this.isStopped) {
+                    return false;
+                }
+                if (tmpEntry.method == METHOD_STORED) {
+                    // <editor-fold defaultstate="collapsed" desc="Stored entry: File is copied, CRC of copied data is patched into local header">
+                    tmpEntry.compressedSize = tmpEntry.size;
+                    tmpEntry.localHeaderOffset = anOutput.count;
+                    this.writeLocalHeader(tmpEntry, anOutput);
+                    if (!tmpEntry.isDirectory) {
+                        if (!this.copyFile(tmpEntry, anOutput)) {
+                            return false;
+                        }
+                        this.patchCrc(tmpEntry, anOutput, aChannel);
+                    }
+                    // </editor-fold>
+                } else {
+                    // <editor-fold defaultstate="collapsed" desc="Deflated entry: Chunks are appended, data descriptor follows">
+                    ChunkResult tmpChunkResult = tmpWindow.pollFirst().get();
+                    if (tmpChunkIndex == 0) {
+                        tmpEntry.localHeaderOffset = anOutput.count;
+                        this.writeLocalHeader(tmpEntry, anOutput);
+                    }
+                    anOutput.write(tmpChunkResult.data, 0, tmpChunkResult.dataLength);
+                    tmpCompressedSize += tmpChunkResult.dataLength;
+                    tmpCrc = tmpChunkIndex == 0 ? tmpChunkResult.crc : ParallelZipArchiver.combineCrc(tmpCrc, tmpChunkResult.crc, tmpChunkResult.length);
+                    this.addArchivedBytes(tmpChunkResult.length);
+                    if (tmpChunkIndex == tmpEntry.numberOfChunks - 1) {
+                        tmpEntry.crc = tmpCrc;
+                        tmpEntry.compressedSize = tmpCompressedSize;
+                        this.writeDataDescriptor(tmpEntry, anOutput);
+                    }
+                    // </editor-fold>
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns deflate task for chunk
+     *
+     * @param anEntry Entry
+     * @param aChunkIndex Chunk index
+     * @return Deflate task for chunk
+     */
+    private Callable<ChunkResult> getChunkTask(final ArchiveEntry anEntry, final int aChunkIndex) {
+        return new Callable<ChunkResult>() {
+            @Override
+            public ChunkResult call() throws Exception {
+                return ParallelZipArchiver.this.deflateChunk(anEntry, aChunkIndex);
+            }
+        };
+    }
+
+    /**
+     * Deflates single chunk of file
+     *
+     * @param anEntry Entry
+     * @param aChunkIndex Chunk index
+     * @return Chunk result with compressed data
+     * @throws IOException Thrown if file can not be read
+     */
+    private ChunkResult deflateChunk(ArchiveEntry anEntry, int aChunkIndex) throws IOException {
+        long tmpOffset = (long) aChunkIndex * (long) CHUNK_SIZE;
+        int tmpLength = (int) Math.min((long) CHUNK_SIZE, Math.max(0L, anEntry.size - tmpOffset));
+        int tmpDictionaryLength = (int) Math.min((long) DICTIONARY_SIZE, tmpOffset);
+        byte[] tmpInputBuffer = new byte[tmpDictionaryLength + tmpLength];
+        try (RandomAccessFile tmpInput = new RandomAccessFile(anEntry.file, "r")) {
+            tmpInput.seek(tmpOffset - tmpDictionaryLength);
+            tmpInput.readFully(tmpInputBuffer);
+        }
+        ChunkResult tmpResult = new ChunkResult();
+        CRC32 tmpCrc = new CRC32();
+        tmpCrc.update(tmpInputBuffer, tmpDictionaryLength, tmpLength);
+        tmpResult.crc = tmpCrc.getValue();
+        tmpResult.length = tmpLength;
+        if (this.isStopped) {
+            tmpResult.data = new byte[0];
+            return tmpResult;
+        }
+        // NOTE: Raw deflate (nowrap) since ZIP entries contain raw deflate data
+        Deflater tmpDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (tmpDictionaryLength > 0) {
+                tmpDeflater.setDictionary(tmpInputBuffer, 0, tmpDictionaryLength);
+            }
+            tmpDeflater.setInput(tmpInputBuffer, tmpDictionaryLength, tmpLength);
+            ByteArrayOutputStream tmpOutput = new ByteArrayOutputStream(tmpLength / 2 + 64);
+            byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
+            if (aChunkIndex < anEntry.numberOfChunks - 1) {
+                // Sync flush: Byte aligned end of non-final block so that next chunk can be appended
+                int tmpCount;
+                while ((tmpCount = tmpDeflater.deflate(tmpBuffer, 0, tmpBuffer.length, Deflater.SYNC_FLUSH)) > 0) {
+                    tmpOutput.write(tmpBuffer, 0, tmpCount);
+                    if (tmpCount < tmpBuffer.length) {
+                        break;
+                    }
+                }
+            } else {
+                tmpDeflater.finish();
+                while (!tmpDeflater.finished()) {
+                    int tmpCount = tmpDeflater.deflate(tmpBuffer);
+                    tmpOutput.write(tmpBuffer, 0, tmpCount);
+                }
+            }
+            tmpResult.data = tmpOutput.toByteArray();
+            tmpResult.dataLength = tmpResult.data.length;
+        } finally {
+            tmpDeflater.end();
+        }
+        return tmpResult;
+    }
+
+    /**
+     * Copies file of stored entry to output and sets CRC-32 of entry from
+     * copied data
+     *
+     * @param anEntry Entry
+     * @param anOutput Output
+     * @return True: Operation successful, false: Archiving was stopped
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private boolean copyFile(ArchiveEntry anEntry, CountingOutputStream anOutput) throws IOException {
+        CRC32 tmpCrc = new CRC32();
+        byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
+        long tmpRemaining = anEntry.size;
+        try (FileInputStream tmpInput = new FileInputStream(anEntry.file)) {
+            while (tmpRemaining > 0) {
+                if (this.isStopped) {
+                    return false;
+                }
+                int tmpCount = tmpInput.read(tmpBuffer, 0, (int) Math.min((long) tmpBuffer.length, tmpRemaining));
+                if (tmpCount == -1) {
+                    throw new IOException("File was truncated during archiving: " + anEntry.file.getPath());
+                }
+                tmpCrc.update(tmpBuffer, 0, tmpCount);
+                anOutput.write(tmpBuffer, 0, tmpCount);
+                tmpRemaining -= tmpCount;
+                this.addArchivedBytes(tmpCount);
+            }
+        }
+        anEntry.crc = tmpCrc.getValue();
+        return true;
+    }
+
+    /**
+     * Patches CRC-32 of stored entry into its already written local header
+     *
+     * @param anEntry Entry
+     * @param anOutput Output
+     * @param aChannel File channel of output
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void patchCrc(ArchiveEntry anEntry, CountingOutputStream anOutput, FileChannel aChannel) throws IOException {
+        // IMPORTANT: Buffered bytes must be written first since they would overwrite the patch
+        anOutput.flush();
+        ByteBuffer tmpCrcBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        tmpCrcBuffer.putInt((int) anEntry.crc);
+        tmpCrcBuffer.flip();
+        // NOTE: Positional write does not change position of channel
+        long tmpPosition = anEntry.localHeaderOffset + LOCAL_HEADER_CRC_OFFSET;
+        while (tmpCrcBuffer.hasRemaining()) {
+            tmpPosition += aChannel.write(tmpCrcBuffer, tmpPosition);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- ZIP format related methods">
+    /**
+     * Writes local file header. NOTE: CRC-32 of stored entries is patched
+     * after the file is copied (see patchCrc()).
+     *
+     * @param anEntry Entry
+     * @param anOutput Output
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void writeLocalHeader(ArchiveEntry anEntry, OutputStream anOutput) throws IOException {
+        this.writeInt(anOutput, 0x04034b50L);
+        this.writeShort(anOutput, anEntry.isZip64 ? 45 : 20);
+        if (anEntry.method == METHOD_STORED) {
+            this.writeShort(anOutput, FLAG_UTF8);
+            this.writeShort(anOutput, METHOD_STORED);
+            this.writeInt(anOutput, anEntry.dosTime);
+            this.writeInt(anOutput, anEntry.crc);
+            this.writeInt(anOutput, anEntry.isZip64 ? ZIP64_MAGIC_VALUE : anEntry.size);
+            this.writeInt(anOutput, anEntry.isZip64 ? ZIP64_MAGIC_VALUE : anEntry.size);
+        } else {
+            // CRC and sizes follow in data descriptor
+            this.writeShort(anOutput, FLAG_UTF8 | FLAG_DATA_DESCRIPTOR);
+            this.writeShort(anOutput, METHOD_DEFLATED);
+            this.writeInt(anOutput, anEntry.dosTime);
+            this.writeInt(anOutput, 0L);
+            this.writeInt(anOutput, anEntry.isZip64 ? ZIP64_MAGIC_VALUE : 0L);
+            this.writeInt(anOutput, anEntry.isZip64 ? ZIP64_MAGIC_VALUE : 0L);
+        }
+        this.writeShort(anOutput, anEntry.nameBytes.length);
+        this.writeShort(anOutput, anEntry.isZip64 ? 20 : 0);
+        anOutput.write(anEntry.nameBytes);
+        if (anEntry.isZip64) {
+            // ZIP64 extra field: Uncompressed and compressed size (0 if sizes follow in data descriptor)
+            this.writeShort(anOutput, 0x0001);
+            this.writeShort(anOutput, 16);
+            if (anEntry.method == METHOD_STORED) {
+                this.writeLong(anOutput, anEntry.size);
+                this.writeLong(anOutput, anEntry.size);
+            } else {
+                this.writeLong(anOutput, 0L);
+                this.writeLong(anOutput, 0L);
+            }
+        }
+    }
+
+    /**
+     * Writes data descriptor of deflated entry: Sizes are 64 bit values if
+     * local header has a ZIP64 extra field.
+     *
+     * @param anEntry Entry
+     * @param anOutput Output
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void writeDataDescriptor(ArchiveEntry anEntry, OutputStream anOutput) throws IOException {
+        this.writeInt(anOutput, 0x08074b50L);
+        this.writeInt(anOutput, anEntry.crc);
+        if (anEntry.isZip64) {
+            this.writeLong(anOutput, anEntry.compressedSize);
+            this.writeLong(anOutput, anEntry.size);
+        } else {
+            this.writeInt(anOutput, anEntry.compressedSize);
+            this.writeInt(anOutput, anEntry.size);
+        }
+    }
+
+    /**
+     * Writes central directory and end of central directory record(s)
+     *
+     * @param anEntries Entries
+     * @param anOutput Output
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void writeCentralDirectory(ArrayList<ArchiveEntry> anEntries, CountingOutputStream anOutput) throws IOException {
+        long tmpCentralDirectoryOffset = anOutput.count;
+        for (ArchiveEntry tmpEntry : anEntries) {
+            boolean tmpIsZip64Size = tmpEntry.size >= ZIP64_MAGIC_VALUE;
+            boolean tmpIsZip64CompressedSize = tmpEntry.compressedSize >= ZIP64_MAGIC_VALUE;
+            boolean tmpIsZip64Offset = tmpEntry.localHeaderOffset >= ZIP64_MAGIC_VALUE;
+            int tmpZip64ExtraLength = (tmpIsZip64Size ? 8 : 0) + (tmpIsZip64CompressedSize ? 8 : 0) + (tmpIsZip64Offset ? 8 : 0);
+            int tmpVersion = tmpZip64ExtraLength > 0 ? 45 : 20;
+            this.writeInt(anOutput, 0x02014b50L);
+            this.writeShort(anOutput, tmpVersion);
+            this.writeShort(anOutput, tmpVersion);
+            this.writeShort(anOutput, tmpEntry.method == METHOD_STORED ? FLAG_UTF8 : FLAG_UTF8 | FLAG_DATA_DESCRIPTOR);
+            this.writeShort(anOutput, tmpEntry.method);
+            this.writeInt(anOutput, tmpEntry.dosTime);
+            this.writeInt(anOutput, tmpEntry.crc);
+            this.writeInt(anOutput, tmpIsZip64CompressedSize ? ZIP64_MAGIC_VALUE : tmpEntry.compressedSize);
+            this.writeInt(anOutput, tmpIsZip64Size ? ZIP64_MAGIC_VALUE : tmpEntry.size);
+            this.writeShort(anOutput, tmpEntry.nameBytes.length);
+            this.writeShort(anOutput, tmpZip64ExtraLength > 0 ? tmpZip64ExtraLength + 4 : 0);
+            // Comment length, disk number start, internal and external file attributes
+            this.writeShort(anOutput, 0);
+            this.writeShort(anOutput, 0);
+            this.writeShort(anOutput, 0);
+            this.writeInt(anOutput, tmpEntry.isDirectory ? DIRECTORY_ATTRIBUTE : 0L);
+            this.writeInt(anOutput, tmpIsZip64Offset ? ZIP64_MAGIC_VALUE : tmpEntry.localHeaderOffset);
+            anOutput.write(tmpEntry.nameBytes);
+            if (tmpZip64ExtraLength > 0) {
+                // NOTE: Order of ZIP64 extra fields is fixed
+                this.writeShort(anOutput, 0x0001);
+                this.writeShort(anOutput, tmpZip64ExtraLength);
+                if (tmpIsZip64Size) {
+                    this.writeLong(anOutput, tmpEntry.size);
+                }
+                if (tmpIsZip64CompressedSize) {
+                    this.writeLong(anOutput, tmpEntry.compressedSize);
+                }
+                if (tmpIsZip64Offset) {
+                    this.writeLong(anOutput, tmpEntry.localHeaderOffset);
+                }
+            }
+        }
+        long tmpCentralDirectoryEnd = anOutput.count;
+        long tmpCentralDirectorySize = tmpCentralDirectoryEnd - tmpCentralDirectoryOffset;
+        int tmpNumberOfEntries = anEntries.size();
+        boolean tmpIsZip64End =
+            tmpNumberOfEntries >= ZIP64_MAGIC_COUNT
+            || tmpCentralDirectoryOffset >= ZIP64_MAGIC_VALUE
+            || tmpCentralDirectorySize >= ZIP64_MAGIC_VALUE;
+        if (tmpIsZip64End) {
+            // <editor-fold defaultstate="collapsed" desc="ZIP64 end of central directory record and locator">
+            this.writeInt(anOutput, 0x06064b50L);
+            this.writeLong(anOutput, 44L);
+            this.writeShort(anOutput, 45);
+            this.writeShort(anOutput, 45);
+            this.writeInt(anOutput, 0L);
+            this.writeInt(anOutput, 0L);
+            this.writeLong(anOutput, tmpNumberOfEntries);
+            this.writeLong(anOutput, tmpNumberOfEntries);
+            this.writeLong(anOutput, tmpCentralDirectorySize);
+            this.writeLong(anOutput, tmpCentralDirectoryOffset);
+            this.writeInt(anOutput, 0x07064b50L);
+            this.writeInt(anOutput, 0L);
+            this.writeLong(anOutput, tmpCentralDirectoryEnd);
+            this.writeInt(anOutput, 1L);
+            // </editor-fold>
+        }
+        // <editor-fold defaultstate="collapsed" desc="End of central directory record">
+        this.writeInt(anOutput, 0x06054b50L);
+        this.writeShort(anOutput, 0);
+        this.writeShort(anOutput, 0);
+        this.writeShort(anOutput, Math.min(tmpNumberOfEntries, ZIP64_MAGIC_COUNT));
+        this.writeShort(anOutput, Math.min(tmpNumberOfEntries, ZIP64_MAGIC_COUNT));
+        this.writeInt(anOutput, Math.min(tmpCentralDirectorySize, ZIP64_MAGIC_VALUE));
+        this.writeInt(anOutput, Math.min(tmpCentralDirectoryOffset, ZIP64_MAGIC_VALUE));
+        this.writeShort(anOutput, 0);
+        // </editor-fold>
+    }
+
+    /**
+     * Writes 16 bit value in little endian order
+     *
+     * @param anOutput Output
+     * @param aValue Value
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void writeShort(OutputStream anOutput, int aValue) throws IOException {
+        anOutput.write(aValue & 0xFF);
+        anOutput.write((aValue >>> 8) & 0xFF);
+    }
+
+    /**
+     * Writes 32 bit value in little endian order
+     *
+     * @param anOutput Output
+     * @param aValue Value
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void writeInt(OutputStream anOutput, long aValue) throws IOException {
+        this.writeShort(anOutput, (int) (aValue & 0xFFFF));
+        this.writeShort(anOutput, (int) ((aValue >>> 16) & 0xFFFF));
+    }
+
+    /**
+     * Writes 64 bit value in little endian order
+     *
+     * @param anOutput Output
+     * @param aValue Value
+     * @throws IOException Thrown if an I/O error occurs
+     */
+    private void writeLong(OutputStream anOutput, long aValue) throws IOException {
+        this.writeInt(anOutput, aValue & 0xFFFFFFFFL);
+        this.writeInt(anOutput, (aValue >>> 32) & 0xFFFFFFFFL);
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="- Progress related methods">
+    /**
+     * Adds archived bytes and fires progress and throughput if necessary
+     *
+     * @param aNumberOfBytes Number of archived (uncompressed) bytes
+     */
+    private void addArchivedBytes(long aNumberOfBytes) {
+        this.numberOfArchivedBytes += aNumberOfBytes;
+        if (this.totalNumberOfBytes > 0L) {
+            this.setProgressValue((int) Math.min(99L, this.numberOfArchivedBytes * 100L / this.totalNumberOfBytes));
+        }
+        long tmpCurrentTime = System.currentTimeMillis();
+        if (tmpCurrentTime - this.lastThroughputNotificationTime >= THROUGHPUT_NOTIFICATION_INTERVAL_IN_MILLISECONDS) {
+            this.lastThroughputNotificationTime = tmpCurrentTime;
+            this.fireThroughput();
+        }
+    }
+
+    /**
+     * Fires throughput in bytes per second since start
+     */
+    private void fireThroughput() {
+        long tmpElapsedTime = Math.max(1L, System.currentTimeMillis() - this.startTime);
+        this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_THROUGHPUT, null, Long.valueOf(this.numberOfArchivedBytes * 1000L / tmpElapsedTime));
+    }
+
+    /**
+     * Sets progress value and fires property change if value changed
+     *
+     * @param aNewValue New value
+     */
+    private void setProgressValue(int aNewValue) {
+        if (aNewValue != this.progressValue) {
+            int tmpOldValue = this.progressValue;
+            this.progressValue = aNewValue;
+            this.propertyChangeSupport.firePropertyChange(ModelDefinitions.PROPERTY_CHANGE_PROGRESS, tmpOldValue, this.progressValue);
+        }
+    }
+    // </editor-fold>
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private static methods">
+    /**
+     * Converts Java time to DOS time
+     *
+     * @param aTime Java time in milliseconds
+     * @return DOS time
+     */
+    private static long getDosTime(long aTime) {
+        LocalDateTime tmpDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(aTime), ZoneId.systemDefault());
+        int tmpYear = tmpDateTime.getYear() - 1980;
+        if (tmpYear < 0) {
+            // 1980-01-01 00:00:00
+            return (1 << 21) | (1 << 16);
+        }
+        tmpYear = Math.min(tmpYear, 127);
+        return ((long) tmpYear << 25
+            | tmpDateTime.getMonthValue() << 21
+            | tmpDateTime.getDayOfMonth() << 16
+            | tmpDateTime.getHour() << 11
+            | tmpDateTime.getMinute() << 5
+            | tmpDateTime.getSecond() >> 1) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Combines CRC-32 of two consecutive byte sequences (see zlib
+     * crc32_combine())
+     *
+     * @param aCrc1 CRC-32 of first byte sequence
+     * @param aCrc2 CRC-32 of second byte sequence
+     * @param aLength2 Length of second byte sequence
+     * @return CRC-32 of concatenated byte sequences
+     */
+    private static long combineCrc(long aCrc1, long aCrc2, long aLength2) {
+        if (aLength2 <= 0) {
+            return aCrc1;
+        }
+        long[] tmpEven = new long[32];
+        long[] tmpOdd = new long[32];
+        // Operator for one zero bit in tmpOdd
+        tmpOdd[0] = 0xEDB88320L;
+        long tmpRow = 1L;
+        for (int i = 1; i < 32; i++) {
+            tmpOdd[i] = tmpRow;
+            tmpRow <<= 1;
+        }
+        // Operator for two zero bits in tmpEven, four zero bits in tmpOdd
+        ParallelZipArchiver.squareGf2Matrix(tmpEven, tmpOdd);
+        ParallelZipArchiver.squareGf2Matrix(tmpOdd, tmpEven);
+        long tmpCrc1 = aCrc1;
+        long tmpLength2 = aLength2;
+        do {
+            ParallelZipArchiver.squareGf2Matrix(tmpEven, tmpOdd);
+            if ((tmpLength2 & 1L) != 0) {
+                tmpCrc1 = ParallelZipArchiver.multiplyGf2Matrix(tmpEven, tmpCrc1);
+            }
+            tmpLength2 >>= 1;
+            if (tmpLength2 == 0) {
+                break;
+            }
+            ParallelZipArchiver.squareGf2Matrix(tmpOdd, tmpEven);
+            if ((tmpLength2 & 1L) != 0) {
+                tmpCrc1 = ParallelZipArchiver.multiplyGf2Matrix(tmpOdd, tmpCrc1);
+            }
+            tmpLength2 >>= 1;
+        } while (tmpLength2 != 0);
+        return (tmpCrc1 ^ aCrc2) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Multiplies GF(2) matrix with vector
+     *
+     * @param aMatrix Matrix
+     * @param aVector Vector
+     * @return Product
+     */
+    private static long multiplyGf2Matrix(long[] aMatrix, long aVector) {
+        long tmpSum = 0L;
+        long tmpVector = aVector;
+        int tmpIndex = 0;
+        while (tmpVector != 0) {
+            if ((tmpVector & 1L) != 0) {
+                tmpSum ^= aMatrix[tmpIndex];
+            }
+            tmpVector >>= 1;
+            tmpIndex++;
+        }
+        return tmpSum;
+    }
+
+    /**
+     * Squares GF(2) matrix
+     *
+     * @param aSquare Square (result)
+     * @param aMatrix Matrix
+     */
+    private static void squareGf2Matrix(long[] aSquare, long[] aMatrix) {
+        for (int i = 0; i < 32; i++) {
+            aSquare[i] = ParallelZipArchiver.multiplyGf2Matrix(aMatrix, aMatrix[i]);
+        }
+    }
+    // </editor-fold>
+
+}
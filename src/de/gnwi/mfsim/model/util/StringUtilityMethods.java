@@ -36,6 +36,26 @@ import de.gnwi.mfsim.model.preference.ModelDefinitions;
  */
 public class StringUtilityMethods {
 
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Powers of ten for fixed decimal formatting
+     */
+    private static final long[] POWERS_OF_TEN = new long[] {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+    };
+
+    /**
+     * Maximum scaled absolute value for fast fixed decimal formatting
+     */
+    private static final double MAXIMUM_SCALED_VALUE_FOR_FIXED_DECIMAL = 1.0E9;
+
+    /**
+     * Minimum distance of scaled fraction from rounding boundary 0.5 for fast
+     * fixed decimal formatting
+     */
+    private static final double MINIMUM_ROUNDING_DISTANCE_FOR_FIXED_DECIMAL = 1.0E-6;
+    // </editor-fold>
+    //
     // <editor-fold defaultstate="collapsed" desc="Private class variables">
     /**
      * Decimal format for double numbers without decimals
@@ -128,6 +148,62 @@ public class StringUtilityMethods {
         }
     }
 
+    /**
+     * Appends double value with specified number of decimals to string
+     * builder. NOTE: Result is identical to 
+     * String.format(Locale.US, "%.[aNumberOfDecimals]f", aValue) but no 
+     * temporary objects are created for common values (values close to a 
+     * rounding boundary are passed to String.format()).
+     *
+     * @param aStringBuilder String builder
+     * @param aValue Double value
+     * @param aNumberOfDecimals Number of decimals (greater/equal 0)
+     * @return aStringBuilder
+     * @throws IllegalArgumentException Thrown if an argument is illegal
+     */
+    public StringBuilder appendFixedDecimal(StringBuilder aStringBuilder, double aValue, int aNumberOfDecimals) throws IllegalArgumentException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aStringBuilder == null) {
+            throw new IllegalArgumentException("aStringBuilder is null.");
+        }
+        if (aNumberOfDecimals < 0) {
+            throw new IllegalArgumentException("aNumberOfDecimals is less than 0.");
+        }
+        // </editor-fold>
+        if (aNumberOfDecimals >= POWERS_OF_TEN.length || Double.isNaN(aValue) || Double.isInfinite(aValue)) {
+            return aStringBuilder.append(String.format(Locale.US, "%." + String.valueOf(aNumberOfDecimals) + "f", aValue));
+        }
+        long tmpPowerOfTen = POWERS_OF_TEN[aNumberOfDecimals];
+        double tmpScaledValue = Math.abs(aValue) * (double) tmpPowerOfTen;
+        if (tmpScaledValue >= MAXIMUM_SCALED_VALUE_FOR_FIXED_DECIMAL) {
+            return aStringBuilder.append(String.format(Locale.US, "%." + String.valueOf(aNumberOfDecimals) + "f", aValue));
+        }
+        double tmpFloor = Math.floor(tmpScaledValue);
+        double tmpFraction = tmpScaledValue - tmpFloor;
+        if (Math.abs(tmpFraction - 0.5) < MINIMUM_ROUNDING_DISTANCE_FOR_FIXED_DECIMAL) {
+            // Rounding depends on decimal representation of aValue
+            return aStringBuilder.append(String.format(Locale.US, "%." + String.valueOf(aNumberOfDecimals) + "f", aValue));
+        }
+        long tmpRoundedValue = (long) tmpFloor;
+        if (tmpFraction > 0.5) {
+            tmpRoundedValue++;
+        }
+        // IMPORTANT: String.format() retains sign of negative values that are rounded to zero
+        if (Double.doubleToRawLongBits(aValue) < 0L) {
+            aStringBuilder.append('-');
+        }
+        aStringBuilder.append(tmpRoundedValue / tmpPowerOfTen);
+        if (aNumberOfDecimals > 0) {
+            aStringBuilder.append('.');
+            long tmpDecimals = tmpRoundedValue % tmpPowerOfTen;
+            for (long tmpDivisor = tmpPowerOfTen / 10L; tmpDivisor > 0L; tmpDivisor /= 10L) {
+                aStringBuilder.append((char) ('0' + tmpDecimals / tmpDivisor));
+                tmpDecimals %= tmpDivisor;
+            }
+        }
+        return aStringBuilder;
+    }
+
     /**
      * Formats a double value to specified number of decimals. NOTE: Double
      * value is correctly rounded to the specified number of decimals.
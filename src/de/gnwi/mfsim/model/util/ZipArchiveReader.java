@@ -0,0 +1,301 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util;
+
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Random access reader for ZIP archives (e.g. archived job inputs or job
+ * results) that is based on the central directory of the ZIP file: Single
+ * entries are located with an entry name index and streamed directly out of
+ * the archive without a sequential pass over the archive and without
+ * temporary extraction.
+ * <p>
+ * NOTE: Entry names are indexed with '/' as separator character, i.e. ZIP
+ * files with '\' separator characters (created on Windows) and '/' separator
+ * characters are treated identically. All methods that expect an entry name
+ * accept both separator characters.
+ * <p>
+ * NOTE: Instance must be closed after use. Entry streams may be opened
+ * concurrently.
+ */
+public class ZipArchiveReader implements Closeable {
+
+    // <editor-fold defaultstate="collapsed" desc="Private final class variables">
+    /**
+     * ZIP file
+     */
+    private final ZipFile zipFile;
+
+    /**
+     * Normalized entry name to entry map (in order of central directory)
+     */
+    private final LinkedHashMap<String, ZipEntry> entryNameToEntryMap;
+
+    /**
+     * Lower-case file name (without path) to normalized entry name of first
+     * occurrence map
+     */
+    private final HashMap<String, String> fileNameToEntryNameMap;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Constructor">
+    /**
+     * Constructor
+     *
+     * @param aZipFilePathname Full path and name of ZIP file
+     * @throws IllegalArgumentException Thrown if ZIP file does not exist
+     * @throws IOException Thrown if ZIP file can not be opened
+     */
+    public ZipArchiveReader(String aZipFilePathname) throws IllegalArgumentException, IOException {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aZipFilePathname == null || aZipFilePathname.isEmpty() || !(new File(aZipFilePathname)).isFile()) {
+            throw new IllegalArgumentException("Argument is illegal.");
+        }
+        // </editor-fold>
+        this.zipFile = new ZipFile(new File(aZipFilePathname));
+        this.entryNameToEntryMap = new LinkedHashMap<>(Math.max(16, this.zipFile.size() * 2));
+        this.fileNameToEntryNameMap = new HashMap<>(Math.max(16, this.zipFile.size() * 2));
+        Enumeration<? extends ZipEntry> tmpEnumeration = this.zipFile.entries();
+        while (tmpEnumeration.hasMoreElements()) {
+            ZipEntry tmpEntry = tmpEnumeration.nextElement();
+            String tmpEntryName = ZipArchiveReader.normalizeEntryName(tmpEntry.getName());
+            this.entryNameToEntryMap.put(tmpEntryName, tmpEntry);
+            if (!tmpEntry.isDirectory()) {
+                String tmpFileName = tmpEntryName.substring(tmpEntryName.lastIndexOf('/') + 1).toLowerCase(Locale.ENGLISH);
+                if (!this.fileNameToEntryNameMap.containsKey(tmpFileName)) {
+                    this.fileNameToEntryNameMap.put(tmpFileName, tmpEntryName);
+                }
+            }
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Returns number of entries
+     *
+     * @return Number of entries
+     */
+    public int getNumberOfEntries() {
+        return this.entryNameToEntryMap.size();
+    }
+
+    /**
+     * Returns normalized names (with '/' as separator character) of all
+     * entries in order of central directory
+     *
+     * @return Normalized names of all entries
+     */
+    public List<String> getEntryNames() {
+        return Collections.unmodifiableList(new ArrayList<>(this.entryNameToEntryMap.keySet()));
+    }
+
+    /**
+     * Returns if entry with specified name exists
+     *
+     * @param anEntryName Entry name (with '/' or '\' as separator character)
+     * @return True: Entry exists, false: Otherwise
+     */
+    public boolean hasEntry(String anEntryName) {
+        return anEntryName != null && this.entryNameToEntryMap.containsKey(ZipArchiveReader.normalizeEntryName(anEntryName));
+    }
+
+    /**
+     * Returns uncompressed size of entry
+     *
+     * @param anEntryName Entry name (with '/' or '\' as separator character)
+     * @return Uncompressed size of entry or -1 if entry does not exist or
+     * size is unknown
+     */
+    public long getEntrySize(String anEntryName) {
+        ZipEntry tmpEntry = this.getEntry(anEntryName);
+        if (tmpEntry == null) {
+            return -1L;
+        }
+        return tmpEntry.getSize();
+    }
+
+    /**
+     * Returns normalized name of (first occurrence of) file entry whose name
+     * ends with specified suffix (case-insensitive), e.g. a file name without
+     * path. NOTE: A file entry with a file name that is identical to the
+     * suffix is found with the index and preferred.
+     *
+     * @param aSuffix Suffix (e.g. file name without path)
+     * @return Normalized entry name or null if no entry matches
+     */
+    public String findFileEntryName(String aSuffix) {
+        if (aSuffix == null || aSuffix.isEmpty()) {
+            return null;
+        }
+        String tmpSuffix = ZipArchiveReader.normalizeEntryName(aSuffix).toLowerCase(Locale.ENGLISH);
+        // Fast path: Suffix is a complete file name
+        if (tmpSuffix.indexOf('/') < 0) {
+            String tmpEntryName = this.fileNameToEntryNameMap.get(tmpSuffix);
+            if (tmpEntryName != null) {
+                return tmpEntryName;
+            }
+        }
+        // Search in index (central directory is already in memory, no decompression)
+        for (String tmpEntryName : this.entryNameToEntryMap.keySet()) {
+            if (!this.entryNameToEntryMap.get(tmpEntryName).isDirectory() && tmpEntryName.toLowerCase(Locale.ENGLISH).endsWith(tmpSuffix)) {
+                return tmpEntryName;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns normalized names of all file entries that contain specified
+     * string (e.g. a directory prefix)
+     *
+     * @param aString String (with '/' or '\' as separator character)
+     * @return Normalized names of file entries in order of central directory
+     * (may be empty)
+     */
+    public List<String> getFileEntryNamesContaining(String aString) {
+        ArrayList<String> tmpEntryNames = new ArrayList<>();
+        if (aString == null || aString.isEmpty()) {
+            return tmpEntryNames;
+        }
+        String tmpString = ZipArchiveReader.normalizeEntryName(aString);
+        for (String tmpEntryName : this.entryNameToEntryMap.keySet()) {
+            if (!this.entryNameToEntryMap.get(tmpEntryName).isDirectory() && tmpEntryName.contains(tmpString)) {
+                tmpEntryNames.add(tmpEntryName);
+            }
+        }
+        return tmpEntryNames;
+    }
+
+    /**
+     * Returns input stream of entry. The stream is read directly out of the
+     * archive (decompressed on the fly if necessary).
+     * NOTE: Stream must be closed by caller.
+     *
+     * @param anEntryName Entry name (with '/' or '\' as separator character)
+     * @return Buffered input stream of entry
+     * @throws IllegalArgumentException Thrown if entry does not exist
+     * @throws IOException Thrown if entry can not be read
+     */
+    public InputStream getInputStream(String anEntryName) throws IllegalArgumentException, IOException {
+        ZipEntry tmpEntry = this.getEntry(anEntryName);
+        if (tmpEntry == null) {
+            throw new IllegalArgumentException("Entry does not exist: " + anEntryName);
+        }
+        return new BufferedInputStream(this.zipFile.getInputStream(tmpEntry), ModelDefinitions.BUFFER_SIZE);
+    }
+
+    /**
+     * Copies entry to output stream
+     * NOTE: Output stream is NOT closed.
+     *
+     * @param anEntryName Entry name (with '/' or '\' as separator character)
+     * @param anOutputStream Output stream
+     * @throws IllegalArgumentException Thrown if entry does not exist
+     * @throws IOException Thrown if entry can not be read or written
+     */
+    public void copyEntry(String anEntryName, OutputStream anOutputStream) throws IllegalArgumentException, IOException {
+        ZipEntry tmpEntry = this.getEntry(anEntryName);
+        if (tmpEntry == null) {
+            throw new IllegalArgumentException("Entry does not exist: " + anEntryName);
+        }
+        byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
+        try (InputStream tmpInputStream = this.zipFile.getInputStream(tmpEntry)) {
+            int tmpLength;
+            while ((tmpLength = tmpInputStream.read(tmpBuffer)) != -1) {
+                anOutputStream.write(tmpBuffer, 0, tmpLength);
+            }
+        }
+    }
+
+    /**
+     * Extracts entry to file. Non-existing parent directories are created.
+     *
+     * @param anEntryName Entry name (with '/' or '\' as separator character)
+     * @param aFile Destination file
+     * @throws IllegalArgumentException Thrown if entry does not exist
+     * @throws IOException Thrown if entry can not be read or written
+     */
+    public void extractEntry(String anEntryName, File aFile) throws IllegalArgumentException, IOException {
+        if (aFile.getParentFile() != null && !aFile.getParentFile().exists()) {
+            aFile.getParentFile().mkdirs();
+        }
+        try (BufferedOutputStream tmpBufferedOutputStream = new BufferedOutputStream(new FileOutputStream(aFile), ModelDefinitions.BUFFER_SIZE)) {
+            this.copyEntry(anEntryName, tmpBufferedOutputStream);
+        }
+    }
+
+    /**
+     * Closes ZIP file
+     *
+     * @throws IOException Thrown if ZIP file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.zipFile.close();
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public static methods">
+    /**
+     * Normalizes entry name, i.e. replaces '\' with '/'
+     *
+     * @param anEntryName Entry name
+     * @return Normalized entry name
+     */
+    public static String normalizeEntryName(String anEntryName) {
+        return anEntryName.replace('\\', '/');
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns entry
+     *
+     * @param anEntryName Entry name (with '/' or '\' as separator character)
+     * @return Entry or null if entry does not exist
+     */
+    private ZipEntry getEntry(String anEntryName) {
+        if (anEntryName == null) {
+            return null;
+        }
+        return this.entryNameToEntryMap.get(ZipArchiveReader.normalizeEntryName(anEntryName));
+    }
+    // </editor-fold>
+
+}
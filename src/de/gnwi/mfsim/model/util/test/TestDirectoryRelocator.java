@@ -0,0 +1,123 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util.test;
+
+import de.gnwi.mfsim.model.util.DirectoryMoveGuardInterface;
+import de.gnwi.mfsim.model.util.DirectoryRelocationModeEnum;
+import de.gnwi.mfsim.model.util.DirectoryRelocator;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class DirectoryRelocator
+ */
+public class TestDirectoryRelocator extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of relocation by atomic move and by hard links
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testRelocate() throws Exception {
+        FileUtilityMethods tmpFileUtilityMethods = new FileUtilityMethods();
+        String tmpBasePath = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID();
+        try {
+            String tmpSourcePath = tmpBasePath + File.separatorChar + "Source";
+            (new File(tmpSourcePath + File.separatorChar + "Sub")).mkdirs();
+            byte[] tmpData = new byte[20000000];
+            (new Random(1)).nextBytes(tmpData);
+            Files.write((new File(tmpSourcePath + File.separatorChar + "Sub" + File.separatorChar + "Large.bin")).toPath(), tmpData);
+            Files.write((new File(tmpSourcePath + File.separatorChar + "Empty.txt")).toPath(), new byte[0]);
+            // Source must remain valid: No move
+            String tmpLinkDestinationPath = tmpBasePath + File.separatorChar + "Linked";
+            DirectoryRelocator tmpDirectoryRelocator = new DirectoryRelocator(2);
+            DirectoryRelocationModeEnum tmpRelocationMode = tmpDirectoryRelocator.relocate(tmpSourcePath, tmpLinkDestinationPath, false);
+            assertNotNull("Test1", tmpRelocationMode);
+            assertTrue("Test2", tmpRelocationMode != DirectoryRelocationModeEnum.MOVE);
+            assertTrue("Test3", (new File(tmpSourcePath)).isDirectory());
+            assertTrue("Test4", Arrays.equals(tmpData, Files.readAllBytes((new File(tmpLinkDestinationPath + File.separatorChar + "Sub" + File.separatorChar + "Large.bin")).toPath())));
+            assertTrue("Test5", (new File(tmpLinkDestinationPath + File.separatorChar + "Empty.txt")).isFile());
+            // Move into existing empty destination directory
+            String tmpMoveDestinationPath = tmpBasePath + File.separatorChar + "Moved";
+            (new File(tmpMoveDestinationPath)).mkdirs();
+            tmpRelocationMode = tmpDirectoryRelocator.relocate(tmpSourcePath, tmpMoveDestinationPath, true);
+            assertEquals("Test6", DirectoryRelocationModeEnum.MOVE, tmpRelocationMode);
+            assertFalse("Test7", (new File(tmpSourcePath)).exists());
+            assertTrue("Test8", Arrays.equals(tmpData, Files.readAllBytes((new File(tmpMoveDestinationPath + File.separatorChar + "Sub" + File.separatorChar + "Large.bin")).toPath())));
+            // Destination inside source is not allowed
+            assertNull("Test9", tmpDirectoryRelocator.relocate(tmpMoveDestinationPath, tmpMoveDestinationPath + File.separatorChar + "Inner", true));
+        } finally {
+            tmpFileUtilityMethods.deleteDirectory(tmpBasePath);
+        }
+    }
+
+    /**
+     * Test of relocation with move guard
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testMoveGuard() throws Exception {
+        FileUtilityMethods tmpFileUtilityMethods = new FileUtilityMethods();
+        String tmpBasePath = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID();
+        try {
+            String tmpSourcePath = tmpBasePath + File.separatorChar + "Source";
+            (new File(tmpSourcePath)).mkdirs();
+            byte[] tmpData = new byte[100000];
+            (new Random(2)).nextBytes(tmpData);
+            Files.write((new File(tmpSourcePath + File.separatorChar + "Data.bin")).toPath(), tmpData);
+            final boolean[] tmpIsMoveAllowed = new boolean[] {false};
+            final boolean[] tmpIsMonitorHeld = new boolean[] {false};
+            DirectoryMoveGuardInterface tmpMoveGuard = new DirectoryMoveGuardInterface() {
+                @Override
+                public boolean isMoveAllowed() {
+                    tmpIsMonitorHeld[0] = Thread.holdsLock(this);
+                    return tmpIsMoveAllowed[0];
+                }
+            };
+            DirectoryRelocator tmpDirectoryRelocator = new DirectoryRelocator(2);
+            // Move is refused by guard: Source remains valid
+            String tmpCopyDestinationPath = tmpBasePath + File.separatorChar + "Copied";
+            DirectoryRelocationModeEnum tmpRelocationMode = tmpDirectoryRelocator.relocate(tmpSourcePath, tmpCopyDestinationPath, tmpMoveGuard);
+            assertNotNull("Test1", tmpRelocationMode);
+            assertTrue("Test2", tmpRelocationMode != DirectoryRelocationModeEnum.MOVE);
+            assertTrue("Test3", tmpIsMonitorHeld[0]);
+            assertTrue("Test4", (new File(tmpSourcePath)).isDirectory());
+            assertTrue("Test5", Arrays.equals(tmpData, Files.readAllBytes((new File(tmpCopyDestinationPath + File.separatorChar + "Data.bin")).toPath())));
+            // Move is allowed by guard
+            tmpIsMoveAllowed[0] = true;
+            tmpIsMonitorHeld[0] = false;
+            String tmpMoveDestinationPath = tmpBasePath + File.separatorChar + "Moved";
+            tmpRelocationMode = tmpDirectoryRelocator.relocate(tmpSourcePath, tmpMoveDestinationPath, tmpMoveGuard);
+            assertEquals("Test6", DirectoryRelocationModeEnum.MOVE, tmpRelocationMode);
+            assertTrue("Test7", tmpIsMonitorHeld[0]);
+            assertFalse("Test8", (new File(tmpSourcePath)).exists());
+        } finally {
+            tmpFileUtilityMethods.deleteDirectory(tmpBasePath);
+        }
+    }
+    // </editor-fold>
+
+}
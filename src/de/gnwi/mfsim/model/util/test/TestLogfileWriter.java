@@ -0,0 +1,157 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ * 
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util.test;
+
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.LogfileWriter;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.File;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class LogfileWriter
+ */
+public class TestLogfileWriter extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of concurrent appends
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testConcurrentAppend() throws Exception {
+        String tmpPathname = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+        final LogfileWriter tmpLogfileWriter = new LogfileWriter(tmpPathname, 65536);
+        try {
+            Thread[] tmpThreads = new Thread[8];
+            for (int i = 0; i < tmpThreads.length; i++) {
+                final int tmpThreadIndex = i;
+                tmpThreads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int k = 0; k < 1000; k++) {
+                            tmpLogfileWriter.append("Thread " + String.valueOf(tmpThreadIndex) + " entry " + String.valueOf(k));
+                        }
+                    }
+                });
+                tmpThreads[i].start();
+            }
+            for (Thread tmpThread : tmpThreads) {
+                tmpThread.join();
+            }
+            tmpLogfileWriter.flush();
+            String[] tmpLines = (new FileUtilityMethods()).readStringArrayFromFile(tmpPathname, null);
+            assertNotNull("Test1", tmpLines);
+            assertEquals("Test2", 8000, tmpLines.length);
+            assertTrue("Test3", tmpLines[0].contains(": Thread "));
+        } finally {
+            (new FileUtilityMethods()).deleteSingleFile(tmpPathname);
+        }
+    }
+
+    /**
+     * Test of suppression of repeated identical log entries
+     */
+    public void testRepetitionSuppression() {
+        String tmpPathname = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+        LogfileWriter tmpLogfileWriter = new LogfileWriter(tmpPathname, 1024);
+        try {
+            tmpLogfileWriter.append("First");
+            for (int i = 0; i < 100; i++) {
+                tmpLogfileWriter.append("Repeated entry");
+            }
+            tmpLogfileWriter.append("Last");
+            tmpLogfileWriter.flush();
+            String[] tmpLines = (new FileUtilityMethods()).readStringArrayFromFile(tmpPathname, null);
+            assertNotNull("Test1", tmpLines);
+            assertEquals("Test2", 4, tmpLines.length);
+            assertTrue("Test3", tmpLines[1].endsWith(": Repeated entry"));
+            assertTrue("Test4", tmpLines[3].contains("repeated 99 times"));
+        } finally {
+            (new FileUtilityMethods()).deleteSingleFile(tmpPathname);
+        }
+    }
+
+    /**
+     * Test of reset with concurrent appends and batch writes
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testReset() throws Exception {
+        String tmpPathname = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID() + ".txt";
+        final LogfileWriter tmpLogfileWriter = new LogfileWriter(tmpPathname, 1024);
+        try {
+            tmpLogfileWriter.append("Written");
+            tmpLogfileWriter.flush();
+            tmpLogfileWriter.append("Pending");
+            assertTrue("Test1", tmpLogfileWriter.reset());
+            assertFalse("Test2", (new File(tmpPathname)).exists());
+            // Pending log entry was discarded
+            tmpLogfileWriter.flush();
+            assertFalse("Test3", (new File(tmpPathname)).exists());
+            assertFalse("Test4", tmpLogfileWriter.reset());
+            // Concurrent appends and batch writes during reset
+            Thread[] tmpThreads = new Thread[4];
+            for (int i = 0; i < tmpThreads.length; i++) {
+                final int tmpThreadIndex = i;
+                tmpThreads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int k = 0; k < 2000; k++) {
+                            tmpLogfileWriter.append("Thread " + String.valueOf(tmpThreadIndex) + " entry " + String.valueOf(k));
+                            if (k % 100 == 0) {
+                                tmpLogfileWriter.flush();
+                            }
+                        }
+                    }
+                });
+                tmpThreads[i].start();
+            }
+            for (int i = 0; i < 20; i++) {
+                tmpLogfileWriter.reset();
+                Thread.sleep(1L);
+            }
+            for (Thread tmpThread : tmpThreads) {
+                tmpThread.join();
+            }
+            tmpLogfileWriter.reset();
+            assertFalse("Test5", (new File(tmpPathname)).exists());
+            tmpLogfileWriter.append("New session");
+            tmpLogfileWriter.flush();
+            String[] tmpLines = (new FileUtilityMethods()).readStringArrayFromFile(tmpPathname, null);
+            assertNotNull("Test6", tmpLines);
+            assertEquals("Test7", 1, tmpLines.length);
+            assertTrue("Test8", tmpLines[0].endsWith(": New session"));
+        } finally {
+            (new FileUtilityMethods()).deleteSingleFile(tmpPathname);
+        }
+    }
+
+    /**
+     * Test of rotated log file pathname
+     */
+    public void testRotatedLogfilePathname() {
+        String tmpPathname = "data" + File.separatorChar + "MFsim_Logfile.txt";
+        assertEquals("Test1", "data" + File.separatorChar + "MFsim_Logfile.2.txt", LogfileWriter.getRotatedLogfilePathname(tmpPathname, 2));
+        assertEquals("Test2", "data" + File.separatorChar + "Logfile.1", LogfileWriter.getRotatedLogfilePathname("data" + File.separatorChar + "Logfile", 1));
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,161 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.util.test;
+
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.ParallelZipArchiver;
+import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class ParallelZipArchiver
+ */
+public class TestParallelZipArchiver extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of round trip through ZipFile and ZipInputStream with deflated
+     * entries (single and multiple chunks), stored entries and an empty
+     * directory
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testRoundTrip() throws Exception {
+        FileUtilityMethods tmpFileUtilityMethods = new FileUtilityMethods();
+        String tmpBasePath = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID();
+        try {
+            // <editor-fold defaultstate="collapsed" desc="Create directory">
+            String tmpSourcePath = tmpBasePath + File.separatorChar + "Source";
+            (new File(tmpSourcePath + File.separatorChar + "Sub" + File.separatorChar + "Empty")).mkdirs();
+            HashMap<String, byte[]> tmpEntryNameToDataMap = new HashMap<>();
+            StringBuilder tmpBuffer = new StringBuilder();
+            Random tmpRandom = new Random(1);
+            while (tmpBuffer.length() < 10000000) {
+                tmpBuffer.append("Step ").append(tmpRandom.nextInt(1000)).append(' ').append(tmpRandom.nextDouble()).append('\n');
+            }
+            // Deflated with multiple chunks
+            tmpEntryNameToDataMap.put("Source/Large.txt", tmpBuffer.toString().getBytes(StandardCharsets.UTF_8));
+            // Deflated with single chunk
+            tmpEntryNameToDataMap.put("Source/Sub/Small.txt", "Small file".getBytes(StandardCharsets.UTF_8));
+            // Stored
+            byte[] tmpRandomData = new byte[300000];
+            tmpRandom.nextBytes(tmpRandomData);
+            tmpEntryNameToDataMap.put("Source/Sub/Image.png", tmpRandomData);
+            tmpEntryNameToDataMap.put("Source/Empty.gz", new byte[0]);
+            for (String tmpEntryName : tmpEntryNameToDataMap.keySet()) {
+                Files.write((new File(tmpBasePath + File.separatorChar + tmpEntryName.replace('/', File.separatorChar))).toPath(), tmpEntryNameToDataMap.get(tmpEntryName));
+            }
+            // </editor-fold>
+            String tmpZipFilePathname = tmpBasePath + File.separatorChar + "Source.zip";
+            assertTrue("Test1", (new ParallelZipArchiver(2, false, null)).archive(tmpSourcePath, tmpZipFilePathname));
+            // <editor-fold defaultstate="collapsed" desc="Check with ZipFile">
+            try (ZipFile tmpZipFile = new ZipFile(tmpZipFilePathname)) {
+                assertEquals("Test2", tmpEntryNameToDataMap.size() + 1, tmpZipFile.size());
+                for (String tmpEntryName : tmpEntryNameToDataMap.keySet()) {
+                    ZipEntry tmpEntry = tmpZipFile.getEntry(tmpEntryName.replace('/', File.separatorChar));
+                    assertNotNull("Test3", tmpEntry);
+                    byte[] tmpData = tmpEntryNameToDataMap.get(tmpEntryName);
+                    int tmpExpectedMethod = tmpEntryName.endsWith(".txt") ? ZipEntry.DEFLATED : ZipEntry.STORED;
+                    assertEquals("Test4", tmpExpectedMethod, tmpEntry.getMethod());
+                    assertEquals("Test5", tmpData.length, tmpEntry.getSize());
+                    assertEquals("Test6", this.getCrc(tmpData), tmpEntry.getCrc());
+                    try (InputStream tmpInput = tmpZipFile.getInputStream(tmpEntry)) {
+                        assertTrue("Test7", Arrays.equals(tmpData, this.readAll(tmpInput)));
+                    }
+                }
+                ZipEntry tmpDirectoryEntry = tmpZipFile.getEntry("Source" + File.separatorChar + "Sub" + File.separatorChar + "Empty/");
+                assertNotNull("Test8", tmpDirectoryEntry);
+                assertTrue("Test9", tmpDirectoryEntry.isDirectory());
+                assertEquals("Test10", 0L, tmpDirectoryEntry.getSize());
+            }
+            // </editor-fold>
+            // <editor-fold defaultstate="collapsed" desc="Check with ZipInputStream (CRC of local entries is verified)">
+            int tmpNumberOfEntries = 0;
+            try (ZipInputStream tmpZipInputStream = new ZipInputStream(new FileInputStream(tmpZipFilePathname))) {
+                ZipEntry tmpEntry;
+                while ((tmpEntry = tmpZipInputStream.getNextEntry()) != null) {
+                    byte[] tmpData = this.readAll(tmpZipInputStream);
+                    if (tmpEntry.isDirectory()) {
+                        assertEquals("Test11", 0, tmpData.length);
+                    } else {
+                        assertTrue("Test12", Arrays.equals(tmpEntryNameToDataMap.get(tmpEntry.getName().replace(File.separatorChar, '/')), tmpData));
+                    }
+                    tmpNumberOfEntries++;
+                }
+            }
+            assertEquals("Test13", tmpEntryNameToDataMap.size() + 1, tmpNumberOfEntries);
+            // </editor-fold>
+            // Extraction restores empty directory
+            String tmpExtractionPath = tmpBasePath + File.separatorChar + "Extracted";
+            assertTrue("Test14", (new File(tmpExtractionPath)).mkdir());
+            assertTrue("Test15", tmpFileUtilityMethods.extractDirectoryFromZipFile(tmpExtractionPath, tmpZipFilePathname));
+            assertTrue("Test16", (new File(tmpExtractionPath + File.separatorChar + "Source" + File.separatorChar + "Sub" + File.separatorChar + "Empty")).isDirectory());
+            assertTrue("Test17", Arrays.equals(tmpRandomData, Files.readAllBytes((new File(tmpExtractionPath + File.separatorChar + "Source" + File.separatorChar + "Sub" + File.separatorChar + "Image.png")).toPath())));
+        } finally {
+            tmpFileUtilityMethods.deleteDirectory(tmpBasePath);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * CRC-32 of data
+     *
+     * @param aData Data
+     * @return CRC-32 of data
+     */
+    private long getCrc(byte[] aData) {
+        CRC32 tmpCrc = new CRC32();
+        tmpCrc.update(aData, 0, aData.length);
+        return tmpCrc.getValue();
+    }
+
+    /**
+     * Reads all bytes of input stream
+     *
+     * @param anInput Input stream
+     * @return Read bytes
+     * @throws Exception Thrown if an error occurs
+     */
+    private byte[] readAll(InputStream anInput) throws Exception {
+        ByteArrayOutputStream tmpOutput = new ByteArrayOutputStream();
+        byte[] tmpBuffer = new byte[8192];
+        int tmpCount;
+        while ((tmpCount = anInput.read(tmpBuffer)) != -1) {
+            tmpOutput.write(tmpBuffer, 0, tmpCount);
+        }
+        return tmpOutput.toByteArray();
+    }
+    // </editor-fold>
+
+}
@@ -25,7 +25,10 @@ import de.gnwi.mfsim.model.util.TimeUtilityMethods;
 import de.gnwi.mfsim.model.util.ModelUtils;
 import de.gnwi.mfsim.model.message.ModelMessage;
 import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.util.ZipArchiveReader;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.InputStreamReader;
 import java.util.Comparator;
 import junit.framework.TestCase;
 
@@ -350,7 +353,56 @@ public class TestUtility extends TestCase {
         // assertTrue(Utility.copyDirectoryToZipFile(aDirectoryPath, aZipFilePathname));
         // assertTrue(Utility.extractDirectoryFromZipFile(aPath, aZipFilePathname));
     }
-    
+
+    /**
+     * Test of parallel ZIP archiving and random access ZIP extraction
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testZipArchiveReader() throws Exception {
+        FileUtilityMethods tmpFileUtilityMethods = new FileUtilityMethods();
+        String tmpBasePath = System.getProperty("user.dir") + File.separatorChar + "~" + (new StringUtilityMethods()).getGloballyUniqueID();
+        String tmpDirectoryPath = tmpBasePath + File.separatorChar + "JobResult_1";
+        String tmpStepsPath = tmpDirectoryPath + File.separatorChar + "Steps";
+        assertTrue("Test1", (new File(tmpStepsPath)).mkdirs());
+        try {
+            // Large line array so that file is deflated in several chunks
+            String[] tmpLines = new String[300000];
+            for (int i = 0; i < tmpLines.length; i++) {
+                tmpLines[i] = "Line " + String.valueOf(i) + " " + String.valueOf(Math.sqrt(i));
+            }
+            assertTrue("Test2", tmpFileUtilityMethods.writeStringArrayToFile(tmpLines, tmpDirectoryPath + File.separatorChar + "Large.txt"));
+            assertTrue("Test3", tmpFileUtilityMethods.writeStringArrayToFile(new String[]{"Step 1"}, tmpStepsPath + File.separatorChar + "PP1.gz"));
+            String tmpZipFilePathname = tmpBasePath + File.separatorChar + "Archive.zip";
+            assertTrue("Test4", tmpFileUtilityMethods.copyDirectoryToZipFile(tmpDirectoryPath, tmpZipFilePathname));
+            assertEquals("Test5", "JobResult_1", tmpFileUtilityMethods.getDirectoryNameFromZipFile(tmpZipFilePathname));
+            assertEquals("Test6", "JobResult_1", tmpFileUtilityMethods.getSingleDirectoryNameFromZipFile(tmpZipFilePathname, "JobResult_"));
+            // Single file
+            String tmpSingleFilePathname = tmpBasePath + File.separatorChar + "Single.txt";
+            assertTrue("Test7", tmpFileUtilityMethods.getSingleFileFromZipFile(tmpZipFilePathname, "large.txt", tmpSingleFilePathname));
+            String[] tmpReadLines = tmpFileUtilityMethods.readStringArrayFromFile(tmpSingleFilePathname, null);
+            assertEquals("Test8", tmpLines.length, tmpReadLines.length);
+            assertEquals("Test9", tmpLines[tmpLines.length - 1], tmpReadLines[tmpReadLines.length - 1]);
+            // Streaming of single entry
+            try (ZipArchiveReader tmpZipArchiveReader = new ZipArchiveReader(tmpZipFilePathname)) {
+                assertEquals("Test10", 2, tmpZipArchiveReader.getNumberOfEntries());
+                assertEquals("Test11", 1, tmpZipArchiveReader.getFileEntryNamesContaining("/Steps/").size());
+                String tmpEntryName = tmpZipArchiveReader.findFileEntryName("PP1.gz");
+                assertEquals("Test12", "JobResult_1/Steps/PP1.gz", tmpEntryName);
+                try (BufferedReader tmpReader = new BufferedReader(new InputStreamReader(tmpZipArchiveReader.getInputStream(tmpEntryName)))) {
+                    assertEquals("Test13", "Step 1", tmpReader.readLine());
+                }
+            }
+            // Complete directory
+            String tmpExtractPath = tmpBasePath + File.separatorChar + "Extract";
+            assertTrue("Test14", (new File(tmpExtractPath)).mkdirs());
+            assertTrue("Test15", tmpFileUtilityMethods.getSingleDirectoryFromZipFile(tmpZipFilePathname, "JobResult_", tmpExtractPath));
+            assertEquals("Test16", (new File(tmpDirectoryPath + File.separatorChar + "Large.txt")).length(), (new File(tmpExtractPath + File.separatorChar + "JobResult_1" + File.separatorChar + "Large.txt")).length());
+        } finally {
+            tmpFileUtilityMethods.deleteDirectory(tmpBasePath);
+        }
+    }
+
     /**
      * Tests specific operation
      */
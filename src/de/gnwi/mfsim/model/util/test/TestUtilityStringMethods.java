@@ -25,6 +25,8 @@
 package de.gnwi.mfsim.model.util.test;
 
 import de.gnwi.mfsim.model.util.StringUtilityMethods;
+import java.util.Locale;
+import java.util.Random;
 import junit.framework.TestCase;
 import org.apache.commons.lang3.StringUtils;
 
@@ -59,6 +61,31 @@ public class TestUtilityStringMethods extends TestCase {
         assertEquals(tmpReplacedLine, "1 myParticle 53 1.000 2.000 3.000");
     }
     
+    /**
+     * Test appendFixedDecimal()
+     */
+    public void test_appendFixedDecimal() {
+        StringBuilder tmpStringBuilder = new StringBuilder();
+        double[] tmpValues = new double[] {0.0, -0.0, 0.125, 1.005, 2.5, -2.5, -0.001, 0.0049999999, 999999.9999995, 1.0E20, -1.0E-20, Double.NaN, Double.NEGATIVE_INFINITY};
+        for (double tmpValue : tmpValues) {
+            for (int tmpNumberOfDecimals = 0; tmpNumberOfDecimals <= 12; tmpNumberOfDecimals++) {
+                tmpStringBuilder.setLength(0);
+                assertEquals(String.format(Locale.US, "%." + tmpNumberOfDecimals + "f", tmpValue), this.stringUtilityMethods.appendFixedDecimal(tmpStringBuilder, tmpValue, tmpNumberOfDecimals).toString());
+            }
+        }
+        Random tmpRandom = new Random(1L);
+        for (int i = 0; i < 200000; i++) {
+            double tmpValue = (tmpRandom.nextDouble() - 0.3) * Math.pow(10.0, tmpRandom.nextInt(10) - 4);
+            if (i % 4 == 0) {
+                // Values with few decimals that are close to rounding boundaries
+                tmpValue = Math.round(tmpValue * 1000.0) / 1000.0;
+            }
+            int tmpNumberOfDecimals = tmpRandom.nextInt(9);
+            tmpStringBuilder.setLength(0);
+            assertEquals(String.format(Locale.US, "%." + tmpNumberOfDecimals + "f", tmpValue), this.stringUtilityMethods.appendFixedDecimal(tmpStringBuilder, tmpValue, tmpNumberOfDecimals).toString());
+        }
+    }
+
     /**
      * Test StringUtils
      */
@@ -0,0 +1,416 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.valueItem;
+
+import de.gnwi.mfsim.model.preference.ModelDefinitions;
+import de.gnwi.mfsim.model.util.ModelUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import org.jdom2.Attribute;
+import org.jdom2.Content;
+import org.jdom2.Element;
+import org.jdom2.Text;
+
+/**
+ * Versioned binary snapshot of a value item container that is stored
+ * alongside its (compressed) XML file. The XML element tree of the value item
+ * container is written with a compact tagged encoding (interned element and
+ * attribute names, length-prefixed UTF-8 texts) together with the length and
+ * the SHA-256 hash of the XML file it was derived from. A snapshot is only
+ * used if length and hash still match the XML file, otherwise it is regarded
+ * as stale and the XML file must be read.
+ * NOTE: The XML file remains the authoritative representation.
+ */
+public class ValueItemContainerSnapshot {
+
+    // <editor-fold defaultstate="collapsed" desc="Private static final class variables">
+    /**
+     * Magic number at start of snapshot file ("MFVC")
+     */
+    private static final int MAGIC_NUMBER = 0x4D465643;
+
+    /**
+     * Version of snapshot format
+     * IMPORTANT: Increment if encoding is changed
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Hash algorithm for XML file content
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Tag: End of snapshot
+     */
+    private static final byte TAG_END_OF_SNAPSHOT = 0;
+
+    /**
+     * Tag: Start of element with already interned name
+     */
+    private static final byte TAG_ELEMENT = 1;
+
+    /**
+     * Tag: Start of element with new name (name string follows)
+     */
+    private static final byte TAG_ELEMENT_NEW_NAME = 2;
+
+    /**
+     * Tag: Attribute with already interned name
+     */
+    private static final byte TAG_ATTRIBUTE = 3;
+
+    /**
+     * Tag: Attribute with new name (name string follows)
+     */
+    private static final byte TAG_ATTRIBUTE_NEW_NAME = 4;
+
+    /**
+     * Tag: Text content
+     */
+    private static final byte TAG_TEXT = 5;
+
+    /**
+     * Tag: End of element
+     */
+    private static final byte TAG_ELEMENT_END = 6;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public methods">
+    /**
+     * Writes binary snapshot of value item container that corresponds to
+     * (already written) XML file.
+     * NOTE: An existing snapshot file is overwritten.
+     *
+     * @param aValueItemContainer Value item container (may be null then false
+     * is returned)
+     * @param aXmlFilePathname Full pathname of already written XML file with
+     * value item container information (may be null then false is returned)
+     * @param aSnapshotFilePathname Full pathname of snapshot file (may be null
+     * then false is returned)
+     * @return True: Snapshot was written, false: Otherwise
+     */
+    public boolean writeSnapshot(ValueItemContainer aValueItemContainer, String aXmlFilePathname, String aSnapshotFilePathname) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aValueItemContainer == null) {
+            return false;
+        }
+        if (aXmlFilePathname == null || aXmlFilePathname.isEmpty() || !(new File(aXmlFilePathname)).isFile()) {
+            return false;
+        }
+        if (aSnapshotFilePathname == null || aSnapshotFilePathname.isEmpty()) {
+            return false;
+        }
+        // </editor-fold>
+        File tmpSnapshotFile = new File(aSnapshotFilePathname);
+        File tmpTemporarySnapshotFile = new File(aSnapshotFilePathname + ".tmp");
+        try {
+            byte[] tmpXmlHash = this.getFileHash(aXmlFilePathname);
+            long tmpXmlFileLength = (new File(aXmlFilePathname)).length();
+            Element tmpRoot = aValueItemContainer.getAsXmlElement();
+            try (DataOutputStream tmpOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpTemporarySnapshotFile), ModelDefinitions.BUFFER_SIZE))) {
+                tmpOutput.writeInt(MAGIC_NUMBER);
+                tmpOutput.writeInt(FORMAT_VERSION);
+                tmpOutput.writeLong(tmpXmlFileLength);
+                tmpOutput.writeInt(tmpXmlHash.length);
+                tmpOutput.write(tmpXmlHash);
+                this.writeElement(tmpRoot, tmpOutput, new HashMap<>(ModelDefinitions.DEFAULT_NUMBER_OF_VALUE_ITEMS));
+                tmpOutput.writeByte(TAG_END_OF_SNAPSHOT);
+            }
+            // Replace snapshot file only after it was completely written
+            if (tmpSnapshotFile.exists() && !tmpSnapshotFile.delete()) {
+                tmpTemporarySnapshotFile.delete();
+                return false;
+            }
+            return tmpTemporarySnapshotFile.renameTo(tmpSnapshotFile);
+        } catch (Exception anException) {
+            ModelUtils.appendToLogfile(true, anException);
+            tmpTemporarySnapshotFile.delete();
+            return false;
+        }
+    }
+
+    /**
+     * Reads value item container from binary snapshot if snapshot is valid
+     * for XML file.
+     *
+     * @param aXmlFilePathname Full pathname of XML file with value item
+     * container information (may be null then null is returned)
+     * @param aSnapshotFilePathname Full pathname of snapshot file (may be null
+     * then null is returned)
+     * @param anUpdateNotificationObject Value item update notification object
+     * (may be null)
+     * @return Value item container or null if snapshot is missing, stale, of
+     * different format version or could not be read (then XML file must be
+     * read)
+     */
+    public ValueItemContainer readSnapshot(String aXmlFilePathname, String aSnapshotFilePathname, ValueItemUpdateNotifierInterface anUpdateNotificationObject) {
+        // <editor-fold defaultstate="collapsed" desc="Checks">
+        if (aXmlFilePathname == null || aXmlFilePathname.isEmpty() || !(new File(aXmlFilePathname)).isFile()) {
+            return null;
+        }
+        if (aSnapshotFilePathname == null || aSnapshotFilePathname.isEmpty() || !(new File(aSnapshotFilePathname)).isFile()) {
+            return null;
+        }
+        // </editor-fold>
+        try (DataInputStream tmpInput = new DataInputStream(new BufferedInputStream(new FileInputStream(aSnapshotFilePathname), ModelDefinitions.BUFFER_SIZE))) {
+            if (tmpInput.readInt() != MAGIC_NUMBER || tmpInput.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            // <editor-fold defaultstate="collapsed" desc="Validate snapshot against XML file">
+            // NOTE: Cheap length check first, hash check afterwards
+            if (tmpInput.readLong() != (new File(aXmlFilePathname)).length()) {
+                return null;
+            }
+            int tmpHashLength = tmpInput.readInt();
+            if (tmpHashLength <= 0 || tmpHashLength > 64) {
+                return null;
+            }
+            byte[] tmpSnapshotHash = new byte[tmpHashLength];
+            tmpInput.readFully(tmpSnapshotHash);
+            if (!Arrays.equals(tmpSnapshotHash, this.getFileHash(aXmlFilePathname))) {
+                return null;
+            }
+            // </editor-fold>
+            ArrayList<String> tmpNames = new ArrayList<>(ModelDefinitions.DEFAULT_NUMBER_OF_VALUE_ITEMS);
+            byte tmpTag = tmpInput.readByte();
+            if (tmpTag != TAG_ELEMENT && tmpTag != TAG_ELEMENT_NEW_NAME) {
+                return null;
+            }
+            Element tmpRoot = this.readElement(tmpTag, tmpInput, tmpNames);
+            if (tmpInput.readByte() != TAG_END_OF_SNAPSHOT) {
+                return null;
+            }
+            return new ValueItemContainer(tmpRoot, anUpdateNotificationObject);
+        } catch (Exception anException) {
+            // NOTE: A corrupt snapshot is not an error since XML file is authoritative
+            return null;
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Returns hash of file content
+     *
+     * @param aFilePathname Full file pathname
+     * @return Hash of file content
+     * @throws Exception Thrown if file could not be read
+     */
+    private byte[] getFileHash(String aFilePathname) throws Exception {
+        MessageDigest tmpMessageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+        try (FileInputStream tmpInput = new FileInputStream(aFilePathname)) {
+            byte[] tmpBuffer = new byte[ModelDefinitions.BUFFER_SIZE];
+            int tmpCount;
+            while ((tmpCount = tmpInput.read(tmpBuffer)) > 0) {
+                tmpMessageDigest.update(tmpBuffer, 0, tmpCount);
+            }
+        }
+        return tmpMessageDigest.digest();
+    }
+
+    /**
+     * Writes element recursively
+     *
+     * @param anElement Element
+     * @param anOutput Output
+     * @param aNameToIndexMap Map of already interned names to their index
+     * @throws IOException Thrown if writing fails
+     */
+    private void writeElement(Element anElement, DataOutputStream anOutput, HashMap<String, Integer> aNameToIndexMap) throws IOException {
+        this.writeName(anElement.getName(), TAG_ELEMENT, TAG_ELEMENT_NEW_NAME, anOutput, aNameToIndexMap);
+        if (anElement.hasAttributes()) {
+            for (Attribute tmpAttribute : anElement.getAttributes()) {
+                this.writeName(tmpAttribute.getName(), TAG_ATTRIBUTE, TAG_ATTRIBUTE_NEW_NAME, anOutput, aNameToIndexMap);
+                this.writeString(tmpAttribute.getValue(), anOutput);
+            }
+        }
+        for (Content tmpContent : anElement.getContent()) {
+            if (tmpContent instanceof Element) {
+                this.writeElement((Element) tmpContent, anOutput, aNameToIndexMap);
+            } else if (tmpContent instanceof Text) {
+                // NOTE: CDATA is a subclass of Text
+                anOutput.writeByte(TAG_TEXT);
+                this.writeString(((Text) tmpContent).getText(), anOutput);
+            }
+        }
+        anOutput.writeByte(TAG_ELEMENT_END);
+    }
+
+    /**
+     * Reads element recursively
+     *
+     * @param aTag Start tag of element (already read)
+     * @param anInput Input
+     * @param aNames Already interned names
+     * @return Element
+     * @throws IOException Thrown if reading fails or encoding is invalid
+     */
+    private Element readElement(byte aTag, DataInputStream anInput, ArrayList<String> aNames) throws IOException {
+        Element tmpElement = new Element(this.readName(aTag == TAG_ELEMENT_NEW_NAME, anInput, aNames));
+        while (true) {
+            byte tmpTag = anInput.readByte();
+            switch (tmpTag) {
+                case TAG_ELEMENT:
+                case TAG_ELEMENT_NEW_NAME:
+                    tmpElement.addContent(this.readElement(tmpTag, anInput, aNames));
+                    break;
+                case TAG_ATTRIBUTE:
+                case TAG_ATTRIBUTE_NEW_NAME:
+                    String tmpAttributeName = this.readName(tmpTag == TAG_ATTRIBUTE_NEW_NAME, anInput, aNames);
+                    tmpElement.setAttribute(tmpAttributeName, this.readString(anInput));
+                    break;
+                case TAG_TEXT:
+                    tmpElement.addContent(this.readString(anInput));
+                    break;
+                case TAG_ELEMENT_END:
+                    return tmpElement;
+                default:
+                    throw new IOException("Invalid tag " + String.valueOf(tmpTag) + ".");
+            }
+        }
+    }
+
+    /**
+     * Writes interned name
+     *
+     * @param aName Name
+     * @param aTag Tag for already interned name
+     * @param aNewNameTag Tag for new name
+     * @param anOutput Output
+     * @param aNameToIndexMap Map of already interned names to their index
+     * @throws IOException Thrown if writing fails
+     */
+    private void writeName(String aName, byte aTag, byte aNewNameTag, DataOutputStream anOutput, HashMap<String, Integer> aNameToIndexMap) throws IOException {
+        Integer tmpIndex = aNameToIndexMap.get(aName);
+        if (tmpIndex == null) {
+            aNameToIndexMap.put(aName, aNameToIndexMap.size());
+            anOutput.writeByte(aNewNameTag);
+            this.writeString(aName, anOutput);
+        } else {
+            anOutput.writeByte(aTag);
+            this.writeVarInt(tmpIndex, anOutput);
+        }
+    }
+
+    /**
+     * Reads interned name
+     *
+     * @param anIsNewName True: New name string follows, false: Index of
+     * already interned name follows
+     * @param anInput Input
+     * @param aNames Already interned names
+     * @return Name
+     * @throws IOException Thrown if reading fails or encoding is invalid
+     */
+    private String readName(boolean anIsNewName, DataInputStream anInput, ArrayList<String> aNames) throws IOException {
+        if (anIsNewName) {
+            String tmpName = this.readString(anInput);
+            aNames.add(tmpName);
+            return tmpName;
+        } else {
+            int tmpIndex = this.readVarInt(anInput);
+            if (tmpIndex < 0 || tmpIndex >= aNames.size()) {
+                throw new IOException("Invalid name index " + String.valueOf(tmpIndex) + ".");
+            }
+            return aNames.get(tmpIndex);
+        }
+    }
+
+    /**
+     * Writes length-prefixed UTF-8 string
+     * NOTE: DataOutputStream.writeUTF() is not used since it is limited to
+     * 65535 bytes
+     *
+     * @param aString String
+     * @param anOutput Output
+     * @throws IOException Thrown if writing fails
+     */
+    private void writeString(String aString, DataOutputStream anOutput) throws IOException {
+        byte[] tmpBytes = aString.getBytes(StandardCharsets.UTF_8);
+        this.writeVarInt(tmpBytes.length, anOutput);
+        anOutput.write(tmpBytes);
+    }
+
+    /**
+     * Reads length-prefixed UTF-8 string
+     *
+     * @param anInput Input
+     * @return String
+     * @throws IOException Thrown if reading fails or encoding is invalid
+     */
+    private String readString(DataInputStream anInput) throws IOException {
+        int tmpLength = this.readVarInt(anInput);
+        if (tmpLength < 0) {
+            throw new IOException("Invalid string length.");
+        }
+        byte[] tmpBytes = new byte[tmpLength];
+        anInput.readFully(tmpBytes);
+        return new String(tmpBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes non-negative integer with variable length (7 bits per byte)
+     *
+     * @param aValue Non-negative value
+     * @param anOutput Output
+     * @throws IOException Thrown if writing fails
+     */
+    private void writeVarInt(int aValue, DataOutputStream anOutput) throws IOException {
+        int tmpValue = aValue;
+        while ((tmpValue & ~0x7F) != 0) {
+            anOutput.writeByte((tmpValue & 0x7F) | 0x80);
+            tmpValue >>>= 7;
+        }
+        anOutput.writeByte(tmpValue);
+    }
+
+    /**
+     * Reads non-negative integer with variable length (7 bits per byte)
+     *
+     * @param anInput Input
+     * @return Value
+     * @throws IOException Thrown if reading fails or encoding is invalid
+     */
+    private int readVarInt(DataInputStream anInput) throws IOException {
+        int tmpValue = 0;
+        for (int tmpShift = 0; tmpShift < 32; tmpShift += 7) {
+            int tmpByte = anInput.readUnsignedByte();
+            tmpValue |= (tmpByte & 0x7F) << tmpShift;
+            if ((tmpByte & 0x80) == 0) {
+                return tmpValue;
+            }
+        }
+        throw new IOException("Invalid variable length integer.");
+    }
+    // </editor-fold>
+
+}
@@ -0,0 +1,210 @@
+/**
+ * MFsim - Molecular Fragment DPD Simulation Environment
+ * Copyright (C) 2020  Achim Zielesny (achim.zielesny@googlemail.com)
+ *
+ * Source code is available at <https://github.com/zielesny/MFsim>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.gnwi.mfsim.model.valueItem.test;
+
+import de.gnwi.mfsim.model.job.JdpdValueItemDefinition;
+import de.gnwi.mfsim.model.job.JobInput;
+import de.gnwi.mfsim.model.job.JobUtilityMethods;
+import de.gnwi.mfsim.model.particle.StandardParticleInteractionData;
+import de.gnwi.mfsim.model.util.FileUtilityMethods;
+import de.gnwi.mfsim.model.valueItem.ValueItemContainer;
+import de.gnwi.mfsim.model.valueItem.ValueItemContainerSnapshot;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Test class for class ValueItemContainerSnapshot
+ */
+public class TestValueItemContainerSnapshot extends TestCase {
+
+    // <editor-fold defaultstate="collapsed" desc="Private class variables">
+    /**
+     * Utility for files
+     */
+    private final FileUtilityMethods fileUtilityMethods = new FileUtilityMethods();
+
+    /**
+     * Utility for jobs
+     */
+    private final JobUtilityMethods jobUtilityMethods = new JobUtilityMethods();
+
+    /**
+     * Snapshot
+     */
+    private final ValueItemContainerSnapshot valueItemContainerSnapshot = new ValueItemContainerSnapshot();
+
+    /**
+     * Job input path
+     */
+    private String jobInputPath;
+
+    /**
+     * Full pathname of XML file of job input
+     */
+    private String xmlFilePathname;
+
+    /**
+     * Full pathname of snapshot file of job input
+     */
+    private String snapshotFilePathname;
+
+    /**
+     * XML string of value item container read from XML file
+     */
+    private String xmlString;
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Protected methods">
+    /**
+     * Saves job input and reads its value item container from XML file
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    @Override
+    protected void setUp() throws Exception {
+        StandardParticleInteractionData.getInstance();
+        this.jobInputPath = this.saveJobInput("Job A");
+        this.xmlFilePathname = this.jobUtilityMethods.getInternalXmlJobInputFilePathname(this.jobInputPath);
+        this.snapshotFilePathname = this.jobUtilityMethods.getInternalBinaryJobInputFilePathname(this.jobInputPath);
+        assertTrue((new File(this.snapshotFilePathname)).isFile());
+        // Reference: Value item container read from XML file (snapshot is written again)
+        assertTrue((new File(this.snapshotFilePathname)).delete());
+        this.xmlString = this.loadValueItemContainer(this.jobInputPath).getAsXmlString();
+        assertTrue((new File(this.snapshotFilePathname)).isFile());
+    }
+
+    /**
+     * Deletes job input
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    @Override
+    protected void tearDown() throws Exception {
+        if (this.jobInputPath != null) {
+            this.fileUtilityMethods.deleteDirectory(this.jobInputPath);
+        }
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Public test methods">
+    /**
+     * Test of round trip: Snapshot equals XML path
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testRoundTrip() throws Exception {
+        ValueItemContainer tmpValueItemContainer = this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null);
+        assertNotNull("Test1", tmpValueItemContainer);
+        assertEquals("Test2", this.xmlString, tmpValueItemContainer.getAsXmlString());
+        assertEquals("Test3", "Job A", tmpValueItemContainer.getValueOfValueItem("Description"));
+        // Job input is loaded from snapshot
+        assertEquals("Test4", this.xmlString, this.loadValueItemContainer(this.jobInputPath).getAsXmlString());
+    }
+
+    /**
+     * Test of stale snapshot: XML file changed after snapshot was written
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testStaleSnapshot() throws Exception {
+        // NOTE: Descriptions have same length, i.e. XML files are distinguished by hash
+        String tmpOtherJobInputPath = this.saveJobInput("Job B");
+        try {
+            String tmpOtherXmlFilePathname = this.jobUtilityMethods.getInternalXmlJobInputFilePathname(tmpOtherJobInputPath);
+            Files.copy((new File(tmpOtherXmlFilePathname)).toPath(), (new File(this.xmlFilePathname)).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            assertNull("Test1", this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null));
+            // Fallback to XML file
+            ValueItemContainer tmpValueItemContainer = this.loadValueItemContainer(this.jobInputPath);
+            assertEquals("Test2", "Job B", tmpValueItemContainer.getValueOfValueItem("Description"));
+            // Stale snapshot was replaced
+            ValueItemContainer tmpSnapshotValueItemContainer = this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null);
+            assertNotNull("Test3", tmpSnapshotValueItemContainer);
+            assertEquals("Test4", tmpValueItemContainer.getAsXmlString(), tmpSnapshotValueItemContainer.getAsXmlString());
+        } finally {
+            this.fileUtilityMethods.deleteDirectory(tmpOtherJobInputPath);
+        }
+    }
+
+    /**
+     * Test of truncated and corrupt snapshot
+     *
+     * @throws Exception Thrown if an error occurs
+     */
+    public void testCorruptSnapshot() throws Exception {
+        // Truncated snapshot
+        try (RandomAccessFile tmpSnapshotFile = new RandomAccessFile(this.snapshotFilePathname, "rw")) {
+            tmpSnapshotFile.setLength(tmpSnapshotFile.length() / 2);
+        }
+        assertNull("Test1", this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null));
+        assertEquals("Test2", this.xmlString, this.loadValueItemContainer(this.jobInputPath).getAsXmlString());
+        assertNotNull("Test3", this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null));
+        // Corrupt snapshot: Valid header with random content
+        byte[] tmpSnapshotBytes = Files.readAllBytes((new File(this.snapshotFilePathname)).toPath());
+        byte[] tmpRandomBytes = new byte[tmpSnapshotBytes.length];
+        (new Random(1)).nextBytes(tmpRandomBytes);
+        // Magic number, format version, XML file length, hash length and hash (32 bytes) are retained
+        int tmpHeaderLength = 4 + 4 + 8 + 4 + 32;
+        System.arraycopy(tmpRandomBytes, tmpHeaderLength, tmpSnapshotBytes, tmpHeaderLength, tmpSnapshotBytes.length - tmpHeaderLength);
+        Files.write((new File(this.snapshotFilePathname)).toPath(), tmpSnapshotBytes);
+        assertNull("Test4", this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null));
+        assertEquals("Test5", this.xmlString, this.loadValueItemContainer(this.jobInputPath).getAsXmlString());
+        // Empty snapshot
+        Files.write((new File(this.snapshotFilePathname)).toPath(), new byte[0]);
+        assertNull("Test6", this.valueItemContainerSnapshot.readSnapshot(this.xmlFilePathname, this.snapshotFilePathname, null));
+        assertEquals("Test7", this.xmlString, this.loadValueItemContainer(this.jobInputPath).getAsXmlString());
+    }
+    // </editor-fold>
+    //
+    // <editor-fold defaultstate="collapsed" desc="Private methods">
+    /**
+     * Saves new job input with description (XML file and snapshot are
+     * written)
+     *
+     * @param aDescription Description
+     * @return Job input path
+     * @throws Exception Thrown if an error occurs
+     */
+    private String saveJobInput(String aDescription) throws Exception {
+        ValueItemContainer tmpValueItemContainer = JdpdValueItemDefinition.getInstance().getClonedJobInputValueItemContainer();
+        assertTrue(tmpValueItemContainer.setValueOfValueItem("Description", aDescription));
+        JobInput tmpJobInput = new JobInput(tmpValueItemContainer);
+        assertTrue(tmpJobInput.save());
+        return tmpJobInput.getJobInputPath();
+    }
+
+    /**
+     * Loads value item container of job input (from snapshot if valid,
+     * otherwise from XML file)
+     *
+     * @param aJobInputPath Job input path
+     * @return Value item container
+     */
+    private ValueItemContainer loadValueItemContainer(String aJobInputPath) {
+        ValueItemContainer tmpValueItemContainer = (new JobInput(aJobInputPath, false)).getValueItemContainer();
+        assertNotNull(tmpValueItemContainer);
+        return tmpValueItemContainer;
+    }
+    // </editor-fold>
+
+}